@@ -87,6 +87,8 @@ import fr.gouv.vitam.common.security.rest.Unsecured;
 import fr.gouv.vitam.common.server.application.HttpHeaderHelper;
 import fr.gouv.vitam.common.server.application.VitamHttpHeader;
 import fr.gouv.vitam.common.server.application.resources.ApplicationStatusResource;
+import fr.gouv.vitam.common.stream.ByteRange;
+import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.common.stream.VitamAsyncInputStreamResponse;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.common.utils.SupportedSedaVersions;
@@ -979,9 +981,9 @@ public class AccessExternalResource extends ApplicationStatusResource {
     /**
      * <b>The caller is responsible to close the Response after consuming the inputStream.</b>
      *
-     * @param headers the http header defined parameters of request. Headers X-Qualifier and X-Version must be defined with target object qualifier and version in the object group container associated with the unit.
+     * @param headers the http header defined parameters of request. Headers X-Qualifier and X-Version must be defined with target object qualifier and version in the object group container associated with the unit. Optional Range header ("bytes=first-" or "bytes=first-last") may be set to read a single byte range of the object.
      * @param unitId the id of archive unit
-     * @return object content as response body stream with HTTP 200 when OK, HTTP 404 when object not found, HTTP 460 when object is not available for immediate access and requires Access Request. HTTP 40X / 50X on error.
+     * @return object content as response body stream with HTTP 200 when OK, HTTP 206 with Content-Range header when a byte range was requested, HTTP 416 when requested range is beyond the object size, HTTP 404 when object not found, HTTP 460 when object is not available for immediate access and requires Access Request. HTTP 40X / 50X on error.
      */
     @GET
     @Path("/units/{idu}/objects")
@@ -2007,22 +2009,48 @@ public class AccessExternalResource extends ApplicationStatusResource {
         final String xVersion = multipleMap.get(GlobalDataRest.X_VERSION).get(0);
 
         HttpHeaderHelper.checkVitamHeadersMap(multipleMap);
-        return asyncObjectStream(xQualifier, xVersion, idObjectGroup, unitId);
+        return asyncObjectStream(xQualifier, xVersion, idObjectGroup, unitId,
+            parseRange(multipleMap.getFirst(GlobalDataRest.RANGE)));
+    }
+
+    private ByteRange parseRange(String rangeHeader) {
+        try {
+            return ByteRange.parse(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            // Unsupported ranges are ignored (RFC 7233) : full object is returned
+            LOGGER.warn("Ignoring unsupported range header " + rangeHeader, e);
+            return null;
+        }
     }
 
     private Response asyncObjectStream(final String xQualifier, final String xVersion, String idObjectGroup,
         String unitId) {
+        return asyncObjectStream(xQualifier, xVersion, idObjectGroup, unitId, null);
+    }
+
+    private Response asyncObjectStream(final String xQualifier, final String xVersion, String idObjectGroup,
+        String unitId, ByteRange range) {
 
 
         try (AccessInternalClient client = accessInternalClientFactory.getClient()) {
 
-            final Response response =
-                client.getObject(idObjectGroup, xQualifier, Integer.parseInt(xVersion), unitId);
+            final Response response = range == null ?
+                client.getObject(idObjectGroup, xQualifier, Integer.parseInt(xVersion), unitId) :
+                client.getObject(idObjectGroup, xQualifier, Integer.parseInt(xVersion), unitId, range);
+            if (range != null && response.getStatus() == Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode()) {
+                String contentRange = response.getHeaderString(GlobalDataRest.CONTENT_RANGE);
+                StreamUtils.consumeAnyEntityAndClose(response);
+                return Response.status(Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(GlobalDataRest.CONTENT_RANGE, contentRange)
+                    .build();
+            }
             Map<String, String> headers = VitamAsyncInputStreamResponse.getDefaultMapFromResponse(response);
             headers.put(GlobalDataRest.X_QUALIFIER, xQualifier);
             headers.put(GlobalDataRest.X_VERSION, xVersion);
-            return new VitamAsyncInputStreamResponse(response,
-                Status.OK, headers);
+            VitamAsyncInputStreamResponse.addRangeHeadersFromResponse(response, headers);
+            Status status = range != null && response.getStatus() == Status.PARTIAL_CONTENT.getStatusCode() ?
+                Status.PARTIAL_CONTENT : Status.OK;
+            return new VitamAsyncInputStreamResponse(response, status, headers);
         } catch (final InvalidParseOperationException | IllegalArgumentException exc) {
             LOGGER.error(exc);
             return Response.status(Status.PRECONDITION_FAILED)
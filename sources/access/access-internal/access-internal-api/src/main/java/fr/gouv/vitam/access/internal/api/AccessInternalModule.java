@@ -36,6 +36,7 @@ import fr.gouv.vitam.common.exception.UpdatePermissionException;
 import fr.gouv.vitam.common.exception.VitamDBException;
 import fr.gouv.vitam.common.model.storage.AccessRequestReference;
 import fr.gouv.vitam.common.model.storage.StatusByAccessRequest;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.metadata.api.exception.MetaDataNotFoundException;
 import fr.gouv.vitam.metadata.api.exception.MetadataScrollLimitExceededException;
 import fr.gouv.vitam.metadata.api.exception.MetadataScrollThresholdExceededException;
@@ -125,6 +126,26 @@ public interface AccessInternalModule {
         throws StorageNotFoundException, InvalidParseOperationException, MetaDataNotFoundException,
         AccessInternalExecutionException, AccessInternalUnavailableDataFromAsyncOfferException;
 
+    /**
+     * Retrieve a byte range of an object as InputStream based on the associated ObjectGroupId and qualifier + version
+     * requested
+     *
+     * @param idObjectGroup The Object Group Id
+     * @param qualifier the qualifier to be retrieve (ie: Dissemination etc.)
+     * @param version the version number to get
+     * @param idUnit identifier of the parent archiveunit used to have access to the object
+     * @param range the byte range to read, or null for full object
+     * @return response (206 with Content-Range header for partial content, 416 if range is not satisfiable)
+     * @throws StorageNotFoundException If the object is not found in storage
+     * @throws InvalidParseOperationException when a query is badly structured
+     * @throws AccessInternalExecutionException For other technical errors
+     * @throws MetaDataNotFoundException
+     */
+    Response getOneObjectFromObjectGroup(String idObjectGroup,
+        String qualifier, int version, String idUnit, ByteRange range)
+        throws StorageNotFoundException, InvalidParseOperationException, MetaDataNotFoundException,
+        AccessInternalExecutionException, AccessInternalUnavailableDataFromAsyncOfferException;
+
     /**
      * Retrieve all accessLog by the concatenation of all accesslog files as InputStream
      *
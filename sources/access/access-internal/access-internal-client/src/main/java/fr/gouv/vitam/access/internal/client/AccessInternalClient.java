@@ -48,6 +48,7 @@ import fr.gouv.vitam.common.model.massupdate.MassUpdateUnitRuleRequest;
 import fr.gouv.vitam.common.model.revertupdate.RevertUpdateOptions;
 import fr.gouv.vitam.common.model.storage.AccessRequestReference;
 import fr.gouv.vitam.common.model.storage.StatusByAccessRequest;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.logbook.common.exception.LogbookClientException;
 import fr.gouv.vitam.logbook.common.exception.LogbookClientServerException;
 
@@ -193,6 +194,27 @@ public interface AccessInternalClient extends MockOrRestClient {
         AccessInternalClientNotFoundException, AccessUnauthorizedException,
         AccessInternalClientUnavailableDataFromAsyncOfferException;
 
+    /**
+     * Retrieve a byte range of an Object data as an input stream
+     *
+     * @param objectGroupId the Id of the ObjectGroup
+     * @param usage the requested usage
+     * @param version the requested version of the usage
+     * @param unitId the id used by the user to have access to the object
+     * @param range the byte range to read, or null for full object
+     * @return Response containing InputStream for the object data. Status is 206 with a Content-Range header for
+     * partial content, or 416 if range is not satisfiable.
+     * @throws InvalidParseOperationException if the query is not well formatted
+     * @throws AccessInternalClientServerException if the server encountered an exception
+     * @throws AccessInternalClientNotFoundException if the requested object does not exist
+     * @throws AccessUnauthorizedException
+     * @throws AccessInternalClientUnavailableDataFromAsyncOfferException if access to the requested object requires an Access Request.
+     */
+    Response getObject(String objectGroupId, String usage, int version, String unitId, ByteRange range)
+        throws InvalidParseOperationException, AccessInternalClientServerException,
+        AccessInternalClientNotFoundException, AccessUnauthorizedException,
+        AccessInternalClientUnavailableDataFromAsyncOfferException;
+
     /**
      * selectOperation
      *
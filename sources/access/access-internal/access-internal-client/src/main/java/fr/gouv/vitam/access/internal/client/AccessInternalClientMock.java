@@ -47,6 +47,7 @@ import fr.gouv.vitam.common.model.massupdate.MassUpdateUnitRuleRequest;
 import fr.gouv.vitam.common.model.revertupdate.RevertUpdateOptions;
 import fr.gouv.vitam.common.model.storage.AccessRequestReference;
 import fr.gouv.vitam.common.model.storage.StatusByAccessRequest;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.logbook.common.exception.LogbookClientException;
 import org.apache.commons.io.IOUtils;
@@ -141,6 +142,11 @@ class AccessInternalClientMock extends AbstractMockClient implements AccessInter
             MediaType.APPLICATION_OCTET_STREAM_TYPE, null);
     }
 
+    @Override
+    public Response getObject(String objectGroupId, String usage, int version, String unitId, ByteRange range) {
+        return getObject(objectGroupId, usage, version, unitId);
+    }
+
     @Override
     public RequestResponse<JsonNode> selectOperation(JsonNode select, boolean isSliced, boolean isCrossTenant)
         throws InvalidParseOperationException {
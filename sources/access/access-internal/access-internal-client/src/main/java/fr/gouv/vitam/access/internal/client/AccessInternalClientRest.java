@@ -55,6 +55,7 @@ import fr.gouv.vitam.common.model.massupdate.MassUpdateUnitRuleRequest;
 import fr.gouv.vitam.common.model.revertupdate.RevertUpdateOptions;
 import fr.gouv.vitam.common.model.storage.AccessRequestReference;
 import fr.gouv.vitam.common.model.storage.StatusByAccessRequest;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.logbook.common.exception.LogbookClientException;
 import fr.gouv.vitam.logbook.common.exception.LogbookClientNotFoundException;
@@ -69,6 +70,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
+import static fr.gouv.vitam.common.GlobalDataRest.RANGE;
 import static fr.gouv.vitam.common.GlobalDataRest.X_ACCESS_CONTRAT_ID;
 import static fr.gouv.vitam.common.GlobalDataRest.X_QUALIFIER;
 import static fr.gouv.vitam.common.GlobalDataRest.X_VERSION;
@@ -83,6 +85,7 @@ import static fr.gouv.vitam.storage.engine.common.model.DataCategory.STORAGEACCE
 import static javax.ws.rs.core.Response.Status.Family.SUCCESSFUL;
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
 import static javax.ws.rs.core.Response.Status.PRECONDITION_FAILED;
+import static javax.ws.rs.core.Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE;
 
 class AccessInternalClientRest extends DefaultClient implements AccessInternalClient {
 
@@ -328,6 +331,14 @@ class AccessInternalClientRest extends DefaultClient implements AccessInternalCl
 
     @Override
     public Response getObject(String objectGroupId, String usage, int version, String unitId)
+        throws InvalidParseOperationException, AccessInternalClientServerException,
+        AccessInternalClientNotFoundException, AccessUnauthorizedException,
+        AccessInternalClientUnavailableDataFromAsyncOfferException {
+        return getObject(objectGroupId, usage, version, unitId, null);
+    }
+
+    @Override
+    public Response getObject(String objectGroupId, String usage, int version, String unitId, ByteRange range)
         throws InvalidParseOperationException, AccessInternalClientServerException,
         AccessInternalClientNotFoundException, AccessUnauthorizedException,
         AccessInternalClientUnavailableDataFromAsyncOfferException {
@@ -336,6 +347,7 @@ class AccessInternalClientRest extends DefaultClient implements AccessInternalCl
         VitamRequestBuilder request = get().withPath(OBJECTS + objectGroupId + "/" + unitId)
             .withHeader(X_QUALIFIER, usage)
             .withHeader(X_VERSION, version)
+            .withHeaderIgnoreNull(RANGE, range == null ? null : range.toHeaderValue())
             .withJsonOctet()
             .withBefore(CHECK_REQUEST_ID);
         Response response = null;
@@ -346,6 +358,9 @@ class AccessInternalClientRest extends DefaultClient implements AccessInternalCl
                 throw new AccessInternalClientUnavailableDataFromAsyncOfferException(
                     "Access to async offer requires valid access request");
             }
+            if (range != null && response.getStatus() == REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode()) {
+                return response;
+            }
             check(response);
             return response;
         } catch (PreconditionFailedClientException e) {
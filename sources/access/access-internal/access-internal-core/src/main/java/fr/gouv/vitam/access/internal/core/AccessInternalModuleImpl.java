@@ -91,6 +91,8 @@ import fr.gouv.vitam.common.model.storage.ObjectEntry;
 import fr.gouv.vitam.common.model.storage.StatusByAccessRequest;
 import fr.gouv.vitam.common.parameter.ParameterHelper;
 import fr.gouv.vitam.common.security.SanityChecker;
+import fr.gouv.vitam.common.stream.ByteRange;
+import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.common.stream.VitamAsyncInputStreamResponse;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.common.utils.ClassificationLevelUtil;
@@ -432,6 +434,14 @@ public class AccessInternalModuleImpl implements AccessInternalModule {
 
     @Override
     public Response getOneObjectFromObjectGroup(String idObjectGroup, String qualifier, int version, String idUnit)
+        throws StorageNotFoundException, AccessInternalExecutionException, MetaDataNotFoundException,
+        InvalidParseOperationException, AccessInternalUnavailableDataFromAsyncOfferException {
+        return getOneObjectFromObjectGroup(idObjectGroup, qualifier, version, idUnit, null);
+    }
+
+    @Override
+    public Response getOneObjectFromObjectGroup(String idObjectGroup, String qualifier, int version, String idUnit,
+        ByteRange range)
         throws StorageNotFoundException, AccessInternalExecutionException, MetaDataNotFoundException,
         InvalidParseOperationException, AccessInternalUnavailableDataFromAsyncOfferException {
         VersionsModel finalversionsResponse =
@@ -466,14 +476,24 @@ public class AccessInternalModuleImpl implements AccessInternalModule {
             logInfo =
             AccessLogUtils.getInfoForAccessLog(qualifier, version, VitamThreadUtils.getVitamSession(), size, idUnit);
         try (StorageClient storageClient = storageClientFactory.getClient()) {
-            final Response response =
-                storageClient.getContainerAsync(strategyId, objectId, DataCategory.OBJECT, logInfo);
+            final Response response = range == null ?
+                storageClient.getContainerAsync(strategyId, objectId, DataCategory.OBJECT, logInfo) :
+                storageClient.getContainerAsync(strategyId, objectId, DataCategory.OBJECT, range, logInfo);
             Map<String, String> headers = new HashMap<>();
+            VitamAsyncInputStreamResponse.addRangeHeadersFromResponse(response, headers);
+            if (range != null && response.getStatus() == Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode()) {
+                StreamUtils.consumeAnyEntityAndClose(response);
+                Response.ResponseBuilder responseBuilder = Response.status(Status.REQUESTED_RANGE_NOT_SATISFIABLE);
+                headers.forEach(responseBuilder::header);
+                return responseBuilder.build();
+            }
             headers.put(HttpHeaders.CONTENT_TYPE, mimetype);
             headers.put(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
             headers.put(GlobalDataRest.X_QUALIFIER, qualifier);
             headers.put(GlobalDataRest.X_VERSION, Integer.toString(version));
-            return new VitamAsyncInputStreamResponse(response, Status.OK, headers);
+            Status status = range != null && response.getStatus() == Status.PARTIAL_CONTENT.getStatusCode() ?
+                Status.PARTIAL_CONTENT : Status.OK;
+            return new VitamAsyncInputStreamResponse(response, status, headers);
         } catch (StorageUnavailableDataFromAsyncOfferClientException e) {
             throw new AccessInternalUnavailableDataFromAsyncOfferException(
                 "Could not download object from async offer. Access request required", e);
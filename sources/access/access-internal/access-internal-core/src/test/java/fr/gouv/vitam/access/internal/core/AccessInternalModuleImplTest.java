@@ -34,6 +34,7 @@ import fr.gouv.vitam.access.internal.common.exception.AccessInternalExecutionExc
 import fr.gouv.vitam.access.internal.common.exception.AccessInternalIllegalOperationException;
 import fr.gouv.vitam.access.internal.common.exception.AccessInternalRuleExecutionException;
 import fr.gouv.vitam.access.internal.common.exception.AccessInternalUnavailableDataFromAsyncOfferException;
+import fr.gouv.vitam.common.GlobalDataRest;
 import fr.gouv.vitam.common.PropertiesUtils;
 import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.client.VitamClientFactory;
@@ -59,6 +60,7 @@ import fr.gouv.vitam.common.model.storage.AccessRequestReference;
 import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.model.storage.ObjectEntry;
 import fr.gouv.vitam.common.model.storage.StatusByAccessRequest;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.common.thread.RunWithCustomExecutor;
 import fr.gouv.vitam.common.thread.RunWithCustomExecutorRule;
@@ -994,6 +996,67 @@ public class AccessInternalModuleImplTest {
         assertArrayEquals(output.toByteArray(), IOUtils.toByteArray(stream2));
     }
 
+    @Test
+    @RunWithCustomExecutor
+    public void testGetOneObjectFromObjectGroupWithRange_PartialContent() throws Exception {
+
+        // Given
+        String idUnit = "unit0";
+        String idStrategy = VitamConfiguration.getDefaultStrategy();
+        String idObjectGroup = "aebaaaaaaabgthlqabqgsalltyqvytqaaaaq";
+        String idObject = "aeaaaaaaaabgthlqabqgsalltyqvyuaaaaaq";
+        ByteRange range = new ByteRange(10L, 19L);
+
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        setAccessLogInfoInVitamSession();
+        when(metaDataClient.selectObjectGrouptbyId(any(), any())).thenReturn(metadataObjectGroupResponse);
+
+        final Response responseMock = mock(Response.class);
+        when(responseMock.getStatus()).thenReturn(Response.Status.PARTIAL_CONTENT.getStatusCode());
+        when(responseMock.getHeaderString(GlobalDataRest.CONTENT_RANGE)).thenReturn("bytes 10-19/100");
+        when(responseMock.readEntity(InputStream.class)).thenReturn(
+            new ByteArrayInputStream("0123456789".getBytes()));
+        when(storageClient.getContainerAsync(eq(idStrategy), eq(idObject), eq(DataCategory.OBJECT), eq(range), any()))
+            .thenReturn(responseMock);
+
+        // When
+        Response reponseFinal =
+            accessModuleImpl.getOneObjectFromObjectGroup(idObjectGroup, "BinaryMaster", 1, idUnit, range);
+
+        // Then
+        assertThat(reponseFinal.getStatus()).isEqualTo(Response.Status.PARTIAL_CONTENT.getStatusCode());
+        assertThat(reponseFinal.getHeaderString(GlobalDataRest.CONTENT_RANGE)).isEqualTo("bytes 10-19/100");
+    }
+
+    @Test
+    @RunWithCustomExecutor
+    public void testGetOneObjectFromObjectGroupWithRange_NotSatisfiable() throws Exception {
+
+        // Given
+        String idStrategy = VitamConfiguration.getDefaultStrategy();
+        String idObject = "aeaaaaaaaabgthlqabqgsalltyqvyuaaaaaq";
+        ByteRange range = new ByteRange(100L, null);
+
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        setAccessLogInfoInVitamSession();
+        when(metaDataClient.selectObjectGrouptbyId(any(), any())).thenReturn(metadataObjectGroupResponse);
+
+        final Response responseMock = mock(Response.class);
+        when(responseMock.getStatus()).thenReturn(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode());
+        when(responseMock.getHeaderString(GlobalDataRest.CONTENT_RANGE)).thenReturn("bytes */100");
+        when(storageClient.getContainerAsync(eq(idStrategy), eq(idObject), eq(DataCategory.OBJECT), eq(range), any()))
+            .thenReturn(responseMock);
+
+        // When
+        Response reponseFinal = accessModuleImpl
+            .getOneObjectFromObjectGroup("aebaaaaaaabgthlqabqgsalltyqvytqaaaaq", "BinaryMaster", 1, "unit0", range);
+
+        // Then
+        assertThat(reponseFinal.getStatus()).isEqualTo(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode());
+        assertThat(reponseFinal.getHeaderString(GlobalDataRest.CONTENT_RANGE)).isEqualTo("bytes */100");
+        verify(responseMock).close();
+    }
+
     @Test
     @RunWithCustomExecutor
     public void testGetOneObjectFromObjectGroupOfUnavailableObjectFromAsynContainerThenException() throws Exception {
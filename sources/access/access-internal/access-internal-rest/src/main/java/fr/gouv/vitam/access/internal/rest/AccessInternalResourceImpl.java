@@ -94,6 +94,7 @@ import fr.gouv.vitam.common.security.SanityChecker;
 import fr.gouv.vitam.common.server.application.HttpHeaderHelper;
 import fr.gouv.vitam.common.server.application.VitamHttpHeader;
 import fr.gouv.vitam.common.server.application.resources.ApplicationStatusResource;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.functional.administration.client.AdminManagementClientFactory;
 import fr.gouv.vitam.logbook.common.exception.LogbookClientAlreadyExistsException;
@@ -979,8 +980,13 @@ public class AccessInternalResourceImpl extends ApplicationStatusResource implem
         final int version = Integer.parseInt(xVersion);
 
         try {
+            ByteRange range = parseRange(multipleMap.getFirst(GlobalDataRest.RANGE));
+            if (range == null) {
+                return accessModule.getOneObjectFromObjectGroup(idObjectGroup, xQualifier,
+                    version, idUnit);
+            }
             return accessModule.getOneObjectFromObjectGroup(idObjectGroup, xQualifier,
-                version, idUnit);
+                version, idUnit, range);
         } catch (final InvalidParseOperationException | IllegalArgumentException exc) {
             LOGGER.error(exc);
             return Response.status(Status.PRECONDITION_FAILED)
@@ -1000,6 +1006,16 @@ public class AccessInternalResourceImpl extends ApplicationStatusResource implem
         }
     }
 
+    private ByteRange parseRange(String rangeHeader) {
+        try {
+            return ByteRange.parse(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            // Unsupported ranges are ignored (RFC 7233) : full object is returned
+            LOGGER.warn("Ignoring unsupported range header " + rangeHeader, e);
+            return null;
+        }
+    }
+
     private boolean validUsage(String s) {
         final VitamSession vitamSession = getVitamSession();
         Set<String> versions = vitamSession.getContract().getDataObjectVersion();
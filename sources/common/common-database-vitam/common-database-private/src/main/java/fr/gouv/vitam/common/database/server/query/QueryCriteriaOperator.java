@@ -28,6 +28,7 @@ package fr.gouv.vitam.common.database.server.query;
 
 public enum QueryCriteriaOperator {
     EQ("EQ"),
+    NE("NE"),
     LT("LT"),
     LTE("LTE"),
     GT("GT"),
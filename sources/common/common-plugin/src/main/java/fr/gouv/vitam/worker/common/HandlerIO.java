@@ -37,6 +37,7 @@ import fr.gouv.vitam.worker.core.exception.WorkerspaceQueueException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
+import fr.gouv.vitam.workspace.api.model.FileParams;
 import fr.gouv.vitam.workspace.client.WorkspaceClientFactory;
 
 import javax.ws.rs.core.Response;
@@ -220,14 +221,14 @@ public interface HandlerIO extends VitamAutoCloseable {
         ContentAddressableStorageServerException;
 
     /**
-     * get Map of File With Params From folder in Workspace
+     * get Map of File With Params (size, and digest computed at extraction if any) From folder in Workspace
      *
      * @param containerName
      * @param folderName
      * @return
      * @throws ProcessingException
      */
-    Map<String, Long> getFilesWithParamsFromWorkspace(String containerName, String folderName)
+    Map<String, FileParams> getFilesWithParamsFromWorkspace(String containerName, String folderName)
         throws ProcessingException;
 
     /**
@@ -68,6 +68,23 @@ public final class VitamMetricsNames {
      */
     public static final String VITAM_STORAGE_DOWNLOAD_SIZE_BYTES = "vitam_storage_download_size_bytes";
 
+    /**
+     * Vitam storage offer transfer lag in bytes per strategy and offer_id : data read from source but not yet sent to
+     * the offer, summed over in-progress transfers
+     * Type: Gauge
+     * Labels: "strategy", "offer_id"
+     */
+    public static final String VITAM_STORAGE_OFFER_TRANSFER_LAG_BYTES = "vitam_storage_offer_transfer_lag_bytes";
+
+    /**
+     * Vitam storage offer transfer completion delay in seconds per strategy and offer_id : delay between the first
+     * offer transfer completion and the offer transfer completion
+     * Type: Histogram
+     * Labels: "strategy", "offer_id"
+     */
+    public static final String VITAM_STORAGE_OFFER_TRANSFER_COMPLETION_DELAY_SECONDS =
+        "vitam_storage_offer_transfer_completion_delay_seconds";
+
 
     /**
      * Vitam alert service counter per log_level
@@ -137,6 +154,22 @@ public final class VitamMetricsNames {
     public static final String VITAM_PROCESSING_WORKER_TASK_IDLE_DURATION_IN_QUEUE_SECONDS =
         "vitam_processing_worker_task_idle_duration_in_queue_seconds";
 
+    /**
+     * Total time spent by worker threads waiting for a task to execute
+     * Type: Counter
+     * Labels: "worker_family"
+     */
+    public static final String VITAM_PROCESSING_WORKER_IDLE_SECONDS_TOTAL =
+        "vitam_processing_worker_idle_seconds_total";
+
+    /**
+     * Current concurrency limit of each registered worker
+     * Type: Gauge
+     * Labels: "worker_family", "worker_id"
+     */
+    public static final String VITAM_PROCESSING_WORKER_CONCURRENCY_LIMIT =
+        "vitam_processing_worker_concurrency_limit";
+
 
     /**
      * ProcessWorkflow step execution duration. From call of distributor until receiving the response
@@ -237,6 +270,33 @@ public final class VitamMetricsNames {
      */
     public static final String VITAM_LOGBOOK_OPERATION_RECONSTRUCTION_LATENCY_SECONDS = "vitam_logbook_reconstruction_operation_latency_seconds";
 
+    /*
+     * =================================
+     *            Offer
+     * ==================================
+     */
+
+    /**
+     * Total bytes of object content served by a Vitam storage offer, per tenant and data category. Bytes served per
+     * second are computed by rating this counter.
+     * Type: Counter
+     * Labels: "tenant", "data_category"
+     */
+    public static final String VITAM_OFFER_READ_OBJECT_BYTES_TOTAL = "vitam_offer_read_object_bytes_total";
+
+    /**
+     * Number of offer log entries persisted per group commit batch of a Vitam storage offer
+     * Type: Histogram
+     */
+    public static final String VITAM_OFFER_LOG_GROUP_COMMIT_BATCH_SIZE = "vitam_offer_log_group_commit_batch_size";
+
+    /**
+     * Duration in seconds between offer log entry submission and its persistence (group commit latency)
+     * Type: Histogram
+     */
+    public static final String VITAM_OFFER_LOG_GROUP_COMMIT_LATENCY =
+        "vitam_offer_log_group_commit_latency_seconds";
+
     /*
      * =================================
      *            Tape Offer
@@ -256,6 +316,27 @@ public final class VitamMetricsNames {
      */
     public static final String VITAM_TAPE_OFFER_USED_CACHE_CAPACITY = "vitam_offer_tape_cache_capacity_used";
 
+    /**
+     * Number of archive reads served from cache for vitam tape offer
+     * Type: Counter
+     * Labels: "file_bucket"
+     */
+    public static final String VITAM_TAPE_OFFER_CACHE_HITS_TOTAL = "vitam_offer_tape_cache_hits_total";
+
+    /**
+     * Number of archive reads not found in cache for vitam tape offer
+     * Type: Counter
+     * Labels: "file_bucket"
+     */
+    public static final String VITAM_TAPE_OFFER_CACHE_MISSES_TOTAL = "vitam_offer_tape_cache_misses_total";
+
+    /**
+     * Number of archives evicted from cache for vitam tape offer
+     * Type: Counter
+     * Labels: "file_bucket"
+     */
+    public static final String VITAM_TAPE_OFFER_CACHE_EVICTIONS_TOTAL = "vitam_offer_tape_cache_evictions_total";
+
     /**
      * Total number of worker drives for a vitam tape offer
      * Type: Gauge
@@ -270,6 +351,23 @@ public final class VitamMetricsNames {
      */
     public static final String VITAM_TAPE_OFFER_INTERRUPTED_WORKERS = "vitam_offer_tape_workers_interrupted";
 
+    /**
+     * Drive time (in seconds) spent per GB read from tape by read orders of a vitam tape offer (mount, positioning and
+     * read included)
+     * Type: Histogram
+     * Labels: "library", "drive"
+     */
+    public static final String VITAM_TAPE_OFFER_DRIVE_READ_TIME_PER_GB = "vitam_offer_tape_drive_read_time_per_gb";
+
+    /**
+     * Total drive time (in seconds) spent transferring data to / from tape (drive streaming time). Its rate gives drive
+     * utilisation.
+     * Type: Counter
+     * Labels: "library", "drive", "operation" ("read" or "write")
+     */
+    public static final String VITAM_TAPE_OFFER_DRIVE_TRANSFER_SECONDS_TOTAL =
+        "vitam_offer_tape_drive_transfer_seconds_total";
+
     /**
      * Total number of tapes with EMPTY state
      * Type: Gauge
@@ -322,6 +420,22 @@ public final class VitamMetricsNames {
     public static final String VITAM_TAPE_OFFER_COUNT_EXPIRED_ACCESS_REQUESTS =
         "vitam_offer_tape_access_requests_expired_count";
 
+    /**
+     * Number of archives scheduled for read-ahead on access request creation
+     * Type: Counter
+     * Labels: "file_bucket"
+     */
+    public static final String VITAM_TAPE_OFFER_READ_AHEAD_ARCHIVES_TOTAL =
+        "vitam_offer_tape_access_requests_read_ahead_archives_total";
+
+    /**
+     * Number of tape mounts avoided thanks to archives previously staged in cache by read-ahead
+     * Type: Counter
+     * Labels: "file_bucket"
+     */
+    public static final String VITAM_TAPE_OFFER_READ_AHEAD_MOUNTS_AVOIDED_TOTAL =
+        "vitam_offer_tape_access_requests_read_ahead_mounts_avoided_total";
+
     /**
      * Number of read orders with READY state
      * Type: Gauge
@@ -137,6 +137,13 @@ public class IngestWorkflowConstants {
 
     public static final String DIFF_SIZE_JSON = "_diffSizeJson";
 
+    /**
+     * In work tag : digest of the binary computed by the workspace while extracting the SIP, and its algorithm
+     */
+    public static final String EXTRACTION_DIGEST = "_extractionDigest";
+
+    public static final String EXTRACTION_DIGEST_ALGORITHM = "_extractionDigestAlgorithm";
+
     /**
      * Contains the results of checking ingest external operations (antivirus, format and manifest )
      */
@@ -82,6 +82,10 @@ public enum VitamHttpHeader {
      * The X-Content-Length used to have object size (for storage)
      */
     X_CONTENT_LENGTH(GlobalDataRest.X_CONTENT_LENGTH, "[0-9]+"),
+    /**
+     * The Range header used to read a single byte range of an object
+     */
+    RANGE(GlobalDataRest.RANGE, "\\s*bytes\\s*=\\s*[0-9]+\\s*-\\s*[0-9]*\\s*"),
 
     /**
      * The X_DIGEST used to have digest value (for storage)
@@ -50,6 +50,9 @@ public class BoundedByteBuffer implements AutoCloseable {
 
     private AtomicBoolean endOfStream = new AtomicBoolean(false);
 
+    private volatile long writtenBytes = 0L;
+    private final long[] readBytes;
+
     private final Writer writer;
     private final Reader[] readers;
 
@@ -59,6 +62,8 @@ public class BoundedByteBuffer implements AutoCloseable {
 
         this.circularBuffer = new byte[bufferSize];
 
+        this.readBytes = new long[readerCount];
+
         this.locks = new ProducerConsumerLock[readerCount];
         for (int i = 0; i < readerCount; i++) {
             this.locks[i] = new ProducerConsumerLock(bufferSize);
@@ -82,6 +87,38 @@ public class BoundedByteBuffer implements AutoCloseable {
         return readers[index];
     }
 
+    /**
+     * @return total number of bytes written to the buffer so far
+     */
+    public long getWrittenBytes() {
+        return writtenBytes;
+    }
+
+    /**
+     * @return true if the writer signaled end of stream (all data has been written to the buffer)
+     */
+    public boolean isEndOfStream() {
+        return endOfStream.get();
+    }
+
+    /**
+     * Lag of a reader : number of bytes written to the buffer but not yet read by the reader.
+     * Lag is bounded by buffer size.
+     *
+     * @param index the reader index
+     * @return the reader lag in bytes
+     */
+    public long getReaderLag(int index) {
+        if (index < 0 || index >= readerCount) {
+            throw new IllegalArgumentException("Invalid index");
+        }
+        long lag;
+        synchronized (readBytes) {
+            lag = writtenBytes - readBytes[index];
+        }
+        return Math.max(0L, lag);
+    }
+
     @Override
     public void close() {
         writer.close();
@@ -137,6 +174,7 @@ public class BoundedByteBuffer implements AutoCloseable {
             }
 
             writePos = (writePos + length) % bufferSize;
+            writtenBytes += length;
 
             // notify
             notifyConsumers(length);
@@ -189,6 +227,7 @@ public class BoundedByteBuffer implements AutoCloseable {
      */
     private class Reader extends InputStream implements AutoCloseable {
 
+        private final int index;
         private final ProducerConsumerLock lock;
         private int readPos;
         private boolean closed;
@@ -197,6 +236,7 @@ public class BoundedByteBuffer implements AutoCloseable {
             if (index < 0 || index >= readerCount) {
                 throw new IllegalArgumentException("Invalid index");
             }
+            this.index = index;
             this.readPos = 0;
             this.lock = locks[index];
             this.closed = false;
@@ -276,6 +316,9 @@ public class BoundedByteBuffer implements AutoCloseable {
                 System.arraycopy(circularBuffer, 0, buffer, offset + bytesToReadFromPos, bytesToReadFromBeginning);
             }
             readPos = (readPos + availableLength) % bufferSize;
+            synchronized (readBytes) {
+                readBytes[index] += availableLength;
+            }
 
             // Release writer lock
             notifyWriter(availableLength);
@@ -95,6 +95,28 @@ public class MultiplePipedInputStream implements VitamAutoCloseable {
         return this.boundedByteBuffer.getReader(rank);
     }
 
+    /**
+     * Lag of the rank-th linked InputStream : number of bytes read from source but not yet read by the linked
+     * InputStream
+     *
+     * @param rank between 0 and nbCopy-1
+     * @return the lag in bytes
+     * @throws IllegalArgumentException if rank &lt; 0 or rank &gt;= nbCopy
+     */
+    public long getLag(int rank) {
+        if (rank < 0 || rank >= nbCopy) {
+            throw new IllegalArgumentException("Rank is invalid");
+        }
+        return this.boundedByteBuffer.getReaderLag(rank);
+    }
+
+    /**
+     * @return true if source stream has been fully read (remaining data, if any, is buffered for slower readers)
+     */
+    public boolean isSourceFullyRead() {
+        return this.boundedByteBuffer.isEndOfStream();
+    }
+
     /**
      * @throws IOException if any exception is found during multiple streams
      */
@@ -26,6 +26,7 @@
  */
 package fr.gouv.vitam.common.stream;
 
+import fr.gouv.vitam.common.GlobalDataRest;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 
@@ -43,6 +44,7 @@ import java.lang.annotation.Annotation;
 import java.net.URI;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -77,6 +79,8 @@ import java.util.Set;
  */
 public class VitamAsyncInputStreamResponse extends Response {
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(VitamAsyncInputStreamResponse.class);
+    private static final List<String> RANGE_HEADERS =
+        List.of(GlobalDataRest.CONTENT_RANGE, GlobalDataRest.X_CONTENT_LENGTH, GlobalDataRest.X_CHUNK_LENGTH);
     private final Response response;
     private final InputStream inputStream;
     private final Status status;
@@ -163,6 +167,28 @@ public class VitamAsyncInputStreamResponse extends Response {
         return headers;
     }
 
+    /**
+     * Copy range related headers (Content-Range, X-Content-Length and X-Chunk-Length) of a partial content (206) or
+     * range not satisfiable (416) response
+     *
+     * @param response the source response
+     * @param headers the headers map to fill
+     * @return the headers map
+     */
+    public static Map<String, String> addRangeHeadersFromResponse(Response response, Map<String, String> headers) {
+        if (response.getStatus() != Status.PARTIAL_CONTENT.getStatusCode() &&
+            response.getStatus() != Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode()) {
+            return headers;
+        }
+        for (String headerName : RANGE_HEADERS) {
+            String headerValue = response.getHeaderString(headerName);
+            if (headerValue != null) {
+                headers.put(headerName, headerValue);
+            }
+        }
+        return headers;
+    }
+
     @Override
     public int getStatus() {
         return response.getStatus();
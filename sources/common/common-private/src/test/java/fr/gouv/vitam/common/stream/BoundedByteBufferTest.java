@@ -108,6 +108,37 @@ public class BoundedByteBufferTest {
         executorService.awaitTermination(1, TimeUnit.MINUTES);
     }
 
+    @Test
+    public void testReaderLag() throws Exception {
+
+        // Given
+        BoundedByteBuffer instance = new BoundedByteBuffer(BUFFER_SIZE, 2);
+        BoundedByteBuffer.Writer writer = instance.getWriter();
+        InputStream reader0 = instance.getReader(0);
+        InputStream reader1 = instance.getReader(1);
+
+        // When
+        writer.write(new byte[1000], 0, 1000);
+        assertThat(reader0.read(new byte[600])).isEqualTo(600);
+        assertThat(reader1.read(new byte[100])).isEqualTo(100);
+        writer.write(new byte[200], 0, 200);
+
+        // Then
+        assertThat(instance.getWrittenBytes()).isEqualTo(1200L);
+        assertThat(instance.getReaderLag(0)).isEqualTo(600L);
+        assertThat(instance.getReaderLag(1)).isEqualTo(1100L);
+        assertThat(instance.isEndOfStream()).isFalse();
+
+        writer.writeEOF();
+        writer.close();
+        assertThat(instance.isEndOfStream()).isTrue();
+        assertThat(IOUtils.toByteArray(reader0)).hasSize(600);
+        assertThat(instance.getReaderLag(0)).isEqualTo(0L);
+        assertThat(instance.getReaderLag(1)).isEqualTo(1100L);
+
+        instance.close();
+    }
+
     @Test
     public void testBrokenWriter() throws Exception {
 
@@ -168,6 +168,16 @@ public class GlobalDataRest {
      * Header use to have the body (object) size even if Content-Type is chunked
      */
     public static final String X_CONTENT_LENGTH = "X-Content-Length";
+    /**
+     * HTTP Range request header
+     */
+    public static final String RANGE = "Range";
+
+    /**
+     * HTTP Content-Range response header
+     */
+    public static final String CONTENT_RANGE = "Content-Range";
+
     /**
      * Header use to  have size before swift upload
      */
@@ -26,6 +26,7 @@
  */
 package fr.gouv.vitam.common.model.storage;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class ObjectEntry {
@@ -34,6 +35,9 @@ public class ObjectEntry {
     private String objectId;
     @JsonProperty("size")
     private long size;
+    @JsonProperty("digest")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String digest;
 
     public ObjectEntry() {
         // Default constructor for deserialization
@@ -44,6 +48,12 @@ public class ObjectEntry {
         this.size = size;
     }
 
+    public ObjectEntry(String objectId, long size, String digest) {
+        this.objectId = objectId;
+        this.size = size;
+        this.digest = digest;
+    }
+
     public String getObjectId() {
         return objectId;
     }
@@ -61,4 +71,16 @@ public class ObjectEntry {
         this.size = size;
         return this;
     }
+
+    /**
+     * @return the object digest, or null when unknown (offer listings do not provide digests)
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    public ObjectEntry setDigest(String digest) {
+        this.digest = digest;
+        return this;
+    }
 }
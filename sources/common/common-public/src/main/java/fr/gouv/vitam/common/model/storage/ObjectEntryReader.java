@@ -26,57 +26,11 @@
  */
 package fr.gouv.vitam.common.model.storage;
 
-import fr.gouv.vitam.common.collection.CloseableIterator;
-import fr.gouv.vitam.common.exception.InvalidParseOperationException;
-import fr.gouv.vitam.common.json.JsonHandler;
-import fr.gouv.vitam.common.stream.StreamUtils;
-import org.apache.commons.collections4.iterators.PeekingIterator;
-
-import java.io.BufferedReader;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-
-public class ObjectEntryReader implements CloseableIterator<ObjectEntry> {
-
-    private static final String EMPTY_ENTRY = "{}";
 
-    private final InputStream inputStream;
-    private final PeekingIterator<String> iterator;
+public class ObjectEntryReader extends JsonLineEntryReader<ObjectEntry> {
 
     public ObjectEntryReader(InputStream inputStream) {
-        this.inputStream = inputStream;
-        this.iterator = new PeekingIterator<>(
-            new BufferedReader(new InputStreamReader(inputStream))
-                .lines()
-                .iterator()
-        );
-    }
-
-    @Override
-    public boolean hasNext() {
-        // Last entry is a special EOF entry with null objectId.
-        // If EOF is encountered before the EOF entry, then the stream is broken.
-        if (!iterator.hasNext()) {
-            throw new RuntimeException("Premature EOF");
-        }
-        String nextEntry = iterator.peek();
-        return !EMPTY_ENTRY.equals(nextEntry);
-    }
-
-    @Override
-    public ObjectEntry next() {
-        if (!hasNext()) {
-            throw new IllegalStateException("No more entries to read");
-        }
-        try {
-            return JsonHandler.getFromString(iterator.next(), ObjectEntry.class);
-        } catch (InvalidParseOperationException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    @Override
-    public void close() {
-        StreamUtils.closeSilently(inputStream);
+        super(inputStream, ObjectEntry.class);
     }
 }
@@ -26,73 +26,11 @@
  */
 package fr.gouv.vitam.common.model.storage;
 
-import fr.gouv.vitam.common.ParametersChecker;
-import fr.gouv.vitam.common.json.JsonHandler;
-
-import java.io.BufferedWriter;
-import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-
-public class ObjectEntryWriter implements AutoCloseable {
-
-    private static final String EMPTY_ENTRY = "{}";
-    private final OutputStream ouputStream;
-    private final BufferedWriter writer;
-    private boolean isEmpty = true;
-    private boolean isEofWritten;
-    private boolean isClosed;
-
-    public ObjectEntryWriter(OutputStream ouputStream) {
-        this.ouputStream = ouputStream;
-        this.writer = new BufferedWriter(new OutputStreamWriter(ouputStream));
-    }
-
-    public void write(ObjectEntry objectEntry) throws IOException {
-        ParametersChecker.checkParameter("");
-        ensureNotClosed();
-        ensureNotEof();
-        if (!isEmpty) {
-            writer.append("\n");
-        }
-        isEmpty = false;
-        writer.write(JsonHandler.unprettyPrint(objectEntry));
-    }
-
-    public void writeEof() throws IOException {
-        ensureNotClosed();
-        ensureNotEof();
-        if (!isEmpty) {
-            writer.append("\n");
-        }
-        isEmpty = false;
-        writer.write(EMPTY_ENTRY);
-        isEofWritten = true;
-    }
 
-    @Override
-    public void close() throws IOException {
-        if (isClosed) {
-            return;
-        }
-        isClosed = true;
-        if (isEmpty) {
-            return;
-        }
-        this.writer.flush();
-        this.writer.close();
-        this.ouputStream.close();
-    }
-
-    private void ensureNotClosed() throws IOException {
-        if (isClosed) {
-            throw new IOException("Closed stream");
-        }
-    }
+public class ObjectEntryWriter extends JsonLineEntryWriter<ObjectEntry> {
 
-    private void ensureNotEof() throws IOException {
-        if (isEofWritten) {
-            throw new IOException("Cannot append after EOF");
-        }
+    public ObjectEntryWriter(OutputStream outputStream) {
+        super(outputStream);
     }
 }
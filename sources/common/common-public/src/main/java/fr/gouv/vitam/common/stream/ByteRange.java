@@ -0,0 +1,157 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.common.stream;
+
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single byte range of an HTTP Range request (RFC 7233).
+ * Only "bytes=first-" and "bytes=first-last" forms are supported. Suffix ranges ("bytes=-n") and multiple ranges
+ * are not.
+ */
+public final class ByteRange {
+
+    private static final String BYTES_UNIT = "bytes";
+    private static final Pattern RANGE_PATTERN = Pattern.compile("^\\s*bytes\\s*=\\s*(\\d+)\\s*-\\s*(\\d*)\\s*$");
+
+    private final long first;
+    private final Long last;
+
+    /**
+     * @param first offset of the first byte
+     * @param last offset of the last byte (inclusive), or null for up to the end of the object
+     */
+    public ByteRange(long first, Long last) {
+        if (first < 0) {
+            throw new IllegalArgumentException("Invalid range start " + first);
+        }
+        if (last != null && last < first) {
+            throw new IllegalArgumentException("Invalid range " + first + "-" + last);
+        }
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * Parses a Range header value
+     *
+     * @param headerValue the Range header value
+     * @return the parsed range, or null if header value is null or empty
+     * @throws IllegalArgumentException if header value is not a supported range
+     */
+    public static ByteRange parse(String headerValue) {
+        if (headerValue == null || headerValue.isBlank()) {
+            return null;
+        }
+        Matcher matcher = RANGE_PATTERN.matcher(headerValue);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Unsupported range " + headerValue);
+        }
+        try {
+            long first = Long.parseLong(matcher.group(1));
+            Long last = matcher.group(2).isEmpty() ? null : Long.parseLong(matcher.group(2));
+            return new ByteRange(first, last);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unsupported range " + headerValue, e);
+        }
+    }
+
+    /**
+     * @return the offset of the first byte
+     */
+    public long getOffset() {
+        return first;
+    }
+
+    /**
+     * @return the max number of bytes of the range, or null for up to the end of the object
+     */
+    public Long getMaxSize() {
+        return last == null ? null : last - first + 1;
+    }
+
+    /**
+     * @return the Range header value
+     */
+    public String toHeaderValue() {
+        return BYTES_UNIT + "=" + first + "-" + (last == null ? "" : last);
+    }
+
+    /**
+     * @param totalSize the full object size
+     * @return true if the range overlaps the object content
+     */
+    public boolean isSatisfiable(long totalSize) {
+        return first < totalSize;
+    }
+
+    /**
+     * Builds the Content-Range header value of a partial (206) response
+     *
+     * @param offset offset of the first returned byte
+     * @param size number of returned bytes
+     * @param totalSize the full object size
+     * @return the Content-Range header value
+     */
+    public static String toContentRange(long offset, long size, long totalSize) {
+        return BYTES_UNIT + " " + offset + "-" + (offset + size - 1) + "/" + totalSize;
+    }
+
+    /**
+     * Builds the Content-Range header value of a range not satisfiable (416) response
+     *
+     * @param totalSize the full object size
+     * @return the Content-Range header value
+     */
+    public static String toUnsatisfiedContentRange(long totalSize) {
+        return BYTES_UNIT + " */" + totalSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ByteRange byteRange = (ByteRange) o;
+        return first == byteRange.first && Objects.equals(last, byteRange.last);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(first, last);
+    }
+
+    @Override
+    public String toString() {
+        return toHeaderValue();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.common.stream;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ByteRangeTest {
+
+    @Test
+    public void should_parse_bounded_range() {
+        ByteRange range = ByteRange.parse("bytes=10-19");
+        assertThat(range.getOffset()).isEqualTo(10L);
+        assertThat(range.getMaxSize()).isEqualTo(10L);
+        assertThat(range.toHeaderValue()).isEqualTo("bytes=10-19");
+    }
+
+    @Test
+    public void should_parse_open_range() {
+        ByteRange range = ByteRange.parse("bytes=100-");
+        assertThat(range.getOffset()).isEqualTo(100L);
+        assertThat(range.getMaxSize()).isNull();
+        assertThat(range.toHeaderValue()).isEqualTo("bytes=100-");
+    }
+
+    @Test
+    public void should_return_null_on_missing_header() {
+        assertThat(ByteRange.parse(null)).isNull();
+        assertThat(ByteRange.parse("")).isNull();
+    }
+
+    @Test
+    public void should_reject_unsupported_ranges() {
+        assertThatThrownBy(() -> ByteRange.parse("bytes=-100")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ByteRange.parse("bytes=0-10,20-30")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ByteRange.parse("bytes=20-10")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ByteRange.parse("items=0-10")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_build_content_range() {
+        assertThat(ByteRange.toContentRange(10L, 10L, 100L)).isEqualTo("bytes 10-19/100");
+        assertThat(ByteRange.toUnsatisfiedContentRange(100L)).isEqualTo("bytes */100");
+        assertThat(ByteRange.parse("bytes=100-").isSatisfiable(100L)).isFalse();
+        assertThat(ByteRange.parse("bytes=99-").isSatisfiable(100L)).isTrue();
+    }
+}
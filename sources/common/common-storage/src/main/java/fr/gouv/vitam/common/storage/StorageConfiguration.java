@@ -28,9 +28,11 @@ package fr.gouv.vitam.common.storage;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import fr.gouv.vitam.common.server.application.configuration.DefaultVitamApplicationConfiguration;
+import fr.gouv.vitam.common.storage.filesystem.v2.CompressionAlgorithm;
 import fr.gouv.vitam.common.storage.swift.VitamCustomizedHeader;
 import fr.gouv.vitam.common.storage.tapelibrary.TapeLibraryConfiguration;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -127,6 +129,26 @@ public class StorageConfiguration extends DefaultVitamApplicationConfiguration {
 
     private List<VitamCustomizedHeader> customHeaders;
 
+    /**
+     * When enabled, the digest computed while writing an object is trusted (after fsync & size check) instead of
+     * re-reading the whole object from disk. Only used by filesystem offers.
+     */
+    private boolean trustWriteDigest;
+
+    /**
+     * Container types (data category folders) whose objects are stored compressed at rest. Stored digests & sizes
+     * still refer to the uncompressed content. Only used by filesystem-hash offers.
+     */
+    private List<String> compressedContainerTypes = new ArrayList<>();
+
+    private CompressionAlgorithm compressionAlgorithm = CompressionAlgorithm.LZ4;
+
+    /**
+     * Number of threads used by the workspace to extract the entries of a ZIP archive. ZIP archives are extracted
+     * sequentially from the stream when set to 1.
+     */
+    private int extractionThreads = 1;
+
     private int swiftNbRetries = 1;
     private int swiftWaitingTimeInMilliseconds = 10_000;
     private int swiftRandomRangeSleepInMilliseconds = 10_000;
@@ -474,6 +496,42 @@ public class StorageConfiguration extends DefaultVitamApplicationConfiguration {
         return this;
     }
 
+    public boolean isTrustWriteDigest() {
+        return trustWriteDigest;
+    }
+
+    public StorageConfiguration setTrustWriteDigest(boolean trustWriteDigest) {
+        this.trustWriteDigest = trustWriteDigest;
+        return this;
+    }
+
+    public List<String> getCompressedContainerTypes() {
+        return compressedContainerTypes;
+    }
+
+    public StorageConfiguration setCompressedContainerTypes(List<String> compressedContainerTypes) {
+        this.compressedContainerTypes = compressedContainerTypes;
+        return this;
+    }
+
+    public CompressionAlgorithm getCompressionAlgorithm() {
+        return compressionAlgorithm;
+    }
+
+    public StorageConfiguration setCompressionAlgorithm(CompressionAlgorithm compressionAlgorithm) {
+        this.compressionAlgorithm = compressionAlgorithm;
+        return this;
+    }
+
+    public int getExtractionThreads() {
+        return extractionThreads;
+    }
+
+    public StorageConfiguration setExtractionThreads(int extractionThreads) {
+        this.extractionThreads = extractionThreads;
+        return this;
+    }
+
     public int getSwiftNbRetries() {
         return swiftNbRetries;
     }
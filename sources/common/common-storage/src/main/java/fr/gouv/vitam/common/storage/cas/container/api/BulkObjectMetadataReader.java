@@ -0,0 +1,53 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.common.storage.cas.container.api;
+
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Storage able to read metadata of several objects at once, from cached metadata only.
+ */
+public interface BulkObjectMetadataReader {
+
+    /**
+     * Reads metadata of objects of a container without any digest computation. Objects are reported in storage
+     * order (not in request order).
+     * Reported metadata digest is null when no digest of the default digest type is cached for the object.
+     * Missing objects (including objects of a missing container) are reported with null metadata.
+     *
+     * @param containerName the container name
+     * @param objectIds the object ids
+     * @param objectMetadataListener listener notified for each object
+     * @throws ContentAddressableStorageException on storage errors
+     * @throws IOException when listener fails
+     */
+    void readObjectsMetadataFromCache(String containerName, List<String> objectIds,
+        ObjectMetadataListener objectMetadataListener) throws ContentAddressableStorageException, IOException;
+}
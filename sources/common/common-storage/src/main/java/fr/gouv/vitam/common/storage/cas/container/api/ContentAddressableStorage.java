@@ -39,6 +39,9 @@ import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundEx
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageUnavailableDataFromAsyncOfferException;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
@@ -126,6 +129,39 @@ public interface ContentAddressableStorage extends VitamAutoCloseable {
         throws ContentAddressableStorageNotFoundException, ContentAddressableStorageException,
         ContentAddressableStorageUnavailableDataFromAsyncOfferException;
 
+    /**
+     * Retrieves a byte range of the object at location containerName/objectName.
+     * <p>
+     * Default implementation skips leading bytes of the full object stream. Implementations that support native
+     * ranged reads should override it.
+     * If chunkOffset is beyond the end of the object, an empty content is returned (with the full object size as
+     * total size).
+     *
+     * @param containerName container where this exists.
+     * @param objectName fully qualified name relative to the container.
+     * @param chunkOffset offset of the first byte to return
+     * @param maxChunkSize max number of bytes to return, or null to read up to the end of the object
+     * @return the partial object content
+     * @throws ContentAddressableStorageNotFoundException Thrown when the container cannot be located.
+     * @throws ContentAddressableStorageUnavailableDataFromAsyncOfferException Thrown when object cannot be read due to missing access request on AsyncRead ContentAddressableStorage
+     * @throws ContentAddressableStorageException Thrown when get action failed due some other failure
+     */
+    default ObjectContent getObject(String containerName, String objectName, long chunkOffset, Long maxChunkSize)
+        throws ContentAddressableStorageNotFoundException, ContentAddressableStorageException,
+        ContentAddressableStorageUnavailableDataFromAsyncOfferException {
+        ObjectContent fullContent = getObject(containerName, objectName);
+        long totalSize = fullContent.getSize();
+        long chunkSize = ObjectContent.computeChunkSize(chunkOffset, maxChunkSize, totalSize);
+        InputStream inputStream = fullContent.getInputStream();
+        try {
+            IOUtils.skipFully(inputStream, Math.min(chunkOffset, totalSize));
+        } catch (IOException e) {
+            IOUtils.closeQuietly(inputStream);
+            throw new ContentAddressableStorageException("Could not skip object bytes " + objectName, e);
+        }
+        return new ObjectContent(new BoundedInputStream(inputStream, chunkSize), chunkSize, totalSize);
+    }
+
     /**
      * Create an access request for objects (asynchronous read from tape to local FS).
      * Return access request identifier
@@ -68,6 +68,14 @@ public abstract class ContentAddressableStorageAbstract implements ContentAddres
         return configuration;
     }
 
+    /**
+     * @return true if the digest computed on the fly while writing an object can be trusted, without re-reading the
+     * written object from storage
+     */
+    protected boolean isWriteDigestTrusted() {
+        return configuration != null && configuration.isTrustWriteDigest();
+    }
+
     protected String computeObjectDigest(String containerName, String objectName, DigestType algo)
         throws ContentAddressableStorageException {
 
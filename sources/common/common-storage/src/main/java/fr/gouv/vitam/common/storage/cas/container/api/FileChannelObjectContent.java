@@ -0,0 +1,65 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.common.storage.cas.container.api;
+
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+
+/**
+ * Object content backed by a region of a local file.
+ * Exposes the underlying {@link FileChannel} so that object bytes can be memory mapped & written to the response
+ * without heap copies. The input stream remains available for other consumers.
+ */
+public class FileChannelObjectContent extends ObjectContent {
+
+    private final FileChannel fileChannel;
+    private final long offset;
+
+    /**
+     * @param fileChannel the file channel. Closed when the input stream is closed.
+     * @param offset the start offset of the object content in file
+     * @param size the object content size
+     * @throws IOException on file channel positioning error
+     */
+    public FileChannelObjectContent(FileChannel fileChannel, long offset, long size) throws IOException {
+        super(new BoundedInputStream(Channels.newInputStream(fileChannel.position(offset)), size), size,
+            fileChannel.size());
+        this.fileChannel = fileChannel;
+        this.offset = offset;
+    }
+
+    public FileChannel getFileChannel() {
+        return fileChannel;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+}
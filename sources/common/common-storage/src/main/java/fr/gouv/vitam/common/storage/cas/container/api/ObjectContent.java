@@ -32,10 +32,21 @@ public class ObjectContent {
 
     private final InputStream inputStream;
     private final long size;
+    private final long totalSize;
 
     public ObjectContent(InputStream inputStream, long size) {
+        this(inputStream, size, size);
+    }
+
+    /**
+     * @param inputStream the (partial) object content stream
+     * @param size the size of the returned content
+     * @param totalSize the full object size
+     */
+    public ObjectContent(InputStream inputStream, long size, long totalSize) {
         this.inputStream = inputStream;
         this.size = size;
+        this.totalSize = totalSize;
     }
 
     public InputStream getInputStream() {
@@ -45,4 +56,31 @@ public class ObjectContent {
     public long getSize() {
         return size;
     }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public boolean isPartial() {
+        return size != totalSize;
+    }
+
+    /**
+     * Computes the size of an object chunk
+     *
+     * @param chunkOffset offset of the first byte of the chunk
+     * @param maxChunkSize max chunk size (strictly positive), or null for up to the end of the object
+     * @param totalSize the full object size
+     * @return the chunk size (0 if chunkOffset is beyond the end of the object)
+     */
+    public static long computeChunkSize(long chunkOffset, Long maxChunkSize, long totalSize) {
+        if (chunkOffset < 0) {
+            throw new IllegalArgumentException("Invalid chunk offset " + chunkOffset);
+        }
+        if (maxChunkSize != null && maxChunkSize <= 0L) {
+            throw new IllegalArgumentException("Invalid max chunk size " + maxChunkSize);
+        }
+        long remaining = Math.max(0L, totalSize - chunkOffset);
+        return maxChunkSize == null ? remaining : Math.min(remaining, maxChunkSize);
+    }
 }
@@ -34,7 +34,12 @@ public enum ExtendedAttributes {
     /**
      * This metadata contains the digest of the file in the following format : DigestType:Digest_value
      */
-    DIGEST("vitam-digest");
+    DIGEST("vitam-digest"),
+
+    /**
+     * This metadata is set on objects stored compressed, in the following format : CompressionAlgorithm:Original_size
+     */
+    COMPRESSION("vitam-compression");
 
     private final String key;
 
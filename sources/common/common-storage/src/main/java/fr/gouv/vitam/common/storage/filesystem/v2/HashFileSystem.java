@@ -38,23 +38,33 @@ import fr.gouv.vitam.common.model.storage.ObjectEntry;
 import fr.gouv.vitam.common.performance.PerformanceLogger;
 import fr.gouv.vitam.common.storage.ContainerInformation;
 import fr.gouv.vitam.common.storage.StorageConfiguration;
+import fr.gouv.vitam.common.storage.cas.container.api.BulkObjectMetadataReader;
 import fr.gouv.vitam.common.storage.cas.container.api.ContentAddressableStorageAbstract;
+import fr.gouv.vitam.common.storage.cas.container.api.FileChannelObjectContent;
 import fr.gouv.vitam.common.storage.cas.container.api.MetadatasStorageObject;
 import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
 import fr.gouv.vitam.common.storage.cas.container.api.ObjectListingListener;
+import fr.gouv.vitam.common.storage.cas.container.api.ObjectMetadataListener;
 import fr.gouv.vitam.common.storage.constants.ErrorMessage;
 import fr.gouv.vitam.common.storage.constants.ExtendedAttributes;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageAlreadyExistException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.FileAlreadyExistsException;
@@ -66,20 +76,29 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributeView;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
 /**
  * FileSystem implements a Content Addressable Storage that stores objects on the file system with a hierarchical vision
  */
-public class HashFileSystem extends ContentAddressableStorageAbstract {
+public class HashFileSystem extends ContentAddressableStorageAbstract implements BulkObjectMetadataReader {
 
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(HashFileSystem.class);
+    private static final String TMP_FILE_PREFIX = ".tmp-";
     private static final String ERROR_MSG_NOT_SUPPORTED =
         "Extended attribute not supported. You should consider to use XFS filesystem.";
     private final HashFileSystemHelper fsHelper;
+    private final List<String> compressedContainerTypes;
+    private final CompressionAlgorithm compressionAlgorithm;
 
     /**
      * @param configuration
@@ -90,6 +109,10 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         ParametersChecker.checkParameter("StoragePath can't be null", configuration.getStoragePath());
         final String storagePath = configuration.getStoragePath();
         fsHelper = new HashFileSystemHelper(storagePath);
+        compressedContainerTypes = configuration.getCompressedContainerTypes() == null ?
+            Collections.emptyList() : new ArrayList<>(configuration.getCompressedContainerTypes());
+        compressionAlgorithm = configuration.getCompressionAlgorithm() == null ?
+            CompressionAlgorithm.LZ4 : configuration.getCompressionAlgorithm();
         File f = new File(storagePath);
         if (!f.exists()) {
             throw new IllegalArgumentException("The storage path doesn't exist");
@@ -144,8 +167,18 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         fsHelper.createDirectories(parentPath);
         try {
 
-            // Create the file from the InputStream
-            Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+            if (isCompressedContainer(containerName)) {
+                // Transparent compression at rest : digest & size still refer to the uncompressed content
+                writeCompressedObject(containerName, objectName, inputStream, filePath, size);
+            } else if (isWriteDigestTrusted()) {
+                // Single pass write : file is synced to disk & its size checked, so that stream digest can be trusted
+                writeAndSyncObject(containerName, objectName, inputStream, filePath, size);
+                // Overwritten file may have been previously stored compressed (whatever the current configuration)
+                removeExtendedMetadata(filePath, ExtendedAttributes.COMPRESSION.getKey());
+            } else {
+                // Create the file from the InputStream
+                Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);
+            }
 
         } catch (FileAlreadyExistsException e) {
             throw new ContentAddressableStorageAlreadyExistException("File " + filePath + " already exists", e);
@@ -159,6 +192,13 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         DigestType digestType, long size)
         throws ContentAddressableStorageException {
 
+        if (isWriteDigestTrusted()) {
+            // Object has been synced to disk while written. Just ensure its size matches before storing stream digest
+            checkObjectSize(containerName, objectName, size);
+            storeDigest(containerName, objectName, digestType, objectDigest);
+            return;
+        }
+
         String computedDigest = computeObjectDigest(containerName, objectName, digestType);
         if (!objectDigest.equals(computedDigest)) {
             throw new ContentAddressableStorageException("Illegal state for container " + containerName +
@@ -169,8 +209,87 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         storeDigest(containerName, objectName, digestType, objectDigest);
     }
 
+    private void writeAndSyncObject(String containerName, String objectName, InputStream inputStream, Path filePath,
+        long size) throws IOException, ContentAddressableStorageException {
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        long writtenBytes;
+        try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream outputStream = Channels.newOutputStream(fileChannel);
+            writtenBytes = IOUtils.copyLarge(inputStream, outputStream);
+            fileChannel.force(true);
+        }
+        PerformanceLogger.getInstance().log("STP_Offer_" + getConfiguration().getProvider(), containerName,
+            "WRITE_AND_SYNC_OBJECT", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+
+        if (writtenBytes != size) {
+            throw new ContentAddressableStorageException("Illegal state for container " + containerName +
+                " and object " + objectName + ". Written size " + writtenBytes + " is not equal to expected size " +
+                size);
+        }
+    }
+
+    private void writeCompressedObject(String containerName, String objectName, InputStream inputStream,
+        Path filePath, long size) throws IOException, ContentAddressableStorageException {
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        // Compressed content & its compression attribute are written to a temporary file, then atomically renamed,
+        // so that readers never see compressed content without compression info (or the opposite)
+        Path tmpFilePath = Files.createTempFile(filePath.getParent(), TMP_FILE_PREFIX, null);
+        try {
+            long writtenBytes;
+            try (FileChannel fileChannel = FileChannel.open(tmpFilePath, StandardOpenOption.WRITE)) {
+                try (OutputStream outputStream = compressionAlgorithm
+                    .compress(new CloseShieldOutputStream(Channels.newOutputStream(fileChannel)))) {
+                    writtenBytes = IOUtils.copyLarge(inputStream, outputStream);
+                }
+                if (isWriteDigestTrusted()) {
+                    fileChannel.force(true);
+                }
+            }
+
+            if (writtenBytes != size) {
+                throw new ContentAddressableStorageException("Illegal state for container " + containerName +
+                    " and object " + objectName + ". Written size " + writtenBytes +
+                    " is not equal to expected size " + size);
+            }
+
+            writeExtendedMetadata(tmpFilePath, ExtendedAttributes.COMPRESSION.getKey(),
+                new CompressionInfo(compressionAlgorithm, writtenBytes).toString());
+            Files.move(tmpFilePath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpFilePath);
+        }
+        PerformanceLogger.getInstance().log("STP_Offer_" + getConfiguration().getProvider(), containerName,
+            "WRITE_COMPRESSED_OBJECT", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+    }
+
+    private void checkObjectSize(String containerName, String objectName, long size)
+        throws ContentAddressableStorageException {
+        Path filePath = fsHelper.getPathObject(containerName, objectName);
+        long actualSize;
+        try {
+            actualSize = getObjectSize(filePath);
+        } catch (NoSuchFileException e) {
+            throw new ContentAddressableStorageNotFoundException(ErrorMessage.OBJECT_NOT_FOUND + objectName, e);
+        } catch (IOException e) {
+            throw new ContentAddressableStorageServerException("I/O error on reading size of " + filePath, e);
+        }
+        if (actualSize != size) {
+            throw new ContentAddressableStorageException("Illegal state for container " + containerName +
+                " and object " + objectName + ". Stored size " + actualSize + " is not equal to expected size " + size);
+        }
+    }
+
     @Override
     public ObjectContent getObject(String containerName, String objectName) throws ContentAddressableStorageException {
+        return getObject(containerName, objectName, 0L, null);
+    }
+
+    @Override
+    public ObjectContent getObject(String containerName, String objectName, long chunkOffset, Long maxChunkSize)
+        throws ContentAddressableStorageException {
         ParametersChecker
             .checkParameter(ErrorMessage.CONTAINER_NAME_IS_A_MANDATORY_PARAMETER.getMessage(), containerName);
         Path filePath = fsHelper.getPathObject(containerName, objectName);
@@ -179,15 +298,41 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
                 objectName + " in container " + containerName + " not found");
         }
         try {
-            long size = Files.size(filePath);
-            InputStream inputStream = Files.newInputStream(filePath);
-            return new ObjectContent(inputStream, size);
+            CompressionInfo compressionInfo = readCompressionInfo(filePath);
+            if (compressionInfo != null) {
+                return getCompressedObject(filePath, compressionInfo, chunkOffset, maxChunkSize);
+            }
+
+            FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ);
+            try {
+                long chunkSize = ObjectContent.computeChunkSize(chunkOffset, maxChunkSize, fileChannel.size());
+                return new FileChannelObjectContent(fileChannel, chunkOffset, chunkSize);
+            } catch (IOException | RuntimeException e) {
+                fileChannel.close();
+                throw e;
+            }
         } catch (IOException e) {
             throw new ContentAddressableStorageException(
                 "I/O error on retrieving object " + objectName + " in the container " + containerName, e);
         }
     }
 
+    private ObjectContent getCompressedObject(Path filePath, CompressionInfo compressionInfo, long chunkOffset,
+        Long maxChunkSize) throws IOException {
+        long totalSize = compressionInfo.getOriginalSize();
+        long chunkSize = ObjectContent.computeChunkSize(chunkOffset, maxChunkSize, totalSize);
+        InputStream inputStream = compressionInfo.getAlgorithm()
+            .decompress(new BufferedInputStream(Files.newInputStream(filePath)));
+        try {
+            // Compressed content is not seekable : skip decompressed bytes up to requested offset
+            IOUtils.skipFully(inputStream, Math.min(chunkOffset, totalSize));
+            return new ObjectContent(new BoundedInputStream(inputStream, chunkSize), chunkSize, totalSize);
+        } catch (IOException | RuntimeException e) {
+            inputStream.close();
+            throw e;
+        }
+    }
+
     @Override
     public void deleteObject(String containerName, String objectName) throws ContentAddressableStorageException {
         ParametersChecker
@@ -273,6 +418,16 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         Stopwatch stopwatch = Stopwatch.createStarted();
         Path filePath = fsHelper.getPathObject(containerName, objectName);
 
+        String digestFromMD = readDigestFromExtendedMetadata(containerName, objectName, filePath, algo);
+
+        PerformanceLogger.getInstance().log("STP_Offer_" + getConfiguration().getProvider(), containerName,
+            "READ_DIGEST_FROM_XATTR", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+        return digestFromMD;
+    }
+
+    private String readDigestFromExtendedMetadata(String containerName, String objectName, Path filePath,
+        DigestType algo) {
+
         // Retrieve Digest XATTR attribute
         String digestMetadata = null;
         try {
@@ -295,9 +450,6 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
                     " is unknown : " + digestTokens[0], e);
             }
         }
-
-        PerformanceLogger.getInstance().log("STP_Offer_" + getConfiguration().getProvider(), containerName,
-            "READ_DIGEST_FROM_XATTR", stopwatch.elapsed(TimeUnit.MILLISECONDS));
         return digestFromMD;
     }
 
@@ -348,7 +500,7 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
             Path filePath = fsHelper.getPathObject(containerName, objectId);
             File file = filePath.toFile();
             BasicFileAttributes basicAttribs = getFileAttributes(file);
-            long size = Files.size(Paths.get(file.getPath()));
+            long size = getObjectSize(filePath);
             result.setObjectName(objectId);
             // TODO To be reviewed with the X-DIGEST-ALGORITHM parameter
             result.setDigest(
@@ -368,6 +520,64 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         }
     }
 
+    @Override
+    public void readObjectsMetadataFromCache(String containerName, List<String> objectIds,
+        ObjectMetadataListener objectMetadataListener) throws ContentAddressableStorageException, IOException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(),
+                containerName, objectIds);
+        if (!isExistingContainer(containerName)) {
+            // No object written yet in container : all objects are missing
+            for (String objectId : objectIds) {
+                objectMetadataListener.handleObjectMetadata(objectId, null);
+            }
+            return;
+        }
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+
+        // Group objects by hashed sub-directory, and process directories in storage order. Container is checked once,
+        // and each object costs a single stat + a single XATTR read (no digest computation).
+        Map<Path, List<String>> objectIdsByDirectory = new TreeMap<>();
+        Path containerPath = fsHelper.getPathContainer(containerName);
+        for (String objectId : objectIds) {
+            Path directory = containerPath;
+            for (String subDirectory : fsHelper.splitObjectId(objectId)) {
+                directory = directory.resolve(subDirectory);
+            }
+            objectIdsByDirectory.computeIfAbsent(directory, d -> new ArrayList<>()).add(objectId);
+        }
+
+        String type = containerName.split("_")[1];
+        DigestType digestType = VitamConfiguration.getDefaultDigestType();
+        for (Map.Entry<Path, List<String>> entry : objectIdsByDirectory.entrySet()) {
+            for (String objectId : entry.getValue()) {
+                Path filePath = entry.getKey().resolve(objectId);
+
+                BasicFileAttributes basicAttribs;
+                try {
+                    basicAttribs = Files.readAttributes(filePath, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    objectMetadataListener.handleObjectMetadata(objectId, null);
+                    continue;
+                }
+
+                MetadatasStorageObject result = new MetadatasStorageObject();
+                result.setObjectName(objectId);
+                result.setDigest(readDigestFromExtendedMetadata(containerName, objectId, filePath, digestType));
+                CompressionInfo compressionInfo = readCompressionInfo(filePath);
+                result.setFileSize(compressionInfo == null ? basicAttribs.size() : compressionInfo.getOriginalSize());
+                result.setType(type);
+                result.setLastAccessDate(basicAttribs.lastAccessTime().toString());
+                result.setLastModifiedDate(basicAttribs.lastModifiedTime().toString());
+                objectMetadataListener.handleObjectMetadata(objectId, result);
+            }
+        }
+
+        PerformanceLogger.getInstance().log("STP_Offer_" + getConfiguration().getProvider(), containerName,
+            "READ_BULK_METADATA_FROM_CACHE", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+    }
+
     @Override
     public void listContainer(String containerName, ObjectListingListener objectListingListener)
         throws ContentAddressableStorageNotFoundException, ContentAddressableStorageServerException, IOException {
@@ -380,11 +590,15 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         Files.walkFileTree(path, new SimpleFileVisitor<>() {
             @Override
             public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (file.getFileName().toString().startsWith(TMP_FILE_PREFIX)) {
+                    // Compressed object being written
+                    return FileVisitResult.CONTINUE;
+                }
                 objectListingListener
                     .handleObjectEntry(
                         new ObjectEntry(
                             file.getFileName().toString(),
-                            file.toFile().length()
+                            getObjectSize(file)
                         )
                     );
                 return super.visitFile(file, attrs);
@@ -397,6 +611,34 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         // Nothing to do
     }
 
+    private boolean isCompressedContainer(String containerName) {
+        for (String containerType : compressedContainerTypes) {
+            if (containerName.endsWith("_" + containerType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the object size (uncompressed size if object is stored compressed)
+     */
+    private long getObjectSize(Path filePath) throws IOException {
+        CompressionInfo compressionInfo = readCompressionInfo(filePath);
+        return compressionInfo == null ? Files.size(filePath) : compressionInfo.getOriginalSize();
+    }
+
+    /**
+     * Compression metadata is always honored, whatever the current configuration, since objects stored compressed
+     * remain compressed once their container type is no longer configured.
+     *
+     * @return the compression information of the object, or null if object is not stored compressed
+     */
+    private CompressionInfo readCompressionInfo(Path filePath) throws IOException {
+        String compressionMetadata = readOptionalExtendedMetadata(filePath, ExtendedAttributes.COMPRESSION.getKey());
+        return compressionMetadata == null ? null : CompressionInfo.parse(compressionMetadata);
+    }
+
     private BasicFileAttributes getFileAttributes(File file) throws IOException {
         Path path = Paths.get(file.getPath());
         BasicFileAttributeView basicView = Files.getFileAttributeView(path, BasicFileAttributeView.class);
@@ -417,6 +659,33 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
         }
     }
 
+    private String readOptionalExtendedMetadata(Path p, String name) throws IOException {
+        UserDefinedFileAttributeView view = Files.getFileAttributeView(p, UserDefinedFileAttributeView.class);
+        try {
+            if (!view.list().contains(name)) {
+                return null;
+            }
+        } catch (NoSuchFileException e) {
+            throw e;
+        } catch (SecurityException | FileSystemException e) {
+            // Extended attributes not supported ==> object cannot have been stored with this attribute
+            return null;
+        }
+        return readExtendedMetadata(view, name);
+    }
+
+    private void removeExtendedMetadata(Path p, String name) throws IOException {
+        UserDefinedFileAttributeView view = Files.getFileAttributeView(p, UserDefinedFileAttributeView.class);
+        try {
+            if (view.list().contains(name)) {
+                view.delete(name);
+            }
+        } catch (SecurityException | FileSystemException e) {
+            LOGGER.error(ERROR_MSG_NOT_SUPPORTED, e);
+            throw new IOException(ERROR_MSG_NOT_SUPPORTED, e);
+        }
+    }
+
     @VisibleForTesting
     String readExtendedMetadata(Path p, String name) throws IOException {
         return readExtendedMetadata(Files.getFileAttributeView(p, UserDefinedFileAttributeView.class), name);
@@ -434,4 +703,43 @@ public class HashFileSystem extends ContentAddressableStorageAbstract {
             throw new IOException(ERROR_MSG_NOT_SUPPORTED, e);
         }
     }
+
+    /**
+     * Compression information of an object stored compressed, persisted as an extended attribute
+     */
+    private static class CompressionInfo {
+
+        private final CompressionAlgorithm algorithm;
+        private final long originalSize;
+
+        private CompressionInfo(CompressionAlgorithm algorithm, long originalSize) {
+            this.algorithm = algorithm;
+            this.originalSize = originalSize;
+        }
+
+        private static CompressionInfo parse(String compressionMetadata) throws IOException {
+            String[] tokens = compressionMetadata.split(":");
+            try {
+                if (tokens.length == 2) {
+                    return new CompressionInfo(CompressionAlgorithm.valueOf(tokens[0]), Long.parseLong(tokens[1]));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid compression extended attribute " + compressionMetadata, e);
+            }
+            throw new IOException("Invalid compression extended attribute " + compressionMetadata);
+        }
+
+        private CompressionAlgorithm getAlgorithm() {
+            return algorithm;
+        }
+
+        private long getOriginalSize() {
+            return originalSize;
+        }
+
+        @Override
+        public String toString() {
+            return algorithm.name() + ":" + originalSize;
+        }
+    }
 }
@@ -50,6 +50,10 @@ public enum AmazonS3APIErrorCodes {
      * Error when object does not exists
      */
     NO_SUCH_KEY("NoSuchKey"),
+    /**
+     * Error when requested range is beyond object size
+     */
+    INVALID_RANGE("InvalidRange"),
     /**
      * Error when bucket or object does not exists
      */
@@ -293,16 +293,50 @@ public class AmazonS3V1 extends ContentAddressableStorageAbstract {
             containerName, objectName);
         String bucketName = generateBucketName(containerName);
         GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, objectName);
+        return doGetObject(containerName, objectName, getObjectRequest);
+    }
+
+    @Override
+    public ObjectContent getObject(String containerName, String objectName, long chunkOffset, Long maxChunkSize)
+        throws ContentAddressableStorageException {
+        LOGGER.debug(String.format("Download object %s from container %s (offset=%d, maxSize=%s)", objectName,
+            containerName, chunkOffset, maxChunkSize));
+        ParametersChecker.checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(),
+            containerName, objectName);
+        if (chunkOffset == 0L && maxChunkSize == null) {
+            return getObject(containerName, objectName);
+        }
+        if (maxChunkSize != null && maxChunkSize <= 0L) {
+            throw new IllegalArgumentException("Invalid max chunk size " + maxChunkSize);
+        }
+        String bucketName = generateBucketName(containerName);
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, objectName);
+        if (maxChunkSize == null) {
+            getObjectRequest.setRange(chunkOffset);
+        } else {
+            getObjectRequest.setRange(chunkOffset, chunkOffset + maxChunkSize - 1);
+        }
+        return doGetObject(containerName, objectName, getObjectRequest);
+    }
+
+    private ObjectContent doGetObject(String containerName, String objectName, GetObjectRequest getObjectRequest)
+        throws ContentAddressableStorageException {
         try {
             S3Object object = client.getObject(getObjectRequest);
             long size = object.getObjectMetadata().getContentLength();
+            long totalSize = object.getObjectMetadata().getInstanceLength();
             InputStream inputStream = object.getObjectContent().getDelegateStream();
-            return new ObjectContent(inputStream, size);
+            return new ObjectContent(inputStream, size, totalSize);
         } catch (AmazonServiceException e) {
             LOGGER.debug(String.format(
                 "Error when trying to download object %s from container %s. Reason: errorCode=%s, errorType=%s, errorMessage=%s",
                 objectName, containerName, e.getErrorCode(), e.getErrorType(), e.getErrorMessage()), e);
-            if (AmazonS3APIErrorCodes.NO_SUCH_KEY.getErrorCode().equals(e.getErrorCode())) {
+            if (AmazonS3APIErrorCodes.INVALID_RANGE.getErrorCode().equals(e.getErrorCode())) {
+                // Requested offset beyond object size
+                long totalSize = client.getObjectMetadata(getObjectRequest.getBucketName(), objectName)
+                    .getContentLength();
+                return new ObjectContent(InputStream.nullInputStream(), 0L, totalSize);
+            } else if (AmazonS3APIErrorCodes.NO_SUCH_KEY.getErrorCode().equals(e.getErrorCode())) {
                 throw new ContentAddressableStorageNotFoundException(
                     ErrorMessage.OBJECT_NOT_FOUND.getMessage() + objectName, e);
             } else if (AmazonS3APIErrorCodes.NO_SUCH_BUCKET.getErrorCode().equals(e.getErrorCode())) {
@@ -87,6 +87,7 @@ public class Swift extends ContentAddressableStorageAbstract {
     public static final String X_OBJECT_META_DIGEST = "X-Object-Meta-Digest";
     public static final String X_OBJECT_META_DIGEST_TYPE = "X-Object-Meta-Digest-Type";
     public static final String X_OBJECT_MANIFEST = "X-Object-Manifest";
+    private static final String RANGE_HEADER = "Range";
 
     private final Supplier<OSClient> osClient;
 
@@ -365,6 +366,27 @@ public class Swift extends ContentAddressableStorageAbstract {
                 enrichHeadersRequestWithVitamCookie(new HashMap<>())));
     }
 
+    @Override
+    public ObjectContent getObject(String containerName, String objectName, long chunkOffset, Long maxChunkSize)
+        throws ContentAddressableStorageException {
+        ParametersChecker.checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(),
+            containerName, objectName);
+        if (chunkOffset == 0L && maxChunkSize == null) {
+            return getObject(containerName, objectName);
+        }
+        if (maxChunkSize != null && maxChunkSize <= 0L) {
+            throw new IllegalArgumentException("Invalid max chunk size " + maxChunkSize);
+        }
+        String range = "bytes=" + chunkOffset + "-" + (maxChunkSize == null ? "" : chunkOffset + maxChunkSize - 1);
+        RetryableOnException<ObjectContent, ContentAddressableStorageException> retryableOnException =
+            new RetryableOnException<>(getRetryableParameters());
+        return retryableOnException.exec(() -> {
+            Map<String, String> headers = enrichHeadersRequestWithVitamCookie(new HashMap<>());
+            headers.put(RANGE_HEADER, range);
+            return getObjectStorageService().download(containerName, objectName, headers);
+        });
+    }
+
     @Override
     public void deleteObject(String containerName, String objectName) throws
         ContentAddressableStorageException {
@@ -70,6 +70,8 @@ public class VitamSwiftObjectStorageService extends BaseObjectStorageService {
         = VitamLoggerFactory.getInstance(VitamSwiftObjectStorageService.class);
 
     private static final String CONTENT_LENGTH = "Content-Length";
+    private static final String CONTENT_RANGE = "Content-Range";
+    private static final int RANGE_NOT_SATISFIABLE_STATUS_CODE = 416;
 
     public VitamSwiftObjectStorageService(Supplier<OSClient> osClientFactory) {
         initializeClient(osClientFactory);
@@ -179,9 +181,22 @@ public class VitamSwiftObjectStorageService extends BaseObjectStorageService {
                 }
                 long contentLength = Long.parseLong(contentLengthStr);
 
+                // Total object size of partial (206) responses is provided by Content-Range header
+                long totalSize = parseContentRangeTotalSize(resp.header(CONTENT_RANGE), contentLength);
+
                 // Wrapper around response input stream to ensure response is not closed / garbage collected.
                 InputStream inputStream = new AutoCloseResponseInputStream(resp);
-                return new ObjectContent(inputStream, contentLength);
+                return new ObjectContent(inputStream, contentLength, totalSize);
+            }
+
+            if (resp.getStatus() == RANGE_NOT_SATISFIABLE_STATUS_CODE) {
+                // Requested offset beyond object size
+                long totalSize = parseContentRangeTotalSize(resp.header(CONTENT_RANGE), -1L);
+                if (totalSize < 0) {
+                    throw new ContentAddressableStorageException("Could not read object length for " +
+                        location.getContainerName() + "/" + location.getObjectName());
+                }
+                return new ObjectContent(InputStream.nullInputStream(), 0L, totalSize);
             }
 
             if (isNotFoundResponse(resp)) {
@@ -199,6 +214,15 @@ public class VitamSwiftObjectStorageService extends BaseObjectStorageService {
         }
     }
 
+    private static long parseContentRangeTotalSize(String contentRange, long defaultValue) {
+        // Content-Range format : "bytes first-last/total" or "bytes */total"
+        if (contentRange == null || contentRange.lastIndexOf('/') == -1) {
+            return defaultValue;
+        }
+        String totalSize = contentRange.substring(contentRange.lastIndexOf('/') + 1).trim();
+        return "*".equals(totalSize) ? defaultValue : Long.parseLong(totalSize);
+    }
+
     public void put(String containerName, String name, Payload<?> payload)
         throws ContentAddressableStorageException {
         put(containerName, name, payload, ObjectPutOptions.NONE);
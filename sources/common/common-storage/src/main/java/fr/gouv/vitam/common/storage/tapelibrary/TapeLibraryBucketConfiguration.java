@@ -36,6 +36,8 @@ public class TapeLibraryBucketConfiguration {
     private List<Integer> tenants;
     @JsonProperty("tarBufferingTimeoutInMinutes")
     private int tarBufferingTimeoutInMinutes = 60;
+    @JsonProperty("cacheQuotaPercent")
+    private Integer cacheQuotaPercent;
 
     private TapeLibraryBucketConfiguration() {
         // Empty constructor for deserialization
@@ -63,4 +65,17 @@ public class TapeLibraryBucketConfiguration {
         this.tarBufferingTimeoutInMinutes = tarBufferingTimeoutInMinutes;
         return this;
     }
+
+    /**
+     * @return max share (in percent of cache max capacity) of cached tar files of the bucket beyond which its archives
+     * are evicted first, or {@code null} if bucket has no cache quota.
+     */
+    public Integer getCacheQuotaPercent() {
+        return cacheQuotaPercent;
+    }
+
+    public TapeLibraryBucketConfiguration setCacheQuotaPercent(Integer cacheQuotaPercent) {
+        this.cacheQuotaPercent = cacheQuotaPercent;
+        return this;
+    }
 }
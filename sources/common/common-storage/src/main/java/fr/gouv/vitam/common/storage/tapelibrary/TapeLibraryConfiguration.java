@@ -64,6 +64,17 @@ public class TapeLibraryConfiguration {
      */
     private Long cachedTarSafeStorageSpaceThresholdInMB;
 
+    /**
+     * Eviction policy of cached tar files
+     */
+    private ArchiveCacheEvictionPolicyType cachedTarEvictionPolicy = ArchiveCacheEvictionPolicyType.LRU;
+
+    /**
+     * Period during which successive accesses to a cached tar file count as a single reference (SEGMENTED_LRU eviction
+     * policy only).
+     */
+    private int cachedTarCorrelatedReferencePeriodInMinutes = 60;
+
     /**
      * Max single entry size. Must not exceed TarConstants.MAXSIZE
      */
@@ -78,6 +89,28 @@ public class TapeLibraryConfiguration {
      */
     private boolean forceOverrideNonEmptyCartridges = false;
 
+    /**
+     * Pipelined write mode : archive finalization (referential update, move to cache...) of written archives is done
+     * asynchronously while drives proceed with next orders, and archives of upcoming write orders are pre-read.
+     */
+    private boolean pipelinedWriteEnabled = false;
+
+    /**
+     * Number of tar files built concurrently per file bucket. Incoming files of a file bucket are dispatched to the
+     * first available tar builder, each one filling its own tar file.
+     */
+    private int concurrentTarBuildersPerFileBucket = 1;
+
+    /**
+     * Max number of object referential entries (object storage location & digest) cached in memory. 0 disables cache.
+     */
+    private int objectReferentialCacheMaxEntries = 0;
+
+    /**
+     * Enables per-container bloom filters of known object names, to skip object referential lookups of unknown objects.
+     */
+    private boolean objectReferentialNegativeLookupFilterEnabled = false;
+
     /**
      * Max objects in access request (Max authorized value is 100_000, otherwise, we might exceed mongodb 16MB max doc size)
      */
@@ -113,6 +146,22 @@ public class TapeLibraryConfiguration {
      */
     private TimeUnit accessRequestCleanupTaskIntervalUnit;
 
+    /**
+     * When enabled, access request creation also schedules read-ahead of neighbouring archives (same file bucket, same
+     * tape) of required archives. Read-ahead archives are only read while their tape is already mounted.
+     */
+    private boolean accessRequestReadAheadEnabled = false;
+
+    /**
+     * Max distance (in tape file positions) between a required archive and its read-ahead neighbour archives.
+     */
+    private int accessRequestReadAheadMaxFilePositionDistance = 10;
+
+    /**
+     * Max total size (in MB) of read-ahead archives scheduled per access request.
+     */
+    private long accessRequestReadAheadMaxSizeInMB = 50_000L;
+
     /**
      * File bucket & bucket configuration
      */
@@ -204,6 +253,63 @@ public class TapeLibraryConfiguration {
         return this;
     }
 
+    public boolean isPipelinedWriteEnabled() {
+        return pipelinedWriteEnabled;
+    }
+
+    public TapeLibraryConfiguration setPipelinedWriteEnabled(boolean pipelinedWriteEnabled) {
+        this.pipelinedWriteEnabled = pipelinedWriteEnabled;
+        return this;
+    }
+
+    public int getConcurrentTarBuildersPerFileBucket() {
+        return concurrentTarBuildersPerFileBucket;
+    }
+
+    public TapeLibraryConfiguration setConcurrentTarBuildersPerFileBucket(int concurrentTarBuildersPerFileBucket) {
+        this.concurrentTarBuildersPerFileBucket = concurrentTarBuildersPerFileBucket;
+        return this;
+    }
+
+    public int getObjectReferentialCacheMaxEntries() {
+        return objectReferentialCacheMaxEntries;
+    }
+
+    public TapeLibraryConfiguration setObjectReferentialCacheMaxEntries(int objectReferentialCacheMaxEntries) {
+        this.objectReferentialCacheMaxEntries = objectReferentialCacheMaxEntries;
+        return this;
+    }
+
+    public boolean isObjectReferentialNegativeLookupFilterEnabled() {
+        return objectReferentialNegativeLookupFilterEnabled;
+    }
+
+    public TapeLibraryConfiguration setObjectReferentialNegativeLookupFilterEnabled(
+        boolean objectReferentialNegativeLookupFilterEnabled) {
+        this.objectReferentialNegativeLookupFilterEnabled = objectReferentialNegativeLookupFilterEnabled;
+        return this;
+    }
+
+    public ArchiveCacheEvictionPolicyType getCachedTarEvictionPolicy() {
+        return cachedTarEvictionPolicy;
+    }
+
+    public TapeLibraryConfiguration setCachedTarEvictionPolicy(
+        ArchiveCacheEvictionPolicyType cachedTarEvictionPolicy) {
+        this.cachedTarEvictionPolicy = cachedTarEvictionPolicy;
+        return this;
+    }
+
+    public int getCachedTarCorrelatedReferencePeriodInMinutes() {
+        return cachedTarCorrelatedReferencePeriodInMinutes;
+    }
+
+    public TapeLibraryConfiguration setCachedTarCorrelatedReferencePeriodInMinutes(
+        int cachedTarCorrelatedReferencePeriodInMinutes) {
+        this.cachedTarCorrelatedReferencePeriodInMinutes = cachedTarCorrelatedReferencePeriodInMinutes;
+        return this;
+    }
+
     public Long getCachedTarMaxStorageSpaceInMB() {
         return cachedTarMaxStorageSpaceInMB;
     }
@@ -299,4 +405,32 @@ public class TapeLibraryConfiguration {
         this.accessRequestCleanupTaskIntervalUnit = accessRequestCleanupTaskIntervalUnit;
         return this;
     }
+
+    public boolean isAccessRequestReadAheadEnabled() {
+        return accessRequestReadAheadEnabled;
+    }
+
+    public TapeLibraryConfiguration setAccessRequestReadAheadEnabled(boolean accessRequestReadAheadEnabled) {
+        this.accessRequestReadAheadEnabled = accessRequestReadAheadEnabled;
+        return this;
+    }
+
+    public int getAccessRequestReadAheadMaxFilePositionDistance() {
+        return accessRequestReadAheadMaxFilePositionDistance;
+    }
+
+    public TapeLibraryConfiguration setAccessRequestReadAheadMaxFilePositionDistance(
+        int accessRequestReadAheadMaxFilePositionDistance) {
+        this.accessRequestReadAheadMaxFilePositionDistance = accessRequestReadAheadMaxFilePositionDistance;
+        return this;
+    }
+
+    public long getAccessRequestReadAheadMaxSizeInMB() {
+        return accessRequestReadAheadMaxSizeInMB;
+    }
+
+    public TapeLibraryConfiguration setAccessRequestReadAheadMaxSizeInMB(long accessRequestReadAheadMaxSizeInMB) {
+        this.accessRequestReadAheadMaxSizeInMB = accessRequestReadAheadMaxSizeInMB;
+        return this;
+    }
 }
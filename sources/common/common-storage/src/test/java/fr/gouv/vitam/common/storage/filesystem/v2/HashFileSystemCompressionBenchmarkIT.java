@@ -0,0 +1,193 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.common.storage.filesystem.v2;
+
+import fr.gouv.vitam.common.digest.DigestType;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.storage.ObjectEntry;
+import fr.gouv.vitam.common.storage.StorageConfiguration;
+import fr.gouv.vitam.common.storage.cas.container.api.ContentAddressableStorageAbstract;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static fr.gouv.vitam.common.junit.BenchmarkHelper.toMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compression at rest benchmark : disk usage (and thus page cache footprint) vs CPU cost of raw & compressed
+ * filesystem offer storage, on synthetic JSON metadata objects.
+ *
+ * How to run :
+ * - Remove @Ignore annotation locally
+ * - Drop page cache before read phases (echo 3 > /proc/sys/vm/drop_caches) for cold read figures
+ */
+@Ignore("Figures only meaningful on a real disk. To be run manually")
+public class HashFileSystemCompressionBenchmarkIT {
+
+    private static final VitamLogger LOGGER =
+        VitamLoggerFactory.getInstance(HashFileSystemCompressionBenchmarkIT.class);
+
+    private static final String CONTAINER_NAME = "0_unit";
+    private static final long SEED = 42L;
+    private static final int NB_OBJECTS = 20_000;
+    private static final int OBJECT_SIZE = 8_192;
+    private static final double BYTES_PER_MB = 1024d * 1024d;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private List<byte[]> objects;
+
+    @Before
+    public void setup() {
+        ContentAddressableStorageAbstract.disableContainerCaching();
+        Random random = new Random(SEED);
+        objects = new ArrayList<>(NB_OBJECTS);
+        for (int i = 0; i < NB_OBJECTS; i++) {
+            objects.add(createJsonObject(random, i));
+        }
+    }
+
+    @Test
+    public void benchmarkCompressionAtRest() throws Exception {
+        BenchmarkResult raw = runBenchmark(Collections.emptyList());
+        BenchmarkResult compressed = runBenchmark(List.of("unit"));
+
+        LOGGER.info(String.format("Objects: %d, uncompressed content: %d bytes%n" +
+                "Raw        : %s%n" +
+                "Compressed : %s%n" +
+                "Disk / page cache saving: %.1f%% (ratio %.2f)%n" +
+                "Extra CPU per MB: write %.2f ms, read %.2f ms",
+            NB_OBJECTS, raw.contentBytes, raw, compressed,
+            100.0 * (raw.storedBytes - compressed.storedBytes) / raw.storedBytes,
+            (double) raw.storedBytes / compressed.storedBytes,
+            (compressed.writeCpuNanos - raw.writeCpuNanos) / 1_000_000.0 / (raw.contentBytes / BYTES_PER_MB),
+            (compressed.readCpuNanos - raw.readCpuNanos) / 1_000_000.0 / (raw.contentBytes / BYTES_PER_MB)));
+
+        assertThat(compressed.contentBytes).isEqualTo(raw.contentBytes);
+        assertThat(compressed.storedBytes).isLessThan(raw.storedBytes);
+    }
+
+    private BenchmarkResult runBenchmark(List<String> compressedContainerTypes) throws Exception {
+        StorageConfiguration configuration = new StorageConfiguration();
+        configuration.setStoragePath(temporaryFolder.newFolder().getCanonicalPath());
+        configuration.setTrustWriteDigest(true);
+        configuration.setCompressedContainerTypes(compressedContainerTypes);
+        HashFileSystem storage = new HashFileSystem(configuration);
+        storage.createContainer(CONTAINER_NAME);
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        BenchmarkResult result = new BenchmarkResult();
+
+        long cpuStart = threadMXBean.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+        for (int i = 0; i < NB_OBJECTS; i++) {
+            byte[] content = objects.get(i);
+            storage.putObject(CONTAINER_NAME, objectId(i), new ByteArrayInputStream(content), DigestType.SHA512,
+                content.length);
+            result.contentBytes += content.length;
+        }
+        result.writeNanos = System.nanoTime() - start;
+        result.writeCpuNanos = threadMXBean.getCurrentThreadCpuTime() - cpuStart;
+
+        HashFileSystemHelper fsHelper = new HashFileSystemHelper(configuration.getStoragePath());
+        for (int i = 0; i < NB_OBJECTS; i++) {
+            result.storedBytes += Files.size(fsHelper.getPathObject(CONTAINER_NAME, objectId(i)));
+        }
+
+        cpuStart = threadMXBean.getCurrentThreadCpuTime();
+        start = System.nanoTime();
+        long readBytes = 0L;
+        for (int i = 0; i < NB_OBJECTS; i++) {
+            try (InputStream inputStream = storage.getObject(CONTAINER_NAME, objectId(i)).getInputStream()) {
+                readBytes += IOUtils.copyLarge(inputStream, NullOutputStream.NULL_OUTPUT_STREAM);
+            }
+        }
+        result.readNanos = System.nanoTime() - start;
+        result.readCpuNanos = threadMXBean.getCurrentThreadCpuTime() - cpuStart;
+        assertThat(readBytes).isEqualTo(result.contentBytes);
+
+        List<ObjectEntry> entries = new ArrayList<>();
+        storage.listContainer(CONTAINER_NAME, entries::add);
+        assertThat(entries.stream().mapToLong(ObjectEntry::getSize).sum()).isEqualTo(result.contentBytes);
+
+        return result;
+    }
+
+    private byte[] createJsonObject(Random random, int index) {
+        StringBuilder sb = new StringBuilder("{\"#id\":\"unit").append(index).append("\",\"#management\":{},");
+        while (sb.length() < OBJECT_SIZE) {
+            sb.append("\"Title_").append(random.nextInt(100)).append("\":\"Archive unit title ")
+                .append(random.nextInt(10_000)).append("\",\"DescriptionLevel\":\"Item\",\"StartDate\":\"20")
+                .append(10 + random.nextInt(10)).append("-01-01T00:00:00\",");
+        }
+        sb.append("\"_v\":0}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static double mbPerSecond(long bytes, long elapsedNanos) {
+        return bytes / BYTES_PER_MB / elapsedNanos * 1e9;
+    }
+
+    private static String objectId(int index) {
+        return String.format("aeaqaaaaaahmtusqabktwaldc34sm5y%05d", index);
+    }
+
+    private static class BenchmarkResult {
+        private long contentBytes;
+        private long storedBytes;
+        private long writeNanos;
+        private long writeCpuNanos;
+        private long readNanos;
+        private long readCpuNanos;
+
+        @Override
+        public String toString() {
+            return String.format("stored %d bytes, write %.1f MB/s (cpu %d ms), read %.1f MB/s (cpu %d ms)",
+                storedBytes,
+                mbPerSecond(contentBytes, writeNanos), toMillis(writeCpuNanos),
+                mbPerSecond(contentBytes, readNanos), toMillis(readCpuNanos));
+        }
+    }
+}
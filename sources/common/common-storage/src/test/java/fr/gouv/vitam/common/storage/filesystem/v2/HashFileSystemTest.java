@@ -27,26 +27,41 @@
 package fr.gouv.vitam.common.storage.filesystem.v2;
 
 import fr.gouv.vitam.common.PropertiesUtils;
+import fr.gouv.vitam.common.digest.Digest;
 import fr.gouv.vitam.common.digest.DigestType;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.MetadatasObject;
+import fr.gouv.vitam.common.model.storage.ObjectEntry;
 import fr.gouv.vitam.common.storage.StorageConfiguration;
 import fr.gouv.vitam.common.storage.cas.container.api.ContentAddressableStorageAbstract;
 import fr.gouv.vitam.common.storage.cas.container.api.ContentAddressableStorageTestAbstract;
+import fr.gouv.vitam.common.storage.cas.container.api.FileChannelObjectContent;
+import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
 import fr.gouv.vitam.common.storage.constants.ExtendedAttributes;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
+import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -55,6 +70,7 @@ public class HashFileSystemTest extends ContentAddressableStorageTestAbstract {
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(HashFileSystemTest.class);
 
     private static final String ROOT_CONTAINER = "container";
+    private static final String UNIT_TYPE = "unit";
     private static final String FILE = "test1";
     private static final String DIGEST_EXTENDED_ATTRIBUTE =
         "SHA-512:a7c976db1723adb41274178dc82e9b777941ab201c69de61d0f2bc6d27a3598f594fa748e50d88d3c2bf1e2c2e72c3cfef78c3c6d4afa90391f7e33ababca48e";
@@ -143,6 +159,303 @@ public class HashFileSystemTest extends ContentAddressableStorageTestAbstract {
 
     }
 
+    @Test
+    public void should_store_stream_digest_in_trusted_write_digest_mode() throws Exception {
+        // Given
+        HashFileSystem trustedStorage = createTrustedWriteDigestStorage();
+        String containerName = TENANT_ID + "_" + TYPE;
+        trustedStorage.createContainer(containerName);
+
+        // When
+        String digest =
+            trustedStorage.putObject(containerName, OBJECT_ID, getInputStream("file1.pdf"), DigestType.SHA512, 6906L);
+
+        // Then
+        assertThat(digest).isEqualTo(HASH);
+        assertThat(trustedStorage.getObjectDigestFromMD(containerName, OBJECT_ID, DigestType.SHA512))
+            .isEqualTo(HASH);
+        assertThat(trustedStorage.getObjectDigest(containerName, OBJECT_ID, DigestType.SHA512, true))
+            .isEqualTo(HASH);
+    }
+
+    @Test
+    public void should_fail_on_size_mismatch_in_trusted_write_digest_mode() throws Exception {
+        // Given
+        HashFileSystem trustedStorage = createTrustedWriteDigestStorage();
+        String containerName = TENANT_ID + "_" + TYPE;
+        trustedStorage.createContainer(containerName);
+
+        // When / Then
+        assertThatThrownBy(() -> trustedStorage
+            .writeObject(containerName, OBJECT_ID, getInputStream("file1.pdf"), DigestType.SHA512, 1000L))
+            .isInstanceOf(ContentAddressableStorageException.class);
+        assertThatThrownBy(() -> trustedStorage
+            .checkObjectDigestAndStoreDigest(containerName, OBJECT_ID, HASH, DigestType.SHA512, 1000L))
+            .isInstanceOf(ContentAddressableStorageException.class);
+    }
+
+    @Test
+    public void should_read_object_byte_range() throws Exception {
+        // Given
+        String containerName = TENANT_ID + "_" + TYPE;
+        storage.createContainer(containerName);
+        storage.putObject(containerName, OBJECT_ID, getInputStream("file1.pdf"), DigestType.SHA512, 6906L);
+        byte[] fullContent;
+        try (InputStream inputStream = getInputStream("file1.pdf")) {
+            fullContent = IOUtils.toByteArray(inputStream);
+        }
+
+        // When
+        ObjectContent chunk = storage.getObject(containerName, OBJECT_ID, 1000L, 500L);
+        ObjectContent tail = storage.getObject(containerName, OBJECT_ID, 6900L, 500L);
+        ObjectContent beyondEnd = storage.getObject(containerName, OBJECT_ID, 6906L, null);
+
+        // Then
+        assertThat(chunk.getSize()).isEqualTo(500L);
+        assertThat(chunk.getTotalSize()).isEqualTo(6906L);
+        try (InputStream inputStream = chunk.getInputStream()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(Arrays.copyOfRange(fullContent, 1000, 1500));
+        }
+        assertThat(tail.getSize()).isEqualTo(6L);
+        try (InputStream inputStream = tail.getInputStream()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(Arrays.copyOfRange(fullContent, 6900, 6906));
+        }
+        assertThat(beyondEnd.getSize()).isEqualTo(0L);
+        assertThat(beyondEnd.getTotalSize()).isEqualTo(6906L);
+        beyondEnd.getInputStream().close();
+    }
+
+    @Test
+    public void should_read_objects_metadata_from_cache_without_digest_computation() throws Exception {
+        // Given
+        String containerName = TENANT_ID + "_" + TYPE;
+        storage.createContainer(containerName);
+        storage.putObject(containerName, "obj1", getInputStream("file1.pdf"), DigestType.SHA512, 6906L);
+        // MD5 digest in cache (not the default digest type)
+        storage.putObject(containerName, "obj2", getInputStream("file1.pdf"), DigestType.MD5, 6906L);
+
+        // When
+        Map<String, MetadatasObject> results = new HashMap<>();
+        ((HashFileSystem) storage).readObjectsMetadataFromCache(containerName, List.of("obj1", "obj2", "missing"),
+            results::put);
+
+        // Then
+        assertThat(results).containsOnlyKeys("obj1", "obj2", "missing");
+        assertThat(results.get("obj1").getDigest()).isEqualTo(HASH);
+        assertThat(results.get("obj1").getFileSize()).isEqualTo(6906L);
+        assertThat(results.get("obj1").getType()).isEqualTo(TYPE);
+        assertThat(results.get("obj2").getDigest()).isNull();
+        assertThat(results.get("obj2").getFileSize()).isEqualTo(6906L);
+        assertThat(results.get("missing")).isNull();
+        assertThat(((HashFileSystem) storage).getObjectDigestFromMD(containerName, "obj2", DigestType.SHA512))
+            .isNull();
+    }
+
+    @Test
+    public void should_read_objects_metadata_from_cache_of_unknown_container_as_missing() throws Exception {
+        // Given
+        String containerName = TENANT_ID + "_" + TYPE;
+
+        // When
+        Map<String, MetadatasObject> results = new HashMap<>();
+        ((HashFileSystem) storage).readObjectsMetadataFromCache(containerName, List.of("obj1", "obj2"),
+            results::put);
+
+        // Then
+        assertThat(results).containsOnlyKeys("obj1", "obj2");
+        assertThat(results.get("obj1")).isNull();
+        assertThat(results.get("obj2")).isNull();
+    }
+
+    @Test
+    public void should_store_compressed_objects_with_uncompressed_digest_and_size() throws Exception {
+        // Given
+        String storagePath = tempFolder.newFolder().getCanonicalPath();
+        HashFileSystem compressedStorage = createCompressedStorage(storagePath, false);
+        String containerName = TENANT_ID + "_" + UNIT_TYPE;
+        compressedStorage.createContainer(containerName);
+        byte[] content = createCompressibleContent();
+        String expectedDigest = new Digest(DigestType.SHA512).update(content).digestHex();
+
+        // When
+        String digest = compressedStorage.putObject(containerName, OBJECT_ID, new ByteArrayInputStream(content),
+            DigestType.SHA512, content.length);
+
+        // Then
+        assertThat(digest).isEqualTo(expectedDigest);
+        assertThat(compressedStorage.getObjectDigest(containerName, OBJECT_ID, DigestType.SHA512, true))
+            .isEqualTo(expectedDigest);
+
+        Path filePath = new HashFileSystemHelper(storagePath).getPathObject(containerName, OBJECT_ID);
+        assertThat(Files.size(filePath)).isLessThan(content.length / 5);
+        assertThat(compressedStorage.readExtendedMetadata(filePath, ExtendedAttributes.COMPRESSION.getKey()))
+            .isEqualTo("LZ4:" + content.length);
+
+        ObjectContent objectContent = compressedStorage.getObject(containerName, OBJECT_ID);
+        // Compressed content cannot be served from the raw file
+        assertThat(objectContent).isNotInstanceOf(FileChannelObjectContent.class);
+        assertThat(objectContent.getSize()).isEqualTo(content.length);
+        try (InputStream inputStream = objectContent.getInputStream()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(content);
+        }
+
+        ObjectContent chunk = compressedStorage.getObject(containerName, OBJECT_ID, 100_000L, 1_000L);
+        assertThat(chunk.getSize()).isEqualTo(1_000L);
+        assertThat(chunk.getTotalSize()).isEqualTo(content.length);
+        try (InputStream inputStream = chunk.getInputStream()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(Arrays.copyOfRange(content, 100_000, 101_000));
+        }
+
+        assertThat(compressedStorage.getObjectMetadata(containerName, OBJECT_ID, false).getFileSize())
+            .isEqualTo(content.length);
+
+        Map<String, MetadatasObject> results = new HashMap<>();
+        compressedStorage.readObjectsMetadataFromCache(containerName, List.of(OBJECT_ID), results::put);
+        assertThat(results.get(OBJECT_ID).getFileSize()).isEqualTo(content.length);
+        assertThat(results.get(OBJECT_ID).getDigest()).isEqualTo(expectedDigest);
+
+        List<ObjectEntry> entries = new ArrayList<>();
+        compressedStorage.listContainer(containerName, entries::add);
+        assertThat(entries).extracting(ObjectEntry::getObjectId, ObjectEntry::getSize)
+            .containsExactly(tuple(OBJECT_ID, (long) content.length));
+    }
+
+    @Test
+    public void should_keep_previous_compressed_object_when_compressed_write_fails() throws Exception {
+        // Given
+        String storagePath = tempFolder.newFolder().getCanonicalPath();
+        HashFileSystem compressedStorage = createCompressedStorage(storagePath, true);
+        String containerName = TENANT_ID + "_" + UNIT_TYPE;
+        compressedStorage.createContainer(containerName);
+        byte[] content = createCompressibleContent();
+        compressedStorage.putObject(containerName, OBJECT_ID, new ByteArrayInputStream(content),
+            DigestType.SHA512, content.length);
+
+        // When
+        byte[] newContent = Arrays.copyOf(content, 1000);
+        assertThatThrownBy(() -> compressedStorage.writeObject(containerName, OBJECT_ID,
+            new ByteArrayInputStream(newContent), DigestType.SHA512, newContent.length + 1))
+            .isInstanceOf(ContentAddressableStorageException.class);
+
+        // Then
+        Path filePath = new HashFileSystemHelper(storagePath).getPathObject(containerName, OBJECT_ID);
+        try (Stream<Path> files = Files.list(filePath.getParent())) {
+            assertThat(files).containsExactly(filePath);
+        }
+        try (InputStream inputStream = compressedStorage.getObject(containerName, OBJECT_ID).getInputStream()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void should_not_compress_objects_of_other_container_types() throws Exception {
+        // Given
+        String storagePath = tempFolder.newFolder().getCanonicalPath();
+        HashFileSystem compressedStorage = createCompressedStorage(storagePath, false);
+        String containerName = TENANT_ID + "_" + TYPE;
+        compressedStorage.createContainer(containerName);
+        byte[] content = createCompressibleContent();
+
+        // When
+        compressedStorage.putObject(containerName, OBJECT_ID, new ByteArrayInputStream(content),
+            DigestType.SHA512, content.length);
+
+        // Then
+        Path filePath = new HashFileSystemHelper(storagePath).getPathObject(containerName, OBJECT_ID);
+        assertThat(Files.size(filePath)).isEqualTo(content.length);
+        ObjectContent objectContent = compressedStorage.getObject(containerName, OBJECT_ID);
+        assertThat(objectContent).isInstanceOf(FileChannelObjectContent.class);
+        try (InputStream inputStream = objectContent.getInputStream()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void should_overwrite_compressed_object_with_raw_content_in_trusted_write_digest_mode()
+        throws Exception {
+        // Given
+        String storagePath = tempFolder.newFolder().getCanonicalPath();
+        String containerName = TENANT_ID + "_" + UNIT_TYPE;
+        HashFileSystem compressedStorage = createCompressedStorage(storagePath, true);
+        compressedStorage.createContainer(containerName);
+        byte[] content = createCompressibleContent();
+        compressedStorage.putObject(containerName, OBJECT_ID, new ByteArrayInputStream(content),
+            DigestType.SHA512, content.length);
+
+        // When : compression disabled
+        final StorageConfiguration configuration = new StorageConfiguration();
+        configuration.setStoragePath(storagePath);
+        configuration.setTrustWriteDigest(true);
+        HashFileSystem rawStorage = new HashFileSystem(configuration);
+        byte[] newContent = Arrays.copyOf(content, 1000);
+        rawStorage.putObject(containerName, OBJECT_ID, new ByteArrayInputStream(newContent),
+            DigestType.SHA512, newContent.length);
+
+        // Then
+        Path filePath = new HashFileSystemHelper(storagePath).getPathObject(containerName, OBJECT_ID);
+        assertThat(Files.size(filePath)).isEqualTo(newContent.length);
+        try (InputStream inputStream = compressedStorage.getObject(containerName, OBJECT_ID).getInputStream()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(newContent);
+        }
+    }
+
+    @Test
+    public void should_read_compressed_objects_once_compression_disabled() throws Exception {
+        // Given
+        String storagePath = tempFolder.newFolder().getCanonicalPath();
+        String containerName = TENANT_ID + "_" + UNIT_TYPE;
+        HashFileSystem compressedStorage = createCompressedStorage(storagePath, false);
+        compressedStorage.createContainer(containerName);
+        byte[] content = createCompressibleContent();
+        compressedStorage.putObject(containerName, OBJECT_ID, new ByteArrayInputStream(content),
+            DigestType.SHA512, content.length);
+
+        // When : compression disabled
+        final StorageConfiguration configuration = new StorageConfiguration();
+        configuration.setStoragePath(storagePath);
+        HashFileSystem rawStorage = new HashFileSystem(configuration);
+
+        // Then
+        try (InputStream inputStream = rawStorage.getObject(containerName, OBJECT_ID).getInputStream()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(content);
+        }
+        assertThat(rawStorage.getObjectMetadata(containerName, OBJECT_ID, false).getFileSize())
+            .isEqualTo(content.length);
+
+        Map<String, MetadatasObject> results = new HashMap<>();
+        rawStorage.readObjectsMetadataFromCache(containerName, List.of(OBJECT_ID), results::put);
+        assertThat(results.get(OBJECT_ID).getFileSize()).isEqualTo(content.length);
+
+        List<ObjectEntry> entries = new ArrayList<>();
+        rawStorage.listContainer(containerName, entries::add);
+        assertThat(entries).extracting(ObjectEntry::getSize).containsExactly((long) content.length);
+    }
+
+    private HashFileSystem createCompressedStorage(String storagePath, boolean trustWriteDigest) {
+        final StorageConfiguration configuration = new StorageConfiguration();
+        configuration.setStoragePath(storagePath);
+        configuration.setTrustWriteDigest(trustWriteDigest);
+        configuration.setCompressedContainerTypes(List.of(UNIT_TYPE));
+        configuration.setCompressionAlgorithm(CompressionAlgorithm.LZ4);
+        return new HashFileSystem(configuration);
+    }
+
+    private byte[] createCompressibleContent() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            sb.append("{\"#id\":\"unit").append(i).append("\",\"Title\":\"Archive unit title\",")
+                .append("\"DescriptionLevel\":\"Item\"}\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private HashFileSystem createTrustedWriteDigestStorage() throws IOException {
+        final StorageConfiguration configuration = new StorageConfiguration();
+        configuration.setStoragePath(tempFolder.newFolder().getCanonicalPath());
+        configuration.setTrustWriteDigest(true);
+        return new HashFileSystem(configuration);
+    }
+
     private InputStream getInputStream(String file) throws IOException {
         return PropertiesUtils.getResourceAsStream(file);
     }
@@ -0,0 +1,135 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.common.storage.filesystem.v2;
+
+import fr.gouv.vitam.common.digest.Digest;
+import fr.gouv.vitam.common.digest.DigestType;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.storage.StorageConfiguration;
+import fr.gouv.vitam.common.storage.cas.container.api.ContentAddressableStorageAbstract;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static fr.gouv.vitam.common.junit.BenchmarkHelper.measureNanos;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filesystem offer write throughput benchmark : single-pass write with trusted write digest vs former write then
+ * re-read of the written object for digest computation.
+ *
+ * How to run :
+ * - Remove @Ignore annotation locally
+ * - Use a local directory on the target offer disk as java.io.tmpdir. Total written size should exceed available
+ * page cache for re-read cost to be representative of large ingests
+ */
+@Ignore("Writes about 4 GB. To be run manually on the target offer disk")
+public class HashFileSystemWriteBenchmarkIT {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(HashFileSystemWriteBenchmarkIT.class);
+
+    private static final String CONTAINER_NAME = "0_object";
+    private static final int NB_DISTINCT_CONTENTS = 16;
+    private static final long SEED = 42L;
+    private static final int NB_OBJECTS = 1_000;
+    private static final int OBJECT_SIZE = 4 * 1024 * 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private List<byte[]> contents;
+    private List<String> digests;
+
+    @Before
+    public void setup() {
+        ContentAddressableStorageAbstract.disableContainerCaching();
+        Random random = new Random(SEED);
+        contents = new ArrayList<>(NB_DISTINCT_CONTENTS);
+        digests = new ArrayList<>(NB_DISTINCT_CONTENTS);
+        for (int i = 0; i < NB_DISTINCT_CONTENTS; i++) {
+            byte[] content = new byte[OBJECT_SIZE];
+            random.nextBytes(content);
+            contents.add(content);
+            digests.add(new Digest(DigestType.SHA512).update(content).digestHex());
+        }
+    }
+
+    @Test
+    public void benchmarkWriteThroughput() throws Exception {
+
+        // Warm up both modes
+        runBenchmark(false, NB_OBJECTS / 10);
+        runBenchmark(true, NB_OBJECTS / 10);
+
+        long writeThenReread = runBenchmark(false, NB_OBJECTS);
+        long singlePass = runBenchmark(true, NB_OBJECTS);
+
+        long totalBytes = (long) NB_OBJECTS * OBJECT_SIZE;
+        LOGGER.info(String.format("Filesystem offer write benchmark (%d objects, %d bytes each):%n" +
+                " - write then re-read for digest : %.1f MB/s%n" +
+                " - single pass, trusted write digest : %.1f MB/s%n" +
+                "Speedup : x%.2f",
+            NB_OBJECTS, OBJECT_SIZE, mbPerSecond(totalBytes, writeThenReread), mbPerSecond(totalBytes, singlePass),
+            (double) writeThenReread / singlePass));
+    }
+
+    /**
+     * @return write duration in nanoseconds
+     */
+    private long runBenchmark(boolean trustWriteDigest, int objects) throws Exception {
+        StorageConfiguration configuration = new StorageConfiguration();
+        configuration.setStoragePath(temporaryFolder.newFolder().getCanonicalPath());
+        configuration.setTrustWriteDigest(trustWriteDigest);
+        HashFileSystem storage = new HashFileSystem(configuration);
+        storage.createContainer(CONTAINER_NAME);
+
+        return measureNanos(() -> {
+            for (int i = 0; i < objects; i++) {
+                byte[] content = contents.get(i % NB_DISTINCT_CONTENTS);
+                String digest = storage.putObject(CONTAINER_NAME, objectId(i), new ByteArrayInputStream(content),
+                    DigestType.SHA512, content.length);
+                assertThat(digest).isEqualTo(digests.get(i % NB_DISTINCT_CONTENTS));
+            }
+        });
+    }
+
+    private static double mbPerSecond(long bytes, long elapsedNanos) {
+        return bytes / (1024d * 1024d) / elapsedNanos * 1e9;
+    }
+
+    private static String objectId(int index) {
+        return String.format("aeaqaaaaaahmtusqabktwaldc34sm5y%05d", index);
+    }
+}
@@ -49,6 +49,9 @@ public class ServerConfiguration extends DefaultVitamApplicationConfiguration {
     private Integer delayAsyncResourceMonitor = 300; // five minutes
     private Integer delayAsyncResourceCleaner = 300; // five minutes
 
+    private boolean adaptiveWorkerCapacityEnabled = false;
+    private Integer adaptiveWorkerCapacityMaxFactor = 2;
+
     /**
      * @return the urlMetadata
      */
@@ -160,4 +163,30 @@ public class ServerConfiguration extends DefaultVitamApplicationConfiguration {
         this.delayAsyncResourceCleaner = delayAsyncResourceCleaner;
         return this;
     }
+
+    /**
+     * @return true if the concurrency of each worker is adapted to its observed latency and error rate,
+     * false to use the static capacity declared by the worker
+     */
+    public boolean isAdaptiveWorkerCapacityEnabled() {
+        return adaptiveWorkerCapacityEnabled;
+    }
+
+    public ServerConfiguration setAdaptiveWorkerCapacityEnabled(boolean adaptiveWorkerCapacityEnabled) {
+        this.adaptiveWorkerCapacityEnabled = adaptiveWorkerCapacityEnabled;
+        return this;
+    }
+
+    /**
+     * @return the max concurrency of a worker, as a factor of its declared capacity, when adaptive worker capacity
+     * is enabled
+     */
+    public Integer getAdaptiveWorkerCapacityMaxFactor() {
+        return adaptiveWorkerCapacityMaxFactor;
+    }
+
+    public ServerConfiguration setAdaptiveWorkerCapacityMaxFactor(Integer adaptiveWorkerCapacityMaxFactor) {
+        this.adaptiveWorkerCapacityMaxFactor = adaptiveWorkerCapacityMaxFactor;
+        return this;
+    }
 }
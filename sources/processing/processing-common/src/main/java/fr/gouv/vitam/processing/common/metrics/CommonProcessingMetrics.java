@@ -28,6 +28,7 @@
 package fr.gouv.vitam.processing.common.metrics;
 
 import fr.gouv.vitam.common.metrics.VitamMetricsNames;
+import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 
@@ -94,6 +95,26 @@ public class CommonProcessingMetrics {
             3600)
         .register();
 
+    /**
+     * Total time spent by worker threads waiting for a task.
+     * A high idle rate while a workflow step is running means that the distributor does not feed workers fast enough
+     */
+    public static final Counter WORKER_IDLE_TIME = Counter.build()
+        .name(VitamMetricsNames.VITAM_PROCESSING_WORKER_IDLE_SECONDS_TOTAL)
+        .help("Total time (in seconds) spent by worker threads waiting for a task to execute")
+        .labelNames("worker_family")
+        .register();
+
+    /**
+     * Current concurrency limit of each registered worker (max number of tasks executed concurrently by the worker).
+     * Static capacity of the worker, unless adaptive worker capacity is enabled
+     */
+    public static final Gauge WORKER_CONCURRENCY_LIMIT = Gauge.build()
+        .name(VitamMetricsNames.VITAM_PROCESSING_WORKER_CONCURRENCY_LIMIT)
+        .labelNames("worker_family", "worker_id")
+        .help("Current concurrency limit of the worker")
+        .register();
+
     /**
      * ProcessWorkflow step execution duration form ProcessEngine point of view
      */
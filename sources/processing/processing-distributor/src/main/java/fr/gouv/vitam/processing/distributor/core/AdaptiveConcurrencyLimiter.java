@@ -0,0 +1,230 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.processing.distributor.core;
+
+import fr.gouv.vitam.common.ParametersChecker;
+import io.prometheus.client.Gauge;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive concurrency limit of a worker.
+ *
+ * The limit follows an AIMD (additive increase / multiplicative decrease) algorithm driven by the latency gradient
+ * of the worker : while the latency per element of a step stays close to the lowest latency observed for this step,
+ * the limit grows by one every "limit" tasks. When latency exceeds {@link #LATENCY_TOLERANCE} times this baseline,
+ * or when a call to the worker fails, the limit is decreased (at most once every "limit" tasks).
+ *
+ * Worker executor threads must acquire a permit before taking a task from the (shared) worker family queue. Thus,
+ * workers with a higher limit take proportionally more tasks than slower or failing workers.
+ *
+ * This class is thread-safe.
+ */
+@ThreadSafe
+class AdaptiveConcurrencyLimiter {
+
+    static final double LATENCY_TOLERANCE = 2.0;
+    static final double LATENCY_BACKOFF_RATIO = 0.9;
+    static final double ERROR_BACKOFF_RATIO = 0.5;
+
+    private static final double LATENCY_SMOOTHING_FACTOR = 0.2;
+    /**
+     * Lets the latency baseline slowly follow a sustained latency increase (eg. a step with heavier elements)
+     */
+    private static final double BASELINE_DRIFT_FACTOR = 0.01;
+    private static final int MIN_LIMIT = 1;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+
+    private final int maxLimit;
+    private final Gauge.Child limitGauge;
+    private final Map<String, StepLatency> stepLatencies = new HashMap<>();
+
+    private double limit;
+    private int inFlight = 0;
+    private int nbTasksSinceLastDecrease = 0;
+    private boolean closed = false;
+
+    /**
+     * @param initialLimit initial concurrency limit
+     * @param maxLimit max concurrency limit
+     * @param limitGauge gauge updated with the current limit
+     */
+    AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit, Gauge.Child limitGauge) {
+        ParametersChecker.checkValue("Initial limit must be > 0", initialLimit, MIN_LIMIT);
+        ParametersChecker.checkValue("Max limit must be >= initial limit", maxLimit, initialLimit);
+        ParametersChecker.checkParameter("Missing gauge", limitGauge);
+        this.limit = initialLimit;
+        this.maxLimit = maxLimit;
+        this.limitGauge = limitGauge;
+        this.limitGauge.set(initialLimit);
+    }
+
+    /**
+     * Waits until the number of running tasks is below the current limit, then reserves a permit.
+     *
+     * @return true if a permit has been acquired, false if the limiter has been closed
+     * @throws InterruptedException if caller thread is interrupted
+     */
+    boolean acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            while (!closed && inFlight >= getLimit()) {
+                permitAvailable.await();
+            }
+            if (closed) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a permit acquired by {@link #acquire()}
+     */
+    void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            permitAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases all threads waiting for a permit. Further calls to {@link #acquire()} fail.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            permitAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adjusts limit after a successful call to the worker
+     *
+     * @param stepName the step of the task
+     * @param durationInSeconds the task execution duration
+     * @param nbElements the number of elements of the task
+     */
+    void onSuccess(String stepName, double durationInSeconds, int nbElements) {
+        double latency = durationInSeconds / Math.max(1, nbElements);
+        lock.lock();
+        try {
+            nbTasksSinceLastDecrease++;
+
+            StepLatency stepLatency = stepLatencies.computeIfAbsent(stepName, key -> new StepLatency(latency));
+            stepLatency.update(latency);
+
+            if (stepLatency.smoothedLatency > stepLatency.baselineLatency * LATENCY_TOLERANCE) {
+                decrease(LATENCY_BACKOFF_RATIO);
+            } else {
+                increase();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adjusts limit after a failed call to the worker
+     */
+    void onFailure() {
+        lock.lock();
+        try {
+            nbTasksSinceLastDecrease++;
+            decrease(ERROR_BACKOFF_RATIO);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the current concurrency limit
+     */
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void increase() {
+        int previousLimit = (int) limit;
+        limit = Math.min(maxLimit, limit + 1.0 / limit);
+        if ((int) limit > previousLimit) {
+            limitGauge.set((int) limit);
+            permitAvailable.signalAll();
+        }
+    }
+
+    private void decrease(double ratio) {
+        // Running tasks were scheduled with the previous limit : wait for them before decreasing limit again
+        if (nbTasksSinceLastDecrease < (int) limit) {
+            return;
+        }
+        nbTasksSinceLastDecrease = 0;
+        limit = Math.max(MIN_LIMIT, limit * ratio);
+        limitGauge.set((int) limit);
+    }
+
+    private static final class StepLatency {
+
+        private double baselineLatency;
+        private double smoothedLatency;
+
+        private StepLatency(double latency) {
+            this.baselineLatency = latency;
+            this.smoothedLatency = latency;
+        }
+
+        private void update(double latency) {
+            smoothedLatency += LATENCY_SMOOTHING_FACTOR * (latency - smoothedLatency);
+            if (latency < baselineLatency) {
+                baselineLatency = latency;
+            } else {
+                baselineLatency += BASELINE_DRIFT_FACTOR * (latency - baselineLatency);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.processing.distributor.core;
+
+import fr.gouv.vitam.worker.core.distribution.JsonLineModel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sliding window over the elements of a stream distribution.
+ *
+ * Elements are added in stream order, handed out as bulks, and completed in any order. The window offset is the
+ * position of the first element not yet completed : all elements before it have been processed, so it is the offset
+ * to persist in the DistributorIndex. Elements completed out of order after the offset are reported through
+ * {@link #getRemainingElements()} so that they are not processed twice after a recover.
+ */
+class DistributionWindow {
+
+    private final int maxSize;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final Deque<Entry> unscheduledEntries = new ArrayDeque<>();
+    private int offset;
+    private int nbCompletedEntries = 0;
+
+    /**
+     * @param offset position, in the distribution stream, of the first element of the window
+     * @param maxSize max number of elements in the window
+     */
+    DistributionWindow(int offset, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Window size must be greater than 0");
+        }
+        this.offset = offset;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Adds the next element of the stream to the window.
+     *
+     * @param jsonLineModel the element
+     * @param alreadyProcessed true if the element has already been processed (recover), and must not be scheduled
+     */
+    void add(JsonLineModel jsonLineModel, boolean alreadyProcessed) {
+        if (isFull()) {
+            throw new IllegalStateException("Window is full");
+        }
+        Entry entry = new Entry(jsonLineModel);
+        entries.addLast(entry);
+        if (alreadyProcessed) {
+            markCompleted(entry);
+        } else {
+            unscheduledEntries.addLast(entry);
+        }
+        slide();
+    }
+
+    /**
+     * @param bulkSize max number of elements of the bulk
+     * @return the next bulk of not yet scheduled elements, in stream order
+     */
+    Bulk nextBulk(int bulkSize) {
+        List<Entry> bulkEntries = new ArrayList<>(Math.min(bulkSize, unscheduledEntries.size()));
+        while (bulkEntries.size() < bulkSize && !unscheduledEntries.isEmpty()) {
+            bulkEntries.add(unscheduledEntries.pollFirst());
+        }
+        return new Bulk(bulkEntries);
+    }
+
+    /**
+     * Marks all elements of a bulk as processed, and slides the window offset up to the first element not yet
+     * processed.
+     *
+     * @param bulk a bulk returned by {@link #nextBulk(int)}
+     */
+    void complete(Bulk bulk) {
+        for (Entry entry : bulk.entries) {
+            markCompleted(entry);
+        }
+        slide();
+    }
+
+    /**
+     * @return the ids of the elements of the window that are not yet processed, or an empty list if no element of the
+     * window has been completed out of order (then, all elements after the offset are still to be processed)
+     */
+    List<String> getRemainingElements() {
+        if (nbCompletedEntries == 0) {
+            return Collections.emptyList();
+        }
+        return entries.stream()
+            .filter(entry -> !entry.completed)
+            .map(entry -> entry.jsonLineModel.getId())
+            .collect(Collectors.toList());
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the position, in the distribution stream, following the last element added to the window
+     */
+    int getEndOffset() {
+        return offset + entries.size();
+    }
+
+    int getUnscheduledCount() {
+        return unscheduledEntries.size();
+    }
+
+    boolean isFull() {
+        return entries.size() >= maxSize;
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private void markCompleted(Entry entry) {
+        if (!entry.completed) {
+            entry.completed = true;
+            nbCompletedEntries++;
+        }
+    }
+
+    private void slide() {
+        while (!entries.isEmpty() && entries.peekFirst().completed) {
+            entries.pollFirst();
+            nbCompletedEntries--;
+            offset++;
+        }
+    }
+
+    /**
+     * A bulk of elements to be processed by a single worker task
+     */
+    static final class Bulk {
+
+        private final List<Entry> entries;
+
+        private Bulk(List<Entry> entries) {
+            this.entries = entries;
+        }
+
+        List<JsonLineModel> getJsonLineModels() {
+            return entries.stream().map(entry -> entry.jsonLineModel).collect(Collectors.toList());
+        }
+    }
+
+    private static final class Entry {
+
+        private final JsonLineModel jsonLineModel;
+        private boolean completed = false;
+
+        private Entry(JsonLineModel jsonLineModel) {
+            this.jsonLineModel = jsonLineModel;
+        }
+    }
+}
@@ -86,15 +86,19 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
@@ -610,100 +614,144 @@ public class ProcessDistributorImpl implements ProcessDistributor {
             return;
         }
 
-        while (linesPeekIterator.hasNext()) {
+        /*
+         * Elements are distributed through a sliding window : at most distributeurBatchSize bulks are processed
+         * concurrently, and a new bulk is scheduled as soon as a bulk completes, so that workers are not left idle
+         * waiting for the slowest bulk of a batch.
+         * The window does not span over several distribution groups (levels) : all elements of a group must be
+         * processed before the elements of the next group are scheduled.
+         * The persisted offset is the position of the first element not yet processed. Elements processed out of
+         * order after that offset are excluded after recover using the remaining elements of the DistributorIndex.
+         * Thus, the window never exceeds globalBatchSize elements so that all of them are in the first batch read on
+         * recover.
+         */
+        final int maxInFlightBulks = VitamConfiguration.getDistributeurBatchSize();
+        final LogbookTypeProcess logbookTypeProcess = workerParameters.getLogbookTypeProcess();
+        final ItemStatus itemStatus = step.getStepResponses();
+
+        DistributionWindow distributionWindow = new DistributionWindow(offset, globalBatchSize);
+        Set<String> remainingElementsToRecover = new HashSet<>(remainingElementsFromRecover);
+        int recoverBatchEndOffset = offset + globalBatchSize;
+        boolean distribGroupEndReached = false;
 
-            int maxOffset = offset + globalBatchSize;
-            List<JsonLineModel> distributionList = new ArrayList<>();
-            int lastElementOffset = offset;
-            while (lastElementOffset < maxOffset && linesPeekIterator.hasNext()) {
+        BlockingQueue<WorkerTaskResult> resultQueue = new LinkedBlockingQueue<>();
+        Map<WorkerTask, DistributionWindow.Bulk> inFlightBulks = new IdentityHashMap<>();
+        boolean interrupted = false;
+        int nbCompletedBulksSinceLastPersist = 0;
+
+        while (true) {
+
+            // Fill the window with next elements of the current distribution group
+            if (distribGroupEndReached && distributionWindow.isEmpty()) {
+                distribGroupEndReached = false;
+            }
+            while (!distribGroupEndReached && !distributionWindow.isFull() && linesPeekIterator.hasNext()) {
 
                 JsonLineModel currentJsonLineModel = readJsonLineModelFromBufferFromString(linesPeekIterator.next());
 
-                distributionList.add(currentJsonLineModel);
-                lastElementOffset++;
+                /*
+                 * When server stop and in the batch of elements we have remaining elements (not yet processed)
+                 * Then after restart we process only those not yet processed elements of this batch
+                 */
+                boolean alreadyProcessed = !remainingElementsToRecover.isEmpty() &&
+                    !remainingElementsToRecover.contains(currentJsonLineModel.getId());
+                distributionWindow.add(currentJsonLineModel, alreadyProcessed);
+
+                /*
+                 * As elements to process are calculated before stop of the server,
+                 * do not recalculate them after restart
+                 */
+                if (updateElementToProcess) {
+                    ((ProcessStep) step).getElementToProcess().incrementAndGet();
+                }
 
                 JsonLineModel nextJsonLineModel = null;
-
                 if (linesPeekIterator.hasNext()) {
                     nextJsonLineModel = readJsonLineModelFromBufferFromString(linesPeekIterator.peek());
                 }
 
-                boolean isLevelCompatible =
+                distribGroupEndReached =
                     nextJsonLineModel != null &&
                         currentJsonLineModel.getDistribGroup() != null &&
                         nextJsonLineModel.getDistribGroup() != null &&
                         !currentJsonLineModel.getDistribGroup().equals(nextJsonLineModel.getDistribGroup());
-                //consider Level
-                if (isLevelCompatible) {
-                    break;
+
+                // Remaining elements only concern the first batch after recover
+                if (distribGroupEndReached || distributionWindow.getEndOffset() >= recoverBatchEndOffset) {
+                    remainingElementsToRecover.clear();
                 }
             }
 
-            /*
-             * Update only if level is finished in the distributorIndex
-             * In the cas of multiple level, we add the size of each level
-             * Prevent adding twice the size of the current executing level
-             */
-            if (updateElementToProcess) {
-                // update the number of elements to process before start
-                ProcessStep processStep = (ProcessStep) step;
-                processStep.getElementToProcess().addAndGet(distributionList.size());
+            if (nbCompletedBulksSinceLastPersist >= maxInFlightBulks) {
+                persistStreamDistributorIndex(operationId, requestId, step, distributionWindow, false);
+                nbCompletedBulksSinceLastPersist = 0;
             }
 
-            /*
-             * When server stop and in the batch of elements we have remaining elements (not yet processed)
-             * Then after restart we process only those not yet processed elements of this batch
-             * If all elements of the batch were processed,
-             * then at this point, we are automatically in the new batch
-             * and we have to process all elements of this batch
-             */
-            if (!remainingElementsFromRecover.isEmpty()) {
-
-                ArrayList<JsonLineModel> retainedList = new ArrayList<>();
-                for (JsonLineModel model : distributionList) {
-                    if (remainingElementsFromRecover.contains(model.getId())) {
-                        retainedList.add(model);
-                    }
+            // Schedule bulks while the window allows it. Partial bulks are only scheduled at the end of a
+            // distribution group, or when no other bulk is running
+            boolean noMoreElementsInGroup = distribGroupEndReached || !linesPeekIterator.hasNext();
+            while (!interrupted && inFlightBulks.size() < maxInFlightBulks &&
+                distributionWindow.getUnscheduledCount() > 0 &&
+                (distributionWindow.getUnscheduledCount() >= bulkSize || noMoreElementsInGroup ||
+                    inFlightBulks.isEmpty())) {
+
+                // Fail fast : if workflow is being paused or canceled, no need to schedule more tasks
+                if (isCanceledOrPaused(step)) {
+                    interrupted = true;
+                    break;
                 }
-                distributionList = retainedList;
-                remainingElementsFromRecover.clear();
+
+                DistributionWindow.Bulk bulk = distributionWindow.nextBulk(bulkSize);
+                WorkerTask workerTask = createWorkerTaskOnStream(workerParameters, step, tenantId, requestId,
+                    contractId, contextId, applicationId, bulk.getJsonLineModels());
+                inFlightBulks.put(workerTask, bulk);
+                scheduleTaskInExecutionBlockingQueue(workerTask, logbookTypeProcess, resultQueue);
             }
 
-            List<WorkerTask> workerTaskList =
-                createWorkerTasksOnStream(workerParameters, step, tenantId, requestId, contractId,
-                    contextId, applicationId, bulkSize, distributionList);
+            if (inFlightBulks.isEmpty()) {
+                break;
+            }
 
-            List<WorkerTaskResult> workerTaskResults = executeWorkerTasks(step, workerParameters, workerTaskList);
-
-            final ItemStatus itemStatus = step.getStepResponses();
-            updateStepWithTaskResults(workerTaskResults, step);
+            WorkerTaskResult workerTaskResult = awaitCompletion(resultQueue);
+            DistributionWindow.Bulk completedBulk = inFlightBulks.remove(workerTaskResult.getWorkerTask());
+            updateStepWithTaskResults(Collections.singletonList(workerTaskResult), step);
 
             /*
-             * As pause can occur on not started WorkerTask,
-             * so we have to get the corresponding elements in order to execute them after restart
+             * As pause can occur on not started WorkerTask, its elements are kept in the window
+             * in order to execute them after restart. On FATAL, do not move offset.
              */
-            List<String> remainingElements = getRemainingElements(workerTaskResults, itemStatus);
+            if (!workerTaskResult.isProcessed() || itemStatus.getGlobalStatus().isGreaterOrEqualToFatal()) {
+                interrupted = true;
+            } else {
+                distributionWindow.complete(completedBulk);
+            }
+            nbCompletedBulksSinceLastPersist++;
+        }
 
-            offset = getNextOffset(offset, lastElementOffset, remainingElements, itemStatus);
+        // All elements of the current level are processed so finish it
+        boolean levelFinished = !interrupted && distributionWindow.isEmpty() && !linesPeekIterator.hasNext() &&
+            !itemStatus.getGlobalStatus().isGreaterOrEqualToFatal();
+        persistStreamDistributorIndex(operationId, requestId, step, distributionWindow, levelFinished);
 
-            // update && persist DistributorIndex if not Fatal
-            DistributorIndex distributorIndex =
-                new DistributorIndex(ProcessDistributor.NOLEVEL, offset, itemStatus, requestId, step.getId(),
-                    remainingElements);
-            // All elements of the current level are processed so finish it
-            if (!linesPeekIterator.hasNext() && !itemStatus.getGlobalStatus().isGreaterOrEqualToFatal()) {
-                distributorIndex.setLevelFinished(true);
-            }
-            updatePersistedDistributorIndexIfNotFatal(operationId, offset, distributorIndex, itemStatus,
-                AN_EXCEPTION_HAS_BEEN_THROWN_WHEN_TRYING_TO_PERSIST_DISTRIBUTOR_INDEX);
+        checkCancelledOrPaused(step);
+    }
 
-            checkCancelledOrPaused(step);
+    private void persistStreamDistributorIndex(String operationId, String requestId, Step step,
+        DistributionWindow distributionWindow, boolean levelFinished) throws ProcessingException {
 
-            if (itemStatus.getGlobalStatus().isGreaterOrEqualToFatal()) {
-                return;
-            }
+        final ItemStatus itemStatus = step.getStepResponses();
 
-        }
+        // On FATAL, we have to restart all elements from the current offset
+        List<String> remainingElements = itemStatus.getGlobalStatus().isGreaterOrEqualToFatal() ?
+            Collections.emptyList() : distributionWindow.getRemainingElements();
+
+        DistributorIndex distributorIndex =
+            new DistributorIndex(ProcessDistributor.NOLEVEL, distributionWindow.getOffset(), itemStatus, requestId,
+                step.getId(), remainingElements);
+        distributorIndex.setLevelFinished(levelFinished);
+
+        updatePersistedDistributorIndexIfNotFatal(operationId, distributionWindow.getOffset(), distributorIndex,
+            itemStatus, AN_EXCEPTION_HAS_BEEN_THROWN_WHEN_TRYING_TO_PERSIST_DISTRIBUTOR_INDEX);
     }
 
     private void skipOffsetLines(BufferedReader bufferedReader, int offset) throws ProcessingException {
@@ -746,29 +794,20 @@ public class ProcessDistributorImpl implements ProcessDistributor {
         return workerTaskList;
     }
 
-    private List<WorkerTask> createWorkerTasksOnStream(
+    private WorkerTask createWorkerTaskOnStream(
         WorkerParameters workerParameters, Step step, Integer tenantId, String requestId, String contractId,
-        String contextId, String applicationId, int bulkSize, List<JsonLineModel> distributionList) {
-
-        // Process by bulk
-        Iterator<List<JsonLineModel>> batchIterator =
-            Iterators.partition(distributionList.iterator(), bulkSize);
-
-        // Create a worker task for each bulk
-        List<WorkerTask> workerTaskList = new ArrayList<>();
-        batchIterator.forEachRemaining(entryList -> {
-            WorkerParameters taskWorkerParams = ((DefaultWorkerParameters) workerParameters).newInstance();
-            taskWorkerParams.setObjectNameList(
-                entryList.stream().map(JsonLineModel::getId).collect(Collectors.toList()));
-            taskWorkerParams.setObjectMetadataList(
-                entryList.stream().map(JsonLineModel::getParams).collect(Collectors.toList()));
-
-            workerTaskList.add(new WorkerTask(
-                new DescriptionStep(step, taskWorkerParams),
-                tenantId, requestId, contractId, contextId, applicationId, workerClientFactory
-            ));
-        });
-        return workerTaskList;
+        String contextId, String applicationId, List<JsonLineModel> entryList) {
+
+        WorkerParameters taskWorkerParams = ((DefaultWorkerParameters) workerParameters).newInstance();
+        taskWorkerParams.setObjectNameList(
+            entryList.stream().map(JsonLineModel::getId).collect(Collectors.toList()));
+        taskWorkerParams.setObjectMetadataList(
+            entryList.stream().map(JsonLineModel::getParams).collect(Collectors.toList()));
+
+        return new WorkerTask(
+            new DescriptionStep(step, taskWorkerParams),
+            tenantId, requestId, contractId, contextId, applicationId, workerClientFactory
+        );
     }
 
     private List<WorkerTaskResult> executeWorkerTasks(Step step, WorkerParameters workerParameters,
@@ -814,6 +853,17 @@ public class ProcessDistributorImpl implements ProcessDistributor {
         }
     }
 
+    private static WorkerTaskResult awaitCompletion(BlockingQueue<WorkerTaskResult> resultQueue)
+        throws ProcessingException {
+
+        try {
+            return resultQueue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        }
+    }
+
     private void updateStepWithTaskResults(List<WorkerTaskResult> workerTaskResults, Step step) {
 
         // Update global step item status
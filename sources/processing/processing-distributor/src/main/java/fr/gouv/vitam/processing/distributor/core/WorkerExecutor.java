@@ -32,6 +32,7 @@ import fr.gouv.vitam.processing.common.metrics.CommonProcessingMetrics;
 import fr.gouv.vitam.processing.common.model.WorkerBean;
 import fr.gouv.vitam.worker.client.exception.WorkerExecutorException;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -42,39 +43,44 @@ public class WorkerExecutor implements Runnable {
     private final AtomicBoolean mustStop;
     private final PriorityTaskQueue<Runnable> queue;
     private final WorkerBean workerBean;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     public WorkerExecutor(PriorityTaskQueue<Runnable> queue, WorkerBean workerBean) {
+        this(queue, workerBean, null);
+    }
+
+    /**
+     * @param queue the worker family queue
+     * @param workerBean the worker
+     * @param concurrencyLimiter adaptive concurrency limiter of the worker, or null to run tasks on all threads
+     */
+    WorkerExecutor(PriorityTaskQueue<Runnable> queue, WorkerBean workerBean,
+        AdaptiveConcurrencyLimiter concurrencyLimiter) {
         this.workerBean = workerBean;
         this.mustStop = new AtomicBoolean(false);
         this.queue = queue;
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
     @Override
     public void run() {
         try {
             WorkerInformation.getWorkerThreadLocal().get().setWorkerBean(workerBean);
+            WorkerInformation.getWorkerThreadLocal().get().setConcurrencyLimiter(concurrencyLimiter);
             while (!mustStop.get()) {
-                Runnable task = queue.take();
 
-                // if current thread must stop, we add the taken task to the queue to be treated by another thread
-                if (mustStop.get()) {
-                    queue.addHighPriorityEntry(task);
-                    break;
+                // Only take a task from the queue when the worker concurrency limit allows it
+                if (concurrencyLimiter == null) {
+                    takeAndRunTask();
+                    continue;
                 }
-
-                // Add metric on the number of tasks in the queue
-                CommonProcessingMetrics.WORKER_TASKS_IN_QUEUE.labels(workerBean.getFamily()).dec();
-
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Start task run on worker: " + workerBean.getName());
+                if (!concurrencyLimiter.acquire()) {
+                    break;
                 }
-
                 try {
-                    task.run();
+                    takeAndRunTask();
                 } finally {
-                    if (LOGGER.isDebugEnabled()) {
-                        LOGGER.debug("End task run on worker: " + workerBean.getName());
-                    }
+                    concurrencyLimiter.release();
                 }
             }
         } catch (Exception e) {
@@ -82,11 +88,44 @@ public class WorkerExecutor implements Runnable {
         }
     }
 
+    private void takeAndRunTask() throws InterruptedException {
+        long idleStartNanos = System.nanoTime();
+        Runnable task = queue.take();
+
+        // Add metric on the time spent waiting for a task
+        CommonProcessingMetrics.WORKER_IDLE_TIME.labels(workerBean.getFamily())
+            .inc((double) (System.nanoTime() - idleStartNanos) / TimeUnit.SECONDS.toNanos(1));
+
+        // if current thread must stop, we add the taken task to the queue to be treated by another thread
+        if (mustStop.get()) {
+            queue.addHighPriorityEntry(task);
+            return;
+        }
+
+        // Add metric on the number of tasks in the queue
+        CommonProcessingMetrics.WORKER_TASKS_IN_QUEUE.labels(workerBean.getFamily()).dec();
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Start task run on worker: " + workerBean.getName());
+        }
+
+        try {
+            task.run();
+        } finally {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("End task run on worker: " + workerBean.getName());
+            }
+        }
+    }
+
     /**
      * send a message to notify all thread that the worker will be stop.
      */
     public void stop() {
         mustStop.set(true);
+        if (concurrencyLimiter != null) {
+            concurrencyLimiter.close();
+        }
     }
 
     public WorkerBean getWorkerBean() {
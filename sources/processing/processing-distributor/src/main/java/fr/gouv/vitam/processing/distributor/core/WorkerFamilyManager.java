@@ -29,6 +29,7 @@ package fr.gouv.vitam.processing.distributor.core;
 import fr.gouv.vitam.common.thread.VitamThreadFactory;
 import fr.gouv.vitam.processing.common.metrics.CommonProcessingMetrics;
 import fr.gouv.vitam.processing.common.model.WorkerBean;
+import io.prometheus.client.Gauge;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -41,21 +42,59 @@ public class WorkerFamilyManager {
 
     private final PriorityTaskQueue<Runnable> queue;
 
+    private final boolean adaptiveCapacityEnabled;
+
+    private final int adaptiveCapacityMaxFactor;
+
     private final Map<String, WorkerExecutor> workers = new ConcurrentHashMap<>();
 
 
     public WorkerFamilyManager(String family, int queueSize) {
+        this(family, queueSize, false, 1);
+    }
+
+    /**
+     * @param family the worker family
+     * @param queueSize the size of the task queue of the family
+     * @param adaptiveCapacityEnabled if true, the concurrency of each worker is adapted to its latency and error
+     * rate, starting from its declared capacity. Else, each worker runs exactly its declared capacity of tasks.
+     * @param adaptiveCapacityMaxFactor the max concurrency of a worker, as a factor of its declared capacity
+     */
+    public WorkerFamilyManager(String family, int queueSize, boolean adaptiveCapacityEnabled,
+        int adaptiveCapacityMaxFactor) {
         if (queueSize < 2) {
             throw new IllegalArgumentException("queue size must be greater than 2");
         }
+        if (adaptiveCapacityMaxFactor < 1) {
+            throw new IllegalArgumentException("adaptive capacity max factor must be positive");
+        }
         this.family = family;
+        this.adaptiveCapacityEnabled = adaptiveCapacityEnabled;
+        this.adaptiveCapacityMaxFactor = adaptiveCapacityMaxFactor;
         queue = new PriorityTaskQueue<>(queueSize);
     }
 
     public void registerWorker(WorkerBean workerBean) {
         workers.computeIfAbsent(workerBean.getWorkerId(), (key) -> {
-            WorkerExecutor executor = new WorkerExecutor(queue, workerBean);
-            for (int i = 0; i < workerBean.getCapacity(); i++) {
+
+            Gauge.Child concurrencyLimitGauge =
+                CommonProcessingMetrics.WORKER_CONCURRENCY_LIMIT.labels(family, workerBean.getWorkerId());
+
+            int nbThreads;
+            AdaptiveConcurrencyLimiter concurrencyLimiter;
+            if (adaptiveCapacityEnabled) {
+                // Start enough threads for the max limit, the limiter controls how many of them take tasks
+                nbThreads = workerBean.getCapacity() * adaptiveCapacityMaxFactor;
+                concurrencyLimiter =
+                    new AdaptiveConcurrencyLimiter(workerBean.getCapacity(), nbThreads, concurrencyLimitGauge);
+            } else {
+                nbThreads = workerBean.getCapacity();
+                concurrencyLimiter = null;
+                concurrencyLimitGauge.set(nbThreads);
+            }
+
+            WorkerExecutor executor = new WorkerExecutor(queue, workerBean, concurrencyLimiter);
+            for (int i = 0; i < nbThreads; i++) {
                 final Thread thread = VitamThreadFactory.getInstance().newThread(executor);
                 thread.setName("WorkerExecutor_" + workerBean.getWorkerId() + "_" + i);
                 thread.start();
@@ -78,6 +117,7 @@ public class WorkerFamilyManager {
             workers.remove(workerId);
 
             CommonProcessingMetrics.REGISTERED_WORKERS.labels(family).dec();
+            CommonProcessingMetrics.WORKER_CONCURRENCY_LIMIT.remove(family, workerId);
         }
     }
 
@@ -37,6 +37,8 @@ public class WorkerInformation {
 
     private WorkerBean workerBean;
 
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
     /**
      * @return the local thread
      */
@@ -57,4 +59,18 @@ public class WorkerInformation {
     public void setWorkerBean(WorkerBean workerBean) {
         this.workerBean = workerBean;
     }
+
+    /**
+     * @return the adaptive concurrency limiter of the worker, or null if worker capacity is static
+     */
+    AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * @param concurrencyLimiter
+     */
+    void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
 }
@@ -26,6 +26,7 @@
  */
 package fr.gouv.vitam.processing.distributor.core;
 
+import com.google.common.annotations.VisibleForTesting;
 import fr.gouv.vitam.common.ParametersChecker;
 import fr.gouv.vitam.common.PropertiesUtils;
 import fr.gouv.vitam.common.VitamConfiguration;
@@ -33,6 +34,7 @@ import fr.gouv.vitam.common.exception.InvalidParseOperationException;
 import fr.gouv.vitam.common.json.JsonHandler;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.processing.common.config.ServerConfiguration;
 import fr.gouv.vitam.processing.common.exception.ProcessingBadRequestException;
 import fr.gouv.vitam.processing.common.exception.WorkerFamilyNotFoundException;
 import fr.gouv.vitam.processing.common.model.WorkerBean;
@@ -66,16 +68,37 @@ public class WorkerManager implements IWorkerManager {
 
     private WorkerClientFactory workerClientFactory = null;
 
+    private final boolean adaptiveWorkerCapacityEnabled;
+    private final int adaptiveWorkerCapacityMaxFactor;
+
     /**
      * Constructor
      */
     public WorkerManager() {
-        workersFamily = new ConcurrentHashMap<>();
+        this(null, false, 1);
     }
 
     public WorkerManager(WorkerClientFactory workerClientFactory) {
+        this(workerClientFactory, false, 1);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param serverConfiguration processing configuration (adaptive worker capacity)
+     */
+    public WorkerManager(ServerConfiguration serverConfiguration) {
+        this(null, serverConfiguration.isAdaptiveWorkerCapacityEnabled(),
+            serverConfiguration.getAdaptiveWorkerCapacityMaxFactor());
+    }
+
+    @VisibleForTesting
+    WorkerManager(WorkerClientFactory workerClientFactory, boolean adaptiveWorkerCapacityEnabled,
+        int adaptiveWorkerCapacityMaxFactor) {
         workersFamily = new ConcurrentHashMap<>();
         this.workerClientFactory = workerClientFactory;
+        this.adaptiveWorkerCapacityEnabled = adaptiveWorkerCapacityEnabled;
+        this.adaptiveWorkerCapacityMaxFactor = adaptiveWorkerCapacityMaxFactor;
     }
 
 
@@ -124,7 +147,8 @@ public class WorkerManager implements IWorkerManager {
     public void registerWorker(WorkerBean workerBean) throws IOException {
         workersFamily.compute(workerBean.getFamily(), (key, workerManager) -> {
             if (workerManager == null) {
-                workerManager = new WorkerFamilyManager(workerBean.getFamily(), QUEUE_SIZE);
+                workerManager = new WorkerFamilyManager(workerBean.getFamily(), QUEUE_SIZE,
+                    adaptiveWorkerCapacityEnabled, adaptiveWorkerCapacityMaxFactor);
             }
             workerManager.registerWorker(workerBean);
             return workerManager;
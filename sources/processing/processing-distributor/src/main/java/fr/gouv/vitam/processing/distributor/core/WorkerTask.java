@@ -197,10 +197,17 @@ public class WorkerTask implements Supplier<WorkerTaskResult> {
                 descriptionStep.getWorkParams().getLogbookTypeProcess().name(),
                 descriptionStep.getStep().getStepName())
             .startTimer();
+        AdaptiveConcurrencyLimiter concurrencyLimiter =
+            WorkerInformation.getWorkerThreadLocal().get().getConcurrencyLimiter();
+        boolean failed = true;
+        boolean asyncResourcesRequired = false;
         try {
             ItemStatus itemStatus = workerClient.submitStep(descriptionStep);
+            failed = false;
             return WorkerTaskResult.ofProceededTask(this, itemStatus);
         } catch (ProcessingRetryAsyncException prae) {
+            failed = false;
+            asyncResourcesRequired = true;
             // In case of async add accessRequestIds to the async resources monitor for future retry and return null (no ItemStatus value)
             LOGGER.warn(prae);
             Map<String, AccessRequestContext> asyncResources = new HashMap<>();
@@ -212,7 +219,18 @@ public class WorkerTask implements Supplier<WorkerTaskResult> {
             return WorkerTaskResult.ofTaskRequiringAsyncResourceAvailability(this, asyncResources);
         } finally {
             // Add metric on worker task execution duration
-            workerTaskTimer.observeDuration();
+            double durationInSeconds = workerTaskTimer.observeDuration();
+
+            // Adapt worker concurrency. Tasks waiting for async resources are not representative of worker load
+            if (concurrencyLimiter != null && !asyncResourcesRequired) {
+                if (failed) {
+                    concurrencyLimiter.onFailure();
+                } else {
+                    int nbElements = getObjectNameList() == null ? 1 : getObjectNameList().size();
+                    concurrencyLimiter.onSuccess(descriptionStep.getStep().getStepName(), durationInSeconds,
+                        nbElements);
+                }
+            }
         }
     }
 
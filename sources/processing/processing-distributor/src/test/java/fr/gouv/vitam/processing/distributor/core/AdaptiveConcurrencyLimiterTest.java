@@ -0,0 +1,216 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.processing.distributor.core;
+
+import io.prometheus.client.Gauge;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final String STEP_NAME = "STEP";
+
+    private final Gauge gauge = Gauge.build()
+        .name("test_concurrency_limit")
+        .help("test")
+        .create();
+
+    @Test
+    public void givenBadLimitsThenKO() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(0, 2, gauge.labels()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter(2, 1, gauge.labels()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void givenStableLatencyThenLimitIncreasesUpToMaxLimit() {
+
+        // Given
+        AdaptiveConcurrencyLimiter instance = new AdaptiveConcurrencyLimiter(2, 4, gauge.labels());
+
+        // When / Then
+        instance.onSuccess(STEP_NAME, 1.0, 1);
+        instance.onSuccess(STEP_NAME, 1.0, 1);
+        assertThat(instance.getLimit()).isEqualTo(2);
+        instance.onSuccess(STEP_NAME, 1.0, 1);
+        assertThat(instance.getLimit()).isEqualTo(3);
+        assertThat(gauge.labels().get()).isEqualTo(3.0);
+
+        for (int i = 0; i < 100; i++) {
+            instance.onSuccess(STEP_NAME, 1.0, 1);
+        }
+        assertThat(instance.getLimit()).isEqualTo(4);
+        assertThat(gauge.labels().get()).isEqualTo(4.0);
+    }
+
+    @Test
+    public void givenLatencyPerElementThenBulkSizeIgnored() {
+
+        // Given
+        AdaptiveConcurrencyLimiter instance = new AdaptiveConcurrencyLimiter(2, 10, gauge.labels());
+        instance.onSuccess(STEP_NAME, 1.0, 1);
+
+        // When : bulks of 10 elements taking 10 times longer
+        for (int i = 0; i < 10; i++) {
+            instance.onSuccess(STEP_NAME, 10.0, 10);
+        }
+
+        // Then
+        assertThat(instance.getLimit()).isGreaterThan(2);
+    }
+
+    @Test
+    public void givenIncreasingLatencyThenLimitDecreases() {
+
+        // Given
+        AdaptiveConcurrencyLimiter instance = new AdaptiveConcurrencyLimiter(10, 10, gauge.labels());
+        for (int i = 0; i < 10; i++) {
+            instance.onSuccess(STEP_NAME, 1.0, 1);
+        }
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            instance.onSuccess(STEP_NAME, 5.0, 1);
+        }
+
+        // Then
+        assertThat(instance.getLimit()).isLessThan(10);
+        assertThat(gauge.labels().get()).isEqualTo((double) instance.getLimit());
+    }
+
+    @Test
+    public void givenLatencyOfAnotherStepThenLimitNotDecreased() {
+
+        // Given
+        AdaptiveConcurrencyLimiter instance = new AdaptiveConcurrencyLimiter(4, 4, gauge.labels());
+        for (int i = 0; i < 10; i++) {
+            instance.onSuccess(STEP_NAME, 1.0, 1);
+        }
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            instance.onSuccess("OTHER_STEP", 5.0, 1);
+        }
+
+        // Then
+        assertThat(instance.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    public void givenFailuresThenLimitHalvedOncePerWindowDownToOne() {
+
+        // Given
+        AdaptiveConcurrencyLimiter instance = new AdaptiveConcurrencyLimiter(8, 8, gauge.labels());
+        for (int i = 0; i < 8; i++) {
+            instance.onSuccess(STEP_NAME, 1.0, 1);
+        }
+
+        // When / Then
+        instance.onFailure();
+        assertThat(instance.getLimit()).isEqualTo(4);
+
+        // Tasks started with the previous limit do not decrease limit again
+        instance.onFailure();
+        instance.onFailure();
+        instance.onFailure();
+        assertThat(instance.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 20; i++) {
+            instance.onFailure();
+        }
+        assertThat(instance.getLimit()).isEqualTo(1);
+        assertThat(gauge.labels().get()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void givenLimitReachedWhenAcquiringThenBlockedUntilRelease() throws Exception {
+
+        // Given
+        AdaptiveConcurrencyLimiter instance = new AdaptiveConcurrencyLimiter(1, 2, gauge.labels());
+        assertThat(instance.acquire()).isTrue();
+
+        // When
+        CompletableFuture<Boolean> secondAcquire = CompletableFuture.supplyAsync(acquire(instance));
+
+        // Then
+        assertThatThrownBy(() -> secondAcquire.get(100, TimeUnit.MILLISECONDS))
+            .isInstanceOf(TimeoutException.class);
+
+        instance.release();
+        assertThat(secondAcquire.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void givenLimitIncreasedThenWaitingThreadReleased() throws Exception {
+
+        // Given
+        AdaptiveConcurrencyLimiter instance = new AdaptiveConcurrencyLimiter(1, 2, gauge.labels());
+        assertThat(instance.acquire()).isTrue();
+        CompletableFuture<Boolean> secondAcquire = CompletableFuture.supplyAsync(acquire(instance));
+
+        // When
+        instance.onSuccess(STEP_NAME, 1.0, 1);
+
+        // Then
+        assertThat(secondAcquire.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(instance.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenClosedLimiterWhenAcquiringThenKO() throws Exception {
+
+        // Given
+        AdaptiveConcurrencyLimiter instance = new AdaptiveConcurrencyLimiter(1, 1, gauge.labels());
+        assertThat(instance.acquire()).isTrue();
+        CompletableFuture<Boolean> secondAcquire = CompletableFuture.supplyAsync(acquire(instance));
+
+        // When
+        instance.close();
+
+        // Then
+        assertThat(secondAcquire.get(10, TimeUnit.SECONDS)).isFalse();
+        assertThat(instance.acquire()).isFalse();
+    }
+
+    private static Supplier<Boolean> acquire(AdaptiveConcurrencyLimiter instance) {
+        return () -> {
+            try {
+                return instance.acquire();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+}
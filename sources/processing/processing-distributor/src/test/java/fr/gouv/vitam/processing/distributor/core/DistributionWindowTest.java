@@ -0,0 +1,143 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.processing.distributor.core;
+
+import fr.gouv.vitam.worker.core.distribution.JsonLineModel;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DistributionWindowTest {
+
+    @Test
+    public void givenBadWindowSizeThenKO() {
+        assertThatThrownBy(() -> new DistributionWindow(0, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void givenFullWindowWhenAddingElementThenKO() {
+
+        // Given
+        DistributionWindow instance = new DistributionWindow(0, 2);
+        instance.add(new JsonLineModel("id1"), false);
+        instance.add(new JsonLineModel("id2"), false);
+
+        // When / Then
+        assertThat(instance.isFull()).isTrue();
+        assertThatThrownBy(() -> instance.add(new JsonLineModel("id3"), false))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void givenBulksCompletedInOrderThenOffsetSlides() {
+
+        // Given
+        DistributionWindow instance = new DistributionWindow(10, 5);
+        addElements(instance, "id1", "id2", "id3", "id4", "id5");
+        DistributionWindow.Bulk bulk1 = instance.nextBulk(2);
+        DistributionWindow.Bulk bulk2 = instance.nextBulk(2);
+
+        // When
+        instance.complete(bulk1);
+
+        // Then
+        assertThat(ids(bulk1)).containsExactly("id1", "id2");
+        assertThat(ids(bulk2)).containsExactly("id3", "id4");
+        assertThat(instance.getOffset()).isEqualTo(12);
+        assertThat(instance.getEndOffset()).isEqualTo(15);
+        assertThat(instance.getUnscheduledCount()).isEqualTo(1);
+        assertThat(instance.getRemainingElements()).isEmpty();
+        assertThat(instance.isFull()).isFalse();
+    }
+
+    @Test
+    public void givenBulkCompletedOutOfOrderThenOffsetDoesNotSlideAndRemainingElementsReported() {
+
+        // Given
+        DistributionWindow instance = new DistributionWindow(0, 10);
+        addElements(instance, "id1", "id2", "id3", "id4", "id5", "id6");
+        DistributionWindow.Bulk bulk1 = instance.nextBulk(2);
+        DistributionWindow.Bulk bulk2 = instance.nextBulk(2);
+
+        // When
+        instance.complete(bulk2);
+
+        // Then
+        assertThat(instance.getOffset()).isEqualTo(0);
+        assertThat(instance.getRemainingElements()).containsExactly("id1", "id2", "id5", "id6");
+
+        // When
+        instance.complete(bulk1);
+
+        // Then
+        assertThat(instance.getOffset()).isEqualTo(4);
+        assertThat(instance.getRemainingElements()).isEmpty();
+    }
+
+    @Test
+    public void givenAlreadyProcessedElementsThenElementsNotScheduled() {
+
+        // Given
+        DistributionWindow instance = new DistributionWindow(5, 10);
+
+        // When
+        instance.add(new JsonLineModel("id1"), true);
+        instance.add(new JsonLineModel("id2"), false);
+        instance.add(new JsonLineModel("id3"), true);
+        instance.add(new JsonLineModel("id4"), false);
+
+        // Then
+        assertThat(instance.getOffset()).isEqualTo(6);
+        assertThat(instance.getUnscheduledCount()).isEqualTo(2);
+        assertThat(instance.getRemainingElements()).containsExactly("id2", "id4");
+
+        DistributionWindow.Bulk bulk = instance.nextBulk(10);
+        assertThat(ids(bulk)).containsExactly("id2", "id4");
+
+        // When
+        instance.complete(bulk);
+
+        // Then
+        assertThat(instance.isEmpty()).isTrue();
+        assertThat(instance.getOffset()).isEqualTo(9);
+    }
+
+    private static void addElements(DistributionWindow instance, String... ids) {
+        for (String id : ids) {
+            instance.add(new JsonLineModel(id), false);
+        }
+    }
+
+    private static List<String> ids(DistributionWindow.Bulk bulk) {
+        return bulk.getJsonLineModels().stream().map(JsonLineModel::getId).collect(Collectors.toList());
+    }
+}
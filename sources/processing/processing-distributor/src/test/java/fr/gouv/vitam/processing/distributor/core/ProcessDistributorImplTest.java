@@ -99,6 +99,7 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -929,6 +930,44 @@ public class ProcessDistributorImplTest {
         verify(workerClient, times(750)).submitStep(any());
     }
 
+    @Test
+    @RunWithCustomExecutor
+    public void whenDistributeOnStreamWithSlowElementThenNextElementsNotBlocked() throws Exception {
+
+        // Given : a slow element at position 10, and a window of 20 elements
+        File file = testFolder.newFile();
+        try (PrintWriter writer = new PrintWriter(new FileOutputStream(file))) {
+            for (int line = 0; line < 50; line++) {
+                writer.append("{ \"id\": \"")
+                    .append(line == 10 ? FAKE_UUID : String.valueOf(UUID.randomUUID()))
+                    .append("\",\"params\":{\"name\":\"someData\"}}\n");
+            }
+        }
+        givenWorkspaceClientReturnsFileContent(file, "FakeOperationId", file.getAbsolutePath());
+
+        // Elements 0 to 29 (except the slow one) are reachable while the slow element is being processed
+        CountDownLatch otherElementsProcessed = new CountDownLatch(29);
+        AtomicBoolean nextElementsProcessedBeforeSlowElement = new AtomicBoolean();
+        doAnswer(invocation -> {
+            otherElementsProcessed.countDown();
+            return getMockedItemStatus(StatusCode.OK);
+        }).when(workerClient).submitStep(any());
+        doAnswer(invocation -> {
+            nextElementsProcessedBeforeSlowElement.set(otherElementsProcessed.await(10, TimeUnit.SECONDS));
+            return getMockedItemStatus(StatusCode.OK);
+        }).when(workerClient).submitStep(argThat(stepDescription -> matcher(stepDescription, FAKE_UUID)));
+
+        // When
+        ItemStatus itemStatus = processDistributor
+            .distribute(workerParameters, getStep(DistributionKind.LIST_IN_JSONL_FILE, file.getAbsolutePath()),
+                operationId);
+
+        // Then
+        assertThat(itemStatus.getGlobalStatus()).isEqualTo(StatusCode.OK);
+        assertThat(nextElementsProcessedBeforeSlowElement.get()).isTrue();
+        verify(workerClient, times(50)).submitStep(any());
+    }
+
     private File createRandomDataSetInfo() throws IOException {
 
         File file = testFolder.newFile();
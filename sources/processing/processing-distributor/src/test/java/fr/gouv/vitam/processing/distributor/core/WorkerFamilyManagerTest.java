@@ -27,6 +27,7 @@
 
 package fr.gouv.vitam.processing.distributor.core;
 
+import fr.gouv.vitam.processing.common.metrics.CommonProcessingMetrics;
 import fr.gouv.vitam.processing.common.model.WorkerBean;
 import fr.gouv.vitam.processing.common.model.WorkerRemoteConfiguration;
 import org.assertj.core.api.Assertions;
@@ -91,4 +92,40 @@ public class WorkerFamilyManagerTest {
         // we don't execute task 4 because there is no worker registred
         Assertions.assertThatThrownBy(() -> task4.get(10, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
     }
+
+    @Test
+    public void givenAdaptiveCapacityThenConcurrencyStartsAtDeclaredCapacity() throws Exception {
+
+        // Given
+        WorkerFamilyManager wfm = new WorkerFamilyManager("adaptiveFamilyId", 3, true, 2);
+        WorkerBean workerBean =
+            new WorkerBean("worker1", "adaptiveFamilyId", 1, "active", new WorkerRemoteConfiguration("host", 0));
+        workerBean.setWorkerId("adaptiveWorkerId");
+        wfm.registerWorker(workerBean);
+        CountDownLatch countDownLatch = new CountDownLatch(1);
+
+        // When
+        CompletableFuture<Void> task1 = CompletableFuture.runAsync(() -> {
+            try {
+                countDownLatch.await();
+            } catch (InterruptedException e) {
+                fail(e.getMessage());
+            }
+        }, wfm.getExecutor(false));
+        CompletableFuture<Void> task2 = CompletableFuture.runAsync(() -> {
+        }, wfm.getExecutor(false));
+
+        // Then : 2 threads are started for the worker, but only one of them runs tasks with the initial limit
+        Assertions.assertThatThrownBy(() -> task2.get(100, TimeUnit.MILLISECONDS))
+            .isInstanceOf(TimeoutException.class);
+        Assertions.assertThat(
+            CommonProcessingMetrics.WORKER_CONCURRENCY_LIMIT.labels("adaptiveFamilyId", "adaptiveWorkerId").get())
+            .isEqualTo(1.0);
+
+        countDownLatch.countDown();
+        task1.get(10, TimeUnit.SECONDS);
+        task2.get(10, TimeUnit.SECONDS);
+
+        wfm.unregisterWorker("adaptiveWorkerId");
+    }
 }
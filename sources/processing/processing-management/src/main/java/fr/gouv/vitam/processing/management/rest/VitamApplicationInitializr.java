@@ -82,7 +82,7 @@ public class VitamApplicationInitializr {
 
             WorkspaceClientFactory.changeMode(configuration.getUrlWorkspace());
 
-            IWorkerManager workerManager = new WorkerManager();
+            IWorkerManager workerManager = new WorkerManager(configuration);
             workerManager.initialize();
 
             AsyncResourcesMonitor asyncResourcesMonitor = new AsyncResourcesMonitor(configuration);
@@ -58,6 +58,8 @@ import fr.gouv.vitam.storage.driver.exception.StorageDriverServiceUnavailableExc
 import fr.gouv.vitam.storage.driver.exception.StorageDriverUnavailableDataFromAsyncOfferException;
 import fr.gouv.vitam.storage.driver.model.StorageAccessRequestCreationRequest;
 import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResult;
+import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResultEntry;
+import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResultEntryReader;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutRequest;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResult;
 import fr.gouv.vitam.storage.driver.model.StorageCapacityResult;
@@ -81,6 +83,7 @@ import fr.gouv.vitam.storage.engine.common.model.request.OfferLogRequest;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -215,17 +218,26 @@ public class ConnectionImpl extends AbstractConnection {
             .withPath(OBJECTS_PATH + "/" + DataCategory.getByFolder(request.getType()) + "/" + request.getGuid())
             .withHeader(GlobalDataRest.X_TENANT_ID, request.getTenantId())
             .withOctetAccept();
+        if (request.getRange() != null) {
+            requestbuilder.withHeader(GlobalDataRest.RANGE, request.getRange().toHeaderValue());
+        }
 
         Response response = null;
         try {
             response = make(requestbuilder);
             checkCustomResponseStatusForUnavailableDataFromAsyncOffer(response);
+            if (request.getRange() != null &&
+                response.getStatus() == Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode()) {
+                // Not an offer failure : status is reported as is to the caller
+                return new StorageGetResult(request.getTenantId(), request.getType(), request.getGuid(), response);
+            }
             checkStorageException(response);
             return new StorageGetResult(request.getTenantId(), request.getType(), request.getGuid(), response);
         } catch (final VitamClientInternalException e) {
             throw new StorageDriverException(getDriverName(), true, e);
         } finally {
-            if (response != null && response.getStatus() != Status.OK.getStatusCode()) {
+            if (response != null && response.getStatus() != Status.OK.getStatusCode() &&
+                response.getStatus() != Status.PARTIAL_CONTENT.getStatusCode()) {
                 consumeAnyEntityAndClose(response);
             }
         }
@@ -502,6 +514,44 @@ public class ConnectionImpl extends AbstractConnection {
         ParametersChecker.checkParameter(FOLDER_IS_A_MANDATORY_PARAMETER, request.getType());
         ParametersChecker.checkParameter(GUID_IS_A_MANDATORY_PARAMETER, request.getGuids());
 
+        VitamRequestBuilder requestBuilder = get()
+            .withPath("/bulk/objects/" + DataCategory.getByFolder(request.getType()) + "/metadata/stream")
+            .withHeader(GlobalDataRest.X_TENANT_ID, request.getTenantId())
+            .withHeader(GlobalDataRest.X_OFFER_NO_CACHE, request.isNoCache())
+            .withBody(JsonHandler.writeToInpustream(request.getGuids()))
+            .withJson();
+
+        // Metadata entries are streamed back by the offer as soon as available (in no specific order), so that the
+        // offer does not hold the whole batch in memory. Entries are still collected here : callers reorder them by
+        // requested object id, and batches are bounded by the engine bulk size.
+        try (Response response = make(requestBuilder)) {
+            if (isUnknownEndpoint(response)) {
+                // Offer not upgraded yet (rolling upgrade)
+                LOGGER.warn("Bulk metadata streaming not supported by offer of driver " + getDriverName() +
+                    ". Falling back to legacy endpoint");
+                return getBulkMetadataFromLegacyEndpoint(request);
+            }
+            checkStorageException(response);
+            List<StorageBulkMetadataResultEntry> entries = new ArrayList<>();
+            try (StorageBulkMetadataResultEntryReader reader =
+                new StorageBulkMetadataResultEntryReader(response.readEntity(InputStream.class))) {
+                reader.forEachRemaining(entries::add);
+            }
+            return new StorageBulkMetadataResult(entries);
+        } catch (VitamClientInternalException | RuntimeException e) {
+            throw new StorageDriverException(getDriverName(),
+                VitamCodeHelper.getLogMessage(VitamCode.STORAGE_TECHNICAL_INTERNAL_ERROR), true, e);
+        }
+    }
+
+    private boolean isUnknownEndpoint(Response response) {
+        return response.getStatus() == Status.NOT_FOUND.getStatusCode() ||
+            response.getStatus() == Status.METHOD_NOT_ALLOWED.getStatusCode();
+    }
+
+    private StorageBulkMetadataResult getBulkMetadataFromLegacyEndpoint(StorageGetBulkMetadataRequest request)
+        throws StorageDriverException, InvalidParseOperationException {
+
         VitamRequestBuilder requestBuilder = get()
             .withPath("/bulk/objects/" + DataCategory.getByFolder(request.getType()) + "/metadata")
             .withHeader(GlobalDataRest.X_TENANT_ID, request.getTenantId())
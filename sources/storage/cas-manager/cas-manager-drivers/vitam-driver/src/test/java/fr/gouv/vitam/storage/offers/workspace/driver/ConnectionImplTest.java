@@ -230,7 +230,7 @@ public class ConnectionImplTest extends ResteasyTestApplication {
         }
 
         @GET
-        @Path("/bulk/objects/{type}/metadata")
+        @Path("/bulk/objects/{type}/metadata/stream")
         @Consumes(MediaType.APPLICATION_JSON)
         @Produces(MediaType.APPLICATION_JSON)
         public Response getBulkObjectMetadata(@PathParam("type") DataCategory type,
@@ -240,6 +240,17 @@ public class ConnectionImplTest extends ResteasyTestApplication {
             return mock.get();
         }
 
+        @GET
+        @Path("/bulk/objects/{type}/metadata")
+        @Consumes(MediaType.APPLICATION_JSON)
+        @Produces(MediaType.APPLICATION_JSON)
+        public Response getLegacyBulkObjectMetadata(@PathParam("type") DataCategory type,
+            @HeaderParam(GlobalDataRest.X_TENANT_ID) String xTenantId,
+            @HeaderParam(GlobalDataRest.X_OFFER_NO_CACHE) boolean noCache,
+            List<String> guids) {
+            return mock.get();
+        }
+
         @GET
         @Path("/objects/{type}/{id:.+}")
         @Consumes(MediaType.APPLICATION_JSON)
@@ -1081,11 +1092,10 @@ public class ConnectionImplTest extends ResteasyTestApplication {
         final StorageGetBulkMetadataRequest request = new StorageGetBulkMetadataRequest(
             0, DataCategory.UNIT.getFolder(), Arrays.asList("GUID1", "GUID2"), false);
 
-        StorageBulkMetadataResult storageBulkMetadataResult = new StorageBulkMetadataResult(Arrays.asList(
-            new StorageBulkMetadataResultEntry("GUID1", "d1", 1L),
-            new StorageBulkMetadataResultEntry("GUID2", "d2", 2L)
-        ));
-        when(mock.get()).thenReturn(Response.status(Status.OK).entity(storageBulkMetadataResult).build());
+        String responseContent = JsonHandler.unprettyPrint(new StorageBulkMetadataResultEntry("GUID1", "d1", 1L)) +
+            "\n" + JsonHandler.unprettyPrint(new StorageBulkMetadataResultEntry("GUID2", "d2", 2L)) + "\n{}";
+        InputStream is = new ByteArrayInputStream(responseContent.getBytes(StandardCharsets.UTF_8));
+        when(mock.get()).thenReturn(Response.ok(is).build());
 
         try (Connection connection = driver.connect(offer.getId())) {
             final StorageBulkMetadataResult result = connection.getBulkMetadata(request);
@@ -1097,6 +1107,44 @@ public class ConnectionImplTest extends ResteasyTestApplication {
         }
     }
 
+    @Test
+    public void bulkMetadataWithPrematureEofThenStorageDriverException() throws Exception {
+
+        final StorageGetBulkMetadataRequest request = new StorageGetBulkMetadataRequest(
+            0, DataCategory.UNIT.getFolder(), Arrays.asList("GUID1", "GUID2"), false);
+
+        String responseContent = JsonHandler.unprettyPrint(new StorageBulkMetadataResultEntry("GUID1", "d1", 1L));
+        InputStream is = new ByteArrayInputStream(responseContent.getBytes(StandardCharsets.UTF_8));
+        when(mock.get()).thenReturn(Response.ok(is).build());
+
+        try (Connection connection = driver.connect(offer.getId())) {
+            assertThatThrownBy(() -> connection.getBulkMetadata(request))
+                .isInstanceOf(StorageDriverException.class);
+        }
+    }
+
+    @Test
+    public void bulkMetadataWithStreamingNotSupportedThenFallbackToLegacyEndpoint() throws Exception {
+
+        final StorageGetBulkMetadataRequest request = new StorageGetBulkMetadataRequest(
+            0, DataCategory.UNIT.getFolder(), Arrays.asList("GUID1", "GUID2"), false);
+
+        StorageBulkMetadataResult legacyResult = new StorageBulkMetadataResult(Arrays.asList(
+            new StorageBulkMetadataResultEntry("GUID1", "d1", 1L),
+            new StorageBulkMetadataResultEntry("GUID2", "d2", 2L)));
+        when(mock.get()).thenReturn(
+            Response.status(Status.NOT_FOUND).build(),
+            Response.ok(legacyResult).build());
+
+        try (Connection connection = driver.connect(offer.getId())) {
+            final StorageBulkMetadataResult result = connection.getBulkMetadata(request);
+            assertThat(result.getObjectMetadata()).hasSize(2);
+            assertThat(result.getObjectMetadata().get(1).getObjectName()).isEqualTo("GUID2");
+            assertThat(result.getObjectMetadata().get(1).getDigest()).isEqualTo("d2");
+            assertThat(result.getObjectMetadata().get(1).getSize()).isEqualTo(2L);
+        }
+    }
+
     @Test
     public void bulkMetadataWithInternalServerErrorThanStorageDriverException() throws Exception {
         final StorageGetBulkMetadataRequest request = new StorageGetBulkMetadataRequest(
@@ -65,6 +65,10 @@ import java.util.stream.IntStream;
  * {@link TapeReadWriteService} and {@link TapeDriveCommandService} instances that simulates operations on tape library.
  * Concurrent operations on the same changer, drive, slot or tape is prohibited (e.g. trying to load a tape A into a slot that is currently being unloaded...)
  * Any unexpected error (i.e. reading past last file of a tape, loading from an empty slot...) is reported through {@code getFailures()} for post test checks
+ *
+ * Operation timings can be modelled through {@link TapeLibrarySimulatorTimings} (robot moves, tape load / unload, seek
+ * rate & streaming throughput) for performance evaluation purposes. Drive activity is reported through
+ * {@code getDriveStatistics()}.
  */
 public class TapeLibrarySimulator {
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(TapeLibrarySimulator.class);
@@ -74,17 +78,26 @@ public class TapeLibrarySimulator {
     private final VirtualChanger changer;
     private final List<VirtualDrive> drives;
     private final List<VirtualSlot> slots;
+    private final List<VirtualDriveStatistics> driveStatistics;
     private final TestTapeLoadUnloadService tapeLoadUnloadService;
     private final List<TapeReadWriteService> tapeReadWriteServices;
     private final List<TapeDriveCommandService> tapeDriveCommandServices;
     private final List<Exception> failures;
     private final int maxTapeCapacityInBytes;
     private final String cartridgeType;
+    private final TapeLibrarySimulatorTimings timings;
 
     private volatile int sleepDelayMillis;
 
     public TapeLibrarySimulator(Path inputDirectory, Path tempOutputStorageDirectory, int nbDrives, int nbSlots,
         int nbTapes, int maxTapeCapacityInBytes, String cartridgeType, int sleepDelayMillis) {
+        this(inputDirectory, tempOutputStorageDirectory, nbDrives, nbSlots, nbTapes, maxTapeCapacityInBytes,
+            cartridgeType, sleepDelayMillis, new TapeLibrarySimulatorTimings());
+    }
+
+    public TapeLibrarySimulator(Path inputDirectory, Path tempOutputStorageDirectory, int nbDrives, int nbSlots,
+        int nbTapes, int maxTapeCapacityInBytes, String cartridgeType, int sleepDelayMillis,
+        TapeLibrarySimulatorTimings timings) {
         ParametersChecker.checkParameter("Missing inputDirectory", inputDirectory);
         ParametersChecker.checkParameter("Missing tempOutputStorageDirectory", tempOutputStorageDirectory);
         ParametersChecker.checkValue("Invalid nbDrives", nbDrives, 1);
@@ -93,6 +106,7 @@ public class TapeLibrarySimulator {
         ParametersChecker.checkValue("Invalid maxTapeCapacityInBytes", maxTapeCapacityInBytes, 1);
         ParametersChecker.checkValue("nbTapes must be <= nbSlots", nbSlots, nbTapes);
         ParametersChecker.checkParameter("Missing cartridgeType", cartridgeType);
+        ParametersChecker.checkParameter("Missing timings", timings);
 
         failures = Collections.synchronizedList(new ArrayList<>());
 
@@ -102,6 +116,10 @@ public class TapeLibrarySimulator {
             .mapToObj(driveIndex -> new VirtualDrive(driveIndex).setCurrentTape(null).setState(VirtualDriveState.EMPTY))
             .collect(Collectors.toList());
 
+        this.driveStatistics = IntStream.range(0, nbDrives)
+            .mapToObj(VirtualDriveStatistics::new)
+            .collect(Collectors.toList());
+
         this.slots = IntStream.rangeClosed(1, nbSlots)
             .mapToObj(slotNumber -> new VirtualSlot(slotNumber).setCurrentTape(null).setState(VirtualSlotState.EMPTY))
             .collect(Collectors.toList());
@@ -125,6 +143,7 @@ public class TapeLibrarySimulator {
         this.maxTapeCapacityInBytes = maxTapeCapacityInBytes;
         this.cartridgeType = cartridgeType;
         this.sleepDelayMillis = sleepDelayMillis;
+        this.timings = timings;
     }
 
     public TapeLoadUnloadService getTapeLoadUnloadService() {
@@ -143,6 +162,42 @@ public class TapeLibrarySimulator {
         return Collections.unmodifiableList(this.failures);
     }
 
+    /**
+     * @return a snapshot of drive activity statistics, indexed by drive index
+     */
+    public List<VirtualDriveStatistics> getDriveStatistics() {
+        synchronized (syncRoot) {
+            return this.driveStatistics.stream()
+                .map(VirtualDriveStatistics::copy)
+                .collect(Collectors.toList());
+        }
+    }
+
+    private void simulateDuration(double durationInMillis) {
+        long delayInMillis = timings.toScaledDelayInMillis(durationInMillis);
+        if (delayInMillis > 0L) {
+            Uninterruptibles.sleepUninterruptibly(delayInMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private double computeSeekDurationInMillis(VirtualTape tape, int fromFilePosition, int toFilePosition) {
+        if (!timings.isSeekTimingEnabled()) {
+            return 0d;
+        }
+        int startPosition = Math.max(0, Math.min(fromFilePosition, toFilePosition));
+        int endPosition = Math.min(tape.getPersistedFiles().size(), Math.max(fromFilePosition, toFilePosition));
+        long skippedBytes = 0L;
+        for (int filePosition = startPosition; filePosition < endPosition; filePosition++) {
+            Path file = tape.getPersistedFiles().get(filePosition);
+            try {
+                skippedBytes += Files.size(file);
+            } catch (IOException e) {
+                throw createAndReportIllegalStateException("Could not compute size of file " + file);
+            }
+        }
+        return timings.computeSeekDurationInMillis(skippedBytes);
+    }
+
     private void ensureTapeLoaded(VirtualDrive drive) throws TapeCommandException {
         switch (drive.getState()) {
             case EMPTY:
@@ -259,6 +314,7 @@ public class TapeLibrarySimulator {
 
             Path destinationPath = null;
             int sizeToWrite = 0;
+            double transferDurationInMillis = 0d;
             try {
 
                 destinationPath = tmpOutputStorageFolder
@@ -285,6 +341,9 @@ public class TapeLibrarySimulator {
                     Files.copy(new BoundedInputStream(sourceFileInputStream, sizeToWrite), destinationPath);
                 }
 
+                transferDurationInMillis = timings.computeTransferDurationInMillis(sizeToWrite);
+                simulateDuration(transferDurationInMillis);
+
                 if (sizeToWrite < fileSize) {
                     // Ordinal exception. Do not report it as a failure
                     throw new TapeCommandException(
@@ -309,6 +368,7 @@ public class TapeLibrarySimulator {
 
                     if (destinationPath != null) {
                         currentTape.getPersistedFiles().add(destinationPath);
+                        driveStatistics.get(driveIndex).recordWrite(sizeToWrite, transferDurationInMillis);
                     }
                     currentTape.setUsedCapacity(currentTape.getUsedCapacity() + sizeToWrite);
                 }
@@ -347,6 +407,9 @@ public class TapeLibrarySimulator {
 
             Uninterruptibles.sleepUninterruptibly(sleepDelayMillis, TimeUnit.MILLISECONDS);
 
+            long fileSize = 0L;
+            double transferDurationInMillis = 0d;
+            boolean fileRead = false;
             try {
                 Path destinationPath = this.tmpOutputStorageFolder.resolve(outputPath);
                 if (Files.exists(destinationPath)) {
@@ -355,11 +418,16 @@ public class TapeLibrarySimulator {
                             + ". OutputPath '" + outputPath + "'already exists");
                 }
 
+                fileSize = Files.size(srcFilePath);
                 LOGGER.info("Reading file at position " + filePosition + " of tape " +
                     currentTape.getVolumeTag() + " into file " + destinationPath + " (" +
-                    FileUtils.byteCountToDisplaySize(Files.size(srcFilePath)) + ")");
+                    FileUtils.byteCountToDisplaySize(fileSize) + ")");
 
                 Files.copy(srcFilePath, destinationPath);
+                fileRead = true;
+
+                transferDurationInMillis = timings.computeTransferDurationInMillis(fileSize);
+                simulateDuration(transferDurationInMillis);
 
             } catch (IOException e) {
                 throw createAndReportSevereTapeCommandException(
@@ -374,6 +442,10 @@ public class TapeLibrarySimulator {
                     drive.setBeginningOfTape(false);
                     drive.setEndOfFile(true);
                     drive.setEndOfData(false);
+
+                    if (fileRead) {
+                        driveStatistics.get(driveIndex).recordRead(fileSize, transferDurationInMillis);
+                    }
                 }
             }
         }
@@ -474,18 +546,25 @@ public class TapeLibrarySimulator {
                 throw createAndReportSevereTapeCommandException("Position " + position + " cannot be negative or zero");
             }
 
+            double seekDurationInMillis;
             synchronized (syncRoot) {
 
                 ensureTapeLoaded(drive);
 
+                int currentPosition = drive.getFilePosition();
+                seekDurationInMillis = computeSeekDurationInMillis(drive.getCurrentTape(), currentPosition,
+                    isBackward ? currentPosition - position : currentPosition + position);
+
                 drive.setState(VirtualDriveState.BUSY);
             }
 
             Uninterruptibles.sleepUninterruptibly(sleepDelayMillis, TimeUnit.MILLISECONDS);
+            simulateDuration(seekDurationInMillis);
 
             synchronized (syncRoot) {
 
                 drive.setState(VirtualDriveState.LOADED);
+                driveStatistics.get(driveIndex).recordSeek(seekDurationInMillis);
 
                 int currentPosition = drive.getFilePosition();
 
@@ -539,16 +618,22 @@ public class TapeLibrarySimulator {
         @Override
         public void rewind() throws TapeCommandException {
 
+            double seekDurationInMillis;
             synchronized (syncRoot) {
                 ensureTapeLoaded(drive);
 
+                seekDurationInMillis =
+                    computeSeekDurationInMillis(drive.getCurrentTape(), drive.getFilePosition(), 0);
+
                 drive.setState(VirtualDriveState.BUSY);
             }
 
             Uninterruptibles.sleepUninterruptibly(sleepDelayMillis, TimeUnit.MILLISECONDS);
+            simulateDuration(seekDurationInMillis);
 
             synchronized (syncRoot) {
                 drive.setState(VirtualDriveState.LOADED);
+                driveStatistics.get(driveIndex).recordSeek(seekDurationInMillis);
                 drive.setFilePosition(0);
                 drive.setBeginningOfTape(true);
                 drive.setEndOfFile(false);
@@ -559,16 +644,22 @@ public class TapeLibrarySimulator {
         @Override
         public void goToEnd() throws TapeCommandException {
 
+            double seekDurationInMillis;
             synchronized (syncRoot) {
                 ensureTapeLoaded(drive);
 
+                seekDurationInMillis = computeSeekDurationInMillis(drive.getCurrentTape(), drive.getFilePosition(),
+                    drive.getCurrentTape().getPersistedFiles().size());
+
                 drive.setState(VirtualDriveState.BUSY);
             }
 
             Uninterruptibles.sleepUninterruptibly(sleepDelayMillis, TimeUnit.MILLISECONDS);
+            simulateDuration(seekDurationInMillis);
 
             synchronized (syncRoot) {
                 drive.setState(VirtualDriveState.LOADED);
+                driveStatistics.get(driveIndex).recordSeek(seekDurationInMillis);
                 drive.setFilePosition(drive.getCurrentTape().getPersistedFiles().size());
                 drive.setBeginningOfTape(false);
                 drive.setEndOfFile(false);
@@ -586,9 +677,11 @@ public class TapeLibrarySimulator {
             }
 
             Uninterruptibles.sleepUninterruptibly(sleepDelayMillis, TimeUnit.MILLISECONDS);
+            simulateDuration(timings.getUnloadDurationInMillis());
 
             synchronized (syncRoot) {
                 drive.setState(VirtualDriveState.EJECTED);
+                driveStatistics.get(driveIndex).recordUnmount(timings.getUnloadDurationInMillis());
                 drive.setFilePosition(null);
                 drive.setBeginningOfTape(null);
                 drive.setEndOfFile(null);
@@ -708,7 +801,9 @@ public class TapeLibrarySimulator {
                 virtualDrive.setState(VirtualDriveState.BUSY);
             }
 
+            double loadDurationInMillis = timings.getRobotMoveDurationInMillis() + timings.getLoadDurationInMillis();
             Uninterruptibles.sleepUninterruptibly(sleepDelayMillis, TimeUnit.MILLISECONDS);
+            simulateDuration(loadDurationInMillis);
 
             synchronized (syncRoot) {
 
@@ -716,6 +811,8 @@ public class TapeLibrarySimulator {
                 VirtualSlot virtualSlot = slots.get(slotNumber - 1);
                 VirtualTape virtualTape = virtualSlot.getCurrentTape();
 
+                driveStatistics.get(driveIndex).recordMount(loadDurationInMillis);
+
                 virtualSlot.setState(VirtualSlotState.EMPTY);
                 virtualSlot.setCurrentTape(null);
 
@@ -782,6 +879,7 @@ public class TapeLibrarySimulator {
             }
 
             Uninterruptibles.sleepUninterruptibly(sleepDelayMillis, TimeUnit.MILLISECONDS);
+            simulateDuration(timings.getRobotMoveDurationInMillis());
 
             synchronized (syncRoot) {
 
@@ -789,6 +887,8 @@ public class TapeLibrarySimulator {
                 VirtualSlot virtualSlot = slots.get(slotNumber - 1);
                 VirtualTape virtualTape = virtualDrive.getCurrentTape();
 
+                driveStatistics.get(driveIndex).recordUnmount(timings.getRobotMoveDurationInMillis());
+
                 virtualSlot.setState(VirtualSlotState.LOADED);
                 virtualSlot.setCurrentTape(virtualTape);
 
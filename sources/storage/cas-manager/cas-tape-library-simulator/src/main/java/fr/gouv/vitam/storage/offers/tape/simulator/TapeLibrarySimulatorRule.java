@@ -55,9 +55,16 @@ public class TapeLibrarySimulatorRule extends ExternalResource {
 
     public TapeLibrarySimulatorRule(Path inputDirectory, Path tempOutputStorageDirectory, int nbDrives, int nbSlots,
         int nbTapes, int maxTapeCapacityInBytes, String cartridgeType, int sleepDelayMillis) {
+        this(inputDirectory, tempOutputStorageDirectory, nbDrives, nbSlots, nbTapes, maxTapeCapacityInBytes,
+            cartridgeType, sleepDelayMillis, new TapeLibrarySimulatorTimings());
+    }
+
+    public TapeLibrarySimulatorRule(Path inputDirectory, Path tempOutputStorageDirectory, int nbDrives, int nbSlots,
+        int nbTapes, int maxTapeCapacityInBytes, String cartridgeType, int sleepDelayMillis,
+        TapeLibrarySimulatorTimings timings) {
 
         this.tapeLibrarySimulator = new TapeLibrarySimulator(inputDirectory, tempOutputStorageDirectory,
-            nbDrives, nbSlots, nbTapes, maxTapeCapacityInBytes, cartridgeType, sleepDelayMillis);
+            nbDrives, nbSlots, nbTapes, maxTapeCapacityInBytes, cartridgeType, sleepDelayMillis, timings);
 
         TapeLibraryFactory.TapeServiceCreator tapeServiceCreator = new TapeLibraryFactory.TapeServiceCreator() {
 
@@ -0,0 +1,160 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.simulator;
+
+/**
+ * Timing model of a simulated tape library.
+ *
+ * Models robot moves, tape load / unload, seek (locate) rate and streaming throughput. All durations are expressed in
+ * simulated time, and are multiplied by the {@code timeScale} factor before being actually waited for (e.g. a time
+ * scale of 0.01 runs a simulation 100 times faster than the modelled hardware).
+ *
+ * Default instance models no timing at all (instantaneous operations).
+ */
+public class TapeLibrarySimulatorTimings {
+
+    private static final double BYTES_PER_MB = 1_000_000d;
+
+    private double timeScale = 1d;
+    private long robotMoveDurationInMillis = 0L;
+    private long loadDurationInMillis = 0L;
+    private long unloadDurationInMillis = 0L;
+    private double seekRateInMBPerSecond = 0d;
+    private double streamingThroughputInMBPerSecond = 0d;
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    public TapeLibrarySimulatorTimings setTimeScale(double timeScale) {
+        if (timeScale < 0d) {
+            throw new IllegalArgumentException("Invalid timeScale " + timeScale);
+        }
+        this.timeScale = timeScale;
+        return this;
+    }
+
+    /**
+     * @return duration of a robot (changer) move between a slot and a drive
+     */
+    public long getRobotMoveDurationInMillis() {
+        return robotMoveDurationInMillis;
+    }
+
+    public TapeLibrarySimulatorTimings setRobotMoveDurationInMillis(long robotMoveDurationInMillis) {
+        if (robotMoveDurationInMillis < 0L) {
+            throw new IllegalArgumentException("Invalid robotMoveDurationInMillis " + robotMoveDurationInMillis);
+        }
+        this.robotMoveDurationInMillis = robotMoveDurationInMillis;
+        return this;
+    }
+
+    /**
+     * @return duration required by a drive to thread a newly inserted tape, and get ready at beginning of tape
+     */
+    public long getLoadDurationInMillis() {
+        return loadDurationInMillis;
+    }
+
+    public TapeLibrarySimulatorTimings setLoadDurationInMillis(long loadDurationInMillis) {
+        if (loadDurationInMillis < 0L) {
+            throw new IllegalArgumentException("Invalid loadDurationInMillis " + loadDurationInMillis);
+        }
+        this.loadDurationInMillis = loadDurationInMillis;
+        return this;
+    }
+
+    /**
+     * @return duration required by a drive to unthread & eject a tape
+     */
+    public long getUnloadDurationInMillis() {
+        return unloadDurationInMillis;
+    }
+
+    public TapeLibrarySimulatorTimings setUnloadDurationInMillis(long unloadDurationInMillis) {
+        if (unloadDurationInMillis < 0L) {
+            throw new IllegalArgumentException("Invalid unloadDurationInMillis " + unloadDurationInMillis);
+        }
+        this.unloadDurationInMillis = unloadDurationInMillis;
+        return this;
+    }
+
+    /**
+     * @return locate speed (in MB of skipped data per second) for move / rewind / goToEnd operations. 0 for
+     * instantaneous seeks.
+     */
+    public double getSeekRateInMBPerSecond() {
+        return seekRateInMBPerSecond;
+    }
+
+    public TapeLibrarySimulatorTimings setSeekRateInMBPerSecond(double seekRateInMBPerSecond) {
+        if (seekRateInMBPerSecond < 0d) {
+            throw new IllegalArgumentException("Invalid seekRateInMBPerSecond " + seekRateInMBPerSecond);
+        }
+        this.seekRateInMBPerSecond = seekRateInMBPerSecond;
+        return this;
+    }
+
+    /**
+     * @return read / write throughput (in MB per second). 0 for instantaneous transfers.
+     */
+    public double getStreamingThroughputInMBPerSecond() {
+        return streamingThroughputInMBPerSecond;
+    }
+
+    public TapeLibrarySimulatorTimings setStreamingThroughputInMBPerSecond(double streamingThroughputInMBPerSecond) {
+        if (streamingThroughputInMBPerSecond < 0d) {
+            throw new IllegalArgumentException(
+                "Invalid streamingThroughputInMBPerSecond " + streamingThroughputInMBPerSecond);
+        }
+        this.streamingThroughputInMBPerSecond = streamingThroughputInMBPerSecond;
+        return this;
+    }
+
+    boolean isSeekTimingEnabled() {
+        return seekRateInMBPerSecond > 0d;
+    }
+
+    double computeSeekDurationInMillis(long skippedBytes) {
+        return computeDurationInMillis(skippedBytes, seekRateInMBPerSecond);
+    }
+
+    double computeTransferDurationInMillis(long transferredBytes) {
+        return computeDurationInMillis(transferredBytes, streamingThroughputInMBPerSecond);
+    }
+
+    long toScaledDelayInMillis(double durationInMillis) {
+        return Math.round(durationInMillis * timeScale);
+    }
+
+    private static double computeDurationInMillis(long bytes, double rateInMBPerSecond) {
+        if (rateInMBPerSecond <= 0d || bytes <= 0L) {
+            return 0d;
+        }
+        return bytes * 1000d / (rateInMBPerSecond * BYTES_PER_MB);
+    }
+}
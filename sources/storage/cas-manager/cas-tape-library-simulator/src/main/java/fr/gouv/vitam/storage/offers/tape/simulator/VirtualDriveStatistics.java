@@ -0,0 +1,144 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.simulator;
+
+/**
+ * Activity statistics of a simulated drive. Durations are expressed in simulated time (see
+ * {@link TapeLibrarySimulatorTimings}).
+ */
+public class VirtualDriveStatistics {
+
+    private final int driveIndex;
+    private long mountCount;
+    private double mountDurationInMillis;
+    private double seekDurationInMillis;
+    private double transferDurationInMillis;
+    private long filesWritten;
+    private long bytesWritten;
+    private long filesRead;
+    private long bytesRead;
+
+    public VirtualDriveStatistics(int driveIndex) {
+        this.driveIndex = driveIndex;
+    }
+
+    private VirtualDriveStatistics(VirtualDriveStatistics other) {
+        this.driveIndex = other.driveIndex;
+        this.mountCount = other.mountCount;
+        this.mountDurationInMillis = other.mountDurationInMillis;
+        this.seekDurationInMillis = other.seekDurationInMillis;
+        this.transferDurationInMillis = other.transferDurationInMillis;
+        this.filesWritten = other.filesWritten;
+        this.bytesWritten = other.bytesWritten;
+        this.filesRead = other.filesRead;
+        this.bytesRead = other.bytesRead;
+    }
+
+    public int getDriveIndex() {
+        return driveIndex;
+    }
+
+    /**
+     * @return number of tapes loaded into drive
+     */
+    public long getMountCount() {
+        return mountCount;
+    }
+
+    /**
+     * @return time spent by robot & drive for loading, ejecting & unloading tapes
+     */
+    public double getMountDurationInMillis() {
+        return mountDurationInMillis;
+    }
+
+    /**
+     * @return time spent positioning tapes (move, rewind & goToEnd)
+     */
+    public double getSeekDurationInMillis() {
+        return seekDurationInMillis;
+    }
+
+    /**
+     * @return time spent reading / writing data
+     */
+    public double getTransferDurationInMillis() {
+        return transferDurationInMillis;
+    }
+
+    /**
+     * @return total busy time (mount + seek + transfer)
+     */
+    public double getBusyDurationInMillis() {
+        return mountDurationInMillis + seekDurationInMillis + transferDurationInMillis;
+    }
+
+    public long getFilesWritten() {
+        return filesWritten;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public long getFilesRead() {
+        return filesRead;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    void recordMount(double durationInMillis) {
+        this.mountCount++;
+        this.mountDurationInMillis += durationInMillis;
+    }
+
+    void recordUnmount(double durationInMillis) {
+        this.mountDurationInMillis += durationInMillis;
+    }
+
+    void recordSeek(double durationInMillis) {
+        this.seekDurationInMillis += durationInMillis;
+    }
+
+    void recordWrite(long bytes, double durationInMillis) {
+        this.filesWritten++;
+        this.bytesWritten += bytes;
+        this.transferDurationInMillis += durationInMillis;
+    }
+
+    void recordRead(long bytes, double durationInMillis) {
+        this.filesRead++;
+        this.bytesRead += bytes;
+        this.transferDurationInMillis += durationInMillis;
+    }
+
+    VirtualDriveStatistics copy() {
+        return new VirtualDriveStatistics(this);
+    }
+}
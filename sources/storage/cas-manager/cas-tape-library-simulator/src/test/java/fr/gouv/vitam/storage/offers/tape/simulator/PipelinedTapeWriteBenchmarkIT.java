@@ -0,0 +1,244 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.simulator;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.storage.tapelibrary.TapeDriveConf;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageType;
+import fr.gouv.vitam.storage.engine.common.model.QueueState;
+import fr.gouv.vitam.storage.engine.common.model.TapeCatalog;
+import fr.gouv.vitam.storage.engine.common.model.TapeLocation;
+import fr.gouv.vitam.storage.engine.common.model.TapeLocationType;
+import fr.gouv.vitam.storage.engine.common.model.TapeState;
+import fr.gouv.vitam.storage.engine.common.model.WriteOrder;
+import fr.gouv.vitam.storage.offers.tape.cas.ArchiveCacheStorage;
+import fr.gouv.vitam.storage.offers.tape.cas.ArchiveReferentialRepository;
+import fr.gouv.vitam.storage.offers.tape.impl.readwrite.TapeLibraryServiceImpl;
+import fr.gouv.vitam.storage.offers.tape.metrics.DriveWorkerMetrics;
+import fr.gouv.vitam.storage.offers.tape.pool.TapeLibraryPoolImpl;
+import fr.gouv.vitam.storage.offers.tape.spec.TapeCatalogService;
+import fr.gouv.vitam.storage.offers.tape.spec.TapeDriveCommandService;
+import fr.gouv.vitam.storage.offers.tape.spec.TapeDriveService;
+import fr.gouv.vitam.storage.offers.tape.spec.TapeReadWriteService;
+import fr.gouv.vitam.storage.offers.tape.spec.TapeRobotService;
+import fr.gouv.vitam.storage.offers.tape.worker.tasks.ReadWriteResult;
+import fr.gouv.vitam.storage.offers.tape.worker.tasks.WriteTask;
+import org.apache.commons.lang3.RandomUtils;
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tape write pipeline benchmark.
+ *
+ * Writes a sequence of archives to a simulated drive, with & without pipelined archive finalization, and reports
+ * drive utilisation (drive transfer time / total elapsed time).
+ *
+ * Archive referential update, archive cache update & queue update are simulated with fixed delays.
+ *
+ * How to run :
+ * - Remove @Ignore annotation
+ * - Run test & check logs
+ */
+@Ignore("Tape write pipeline benchmark on simulated drive. To be run manually")
+public class PipelinedTapeWriteBenchmarkIT {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(PipelinedTapeWriteBenchmarkIT.class);
+
+    private static final String LIBRARY = "TAPE_LIB_1";
+    private static final String BUCKET = "test-bucket";
+    private static final String FILE_BUCKET_ID = "test-objects";
+    private static final int DRIVE_INDEX = 0;
+    private static final int NB_ARCHIVES = 100;
+    private static final int ARCHIVE_SIZE = 1_000_000;
+    private static final int TAPE_OPERATION_DELAY_MILLIS = 20;
+    private static final int REFERENTIAL_UPDATE_DELAY_MILLIS = 10;
+    private static final int CACHE_UPDATE_DELAY_MILLIS = 5;
+    private static final int QUEUE_UPDATE_DELAY_MILLIS = 5;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void benchmarkTapeWritePipeline() throws Exception {
+
+        // First round is a warm-up round
+        for (int round = 0; round < 2; round++) {
+            runBenchmark(false);
+            runBenchmark(true);
+        }
+    }
+
+    private void runBenchmark(boolean pipelined) throws Exception {
+
+        Path inputDir = temporaryFolder.newFolder().toPath();
+        Path tmpOutputDir = temporaryFolder.newFolder().toPath();
+        TapeLibrarySimulator tapeLibrarySimulator = new TapeLibrarySimulator(inputDir, tmpOutputDir, 1, 2, 1,
+            (NB_ARCHIVES + 1) * ARCHIVE_SIZE, "LTO-6", TAPE_OPERATION_DELAY_MILLIS);
+
+        TapeLibraryServiceImpl tapeLibraryService = createTapeLibraryService(tapeLibrarySimulator);
+
+        TapeCatalogService tapeCatalogService = mock(TapeCatalogService.class);
+        when(tapeCatalogService.receive(any())).thenReturn(Optional.of(new TapeCatalog()
+            .setLibrary(LIBRARY)
+            .setCode("TAPE-0")
+            .setType("LTO-6")
+            .setTapeState(TapeState.EMPTY)
+            .setPreviousLocation(new TapeLocation(1, TapeLocationType.SLOT))
+            .setCurrentLocation(new TapeLocation(1, TapeLocationType.SLOT))));
+
+        ArchiveReferentialRepository archiveReferentialRepository = mock(ArchiveReferentialRepository.class);
+        doAnswer(args -> {
+            Uninterruptibles.sleepUninterruptibly(REFERENTIAL_UPDATE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            return null;
+        }).when(archiveReferentialRepository).updateLocationToOnTape(anyString(), any());
+
+        ArchiveCacheStorage archiveCacheStorage = mock(ArchiveCacheStorage.class);
+        doAnswer(args -> {
+            Uninterruptibles.sleepUninterruptibly(CACHE_UPDATE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            Files.delete(args.getArgument(0));
+            return null;
+        }).when(archiveCacheStorage).moveArchiveToCache(any(), anyString(), anyString());
+        doAnswer(args -> null).when(archiveCacheStorage)
+            .reserveArchiveStorageSpace(anyString(), anyString(), anyLong());
+
+        ExecutorService archiveFinalizationExecutor = pipelined ?
+            Executors.newSingleThreadExecutor(VitamThreadFactory.getInstance()) : null;
+
+        double initialTransferTime = getDriveTransferTime();
+        StopWatch stopWatch = StopWatch.createStarted();
+
+        TapeCatalog currentTape = null;
+        CompletableFuture<QueueState> pendingOrder = null;
+        for (int i = 0; i < NB_ARCHIVES; i++) {
+
+            String archiveId = "archive-" + i + ".tar";
+            Files.write(inputDir.resolve(archiveId), RandomUtils.nextBytes(ARCHIVE_SIZE));
+            WriteOrder writeOrder = new WriteOrder(BUCKET, FILE_BUCKET_ID, archiveId, ARCHIVE_SIZE, "digest",
+                archiveId, QueueMessageType.WriteOrder);
+
+            WriteTask writeTask = new WriteTask(writeOrder, currentTape, tapeLibraryService, tapeCatalogService,
+                archiveReferentialRepository, archiveCacheStorage, inputDir.toString(), false,
+                archiveFinalizationExecutor);
+            ReadWriteResult result = writeTask.get();
+            currentTape = result.getCurrentTape();
+
+            // Keep at most 1 pending order (as TapeDriveWorker does)
+            if (pendingOrder != null) {
+                assertThat(pendingOrder.get()).isEqualTo(QueueState.COMPLETED);
+                pendingOrder = null;
+            }
+
+            if (result.getArchiveFinalization() != null) {
+                pendingOrder = result.getArchiveFinalization().thenApply(this::updateQueue);
+            } else {
+                assertThat(updateQueue(result)).isEqualTo(QueueState.COMPLETED);
+            }
+        }
+        if (pendingOrder != null) {
+            assertThat(pendingOrder.get()).isEqualTo(QueueState.COMPLETED);
+        }
+
+        long elapsedTimeInMillis = stopWatch.getTime(TimeUnit.MILLISECONDS);
+        double transferTimeInMillis = (getDriveTransferTime() - initialTransferTime) * 1000d;
+
+        if (archiveFinalizationExecutor != null) {
+            archiveFinalizationExecutor.shutdown();
+        }
+
+        assertThat(tapeLibrarySimulator.getFailures()).isEmpty();
+
+        LOGGER.info(String.format("Pipelined write: %s, archives: %d, total time: %d ms, " +
+                "drive transfer time: %.0f ms, drive utilisation: %.1f %%, throughput: %.1f archives/s",
+            pipelined, NB_ARCHIVES, elapsedTimeInMillis, transferTimeInMillis,
+            100d * transferTimeInMillis / elapsedTimeInMillis, NB_ARCHIVES * 1000d / elapsedTimeInMillis));
+    }
+
+    private QueueState updateQueue(ReadWriteResult result) {
+        Uninterruptibles.sleepUninterruptibly(QUEUE_UPDATE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        return result.getOrderState();
+    }
+
+    private double getDriveTransferTime() {
+        return DriveWorkerMetrics.DRIVE_TRANSFER_TIME
+            .labels(LIBRARY, Integer.toString(DRIVE_INDEX), DriveWorkerMetrics.WRITE_OPERATION).get();
+    }
+
+    private TapeLibraryServiceImpl createTapeLibraryService(TapeLibrarySimulator tapeLibrarySimulator) {
+
+        TapeDriveConf tapeDriveConf = new TapeDriveConf();
+        tapeDriveConf.setIndex(DRIVE_INDEX);
+
+        TapeDriveService tapeDriveService = new TapeDriveService() {
+            @Override
+            public TapeReadWriteService getReadWriteService() {
+                return tapeLibrarySimulator.getTapeReadWriteServices().get(DRIVE_INDEX);
+            }
+
+            @Override
+            public TapeDriveCommandService getDriveCommandService() {
+                return tapeLibrarySimulator.getTapeDriveCommandServices().get(DRIVE_INDEX);
+            }
+
+            @Override
+            public TapeDriveConf getTapeDriveConf() {
+                return tapeDriveConf;
+            }
+        };
+
+        ArrayBlockingQueue<TapeRobotService> robotServices = new ArrayBlockingQueue<>(1);
+        robotServices.add(tapeLibrarySimulator::getTapeLoadUnloadService);
+        ConcurrentHashMap<Integer, TapeDriveService> driveServices = new ConcurrentHashMap<>();
+        driveServices.put(DRIVE_INDEX, tapeDriveService);
+
+        return new TapeLibraryServiceImpl(tapeDriveService,
+            new TapeLibraryPoolImpl(LIBRARY, robotServices, driveServices), 1000);
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.simulator;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.util.concurrent.Uninterruptibles;
+import fr.gouv.vitam.common.PropertiesUtils;
+import fr.gouv.vitam.common.database.server.mongodb.MongoDbAccess;
+import fr.gouv.vitam.common.digest.DigestType;
+import fr.gouv.vitam.common.guid.GUIDFactory;
+import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
+import fr.gouv.vitam.common.mongo.MongoRule;
+import fr.gouv.vitam.common.storage.tapelibrary.TapeLibraryConfiguration;
+import fr.gouv.vitam.common.thread.RunWithCustomExecutor;
+import fr.gouv.vitam.common.thread.RunWithCustomExecutorRule;
+import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
+import fr.gouv.vitam.common.thread.VitamThreadUtils;
+import fr.gouv.vitam.storage.engine.common.collection.OfferCollections;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageEntity;
+import fr.gouv.vitam.storage.engine.common.model.QueueState;
+import fr.gouv.vitam.storage.offers.tape.TapeLibraryFactory;
+import fr.gouv.vitam.storage.offers.tape.cas.TapeLibraryContentAddressableStorage;
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.mongodb.client.model.Filters.in;
+import static fr.gouv.vitam.storage.engine.common.utils.ContainerUtils.parseTenantFromContainerName;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tape library benchmark.
+ *
+ * Replays a recorded workload (a mix of object writes & access requests) through a full tape library offer stack
+ * ({@link TapeLibraryFactory}, and thus {@link fr.gouv.vitam.storage.offers.tape.worker.TapeDriveWorkerManager})
+ * on top of a timing-aware {@link TapeLibrarySimulator}, and reports drive utilisation, mount counts, read latency
+ * percentiles and write throughput. All reported durations are expressed in simulated time.
+ *
+ * Workload is a JSONL file, one entry per line, sorted by time (in simulated milliseconds since workload start) :
+ * - {"time":0,"type":"WRITE","container":"0_object","objects":["obj1","obj2"],"size":90000}
+ * - {"time":20000,"type":"ACCESS_REQUEST","container":"0_object","objects":["obj1"]}
+ *
+ * How to run :
+ * - Remove @Ignore annotation
+ * - Start a MongoDB instance (see {@link MongoRule})
+ * - Optionally, set the {@code tapeLibraryBenchmarkWorkload} system property to a custom workload file, and tweak
+ * tape library configuration (tape-library-benchmark.conf) & simulator timings
+ * - Run test & check logs
+ */
+@Ignore("Workload replay lasts several minutes and requires a MongoDB instance. To be run manually")
+@RunWithCustomExecutor
+public class TapeLibraryBenchmarkIT {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(TapeLibraryBenchmarkIT.class);
+
+    private static final String WORKLOAD_SYSTEM_PROPERTY = "tapeLibraryBenchmarkWorkload";
+    private static final String DEFAULT_WORKLOAD_RESOURCE = "tape-library-benchmark-workload.jsonl";
+    private static final String CONFIGURATION_RESOURCE = "tape-library-benchmark.conf";
+
+    private static final int NB_SLOTS = 40;
+    private static final int NB_TAPES = 30;
+    private static final int TAPE_CAPACITY_IN_BYTES = 10_000_000;
+    private static final String CARTRIDGE_TYPE = "LTO-6";
+    private static final double TIME_SCALE = 0.1;
+    private static final int POLL_INTERVAL_IN_MILLIS = 10;
+    private static final long MAX_BENCHMARK_DURATION_IN_MINUTES = 30;
+
+    /*
+     * Rough order of magnitude of robot & drive mechanical delays. Workload data volumes are scaled down (1MB tar
+     * files), so are seek rate & streaming throughput.
+     */
+    private static final TapeLibrarySimulatorTimings TIMINGS = new TapeLibrarySimulatorTimings()
+        .setTimeScale(TIME_SCALE)
+        .setRobotMoveDurationInMillis(10_000)
+        .setLoadDurationInMillis(15_000)
+        .setUnloadDurationInMillis(20_000)
+        .setSeekRateInMBPerSecond(10)
+        .setStreamingThroughputInMBPerSecond(1);
+
+    @ClassRule
+    public static RunWithCustomExecutorRule runInThread =
+        new RunWithCustomExecutorRule(VitamThreadPoolExecutor.getDefaultExecutor());
+
+    @ClassRule
+    public static MongoRule mongoRule = new MongoRule(MongoDbAccess.getMongoClientSettingsBuilder());
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        for (OfferCollections offerCollection : OfferCollections.values()) {
+            offerCollection.setPrefix(GUIDFactory.newGUID().getId());
+            mongoRule.addCollectionToBePurged(offerCollection.getName());
+        }
+    }
+
+    @AfterClass
+    public static void tearDownAfterClass() {
+        mongoRule.handleAfterClass();
+    }
+
+    @Test
+    public void benchmarkWorkload() throws Exception {
+
+        List<WorkloadEntry> workload = loadWorkload();
+        TapeLibraryConfiguration configuration = loadConfiguration();
+        int nbDrives = configuration.getTapeLibraries().values().iterator().next().getDrives().size();
+
+        TapeLibrarySimulatorRule tapeLibrarySimulatorRule = new TapeLibrarySimulatorRule(
+            Paths.get(configuration.getInputTarStorageFolder()),
+            Paths.get(configuration.getTmpTarOutputStorageFolder()),
+            nbDrives, NB_SLOTS, NB_TAPES, TAPE_CAPACITY_IN_BYTES, CARTRIDGE_TYPE, 0, TIMINGS);
+
+        try {
+            TapeLibraryFactory.getInstance().initialize(configuration, mongoRule.getMongoDatabase());
+
+            replayWorkload(workload, tapeLibrarySimulatorRule.getTapeLibrarySimulator());
+
+        } finally {
+            if (TapeLibraryFactory.getInstance().getAccessRequestManager() != null) {
+                TapeLibraryFactory.getInstance().getAccessRequestManager().shutdown();
+            }
+            tapeLibrarySimulatorRule.after();
+        }
+    }
+
+    private void replayWorkload(List<WorkloadEntry> workload, TapeLibrarySimulator tapeLibrarySimulator)
+        throws Exception {
+
+        TapeLibraryContentAddressableStorage storage =
+            TapeLibraryFactory.getInstance().getTapeLibraryContentAddressableStorage();
+
+        Map<String, Long> pendingAccessRequestCreationTimes = new HashMap<>();
+        List<Double> readLatenciesInMillis = new ArrayList<>();
+        long ingestedBytes = 0L;
+
+        long startTime = System.nanoTime();
+        Iterator<WorkloadEntry> workloadIterator = workload.iterator();
+        WorkloadEntry nextEntry = workloadIterator.hasNext() ? workloadIterator.next() : null;
+
+        while (nextEntry != null || !pendingAccessRequestCreationTimes.isEmpty() || hasPendingQueueMessages()) {
+
+            if (System.nanoTime() - startTime > TimeUnit.MINUTES.toNanos(MAX_BENCHMARK_DURATION_IN_MINUTES)) {
+                fail("Benchmark timed out");
+            }
+
+            // Replay due workload entries
+            while (nextEntry != null && nextEntry.getTime() <= toSimulatedTimeInMillis(System.nanoTime() - startTime)) {
+
+                VitamThreadUtils.getVitamSession().setTenantId(parseTenantFromContainerName(nextEntry.getContainer()));
+                switch (nextEntry.getType()) {
+                    case WRITE:
+                        for (String objectName : nextEntry.getObjects()) {
+                            storage.writeObject(nextEntry.getContainer(), objectName,
+                                new ByteArrayInputStream(RandomUtils.nextBytes((int) nextEntry.getSize())),
+                                DigestType.SHA512, nextEntry.getSize());
+                            ingestedBytes += nextEntry.getSize();
+                        }
+                        break;
+                    case ACCESS_REQUEST:
+                        String accessRequestId =
+                            storage.createAccessRequest(nextEntry.getContainer(), nextEntry.getObjects());
+                        pendingAccessRequestCreationTimes.put(accessRequestId, System.nanoTime());
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected value: " + nextEntry.getType());
+                }
+
+                nextEntry = workloadIterator.hasNext() ? workloadIterator.next() : null;
+            }
+
+            // Check pending access requests
+            if (!pendingAccessRequestCreationTimes.isEmpty()) {
+                Map<String, AccessRequestStatus> accessRequestStatuses = storage.checkAccessRequestStatuses(
+                    new ArrayList<>(pendingAccessRequestCreationTimes.keySet()), true);
+
+                for (Map.Entry<String, AccessRequestStatus> entry : accessRequestStatuses.entrySet()) {
+                    switch (entry.getValue()) {
+                        case READY:
+                            long latency = System.nanoTime() - pendingAccessRequestCreationTimes.remove(entry.getKey());
+                            readLatenciesInMillis.add(toSimulatedTimeInMillis(latency));
+                            storage.removeAccessRequest(entry.getKey(), true);
+                            break;
+                        case NOT_READY:
+                            break;
+                        default:
+                            fail("Unexpected access request status " + entry.getValue() + " for " + entry.getKey());
+                    }
+                }
+            }
+
+            Uninterruptibles.sleepUninterruptibly(POLL_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        double elapsedTimeInMillis = toSimulatedTimeInMillis(System.nanoTime() - startTime);
+
+        assertThat(tapeLibrarySimulator.getFailures()).isEmpty();
+
+        logReport(tapeLibrarySimulator.getDriveStatistics(), readLatenciesInMillis, ingestedBytes,
+            elapsedTimeInMillis);
+    }
+
+    private void logReport(List<VirtualDriveStatistics> driveStatistics, List<Double> readLatenciesInMillis,
+        long ingestedBytes, double elapsedTimeInMillis) {
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Tape library benchmark. Elapsed time: %.1f s (simulated)%n",
+            elapsedTimeInMillis / 1000d));
+
+        long totalMounts = 0L;
+        long totalBytesWritten = 0L;
+        double totalBusyDurationInMillis = 0d;
+        double totalTransferDurationInMillis = 0d;
+        for (VirtualDriveStatistics statistics : driveStatistics) {
+            report.append(String.format("Drive %d: mounts: %d, utilisation: %.1f %% (mount: %.1f %%, seek: %.1f %%, " +
+                    "transfer: %.1f %%), written: %d files / %d bytes, read: %d files / %d bytes%n",
+                statistics.getDriveIndex(), statistics.getMountCount(),
+                percent(statistics.getBusyDurationInMillis(), elapsedTimeInMillis),
+                percent(statistics.getMountDurationInMillis(), elapsedTimeInMillis),
+                percent(statistics.getSeekDurationInMillis(), elapsedTimeInMillis),
+                percent(statistics.getTransferDurationInMillis(), elapsedTimeInMillis),
+                statistics.getFilesWritten(), statistics.getBytesWritten(),
+                statistics.getFilesRead(), statistics.getBytesRead()));
+            totalMounts += statistics.getMountCount();
+            totalBytesWritten += statistics.getBytesWritten();
+            totalBusyDurationInMillis += statistics.getBusyDurationInMillis();
+            totalTransferDurationInMillis += statistics.getTransferDurationInMillis();
+        }
+
+        report.append(String.format("Total mounts: %d, drive utilisation: %.1f %% (transfer: %.1f %%)%n",
+            totalMounts,
+            percent(totalBusyDurationInMillis, elapsedTimeInMillis * driveStatistics.size()),
+            percent(totalTransferDurationInMillis, elapsedTimeInMillis * driveStatistics.size())));
+
+        List<Double> sortedLatencies = readLatenciesInMillis.stream().sorted().collect(Collectors.toList());
+        report.append(String.format("Access requests: %d, read latency p50: %.1f s, p90: %.1f s, p99: %.1f s, " +
+                "max: %.1f s%n", sortedLatencies.size(),
+            percentile(sortedLatencies, 50) / 1000d, percentile(sortedLatencies, 90) / 1000d,
+            percentile(sortedLatencies, 99) / 1000d, percentile(sortedLatencies, 100) / 1000d));
+
+        report.append(String.format("Ingested: %d bytes, written to tape: %d bytes, write throughput: %.1f KB/s%n",
+            ingestedBytes, totalBytesWritten, totalBytesWritten / elapsedTimeInMillis));
+
+        LOGGER.info(report.toString());
+    }
+
+    private boolean hasPendingQueueMessages() {
+        return mongoRule.getMongoCollection(OfferCollections.TAPE_QUEUE_MESSAGE.getName())
+            .countDocuments(in(QueueMessageEntity.STATE, QueueState.READY.getState(), QueueState.RUNNING.getState()))
+            > 0L;
+    }
+
+    private static double toSimulatedTimeInMillis(long elapsedNanos) {
+        return elapsedNanos / 1_000_000d / TIME_SCALE;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values
+     */
+    private static double percentile(List<Double> sortedValues, int percentile) {
+        if (sortedValues.isEmpty()) {
+            return 0d;
+        }
+        int rank = (int) Math.ceil(percentile / 100d * sortedValues.size());
+        return sortedValues.get(Math.max(0, rank - 1));
+    }
+
+    private static double percent(double value, double total) {
+        return total == 0d ? 0d : 100d * value / total;
+    }
+
+    private List<WorkloadEntry> loadWorkload() throws Exception {
+        String workloadFile = System.getProperty(WORKLOAD_SYSTEM_PROPERTY);
+        Path workloadPath = workloadFile != null ?
+            Paths.get(workloadFile) : PropertiesUtils.getResourcePath(DEFAULT_WORKLOAD_RESOURCE);
+
+        List<WorkloadEntry> workload = new ArrayList<>();
+        for (String line : Files.readAllLines(workloadPath)) {
+            if (!line.isBlank()) {
+                workload.add(JsonHandler.getFromString(line, WorkloadEntry.class));
+            }
+        }
+        return Collections.unmodifiableList(workload);
+    }
+
+    private TapeLibraryConfiguration loadConfiguration() throws IOException {
+        TapeLibraryConfiguration configuration = PropertiesUtils.readYaml(
+            PropertiesUtils.getResourcePath(CONFIGURATION_RESOURCE), TapeLibraryConfiguration.class);
+        configuration.setInputFileStorageFolder(temporaryFolder.newFolder("inputFiles").getAbsolutePath());
+        configuration.setInputTarStorageFolder(temporaryFolder.newFolder("inputTars").getAbsolutePath());
+        configuration.setTmpTarOutputStorageFolder(temporaryFolder.newFolder("tmpTarOutput").getAbsolutePath());
+        configuration.setCachedTarStorageFolder(temporaryFolder.newFolder("cachedTars").getAbsolutePath());
+        return configuration;
+    }
+
+    public enum WorkloadEntryType {
+        WRITE,
+        ACCESS_REQUEST
+    }
+
+    public static class WorkloadEntry {
+
+        @JsonProperty("time")
+        private long time;
+
+        @JsonProperty("type")
+        private WorkloadEntryType type;
+
+        @JsonProperty("container")
+        private String container;
+
+        @JsonProperty("objects")
+        private List<String> objects;
+
+        @JsonProperty("size")
+        private long size;
+
+        public long getTime() {
+            return time;
+        }
+
+        public WorkloadEntryType getType() {
+            return type;
+        }
+
+        public String getContainer() {
+            return container;
+        }
+
+        public List<String> getObjects() {
+            return objects;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
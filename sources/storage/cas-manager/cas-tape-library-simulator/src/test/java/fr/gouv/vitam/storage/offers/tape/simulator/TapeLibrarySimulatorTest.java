@@ -37,6 +37,7 @@ import fr.gouv.vitam.storage.offers.tape.dto.TapeSlot;
 import fr.gouv.vitam.storage.offers.tape.dto.TapeSlotType;
 import fr.gouv.vitam.storage.offers.tape.exception.TapeCommandException;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.time.StopWatch;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -53,6 +54,7 @@ import java.util.concurrent.TimeUnit;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
 import static org.assertj.core.api.Assertions.tuple;
 
 public class TapeLibrarySimulatorTest {
@@ -1884,6 +1886,80 @@ public class TapeLibrarySimulatorTest {
         assertThatNoFailuresReported();
     }
 
+    @Test
+    public void testDriveStatisticsWithoutTimings() throws IOException, TapeCommandException {
+
+        // Given
+        loadTape(1, 0);
+        writeFile(0, "content1");
+        writeFile(0, "content2");
+        rewindDriveTape(0);
+
+        // When
+        readFileAndVerifyContent(0, "content1");
+
+        // Then
+        VirtualDriveStatistics statistics = tapeLibrarySimulator.getDriveStatistics().get(0);
+        assertThat(statistics.getDriveIndex()).isEqualTo(0);
+        assertThat(statistics.getMountCount()).isEqualTo(1);
+        assertThat(statistics.getFilesWritten()).isEqualTo(2);
+        assertThat(statistics.getBytesWritten()).isEqualTo(16);
+        assertThat(statistics.getFilesRead()).isEqualTo(1);
+        assertThat(statistics.getBytesRead()).isEqualTo(8);
+        assertThat(statistics.getBusyDurationInMillis()).isEqualTo(0d);
+
+        assertThat(tapeLibrarySimulator.getDriveStatistics().get(1).getMountCount()).isEqualTo(0);
+
+        assertThatNoFailuresReported();
+    }
+
+    @Test
+    public void testDriveStatisticsWithTimings() throws IOException, TapeCommandException {
+
+        // Given
+        TapeLibrarySimulatorTimings timings = new TapeLibrarySimulatorTimings()
+            .setTimeScale(0.1)
+            .setRobotMoveDurationInMillis(100)
+            .setLoadDurationInMillis(200)
+            .setUnloadDurationInMillis(300)
+            .setSeekRateInMBPerSecond(0.001)
+            .setStreamingThroughputInMBPerSecond(0.002);
+        this.tapeLibrarySimulator = new TapeLibrarySimulator(
+            inputDir, tmpOutputDir, 4, 10, 8, 100_000, "LTO-6", 0, timings);
+
+        String content1 = RandomStringUtils.randomAlphabetic(1000);
+        String content2 = RandomStringUtils.randomAlphabetic(1000);
+
+        // When
+        StopWatch stopWatch = StopWatch.createStarted();
+        loadTape(1, 0);
+        writeFile(0, content1);
+        writeFile(0, content2);
+        rewindDriveTape(0);
+        readFileAndVerifyContent(0, content1);
+        ejectDrive(0);
+        unloadTape(1, 0);
+        long elapsedTimeInMillis = stopWatch.getTime(TimeUnit.MILLISECONDS);
+
+        // Then
+        VirtualDriveStatistics statistics = tapeLibrarySimulator.getDriveStatistics().get(0);
+        assertThat(statistics.getMountCount()).isEqualTo(1);
+        // Robot move + load, eject, robot move
+        assertThat(statistics.getMountDurationInMillis()).isCloseTo(700d, offset(0.001));
+        // 2 KB skipped @ 1 KB/s
+        assertThat(statistics.getSeekDurationInMillis()).isCloseTo(2000d, offset(0.001));
+        // 3 KB transferred @ 2 KB/s
+        assertThat(statistics.getTransferDurationInMillis()).isCloseTo(1500d, offset(0.001));
+        assertThat(statistics.getBusyDurationInMillis()).isCloseTo(4200d, offset(0.001));
+        assertThat(statistics.getBytesWritten()).isEqualTo(2000);
+        assertThat(statistics.getBytesRead()).isEqualTo(1000);
+
+        // Simulated time scaled by 0.1
+        assertThat(elapsedTimeInMillis).isGreaterThanOrEqualTo(420L);
+
+        assertThatNoFailuresReported();
+    }
+
     private TapeLibrarySpec getTapeLibraryStatus() throws TapeCommandException {
         // Operations on charger must be synchronized
         synchronized (this) {
@@ -40,11 +40,16 @@ import fr.gouv.vitam.storage.engine.common.collection.OfferCollections;
 import fr.gouv.vitam.storage.engine.common.model.TapeCatalog;
 import fr.gouv.vitam.storage.offers.tape.cas.AccessRequestManager;
 import fr.gouv.vitam.storage.offers.tape.cas.AccessRequestReferentialRepository;
+import fr.gouv.vitam.storage.offers.tape.cache.CacheEvictionPolicy;
+import fr.gouv.vitam.storage.offers.tape.cache.LRUEvictionPolicy;
+import fr.gouv.vitam.storage.offers.tape.cache.SegmentedLRUEvictionPolicy;
+import fr.gouv.vitam.storage.offers.tape.cas.ArchiveCacheEntry;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveCacheEvictionController;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveCacheStorage;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveReferentialRepository;
 import fr.gouv.vitam.storage.offers.tape.cas.BackupFileStorage;
 import fr.gouv.vitam.storage.offers.tape.cas.BasicFileStorage;
+import fr.gouv.vitam.storage.offers.tape.cas.BucketQuotaArchiveCacheEvictionPolicy;
 import fr.gouv.vitam.storage.offers.tape.cas.BucketTopologyHelper;
 import fr.gouv.vitam.storage.offers.tape.cas.FileBucketTarCreatorManager;
 import fr.gouv.vitam.storage.offers.tape.cas.IncompleteWriteOrderBootstrapRecovery;
@@ -60,6 +65,7 @@ import fr.gouv.vitam.storage.offers.tape.impl.TapeDriveManager;
 import fr.gouv.vitam.storage.offers.tape.impl.TapeRobotManager;
 import fr.gouv.vitam.storage.offers.tape.impl.catalog.TapeCatalogRepository;
 import fr.gouv.vitam.storage.offers.tape.impl.catalog.TapeCatalogServiceImpl;
+import fr.gouv.vitam.storage.offers.tape.impl.queue.IndexedQueueRepository;
 import fr.gouv.vitam.storage.offers.tape.impl.queue.QueueRepositoryImpl;
 import fr.gouv.vitam.storage.offers.tape.metrics.AccessRequestMetrics;
 import fr.gouv.vitam.storage.offers.tape.metrics.ArchiveCacheMetrics;
@@ -83,6 +89,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.commons.lang.StringUtils.isBlank;
 
@@ -127,15 +134,18 @@ public class TapeLibraryFactory {
 
         ObjectReferentialRepository objectReferentialRepository =
             new ObjectReferentialRepository(mongoDatabase
-                .getCollection(OfferCollections.TAPE_OBJECT_REFERENTIAL.getName()));
+                .getCollection(OfferCollections.TAPE_OBJECT_REFERENTIAL.getName()),
+                configuration.getObjectReferentialCacheMaxEntries(),
+                configuration.isObjectReferentialNegativeLookupFilterEnabled());
         ArchiveReferentialRepository archiveReferentialRepository =
             new ArchiveReferentialRepository(mongoDatabase
                 .getCollection(OfferCollections.TAPE_ARCHIVE_REFERENTIAL.getName()));
         AccessRequestReferentialRepository accessRequestReferentialRepository =
             new AccessRequestReferentialRepository(mongoDatabase
                 .getCollection(OfferCollections.ACCESS_REQUEST_REFERENTIAL.getName()));
-        QueueRepositoryImpl readWriteQueue = new QueueRepositoryImpl(mongoDatabase.getCollection(
+        QueueRepositoryImpl readWriteQueueJournal = new QueueRepositoryImpl(mongoDatabase.getCollection(
             OfferCollections.TAPE_QUEUE_MESSAGE.getName()));
+        IndexedQueueRepository readWriteQueue = new IndexedQueueRepository(readWriteQueueJournal);
 
         ArchiveCacheEvictionController archiveCacheEvictionController = new ArchiveCacheEvictionController(
             accessRequestReferentialRepository, objectReferentialRepository, bucketTopologyHelper);
@@ -144,7 +154,8 @@ public class TapeLibraryFactory {
             configuration.getCachedTarStorageFolder(), bucketTopologyHelper, archiveCacheEvictionController,
             configuration.getCachedTarMaxStorageSpaceInMB() * MB_BYTES,
             configuration.getCachedTarEvictionStorageSpaceThresholdInMB() * MB_BYTES,
-            configuration.getCachedTarSafeStorageSpaceThresholdInMB() * MB_BYTES
+            configuration.getCachedTarSafeStorageSpaceThresholdInMB() * MB_BYTES,
+            createArchiveCacheEvictionPolicy(configuration, bucketTopologyHelper)
         );
 
         WriteOrderCreator writeOrderCreator = new WriteOrderCreator(
@@ -173,7 +184,10 @@ public class TapeLibraryFactory {
             configuration.getReadyAccessRequestExpirationDelay(), configuration.getReadyAccessRequestExpirationUnit(),
             configuration.getReadyAccessRequestPurgeDelay(), configuration.getReadyAccessRequestPurgeUnit(),
             configuration.getAccessRequestCleanupTaskIntervalDelay(),
-            configuration.getAccessRequestCleanupTaskIntervalUnit());
+            configuration.getAccessRequestCleanupTaskIntervalUnit(),
+            configuration.isAccessRequestReadAheadEnabled(),
+            configuration.getAccessRequestReadAheadMaxFilePositionDistance(),
+            configuration.getAccessRequestReadAheadMaxSizeInMB() * MB_BYTES);
 
         tapeLibraryContentAddressableStorage =
             new TapeLibraryContentAddressableStorage(basicFileStorage, objectReferentialRepository,
@@ -183,7 +197,7 @@ public class TapeLibraryFactory {
         // Start AccessRequest expiration handler
         accessRequestManager.startExpirationHandler();
 
-        // Change all running orders to ready state
+        // Change all running orders to ready state, and load pending orders in memory
         readWriteQueue.initializeOnBootstrap();
 
         // Create tar creation orders from inputFiles folder
@@ -249,7 +263,8 @@ public class TapeLibraryFactory {
                 new TapeDriveWorkerManager(readWriteQueue, archiveReferentialRepository, accessRequestManager,
                     libraryPool, driveTape, configuration.getInputTarStorageFolder(),
                     configuration.isForceOverrideNonEmptyCartridges(), archiveCacheStorage, tapeCatalogService,
-                    tapeLibraryConf.getFullCartridgeDetectionThresholdInMB());
+                    tapeLibraryConf.getFullCartridgeDetectionThresholdInMB(),
+                    configuration.isPipelinedWriteEnabled());
 
             // Initialize drives on bootstrap
             tapeDriveWorkerManager.initializeOnBootstrap();
@@ -269,7 +284,7 @@ public class TapeLibraryFactory {
         // Initialize monitoring metrics
         ArchiveCacheMetrics.initializeMetrics(archiveCacheStorage);
         AccessRequestMetrics.initializeMetrics(accessRequestReferentialRepository);
-        OrderQueueMetrics.initializeMetrics(readWriteQueue);
+        OrderQueueMetrics.initializeMetrics(readWriteQueueJournal);
         TapeCatalogMetrics.initializeMetrics(tapeCatalogRepository);
         for (String tapeLibrary : tapeDriveWorkerManagers.keySet()) {
             DriveWorkerMetrics.initializeMetrics(tapeLibrary, tapeDriveWorkerManagers.get(tapeLibrary));
@@ -306,6 +321,28 @@ public class TapeLibraryFactory {
         createDirectory(configuration.getCachedTarStorageFolder());
     }
 
+    private CacheEvictionPolicy<ArchiveCacheEntry> createArchiveCacheEvictionPolicy(
+        TapeLibraryConfiguration configuration, BucketTopologyHelper bucketTopologyHelper) {
+
+        CacheEvictionPolicy<ArchiveCacheEntry> evictionPolicy;
+        switch (configuration.getCachedTarEvictionPolicy()) {
+            case LRU:
+                evictionPolicy = new LRUEvictionPolicy<>();
+                break;
+            case SEGMENTED_LRU:
+                evictionPolicy = new SegmentedLRUEvictionPolicy<>(
+                    TimeUnit.MINUTES.toMillis(configuration.getCachedTarCorrelatedReferencePeriodInMinutes()),
+                    SegmentedLRUEvictionPolicy.DEFAULT_PROTECTED_SEGMENT_RATIO);
+                break;
+            default:
+                throw new IllegalStateException(
+                    "Unknown cache eviction policy " + configuration.getCachedTarEvictionPolicy());
+        }
+
+        return new BucketQuotaArchiveCacheEvictionPolicy(evictionPolicy, bucketTopologyHelper,
+            configuration.getCachedTarMaxStorageSpaceInMB() * MB_BYTES);
+    }
+
     private void createDirectory(String pathStr) throws IOException {
         Path path = Paths.get(pathStr);
         //if directory exists?
@@ -0,0 +1,90 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.cache;
+
+/**
+ * Access history of an entry of a {@link LRUCache}.
+ * Instances of this class are immutable.
+ *
+ * @param <T> the type of entry keys maintained by the cache.
+ */
+public class CacheEntryAccessHistory<T> {
+
+    private final T key;
+    private final long weight;
+    private final long lastAccessTimestamp;
+    private final int referenceCount;
+
+    /**
+     * @param key entry key
+     * @param weight the weight of the cache entry
+     * @param lastAccessTimestamp last access timestamp (in milliseconds) of the entry
+     * @param referenceCount number of (non-correlated) references to the entry
+     */
+    public CacheEntryAccessHistory(T key, long weight, long lastAccessTimestamp, int referenceCount) {
+        this.key = key;
+        this.weight = weight;
+        this.lastAccessTimestamp = lastAccessTimestamp;
+        this.referenceCount = referenceCount;
+    }
+
+    /**
+     * Records a new access to the entry.
+     *
+     * @param accessTimestamp access timestamp (in milliseconds)
+     * @param correlatedReferencePeriodInMillis accesses within this period after last access are not counted as new
+     * references
+     * @return updated access history
+     */
+    CacheEntryAccessHistory<T> recordAccess(long accessTimestamp, long correlatedReferencePeriodInMillis) {
+        boolean isNewReference = accessTimestamp - this.lastAccessTimestamp > correlatedReferencePeriodInMillis;
+        int updatedReferenceCount =
+            (isNewReference && this.referenceCount < Integer.MAX_VALUE) ? this.referenceCount + 1 :
+                this.referenceCount;
+        return new CacheEntryAccessHistory<>(this.key, this.weight, accessTimestamp, updatedReferenceCount);
+    }
+
+    public T getKey() {
+        return key;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public long getLastAccessTimestamp() {
+        return lastAccessTimestamp;
+    }
+
+    /**
+     * @return number of references to the entry since it has been added to the cache. Correlated accesses (see
+     * {@link CacheEvictionPolicy#getCorrelatedReferencePeriodInMillis()}) count as a single reference.
+     */
+    public int getReferenceCount() {
+        return referenceCount;
+    }
+}
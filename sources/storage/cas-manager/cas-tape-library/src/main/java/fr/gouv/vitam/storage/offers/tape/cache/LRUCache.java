@@ -34,26 +34,28 @@ import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- * Cache implementation with Least Recently Used (LRU) eviction policy, weighed entry capacity management, and eviction filtering for in-use/non-deletable entries.
+ * Cache implementation with pluggable eviction policy (Least Recently Used (LRU) by default), weighed entry capacity management, and eviction filtering for in-use/non-deletable entries.
  * Before adding an entry, a reservation is done to ensure enough capacity is available. Once reservation done, entry can be added (by confirming reservation) ou canceled (by canceling reservation).
  * Eviction handling is done asynchronously when reserving new entries in the cache reaches eviction capacity threshold. Reserved entries are not evicted since they are not yet added.
  * If cache capacity exceeds its max capacity threshold, the entry reservation will fail with an exception.
  * The eviction process ends when target eviction capacity threshold is reached, or no more entries to evict.
- * During eviction process, entry eviction can be controlled using a {@link LRUCacheEvictionJudge <T>}, which allows filtering of entries that cannot be evicted (currently locked).
+ * During eviction process, entries are evicted in the order defined by a {@link CacheEvictionPolicy <T>}, and entry eviction can be controlled using a {@link LRUCacheEvictionJudge <T>}, which allows filtering of entries that cannot be evicted (currently locked).
  * After an entry is evicted, a listener is invoked for eviction notification.
  * When created, a cache must be initialized with a list of initial list of entries. Background eviction process may be triggered at the end of initialization is required.
- * This class is Thread-Safe (all public methods are synchronized).
+ * This class is Thread-Safe. Entry lookups & access timestamp updates of cached entries are lock-free, other state changes are synchronized.
  *
  * @param <T> the type of entry keys maintained by this cache.
  */
@@ -70,14 +72,14 @@ public class LRUCache<T> {
     private final Consumer<T> evictionListener;
     private final Executor evictionExecutor;
     private final AlertService alertService;
+    private final CacheEvictionPolicy<T> evictionPolicy;
 
-    private final LRUQueue<T> lruQueue;
-    private final Map<T, LRUCacheEntry<T>> pendingEntryQueue;
-    private final Map<T, LRUCacheEntry<T>> reservedEntryMap;
-    private final Map<T, Long> cacheEntryWeightMap;
+    private final ConcurrentMap<T, CacheEntryAccessHistory<T>> cachedEntryMap;
+    private final Set<T> pendingEntries;
+    private final ConcurrentMap<T, LRUCacheEntry<T>> reservedEntryMap;
     private final AtomicBoolean isAsyncEvictionRunning = new AtomicBoolean();
 
-    private long currentCapacity = 0L;
+    private volatile long currentCapacity = 0L;
 
     /**
      * @param maxCapacity Max cache storage capacity. Once reached, adding new entries fails.
@@ -94,6 +96,27 @@ public class LRUCache<T> {
         Supplier<LRUCacheEvictionJudge<T>> evictionJudgeFactory, Consumer<T> evictionListener,
         Stream<LRUCacheEntry<T>> initialEntries, Executor evictionExecutor, AlertService alertService)
         throws IllegalArgumentException {
+        this(maxCapacity, evictionCapacity, safeCapacity, evictionJudgeFactory, evictionListener, initialEntries,
+            evictionExecutor, alertService, new LRUEvictionPolicy<>());
+    }
+
+    /**
+     * @param maxCapacity Max cache storage capacity. Once reached, adding new entries fails.
+     * @param evictionCapacity Once reached, background eviction process is started to purge cache of old unused entries.
+     * @param safeCapacity Safe capacity level. Cache eviction process stops when cache capacity is bellow safe cache threshold.
+     * @param evictionJudgeFactory factory that instantiates an eviction judge ({@link LRUCacheEvictionJudge}) used by background eviction process for entry eviction filtering. A new eviction judge is created before each eviction.
+     * @param evictionListener listener invoked (synchronously) when an expired entry as been evicted from cache.
+     * @param initialEntries stream of cache entries to add to cache. Entries mush have distinct keys.
+     * @param evictionExecutor Executor for running eviction process asynchronously.
+     * @param alertService alert service that is used for reporting cache capacity alerts.
+     * @param evictionPolicy eviction policy that defines in which order entries are evicted.
+     * @throws IllegalArgumentException when provided parameters have illegal values.
+     */
+    public LRUCache(long maxCapacity, long evictionCapacity, long safeCapacity,
+        Supplier<LRUCacheEvictionJudge<T>> evictionJudgeFactory, Consumer<T> evictionListener,
+        Stream<LRUCacheEntry<T>> initialEntries, Executor evictionExecutor, AlertService alertService,
+        CacheEvictionPolicy<T> evictionPolicy)
+        throws IllegalArgumentException {
 
         ParametersChecker.checkValue("maxCapacity mush be greater than evictionCapacity",
             maxCapacity, evictionCapacity + 1);
@@ -105,6 +128,7 @@ public class LRUCache<T> {
         ParametersChecker.checkParameter("Missing initial entries", initialEntries);
         ParametersChecker.checkParameter("Missing evictionExecutor", evictionExecutor);
         ParametersChecker.checkParameter("Missing alert service", alertService);
+        ParametersChecker.checkParameter("Missing eviction policy", evictionPolicy);
 
         this.maxCapacity = maxCapacity;
         this.evictionCapacity = evictionCapacity;
@@ -113,11 +137,11 @@ public class LRUCache<T> {
         this.evictionListener = evictionListener;
         this.evictionExecutor = evictionExecutor;
         this.alertService = alertService;
+        this.evictionPolicy = evictionPolicy;
 
-        this.lruQueue = new LRUQueue<>();
-        this.pendingEntryQueue = new LinkedHashMap<>();
-        this.reservedEntryMap = new HashMap<>();
-        this.cacheEntryWeightMap = new HashMap<>();
+        this.cachedEntryMap = new ConcurrentHashMap<>();
+        this.pendingEntries = new HashSet<>();
+        this.reservedEntryMap = new ConcurrentHashMap<>();
 
         initializeCache(initialEntries);
     }
@@ -132,12 +156,10 @@ public class LRUCache<T> {
             ParametersChecker.checkParameter("Null last access instant", entry.getLastAccessInstant());
             ParametersChecker.checkParameter("Entry weight must be positive", entry.getWeight());
 
-            if (this.lruQueue.contains(entry.getKey())) {
+            if (this.cachedEntryMap.putIfAbsent(entry.getKey(), createAccessHistory(entry)) != null) {
                 throw new IllegalArgumentException("Duplicate key " + entry.getKey());
             }
 
-            this.lruQueue.add(entry.getKey(), entry.getLastAccessInstant().toEpochMilli());
-            this.cacheEntryWeightMap.put(entry.getKey(), entry.getWeight());
             this.currentCapacity += entry.getWeight();
 
             LOGGER.debug("Added an entry '{}' with weight {} and last access time: {} during initialization",
@@ -168,8 +190,7 @@ public class LRUCache<T> {
         ParametersChecker.checkParameter("Entry weight must be positive", entry.getWeight());
 
         // Check duplicates
-        if (this.lruQueue.contains(entry.getKey()) ||
-            this.pendingEntryQueue.containsKey(entry.getKey()) ||
+        if (this.cachedEntryMap.containsKey(entry.getKey()) ||
             this.reservedEntryMap.containsKey(entry.getKey())) {
             throw new IllegalArgumentException("Entry '" + entry.getKey() + "' already exists in the cache.");
         }
@@ -200,20 +221,21 @@ public class LRUCache<T> {
      * @throws IllegalArgumentException when provided parameters have illegal values, or entry is not reserved in cache.
      */
     public synchronized void confirmReservation(T entryKey) throws IllegalArgumentException {
-        LRUCacheEntry<T> entry = reservedEntryMap.remove(entryKey);
+        LRUCacheEntry<T> entry = reservedEntryMap.get(entryKey);
         if (entry == null) {
             throw new IllegalArgumentException(
                 "Mo active reservation for entry " + entryKey + ". Reservation already confirmed or canceled?");
         }
 
         if (isAsyncEvictionRunning.get()) {
-            // Async eviction still running ==> Do not add entry to queue otherwise, created LRUCacheEvictionJudge in eviction process does not handle new entries.
-            // We'll add entry to a pending entry queue
-            pendingEntryQueue.put(entryKey, entry);
-        } else {
-            lruQueue.add(entryKey, entry.getLastAccessInstant().toEpochMilli());
+            // Async eviction still running ==> Entry must not be evicted, otherwise, created LRUCacheEvictionJudge in eviction process does not handle new entries.
+            // We'll mark entry as pending till the end of the eviction process
+            pendingEntries.add(entryKey);
         }
-        cacheEntryWeightMap.put(entryKey, entry.getWeight());
+
+        // Add entry to cache before removing reservation, so that lock-free readers always find the entry
+        cachedEntryMap.put(entryKey, createAccessHistory(entry));
+        reservedEntryMap.remove(entryKey);
     }
 
     /**
@@ -239,12 +261,33 @@ public class LRUCache<T> {
      * @return {@code true} if the entry timestamp has been updated, {@code false} if entry does not exist in cache.
      * @throws IllegalArgumentException when provided parameters have illegal values.
      */
-    public synchronized boolean updateEntryAccessTimestamp(T entryKey, Instant updatedLastAccessInstant)
+    public boolean updateEntryAccessTimestamp(T entryKey, Instant updatedLastAccessInstant)
         throws IllegalArgumentException {
 
         ParametersChecker.checkParameter("Missing entry key", entryKey);
         ParametersChecker.checkParameter("Null last access instant", updatedLastAccessInstant);
 
+        // Cached entries (lock-free)
+        if (updateCachedEntryAccessTimestamp(entryKey, updatedLastAccessInstant)) {
+            return true;
+        }
+
+        return updateReservedEntryAccessTimestamp(entryKey, updatedLastAccessInstant);
+    }
+
+    private boolean updateCachedEntryAccessTimestamp(T entryKey, Instant updatedLastAccessInstant) {
+        CacheEntryAccessHistory<T> updatedEntry = this.cachedEntryMap.computeIfPresent(entryKey,
+            (key, accessHistory) -> accessHistory.recordAccess(updatedLastAccessInstant.toEpochMilli(),
+                this.evictionPolicy.getCorrelatedReferencePeriodInMillis()));
+        if (updatedEntry == null) {
+            return false;
+        }
+        LOGGER.debug("Updated entry '{}' timestamp to {}", entryKey, updatedLastAccessInstant);
+        return true;
+    }
+
+    private synchronized boolean updateReservedEntryAccessTimestamp(T entryKey, Instant updatedLastAccessInstant) {
+
         // Reserved entry
         LRUCacheEntry<T> existingReservedEntry = this.reservedEntryMap.get(entryKey);
         if (existingReservedEntry != null) {
@@ -254,19 +297,8 @@ public class LRUCache<T> {
             return true;
         }
 
-        // Confirmed entry pending to be added to queue
-        LRUCacheEntry<T> existingPendingEntry = this.pendingEntryQueue.get(entryKey);
-        if (existingPendingEntry != null) {
-            // LinkedHashMap.put() preserves initial ordering when updating an entry.
-            this.pendingEntryQueue.put(entryKey, new LRUCacheEntry<>(
-                entryKey, existingPendingEntry.getWeight(), updatedLastAccessInstant));
-            LOGGER.debug("Updated pending cache entry '{}' access time to {}", entryKey, updatedLastAccessInstant);
-            return true;
-        }
-
-        // Entries in LRUQueue
-        if (this.lruQueue.update(entryKey, updatedLastAccessInstant.toEpochMilli())) {
-            LOGGER.debug("Updated entry '{}' timestamp in queue", entryKey, updatedLastAccessInstant);
+        // Reservation confirmed concurrently
+        if (updateCachedEntryAccessTimestamp(entryKey, updatedLastAccessInstant)) {
             return true;
         }
 
@@ -283,11 +315,11 @@ public class LRUCache<T> {
      * @return {@code true} if the entry exists in the cache, {@code false} otherwise.
      * @throws IllegalArgumentException when provided parameters have illegal values.
      */
-    public synchronized boolean containsEntry(T entryKey) throws IllegalArgumentException {
+    public boolean containsEntry(T entryKey) throws IllegalArgumentException {
 
         ParametersChecker.checkParameter("Missing entry key", entryKey);
 
-        return this.lruQueue.contains(entryKey) || this.pendingEntryQueue.containsKey(entryKey);
+        return this.cachedEntryMap.containsKey(entryKey);
     }
 
     /**
@@ -297,7 +329,7 @@ public class LRUCache<T> {
      * @return {@code true} if the entry is reserved, otherwise {@code false}.
      * @throws IllegalArgumentException when provided parameters have illegal values.
      */
-    public synchronized boolean isReservedEntry(T entryKey) throws IllegalArgumentException {
+    public boolean isReservedEntry(T entryKey) throws IllegalArgumentException {
 
         ParametersChecker.checkParameter("Missing entry key", entryKey);
 
@@ -311,7 +343,7 @@ public class LRUCache<T> {
      * @return {@code true} if the entry is reserved, otherwise {@code false}.
      * @throws IllegalArgumentException when provided parameters have illegal values.
      */
-    public synchronized LRUCacheEntry<T> getReservedEntry(T entryKey) throws IllegalArgumentException {
+    public LRUCacheEntry<T> getReservedEntry(T entryKey) throws IllegalArgumentException {
 
         ParametersChecker.checkParameter("Missing entry key", entryKey);
 
@@ -342,7 +374,7 @@ public class LRUCache<T> {
     /**
      * @return Current cache capacity.
      */
-    public synchronized long getCurrentCapacity() {
+    public long getCurrentCapacity() {
         return currentCapacity;
     }
 
@@ -395,10 +427,17 @@ public class LRUCache<T> {
                 "Eviction capacity: {}. Safe capacity: {}. Current capacity: {}",
             this.maxCapacity, this.evictionCapacity, this.safeCapacity, this.currentCapacity);
 
-        // Evict oldest non-deletable entries until evictionTargetCapacity is reached
-        Iterator<T> lruEntryIterator = this.lruQueue.iterator();
-        while (lruEntryIterator.hasNext() && this.currentCapacity >= this.safeCapacity) {
-            T entryKeyToEvict = lruEntryIterator.next();
+        // Sort candidate entries (entries added during eviction process are not candidates) by eviction priority
+        List<CacheEntryAccessHistory<T>> candidateEntries = this.cachedEntryMap.values().stream()
+            .filter(entry -> !this.pendingEntries.contains(entry.getKey()))
+            .collect(Collectors.toList());
+        List<T> sortedEntryKeys = this.evictionPolicy.sortByEvictionPriority(candidateEntries);
+
+        // Evict non-deletable entries by eviction priority until evictionTargetCapacity is reached
+        for (T entryKeyToEvict : sortedEntryKeys) {
+            if (this.currentCapacity < this.safeCapacity) {
+                break;
+            }
 
             if (!lruCacheEvictionJudge.canEvictEntry(entryKeyToEvict)) {
                 LOGGER.info("Entry {} has not been accessed recently, but is non deletable from cache",
@@ -407,10 +446,12 @@ public class LRUCache<T> {
             }
 
             // Evict entry
+            CacheEntryAccessHistory<T> evictedEntry = this.cachedEntryMap.remove(entryKeyToEvict);
+            if (evictedEntry == null) {
+                continue;
+            }
             LOGGER.info("Evicting entry: " + entryKeyToEvict);
-            this.currentCapacity -= this.cacheEntryWeightMap.get(entryKeyToEvict);
-            lruEntryIterator.remove();
-            this.cacheEntryWeightMap.remove(entryKeyToEvict);
+            this.currentCapacity -= evictedEntry.getWeight();
 
             // Report eviction
             this.evictionListener.accept(entryKeyToEvict);
@@ -433,11 +474,8 @@ public class LRUCache<T> {
 
     private synchronized void finalizeEvictionProcess() {
 
-        // Move pending entries to cache
-        for (LRUCacheEntry<T> lruCacheEntry : this.pendingEntryQueue.values()) {
-            this.lruQueue.add(lruCacheEntry.getKey(), lruCacheEntry.getLastAccessInstant().toEpochMilli());
-        }
-        this.pendingEntryQueue.clear();
+        // Pending entries are now candidates for next eviction processes
+        this.pendingEntries.clear();
 
         // Report end of eviction process
         isAsyncEvictionRunning.set(false);
@@ -446,4 +484,9 @@ public class LRUCache<T> {
     public boolean isCacheEvictionRunning() {
         return isAsyncEvictionRunning.get();
     }
+
+    private CacheEntryAccessHistory<T> createAccessHistory(LRUCacheEntry<T> entry) {
+        return new CacheEntryAccessHistory<>(entry.getKey(), entry.getWeight(),
+            entry.getLastAccessInstant().toEpochMilli(), 1);
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.cache;
+
+import fr.gouv.vitam.common.ParametersChecker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Scan resistant Segmented LRU (SLRU) eviction policy.
+ *
+ * Cache entries are split into 2 segments :
+ * - A probationary segment with entries that have been referenced only once since they have been added to the cache.
+ * - A protected segment with entries that have been referenced at least twice.
+ *
+ * Successive accesses within the correlated reference period count as a single reference. This way, an entry read
+ * heavily during a short period of time (a single scan) remains in the probationary segment.
+ *
+ * Protected segment size is bounded to a ratio of the total weight of the cache entries. Least recently used protected
+ * entries exceeding this ratio are demoted to the probationary segment.
+ *
+ * Probationary entries are evicted first (least recently used first), then protected entries (least recently used
+ * first).
+ *
+ * @param <T> the type of entry keys maintained by the cache.
+ */
+public class SegmentedLRUEvictionPolicy<T> implements CacheEvictionPolicy<T> {
+
+    public static final double DEFAULT_PROTECTED_SEGMENT_RATIO = 0.8;
+
+    private final long correlatedReferencePeriodInMillis;
+    private final double protectedSegmentRatio;
+
+    /**
+     * @param correlatedReferencePeriodInMillis successive accesses to an entry within this period count as a single
+     * reference.
+     * @param protectedSegmentRatio max ratio of the total entry weight of the protected segment
+     */
+    public SegmentedLRUEvictionPolicy(long correlatedReferencePeriodInMillis, double protectedSegmentRatio) {
+        ParametersChecker.checkValue("correlatedReferencePeriodInMillis must be positive",
+            correlatedReferencePeriodInMillis, 0);
+        if (protectedSegmentRatio < 0d || protectedSegmentRatio > 1d) {
+            throw new IllegalArgumentException("protectedSegmentRatio must be in [0, 1] range");
+        }
+        this.correlatedReferencePeriodInMillis = correlatedReferencePeriodInMillis;
+        this.protectedSegmentRatio = protectedSegmentRatio;
+    }
+
+    @Override
+    public long getCorrelatedReferencePeriodInMillis() {
+        return correlatedReferencePeriodInMillis;
+    }
+
+    @Override
+    public List<T> sortByEvictionPriority(Collection<CacheEntryAccessHistory<T>> entries) {
+
+        List<CacheEntryAccessHistory<T>> probationaryEntries = new ArrayList<>();
+        List<CacheEntryAccessHistory<T>> protectedEntries = new ArrayList<>();
+        long totalWeight = 0L;
+        for (CacheEntryAccessHistory<T> entry : entries) {
+            totalWeight += entry.getWeight();
+            if (entry.getReferenceCount() > 1) {
+                protectedEntries.add(entry);
+            } else {
+                probationaryEntries.add(entry);
+            }
+        }
+
+        // Keep most recently used protected entries, within protected segment max weight. Demote others.
+        Comparator<CacheEntryAccessHistory<T>> lruComparator =
+            Comparator.comparingLong(CacheEntryAccessHistory::getLastAccessTimestamp);
+        protectedEntries.sort(lruComparator.reversed());
+
+        long maxProtectedWeight = (long) (totalWeight * protectedSegmentRatio);
+        long protectedWeight = 0L;
+        int protectedCount = 0;
+        while (protectedCount < protectedEntries.size() &&
+            protectedWeight + protectedEntries.get(protectedCount).getWeight() <= maxProtectedWeight) {
+            protectedWeight += protectedEntries.get(protectedCount).getWeight();
+            protectedCount++;
+        }
+        probationaryEntries.addAll(protectedEntries.subList(protectedCount, protectedEntries.size()));
+        List<CacheEntryAccessHistory<T>> retainedProtectedEntries =
+            new ArrayList<>(protectedEntries.subList(0, protectedCount));
+
+        probationaryEntries.sort(lruComparator);
+        retainedProtectedEntries.sort(lruComparator);
+
+        List<T> result = new ArrayList<>(entries.size());
+        probationaryEntries.forEach(entry -> result.add(entry.getKey()));
+        retainedProtectedEntries.forEach(entry -> result.add(entry.getKey()));
+        return result;
+    }
+}
@@ -26,6 +26,8 @@
  */
 package fr.gouv.vitam.storage.offers.tape.cas;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.util.concurrent.Uninterruptibles;
 import fr.gouv.vitam.common.LocalDateUtil;
 import fr.gouv.vitam.common.ParametersChecker;
@@ -40,6 +42,7 @@ import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.thread.VitamThreadFactory;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageEntity;
 import fr.gouv.vitam.storage.engine.common.model.QueueMessageType;
 import fr.gouv.vitam.storage.engine.common.model.ReadOrder;
 import fr.gouv.vitam.storage.engine.common.model.TapeAccessRequestReferentialEntity;
@@ -52,6 +55,7 @@ import fr.gouv.vitam.storage.offers.tape.exception.AccessRequestReferentialExcep
 import fr.gouv.vitam.storage.offers.tape.exception.ArchiveReferentialException;
 import fr.gouv.vitam.storage.offers.tape.exception.ObjectReferentialException;
 import fr.gouv.vitam.storage.offers.tape.exception.QueueException;
+import fr.gouv.vitam.storage.offers.tape.metrics.AccessRequestMetrics;
 import fr.gouv.vitam.storage.offers.tape.spec.QueueRepository;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageBadRequestException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
@@ -67,6 +71,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -78,11 +83,17 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.lt;
+
 public class AccessRequestManager {
 
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(AccessRequestManager.class);
     private static final int MAX_ACCESS_REQUEST_SIZE = 100_000;
     private static final int MAX_RETRIES = 3;
+    private static final int MAX_TRACKED_READ_AHEAD_ARCHIVES = 100_000;
+    private static final int MAX_STALE_READ_AHEAD_ORDERS_PER_CLEANUP = 10_000;
 
     private final ObjectReferentialRepository objectReferentialRepository;
     private final ArchiveReferentialRepository archiveReferentialRepository;
@@ -98,6 +109,10 @@ public class AccessRequestManager {
     private final int accessRequestCleanupTaskIntervalDelay;
     private final TimeUnit accessRequestCleanupTaskIntervalUnit;
     private final ScheduledExecutorService cleanupScheduler;
+    private final boolean readAheadEnabled;
+    private final int readAheadMaxFilePositionDistance;
+    private final long readAheadMaxSizeInBytes;
+    private final Cache<String, Boolean> readAheadArchiveIds;
 
     public AccessRequestManager(
         ObjectReferentialRepository objectReferentialRepository,
@@ -109,6 +124,29 @@ public class AccessRequestManager {
         int accessRequestExpirationDelay, TimeUnit accessRequestExpirationUnit,
         int accessRequestPurgeDelay, TimeUnit accessRequestPurgeUnit,
         int accessRequestCleanupTaskIntervalDelay, TimeUnit accessRequestCleanupTaskIntervalUnit) {
+        this(objectReferentialRepository, archiveReferentialRepository, accessRequestReferentialRepository,
+            archiveCacheStorage, bucketTopologyHelper, readWriteQueue, maxAccessRequestSize,
+            accessRequestExpirationDelay, accessRequestExpirationUnit, accessRequestPurgeDelay, accessRequestPurgeUnit,
+            accessRequestCleanupTaskIntervalDelay, accessRequestCleanupTaskIntervalUnit, false, 0, 0L);
+    }
+
+    /**
+     * @param readAheadEnabled whether neighbouring archives of required archives should be staged in cache
+     * @param readAheadMaxFilePositionDistance max distance (in tape file positions) between a required archive and its
+     * read-ahead neighbour archives
+     * @param readAheadMaxSizeInBytes max total size of read-ahead archives per access request
+     */
+    public AccessRequestManager(
+        ObjectReferentialRepository objectReferentialRepository,
+        ArchiveReferentialRepository archiveReferentialRepository,
+        AccessRequestReferentialRepository accessRequestReferentialRepository,
+        ArchiveCacheStorage archiveCacheStorage,
+        BucketTopologyHelper bucketTopologyHelper,
+        QueueRepository readWriteQueue, int maxAccessRequestSize,
+        int accessRequestExpirationDelay, TimeUnit accessRequestExpirationUnit,
+        int accessRequestPurgeDelay, TimeUnit accessRequestPurgeUnit,
+        int accessRequestCleanupTaskIntervalDelay, TimeUnit accessRequestCleanupTaskIntervalUnit,
+        boolean readAheadEnabled, int readAheadMaxFilePositionDistance, long readAheadMaxSizeInBytes) {
 
         ParametersChecker.checkParameter("Required parameters", objectReferentialRepository,
             archiveReferentialRepository, accessRequestReferentialRepository, archiveCacheStorage,
@@ -127,6 +165,11 @@ public class AccessRequestManager {
             accessRequestCleanupTaskIntervalDelay, 1);
         ParametersChecker.checkParameter("Invalid accessRequestCleanupTaskIntervalUnit",
             accessRequestCleanupTaskIntervalUnit);
+        if (readAheadEnabled) {
+            ParametersChecker.checkValue("Invalid readAheadMaxFilePositionDistance",
+                readAheadMaxFilePositionDistance, 1);
+            ParametersChecker.checkValue("Invalid readAheadMaxSizeInBytes", readAheadMaxSizeInBytes, 1);
+        }
 
         this.objectReferentialRepository = objectReferentialRepository;
         this.archiveReferentialRepository = archiveReferentialRepository;
@@ -142,6 +185,12 @@ public class AccessRequestManager {
         this.accessRequestCleanupTaskIntervalDelay = accessRequestCleanupTaskIntervalDelay;
         this.accessRequestCleanupTaskIntervalUnit = accessRequestCleanupTaskIntervalUnit;
         this.cleanupScheduler = Executors.newScheduledThreadPool(1, VitamThreadFactory.getInstance());
+        this.readAheadEnabled = readAheadEnabled;
+        this.readAheadMaxFilePositionDistance = readAheadMaxFilePositionDistance;
+        this.readAheadMaxSizeInBytes = readAheadMaxSizeInBytes;
+        this.readAheadArchiveIds = CacheBuilder.newBuilder()
+            .maximumSize(MAX_TRACKED_READ_AHEAD_ARCHIVES)
+            .build();
     }
 
     public void startExpirationHandler() {
@@ -164,8 +213,14 @@ public class AccessRequestManager {
         try {
 
             // Select objects stored in TARs, whose TARs are "on_tape", and not present in cache
+            List<TapeArchiveReferentialEntity> onTapeArchives = getArchivesStoredOnTapeForObjects(containerName,
+                objectNames);
             List<TapeArchiveReferentialEntity> unavailableArchivesOnDisk
-                = getUnavailableArchivesOnDiskForObjects(containerName, objectNames);
+                = filterArchivesPresentInCache(containerName, onTapeArchives);
+
+            if (readAheadEnabled) {
+                reportMountsAvoidedByReadAhead(containerName, onTapeArchives, unavailableArchivesOnDisk);
+            }
 
             // Commit Access Request
             String accessRequestId = generateAccessRequestId();
@@ -188,6 +243,12 @@ public class AccessRequestManager {
             List<ReadOrder> readOrders = createReadOrders(containerName, unavailableArchivesOnDisk);
             addReadOrdersToQueue(readOrders);
 
+            // Create & schedule read-ahead orders for neighbour archives of tapes to mount
+            if (readAheadEnabled && !unavailableArchivesOnDisk.isEmpty()) {
+                List<ReadOrder> readAheadOrders = createReadAheadOrders(containerName, unavailableArchivesOnDisk);
+                addReadAheadOrdersToQueue(readAheadOrders);
+            }
+
             return accessRequestId;
 
 
@@ -358,6 +419,13 @@ public class AccessRequestManager {
     private List<TapeArchiveReferentialEntity> getUnavailableArchivesOnDiskForObjects(String containerName,
         List<String> objectsIds) throws ObjectReferentialException, ArchiveReferentialException {
 
+        // Only retain archives that not present in disk cache
+        return filterArchivesPresentInCache(containerName, getArchivesStoredOnTapeForObjects(containerName, objectsIds));
+    }
+
+    private List<TapeArchiveReferentialEntity> getArchivesStoredOnTapeForObjects(String containerName,
+        List<String> objectsIds) throws ObjectReferentialException, ArchiveReferentialException {
+
         // Object access by object storage location :
         // - not found                 ==> Object can be accessed immediately (NOT_FOUND)
         // - input_files               ==> Object can be accessed immediately from disk (inputFiles/container/*)
@@ -372,10 +440,7 @@ public class AccessRequestManager {
         Set<String> tarIds = getTarIds(containerName, objectsIds);
 
         // Select archives stored on tape
-        List<TapeArchiveReferentialEntity> onTapeArchives = selectArchivesStoredOnTape(tarIds);
-
-        // Only retain archives that not present in disk cache
-        return filterArchivesPresentInCache(containerName, onTapeArchives);
+        return selectArchivesStoredOnTape(tarIds);
     }
 
     private Set<String> getTarIds(String containerName, List<String> objectNames)
@@ -442,16 +507,143 @@ public class AccessRequestManager {
 
     private void addReadOrdersToQueue(List<ReadOrder> readOrders) throws QueueException {
         for (ReadOrder readOrder : readOrders) {
-            // add read orders to worker queue
+            // add read orders to worker queue.
+            // An existing read-ahead order of the archive is not enough, since it is only processed if tape is mounted.
+            // Read orders queued before read-ahead was introduced have no read-ahead flag
             readWriteQueue.addIfAbsent(
                 Arrays.asList(
                     new QueryCriteria(ReadOrder.FILE_NAME, readOrder.getFileName(), QueryCriteriaOperator.EQ),
                     new QueryCriteria(ReadOrder.MESSAGE_TYPE, QueueMessageType.ReadOrder.name(),
-                        QueryCriteriaOperator.EQ)),
+                        QueryCriteriaOperator.EQ),
+                    new QueryCriteria(ReadOrder.READ_AHEAD, true, QueryCriteriaOperator.NE)),
                 readOrder);
         }
     }
 
+    /**
+     * Read-ahead : selects archives of the same file bucket stored next to required archives on tapes to mount, so that
+     * they are staged in cache during the same tape mount. Tar files of a file bucket are built & written to tape in
+     * ingestion order. Neighbour archives are hence likely to hold objects of the same ingest operations, which are
+     * typically retrieved by subsequent access requests.
+     */
+    private List<ReadOrder> createReadAheadOrders(String containerName,
+        List<TapeArchiveReferentialEntity> unavailableArchivesOnDisk) throws ArchiveReferentialException {
+
+        String fileBucketId = bucketTopologyHelper.getFileBucketFromContainerName(containerName);
+        String bucketId = bucketTopologyHelper.getBucketFromFileBucket(fileBucketId);
+
+        Set<String> requiredArchiveIds = unavailableArchivesOnDisk.stream()
+            .map(TapeArchiveReferentialEntity::getArchiveId)
+            .collect(Collectors.toSet());
+        Map<String, List<Integer>> requiredFilePositionsByTapeCode = unavailableArchivesOnDisk.stream()
+            .map(archiveEntity -> (TapeLibraryOnTapeArchiveStorageLocation) archiveEntity.getLocation())
+            .collect(Collectors.groupingBy(TapeLibraryOnTapeArchiveStorageLocation::getTapeCode,
+                Collectors.mapping(TapeLibraryOnTapeArchiveStorageLocation::getFilePosition, Collectors.toList())));
+
+        List<ReadOrder> readAheadOrders = new ArrayList<>();
+        long remainingReadAheadSize = readAheadMaxSizeInBytes;
+
+        for (Map.Entry<String, List<Integer>> entry : requiredFilePositionsByTapeCode.entrySet()) {
+            String tapeCode = entry.getKey();
+            List<Integer> requiredFilePositions = entry.getValue();
+            int minFilePosition = requiredFilePositions.stream().mapToInt(Integer::intValue).min().orElseThrow();
+            int maxFilePosition = requiredFilePositions.stream().mapToInt(Integer::intValue).max().orElseThrow();
+
+            List<TapeArchiveReferentialEntity> neighbourArchives =
+                archiveReferentialRepository.findByTapeCodeAndFilePositionRange(tapeCode, fileBucketId,
+                    Math.max(0, minFilePosition - readAheadMaxFilePositionDistance),
+                    maxFilePosition + readAheadMaxFilePositionDistance);
+
+            // Closest archives first
+            List<TapeArchiveReferentialEntity> candidateArchives = neighbourArchives.stream()
+                .filter(archiveEntity -> archiveEntity.getLocation() instanceof TapeLibraryOnTapeArchiveStorageLocation)
+                .filter(archiveEntity -> archiveEntity.getSize() != null)
+                .filter(archiveEntity -> !requiredArchiveIds.contains(archiveEntity.getArchiveId()))
+                .filter(archiveEntity -> getFilePositionDistance(archiveEntity, requiredFilePositions) <=
+                    readAheadMaxFilePositionDistance)
+                .sorted(Comparator.comparingInt(archiveEntity ->
+                    getFilePositionDistance(archiveEntity, requiredFilePositions)))
+                .collect(Collectors.toList());
+
+            for (TapeArchiveReferentialEntity archiveEntity : candidateArchives) {
+                if (archiveEntity.getSize() > remainingReadAheadSize) {
+                    continue;
+                }
+                if (this.archiveCacheStorage.containsArchive(fileBucketId, archiveEntity.getArchiveId())) {
+                    continue;
+                }
+                TapeLibraryOnTapeArchiveStorageLocation onTapeLocation =
+                    (TapeLibraryOnTapeArchiveStorageLocation) archiveEntity.getLocation();
+                readAheadOrders.add(new ReadOrder(onTapeLocation.getTapeCode(), onTapeLocation.getFilePosition(),
+                    archiveEntity.getArchiveId(), bucketId, fileBucketId, archiveEntity.getSize())
+                    .setReadAhead(true));
+                remainingReadAheadSize -= archiveEntity.getSize();
+            }
+        }
+        return readAheadOrders;
+    }
+
+    private static int getFilePositionDistance(TapeArchiveReferentialEntity archiveEntity,
+        List<Integer> filePositions) {
+        int filePosition = ((TapeLibraryOnTapeArchiveStorageLocation) archiveEntity.getLocation()).getFilePosition();
+        return filePositions.stream()
+            .mapToInt(requiredFilePosition -> Math.abs(requiredFilePosition - filePosition))
+            .min()
+            .orElse(Integer.MAX_VALUE);
+    }
+
+    private void addReadAheadOrdersToQueue(List<ReadOrder> readAheadOrders) throws QueueException {
+        for (ReadOrder readAheadOrder : readAheadOrders) {
+            // Any existing read order of the archive is enough
+            boolean added = readWriteQueue.addIfAbsent(
+                Arrays.asList(
+                    new QueryCriteria(ReadOrder.FILE_NAME, readAheadOrder.getFileName(), QueryCriteriaOperator.EQ),
+                    new QueryCriteria(ReadOrder.MESSAGE_TYPE, QueueMessageType.ReadOrder.name(),
+                        QueryCriteriaOperator.EQ)),
+                readAheadOrder);
+            if (!added) {
+                continue;
+            }
+            readAheadArchiveIds.put(readAheadOrder.getFileName(), Boolean.TRUE);
+            AccessRequestMetrics.READ_AHEAD_ARCHIVES.labels(readAheadOrder.getFileBucketId()).inc();
+        }
+    }
+
+    /**
+     * A tape mount is avoided when all required archives of a tape are already in cache, and at least one of them has
+     * been staged by read-ahead.
+     */
+    private void reportMountsAvoidedByReadAhead(String containerName, List<TapeArchiveReferentialEntity> onTapeArchives,
+        List<TapeArchiveReferentialEntity> unavailableArchivesOnDisk) {
+
+        Set<String> unavailableArchiveIds = unavailableArchivesOnDisk.stream()
+            .map(TapeArchiveReferentialEntity::getArchiveId)
+            .collect(Collectors.toSet());
+        Set<String> tapeCodesToMount = unavailableArchivesOnDisk.stream()
+            .map(archiveEntity -> ((TapeLibraryOnTapeArchiveStorageLocation) archiveEntity.getLocation())
+                .getTapeCode())
+            .collect(Collectors.toSet());
+
+        Set<String> tapeCodesOfReadAheadArchives = new HashSet<>();
+        for (TapeArchiveReferentialEntity archiveEntity : onTapeArchives) {
+            if (unavailableArchiveIds.contains(archiveEntity.getArchiveId()) ||
+                readAheadArchiveIds.getIfPresent(archiveEntity.getArchiveId()) == null) {
+                continue;
+            }
+            // Count a read-ahead archive once
+            readAheadArchiveIds.invalidate(archiveEntity.getArchiveId());
+            tapeCodesOfReadAheadArchives.add(
+                ((TapeLibraryOnTapeArchiveStorageLocation) archiveEntity.getLocation()).getTapeCode());
+        }
+
+        tapeCodesOfReadAheadArchives.removeAll(tapeCodesToMount);
+        if (!tapeCodesOfReadAheadArchives.isEmpty()) {
+            String fileBucketId = bucketTopologyHelper.getFileBucketFromContainerName(containerName);
+            LOGGER.info("Tape mounts avoided thanks to read-ahead for tapes {}", tapeCodesOfReadAheadArchives);
+            AccessRequestMetrics.READ_AHEAD_MOUNTS_AVOIDED.labels(fileBucketId).inc(tapeCodesOfReadAheadArchives.size());
+        }
+    }
+
     public void updateAccessRequestWhenArchiveReady(String readyArchiveId)
         throws AccessRequestReferentialException {
 
@@ -532,6 +724,11 @@ public class AccessRequestManager {
             // Delete expired access requests
             deleteExpiredAccessRequests();
 
+            // Cancel read-ahead orders whose tape has not been mounted meanwhile
+            if (readAheadEnabled) {
+                cancelStaleReadAheadOrders();
+            }
+
         } catch (Exception e) {
             LOGGER.error("An error occurred during access request cleanup", e);
         } finally {
@@ -579,6 +776,23 @@ public class AccessRequestManager {
         }
     }
 
+    private void cancelStaleReadAheadOrders() throws QueueException {
+
+        String staleReadAheadOrderDate = LocalDateUtil.getFormattedDateForMongo(LocalDateUtil.now()
+            .minus(this.accessRequestExpirationDelay, this.accessRequestExpirationUnit.toChronoUnit()));
+
+        List<ReadOrder> staleReadAheadOrders = readWriteQueue.listReady(
+            and(eq(ReadOrder.READ_AHEAD, true), lt(QueueMessageEntity.TAG_CREATION_DATE, staleReadAheadOrderDate)),
+            QueueMessageType.ReadOrder, MAX_STALE_READ_AHEAD_ORDERS_PER_CLEANUP);
+
+        for (ReadOrder staleReadAheadOrder : staleReadAheadOrders) {
+            LOGGER.info("Cancelling stale read-ahead order of archive " + staleReadAheadOrder.getFileName());
+            readWriteQueue.tryCancelIfNotStarted(List.of(
+                new QueryCriteria(QueueMessageEntity.ID, staleReadAheadOrder.getId(), QueryCriteriaOperator.EQ)));
+            readAheadArchiveIds.invalidate(staleReadAheadOrder.getFileName());
+        }
+    }
+
     private void cancelReadOrder(TapeAccessRequestReferentialEntity deletedAccessRequest)
         throws QueueException, ArchiveReferentialException, AccessRequestReferentialException {
 
@@ -36,9 +36,12 @@ import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.security.IllegalPathException;
 import fr.gouv.vitam.common.security.SafeFileChecker;
 import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
+import fr.gouv.vitam.storage.offers.tape.cache.CacheEvictionPolicy;
 import fr.gouv.vitam.storage.offers.tape.cache.LRUCache;
 import fr.gouv.vitam.storage.offers.tape.cache.LRUCacheEntry;
 import fr.gouv.vitam.storage.offers.tape.cache.LRUCacheEvictionJudge;
+import fr.gouv.vitam.storage.offers.tape.cache.LRUEvictionPolicy;
+import fr.gouv.vitam.storage.offers.tape.metrics.ArchiveCacheMetrics;
 
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.FileInputStream;
@@ -58,7 +61,7 @@ import java.util.stream.Stream;
 
 
 /**
- * Cache for archive storage on disk with Least Recently Used (LRU) eviction policy.
+ * Cache for archive storage on disk with a configurable eviction policy (Least Recently Used (LRU) by default).
  *
  * Archives are stored as files on a cache directory in the following topology {cacheDirectory}/{fileBucketId}/{tarId}.
  * Cache is configured with storage capacity thresholds :
@@ -101,9 +104,29 @@ public class ArchiveCacheStorage {
         ArchiveCacheEvictionController archiveCacheEvictionController, long maxStorageSpace,
         long evictionStorageSpaceThreshold, long safeStorageSpaceThreshold)
         throws IllegalPathException, IOException {
+        this(cacheDirectory, bucketTopologyHelper, archiveCacheEvictionController, maxStorageSpace,
+            evictionStorageSpaceThreshold, safeStorageSpaceThreshold, new LRUEvictionPolicy<>());
+    }
+
+    /**
+     * @param cacheDirectory the cache storage directory
+     * @param bucketTopologyHelper bucket topology helper
+     * @param archiveCacheEvictionController controller of archive cache eviction.
+     * @param maxStorageSpace max capacity (in bytes) that cannot be exceeded by archive cache.
+     * @param evictionStorageSpaceThreshold : storage space capacity (in bytes) that triggers background delete of old unused archive files
+     * @param safeStorageSpaceThreshold safe storage space capacity level (in bytes). When enough storage space is available, background cache delete process ends.
+     * @param evictionPolicy eviction policy that defines in which order archive files are deleted.
+     * @throws IllegalPathException if provided cache directory contains unsafe or illegal archive names.
+     * @throws IOException if an I/O error is thrown when accessing disk.
+     */
+    public ArchiveCacheStorage(String cacheDirectory, BucketTopologyHelper bucketTopologyHelper,
+        ArchiveCacheEvictionController archiveCacheEvictionController, long maxStorageSpace,
+        long evictionStorageSpaceThreshold, long safeStorageSpaceThreshold,
+        CacheEvictionPolicy<ArchiveCacheEntry> evictionPolicy)
+        throws IllegalPathException, IOException {
         this(cacheDirectory, bucketTopologyHelper, archiveCacheEvictionController, maxStorageSpace,
             evictionStorageSpaceThreshold, safeStorageSpaceThreshold, VitamThreadPoolExecutor.getDefaultExecutor(),
-            new AlertServiceImpl()
+            new AlertServiceImpl(), evictionPolicy
         );
     }
 
@@ -113,6 +136,17 @@ public class ArchiveCacheStorage {
         long evictionStorageSpaceThreshold, long safeStorageSpaceThreshold,
         Executor executor, AlertService alertService)
         throws IllegalPathException, IOException {
+        this(cacheDirectory, bucketTopologyHelper, archiveCacheEvictionController, maxStorageSpace,
+            evictionStorageSpaceThreshold, safeStorageSpaceThreshold, executor, alertService,
+            new LRUEvictionPolicy<>());
+    }
+
+    @VisibleForTesting
+    ArchiveCacheStorage(String cacheDirectory, BucketTopologyHelper bucketTopologyHelper,
+        ArchiveCacheEvictionController archiveCacheEvictionController, long maxStorageSpace,
+        long evictionStorageSpaceThreshold, long safeStorageSpaceThreshold,
+        Executor executor, AlertService alertService, CacheEvictionPolicy<ArchiveCacheEntry> evictionPolicy)
+        throws IllegalPathException, IOException {
         this.archiveCacheEvictionController = archiveCacheEvictionController;
 
         // Sanity check
@@ -121,7 +155,7 @@ public class ArchiveCacheStorage {
 
         // Create / initialize LRU cache using current directory file listing
         this.lruCache = createLRUCache(maxStorageSpace, evictionStorageSpaceThreshold, safeStorageSpaceThreshold,
-            this::fileEvictionJudgeFactory, executor, alertService);
+            this::fileEvictionJudgeFactory, executor, alertService, evictionPolicy);
     }
 
     private LRUCacheEvictionJudge<ArchiveCacheEntry> fileEvictionJudgeFactory() {
@@ -139,7 +173,8 @@ public class ArchiveCacheStorage {
 
     private LRUCache<ArchiveCacheEntry> createLRUCache(long maxCapacity, long evictionCapacity, long safeCapacity,
         Supplier<LRUCacheEvictionJudge<ArchiveCacheEntry>> archiveEvictionJudgeFactory, Executor evictionExecutor,
-        AlertService alertService) throws IllegalPathException, IOException {
+        AlertService alertService, CacheEvictionPolicy<ArchiveCacheEntry> evictionPolicy)
+        throws IllegalPathException, IOException {
 
         // Directory structure is {cacheDirectory}/{fileBucketId}/{tarId}
         // Initialize cache with maxDepth = 2 for sub-directory/file listing
@@ -152,7 +187,7 @@ public class ArchiveCacheStorage {
                 .map(this::createFileCacheEntry);
 
             return new LRUCache<>(maxCapacity, evictionCapacity, safeCapacity, archiveEvictionJudgeFactory,
-                this::evictFileListener, initialFileCacheEntries, evictionExecutor, alertService);
+                this::evictFileListener, initialFileCacheEntries, evictionExecutor, alertService, evictionPolicy);
         } catch (RuntimeException e) {
             // Unwrap runtime exceptions
             Throwable cause = e.getCause();
@@ -257,6 +292,7 @@ public class ArchiveCacheStorage {
 
         // Check file existence
         if (!containsArchive(fileBucketId, tarId)) {
+            ArchiveCacheMetrics.CACHE_MISSES.labels(fileBucketId).inc();
             return Optional.empty();
         }
 
@@ -268,9 +304,11 @@ public class ArchiveCacheStorage {
             LOGGER.debug("Access to file " + archiveCacheEntry);
             this.lruCache.updateEntryAccessTimestamp(archiveCacheEntry, getCurrentInstant());
 
+            ArchiveCacheMetrics.CACHE_HITS.labels(fileBucketId).inc();
             return inputStream;
         } catch (FileNotFoundException e) {
             LOGGER.warn("Could not open file for read. Concurrent purge?", e);
+            ArchiveCacheMetrics.CACHE_MISSES.labels(fileBucketId).inc();
             return Optional.empty();
         }
     }
@@ -395,6 +433,7 @@ public class ArchiveCacheStorage {
                 archiveCacheEntry.getTarId());
             Path filePath =
                 this.cacheDirectory.resolve(archiveCacheEntry.getFileBucketId()).resolve(archiveCacheEntry.getTarId());
+            ArchiveCacheMetrics.CACHE_EVICTIONS.labels(archiveCacheEntry.getFileBucketId()).inc();
             Files.delete(filePath);
         } catch (IOException e) {
             LOGGER.warn("Could not delete file {}/{}" + archiveCacheEntry.getFileBucketId() + "/" +
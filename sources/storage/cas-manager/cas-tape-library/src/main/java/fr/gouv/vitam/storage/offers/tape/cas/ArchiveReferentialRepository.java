@@ -136,6 +136,47 @@ public class ArchiveReferentialRepository {
         return result;
     }
 
+    /**
+     * Lists archives of a file bucket stored on a tape, within a file position range.
+     *
+     * @param tapeCode the tape code
+     * @param fileBucketId the file bucket of the archives
+     * @param minFilePosition min file position (inclusive)
+     * @param maxFilePosition max file position (inclusive)
+     * @return archives stored on tape within the file position range
+     * @throws ArchiveReferentialException on DB error
+     */
+    public List<TapeArchiveReferentialEntity> findByTapeCodeAndFilePositionRange(String tapeCode,
+        String fileBucketId, int minFilePosition, int maxFilePosition)
+        throws ArchiveReferentialException {
+
+        String tapeCodeField =
+            TapeArchiveReferentialEntity.LOCATION + "." + TapeLibraryOnTapeArchiveStorageLocation.TAPE_CODE;
+        String filePositionField =
+            TapeArchiveReferentialEntity.LOCATION + "." + TapeLibraryOnTapeArchiveStorageLocation.FILE_POSITION;
+
+        List<TapeArchiveReferentialEntity> result = new ArrayList<>();
+        try (MongoCursor<Document> documents = collection.find(Filters.and(
+            Filters.eq(tapeCodeField, tapeCode),
+            Filters.gte(filePositionField, minFilePosition),
+            Filters.lte(filePositionField, maxFilePosition),
+            Filters.eq(TapeArchiveReferentialEntity.FILE_BUCKET_ID, fileBucketId)
+        )).cursor()) {
+            documents.forEachRemaining(document -> {
+                    try {
+                        result.add(fromBson(document, TapeArchiveReferentialEntity.class));
+                    } catch (InvalidParseOperationException e) {
+                        throw new IllegalStateException(
+                            "Could not parse document from DB " + BsonHelper.stringify(document), e);
+                    }
+                }
+            );
+        } catch (MongoException ex) {
+            throw new ArchiveReferentialException("Could not find archives of tape " + tapeCode, ex);
+        }
+        return result;
+    }
+
     public void updateLocationToReadyOnDisk(String archiveId, long size, String digest)
         throws ArchiveReferentialException {
         try {
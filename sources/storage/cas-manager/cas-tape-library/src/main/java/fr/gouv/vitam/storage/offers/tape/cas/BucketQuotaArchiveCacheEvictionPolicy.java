@@ -0,0 +1,110 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.cas;
+
+import fr.gouv.vitam.common.ParametersChecker;
+import fr.gouv.vitam.storage.offers.tape.cache.CacheEntryAccessHistory;
+import fr.gouv.vitam.storage.offers.tape.cache.CacheEvictionPolicy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archive cache eviction policy that enforces per-bucket cache quotas (see
+ * {@link BucketTopologyHelper#getCacheQuotaPercent(String)}) on top of a delegate eviction policy.
+ *
+ * Archives of buckets that exceed their cache quota are evicted first, till their bucket usage is back under quota.
+ * Remaining archives are evicted in delegate eviction policy order.
+ *
+ * Bucket cache usage is computed using eviction candidate archives only (reserved archives, or archives added
+ * during eviction process, are ignored).
+ */
+public class BucketQuotaArchiveCacheEvictionPolicy implements CacheEvictionPolicy<ArchiveCacheEntry> {
+
+    private final CacheEvictionPolicy<ArchiveCacheEntry> delegate;
+    private final BucketTopologyHelper bucketTopologyHelper;
+    private final long maxCacheCapacity;
+
+    /**
+     * @param delegate eviction policy of archives within cache quotas
+     * @param bucketTopologyHelper bucket topology helper
+     * @param maxCacheCapacity max cache capacity (in bytes) on which bucket quotas are applied
+     */
+    public BucketQuotaArchiveCacheEvictionPolicy(CacheEvictionPolicy<ArchiveCacheEntry> delegate,
+        BucketTopologyHelper bucketTopologyHelper, long maxCacheCapacity) {
+        ParametersChecker.checkParameter("Missing delegate", delegate);
+        ParametersChecker.checkParameter("Missing bucketTopologyHelper", bucketTopologyHelper);
+        this.delegate = delegate;
+        this.bucketTopologyHelper = bucketTopologyHelper;
+        this.maxCacheCapacity = maxCacheCapacity;
+    }
+
+    @Override
+    public long getCorrelatedReferencePeriodInMillis() {
+        return delegate.getCorrelatedReferencePeriodInMillis();
+    }
+
+    @Override
+    public List<ArchiveCacheEntry> sortByEvictionPriority(
+        Collection<CacheEntryAccessHistory<ArchiveCacheEntry>> entries) {
+
+        List<ArchiveCacheEntry> sortedEntries = delegate.sortByEvictionPriority(entries);
+
+        // Compute bucket usage
+        Map<ArchiveCacheEntry, Long> entryWeights = new HashMap<>();
+        Map<String, Long> bucketUsage = new HashMap<>();
+        for (CacheEntryAccessHistory<ArchiveCacheEntry> entry : entries) {
+            entryWeights.put(entry.getKey(), entry.getWeight());
+            bucketUsage.merge(getBucket(entry.getKey()), entry.getWeight(), Long::sum);
+        }
+
+        // Evict entries of buckets exceeding their quota first
+        List<ArchiveCacheEntry> overQuotaEntries = new ArrayList<>();
+        List<ArchiveCacheEntry> otherEntries = new ArrayList<>();
+        for (ArchiveCacheEntry entry : sortedEntries) {
+            String bucket = getBucket(entry);
+            Integer cacheQuotaPercent = bucket == null ? null : bucketTopologyHelper.getCacheQuotaPercent(bucket);
+            if (cacheQuotaPercent != null &&
+                bucketUsage.get(bucket) > maxCacheCapacity / 100 * cacheQuotaPercent) {
+                overQuotaEntries.add(entry);
+                bucketUsage.merge(bucket, -entryWeights.get(entry), Long::sum);
+            } else {
+                otherEntries.add(entry);
+            }
+        }
+
+        overQuotaEntries.addAll(otherEntries);
+        return overQuotaEntries;
+    }
+
+    private String getBucket(ArchiveCacheEntry entry) {
+        return bucketTopologyHelper.getBucketFromFileBucket(entry.getFileBucketId());
+    }
+}
@@ -64,6 +64,7 @@ public class BucketTopologyHelper {
     private final Map<Pair<Integer, DataCategory>, String> containerToFileBucketMap;
     private final Map<String, String> fileBucketToBucketMap;
     private final Map<String, Integer> tarBufferingTimeoutInMinutesByBucketId;
+    private final Map<String, Integer> cacheQuotaPercentByBucketId;
     private final Set<String> fileBucketIdsToKeepForeverInCache;
 
     public BucketTopologyHelper(TapeLibraryTopologyConfiguration configuration) {
@@ -120,6 +121,13 @@ public class BucketTopologyHelper {
                 entry -> entry.getValue().getTarBufferingTimeoutInMinutes()
             ));
 
+        this.cacheQuotaPercentByBucketId = configuration.getBuckets().entrySet().stream()
+            .filter(entry -> entry.getValue().getCacheQuotaPercent() != null)
+            .collect(Collectors.toMap(
+                Map.Entry::getKey,
+                entry -> entry.getValue().getCacheQuotaPercent()
+            ));
+
         // fileBucketIds to keep forever in cache
         Set<String> fileBucketIdToKeepForeverInCache = new HashSet<>();
         for (Map.Entry<String, List<Integer>> bucketEntry : buckets.entrySet()) {
@@ -263,6 +271,11 @@ public class BucketTopologyHelper {
             if (bucketConfiguration.getTarBufferingTimeoutInMinutes() <= 0) {
                 throw new VitamRuntimeException("Tar buffering timeout must be positive");
             }
+
+            Integer cacheQuotaPercent = bucketConfiguration.getCacheQuotaPercent();
+            if (cacheQuotaPercent != null && (cacheQuotaPercent <= 0 || cacheQuotaPercent > 100)) {
+                throw new VitamRuntimeException("Cache quota percent must be in ]0, 100] range");
+            }
         }
 
         if (hasDuplicates(buckets.values().stream()
@@ -326,6 +339,15 @@ public class BucketTopologyHelper {
         return tarBufferingTimeoutInMinutesByBucketId.get(bucketId);
     }
 
+    /**
+     * @param bucketId the bucket id
+     * @return the cache quota (in percent of archive cache max capacity) of the bucket, or {@code null} if bucket
+     * has no cache quota.
+     */
+    public Integer getCacheQuotaPercent(String bucketId) {
+        return cacheQuotaPercentByBucketId.get(bucketId);
+    }
+
     public boolean keepFileBucketIdForeverInCache(String fileBucketId) {
         return this.fileBucketIdsToKeepForeverInCache.contains(fileBucketId);
     }
@@ -63,10 +63,18 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static fr.gouv.vitam.storage.offers.tape.utils.LocalFileUtils.TMP_EXTENSION;
 import static fr.gouv.vitam.storage.offers.tape.utils.LocalFileUtils.fileBuckedInputFilePath;
 
+/**
+ * Appends input files of a file bucket to tar files.
+ *
+ * Messages are consumed by one listener per tar builder. Each tar builder fills its own tar file, so that files of a
+ * same file bucket can be archived concurrently. Incoming files are dispatched to the first available tar builder.
+ */
 public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
 
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(FileBucketTarCreator.class);
@@ -82,11 +90,8 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
     private final TimeUnit tarBufferingTimeUnit;
     private final ScheduledExecutorService scheduledExecutorService;
 
-    private TarAppender currentTarAppender = null;
-    private ExtendedFileOutputStream currentTarOutputStream = null;
-    private Path currentTempTarFilePath = null;
-    private Path currentTarFilePath = null;
-    private ScheduledFuture<?> tarBufferingTimoutChecker;
+    private final TarBuilder[] tarBuilders;
+    private final AtomicInteger tarBuilderRoundRobinIndex = new AtomicInteger();
     private final long maxTarEntrySize;
     private final long maxTarFileSize;
 
@@ -97,7 +102,19 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
         WriteOrderCreator writeOrderCreator,
         String bucketId, String fileBucketId, int tarBufferingTimeout, TimeUnit tarBufferingTimeUnit,
         String inputTarStorageFolder, long maxTarEntrySize, long maxTarFileSize) {
-        super("FileBucketTarCreator-" + fileBucketId);
+        this(basicFileStorage, objectReferentialRepository, archiveReferentialRepository, writeOrderCreator, bucketId,
+            fileBucketId, tarBufferingTimeout, tarBufferingTimeUnit, inputTarStorageFolder, maxTarEntrySize,
+            maxTarFileSize, 1);
+    }
+
+    public FileBucketTarCreator(
+        BasicFileStorage basicFileStorage,
+        ObjectReferentialRepository objectReferentialRepository,
+        ArchiveReferentialRepository archiveReferentialRepository,
+        WriteOrderCreator writeOrderCreator,
+        String bucketId, String fileBucketId, int tarBufferingTimeout, TimeUnit tarBufferingTimeUnit,
+        String inputTarStorageFolder, long maxTarEntrySize, long maxTarFileSize, int concurrentTarBuilders) {
+        super("FileBucketTarCreator-" + fileBucketId, concurrentTarBuilders);
 
         this.maxTarEntrySize = maxTarEntrySize;
 
@@ -113,6 +130,11 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
         this.maxTarFileSize = maxTarFileSize;
         this.fileBucketStoragePath = fileBuckedInputFilePath(inputTarStorageFolder, fileBucketId);
         this.scheduledExecutorService = Executors.newScheduledThreadPool(1);
+
+        this.tarBuilders = new TarBuilder[concurrentTarBuilders];
+        for (int i = 0; i < concurrentTarBuilders; i++) {
+            this.tarBuilders[i] = new TarBuilder();
+        }
     }
 
     @Override
@@ -137,6 +159,33 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
             LOGGER.debug("Processing message " + JsonHandler.unprettyPrint(message));
         }
 
+        TarBuilder tarBuilder = acquireTarBuilder();
+        try {
+            writeFile(tarBuilder, message);
+        } finally {
+            tarBuilder.lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires the first idle tar builder. Waits for a busy one, in round robin, when none is available (ie. a tar
+     * builder is being finalized by another listener).
+     */
+    private TarBuilder acquireTarBuilder() {
+        for (TarBuilder tarBuilder : tarBuilders) {
+            if (tarBuilder.lock.tryLock()) {
+                return tarBuilder;
+            }
+        }
+        TarBuilder tarBuilder =
+            tarBuilders[Math.floorMod(tarBuilderRoundRobinIndex.getAndIncrement(), tarBuilders.length)];
+        tarBuilder.lock.lock();
+        return tarBuilder;
+    }
+
+    private void writeFile(TarBuilder tarBuilder, InputFileToProcessMessage message)
+        throws QueueProcessingException {
+
         Optional<InputStream> inputStream = Optional.empty();
         try {
             inputStream = openInputFile(message);
@@ -148,8 +197,8 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
                 return;
             }
 
-            if (currentTarAppender == null) {
-                createTarFile();
+            if (tarBuilder.tarAppender == null) {
+                createTarFile(tarBuilder);
             }
 
             Digest digest = new Digest(DigestType.fromValue(message.getDigestAlgorithm()));
@@ -162,11 +211,11 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
 
                 long entrySize = Math.min(remainingSize, maxTarEntrySize);
 
-                if (!currentTarAppender.canAppend(entrySize)) {
+                if (!tarBuilder.tarAppender.canAppend(entrySize)) {
 
-                    LOGGER.info("Finalizing full tar file {}", this.currentTempTarFilePath);
-                    finalizeTarFile();
-                    createTarFile();
+                    LOGGER.info("Finalizing full tar file {}", tarBuilder.tempTarFilePath);
+                    finalizeTarFile(tarBuilder);
+                    createTarFile(tarBuilder);
                 }
 
                 String entryName = LocalFileUtils.createTarEntryName(
@@ -174,15 +223,15 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
                 BoundedInputStream entryInputStream = new BoundedInputStream(digestInputStream, entrySize);
 
                 TarEntryDescription tarEntryDescription =
-                    currentTarAppender.append(entryName, entryInputStream, entrySize);
+                    tarBuilder.tarAppender.append(entryName, entryInputStream, entrySize);
                 tarEntryDescriptions.add(tarEntryDescription);
 
                 remainingSize -= entrySize;
                 entryIndex++;
             }
             while (remainingSize > 0L);
-            this.currentTarAppender.flush();
-            this.currentTarOutputStream.fsync();
+            tarBuilder.tarAppender.flush();
+            tarBuilder.tarOutputStream.fsync();
 
             if (!digest.digestHex().equals(message.getDigestValue())) {
                 throw new QueueProcessingException(
@@ -199,8 +248,8 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
 
         } catch (IOException | RuntimeException ex) {
 
-            if (this.currentTarOutputStream != null) {
-                IOUtils.closeQuietly(this.currentTarOutputStream);
+            if (tarBuilder.tarOutputStream != null) {
+                IOUtils.closeQuietly(tarBuilder.tarOutputStream);
             }
 
             throw new QueueProcessingException(QueueProcessingException.RetryPolicy.FATAL_SHUTDOWN,
@@ -230,38 +279,40 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
         }
     }
 
-    private void createTarFile() throws QueueProcessingException, IOException {
+    private void createTarFile(TarBuilder tarBuilder) throws QueueProcessingException, IOException {
 
         LocalDateTime now = LocalDateUtil.now();
         String tarFileId = LocalFileUtils.createTarId(now);
 
-        this.currentTarFilePath = fileBucketStoragePath.resolve(tarFileId);
-        this.currentTempTarFilePath = fileBucketStoragePath.resolve(tarFileId + LocalFileUtils.TMP_EXTENSION);
+        tarBuilder.tarFilePath = fileBucketStoragePath.resolve(tarFileId);
+        tarBuilder.tempTarFilePath = fileBucketStoragePath.resolve(tarFileId + LocalFileUtils.TMP_EXTENSION);
 
-        LOGGER.info("Creating file {}", this.currentTempTarFilePath);
+        LOGGER.info("Creating file {}", tarBuilder.tempTarFilePath);
 
         try {
             TapeArchiveReferentialEntity tarReferentialEntity = new TapeArchiveReferentialEntity(
-                tarFileId, new TapeLibraryBuildingOnDiskArchiveStorageLocation(), null, null, now.toString());
+                    tarFileId, new TapeLibraryBuildingOnDiskArchiveStorageLocation(), null, null, now.toString())
+                .setFileBucketId(fileBucketId);
             archiveReferentialRepository.insert(tarReferentialEntity);
         } catch (ArchiveReferentialException ex) {
             throw new QueueProcessingException(QueueProcessingException.RetryPolicy.RETRY,
                 "Could not create a new tar file", ex);
         }
 
-        this.currentTarOutputStream = new ExtendedFileOutputStream(currentTempTarFilePath, true);
-        this.currentTarAppender = new TarAppender(
-            currentTarOutputStream, tarFileId, this.maxTarFileSize);
-        this.tarBufferingTimoutChecker = this.scheduledExecutorService.schedule(
+        tarBuilder.tarOutputStream = new ExtendedFileOutputStream(tarBuilder.tempTarFilePath, true);
+        tarBuilder.tarAppender = new TarAppender(
+            tarBuilder.tarOutputStream, tarFileId, this.maxTarFileSize);
+        tarBuilder.tarId = tarFileId;
+        tarBuilder.tarBufferingTimoutChecker = this.scheduledExecutorService.schedule(
             () -> checkTarBufferingTimeout(tarFileId), tarBufferingTimeout, tarBufferingTimeUnit);
     }
 
-    private void finalizeTarFile() throws IOException {
+    private void finalizeTarFile(TarBuilder tarBuilder) throws IOException {
 
-        this.currentTarAppender.close();
+        tarBuilder.tarAppender.close();
 
         // Mark file as done (remove .tmp extension)
-        Files.move(this.currentTempTarFilePath, this.currentTarFilePath, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(tarBuilder.tempTarFilePath, tarBuilder.tarFilePath, StandardCopyOption.ATOMIC_MOVE);
 
         // Schedule tar for copy on tape
         WriteOrder writeOrder = new WriteOrder(
@@ -269,16 +320,17 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
             this.fileBucketId,
             LocalFileUtils
                 .archiveFileNameRelativeToInputArchiveStorageFolder(this.fileBucketId,
-                    this.currentTarAppender.getTarId()),
-            this.currentTarAppender.getBytesWritten(),
-            this.currentTarAppender.getDigestValue(),
-            this.currentTarAppender.getTarId(),
+                    tarBuilder.tarAppender.getTarId()),
+            tarBuilder.tarAppender.getBytesWritten(),
+            tarBuilder.tarAppender.getDigestValue(),
+            tarBuilder.tarAppender.getTarId(),
             QueueMessageType.WriteOrder);
         this.writeOrderCreator.addToQueue(writeOrder);
 
-        this.currentTarAppender = null;
-        this.currentTarOutputStream = null;
-        this.tarBufferingTimoutChecker.cancel(false);
+        tarBuilder.tarAppender = null;
+        tarBuilder.tarOutputStream = null;
+        tarBuilder.tarId = null;
+        tarBuilder.tarBufferingTimoutChecker.cancel(false);
     }
 
     private void indexInObjectReferential(InputFileToProcessMessage inputFileToProcessMessage,
@@ -304,21 +356,33 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
     private void checkTarBufferingTimeout(TarBufferingTimedOutMessage tarBufferingTimedOutMessage)
         throws QueueProcessingException {
 
-        // Double check tar Id in case of concurrent access
-        if (this.currentTarAppender == null ||
-            !this.currentTarAppender.getTarId().equals(tarBufferingTimedOutMessage.getTarId())) {
-            return;
-        }
+        String tarId = tarBufferingTimedOutMessage.getTarId();
+        for (TarBuilder tarBuilder : tarBuilders) {
 
-        try {
+            if (!tarId.equals(tarBuilder.tarId)) {
+                continue;
+            }
+
+            // Wait for any ongoing write to the tar file
+            tarBuilder.lock.lock();
+            try {
 
-            LOGGER.info("Finalizing tar file {} after timeout {} {}",
-                this.currentTempTarFilePath, this.tarBufferingTimeout, this.tarBufferingTimeUnit);
+                // Double check tar Id in case of concurrent access
+                if (tarBuilder.tarAppender == null || !tarId.equals(tarBuilder.tarAppender.getTarId())) {
+                    return;
+                }
 
-            finalizeTarFile();
-        } catch (IOException ex) {
-            throw new QueueProcessingException(QueueProcessingException.RetryPolicy.FATAL_SHUTDOWN,
-                "An error occurred while archiving file to tar", ex);
+                LOGGER.info("Finalizing tar file {} after timeout {} {}",
+                    tarBuilder.tempTarFilePath, this.tarBufferingTimeout, this.tarBufferingTimeUnit);
+
+                finalizeTarFile(tarBuilder);
+            } catch (IOException ex) {
+                throw new QueueProcessingException(QueueProcessingException.RetryPolicy.FATAL_SHUTDOWN,
+                    "An error occurred while archiving file to tar", ex);
+            } finally {
+                tarBuilder.lock.unlock();
+            }
+            return;
         }
     }
 
@@ -383,4 +447,22 @@ public class FileBucketTarCreator extends QueueProcessor<TarCreatorMessage> {
                 .inc(((InputFileToProcessMessage) message).getSize());
         }
     }
+
+    /**
+     * State of a tar file being built. Guarded by its lock.
+     */
+    private static class TarBuilder {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private TarAppender tarAppender = null;
+        private ExtendedFileOutputStream tarOutputStream = null;
+        private Path tempTarFilePath = null;
+        private Path tarFilePath = null;
+        private ScheduledFuture<?> tarBufferingTimoutChecker;
+        /**
+         * Current tar id. Volatile since it is read without lock to route tar buffering timeout messages.
+         */
+        private volatile String tarId = null;
+    }
 }
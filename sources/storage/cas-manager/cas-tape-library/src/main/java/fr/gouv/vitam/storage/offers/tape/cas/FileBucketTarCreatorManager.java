@@ -70,7 +70,8 @@ public class FileBucketTarCreatorManager {
                             this.bucketTopologyHelper.getBucketFromFileBucket(fileBucket)), TimeUnit.MINUTES,
                         tapeLibraryConfiguration.getInputTarStorageFolder(),
                         tapeLibraryConfiguration.getMaxTarEntrySize(),
-                        tapeLibraryConfiguration.getMaxTarFileSize())));
+                        tapeLibraryConfiguration.getMaxTarFileSize(),
+                        tapeLibraryConfiguration.getConcurrentTarBuildersPerFileBucket())));
         inputTarStorageFolder = tapeLibraryConfiguration.getInputTarStorageFolder();
         fileBucketTarCreatorBootstrapRecovery =
             new FileBucketTarCreatorBootstrapRecovery(basicFileStorage, objectReferentialRepository
@@ -0,0 +1,96 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.cas;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Input stream over a region of a file, using positional {@link FileChannel} reads.
+ * Reads never alter the channel position, and only the requested region is ever read from disk.
+ * Closing this stream closes the underlying file channel.
+ */
+class FileChannelRangeInputStream extends InputStream {
+
+    private final FileChannel fileChannel;
+    private long position;
+    private final long endPosition;
+
+    /**
+     * @param fileChannel the file channel to read from
+     * @param startPosition region start position
+     * @param size region size
+     */
+    FileChannelRangeInputStream(FileChannel fileChannel, long startPosition, long size) {
+        this.fileChannel = fileChannel;
+        this.position = startPosition;
+        this.endPosition = startPosition + size;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] buffer = new byte[1];
+        int read = read(buffer, 0, 1);
+        return read == -1 ? -1 : buffer[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        long remaining = endPosition - position;
+        if (remaining <= 0) {
+            return -1;
+        }
+        int read = fileChannel.read(ByteBuffer.wrap(buffer, offset, (int) Math.min(length, remaining)), position);
+        if (read == -1) {
+            return -1;
+        }
+        position += read;
+        return read;
+    }
+
+    @Override
+    public long skip(long n) {
+        long skipped = Math.max(0L, Math.min(n, endPosition - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, endPosition - position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+}
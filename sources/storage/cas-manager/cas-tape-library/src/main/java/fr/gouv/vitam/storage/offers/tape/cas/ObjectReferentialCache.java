@@ -0,0 +1,247 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.cas;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import fr.gouv.vitam.common.collection.CloseableIterator;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.storage.engine.common.model.TapeLibraryObjectReferentialId;
+import fr.gouv.vitam.storage.engine.common.model.TapeObjectReferentialEntity;
+import fr.gouv.vitam.storage.offers.tape.exception.ObjectReferentialException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory cache of the object referential.
+ *
+ * Caches up to a configured number of object referential entities (storage location, tar entries & digest), and
+ * maintains, per container, a negative lookup bloom filter of known object names to answer "object not found"
+ * lookups without hitting the database. Negative lookup filters are evicted once their total capacity exceeds a
+ * configured threshold, so that memory usage is bounded whatever the number of containers.
+ *
+ * Cached entities are shared and must not be modified by callers.
+ */
+class ObjectReferentialCache {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(ObjectReferentialCache.class);
+
+    private static final int VERSION_STRIPES = 1024;
+    private static final double NEGATIVE_LOOKUP_FILTER_FALSE_POSITIVE_PROBABILITY = 0.01;
+    private static final long NEGATIVE_LOOKUP_FILTER_MIN_CAPACITY = 100_000L;
+
+    private final Cache<TapeLibraryObjectReferentialId, TapeObjectReferentialEntity> entityCache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    private final boolean negativeLookupFilterEnabled;
+    private final long negativeLookupFilterMaxObjectsPerContainer;
+    private final ContainerObjectNamesLoader containerObjectNamesLoader;
+    private final Executor negativeLookupFilterLoaderExecutor;
+    private final Cache<String, NegativeLookupFilter> negativeLookupFilters;
+
+    /**
+     * @param maxEntries max number of cached entities. 0 disables entity caching
+     * @param negativeLookupFilterEnabled whether negative lookup filters are enabled
+     * @param negativeLookupFilterMaxObjectsPerContainer containers with more objects than this threshold are not
+     * filtered, to bound memory usage
+     * @param negativeLookupFiltersMaxTotalCapacity max total capacity of negative lookup filters of all containers.
+     * Least recently used filters are evicted beyond this threshold
+     * @param containerObjectNamesLoader loader of object names of a container, used to build negative lookup filters
+     * @param negativeLookupFilterLoaderExecutor executor for asynchronous negative lookup filter loading
+     */
+    ObjectReferentialCache(int maxEntries, boolean negativeLookupFilterEnabled,
+        long negativeLookupFilterMaxObjectsPerContainer, long negativeLookupFiltersMaxTotalCapacity,
+        ContainerObjectNamesLoader containerObjectNamesLoader, Executor negativeLookupFilterLoaderExecutor) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Invalid max entries " + maxEntries);
+        }
+        this.entityCache = maxEntries == 0 ? null : CacheBuilder.newBuilder()
+            .maximumSize(maxEntries)
+            .build();
+        this.negativeLookupFilterEnabled = negativeLookupFilterEnabled;
+        this.negativeLookupFilterMaxObjectsPerContainer = negativeLookupFilterMaxObjectsPerContainer;
+        this.containerObjectNamesLoader = containerObjectNamesLoader;
+        this.negativeLookupFilterLoaderExecutor = negativeLookupFilterLoaderExecutor;
+        // Single segment, so that the max weight applies to all filters (and not to each segment)
+        this.negativeLookupFilters = !negativeLookupFilterEnabled ? null : CacheBuilder.newBuilder()
+            .concurrencyLevel(1)
+            .maximumWeight(negativeLookupFiltersMaxTotalCapacity)
+            .weigher((String containerName, NegativeLookupFilter filter) -> filter.getWeight())
+            .build();
+    }
+
+    static ObjectReferentialCache disabled() {
+        return new ObjectReferentialCache(0, false, 0L, 0L, null, null);
+    }
+
+    /**
+     * @return the current version of the entry, to be passed to {@link #put} once the entity is loaded from database.
+     */
+    long getVersion(TapeLibraryObjectReferentialId id) {
+        return versions.get(stripe(id));
+    }
+
+    Optional<TapeObjectReferentialEntity> getIfPresent(TapeLibraryObjectReferentialId id) {
+        if (entityCache == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entityCache.getIfPresent(id));
+    }
+
+    /**
+     * Caches an entity loaded from database, unless it has been invalidated since version has been read.
+     */
+    void put(TapeObjectReferentialEntity entity, long version) {
+        if (entityCache == null) {
+            return;
+        }
+        TapeLibraryObjectReferentialId id = entity.getId();
+        entityCache.put(id, entity);
+
+        // Double check version in case of concurrent invalidation
+        if (versions.get(stripe(id)) != version) {
+            entityCache.invalidate(id);
+        }
+    }
+
+    /**
+     * Invalidates cached entity. Must be invoked after any database update.
+     */
+    void invalidate(TapeLibraryObjectReferentialId id) {
+        versions.incrementAndGet(stripe(id));
+        if (entityCache != null) {
+            entityCache.invalidate(id);
+        }
+    }
+
+    /**
+     * Registers an object name in the negative lookup filter of its container. Must be invoked before and after the
+     * object is inserted in database, so that concurrent filter loading cannot miss it.
+     */
+    void registerObjectName(TapeLibraryObjectReferentialId id) {
+        if (!negativeLookupFilterEnabled) {
+            return;
+        }
+        NegativeLookupFilter negativeLookupFilter = negativeLookupFilters.getIfPresent(id.getContainerName());
+        if (negativeLookupFilter == null || negativeLookupFilter.bloomFilter == null) {
+            return;
+        }
+        negativeLookupFilter.bloomFilter.put(id.getObjectName());
+        if (negativeLookupFilter.bloomFilter.approximateElementCount() > negativeLookupFilter.capacity) {
+            // Saturated filter. Reload it with a larger capacity
+            LOGGER.info("Negative lookup filter of container {} is full. Reloading...", id.getContainerName());
+            negativeLookupFilters.asMap().remove(id.getContainerName(), negativeLookupFilter);
+        }
+    }
+
+    /**
+     * @return true if the object is known not to exist. Triggers an asynchronous loading of the negative lookup
+     * filter of the container when not loaded yet.
+     */
+    boolean isKnownAbsent(TapeLibraryObjectReferentialId id) {
+        if (!negativeLookupFilterEnabled) {
+            return false;
+        }
+
+        String containerName = id.getContainerName();
+        NegativeLookupFilter negativeLookupFilter = negativeLookupFilters.getIfPresent(containerName);
+        if (negativeLookupFilter == null) {
+            NegativeLookupFilter newNegativeLookupFilter = new NegativeLookupFilter();
+            negativeLookupFilter = negativeLookupFilters.asMap().putIfAbsent(containerName, newNegativeLookupFilter);
+            if (negativeLookupFilter == null) {
+                negativeLookupFilterLoaderExecutor.execute(
+                    () -> loadNegativeLookupFilter(containerName, newNegativeLookupFilter));
+                return false;
+            }
+        }
+
+        if (!negativeLookupFilter.loaded) {
+            return false;
+        }
+        return !negativeLookupFilter.bloomFilter.mightContain(id.getObjectName());
+    }
+
+    private void loadNegativeLookupFilter(String containerName, NegativeLookupFilter negativeLookupFilter) {
+
+        try {
+            long objectCount = containerObjectNamesLoader.countObjects(containerName);
+            if (objectCount > negativeLookupFilterMaxObjectsPerContainer) {
+                // Keep container unfiltered
+                LOGGER.info("Container {} has too many objects ({}) for negative lookup filter",
+                    containerName, objectCount);
+                return;
+            }
+
+            negativeLookupFilter.capacity = Math.max(NEGATIVE_LOOKUP_FILTER_MIN_CAPACITY, 2 * objectCount);
+            negativeLookupFilter.bloomFilter = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8),
+                negativeLookupFilter.capacity, NEGATIVE_LOOKUP_FILTER_FALSE_POSITIVE_PROBABILITY);
+
+            try (CloseableIterator<String> objectNames = containerObjectNamesLoader.listObjectNames(containerName)) {
+                while (objectNames.hasNext()) {
+                    negativeLookupFilter.bloomFilter.put(objectNames.next());
+                }
+            }
+
+            negativeLookupFilter.loaded = true;
+            // Re-insert loaded filter so that its actual weight is accounted (and LRU filters evicted if needed)
+            negativeLookupFilters.asMap().replace(containerName, negativeLookupFilter, negativeLookupFilter);
+            LOGGER.info("Negative lookup filter of container {} loaded", containerName);
+
+        } catch (ObjectReferentialException | RuntimeException e) {
+            LOGGER.warn("Could not load negative lookup filter of container " + containerName, e);
+            negativeLookupFilters.asMap().remove(containerName, negativeLookupFilter);
+        }
+    }
+
+    private static int stripe(TapeLibraryObjectReferentialId id) {
+        return Math.floorMod(id.hashCode(), VERSION_STRIPES);
+    }
+
+    interface ContainerObjectNamesLoader {
+
+        long countObjects(String containerName) throws ObjectReferentialException;
+
+        CloseableIterator<String> listObjectNames(String containerName) throws ObjectReferentialException;
+    }
+
+    private static class NegativeLookupFilter {
+        private volatile BloomFilter<String> bloomFilter;
+        private volatile long capacity;
+        private volatile boolean loaded = false;
+
+        private int getWeight() {
+            // Filters being loaded (or unfiltered containers) have negligible footprint
+            return loaded ? (int) Math.min(capacity, Integer.MAX_VALUE) : 1;
+        }
+    }
+}
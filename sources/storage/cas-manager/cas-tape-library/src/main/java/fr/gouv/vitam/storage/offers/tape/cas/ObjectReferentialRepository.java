@@ -41,10 +41,12 @@ import com.mongodb.client.result.DeleteResult;
 import fr.gouv.vitam.common.LocalDateUtil;
 import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.collection.CloseableIterator;
+import fr.gouv.vitam.common.collection.CloseableIteratorUtils;
 import fr.gouv.vitam.common.database.server.mongodb.BsonHelper;
 import fr.gouv.vitam.common.exception.InvalidParseOperationException;
 import fr.gouv.vitam.common.json.JsonHandler;
 import fr.gouv.vitam.common.model.storage.ObjectEntry;
+import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.storage.engine.common.model.TapeLibraryObjectReferentialId;
 import fr.gouv.vitam.storage.engine.common.model.TapeLibraryObjectStorageLocation;
 import fr.gouv.vitam.storage.engine.common.model.TapeLibraryTarObjectStorageLocation;
@@ -56,53 +58,95 @@ import org.bson.conversions.Bson;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 public class ObjectReferentialRepository {
 
+    /**
+     * Containers with more objects are not covered by negative lookup filters. Filters are sized to twice the object
+     * count at 1% false positive probability (~1.2 bytes per filter slot), hence ~2.4 bytes per object
+     */
+    private static final long NEGATIVE_LOOKUP_FILTER_MAX_OBJECTS_PER_CONTAINER = 10_000_000L;
+
+    /**
+     * Max total capacity of negative lookup filters of all containers (~60 MB)
+     */
+    private static final long NEGATIVE_LOOKUP_FILTERS_MAX_TOTAL_CAPACITY = 50_000_000L;
+
     private final MongoCollection<Document> collection;
     private final int bulkSize;
+    private final ObjectReferentialCache cache;
 
     public ObjectReferentialRepository(MongoCollection<Document> collection) {
         this(collection, VitamConfiguration.getBatchSize());
     }
 
+    /**
+     * @param collection object referential collection
+     * @param cacheMaxEntries max number of object referential entities to cache in memory. 0 disables caching
+     * @param negativeLookupFilterEnabled whether per-container bloom filters are used to skip database lookups of
+     * unknown objects
+     */
+    public ObjectReferentialRepository(MongoCollection<Document> collection, int cacheMaxEntries,
+        boolean negativeLookupFilterEnabled) {
+        this.collection = collection;
+        this.bulkSize = VitamConfiguration.getBatchSize();
+        this.cache = new ObjectReferentialCache(cacheMaxEntries, negativeLookupFilterEnabled,
+            NEGATIVE_LOOKUP_FILTER_MAX_OBJECTS_PER_CONTAINER, NEGATIVE_LOOKUP_FILTERS_MAX_TOTAL_CAPACITY,
+            new ContainerObjectNamesLoader(),
+            VitamThreadPoolExecutor.getDefaultExecutor());
+    }
+
     @VisibleForTesting
     ObjectReferentialRepository(MongoCollection<Document> collection, int bulkSize) {
         this.collection = collection;
         this.bulkSize = bulkSize;
+        this.cache = ObjectReferentialCache.disabled();
     }
 
     public void insertOrUpdate(TapeObjectReferentialEntity tapeObjectReferentialEntity)
         throws ObjectReferentialException {
+        TapeLibraryObjectReferentialId id = tapeObjectReferentialEntity.getId();
+        cache.registerObjectName(id);
         try {
             collection.findOneAndReplace(
-                Filters.eq(TapeObjectReferentialEntity.ID, toBson(tapeObjectReferentialEntity.getId())),
+                Filters.eq(TapeObjectReferentialEntity.ID, toBson(id)),
                 toBson(tapeObjectReferentialEntity),
                 new FindOneAndReplaceOptions().upsert(true)
             );
         } catch (MongoException ex) {
             throw new ObjectReferentialException(
                 "Could not insert or update tar referential for id " +
-                    tapeObjectReferentialEntity.getId().getContainerName() + "/" +
-                    tapeObjectReferentialEntity.getId().getObjectName(), ex);
+                    id.getContainerName() + "/" + id.getObjectName(), ex);
+        } finally {
+            cache.registerObjectName(id);
+            cache.invalidate(id);
         }
     }
 
     public Optional<TapeObjectReferentialEntity> find(String containerName, String objectName)
         throws ObjectReferentialException {
 
+        TapeLibraryObjectReferentialId id = new TapeLibraryObjectReferentialId(containerName, objectName);
+        if (cache.isKnownAbsent(id)) {
+            return Optional.empty();
+        }
+        Optional<TapeObjectReferentialEntity> cachedEntity = cache.getIfPresent(id);
+        if (cachedEntity.isPresent()) {
+            return cachedEntity;
+        }
+        long version = cache.getVersion(id);
+
         Document document;
         try {
-            document = collection.find(
-                    Filters.eq(TapeObjectReferentialEntity.ID,
-                        toBson(new TapeLibraryObjectReferentialId(containerName, objectName))))
-                .first();
+            document = collection.find(Filters.eq(TapeObjectReferentialEntity.ID, toBson(id))).first();
         } catch (MongoException ex) {
             throw new ObjectReferentialException("Could not find storage location by id " +
                 containerName + "/" + objectName, ex);
@@ -112,11 +156,14 @@ public class ObjectReferentialRepository {
             return Optional.empty();
         }
 
+        TapeObjectReferentialEntity entity;
         try {
-            return Optional.of(fromBson(document));
+            entity = fromBson(document);
         } catch (InvalidParseOperationException e) {
             throw new IllegalStateException("Could not parse document from DB " + BsonHelper.stringify(document), e);
         }
+        cache.put(entity, version);
+        return Optional.of(entity);
     }
 
     public List<TapeObjectReferentialEntity> bulkFind(String containerName, Set<String> objectNames)
@@ -126,15 +173,30 @@ public class ObjectReferentialRepository {
             return Collections.emptyList();
         }
 
+        // Lookup cache first
+        List<TapeObjectReferentialEntity> result = new ArrayList<>();
+        Map<TapeLibraryObjectReferentialId, Long> versionsById = new HashMap<>();
+        for (String objectName : objectNames) {
+            TapeLibraryObjectReferentialId id = new TapeLibraryObjectReferentialId(containerName, objectName);
+            if (cache.isKnownAbsent(id)) {
+                continue;
+            }
+            Optional<TapeObjectReferentialEntity> cachedEntity = cache.getIfPresent(id);
+            if (cachedEntity.isPresent()) {
+                result.add(cachedEntity.get());
+            } else {
+                versionsById.put(id, cache.getVersion(id));
+            }
+        }
+
         // Process in bulks
-        Iterator<List<String>> objectNameBulks =
-            Iterators.partition(objectNames.iterator(), this.bulkSize);
+        Iterator<List<TapeLibraryObjectReferentialId>> objectIdBulks =
+            Iterators.partition(versionsById.keySet().iterator(), this.bulkSize);
 
-        List<TapeObjectReferentialEntity> result = new ArrayList<>();
-        while (objectNameBulks.hasNext()) {
+        while (objectIdBulks.hasNext()) {
 
-            List<Document> objectReferentialIds = objectNameBulks.next().stream()
-                .map(objectName -> toBson(new TapeLibraryObjectReferentialId(containerName, objectName)))
+            List<Document> objectReferentialIds = objectIdBulks.next().stream()
+                .map(this::toBson)
                 .collect(Collectors.toList());
 
             try (MongoCursor<Document> iterator =
@@ -142,12 +204,18 @@ public class ObjectReferentialRepository {
 
                 while (iterator.hasNext()) {
                     Document document = iterator.next();
+                    TapeObjectReferentialEntity entity;
                     try {
-                        result.add(fromBson(document));
+                        entity = fromBson(document);
                     } catch (InvalidParseOperationException e) {
                         throw new IllegalStateException(
                             "Could not parse documents from DB " + BsonHelper.stringify(document), e);
                     }
+                    Long version = versionsById.get(entity.getId());
+                    if (version != null) {
+                        cache.put(entity, version);
+                    }
+                    result.add(entity);
                 }
 
             } catch (MongoException ex) {
@@ -162,11 +230,11 @@ public class ObjectReferentialRepository {
         TapeLibraryTarObjectStorageLocation tapeLibraryTarStorageLocation)
         throws ObjectReferentialException {
 
+        TapeLibraryObjectReferentialId id = new TapeLibraryObjectReferentialId(containerName, objectName);
         try {
             collection.updateOne(
                 Filters.and(
-                    Filters.eq(TapeObjectReferentialEntity.ID,
-                        toBson(new TapeLibraryObjectReferentialId(containerName, objectName))),
+                    Filters.eq(TapeObjectReferentialEntity.ID, toBson(id)),
                     Filters.eq(TapeObjectReferentialEntity.STORAGE_ID, storageId)
                 ),
                 Updates.combine(
@@ -180,6 +248,8 @@ public class ObjectReferentialRepository {
         } catch (MongoException ex) {
             throw new ObjectReferentialException("Could not update storage location for " +
                 containerName + "/" + objectName, ex);
+        } finally {
+            cache.invalidate(id);
         }
     }
 
@@ -196,6 +266,8 @@ public class ObjectReferentialRepository {
                 "Could not delete tar referential for id " +
                     tapeLibraryObjectReferentialId.getContainerName() + "/" +
                     tapeLibraryObjectReferentialId.getObjectName(), ex);
+        } finally {
+            cache.invalidate(tapeLibraryObjectReferentialId);
         }
     }
 
@@ -207,9 +279,25 @@ public class ObjectReferentialRepository {
         Set<String> archiveIds = new HashSet<>();
         while (objectIdBulkIterator.hasNext()) {
 
-            List<Document> objectReferentialIds = objectIdBulkIterator.next().stream()
-                .map(this::toBson)
-                .collect(Collectors.toList());
+            // Resolve cached entities & skip unknown objects
+            List<Document> objectReferentialIds = new ArrayList<>();
+            for (TapeLibraryObjectReferentialId id : objectIdBulkIterator.next()) {
+                if (cache.isKnownAbsent(id)) {
+                    continue;
+                }
+                Optional<TapeObjectReferentialEntity> cachedEntity = cache.getIfPresent(id);
+                if (cachedEntity.isEmpty()) {
+                    objectReferentialIds.add(toBson(id));
+                } else if (cachedEntity.get().getLocation() instanceof TapeLibraryTarObjectStorageLocation) {
+                    for (TarEntryDescription tarEntry :
+                        ((TapeLibraryTarObjectStorageLocation) cachedEntity.get().getLocation()).getTarEntries()) {
+                        archiveIds.add(tarEntry.getTarFileId());
+                    }
+                }
+            }
+            if (objectReferentialIds.isEmpty()) {
+                continue;
+            }
 
             List<Bson> pipeline = List.of(
                 Aggregates.match(Filters.and(
@@ -296,4 +384,27 @@ public class ObjectReferentialRepository {
             throw new ObjectReferentialException("Could not list objects of container " + containerName, ex);
         }
     }
+
+    private long countContainerObjects(String containerName) throws ObjectReferentialException {
+        try {
+            return collection.countDocuments(
+                Filters.eq(TapeObjectReferentialEntity.ID + "." + TapeLibraryObjectReferentialId.CONTAINER_NAME,
+                    containerName));
+        } catch (MongoException ex) {
+            throw new ObjectReferentialException("Could not count objects of container " + containerName, ex);
+        }
+    }
+
+    private class ContainerObjectNamesLoader implements ObjectReferentialCache.ContainerObjectNamesLoader {
+
+        @Override
+        public long countObjects(String containerName) throws ObjectReferentialException {
+            return countContainerObjects(containerName);
+        }
+
+        @Override
+        public CloseableIterator<String> listObjectNames(String containerName) throws ObjectReferentialException {
+            return CloseableIteratorUtils.map(listContainerObjectEntries(containerName), ObjectEntry::getObjectId);
+        }
+    }
 }
@@ -335,10 +335,13 @@ public class TapeLibraryContentAddressableStorage implements ContentAddressableS
             checkTarExistence(fileBucketId, tapeArchiveReferentialEntityMap.values());
 
             // Lazy loading of TarEntry input streams
-            Iterator<InputStream> lazyInputStreamIterator = tarEntries.stream().
+            Iterator<InputStream> lazyInputStreamIterator = tarEntries.stream().<InputStream>
                 map(tarEntry -> {
                     try {
-                        return loadTarFileInputStream(containerName, objectName, tarEntry);
+                        // Validate each entry digest, to report which TAR entry is corrupted (if any)
+                        return new ExactDigestValidatorInputStream(
+                            loadTarFileInputStream(containerName, objectName, tarEntry),
+                            VitamConfiguration.getDefaultDigestType(), tarEntry.getDigestValue());
                     } catch (ContentAddressableStorageUnavailableDataFromAsyncOfferException | ContentAddressableStorageServerException e) {
                         throw new RuntimeException("Could not load entry " + fileBucketId + "/"
                             + tarEntry.getTarFileId() + " @" + tarEntry.getEntryName(), e);
@@ -392,9 +395,10 @@ public class TapeLibraryContentAddressableStorage implements ContentAddressableS
         throws ContentAddressableStorageUnavailableDataFromAsyncOfferException,
         ContentAddressableStorageServerException {
         try {
+            // Seek straight to entry content. Object digest is validated later (see toObjectContent)
             FileInputStream fileInputStream =
                 locateAndOpenTarFileInputStream(containerName, objectName, tarEntry);
-            return TarHelper.readEntryAtPos(fileInputStream, tarEntry);
+            return TarHelper.openEntryAtPos(fileInputStream, tarEntry);
         } catch (IOException e) {
             throw new ContentAddressableStorageServerException("Could not load tar file", e);
         }
@@ -37,6 +37,7 @@ import org.apache.commons.io.input.CloseShieldInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 
 public final class TarHelper {
 
@@ -59,6 +60,49 @@ public final class TarHelper {
             CloseShieldInputStream.wrap(fileInputStream));
 
         ArchiveEntry tarEntry = tarArchiveInputStream.getNextEntry();
+        checkEntry(entryDescription, tarEntry);
+
+        return new ExactDigestValidatorInputStream(
+            new ExactSizeInputStream(tarArchiveInputStream, entryDescription.getSize()),
+            VitamConfiguration.getDefaultDigestType(), entryDescription.getDigestValue());
+    }
+
+    /**
+     * Opens a specific tar entry for read, using positional reads on the tar file.
+     * Only entry header(s) & entry content are read from disk. Entry size & entry name are validated.
+     * Entry digest is NOT validated, callers are expected to validate read data digest (object digest).
+     *
+     * @param fileInputStream file input stream of the tar file to read from. Closed when returned input stream is closed, or on error.
+     * @param entryDescription the tar entry description (file position, size...)
+     * @return Tar entry content input stream.
+     * @throws IOException if any IO error occurs
+     */
+    public static InputStream openEntryAtPos(FileInputStream fileInputStream, TarEntryDescription entryDescription)
+        throws IOException {
+
+        FileChannel fileChannel = fileInputStream.getChannel();
+        try {
+            // Parse entry header(s). Data offset is the number of header bytes consumed
+            TarArchiveInputStream headerInputStream = new TarArchiveInputStream(
+                CloseShieldInputStream.wrap(new FileChannelRangeInputStream(fileChannel,
+                    entryDescription.getStartPos(), fileChannel.size() - entryDescription.getStartPos())));
+
+            ArchiveEntry tarEntry = headerInputStream.getNextEntry();
+            if (tarEntry == null) {
+                throw new IOException("No tar entry found at position " + entryDescription.getStartPos());
+            }
+            checkEntry(entryDescription, tarEntry);
+
+            long dataPosition = entryDescription.getStartPos() + headerInputStream.getBytesRead();
+            return new FileChannelRangeInputStream(fileChannel, dataPosition, entryDescription.getSize());
+
+        } catch (IOException | RuntimeException e) {
+            fileInputStream.close();
+            throw e;
+        }
+    }
+
+    private static void checkEntry(TarEntryDescription entryDescription, ArchiveEntry tarEntry) throws IOException {
         if (!tarEntry.getName().equals(entryDescription.getEntryName())) {
             throw new IOException(
                 "Tar entry name conflict. Expected '" + entryDescription.getEntryName() + "', found '" +
@@ -69,9 +113,5 @@ public final class TarHelper {
                 "Tar entry size conflict. Expected '" + entryDescription.getSize() + "', found '" +
                     tarEntry.getSize() + "'");
         }
-
-        return new ExactDigestValidatorInputStream(
-            new ExactSizeInputStream(tarArchiveInputStream, entryDescription.getSize()),
-            VitamConfiguration.getDefaultDigestType(), entryDescription.getDigestValue());
     }
 }
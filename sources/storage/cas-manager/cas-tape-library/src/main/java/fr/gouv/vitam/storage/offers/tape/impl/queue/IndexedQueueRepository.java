@@ -0,0 +1,308 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.impl.queue;
+
+import com.mongodb.client.model.Filters;
+import fr.gouv.vitam.common.ParametersChecker;
+import fr.gouv.vitam.common.database.server.query.QueryCriteria;
+import fr.gouv.vitam.common.exception.VitamRuntimeException;
+import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageEntity;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageType;
+import fr.gouv.vitam.storage.engine.common.model.QueueState;
+import fr.gouv.vitam.storage.offers.tape.exception.QueueException;
+import fr.gouv.vitam.storage.offers.tape.spec.QueueRepository;
+import fr.gouv.vitam.storage.offers.tape.utils.QueryCriteriaUtils;
+import org.bson.BsonDocument;
+import org.bson.conversions.Bson;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Queue repository that selects orders from an in-memory index, while the mongo collection is only used as a durable
+ * journal of queue messages.
+ *
+ * The in-memory index is (re)built on {@link #initializeOnBootstrap()}. Until then, all operations are delegated to
+ * the journal. Selected messages are marked as RUNNING in the journal (single round-trip per received message).
+ * Filters that cannot be evaluated in-memory are delegated to the journal.
+ */
+public class IndexedQueueRepository implements QueueRepository {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(IndexedQueueRepository.class);
+
+    private final QueueRepositoryImpl journal;
+    private final QueueMessageIndex index = new QueueMessageIndex();
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private volatile boolean indexed = false;
+
+    public IndexedQueueRepository(QueueRepositoryImpl journal) {
+        ParametersChecker.checkParameter("Journal param is required", journal);
+        this.journal = journal;
+    }
+
+    @Override
+    public void add(QueueMessageEntity queueMessageEntity) throws QueueException {
+        indexLock.readLock().lock();
+        try {
+            journal.add(queueMessageEntity);
+            if (indexed) {
+                index.add(queueMessageEntity);
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean addIfAbsent(List<QueryCriteria> criteria, QueueMessageEntity queueMessageEntity)
+        throws QueueException {
+        indexLock.readLock().lock();
+        try {
+            if (!indexed) {
+                return journal.addIfAbsent(criteria, queueMessageEntity);
+            }
+
+            if (!index.addIfAbsent(toFilter(criteria), queueMessageEntity)) {
+                LOGGER.warn("Message already in queue " + JsonHandler.unprettyPrint(queueMessageEntity));
+                return false;
+            }
+
+            try {
+                journal.add(queueMessageEntity);
+            } catch (QueueException e) {
+                index.remove(queueMessageEntity.getId());
+                throw e;
+            }
+            return true;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void tryCancelIfNotStarted(List<QueryCriteria> criteria) throws QueueException {
+        indexLock.readLock().lock();
+        try {
+            if (!indexed) {
+                journal.tryCancelIfNotStarted(criteria);
+                return;
+            }
+
+            Optional<QueueMessageEntity> cancelledMessage = index.removeFirstNotRunning(toFilter(criteria));
+            if (cancelledMessage.isEmpty()) {
+                LOGGER.warn("Message could not be cancelled. Already running?");
+                return;
+            }
+
+            try {
+                journal.remove(cancelledMessage.get().getId());
+            } catch (QueueException e) {
+                index.add(cancelledMessage.get());
+                throw e;
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long remove(String queueMessageId) throws QueueException {
+        indexLock.readLock().lock();
+        try {
+            long removed = journal.remove(queueMessageId);
+            if (indexed) {
+                index.remove(queueMessageId);
+            }
+            return removed;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long complete(String queueMessageId) throws QueueException {
+        return updateState(queueMessageId, QueueState.COMPLETED);
+    }
+
+    @Override
+    public long markError(String queueMessageId) throws QueueException {
+        return updateState(queueMessageId, QueueState.ERROR);
+    }
+
+    @Override
+    public long markReady(String queueMessageId) throws QueueException {
+        return updateState(queueMessageId, QueueState.READY);
+    }
+
+    private long updateState(String queueMessageId, QueueState state) throws QueueException {
+        indexLock.readLock().lock();
+        try {
+            long updated;
+            switch (state) {
+                case COMPLETED:
+                    updated = journal.complete(queueMessageId);
+                    break;
+                case ERROR:
+                    updated = journal.markError(queueMessageId);
+                    break;
+                case READY:
+                    updated = journal.markReady(queueMessageId);
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected state " + state);
+            }
+            if (indexed) {
+                index.updateState(queueMessageId, state);
+            }
+            return updated;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long initializeOnBootstrap() {
+        indexLock.writeLock().lock();
+        try {
+            long updated = journal.initializeOnBootstrap();
+            List<QueueMessageEntity> queueMessageEntities = journal.findAll();
+            index.reset(queueMessageEntities);
+            indexed = true;
+            LOGGER.info("Queue index initialized with " + queueMessageEntities.size() + " messages");
+            return updated;
+        } catch (QueueException e) {
+            throw new VitamRuntimeException(e);
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <T> Optional<T> receive(QueueMessageType messageType) throws QueueException {
+        return receive(messageType, true);
+    }
+
+    @Override
+    public <T> Optional<T> receive(QueueMessageType messageType, boolean usePriority) throws QueueException {
+        return receive(null, messageType, usePriority);
+    }
+
+    @Override
+    public <T> Optional<T> receive(Bson inQuery, QueueMessageType messageType) throws QueueException {
+        return receive(inQuery, messageType, true);
+    }
+
+    @Override
+    public <T> Optional<T> receive(Bson inQuery, QueueMessageType messageType, boolean usePriority)
+        throws QueueException {
+        indexLock.readLock().lock();
+        try {
+            if (!indexed) {
+                return journal.receive(inQuery, messageType, usePriority);
+            }
+
+            BsonDocument filter = inQuery != null ? inQuery.toBsonDocument() : null;
+            if (!index.supports(filter)) {
+                LOGGER.debug("Filter not supported by queue index. Fallback to journal");
+                return receiveFromJournal(inQuery, messageType, usePriority);
+            }
+
+            while (true) {
+
+                Optional<String> queueMessageId = index.reserve(filter, messageType, usePriority);
+
+                if (queueMessageId.isEmpty()) {
+                    return Optional.empty();
+                }
+
+                Optional<T> queueMessage;
+                try {
+                    queueMessage = journal.receive(
+                        eq(QueueMessageEntity.ID, queueMessageId.get()), messageType, usePriority);
+                } catch (QueueException e) {
+                    index.updateState(queueMessageId.get(), QueueState.READY);
+                    throw e;
+                }
+
+                if (queueMessage.isPresent()) {
+                    return queueMessage;
+                }
+
+                // Message may have been concurrently received through journal fallback (or updated) : check its state
+                Optional<QueueMessageEntity> journalMessage = journal.findById(queueMessageId.get());
+                if (journalMessage.isPresent()) {
+                    LOGGER.debug("Message " + queueMessageId.get() + " not READY in queue journal (" +
+                        journalMessage.get().getState() + "). Index state updated");
+                    index.updateState(queueMessageId.get(), QueueState.RUNNING, journalMessage.get().getState());
+                } else {
+                    LOGGER.warn("Message " + queueMessageId.get() + " not found in queue journal. Removed from index");
+                    index.remove(queueMessageId.get());
+                }
+            }
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private <T> Optional<T> receiveFromJournal(Bson inQuery, QueueMessageType messageType, boolean usePriority)
+        throws QueueException {
+        Optional<T> queueMessage = journal.receive(inQuery, messageType, usePriority);
+        queueMessage.ifPresent(
+            message -> index.updateState(((QueueMessageEntity) message).getId(), QueueState.RUNNING));
+        return queueMessage;
+    }
+
+    @Override
+    public <T> List<T> listReady(Bson inQuery, QueueMessageType messageType, int limit) throws QueueException {
+        indexLock.readLock().lock();
+        try {
+            if (!indexed) {
+                return journal.listReady(inQuery, messageType, limit);
+            }
+
+            BsonDocument filter = inQuery.toBsonDocument();
+            if (!index.supports(filter)) {
+                LOGGER.debug("Filter not supported by queue index. Fallback to journal");
+                return journal.listReady(inQuery, messageType, limit);
+            }
+            return index.listReady(filter, messageType, limit);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private static BsonDocument toFilter(List<QueryCriteria> criteria) {
+        return Filters.and(QueryCriteriaUtils.criteriaToMongoFilters(criteria)).toBsonDocument();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.impl.queue;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonNull;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates simple mongo filters (as rendered by {@link com.mongodb.client.model.Filters}) against in-memory documents.
+ *
+ * Supported operators : implicit equality, $eq, $ne, $in, $nin, $gt, $gte, $lt, $lte and $and, on top-level fields.
+ */
+final class QueueMessageFilterMatcher {
+
+    private static final Set<String> SUPPORTED_OPERATORS =
+        Set.of("$eq", "$ne", "$in", "$nin", "$gt", "$gte", "$lt", "$lte");
+
+    private QueueMessageFilterMatcher() {
+        // Empty private constructor
+    }
+
+    /**
+     * @return true if filter only uses supported operators, and thus can be evaluated by {@link #matches}
+     */
+    static boolean supports(BsonDocument filter) {
+        if (filter == null) {
+            return true;
+        }
+        for (Map.Entry<String, BsonValue> clause : filter.entrySet()) {
+            if (!supportsClause(clause.getKey(), clause.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @throws IllegalArgumentException if filter is not supported (see {@link #supports})
+     */
+    static boolean matches(BsonDocument filter, BsonDocument document) {
+        if (filter == null) {
+            return true;
+        }
+        for (Map.Entry<String, BsonValue> clause : filter.entrySet()) {
+            if (!matchesClause(clause.getKey(), clause.getValue(), document)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean supportsClause(String field, BsonValue condition) {
+
+        if ("$and".equals(field)) {
+            if (!condition.isArray()) {
+                return false;
+            }
+            for (BsonValue subFilter : condition.asArray()) {
+                if (!subFilter.isDocument() || !supports(subFilter.asDocument())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        if (field.startsWith("$")) {
+            return false;
+        }
+
+        if (!isOperatorDocument(condition)) {
+            return true;
+        }
+
+        for (Map.Entry<String, BsonValue> operator : condition.asDocument().entrySet()) {
+            if (!SUPPORTED_OPERATORS.contains(operator.getKey())) {
+                return false;
+            }
+            if (("$in".equals(operator.getKey()) || "$nin".equals(operator.getKey())) &&
+                !operator.getValue().isArray()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesClause(String field, BsonValue condition, BsonDocument document) {
+
+        if ("$and".equals(field)) {
+            for (BsonValue subFilter : condition.asArray()) {
+                if (!matches(subFilter.asDocument(), document)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        if (field.startsWith("$")) {
+            throw new IllegalArgumentException("Unsupported operator " + field);
+        }
+
+        BsonValue value = document.get(field, BsonNull.VALUE);
+
+        if (!isOperatorDocument(condition)) {
+            return isEqual(value, condition);
+        }
+
+        for (Map.Entry<String, BsonValue> operator : condition.asDocument().entrySet()) {
+            if (!matchesOperator(operator.getKey(), operator.getValue(), value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isOperatorDocument(BsonValue condition) {
+        return condition.isDocument() && !condition.asDocument().isEmpty() &&
+            condition.asDocument().getFirstKey().startsWith("$");
+    }
+
+    private static boolean matchesOperator(String operator, BsonValue operand, BsonValue value) {
+        switch (operator) {
+            case "$eq":
+                return isEqual(value, operand);
+            case "$ne":
+                return !isEqual(value, operand);
+            case "$in":
+                return isIn(value, operand.asArray());
+            case "$nin":
+                return !isIn(value, operand.asArray());
+            case "$gt":
+                return isComparable(value, operand) && compare(value, operand) > 0;
+            case "$gte":
+                return isComparable(value, operand) && compare(value, operand) >= 0;
+            case "$lt":
+                return isComparable(value, operand) && compare(value, operand) < 0;
+            case "$lte":
+                return isComparable(value, operand) && compare(value, operand) <= 0;
+            default:
+                throw new IllegalArgumentException("Unsupported operator " + operator);
+        }
+    }
+
+    private static boolean isIn(BsonValue value, BsonArray values) {
+        for (BsonValue item : values) {
+            if (isEqual(value, item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEqual(BsonValue value, BsonValue expected) {
+        if (value.isNumber() && expected.isNumber()) {
+            return value.asNumber().doubleValue() == expected.asNumber().doubleValue();
+        }
+        return value.equals(expected);
+    }
+
+    private static boolean isComparable(BsonValue value, BsonValue operand) {
+        return (value.isNumber() && operand.isNumber()) || (value.isString() && operand.isString());
+    }
+
+    private static int compare(BsonValue value, BsonValue operand) {
+        if (value.isNumber()) {
+            return Double.compare(value.asNumber().doubleValue(), operand.asNumber().doubleValue());
+        }
+        return value.asString().getValue().compareTo(operand.asString().getValue());
+    }
+}
@@ -0,0 +1,573 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.impl.queue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import fr.gouv.vitam.common.exception.InvalidParseOperationException;
+import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageEntity;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageType;
+import fr.gouv.vitam.storage.engine.common.model.QueueState;
+import fr.gouv.vitam.storage.engine.common.model.ReadOrder;
+import fr.gouv.vitam.storage.engine.common.model.WriteOrder;
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of queue messages.
+ *
+ * READY messages are indexed by type, and by type + bucket / tape code, in receive order (priority, then creation
+ * date). All messages are indexed by id, and by file name / file path for duplicate detection & cancellation.
+ */
+class QueueMessageIndex {
+
+    private static final Map<QueueMessageType, List<String>> READY_MESSAGE_INDEXED_FIELDS = Map.of(
+        QueueMessageType.ReadOrder, List.of(ReadOrder.TAPE_CODE, ReadOrder.BUCKET),
+        QueueMessageType.WriteOrder, List.of(WriteOrder.BUCKET),
+        QueueMessageType.WriteBackupOrder, List.of(WriteOrder.BUCKET));
+    private static final List<String> MESSAGE_LOOKUP_FIELDS = List.of(ReadOrder.FILE_NAME, WriteOrder.FILE_PATH);
+
+    private static final Comparator<IndexedMessage> PRIORITY_ORDER = QueueMessageIndex::compareByPriority;
+    private static final Comparator<IndexedMessage> CREATION_ORDER = QueueMessageIndex::compareByCreation;
+
+    private final Map<String, IndexedMessage> messagesById = new HashMap<>();
+    private final Map<String, Map<BsonValue, Set<IndexedMessage>>> messagesByLookupField = new HashMap<>();
+    private final Map<QueueMessageType, NavigableSet<IndexedMessage>> readyMessagesByType =
+        new EnumMap<>(QueueMessageType.class);
+    private final Map<QueueMessageType, Map<String, ReadyMessageGroups>> readyMessagesByTypeAndField =
+        new EnumMap<>(QueueMessageType.class);
+
+    private long sequence = 0L;
+
+    synchronized void reset(Collection<? extends QueueMessageEntity> messages) {
+        messagesById.clear();
+        messagesByLookupField.clear();
+        readyMessagesByType.clear();
+        readyMessagesByTypeAndField.clear();
+        for (QueueMessageEntity message : messages) {
+            add(message);
+        }
+    }
+
+    synchronized void add(QueueMessageEntity queueMessageEntity) {
+        IndexedMessage message = new IndexedMessage(queueMessageEntity, sequence++);
+        remove(message.id);
+        messagesById.put(message.id, message);
+        for (String field : MESSAGE_LOOKUP_FIELDS) {
+            BsonValue value = message.document.get(field);
+            if (value != null) {
+                messagesByLookupField.computeIfAbsent(field, f -> new HashMap<>())
+                    .computeIfAbsent(value, v -> new HashSet<>())
+                    .add(message);
+            }
+        }
+        if (message.state == QueueState.READY) {
+            addReady(message);
+        }
+    }
+
+    /**
+     * @return true if filter can be evaluated against indexed messages
+     */
+    boolean supports(BsonDocument filter) {
+        return QueueMessageFilterMatcher.supports(filter);
+    }
+
+    /**
+     * @return true if message has been indexed, false if some message already matches filter
+     * @throws IllegalArgumentException if filter is not supported (see {@link #supports})
+     */
+    synchronized boolean addIfAbsent(BsonDocument filter, QueueMessageEntity queueMessageEntity) {
+        checkSupported(filter);
+        if (findFirst(filter, message -> true).isPresent()) {
+            return false;
+        }
+        add(queueMessageEntity);
+        return true;
+    }
+
+    synchronized boolean remove(String id) {
+        IndexedMessage message = messagesById.remove(id);
+        if (message == null) {
+            return false;
+        }
+        for (String field : MESSAGE_LOOKUP_FIELDS) {
+            BsonValue value = message.document.get(field);
+            if (value != null) {
+                Map<BsonValue, Set<IndexedMessage>> messagesByValue = messagesByLookupField.get(field);
+                Set<IndexedMessage> messages = messagesByValue.get(value);
+                messages.remove(message);
+                if (messages.isEmpty()) {
+                    messagesByValue.remove(value);
+                }
+            }
+        }
+        if (message.state == QueueState.READY) {
+            removeReady(message);
+        }
+        return true;
+    }
+
+    synchronized boolean updateState(String id, QueueState state) {
+        IndexedMessage message = messagesById.get(id);
+        if (message == null) {
+            return false;
+        }
+        if (message.state == QueueState.READY && state != QueueState.READY) {
+            removeReady(message);
+        } else if (message.state != QueueState.READY && state == QueueState.READY) {
+            addReady(message);
+        }
+        message.state = state;
+        return true;
+    }
+
+    /**
+     * Updates message state, only if its current indexed state is the expected one
+     *
+     * @return true if state has been updated
+     */
+    synchronized boolean updateState(String id, QueueState expectedState, QueueState state) {
+        IndexedMessage message = messagesById.get(id);
+        if (message == null || message.state != expectedState) {
+            return false;
+        }
+        return updateState(id, state);
+    }
+
+    /**
+     * Selects the next READY message matching filter, and marks it as RUNNING.
+     *
+     * @return the selected message id, if any
+     * @throws IllegalArgumentException if filter is not supported (see {@link #supports})
+     */
+    synchronized Optional<String> reserve(BsonDocument filter, QueueMessageType messageType, boolean usePriority) {
+        checkSupported(filter);
+
+        Optional<IndexedMessage> message = usePriority ?
+            selectFirstReady(filter, messageType) :
+            listReady(filter, messageType).stream().min(CREATION_ORDER);
+
+        message.ifPresent(m -> updateState(m.id, QueueState.RUNNING));
+        return message.map(m -> m.id);
+    }
+
+    /**
+     * @return READY messages matching filter, sorted by creation date
+     * @throws IllegalArgumentException if filter is not supported (see {@link #supports})
+     */
+    synchronized <T> List<T> listReady(BsonDocument filter, QueueMessageType messageType, int limit) {
+        checkSupported(filter);
+
+        return listReady(filter, messageType).stream()
+            .sorted(CREATION_ORDER)
+            .limit(limit)
+            .map(message -> (T) message.entity)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Removes the first message matching filter that is not RUNNING, if any.
+     *
+     * @return the removed message, if any
+     * @throws IllegalArgumentException if filter is not supported (see {@link #supports})
+     */
+    synchronized Optional<QueueMessageEntity> removeFirstNotRunning(BsonDocument filter) {
+        checkSupported(filter);
+        Optional<IndexedMessage> message = findFirst(filter, m -> m.state != QueueState.RUNNING);
+        message.ifPresent(m -> remove(m.id));
+        return message.map(m -> m.entity);
+    }
+
+    private void checkSupported(BsonDocument filter) {
+        if (!supports(filter)) {
+            throw new IllegalArgumentException("Filter not supported by queue index " + filter.toJson());
+        }
+    }
+
+    private Optional<IndexedMessage> findFirst(BsonDocument filter, Predicate<IndexedMessage> predicate) {
+
+        Collection<IndexedMessage> candidates = null;
+        for (String field : MESSAGE_LOOKUP_FIELDS) {
+            BsonValue value = getEqualityValue(filter, field);
+            if (value != null) {
+                candidates = messagesByLookupField.getOrDefault(field, Map.of()).getOrDefault(value, Set.of());
+                break;
+            }
+        }
+        if (candidates == null) {
+            BsonValue id = getEqualityValue(filter, QueueMessageEntity.ID);
+            candidates = id != null ?
+                Optional.ofNullable(messagesById.get(id.asString().getValue())).map(List::of).orElse(List.of()) :
+                messagesById.values();
+        }
+
+        return candidates.stream()
+            .filter(predicate)
+            .filter(message -> QueueMessageFilterMatcher.matches(filter, message.document))
+            .min(CREATION_ORDER);
+    }
+
+    private Optional<IndexedMessage> selectFirstReady(BsonDocument filter, QueueMessageType messageType) {
+
+        BsonValue id = getEqualityValue(filter, QueueMessageEntity.ID);
+        if (id != null) {
+            return getReadyById(id, messageType)
+                .filter(message -> QueueMessageFilterMatcher.matches(filter, message.document));
+        }
+
+        Map<String, ReadyMessageGroups> readyMessagesByField =
+            readyMessagesByTypeAndField.getOrDefault(messageType, Map.of());
+        List<String> indexedFields = READY_MESSAGE_INDEXED_FIELDS.getOrDefault(messageType, List.of());
+
+        for (String field : indexedFields) {
+            BsonValue value = getEqualityValue(filter, field);
+            if (value != null) {
+                ReadyMessageGroups groups = readyMessagesByField.get(field);
+                return selectFirstMatching(groups != null ? groups.get(value) : emptySet(), filter);
+            }
+        }
+
+        for (String field : indexedFields) {
+            BsonArray excludedValues = getExcludedValues(filter, field);
+            ReadyMessageGroups groups = readyMessagesByField.get(field);
+            if (excludedValues != null && groups != null) {
+                // Group heads are sorted : the first non-excluded head is the next message, if it matches the filter
+                Set<BsonValue> excluded = new HashSet<>(excludedValues.getValues());
+                for (IndexedMessage head : groups.heads) {
+                    if (excluded.contains(head.document.get(field))) {
+                        continue;
+                    }
+                    if (QueueMessageFilterMatcher.matches(filter, head.document)) {
+                        return Optional.of(head);
+                    }
+                    // Other filter clauses do not match : fallback to full scan
+                    return selectFirstMatching(readyMessagesByType.getOrDefault(messageType, emptySet()), filter);
+                }
+                return Optional.empty();
+            }
+        }
+
+        return selectFirstMatching(readyMessagesByType.getOrDefault(messageType, emptySet()), filter);
+    }
+
+    private List<IndexedMessage> listReady(BsonDocument filter, QueueMessageType messageType) {
+
+        Collection<IndexedMessage> candidates = null;
+
+        BsonValue id = getEqualityValue(filter, QueueMessageEntity.ID);
+        if (id != null) {
+            candidates = getReadyById(id, messageType).map(List::of).orElse(List.of());
+        } else {
+            for (String field : READY_MESSAGE_INDEXED_FIELDS.getOrDefault(messageType, List.of())) {
+                BsonValue value = getEqualityValue(filter, field);
+                if (value != null) {
+                    ReadyMessageGroups groups =
+                        readyMessagesByTypeAndField.getOrDefault(messageType, Map.of()).get(field);
+                    candidates = groups != null ? groups.get(value) : emptySet();
+                    break;
+                }
+            }
+        }
+        if (candidates == null) {
+            candidates = readyMessagesByType.getOrDefault(messageType, emptySet());
+        }
+
+        List<IndexedMessage> results = new ArrayList<>();
+        for (IndexedMessage message : candidates) {
+            if (QueueMessageFilterMatcher.matches(filter, message.document)) {
+                results.add(message);
+            }
+        }
+        return results;
+    }
+
+    private Optional<IndexedMessage> getReadyById(BsonValue id, QueueMessageType messageType) {
+        if (!id.isString()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(messagesById.get(id.asString().getValue()))
+            .filter(message -> message.state == QueueState.READY && message.type == messageType);
+    }
+
+    private static Optional<IndexedMessage> selectFirstMatching(NavigableSet<IndexedMessage> messages,
+        BsonDocument filter) {
+        Iterator<IndexedMessage> iterator = messages.iterator();
+        while (iterator.hasNext()) {
+            IndexedMessage message = iterator.next();
+            if (QueueMessageFilterMatcher.matches(filter, message.document)) {
+                return Optional.of(message);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void addReady(IndexedMessage message) {
+        readyMessagesByType.computeIfAbsent(message.type, t -> new TreeSet<>(PRIORITY_ORDER)).add(message);
+        for (String field : READY_MESSAGE_INDEXED_FIELDS.getOrDefault(message.type, List.of())) {
+            BsonValue value = message.document.get(field);
+            if (value != null) {
+                readyMessagesByTypeAndField.computeIfAbsent(message.type, t -> new HashMap<>())
+                    .computeIfAbsent(field, f -> new ReadyMessageGroups())
+                    .add(value, message);
+            }
+        }
+    }
+
+    private void removeReady(IndexedMessage message) {
+        NavigableSet<IndexedMessage> readyMessages = readyMessagesByType.get(message.type);
+        readyMessages.remove(message);
+        if (readyMessages.isEmpty()) {
+            readyMessagesByType.remove(message.type);
+        }
+        for (String field : READY_MESSAGE_INDEXED_FIELDS.getOrDefault(message.type, List.of())) {
+            BsonValue value = message.document.get(field);
+            if (value != null) {
+                readyMessagesByTypeAndField.get(message.type).get(field).remove(value, message);
+            }
+        }
+    }
+
+    /**
+     * @return value of a top-level (or $and nested) equality clause on field, if any
+     */
+    private static BsonValue getEqualityValue(BsonDocument filter, String field) {
+        return findCondition(filter, field)
+            .filter(condition -> !condition.isDocument() || !isOperatorDocument(condition.asDocument()))
+            .orElse(null);
+    }
+
+    /**
+     * @return values of a top-level (or $and nested) $nin clause on field, if any
+     */
+    private static BsonArray getExcludedValues(BsonDocument filter, String field) {
+        return findCondition(filter, field)
+            .filter(condition -> condition.isDocument() && isOperatorDocument(condition.asDocument()) &&
+                condition.asDocument().containsKey("$nin"))
+            .map(condition -> condition.asDocument().getArray("$nin"))
+            .orElse(null);
+    }
+
+    private static Optional<BsonValue> findCondition(BsonDocument filter, String field) {
+        if (filter == null) {
+            return Optional.empty();
+        }
+        if (filter.containsKey(field)) {
+            return Optional.of(filter.get(field));
+        }
+        if (filter.containsKey("$and")) {
+            for (BsonValue subFilter : filter.getArray("$and")) {
+                Optional<BsonValue> condition = findCondition(subFilter.asDocument(), field);
+                if (condition.isPresent()) {
+                    return condition;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static boolean isOperatorDocument(BsonDocument document) {
+        return !document.isEmpty() && document.getFirstKey().startsWith("$");
+    }
+
+    private static NavigableSet<IndexedMessage> emptySet() {
+        return Collections.emptyNavigableSet();
+    }
+
+    private static int compareByPriority(IndexedMessage message1, IndexedMessage message2) {
+        int result = Integer.compare(message1.priority, message2.priority);
+        return result != 0 ? result : compareByCreation(message1, message2);
+    }
+
+    private static int compareByCreation(IndexedMessage message1, IndexedMessage message2) {
+        int result = message1.created.compareTo(message2.created);
+        return result != 0 ? result : Long.compare(message1.sequence, message2.sequence);
+    }
+
+    /**
+     * Filterable fields of message (state is tracked apart). Read & write orders are mapped directly, for faster index
+     * (re)build.
+     */
+    private static BsonDocument toBsonDocument(QueueMessageEntity entity) {
+        if (entity instanceof ReadOrder) {
+            ReadOrder readOrder = (ReadOrder) entity;
+            return toBsonDocumentHeader(entity)
+                .append(ReadOrder.TAPE_CODE, toBsonValue(readOrder.getTapeCode()))
+                .append(ReadOrder.BUCKET, toBsonValue(readOrder.getBucket()))
+                .append(ReadOrder.FILE_POSITION, readOrder.getFilePosition() != null ?
+                    new BsonInt32(readOrder.getFilePosition()) : BsonNull.VALUE)
+                .append(ReadOrder.FILE_NAME, toBsonValue(readOrder.getFileName()))
+                .append(ReadOrder.FILE_BUCKET_ID, toBsonValue(readOrder.getFileBucketId()))
+                .append(ReadOrder.SIZE, new BsonInt64(readOrder.getSize()))
+                .append(ReadOrder.READ_AHEAD, BsonBoolean.valueOf(readOrder.isReadAhead()));
+        }
+        if (entity instanceof WriteOrder) {
+            WriteOrder writeOrder = (WriteOrder) entity;
+            return toBsonDocumentHeader(entity)
+                .append(WriteOrder.BUCKET, toBsonValue(writeOrder.getBucket()))
+                .append(WriteOrder.FILE_BUCKET_ID, toBsonValue(writeOrder.getFileBucketId()))
+                .append(WriteOrder.FILE_PATH, toBsonValue(writeOrder.getFilePath()))
+                .append(WriteOrder.SIZE, new BsonInt64(writeOrder.getSize()))
+                .append(WriteOrder.DIGEST, toBsonValue(writeOrder.getDigest()))
+                .append(WriteOrder.ARCHIVE_ID, toBsonValue(writeOrder.getArchiveId()));
+        }
+        return toBsonDocumentFromJson(entity);
+    }
+
+    private static BsonDocument toBsonDocumentHeader(QueueMessageEntity entity) {
+        return new BsonDocument()
+            .append(QueueMessageEntity.ID, toBsonValue(entity.getId()))
+            .append(QueueMessageEntity.MESSAGE_TYPE, toBsonValue(entity.getMessageType().name()))
+            .append(QueueMessageEntity.PRIORITY, new BsonInt32(entity.getPriority()))
+            .append(QueueMessageEntity.TAG_CREATION_DATE, toBsonValue(entity.getCreated()));
+    }
+
+    private static BsonValue toBsonValue(String value) {
+        return value != null ? new BsonString(value) : BsonNull.VALUE;
+    }
+
+    private static BsonDocument toBsonDocumentFromJson(QueueMessageEntity entity) {
+        try {
+            BsonDocument document = new BsonDocument();
+            Iterator<Map.Entry<String, JsonNode>> fields = JsonHandler.toJsonNode(entity).fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                document.put(field.getKey(), toBsonValue(field.getValue()));
+            }
+            return document;
+        } catch (InvalidParseOperationException e) {
+            throw new IllegalStateException("Could not index queue message " + entity.getId(), e);
+        }
+    }
+
+    private static BsonValue toBsonValue(JsonNode node) {
+        if (node.isTextual()) {
+            return new BsonString(node.textValue());
+        }
+        if (node.isInt()) {
+            return new BsonInt32(node.intValue());
+        }
+        if (node.isIntegralNumber()) {
+            return new BsonInt64(node.longValue());
+        }
+        if (node.isNumber()) {
+            return new BsonDouble(node.doubleValue());
+        }
+        if (node.isBoolean()) {
+            return BsonBoolean.valueOf(node.booleanValue());
+        }
+        if (node.isNull()) {
+            return BsonNull.VALUE;
+        }
+        return BsonDocument.parse("{\"value\":" + JsonHandler.unprettyPrint(node) + "}").get("value");
+    }
+
+    /**
+     * READY messages grouped by field value, with the sorted set of the first message of each group.
+     */
+    private static class ReadyMessageGroups {
+        private final Map<BsonValue, NavigableSet<IndexedMessage>> groups = new HashMap<>();
+        private final NavigableSet<IndexedMessage> heads = new TreeSet<>(PRIORITY_ORDER);
+
+        private NavigableSet<IndexedMessage> get(BsonValue value) {
+            return groups.getOrDefault(value, emptySet());
+        }
+
+        private void add(BsonValue value, IndexedMessage message) {
+            NavigableSet<IndexedMessage> group = groups.computeIfAbsent(value, v -> new TreeSet<>(PRIORITY_ORDER));
+            IndexedMessage previousHead = group.isEmpty() ? null : group.first();
+            group.add(message);
+            if (group.first() != previousHead) {
+                if (previousHead != null) {
+                    heads.remove(previousHead);
+                }
+                heads.add(message);
+            }
+        }
+
+        private void remove(BsonValue value, IndexedMessage message) {
+            NavigableSet<IndexedMessage> group = groups.get(value);
+            boolean isHead = group.first() == message;
+            group.remove(message);
+            if (isHead) {
+                heads.remove(message);
+                if (!group.isEmpty()) {
+                    heads.add(group.first());
+                }
+            }
+            if (group.isEmpty()) {
+                groups.remove(value);
+            }
+        }
+    }
+
+    private static class IndexedMessage {
+        private final String id;
+        private final QueueMessageType type;
+        private final int priority;
+        private final String created;
+        private final long sequence;
+        private final QueueMessageEntity entity;
+        private final BsonDocument document;
+        private QueueState state;
+
+        private IndexedMessage(QueueMessageEntity entity, long sequence) {
+            this.id = entity.getId();
+            this.type = entity.getMessageType();
+            this.priority = entity.getPriority();
+            this.created = entity.getCreated() != null ? entity.getCreated() : "";
+            this.sequence = sequence;
+            this.entity = entity;
+            this.document = toBsonDocument(entity);
+            this.state = entity.getState();
+        }
+    }
+}
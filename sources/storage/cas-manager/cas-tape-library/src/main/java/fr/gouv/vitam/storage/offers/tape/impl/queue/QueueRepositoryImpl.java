@@ -57,6 +57,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
@@ -90,17 +91,19 @@ public class QueueRepositoryImpl implements QueueRepository {
     }
 
     @Override
-    public void addIfAbsent(List<QueryCriteria> criteria, QueueMessageEntity queueMessageEntity) throws QueueException {
+    public boolean addIfAbsent(List<QueryCriteria> criteria, QueueMessageEntity queueMessageEntity)
+        throws QueueException {
         try {
 
             List<Bson> filters = QueryCriteriaUtils.criteriaToMongoFilters(criteria);
 
             if (collection.find(Filters.and(filters)).iterator().hasNext()) {
                 LOGGER.warn("Message already in queue " + JsonHandler.unprettyPrint(queueMessageEntity));
-            } else {
-                Document doc = Document.parse(JsonHandler.unprettyPrint(queueMessageEntity));
-                collection.insertOne(doc);
+                return false;
             }
+            Document doc = Document.parse(JsonHandler.unprettyPrint(queueMessageEntity));
+            collection.insertOne(doc);
+            return true;
 
         } catch (Exception e) {
             throw new QueueException(e);
@@ -227,6 +230,66 @@ public class QueueRepositoryImpl implements QueueRepository {
 
     }
 
+    @Override
+    public <T> List<T> listReady(Bson inQuery, QueueMessageType messageType, int limit) throws QueueException {
+
+        Bson query = and(eq(QueueMessageEntity.STATE, QueueState.READY.getState()),
+            eq(QueueMessageEntity.MESSAGE_TYPE, messageType.name()), inQuery);
+
+        List<T> results = new ArrayList<>();
+        try (MongoCursor<Document> iterator = collection.find(query)
+            .sort(Sorts.ascending(QueueMessageEntity.TAG_CREATION_DATE))
+            .limit(limit)
+            .iterator()) {
+            while (iterator.hasNext()) {
+                results.add(BsonHelper.fromDocumentToObject(iterator.next(), (Class<T>) messageType.getClazz()));
+            }
+        } catch (Exception e) {
+            throw new QueueException(e);
+        }
+        return results;
+    }
+
+    /**
+     * Load all queue entries, whatever their state, in insertion order
+     *
+     * @return all queue entries
+     */
+    public List<QueueMessageEntity> findAll() throws QueueException {
+        List<QueueMessageEntity> results = new ArrayList<>();
+        try (MongoCursor<Document> iterator = collection.find().iterator()) {
+            while (iterator.hasNext()) {
+                results.add(toQueueMessageEntity(iterator.next()));
+            }
+        } catch (Exception e) {
+            throw new QueueException(e);
+        }
+        return results;
+    }
+
+    /**
+     * Load queue entry by id, whatever its state
+     *
+     * @param queueMessageId queue entry id
+     * @return the queue entry, if any
+     */
+    public Optional<QueueMessageEntity> findById(String queueMessageId) throws QueueException {
+        try {
+            Document document = collection.find(eq(QueueMessageEntity.ID, queueMessageId)).first();
+            if (document == null) {
+                return Optional.empty();
+            }
+            return Optional.of(toQueueMessageEntity(document));
+        } catch (Exception e) {
+            throw new QueueException(e);
+        }
+    }
+
+    private static QueueMessageEntity toQueueMessageEntity(Document document) throws InvalidParseOperationException {
+        QueueMessageType messageType = QueueMessageType.valueOf(document.getString(QueueMessageEntity.MESSAGE_TYPE));
+        return BsonHelper.fromDocumentToObject(document, messageType.getClazz());
+    }
+
     /**
      * count queue entries grouped by state & message type
      *
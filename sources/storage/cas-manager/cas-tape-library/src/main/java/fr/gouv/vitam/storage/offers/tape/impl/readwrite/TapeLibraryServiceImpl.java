@@ -42,12 +42,14 @@ import fr.gouv.vitam.storage.offers.tape.dto.TapeDriveStatus;
 import fr.gouv.vitam.storage.offers.tape.exception.ReadWriteErrorCode;
 import fr.gouv.vitam.storage.offers.tape.exception.ReadWriteException;
 import fr.gouv.vitam.storage.offers.tape.exception.TapeCommandException;
+import fr.gouv.vitam.storage.offers.tape.metrics.DriveWorkerMetrics;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeDriveService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeLibraryService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeLoadUnloadService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeRobotPool;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeRobotService;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.time.StopWatch;
 
 import java.io.File;
 import java.util.Objects;
@@ -133,6 +135,7 @@ public class TapeLibraryServiceImpl implements TapeLibraryService {
         try {
             goToPosition(tape, tape.getFileCount(), ReadWriteErrorCode.KO_ON_GOTO_FILE_COUNT);
 
+            StopWatch transferStopWatch = StopWatch.createStarted();
             try {
                 tapeDriveService.getReadWriteService().writeToTape(filePath);
             } catch (TapeCommandException e) {
@@ -172,6 +175,9 @@ public class TapeLibraryServiceImpl implements TapeLibraryService {
                     ", Tape space usage: " + tapeOccupation + " (bytes)" +
                     ", Full tape threshold: " + (fullCartridgeDetectionThresholdInMB * MB_TO_BYTES) + " (bytes)",
                     ReadWriteErrorCode.KO_ON_WRITE_TO_TAPE, e);
+            } finally {
+                DriveWorkerMetrics.observeTransferTime(getLibraryIdentifier(), getDriveIndex(),
+                    DriveWorkerMetrics.WRITE_OPERATION, transferStopWatch.getTime(TimeUnit.MILLISECONDS));
             }
 
             tape.setFileCount(tape.getFileCount() + 1);
@@ -193,6 +199,7 @@ public class TapeLibraryServiceImpl implements TapeLibraryService {
         goToPosition(tape, position, ReadWriteErrorCode.KO_ON_GO_TO_POSITION);
 
         // read file from tape
+        StopWatch transferStopWatch = StopWatch.createStarted();
         try {
             tapeDriveService.getReadWriteService().readFromTape(outputPath);
 
@@ -204,6 +211,9 @@ public class TapeLibraryServiceImpl implements TapeLibraryService {
             throw new ReadWriteException(MSG_PREFIX + TAPE_MSG + tape.getCode() +
                 " Action : Write, Entity: " + JsonHandler.unprettyPrint(e.getDetails()),
                 ReadWriteErrorCode.KO_ON_READ_FROM_TAPE, e);
+        } finally {
+            DriveWorkerMetrics.observeTransferTime(getLibraryIdentifier(), getDriveIndex(),
+                DriveWorkerMetrics.READ_OPERATION, transferStopWatch.getTime(TimeUnit.MILLISECONDS));
         }
     }
 
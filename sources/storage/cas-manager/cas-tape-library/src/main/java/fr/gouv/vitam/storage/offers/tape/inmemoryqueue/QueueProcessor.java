@@ -39,14 +39,31 @@ public abstract class QueueProcessor<T> {
     private static final int RETRY_DELAY_IN_MILLISECONDS = 60_000;
 
     private final String workerName;
+    private final int nbListeners;
     private final LinkedBlockingDeque<T> queue = new LinkedBlockingDeque<>();
+    private volatile boolean shutdown = false;
 
     protected QueueProcessor(String workerName) {
+        this(workerName, 1);
+    }
+
+    /**
+     * @param workerName worker thread name
+     * @param nbListeners number of listener threads concurrently consuming messages from the queue
+     */
+    protected QueueProcessor(String workerName, int nbListeners) {
+        if (nbListeners < 1) {
+            throw new IllegalArgumentException("Invalid listener count " + nbListeners);
+        }
         this.workerName = workerName;
+        this.nbListeners = nbListeners;
     }
 
     public void startListener() {
-        VitamThreadPoolExecutor.getDefaultExecutor().execute(this::workerTask);
+        for (int i = 0; i < nbListeners; i++) {
+            String threadName = nbListeners == 1 ? workerName : workerName + "-" + i;
+            VitamThreadPoolExecutor.getDefaultExecutor().execute(() -> workerTask(threadName));
+        }
     }
 
     public void addToQueue(T message) {
@@ -57,11 +74,11 @@ public abstract class QueueProcessor<T> {
         queue.addFirst(message);
     }
 
-    private void workerTask() {
+    private void workerTask(String threadName) {
 
         String initialThreadName = Thread.currentThread().getName();
         try {
-            Thread.currentThread().setName(workerName);
+            Thread.currentThread().setName(threadName);
 
             processMessages();
 
@@ -79,6 +96,13 @@ public abstract class QueueProcessor<T> {
 
         do {
 
+            if (shutdown) {
+                // Another listener failed. Keep message in queue & stop
+                queue.addFirst(message);
+                LOGGER.error("Listener " + Thread.currentThread().getName() + " shutting down after fatal error");
+                return;
+            }
+
             try {
 
                 processMessage(message);
@@ -88,6 +112,7 @@ public abstract class QueueProcessor<T> {
 
             } catch (RuntimeException ex) {
 
+                shutdown = true;
                 throw new IllegalStateException("Unexpected exception occurred during message processing " +
                     JsonHandler.unprettyPrint(message) + ". Shutting down...", ex);
 
@@ -97,6 +122,7 @@ public abstract class QueueProcessor<T> {
 
                     case FATAL_SHUTDOWN:
 
+                        shutdown = true;
                         throw new IllegalStateException("Fatal exception occurred during message processing " +
                             JsonHandler.unprettyPrint(message) + ". Shutting down...", ex);
 
@@ -32,11 +32,24 @@ import fr.gouv.vitam.common.metrics.GaugeUtils;
 import fr.gouv.vitam.common.metrics.VitamMetricsNames;
 import fr.gouv.vitam.storage.offers.tape.cas.AccessRequestReferentialRepository;
 import fr.gouv.vitam.storage.offers.tape.exception.AccessRequestReferentialException;
+import io.prometheus.client.Counter;
 
 public class AccessRequestMetrics {
 
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(AccessRequestMetrics.class);
 
+    public static final Counter READ_AHEAD_ARCHIVES = Counter.build()
+        .name(VitamMetricsNames.VITAM_TAPE_OFFER_READ_AHEAD_ARCHIVES_TOTAL)
+        .help("Number of archives scheduled for read-ahead on access request creation")
+        .labelNames("file_bucket")
+        .register();
+
+    public static final Counter READ_AHEAD_MOUNTS_AVOIDED = Counter.build()
+        .name(VitamMetricsNames.VITAM_TAPE_OFFER_READ_AHEAD_MOUNTS_AVOIDED_TOTAL)
+        .help("Number of tape mounts avoided thanks to archives previously staged in cache by read-ahead")
+        .labelNames("file_bucket")
+        .register();
+
     private AccessRequestMetrics() {
         // Empty private constructor
     }
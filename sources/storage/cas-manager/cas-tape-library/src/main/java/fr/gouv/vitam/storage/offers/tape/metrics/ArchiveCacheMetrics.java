@@ -29,9 +29,28 @@ package fr.gouv.vitam.storage.offers.tape.metrics;
 import fr.gouv.vitam.common.metrics.GaugeUtils;
 import fr.gouv.vitam.common.metrics.VitamMetricsNames;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveCacheStorage;
+import io.prometheus.client.Counter;
 
 public final class ArchiveCacheMetrics {
 
+    public static final Counter CACHE_HITS = Counter.build()
+        .name(VitamMetricsNames.VITAM_TAPE_OFFER_CACHE_HITS_TOTAL)
+        .help("Number of archive reads served from cache for vitam tape offer")
+        .labelNames("file_bucket")
+        .register();
+
+    public static final Counter CACHE_MISSES = Counter.build()
+        .name(VitamMetricsNames.VITAM_TAPE_OFFER_CACHE_MISSES_TOTAL)
+        .help("Number of archive reads not found in cache for vitam tape offer")
+        .labelNames("file_bucket")
+        .register();
+
+    public static final Counter CACHE_EVICTIONS = Counter.build()
+        .name(VitamMetricsNames.VITAM_TAPE_OFFER_CACHE_EVICTIONS_TOTAL)
+        .help("Number of archives evicted from cache for vitam tape offer")
+        .labelNames("file_bucket")
+        .register();
+
     private ArchiveCacheMetrics() {
         // Empty private constructor
     }
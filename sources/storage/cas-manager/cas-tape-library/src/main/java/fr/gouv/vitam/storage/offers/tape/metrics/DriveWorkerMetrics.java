@@ -29,11 +29,31 @@ package fr.gouv.vitam.storage.offers.tape.metrics;
 import fr.gouv.vitam.common.metrics.GaugeUtils;
 import fr.gouv.vitam.common.metrics.VitamMetricsNames;
 import fr.gouv.vitam.storage.offers.tape.worker.TapeDriveWorkerManager;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
 
 import java.util.Map;
 
 public final class DriveWorkerMetrics {
 
+    private static final double BYTES_PER_GB = 1_000_000_000d;
+
+    public static final String READ_OPERATION = "read";
+    public static final String WRITE_OPERATION = "write";
+
+    public static final Histogram DRIVE_READ_TIME_PER_GB = Histogram.build()
+        .name(VitamMetricsNames.VITAM_TAPE_OFFER_DRIVE_READ_TIME_PER_GB)
+        .help("Drive time (in seconds) spent per GB read from tape by read orders of a vitam tape offer")
+        .labelNames("library", "drive")
+        .buckets(1, 2.5, 5, 7.5, 10, 15, 20, 30, 45, 60, 120, 300, 600, 1800, 3600)
+        .register();
+
+    public static final Counter DRIVE_TRANSFER_TIME = Counter.build()
+        .name(VitamMetricsNames.VITAM_TAPE_OFFER_DRIVE_TRANSFER_SECONDS_TOTAL)
+        .help("Total drive time (in seconds) spent transferring data to / from tape in a vitam tape offer")
+        .labelNames("library", "drive", "operation")
+        .register();
+
     private DriveWorkerMetrics() {
         // Empty private constructor
     }
@@ -52,4 +72,36 @@ public final class DriveWorkerMetrics {
             () -> (double) tapeDriveWorkerManager.getInterruptedWorkerCount()
         ).register();
     }
+
+    /**
+     * Observes drive time spent by a completed read order, normalized by the size of the read file.
+     *
+     * @param tapeLibrary the tape library identifier
+     * @param driveIndex the drive index
+     * @param durationInMillis drive time spent by the read order
+     * @param sizeInBytes size of the file read from tape
+     */
+    public static void observeReadTime(String tapeLibrary, int driveIndex, long durationInMillis, long sizeInBytes) {
+        if (sizeInBytes <= 0) {
+            return;
+        }
+        DRIVE_READ_TIME_PER_GB
+            .labels(tapeLibrary, Integer.toString(driveIndex))
+            .observe((durationInMillis / 1000d) / (sizeInBytes / BYTES_PER_GB));
+    }
+
+    /**
+     * Reports drive time spent transferring a file to / from tape.
+     *
+     * @param tapeLibrary the tape library identifier
+     * @param driveIndex the drive index
+     * @param operation {@link #READ_OPERATION} or {@link #WRITE_OPERATION}
+     * @param durationInMillis transfer duration
+     */
+    public static void observeTransferTime(String tapeLibrary, int driveIndex, String operation,
+        long durationInMillis) {
+        DRIVE_TRANSFER_TIME
+            .labels(tapeLibrary, Integer.toString(driveIndex), operation)
+            .inc(durationInMillis / 1000d);
+    }
 }
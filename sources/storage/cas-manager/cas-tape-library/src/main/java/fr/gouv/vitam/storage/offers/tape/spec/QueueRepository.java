@@ -42,7 +42,13 @@ public interface QueueRepository {
 
     void add(QueueMessageEntity queueMessageEntity) throws QueueException;
 
-    void addIfAbsent(List<QueryCriteria> criteria, QueueMessageEntity queueMessageEntity) throws QueueException;
+    /**
+     * Adds message to queue, unless some message already matches criteria
+     *
+     * @return true if message has been added, false if some message already matches criteria
+     * @throws QueueException
+     */
+    boolean addIfAbsent(List<QueryCriteria> criteria, QueueMessageEntity queueMessageEntity) throws QueueException;
 
     void tryCancelIfNotStarted(List<QueryCriteria> criteria) throws QueueException;
 
@@ -89,4 +95,16 @@ public interface QueueRepository {
 
     <T> Optional<T> receive(Bson inQuery, QueueMessageType messageType, boolean usePriority) throws QueueException;
 
+    /**
+     * List READY messages matching query, without changing their state.
+     * Messages are not reserved : they must still be received before being processed.
+     *
+     * @param inQuery filter query
+     * @param messageType message type
+     * @param limit max number of messages to return
+     * @return READY messages, sorted by creation date
+     * @throws QueueException
+     */
+    <T> List<T> listReady(Bson inQuery, QueueMessageType messageType, int limit) throws QueueException;
+
 }
@@ -46,6 +46,9 @@ public final class QueryCriteriaUtils {
                 case EQ:
                     filters.add(Filters.eq(criterion.getField(), criterion.getValue()));
                     break;
+                case NE:
+                    filters.add(Filters.ne(criterion.getField(), criterion.getValue()));
+                    break;
                 case GT:
                     filters.add(Filters.gt(criterion.getField(), criterion.getValue()));
                     break;
@@ -38,10 +38,12 @@ import fr.gouv.vitam.common.performance.PerformanceLogger;
 import fr.gouv.vitam.common.retryable.RetryableOnException;
 import fr.gouv.vitam.common.retryable.RetryableParameters;
 import fr.gouv.vitam.common.storage.tapelibrary.ReadWritePriority;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
 import fr.gouv.vitam.storage.engine.common.model.QueueMessageEntity;
-import fr.gouv.vitam.storage.engine.common.model.QueueState;
+import fr.gouv.vitam.storage.engine.common.model.ReadOrder;
 import fr.gouv.vitam.storage.engine.common.model.ReadWriteOrder;
 import fr.gouv.vitam.storage.engine.common.model.TapeCatalog;
+import fr.gouv.vitam.storage.engine.common.model.WriteOrder;
 import fr.gouv.vitam.storage.offers.tape.cas.AccessRequestManager;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveCacheStorage;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveReferentialRepository;
@@ -51,6 +53,7 @@ import fr.gouv.vitam.storage.offers.tape.exception.ReadWriteErrorCode;
 import fr.gouv.vitam.storage.offers.tape.exception.ReadWriteException;
 import fr.gouv.vitam.storage.offers.tape.exception.TapeCatalogException;
 import fr.gouv.vitam.storage.offers.tape.impl.readwrite.TapeLibraryServiceImpl;
+import fr.gouv.vitam.storage.offers.tape.metrics.DriveWorkerMetrics;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeCatalogService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeDriveService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeLibraryService;
@@ -59,12 +62,21 @@ import fr.gouv.vitam.storage.offers.tape.worker.tasks.ReadWriteResult;
 import fr.gouv.vitam.storage.offers.tape.worker.tasks.ReadWriteTask;
 import org.apache.commons.lang3.time.StopWatch;
 
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.mongodb.client.model.Filters.eq;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 public class TapeDriveWorker implements Runnable {
@@ -95,7 +107,10 @@ public class TapeDriveWorker implements Runnable {
     private final CountDownLatch shutdownSignal;
     private final String inputTarPath;
     private final ArchiveCacheStorage archiveCacheStorage;
-
+    private final boolean pipelinedWriteEnabled;
+    private final ExecutorService archiveFinalizationExecutor;
+    private final TarFilePrefetcher tarFilePrefetcher;
+    private final Deque<PendingWriteOrder> pendingWriteOrders = new ArrayDeque<>();
 
     @VisibleForTesting
     public TapeDriveWorker(
@@ -108,6 +123,29 @@ public class TapeDriveWorker implements Runnable {
         TapeCatalog currentTape,
         String inputTarPath, long sleepTime, boolean forceOverrideNonEmptyCartridges,
         ArchiveCacheStorage archiveCacheStorage, int fullCartridgeDetectionThresholdInMB) {
+        this(tapeRobotPool, tapeDriveService, tapeCatalogService, receiver, archiveReferentialRepository,
+            accessRequestManager, currentTape, inputTarPath, sleepTime, forceOverrideNonEmptyCartridges,
+            archiveCacheStorage, fullCartridgeDetectionThresholdInMB, false);
+    }
+
+    /**
+     * @param pipelinedWriteEnabled if true, write orders are pipelined : once an archive is written to tape, archive
+     * finalization (archive referential update, archive move to cache & order completion) is done asynchronously while
+     * next order is being processed, and the archive of the next write order of the same bucket is pre-read into page
+     * cache.
+     */
+    @VisibleForTesting
+    public TapeDriveWorker(
+        TapeRobotPool tapeRobotPool,
+        TapeDriveService tapeDriveService,
+        TapeCatalogService tapeCatalogService,
+        TapeDriveOrderConsumer receiver,
+        ArchiveReferentialRepository archiveReferentialRepository,
+        AccessRequestManager accessRequestManager,
+        TapeCatalog currentTape,
+        String inputTarPath, long sleepTime, boolean forceOverrideNonEmptyCartridges,
+        ArchiveCacheStorage archiveCacheStorage, int fullCartridgeDetectionThresholdInMB,
+        boolean pipelinedWriteEnabled) {
         ParametersChecker
             .checkParameter("All params is required required", tapeRobotPool, tapeDriveService,
                 archiveReferentialRepository, accessRequestManager, tapeCatalogService, receiver, archiveCacheStorage);
@@ -136,6 +174,14 @@ public class TapeDriveWorker implements Runnable {
         this.msgPrefix = String.format("[Library] : %s, [Drive] : %s, ", tapeRobotPool.getLibraryIdentifier(),
             tapeDriveService.getTapeDriveConf().getIndex());
 
+        this.pipelinedWriteEnabled = pipelinedWriteEnabled;
+        if (pipelinedWriteEnabled) {
+            this.archiveFinalizationExecutor = Executors.newSingleThreadExecutor(VitamThreadFactory.getInstance());
+            this.tarFilePrefetcher = new TarFilePrefetcher();
+        } else {
+            this.archiveFinalizationExecutor = null;
+            this.tarFilePrefetcher = null;
+        }
     }
 
     public TapeDriveWorker(
@@ -148,10 +194,26 @@ public class TapeDriveWorker implements Runnable {
         TapeCatalog currentTape,
         String inputTarPath, boolean forceOverrideNonEmptyCartridges,
         ArchiveCacheStorage archiveCacheStorage, int fullCartridgeDetectionThresholdInMB) {
+        this(tapeRobotPool, tapeDriveService, tapeCatalogService, receiver, archiveReferentialRepository,
+            accessRequestManager, currentTape, inputTarPath, forceOverrideNonEmptyCartridges, archiveCacheStorage,
+            fullCartridgeDetectionThresholdInMB, false);
+    }
+
+    public TapeDriveWorker(
+        TapeRobotPool tapeRobotPool,
+        TapeDriveService tapeDriveService,
+        TapeCatalogService tapeCatalogService,
+        TapeDriveOrderConsumer receiver,
+        ArchiveReferentialRepository archiveReferentialRepository,
+        AccessRequestManager accessRequestManager,
+        TapeCatalog currentTape,
+        String inputTarPath, boolean forceOverrideNonEmptyCartridges,
+        ArchiveCacheStorage archiveCacheStorage, int fullCartridgeDetectionThresholdInMB,
+        boolean pipelinedWriteEnabled) {
         this(tapeRobotPool, tapeDriveService, tapeCatalogService, receiver, archiveReferentialRepository,
             accessRequestManager, currentTape,
             inputTarPath, sleepTime, forceOverrideNonEmptyCartridges, archiveCacheStorage,
-            fullCartridgeDetectionThresholdInMB);
+            fullCartridgeDetectionThresholdInMB, pipelinedWriteEnabled);
     }
 
     @Override
@@ -206,55 +268,43 @@ public class TapeDriveWorker implements Runnable {
                         currentTape =
                         (readWriteResult != null) ? readWriteResult.getCurrentTape() : null;
 
+                    if (pipelinedWriteEnabled && readWriteOrder.isWriteOrder()) {
+                        prefetchNextWriteOrderFile((WriteOrder) readWriteOrder);
+                    }
+
                     ReadWriteTask readWriteTask =
                         new ReadWriteTask(readWriteOrder, currentTape, tapeLibraryService,
                             tapeCatalogService, archiveReferentialRepository, accessRequestManager,
                             inputTarPath,
-                            forceOverrideNonEmptyCartridges, archiveCacheStorage);
+                            forceOverrideNonEmptyCartridges, archiveCacheStorage, archiveFinalizationExecutor);
+                    StopWatch readWriteTaskStopWatch = StopWatch.createStarted();
                     readWriteResult = readWriteTask.get();
-
-                    currentTape = readWriteResult.getCurrentTape();
-
-                    QueueState orderState = readWriteResult.getOrderState();
-                    final String orderId = readWriteOrder.getId();
-
-                    switch (orderState) {
-                        case ERROR:
-                            // Mark order as error state
-                            retryable().exec(() -> receiver.getQueue().markError(orderId));
-                            break;
-
-                        case READY:
-                            // Re-enqueue order
-                            retryable().exec(() -> receiver.getQueue().markReady(orderId));
-                            break;
-
-                        case COMPLETED:
-                            // Remove order from queue
-                            retryable().exec(() -> receiver.getQueue().remove(orderId));
-                            break;
-
-                        default:
-                            throw new IllegalStateException(
-                                msgPrefix + "Order should have state Completed, Ready or Error");
+                    readWriteTaskStopWatch.stop();
+
+                    long readWriteTaskDuration = readWriteTaskStopWatch.getTime(TimeUnit.MILLISECONDS);
+                    long loopDuration = loopStopWatch.getTime(TimeUnit.MILLISECONDS);
+
+                    boolean pendingArchiveFinalization = (readWriteResult.getArchiveFinalization() != null);
+                    if (pendingArchiveFinalization) {
+                        // Archive written to tape. Complete order asynchronously, while drive processes next order
+                        final ReadWriteOrder writeOrder = readWriteOrder;
+                        pendingWriteOrders.add(new PendingWriteOrder(writeOrder, loopDuration,
+                            readWriteResult.getArchiveFinalization().thenApply(finalizationResult -> {
+                                updateOrderState(writeOrder, finalizationResult, readWriteTaskDuration);
+                                return finalizationResult;
+                            })));
+                    } else {
+                        updateOrderState(readWriteOrder, readWriteResult, readWriteTaskDuration);
+                        checkOrderResult(readWriteOrder, readWriteResult, loopDuration);
                     }
 
-                    PerformanceLogger
-                        .getInstance().log("STP_Offer_Tape", ((QueueMessageEntity) readWriteOrder).getId(),
-                            readWriteOrder.isWriteOrder() ? "WRITE_TO_TAPE" : "READ_FROM_TAPE",
-                            loopStopWatch.getTime(TimeUnit.MILLISECONDS));
-
-                    if (StatusCode.FATAL.equals(readWriteResult.getStatus())) {
-                        throw new VitamRuntimeException(String.format(
-                            "[Library] : %s, [Drive] : %s, [Tape]: %s, is stopped because of FATAL status when executing order: %s",
-                            tapeRobotPool.getLibraryIdentifier(),
-                            tapeDriveService.getTapeDriveConf().getIndex(),
-                            currentTape == null ? "No active tape" : currentTape.getCode(),
-                            JsonHandler.unprettyPrint(readWriteOrder)));
-                    }
+                    // Wait for previous pipelined write orders. At most one write order is kept pending
+                    awaitPendingWriteOrders(pendingArchiveFinalization ? 1 : 0);
 
                 } else {
 
+                    awaitPendingWriteOrders(0);
+
                     // Log every
                     String msg = msgPrefix + "No read/write to tape order found. waiting (" + sleepTime + ") ms ...";
                     if (inProgressWorkerStopWatch.getTime(TimeUnit.MILLISECONDS) >=
@@ -273,11 +323,112 @@ public class TapeDriveWorker implements Runnable {
         } catch (Throwable e) {
             LOGGER.error(msgPrefix + " Worker FAILED with error", e);
         } finally {
+            shutdownPipelinedWrites();
             this.isStopped.set(true);
             this.shutdownSignal.countDown();
         }
     }
 
+    private void updateOrderState(ReadWriteOrder readWriteOrder, ReadWriteResult result,
+        long readWriteTaskDurationInMillis) {
+
+        final String orderId = readWriteOrder.getId();
+
+        try {
+            switch (result.getOrderState()) {
+                case ERROR:
+                    // Mark order as error state
+                    retryable().exec(() -> receiver.getQueue().markError(orderId));
+                    break;
+
+                case READY:
+                    // Re-enqueue order
+                    retryable().exec(() -> receiver.getQueue().markReady(orderId));
+                    break;
+
+                case COMPLETED:
+                    // Remove order from queue
+                    retryable().exec(() -> receiver.getQueue().remove(orderId));
+                    if (!readWriteOrder.isWriteOrder()) {
+                        DriveWorkerMetrics.observeReadTime(tapeRobotPool.getLibraryIdentifier(),
+                            tapeDriveService.getTapeDriveConf().getIndex(), readWriteTaskDurationInMillis,
+                            ((ReadOrder) readWriteOrder).getSize());
+                    }
+                    break;
+
+                default:
+                    throw new IllegalStateException(
+                        msgPrefix + "Order should have state Completed, Ready or Error");
+            }
+        } catch (QueueException e) {
+            throw new VitamRuntimeException(msgPrefix + "Could not update state of order " + orderId, e);
+        }
+    }
+
+    private void checkOrderResult(ReadWriteOrder readWriteOrder, ReadWriteResult result, long durationInMillis) {
+
+        PerformanceLogger
+            .getInstance().log("STP_Offer_Tape", ((QueueMessageEntity) readWriteOrder).getId(),
+                readWriteOrder.isWriteOrder() ? "WRITE_TO_TAPE" : "READ_FROM_TAPE", durationInMillis);
+
+        if (StatusCode.FATAL.equals(result.getStatus())) {
+            TapeCatalog currentTape = getCurrentTape();
+            throw new VitamRuntimeException(String.format(
+                "[Library] : %s, [Drive] : %s, [Tape]: %s, is stopped because of FATAL status when executing order: %s",
+                tapeRobotPool.getLibraryIdentifier(),
+                tapeDriveService.getTapeDriveConf().getIndex(),
+                currentTape == null ? "No active tape" : currentTape.getCode(),
+                JsonHandler.unprettyPrint(readWriteOrder)));
+        }
+    }
+
+    private void prefetchNextWriteOrderFile(WriteOrder writeOrder) {
+        try {
+            List<WriteOrder> nextWriteOrders = receiver.getQueue().listReady(
+                eq(WriteOrder.BUCKET, writeOrder.getBucket()), writeOrder.getMessageType(), 1);
+            if (nextWriteOrders.isEmpty()) {
+                tarFilePrefetcher.cancel();
+            } else {
+                tarFilePrefetcher.prefetch(Paths.get(inputTarPath, nextWriteOrders.get(0).getFilePath()));
+            }
+        } catch (QueueException e) {
+            // Prefetch is a best-effort optimization
+            LOGGER.warn(msgPrefix + "Could not list next write orders for prefetch", e);
+        }
+    }
+
+    private void awaitPendingWriteOrders(int maxPendingWriteOrders) throws InterruptedException {
+        while (pendingWriteOrders.size() > maxPendingWriteOrders) {
+            PendingWriteOrder pendingWriteOrder = pendingWriteOrders.poll();
+            ReadWriteResult result;
+            try {
+                result = pendingWriteOrder.completion.get();
+            } catch (ExecutionException e) {
+                throw new VitamRuntimeException(msgPrefix + "Could not complete write order " +
+                    JsonHandler.unprettyPrint(pendingWriteOrder.writeOrder), e.getCause());
+            }
+            checkOrderResult(pendingWriteOrder.writeOrder, result, pendingWriteOrder.durationInMillis);
+        }
+    }
+
+    private void shutdownPipelinedWrites() {
+        if (!pipelinedWriteEnabled) {
+            return;
+        }
+        tarFilePrefetcher.shutdown();
+        try {
+            awaitPendingWriteOrders(0);
+        } catch (InterruptedException e) {
+            LOGGER.error(msgPrefix + "Interrupted while waiting for pending write orders", e);
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOGGER.error(msgPrefix + "Pending write order failed", e);
+        } finally {
+            pendingWriteOrders.clear();
+            archiveFinalizationExecutor.shutdown();
+        }
+    }
+
     private RetryableOnException<Long, QueueException> retryable() {
         return new RetryableOnException<>(
             new RetryableParameters(MAX_ATTEMPTS, RETRY_WAIT_SECONDS, RETRY_WAIT_SECONDS, RANDOM_RANGE_SLEEP, SECONDS));
@@ -397,4 +548,18 @@ public class TapeDriveWorker implements Runnable {
     public static void updateInactivitySleepDelayForTesting() {
         sleepTime = 100;
     }
+
+    private static class PendingWriteOrder {
+
+        private final ReadWriteOrder writeOrder;
+        private final long durationInMillis;
+        private final CompletableFuture<ReadWriteResult> completion;
+
+        private PendingWriteOrder(ReadWriteOrder writeOrder, long durationInMillis,
+            CompletableFuture<ReadWriteResult> completion) {
+            this.writeOrder = writeOrder;
+            this.durationInMillis = durationInMillis;
+            this.completion = completion;
+        }
+    }
 }
@@ -32,6 +32,7 @@ import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.storage.tapelibrary.ReadWritePriority;
 import fr.gouv.vitam.common.thread.VitamThreadFactory;
 import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageEntity;
 import fr.gouv.vitam.storage.engine.common.model.QueueMessageType;
 import fr.gouv.vitam.storage.engine.common.model.ReadOrder;
 import fr.gouv.vitam.storage.engine.common.model.ReadWriteOrder;
@@ -46,11 +47,14 @@ import fr.gouv.vitam.storage.offers.tape.spec.TapeCatalogService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeDriveService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeLibraryPool;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -60,13 +64,19 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.ne;
 import static com.mongodb.client.model.Filters.nin;
 import static java.util.function.Predicate.not;
 
 public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDriveOrderProducer {
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(TapeDriveWorkerManager.class);
     private static final String TAPE_DRIVE_WORKER = "TapeDriveWorker_";
+    /**
+     * Max number of pending read orders planned in a single sweep of a tape
+     */
+    private static final int MAX_READ_ORDERS_PER_TAPE_SWEEP = 1000;
     private final QueueRepository readWriteQueue;
     private final List<TapeDriveWorker> workers;
 
@@ -83,6 +93,22 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
         TapeCatalogService tapeCatalogService,
         Integer fullCartridgeDetectionThresholdInMB
     ) {
+        this(readWriteQueue, archiveReferentialRepository, accessRequestManager, tapeLibraryPool, driveTape,
+            inputTarPath, forceOverrideNonEmptyCartridges, archiveCacheStorage, tapeCatalogService,
+            fullCartridgeDetectionThresholdInMB, false);
+    }
+
+    public TapeDriveWorkerManager(
+        QueueRepository readWriteQueue,
+        ArchiveReferentialRepository archiveReferentialRepository,
+        AccessRequestManager accessRequestManager,
+        TapeLibraryPool tapeLibraryPool,
+        Map<Integer, TapeCatalog> driveTape, String inputTarPath, boolean forceOverrideNonEmptyCartridges,
+        ArchiveCacheStorage archiveCacheStorage,
+        TapeCatalogService tapeCatalogService,
+        Integer fullCartridgeDetectionThresholdInMB,
+        boolean pipelinedWriteEnabled
+    ) {
 
         ParametersChecker.checkParameter("All params is required required", tapeLibraryPool, readWriteQueue,
             archiveReferentialRepository, accessRequestManager, driveTape, archiveCacheStorage, tapeCatalogService);
@@ -100,7 +126,8 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
                 new TapeDriveWorker(tapeLibraryPool, driveEntry.getValue(), tapeCatalogService,
                     this, archiveReferentialRepository, accessRequestManager,
                     driveTape.get(driveEntry.getKey()), inputTarPath,
-                    forceOverrideNonEmptyCartridges, archiveCacheStorage, fullCartridgeDetectionThresholdInMB);
+                    forceOverrideNonEmptyCartridges, archiveCacheStorage, fullCartridgeDetectionThresholdInMB,
+                    pipelinedWriteEnabled);
             workers.add(tapeDriveWorker);
         }
     }
@@ -213,7 +240,7 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
             order = selectWriteOrderByBucket(driveWorker.getCurrentTape().getBucket());
 
             if (order.isEmpty()) {
-                order = selectReadOrderByTapeCode(driveWorker.getCurrentTape().getCode());
+                order = selectReadOrderByTapeCode(driveWorker);
             }
         }
 
@@ -252,7 +279,7 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
 
         if (driveWorker.getCurrentTape() != null) {
 
-            order = selectReadOrderByTapeCode(driveWorker.getCurrentTape().getCode());
+            order = selectReadOrderByTapeCode(driveWorker);
 
             if (order.isEmpty()) {
                 order = selectWriteOrderByBucket(driveWorker.getCurrentTape().getBucket());
@@ -282,13 +309,64 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
         return readWriteQueue.receive(queueMessageType);
     }
 
-    private Optional<? extends ReadWriteOrder> selectReadOrderByTapeCode(String tapeCode) throws QueueException {
+    /**
+     * Elevator-style read scheduling : pending read orders of the current tape are planned in a single sweep, ordered
+     * by file position starting from the current tape position, then wrapping around to the beginning of the tape.
+     * Planned orders are received (reserved) one at a time, so that not-yet-started orders can still be cancelled.
+     */
+    private Optional<? extends ReadWriteOrder> selectReadOrderByTapeCode(TapeDriveWorker driveWorker)
+        throws QueueException {
+
+        TapeCatalog currentTape = driveWorker.getCurrentTape();
+        String tapeCode = currentTape.getCode();
+        OptimisticDriveResourceStatus optimisticDriveResourceStatus =
+            optimisticDriveResourceStatusMap.get(driveWorker.getIndex());
+
+        if (!Objects.equals(tapeCode, optimisticDriveResourceStatus.readPlanTapeCode)) {
+            optimisticDriveResourceStatus.readPlan.clear();
+            optimisticDriveResourceStatus.readPlanTapeCode = tapeCode;
+        }
+
+        if (optimisticDriveResourceStatus.readPlan.isEmpty()) {
+            optimisticDriveResourceStatus.readPlan.addAll(planReadOrders(currentTape));
+        }
+
+        while (!optimisticDriveResourceStatus.readPlan.isEmpty()) {
+            String readOrderId = optimisticDriveResourceStatus.readPlan.poll();
+            Optional<? extends ReadWriteOrder> order = readWriteQueue.receive(
+                and(eq(QueueMessageEntity.ID, readOrderId), eq(ReadOrder.TAPE_CODE, tapeCode)),
+                QueueMessageType.ReadOrder
+            );
+            if (order.isPresent()) {
+                return order;
+            }
+            // Read order cancelled or already received by another drive
+        }
+
         return readWriteQueue.receive(
             eq(ReadOrder.TAPE_CODE, tapeCode),
             QueueMessageType.ReadOrder
         );
     }
 
+    private List<String> planReadOrders(TapeCatalog currentTape) throws QueueException {
+
+        List<ReadOrder> readOrders = readWriteQueue.listReady(
+            eq(ReadOrder.TAPE_CODE, currentTape.getCode()),
+            QueueMessageType.ReadOrder,
+            MAX_READ_ORDERS_PER_TAPE_SWEEP
+        );
+
+        int currentPosition = currentTape.getCurrentPosition() != null ? currentTape.getCurrentPosition() : 0;
+
+        return readOrders.stream()
+            .sorted(Comparator
+                .comparing((ReadOrder readOrder) -> readOrder.getFilePosition() < currentPosition)
+                .thenComparing(ReadOrder::getFilePosition))
+            .map(QueueMessageEntity::getId)
+            .collect(Collectors.toList());
+    }
+
     private Optional<? extends ReadWriteOrder> selectWriteOrderExcludingActiveBuckets() throws QueueException {
 
         // TODO: 28/03/19 parallelism (parallel drive by bucket)
@@ -321,8 +399,9 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
 
+        // Read-ahead orders never require a tape mount : they are only selected for already mounted tapes
         return readWriteQueue.receive(
-            nin(ReadOrder.TAPE_CODE, activeTapeCodes),
+            and(nin(ReadOrder.TAPE_CODE, activeTapeCodes), ne(ReadOrder.READ_AHEAD, true)),
             QueueMessageType.ReadOrder
         );
     }
@@ -366,5 +445,8 @@ public class TapeDriveWorkerManager implements TapeDriveOrderConsumer, TapeDrive
 
         private String targetTapeCode;
         private String targetBucket;
+
+        private String readPlanTapeCode;
+        private final Queue<String> readPlan = new ArrayDeque<>();
     }
 }
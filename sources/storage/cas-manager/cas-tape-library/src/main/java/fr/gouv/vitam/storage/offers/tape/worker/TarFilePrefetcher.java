@@ -0,0 +1,106 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.worker;
+
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Pre-reads TAR files of upcoming write orders into OS page cache, so that they can be streamed to drive at drive
+ * native rate.
+ * At most one file is pre-read at a time : prefetching a new file cancels any in-progress prefetch.
+ */
+class TarFilePrefetcher {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(TarFilePrefetcher.class);
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Max bytes pre-read per file. Only the head of large TAR files is pre-read, which is enough to keep the drive
+     * streaming while disk read-ahead catches up, without flushing the whole page cache.
+     */
+    private static final long MAX_PREFETCH_SIZE = 1_000_000_000L;
+
+    private final ExecutorService executor;
+    private Future<?> currentPrefetch;
+
+    TarFilePrefetcher() {
+        this.executor = Executors.newSingleThreadExecutor(VitamThreadFactory.getInstance());
+    }
+
+    synchronized void prefetch(Path tarFilePath) {
+        cancel();
+        currentPrefetch = executor.submit(() -> preRead(tarFilePath));
+    }
+
+    synchronized void cancel() {
+        if (currentPrefetch != null) {
+            currentPrefetch.cancel(true);
+            currentPrefetch = null;
+        }
+    }
+
+    void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    private void preRead(Path tarFilePath) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long totalRead = 0L;
+        try (FileChannel fileChannel = FileChannel.open(tarFilePath, StandardOpenOption.READ)) {
+            while (totalRead < MAX_PREFETCH_SIZE && !Thread.currentThread().isInterrupted()) {
+                buffer.clear();
+                int read = fileChannel.read(buffer);
+                if (read < 0) {
+                    break;
+                }
+                totalRead += read;
+            }
+            LOGGER.debug("Prefetched " + totalRead + " bytes of " + tarFilePath);
+        } catch (ClosedByInterruptException e) {
+            LOGGER.debug("Prefetch of " + tarFilePath + " cancelled");
+        } catch (NoSuchFileException e) {
+            LOGGER.debug("Could not prefetch " + tarFilePath + ". File not found", e);
+        } catch (IOException e) {
+            LOGGER.warn("Could not prefetch " + tarFilePath, e);
+        }
+    }
+}
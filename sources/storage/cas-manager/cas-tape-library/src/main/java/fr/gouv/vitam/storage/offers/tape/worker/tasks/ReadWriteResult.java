@@ -31,11 +31,14 @@ import fr.gouv.vitam.storage.engine.common.model.QueueState;
 import fr.gouv.vitam.storage.engine.common.model.TapeCatalog;
 import fr.gouv.vitam.storage.offers.tape.exception.ReadWriteErrorCode;
 
+import java.util.concurrent.CompletableFuture;
+
 public class ReadWriteResult {
     private StatusCode status;
     private QueueState orderState;
     private TapeCatalog currentTape;
     private ReadWriteErrorCode code;
+    private CompletableFuture<ReadWriteResult> archiveFinalization;
 
     public ReadWriteResult() {
     }
@@ -77,4 +80,16 @@ public class ReadWriteResult {
     public void setCode(ReadWriteErrorCode code) {
         this.code = code;
     }
+
+    /**
+     * @return pending archive finalization (archive referential update & archive move to cache) of a pipelined write
+     * order, completed with the final order result. {@code null} if none.
+     */
+    public CompletableFuture<ReadWriteResult> getArchiveFinalization() {
+        return archiveFinalization;
+    }
+
+    public void setArchiveFinalization(CompletableFuture<ReadWriteResult> archiveFinalization) {
+        this.archiveFinalization = archiveFinalization;
+    }
 }
@@ -37,6 +37,7 @@ import fr.gouv.vitam.storage.offers.tape.spec.TapeCatalogService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeLibraryService;
 
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -51,11 +52,25 @@ public class ReadWriteTask implements Future<ReadWriteResult> {
         AccessRequestManager accessRequestManager, String inputTarPath,
         boolean forceOverrideNonEmptyCartridges,
         ArchiveCacheStorage archiveCacheStorage) {
+        this(order, workerCurrentTape, tapeLibraryService, tapeCatalogService, archiveReferentialRepository,
+            accessRequestManager, inputTarPath, forceOverrideNonEmptyCartridges, archiveCacheStorage, null);
+    }
+
+    /**
+     * @param archiveFinalizationExecutor executor for asynchronous archive finalization of write orders (pipelined
+     * write mode), or {@code null} for synchronous archive finalization.
+     */
+    public ReadWriteTask(ReadWriteOrder order, TapeCatalog workerCurrentTape, TapeLibraryService tapeLibraryService,
+        TapeCatalogService tapeCatalogService,
+        ArchiveReferentialRepository archiveReferentialRepository,
+        AccessRequestManager accessRequestManager, String inputTarPath,
+        boolean forceOverrideNonEmptyCartridges,
+        ArchiveCacheStorage archiveCacheStorage, Executor archiveFinalizationExecutor) {
 
         if (order.isWriteOrder()) {
             readWriteTask = new WriteTask((WriteOrder) order, workerCurrentTape, tapeLibraryService, tapeCatalogService,
-                archiveReferentialRepository, archiveCacheStorage, inputTarPath, forceOverrideNonEmptyCartridges
-            );
+                archiveReferentialRepository, archiveCacheStorage, inputTarPath, forceOverrideNonEmptyCartridges,
+                archiveFinalizationExecutor);
         } else {
             readWriteTask = new ReadTask((ReadOrder) order, workerCurrentTape, tapeLibraryService, tapeCatalogService,
                 accessRequestManager, archiveCacheStorage);
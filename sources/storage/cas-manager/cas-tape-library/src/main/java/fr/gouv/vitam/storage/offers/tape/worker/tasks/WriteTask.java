@@ -72,6 +72,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -107,6 +108,7 @@ public class WriteTask implements Future<ReadWriteResult> {
     private final WriteOrder writeOrder;
     private int cartridgeRetry = CARTRIDGE_RETRY;
     private final boolean forceOverrideNonEmptyCartridges;
+    private final Executor archiveFinalizationExecutor;
 
     public WriteTask(
         WriteOrder writeOrder, TapeCatalog workerCurrentTape, TapeLibraryService tapeLibraryService,
@@ -114,6 +116,21 @@ public class WriteTask implements Future<ReadWriteResult> {
         ArchiveReferentialRepository archiveReferentialRepository,
         ArchiveCacheStorage archiveCacheStorage, String inputTarPath,
         boolean forceOverrideNonEmptyCartridges) {
+        this(writeOrder, workerCurrentTape, tapeLibraryService, tapeCatalogService, archiveReferentialRepository,
+            archiveCacheStorage, inputTarPath, forceOverrideNonEmptyCartridges, null);
+    }
+
+    /**
+     * @param archiveFinalizationExecutor if set, archive finalization (archive referential update & archive move to
+     * cache) is run asynchronously on this executor, once the archive is written to tape (pipelined write mode). If
+     * {@code null}, archive finalization is done synchronously.
+     */
+    public WriteTask(
+        WriteOrder writeOrder, TapeCatalog workerCurrentTape, TapeLibraryService tapeLibraryService,
+        TapeCatalogService tapeCatalogService,
+        ArchiveReferentialRepository archiveReferentialRepository,
+        ArchiveCacheStorage archiveCacheStorage, String inputTarPath,
+        boolean forceOverrideNonEmptyCartridges, Executor archiveFinalizationExecutor) {
         ParametersChecker.checkParameter("WriteOrder param is required.", writeOrder);
         ParametersChecker.checkParameter("TapeLibraryService param is required.", tapeLibraryService);
         ParametersChecker.checkParameter("TapeCatalogService param is required.", tapeCatalogService);
@@ -131,6 +148,7 @@ public class WriteTask implements Future<ReadWriteResult> {
         this.MSG_PREFIX = String.format("[Library] : %s, [Drive] : %s, ", tapeLibraryService.getLibraryIdentifier(),
             tapeLibraryService.getDriveIndex());
         this.forceOverrideNonEmptyCartridges = forceOverrideNonEmptyCartridges;
+        this.archiveFinalizationExecutor = archiveFinalizationExecutor;
     }
 
     @Override
@@ -154,25 +172,26 @@ public class WriteTask implements Future<ReadWriteResult> {
                 loadTapeAndWrite(file);
             }
 
-            retryable().execute(this::updateTarReferential);
+            TapeLibraryOnTapeArchiveStorageLocation onTapeTarStorageLocation =
+                new TapeLibraryOnTapeArchiveStorageLocation(workerCurrentTape.getCode(),
+                    workerCurrentTape.getFileCount() - 1);
 
-            if (writeOrder.getMessageType() == QueueMessageType.WriteBackupOrder) {
+            if (archiveFinalizationExecutor == null) {
 
-                LOGGER.warn("Backup archive '" + writeOrder.getArchiveId() + " archived to a backup tape with code '" +
-                    workerCurrentTape.getCode() + "'");
+                finalizeArchive(file, onTapeTarStorageLocation);
+
+                readWriteResult.setStatus(StatusCode.OK);
+                readWriteResult.setOrderState(QueueState.COMPLETED);
 
-                // Backup archives are not persisted on cache
-                if (!file.delete()) {
-                    throw new ReadWriteException("Could not delete backup archive " + writeOrder.getArchiveId() +
-                        " (" + file + ")", ReadWriteErrorCode.KO_ON_DELETE_ARCHIVED_BACKUP);
-                }
             } else {
-                // Regular (data) archive. Move it to cache.
-                moveArchiveToCache(file);
-            }
 
-            readWriteResult.setStatus(StatusCode.OK);
-            readWriteResult.setOrderState(QueueState.COMPLETED);
+                // Archive written to tape. Drive is released while archive finalization is in progress.
+                // Order remains running till archive finalization is done
+                readWriteResult.setStatus(StatusCode.OK);
+                readWriteResult.setOrderState(QueueState.RUNNING);
+                readWriteResult.setArchiveFinalization(CompletableFuture.supplyAsync(
+                    () -> finalizeArchiveAsync(file, onTapeTarStorageLocation), archiveFinalizationExecutor));
+            }
 
         } catch (ReadWriteException e) {
             LOGGER.error("Write task failed", e);
@@ -265,7 +284,49 @@ public class WriteTask implements Future<ReadWriteResult> {
         return readWriteResult;
     }
 
-    private void moveArchiveToCache(File archiveFile) throws ReadWriteException {
+    private void finalizeArchive(File file, TapeLibraryOnTapeArchiveStorageLocation onTapeTarStorageLocation)
+        throws ReadWriteException {
+
+        retryable().execute(() -> updateTarReferential(onTapeTarStorageLocation));
+
+        if (writeOrder.getMessageType() == QueueMessageType.WriteBackupOrder) {
+
+            LOGGER.warn("Backup archive '" + writeOrder.getArchiveId() + " archived to a backup tape with code '" +
+                onTapeTarStorageLocation.getTapeCode() + "'");
+
+            // Backup archives are not persisted on cache
+            if (!file.delete()) {
+                throw new ReadWriteException("Could not delete backup archive " + writeOrder.getArchiveId() +
+                    " (" + file + ")", ReadWriteErrorCode.KO_ON_DELETE_ARCHIVED_BACKUP);
+            }
+        } else {
+            // Regular (data) archive. Move it to cache.
+            moveArchiveToCache(file, onTapeTarStorageLocation.getTapeCode());
+        }
+    }
+
+    private ReadWriteResult finalizeArchiveAsync(File file,
+        TapeLibraryOnTapeArchiveStorageLocation onTapeTarStorageLocation) {
+
+        ReadWriteResult readWriteResult = new ReadWriteResult();
+        try {
+            finalizeArchive(file, onTapeTarStorageLocation);
+
+            readWriteResult.setStatus(StatusCode.OK);
+            readWriteResult.setOrderState(QueueState.COMPLETED);
+
+        } catch (ReadWriteException e) {
+            LOGGER.error("Archive finalization failed", e);
+            readWriteResult.setCode(e.getReadWriteErrorCode());
+            readWriteResult.setStatus(StatusCode.FATAL);
+            // Same order state as for synchronous archive finalization
+            readWriteResult.setOrderState(e.getReadWriteErrorCode() == ReadWriteErrorCode.KO_DB_PERSIST ?
+                QueueState.READY : QueueState.ERROR);
+        }
+        return readWriteResult;
+    }
+
+    private void moveArchiveToCache(File archiveFile, String tapeCode) throws ReadWriteException {
         try {
             // Reserve cache storage space
             archiveCacheStorage.reserveArchiveStorageSpace(writeOrder.getFileBucketId(), writeOrder.getArchiveId(),
@@ -283,22 +344,20 @@ public class WriteTask implements Future<ReadWriteResult> {
 
         } catch (IllegalPathException | IOException | IllegalStateException e) {
             throw new ReadWriteException(
-                MSG_PREFIX + TAPE_MSG + workerCurrentTape.getCode() + ", Error: while moving archive file '" +
+                MSG_PREFIX + TAPE_MSG + tapeCode + ", Error: while moving archive file '" +
                     archiveFile + "' to archive cache", e, ReadWriteErrorCode.KO_ON_MOVE_TO_CACHE);
         }
     }
 
-    private void updateTarReferential() throws ReadWriteException {
+    private void updateTarReferential(TapeLibraryOnTapeArchiveStorageLocation onTapeTarStorageLocation)
+        throws ReadWriteException {
         try {
-            TapeLibraryOnTapeArchiveStorageLocation onTapeTarStorageLocation =
-                new TapeLibraryOnTapeArchiveStorageLocation(workerCurrentTape.getCode(),
-                    workerCurrentTape.getFileCount() - 1);
-
             archiveReferentialRepository.updateLocationToOnTape(writeOrder.getArchiveId(), onTapeTarStorageLocation);
 
         } catch (ArchiveReferentialException e) {
             throw new ReadWriteException(
-                MSG_PREFIX + TAPE_MSG + workerCurrentTape.getCode() + ", Error: while update archive referential", e,
+                MSG_PREFIX + TAPE_MSG + onTapeTarStorageLocation.getTapeCode() +
+                    ", Error: while update archive referential", e,
                 ReadWriteErrorCode.KO_DB_PERSIST);
         }
     }
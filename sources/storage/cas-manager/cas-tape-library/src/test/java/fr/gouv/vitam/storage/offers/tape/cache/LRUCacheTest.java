@@ -73,6 +73,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -489,6 +490,54 @@ public class LRUCacheTest {
         inOrder.verifyNoMoreInteractions();
     }
 
+    @Test
+    public void testReservationCreation_givenSegmentedLRUPolicyWhenScanningNewEntriesThenFrequentlyUsedOldEntriesAreNotEvicted() {
+
+        // Given
+        Stream<LRUCacheEntry<String>> initialEntries = Stream.of(
+            createEntry("key1", 50),
+            createEntry("key2", 50),
+            createEntry("key3", 50),
+            createEntry("key4", 50));
+        Supplier<LRUCacheEvictionJudge<String>> evictionOracleSupplier = evictAllEntries();
+        LRUCache<String> instance = new LRUCache<>(1000, 900, 800, evictionOracleSupplier,
+            evictionListener, initialEntries, evictionExecutor, alertService,
+            new SegmentedLRUEvictionPolicy<>(TimeUnit.MINUTES.toMillis(5), 1.0));
+
+        // When
+        // "key1" accessed again long after its first access
+        logicalClock.logicalSleep(10, ChronoUnit.MINUTES);
+        boolean key1Updated = instance.updateEntryAccessTimestamp("key1", getNextInstant());
+
+        // "key5" & "key6" are accessed several times, within a short (correlated) period of time
+        instance.reserveEntry(createEntry("key5", 50));
+        instance.confirmReservation("key5");
+        instance.updateEntryAccessTimestamp("key5", getNextInstant());
+        instance.updateEntryAccessTimestamp("key5", getNextInstant());
+        instance.reserveEntry(createEntry("key6", 50));
+        instance.confirmReservation("key6");
+        instance.updateEntryAccessTimestamp("key6", getNextInstant());
+        instance.updateEntryAccessTimestamp("key6", getNextInstant());
+
+        instance.reserveEntry(createEntry("key7", 650));
+
+        // Then
+        awaitBackgroundEvictionTermination();
+
+        assertCacheContainsEntries(instance, "key1", "key6");
+        assertCacheDoesNotContainEntries(instance, "key2", "key3", "key4", "key5", "key7");
+        assertCacheContainsReservedEntries(instance, "key7");
+        assertThat(instance.getCurrentCapacity()).isEqualTo(750);
+
+        assertThat(key1Updated).isTrue();
+        InOrder inOrder = inOrder(evictionListener);
+        inOrder.verify(evictionListener).accept("key2");
+        inOrder.verify(evictionListener).accept("key3");
+        inOrder.verify(evictionListener).accept("key4");
+        inOrder.verify(evictionListener).accept("key5");
+        inOrder.verifyNoMoreInteractions();
+    }
+
     @Test
     public void testReservationCreation_givenAlmostAllEntriesLockedAndEvictionCapacityReachedWhenReservingNewEntryThenAllNonLockedEntriesAreEvictedAndSecurityAlert() {
 
@@ -0,0 +1,136 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.cache;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SegmentedLRUEvictionPolicyTest {
+
+    @Test
+    public void testInvalidParameters() {
+        assertThatThrownBy(() -> new SegmentedLRUEvictionPolicy<String>(-1L, 0.8))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SegmentedLRUEvictionPolicy<String>(1000L, -0.1))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SegmentedLRUEvictionPolicy<String>(1000L, 1.1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testEmptyEntries() {
+
+        // Given
+        SegmentedLRUEvictionPolicy<String> instance = new SegmentedLRUEvictionPolicy<>(1000L, 0.8);
+
+        // When / Then
+        assertThat(instance.sortByEvictionPriority(Collections.emptyList())).isEmpty();
+    }
+
+    @Test
+    public void testProbationaryEntriesEvictedBeforeProtectedEntries() {
+
+        // Given
+        SegmentedLRUEvictionPolicy<String> instance = new SegmentedLRUEvictionPolicy<>(1000L, 0.8);
+
+        // When
+        // "key1" is the least recently used entry, but has been referenced several times
+        List<CacheEntryAccessHistory<String>> entries = Arrays.asList(
+            new CacheEntryAccessHistory<>("key1", 10L, 1000L, 3),
+            new CacheEntryAccessHistory<>("key2", 10L, 3000L, 1),
+            new CacheEntryAccessHistory<>("key3", 10L, 2000L, 1),
+            new CacheEntryAccessHistory<>("key4", 10L, 4000L, 2));
+
+        // Then
+        assertThat(instance.sortByEvictionPriority(entries))
+            .containsExactly("key3", "key2", "key1", "key4");
+    }
+
+    @Test
+    public void testLeastRecentlyUsedProtectedEntriesDemotedWhenProtectedSegmentIsFull() {
+
+        // Given : protected segment limited to half the total weight
+        SegmentedLRUEvictionPolicy<String> instance = new SegmentedLRUEvictionPolicy<>(1000L, 0.5);
+
+        // When
+        List<CacheEntryAccessHistory<String>> entries = Arrays.asList(
+            new CacheEntryAccessHistory<>("key1", 10L, 1000L, 2),
+            new CacheEntryAccessHistory<>("key2", 10L, 2000L, 2),
+            new CacheEntryAccessHistory<>("key3", 10L, 3000L, 2),
+            new CacheEntryAccessHistory<>("key4", 10L, 4000L, 1));
+
+        // Then : "key1" is demoted to probationary segment
+        assertThat(instance.sortByEvictionPriority(entries))
+            .containsExactly("key1", "key4", "key2", "key3");
+    }
+
+    @Test
+    public void testNoProtectedSegment() {
+
+        // Given
+        SegmentedLRUEvictionPolicy<String> instance = new SegmentedLRUEvictionPolicy<>(1000L, 0.0);
+
+        // When
+        List<CacheEntryAccessHistory<String>> entries = Arrays.asList(
+            new CacheEntryAccessHistory<>("key1", 10L, 1000L, 5),
+            new CacheEntryAccessHistory<>("key2", 10L, 3000L, 1),
+            new CacheEntryAccessHistory<>("key3", 10L, 2000L, 2));
+
+        // Then : plain LRU
+        assertThat(instance.sortByEvictionPriority(entries))
+            .containsExactly("key1", "key3", "key2");
+    }
+
+    @Test
+    public void testCorrelatedAccessesCountAsSingleReference() {
+
+        // Given
+        CacheEntryAccessHistory<String> entry = new CacheEntryAccessHistory<>("key1", 10L, 1000L, 1);
+
+        // When
+        CacheEntryAccessHistory<String> afterCorrelatedAccess = entry.recordAccess(1500L, 1000L);
+        CacheEntryAccessHistory<String> afterAnotherCorrelatedAccess = afterCorrelatedAccess.recordAccess(2400L, 1000L);
+        CacheEntryAccessHistory<String> afterNonCorrelatedAccess =
+            afterAnotherCorrelatedAccess.recordAccess(3500L, 1000L);
+
+        // Then
+        assertThat(afterCorrelatedAccess.getReferenceCount()).isEqualTo(1);
+        assertThat(afterCorrelatedAccess.getLastAccessTimestamp()).isEqualTo(1500L);
+        assertThat(afterAnotherCorrelatedAccess.getReferenceCount()).isEqualTo(1);
+        assertThat(afterAnotherCorrelatedAccess.getLastAccessTimestamp()).isEqualTo(2400L);
+        assertThat(afterNonCorrelatedAccess.getReferenceCount()).isEqualTo(2);
+        assertThat(afterNonCorrelatedAccess.getLastAccessTimestamp()).isEqualTo(3500L);
+        assertThat(afterNonCorrelatedAccess.getKey()).isEqualTo("key1");
+        assertThat(afterNonCorrelatedAccess.getWeight()).isEqualTo(10L);
+    }
+}
@@ -29,6 +29,8 @@ package fr.gouv.vitam.storage.offers.tape.cas;
 import com.google.common.util.concurrent.Uninterruptibles;
 import fr.gouv.vitam.common.LocalDateUtil;
 import fr.gouv.vitam.common.VitamConfiguration;
+import fr.gouv.vitam.common.database.server.query.QueryCriteria;
+import fr.gouv.vitam.common.database.server.query.QueryCriteriaOperator;
 import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.thread.RunWithCustomExecutor;
 import fr.gouv.vitam.common.thread.RunWithCustomExecutorRule;
@@ -50,6 +52,7 @@ import fr.gouv.vitam.storage.engine.common.model.TapeLibraryTarObjectStorageLoca
 import fr.gouv.vitam.storage.engine.common.model.TapeObjectReferentialEntity;
 import fr.gouv.vitam.storage.engine.common.model.TarEntryDescription;
 import fr.gouv.vitam.storage.offers.tape.exception.AccessRequestReferentialException;
+import fr.gouv.vitam.storage.offers.tape.metrics.AccessRequestMetrics;
 import fr.gouv.vitam.storage.offers.tape.spec.QueueRepository;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageBadRequestException;
 import org.assertj.core.api.Assertions;
@@ -78,6 +81,7 @@ import static fr.gouv.vitam.storage.offers.tape.cas.AccessRequestManager.generat
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
@@ -85,6 +89,7 @@ import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
@@ -246,6 +251,177 @@ public class AccessRequestManagerTest {
         verifyNoMoreInteractions(readWriteQueue);
     }
 
+    @Test
+    public void givenReadAheadEnabledWhenCreatingAccessRequestThenNeighbourArchivesScheduledForReadAhead()
+        throws Exception {
+
+        // Given
+        givenReadAheadEnabledAccessRequestManager();
+        givenReadAheadTapeArchives();
+
+        double initialReadAheadArchives = AccessRequestMetrics.READ_AHEAD_ARCHIVES.labels(FILE_BUCKET_1).get();
+
+        // When
+        String accessRequestId = instance.createAccessRequest(CONTAINER_1, List.of("obj1"));
+
+        // Then
+        assertThat(accessRequestId).isNotNull();
+
+        verify(objectReferentialRepository).bulkFind(CONTAINER_1, Set.of("obj1"));
+        verify(archiveReferentialRepository).bulkFind(Set.of("tarId1"));
+        verify(archiveReferentialRepository).findByTapeCodeAndFilePositionRange("tape1", FILE_BUCKET_1, 8, 12);
+        verify(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId1");
+        verify(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId2");
+        verify(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId3");
+        verify(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId4");
+
+        ArgumentCaptor<TapeAccessRequestReferentialEntity> accessRequestCaptor =
+            ArgumentCaptor.forClass(TapeAccessRequestReferentialEntity.class);
+        verify(accessRequestReferentialRepository).insert(accessRequestCaptor.capture());
+        // Read-ahead archives are not required by access request
+        assertThat(accessRequestCaptor.getValue().getUnavailableArchiveIds()).containsExactly("tarId1");
+
+        ArgumentCaptor<List<QueryCriteria>> criteriaArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<QueueMessageEntity> queueMessageEntityArgumentCaptor =
+            ArgumentCaptor.forClass(QueueMessageEntity.class);
+        verify(readWriteQueue, times(3))
+            .addIfAbsent(criteriaArgumentCaptor.capture(), queueMessageEntityArgumentCaptor.capture());
+        List<ReadOrder> readOrders = queueMessageEntityArgumentCaptor.getAllValues().stream()
+            .map(readOrder -> (ReadOrder) readOrder)
+            .collect(Collectors.toList());
+
+        // Required archive read order is only deduplicated against non read-ahead orders (or legacy orders without
+        // read-ahead flag)
+        assertThat(criteriaArgumentCaptor.getAllValues().get(0))
+            .extracting(QueryCriteria::getField, QueryCriteria::getValue, QueryCriteria::getOperator)
+            .contains(tuple(ReadOrder.READ_AHEAD, true, QueryCriteriaOperator.NE));
+
+        // Closest non cached archives first, within read-ahead size budget
+        assertThat(readOrders).extracting(ReadOrder::getFileName).containsExactly("tarId1", "tarId2", "tarId4");
+        assertThat(readOrders).extracting(ReadOrder::isReadAhead).containsExactly(false, true, true);
+        assertThat(readOrders).extracting(ReadOrder::getTapeCode).containsOnly("tape1");
+        assertThat(readOrders).extracting(ReadOrder::getFileBucketId).containsOnly(FILE_BUCKET_1);
+        assertThat(readOrders).extracting(ReadOrder::getBucket).containsOnly(BUCKET_1);
+        assertThat(readOrders).extracting(ReadOrder::getFilePosition).containsExactly(10, 11, 12);
+
+        assertThat(AccessRequestMetrics.READ_AHEAD_ARCHIVES.labels(FILE_BUCKET_1).get())
+            .isEqualTo(initialReadAheadArchives + 2);
+    }
+
+    @Test
+    public void givenReadOrdersAlreadyQueuedWhenCreatingAccessRequestThenReadAheadArchivesNotCounted()
+        throws Exception {
+
+        // Given
+        givenReadAheadEnabledAccessRequestManager();
+        givenReadAheadTapeArchives();
+        doReturn(false).when(readWriteQueue).addIfAbsent(any(), any());
+
+        double initialReadAheadArchives = AccessRequestMetrics.READ_AHEAD_ARCHIVES.labels(FILE_BUCKET_1).get();
+
+        // When
+        instance.createAccessRequest(CONTAINER_1, List.of("obj1"));
+
+        // Then
+        verify(objectReferentialRepository).bulkFind(CONTAINER_1, Set.of("obj1"));
+        verify(archiveReferentialRepository).bulkFind(Set.of("tarId1"));
+        verify(archiveReferentialRepository).findByTapeCodeAndFilePositionRange("tape1", FILE_BUCKET_1, 8, 12);
+        verify(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId1");
+        verify(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId2");
+        verify(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId3");
+        verify(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId4");
+        verify(accessRequestReferentialRepository).insert(any());
+        verify(readWriteQueue, times(3)).addIfAbsent(any(), any());
+
+        assertThat(AccessRequestMetrics.READ_AHEAD_ARCHIVES.labels(FILE_BUCKET_1).get())
+            .isEqualTo(initialReadAheadArchives);
+    }
+
+    @Test
+    public void givenArchivesStagedByReadAheadWhenCreatingAccessRequestThenAccessRequestReadyAndMountAvoided()
+        throws Exception {
+
+        // Given
+        givenReadAheadEnabledAccessRequestManager();
+        givenReadAheadTapeArchives();
+        instance.createAccessRequest(CONTAINER_1, List.of("obj1"));
+        clearInvocations(objectReferentialRepository, archiveReferentialRepository,
+            accessRequestReferentialRepository, archiveCacheStorage, readWriteQueue);
+
+        // Read-ahead archive "tarId2" is now in cache
+        doReturn(List.of(
+            new TapeObjectReferentialEntity(new TapeLibraryObjectReferentialId(CONTAINER_1, "obj2"),
+                100L, "SHA-512", "digest2", "obj2-guid2", new TapeLibraryTarObjectStorageLocation(
+                List.of(new TarEntryDescription("tarId2", "obj2-0", 0L, 100L, "digest2-1"))),
+                nextDate(), nextDate())
+        )).when(objectReferentialRepository).bulkFind(CONTAINER_1, Set.of("obj2"));
+        doReturn(List.of(
+            new TapeArchiveReferentialEntity("tarId2", new TapeLibraryOnTapeArchiveStorageLocation("tape1", 11),
+                EntryType.DATA, 100L, "digest-tarId2", nextDate())
+        )).when(archiveReferentialRepository).bulkFind(Set.of("tarId2"));
+        doReturn(true).when(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId2");
+
+        double initialMountsAvoided = AccessRequestMetrics.READ_AHEAD_MOUNTS_AVOIDED.labels(FILE_BUCKET_1).get();
+
+        // When
+        instance.createAccessRequest(CONTAINER_1, List.of("obj2"));
+        instance.createAccessRequest(CONTAINER_1, List.of("obj2"));
+
+        // Then
+        verify(objectReferentialRepository, times(2)).bulkFind(CONTAINER_1, Set.of("obj2"));
+        verify(archiveReferentialRepository, times(2)).bulkFind(Set.of("tarId2"));
+        verify(archiveCacheStorage, times(2)).containsArchive(FILE_BUCKET_1, "tarId2");
+        ArgumentCaptor<TapeAccessRequestReferentialEntity> accessRequestCaptor =
+            ArgumentCaptor.forClass(TapeAccessRequestReferentialEntity.class);
+        verify(accessRequestReferentialRepository, times(2)).insert(accessRequestCaptor.capture());
+        assertThat(accessRequestCaptor.getAllValues())
+            .allMatch(accessRequest -> accessRequest.getUnavailableArchiveIds().isEmpty());
+
+        // No read orders. Read-ahead archive only counted once
+        assertThat(AccessRequestMetrics.READ_AHEAD_MOUNTS_AVOIDED.labels(FILE_BUCKET_1).get())
+            .isEqualTo(initialMountsAvoided + 1);
+    }
+
+    private void givenReadAheadEnabledAccessRequestManager() throws Exception {
+        instance.shutdown();
+        instance = new AccessRequestManager(objectReferentialRepository, archiveReferentialRepository,
+            accessRequestReferentialRepository, archiveCacheStorage, bucketTopologyHelper, readWriteQueue,
+            10_000, 30, TimeUnit.MINUTES, 60, TimeUnit.MINUTES,
+            3, TimeUnit.SECONDS, true, 2, 250L);
+        doReturn(true).when(readWriteQueue).addIfAbsent(any(), any());
+    }
+
+    private void givenReadAheadTapeArchives() throws Exception {
+        doReturn(List.of(
+            new TapeObjectReferentialEntity(new TapeLibraryObjectReferentialId(CONTAINER_1, "obj1"),
+                100L, "SHA-512", "digest1", "obj1-guid1", new TapeLibraryTarObjectStorageLocation(
+                List.of(new TarEntryDescription("tarId1", "obj1-0", 0L, 100L, "digest1-1"))),
+                nextDate(), nextDate())
+        )).when(objectReferentialRepository).bulkFind(CONTAINER_1, Set.of("obj1"));
+
+        TapeArchiveReferentialEntity tar1 =
+            new TapeArchiveReferentialEntity("tarId1", new TapeLibraryOnTapeArchiveStorageLocation("tape1", 10),
+                EntryType.DATA, 100L, "digest-tarId1", nextDate());
+        doReturn(List.of(tar1)).when(archiveReferentialRepository).bulkFind(Set.of("tarId1"));
+        doReturn(false).when(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId1");
+
+        doReturn(List.of(
+            tar1,
+            new TapeArchiveReferentialEntity("tarId2", new TapeLibraryOnTapeArchiveStorageLocation("tape1", 11),
+                EntryType.DATA, 100L, "digest-tarId2", nextDate()),
+            new TapeArchiveReferentialEntity("tarId3", new TapeLibraryOnTapeArchiveStorageLocation("tape1", 9),
+                EntryType.DATA, 100L, "digest-tarId3", nextDate()),
+            new TapeArchiveReferentialEntity("tarId4", new TapeLibraryOnTapeArchiveStorageLocation("tape1", 12),
+                EntryType.DATA, 100L, "digest-tarId4", nextDate()),
+            new TapeArchiveReferentialEntity("tarId5", new TapeLibraryOnTapeArchiveStorageLocation("tape1", 8),
+                EntryType.DATA, 100L, "digest-tarId5", nextDate())
+        )).when(archiveReferentialRepository).findByTapeCodeAndFilePositionRange("tape1", FILE_BUCKET_1, 8, 12);
+
+        doReturn(false).when(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId2");
+        doReturn(true).when(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId3");
+        doReturn(false).when(archiveCacheStorage).containsArchive(FILE_BUCKET_1, "tarId4");
+    }
+
     @Test
     public void givenAvailableObjectsWhenCreatingAccessRequestThenAccessRequestOK() throws Exception {
         // Given :
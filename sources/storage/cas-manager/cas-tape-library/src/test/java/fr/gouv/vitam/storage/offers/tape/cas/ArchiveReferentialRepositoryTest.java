@@ -305,4 +305,33 @@ public class ArchiveReferentialRepositoryTest {
                 new TapeLibraryOnTapeArchiveStorageLocation("tapeCode", 12)))
             .isInstanceOf(ArchiveReferentialException.class);
     }
+
+    @Test
+    public void findByTapeCodeAndFilePositionRange() throws Exception {
+
+        // Given
+        archiveReferentialRepository.insert(new TapeArchiveReferentialEntity(
+            "tarId1", new TapeLibraryOnTapeArchiveStorageLocation("tapeCode", 3), 10L, "digest1", "date1"
+        ).setFileBucketId("bucket1"));
+        archiveReferentialRepository.insert(new TapeArchiveReferentialEntity(
+            "tarId2", new TapeLibraryOnTapeArchiveStorageLocation("tapeCode", 5), 10L, "digest2", "date2"
+        ).setFileBucketId("bucket1"));
+        archiveReferentialRepository.insert(new TapeArchiveReferentialEntity(
+            "tarId3", new TapeLibraryOnTapeArchiveStorageLocation("tapeCode", 6), 10L, "digest3", "date3"
+        ).setFileBucketId("bucket2"));
+        archiveReferentialRepository.insert(new TapeArchiveReferentialEntity(
+            "tarId4", new TapeLibraryOnTapeArchiveStorageLocation("otherTapeCode", 5), 10L, "digest4", "date4"
+        ).setFileBucketId("bucket1"));
+        archiveReferentialRepository.insert(new TapeArchiveReferentialEntity(
+            "tarId5", new TapeLibraryOnTapeArchiveStorageLocation("tapeCode", 9), 10L, "digest5", "date5"
+        ).setFileBucketId("bucket1"));
+
+        // When
+        List<TapeArchiveReferentialEntity> entities =
+            archiveReferentialRepository.findByTapeCodeAndFilePositionRange("tapeCode", "bucket1", 2, 7);
+
+        // Then
+        assertThat(entities).extracting(TapeArchiveReferentialEntity::getArchiveId)
+            .containsExactlyInAnyOrder("tarId1", "tarId2");
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.cas;
+
+import fr.gouv.vitam.storage.offers.tape.cache.CacheEntryAccessHistory;
+import fr.gouv.vitam.storage.offers.tape.cache.LRUEvictionPolicy;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+public class BucketQuotaArchiveCacheEvictionPolicyTest {
+
+    @Rule
+    public MockitoRule rule = MockitoJUnit.rule();
+
+    @Mock
+    private BucketTopologyHelper bucketTopologyHelper;
+
+    private final ArchiveCacheEntry test1 = new ArchiveCacheEntry("test-objects", "tar1");
+    private final ArchiveCacheEntry test2 = new ArchiveCacheEntry("test-objects", "tar2");
+    private final ArchiveCacheEntry prod1 = new ArchiveCacheEntry("prod-objects", "tar3");
+    private final ArchiveCacheEntry prod2 = new ArchiveCacheEntry("prod-objects", "tar4");
+    private final ArchiveCacheEntry prod3 = new ArchiveCacheEntry("prod-objects", "tar5");
+
+    private List<CacheEntryAccessHistory<ArchiveCacheEntry>> entries;
+
+    @Before
+    public void before() {
+        doReturn("test").when(bucketTopologyHelper).getBucketFromFileBucket("test-objects");
+        doReturn("prod").when(bucketTopologyHelper).getBucketFromFileBucket("prod-objects");
+        doReturn(null).when(bucketTopologyHelper).getCacheQuotaPercent("test");
+        doReturn(null).when(bucketTopologyHelper).getCacheQuotaPercent("prod");
+
+        entries = Arrays.asList(
+            new CacheEntryAccessHistory<>(test1, 100L, 1000L, 1),
+            new CacheEntryAccessHistory<>(prod1, 100L, 2000L, 1),
+            new CacheEntryAccessHistory<>(prod2, 100L, 3000L, 1),
+            new CacheEntryAccessHistory<>(test2, 100L, 4000L, 1),
+            new CacheEntryAccessHistory<>(prod3, 100L, 5000L, 1));
+    }
+
+    @Test
+    public void givenNoQuotaThenDelegateOrder() {
+
+        // Given
+        BucketQuotaArchiveCacheEvictionPolicy instance =
+            new BucketQuotaArchiveCacheEvictionPolicy(new LRUEvictionPolicy<>(), bucketTopologyHelper, 1000L);
+
+        // When
+        List<ArchiveCacheEntry> result = instance.sortByEvictionPriority(entries);
+
+        // Then
+        assertThat(result).containsExactly(test1, prod1, prod2, test2, prod3);
+    }
+
+    @Test
+    public void givenBucketUsageWithinQuotaThenDelegateOrder() {
+
+        // Given : prod bucket uses 300 out of 400 bytes
+        doReturn(40).when(bucketTopologyHelper).getCacheQuotaPercent("prod");
+        BucketQuotaArchiveCacheEvictionPolicy instance =
+            new BucketQuotaArchiveCacheEvictionPolicy(new LRUEvictionPolicy<>(), bucketTopologyHelper, 1000L);
+
+        // When
+        List<ArchiveCacheEntry> result = instance.sortByEvictionPriority(entries);
+
+        // Then
+        assertThat(result).containsExactly(test1, prod1, prod2, test2, prod3);
+    }
+
+    @Test
+    public void givenBucketUsageExceedingQuotaThenOldestBucketEntriesEvictedFirst() {
+
+        // Given : prod bucket uses 300 out of 100 bytes
+        doReturn(10).when(bucketTopologyHelper).getCacheQuotaPercent("prod");
+        BucketQuotaArchiveCacheEvictionPolicy instance =
+            new BucketQuotaArchiveCacheEvictionPolicy(new LRUEvictionPolicy<>(), bucketTopologyHelper, 1000L);
+
+        // When
+        List<ArchiveCacheEntry> result = instance.sortByEvictionPriority(entries);
+
+        // Then : 2 oldest prod entries are evicted first, until prod bucket is back within its quota
+        assertThat(result).containsExactly(prod1, prod2, test1, test2, prod3);
+    }
+
+    @Test
+    public void givenMultipleBucketsExceedingQuotaThenOldestEntriesOfBucketsEvictedFirst() {
+
+        // Given
+        doReturn(5).when(bucketTopologyHelper).getCacheQuotaPercent("test");
+        doReturn(20).when(bucketTopologyHelper).getCacheQuotaPercent("prod");
+        BucketQuotaArchiveCacheEvictionPolicy instance =
+            new BucketQuotaArchiveCacheEvictionPolicy(new LRUEvictionPolicy<>(), bucketTopologyHelper, 1000L);
+
+        // When
+        List<ArchiveCacheEntry> result = instance.sortByEvictionPriority(entries);
+
+        // Then
+        assertThat(result).containsExactly(test1, prod1, test2, prod2, prod3);
+    }
+}
@@ -63,6 +63,8 @@ public class BucketTopologyHelperTest {
             .isInstanceOf(Exception.class);
         assertThatThrownBy(() -> loadTopology("topology-test-bad-bucket-empty-buckets.conf"))
             .isInstanceOf(Exception.class);
+        assertThatThrownBy(() -> loadTopology("topology-test-bad-bucket-invalid-cache-quota.conf"))
+            .isInstanceOf(Exception.class);
         assertThatThrownBy(() -> loadTopology("topology-test-bad-bucket-negative-tar-buffering-timeout.conf"))
             .isInstanceOf(Exception.class);
         assertThatThrownBy(() -> loadTopology("topology-test-bad-bucket-null-buckets.conf"))
@@ -205,4 +207,16 @@ public class BucketTopologyHelperTest {
         assertThat(bucketTopologyHelper.keepFileBucketIdForeverInCache("admin-objects")).isFalse();
         assertThat(bucketTopologyHelper.keepFileBucketIdForeverInCache("prod-default")).isTrue();
     }
+
+    @Test
+    public void getCacheQuotaPercent() throws Exception {
+
+        // Given
+        BucketTopologyHelper bucketTopologyHelper = loadTopology("topology-test-cache-quota.conf");
+
+        // When / Then
+        assertThat(bucketTopologyHelper.getCacheQuotaPercent("test")).isEqualTo(20);
+        assertThat(bucketTopologyHelper.getCacheQuotaPercent("admin")).isNull();
+        assertThat(bucketTopologyHelper.getCacheQuotaPercent("prod")).isEqualTo(100);
+    }
 }
@@ -63,6 +63,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static fr.gouv.vitam.storage.offers.tape.cas.TarTestHelper.checkEntryAtPos;
@@ -74,6 +75,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -254,6 +256,88 @@ public class FileBucketTarCreatorTest {
     }
 
 
+    @Test
+    public void processMessagesWithConcurrentTarBuilders() throws Exception {
+
+        // Given
+        String bucketId = "test";
+        String fileBucketId = "test-metadata";
+
+        Path fileBucketStoragePath =
+            LocalFileUtils.fileBuckedInputFilePath(inputTarStoragePath.toString(), fileBucketId);
+        Files.createDirectories(fileBucketStoragePath);
+
+        FileBucketTarCreator fileBucketTarCreator = new FileBucketTarCreator(
+            basicFileStorage, objectReferentialRepository, archiveReferentialRepository,
+            writeOrderCreator, bucketId, fileBucketId, 2,
+            TimeUnit.SECONDS, inputTarStoragePath.toString(),
+            500_000L, 1_000_000L, 2);
+
+        Digest digest1 = new Digest(digestType);
+        String storageId1 = basicFileStorage.writeFile("0_unit", "file1",
+            digest1.getDigestInputStream(new ByteArrayInputStream("test data 1".getBytes())), 11);
+        Digest digest2 = new Digest(digestType);
+        String storageId2 = basicFileStorage.writeFile("0_unit", "file2",
+            digest2.getDigestInputStream(new NullInputStream(250_000)), 250_000);
+
+        // First file processing is blocked until second file is archived by another tar builder
+        CountDownLatch secondFileArchived = new CountDownLatch(1);
+        doAnswer((args) -> {
+            assertThat(secondFileArchived.await(10, TimeUnit.SECONDS)).isTrue();
+            return args.callRealMethod();
+        }).when(basicFileStorage).readFile("0_unit", storageId1);
+        doAnswer((args) -> {
+            if (storageId2.equals(args.getArgument(1))) {
+                secondFileArchived.countDown();
+            }
+            return null;
+        }).when(basicFileStorage).deleteFile(any(), any());
+
+        // When
+        fileBucketTarCreator.startListener();
+        fileBucketTarCreator.addToQueue(new InputFileToProcessMessage(
+            "0_unit", "file1", storageId1, 11, digest1.digestHex(), digestType.getName()));
+        fileBucketTarCreator.addToQueue(new InputFileToProcessMessage(
+            "0_unit", "file2", storageId2, 250_000, digest2.digestHex(), digestType.getName()));
+
+        // Then
+
+        // Both tars are sealed after buffering timeout
+        ArgumentCaptor<WriteOrder> writeOrderArgCaptor = ArgumentCaptor.forClass(WriteOrder.class);
+        verify(writeOrderCreator, timeout(10_000).times(2)).addToQueue(writeOrderArgCaptor.capture());
+        verify(basicFileStorage).deleteFile("0_unit", storageId1);
+        verify(basicFileStorage).deleteFile("0_unit", storageId2);
+
+        ArgumentCaptor<TapeArchiveReferentialEntity> tarReferentialEntityArgumentCaptor =
+            ArgumentCaptor.forClass(TapeArchiveReferentialEntity.class);
+        verify(archiveReferentialRepository, times(2)).insert(tarReferentialEntityArgumentCaptor.capture());
+        verifyNoMoreInteractions(archiveReferentialRepository);
+
+        assertThat(fileBucketStoragePath.toFile().list()).containsExactlyInAnyOrder(
+            tarReferentialEntityArgumentCaptor.getAllValues().get(0).getArchiveId(),
+            tarReferentialEntityArgumentCaptor.getAllValues().get(1).getArchiveId());
+
+        // Each file is archived in its own tar
+        ArgumentCaptor<TapeLibraryTarObjectStorageLocation> objectStorageLocation1 =
+            ArgumentCaptor.forClass(TapeLibraryTarObjectStorageLocation.class);
+        verify(objectReferentialRepository).updateStorageLocation(eq("0_unit"), eq("file1"), eq(storageId1),
+            objectStorageLocation1.capture());
+        ArgumentCaptor<TapeLibraryTarObjectStorageLocation> objectStorageLocation2 =
+            ArgumentCaptor.forClass(TapeLibraryTarObjectStorageLocation.class);
+        verify(objectReferentialRepository).updateStorageLocation(eq("0_unit"), eq("file2"), eq(storageId2),
+            objectStorageLocation2.capture());
+        verifyNoMoreInteractions(objectReferentialRepository);
+
+        TarEntryDescription tarEntry1 = objectStorageLocation1.getValue().getTarEntries().get(0);
+        TarEntryDescription tarEntry2 = objectStorageLocation2.getValue().getTarEntries().get(0);
+        assertThat(tarEntry1.getTarFileId()).isNotEqualTo(tarEntry2.getTarFileId());
+        checkEntryAtPos(fileBucketStoragePath.resolve(tarEntry1.getTarFileId()), tarEntry1);
+        checkEntryAtPos(fileBucketStoragePath.resolve(tarEntry2.getTarFileId()), tarEntry2);
+
+        assertThat(writeOrderArgCaptor.getAllValues()).extracting(WriteOrder::getArchiveId)
+            .containsExactlyInAnyOrder(tarEntry1.getTarFileId(), tarEntry2.getTarFileId());
+    }
+
     private void runProcessMessageTest(List<ObjectToWrite> objectsToWrite, int expectedSealedTarCount,
         int expectedTmpTarCount,
         int tarBufferingTimeoutInSeconds, long maxTarEntrySize, long maxTarFileSize)
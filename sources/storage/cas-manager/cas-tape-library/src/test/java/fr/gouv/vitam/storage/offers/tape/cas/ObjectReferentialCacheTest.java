@@ -0,0 +1,246 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.cas;
+
+import fr.gouv.vitam.common.collection.CloseableIteratorUtils;
+import fr.gouv.vitam.common.digest.DigestType;
+import fr.gouv.vitam.storage.engine.common.model.TapeLibraryInputFileObjectStorageLocation;
+import fr.gouv.vitam.storage.engine.common.model.TapeLibraryObjectReferentialId;
+import fr.gouv.vitam.storage.engine.common.model.TapeObjectReferentialEntity;
+import fr.gouv.vitam.storage.offers.tape.exception.ObjectReferentialException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class ObjectReferentialCacheTest {
+
+    private static final TapeLibraryObjectReferentialId OBJECT_ID_1 =
+        new TapeLibraryObjectReferentialId("container", "objectName1");
+    private static final TapeLibraryObjectReferentialId OBJECT_ID_2 =
+        new TapeLibraryObjectReferentialId("container", "objectName2");
+    private static final TapeLibraryObjectReferentialId UNKNOWN_OBJECT_ID =
+        new TapeLibraryObjectReferentialId("container", "unknown");
+
+    @Rule
+    public MockitoRule rule = MockitoJUnit.rule();
+
+    @Mock
+    private ObjectReferentialCache.ContainerObjectNamesLoader containerObjectNamesLoader;
+
+    @Test
+    public void givenDisabledCacheThenNothingCached() {
+
+        // Given
+        ObjectReferentialCache cache = ObjectReferentialCache.disabled();
+
+        // When
+        cache.put(createEntity(OBJECT_ID_1), cache.getVersion(OBJECT_ID_1));
+        cache.registerObjectName(OBJECT_ID_1);
+
+        // Then
+        assertThat(cache.getIfPresent(OBJECT_ID_1)).isEmpty();
+        assertThat(cache.isKnownAbsent(UNKNOWN_OBJECT_ID)).isFalse();
+    }
+
+    @Test
+    public void givenCachedEntityWhenInvalidateThenEntityEvicted() {
+
+        // Given
+        ObjectReferentialCache cache = createCache(10, false);
+        TapeObjectReferentialEntity entity1 = createEntity(OBJECT_ID_1);
+        TapeObjectReferentialEntity entity2 = createEntity(OBJECT_ID_2);
+        cache.put(entity1, cache.getVersion(OBJECT_ID_1));
+        cache.put(entity2, cache.getVersion(OBJECT_ID_2));
+
+        // When
+        cache.invalidate(OBJECT_ID_1);
+
+        // Then
+        assertThat(cache.getIfPresent(OBJECT_ID_1)).isEmpty();
+        assertThat(cache.getIfPresent(OBJECT_ID_2)).contains(entity2);
+    }
+
+    @Test
+    public void givenConcurrentInvalidationWhenPutThenEntityNotCached() {
+
+        // Given
+        ObjectReferentialCache cache = createCache(10, false);
+        long version = cache.getVersion(OBJECT_ID_1);
+
+        // When : entity invalidated while being loaded from DB
+        cache.invalidate(OBJECT_ID_1);
+        cache.put(createEntity(OBJECT_ID_1), version);
+
+        // Then
+        assertThat(cache.getIfPresent(OBJECT_ID_1)).isEmpty();
+    }
+
+    @Test
+    public void givenMaxEntriesExceededThenOldEntriesEvicted() {
+
+        // Given
+        ObjectReferentialCache cache = createCache(2, false);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            TapeLibraryObjectReferentialId id = new TapeLibraryObjectReferentialId("container", "obj" + i);
+            cache.put(createEntity(id), cache.getVersion(id));
+        }
+
+        // Then
+        assertThat(cache.getIfPresent(new TapeLibraryObjectReferentialId("container", "obj0"))).isEmpty();
+        assertThat(cache.getIfPresent(new TapeLibraryObjectReferentialId("container", "obj9"))).isPresent();
+    }
+
+    @Test
+    public void givenNegativeLookupFilterWhenLoadedThenUnknownObjectsKnownAbsent() throws Exception {
+
+        // Given
+        ObjectReferentialCache cache = createCache(0, true);
+        givenContainerObjects("objectName1", "objectName2");
+
+        // When : first lookup triggers filter loading
+        boolean knownAbsentBeforeLoading = cache.isKnownAbsent(UNKNOWN_OBJECT_ID);
+
+        // Then
+        assertThat(knownAbsentBeforeLoading).isFalse();
+        assertThat(cache.isKnownAbsent(OBJECT_ID_1)).isFalse();
+        assertThat(cache.isKnownAbsent(OBJECT_ID_2)).isFalse();
+        assertThat(cache.isKnownAbsent(UNKNOWN_OBJECT_ID)).isTrue();
+        assertThat(cache.isKnownAbsent(new TapeLibraryObjectReferentialId("otherContainer", "objectName1")))
+            .isFalse();
+        verify(containerObjectNamesLoader).listObjectNames("container");
+    }
+
+    @Test
+    public void givenNegativeLookupFilterWhenObjectRegisteredThenNotKnownAbsent() throws Exception {
+
+        // Given
+        ObjectReferentialCache cache = createCache(0, true);
+        givenContainerObjects("objectName1");
+        cache.isKnownAbsent(OBJECT_ID_1);
+
+        // When
+        cache.registerObjectName(OBJECT_ID_2);
+
+        // Then
+        assertThat(cache.isKnownAbsent(OBJECT_ID_2)).isFalse();
+    }
+
+    @Test
+    public void givenTooLargeContainerThenContainerNotFiltered() throws Exception {
+
+        // Given
+        ObjectReferentialCache cache = createCache(0, true);
+        doReturn(1_000L).when(containerObjectNamesLoader).countObjects("container");
+
+        // When
+        cache.isKnownAbsent(OBJECT_ID_1);
+
+        // Then
+        assertThat(cache.isKnownAbsent(UNKNOWN_OBJECT_ID)).isFalse();
+        verify(containerObjectNamesLoader).countObjects("container");
+        verifyNoMoreInteractions(containerObjectNamesLoader);
+    }
+
+    @Test
+    public void givenNegativeLookupFilterLoadingFailureThenRetriedOnNextLookup() throws Exception {
+
+        // Given
+        ObjectReferentialCache cache = createCache(0, true);
+        doThrow(new ObjectReferentialException("error")).when(containerObjectNamesLoader).countObjects(any());
+
+        // When
+        boolean knownAbsent1 = cache.isKnownAbsent(UNKNOWN_OBJECT_ID);
+        givenContainerObjects("objectName1");
+        boolean knownAbsent2 = cache.isKnownAbsent(UNKNOWN_OBJECT_ID);
+
+        // Then
+        assertThat(knownAbsent1).isFalse();
+        assertThat(knownAbsent2).isFalse();
+        assertThat(cache.isKnownAbsent(UNKNOWN_OBJECT_ID)).isTrue();
+        verify(containerObjectNamesLoader, times(2)).countObjects("container");
+    }
+
+    @Test
+    public void givenNegativeLookupFiltersMaxTotalCapacityExceededThenLeastRecentlyUsedFilterEvicted()
+        throws Exception {
+
+        // Given : room for a single filter (min filter capacity is 100K objects)
+        ObjectReferentialCache cache = createCache(0, true, 150_000L);
+        givenContainerObjects("objectName1");
+        doReturn(1L).when(containerObjectNamesLoader).countObjects("otherContainer");
+        doReturn(CloseableIteratorUtils.toCloseableIterator(List.of("objectName1")))
+            .when(containerObjectNamesLoader).listObjectNames("otherContainer");
+        cache.isKnownAbsent(OBJECT_ID_1);
+        assertThat(cache.isKnownAbsent(UNKNOWN_OBJECT_ID)).isTrue();
+
+        // When
+        cache.isKnownAbsent(new TapeLibraryObjectReferentialId("otherContainer", "objectName1"));
+
+        // Then
+        assertThat(cache.isKnownAbsent(new TapeLibraryObjectReferentialId("otherContainer", "unknown"))).isTrue();
+        // Evicted filter is reloaded on next lookup
+        assertThat(cache.isKnownAbsent(UNKNOWN_OBJECT_ID)).isFalse();
+        verify(containerObjectNamesLoader).listObjectNames("otherContainer");
+        verify(containerObjectNamesLoader, times(2)).listObjectNames("container");
+    }
+
+    private void givenContainerObjects(String... objectNames) throws ObjectReferentialException {
+        doReturn((long) objectNames.length).when(containerObjectNamesLoader).countObjects("container");
+        doReturn(CloseableIteratorUtils.toCloseableIterator(List.of(objectNames)))
+            .when(containerObjectNamesLoader).listObjectNames("container");
+    }
+
+    private ObjectReferentialCache createCache(int maxEntries, boolean negativeLookupFilterEnabled) {
+        return createCache(maxEntries, negativeLookupFilterEnabled, 1_000_000L);
+    }
+
+    private ObjectReferentialCache createCache(int maxEntries, boolean negativeLookupFilterEnabled,
+        long negativeLookupFiltersMaxTotalCapacity) {
+        // Synchronous filter loading
+        return new ObjectReferentialCache(maxEntries, negativeLookupFilterEnabled, 100L,
+            negativeLookupFiltersMaxTotalCapacity, containerObjectNamesLoader, Runnable::run);
+    }
+
+    private TapeObjectReferentialEntity createEntity(TapeLibraryObjectReferentialId id) {
+        return new TapeObjectReferentialEntity(id, 10L, DigestType.SHA512.getName(), "digest", "storageId",
+            new TapeLibraryInputFileObjectStorageLocation(), "date1", "date2");
+    }
+}
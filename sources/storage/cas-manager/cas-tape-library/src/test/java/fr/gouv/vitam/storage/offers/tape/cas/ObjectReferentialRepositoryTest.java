@@ -58,6 +58,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -577,6 +578,40 @@ public class ObjectReferentialRepositoryTest {
         assertThatThrownBy(() -> IteratorUtils.toList(result)).isInstanceOf(IllegalStateException.class);
     }
 
+    @Test
+    public void findWithCacheEnabledThenCacheInvalidatedOnUpdates() throws Exception {
+
+        // Given
+        ObjectReferentialRepository cachedObjectReferentialRepository = new ObjectReferentialRepository(
+            mongoRule.getMongoCollection(TAPE_OBJECT_REFERENTIAL_COLLECTION), 100, true);
+        TapeObjectReferentialEntity tapeObjectReferentialEntity1 = createObjectReferentialEntity();
+        cachedObjectReferentialRepository.insertOrUpdate(tapeObjectReferentialEntity1);
+        assertThat(cachedObjectReferentialRepository.find("container", "objectName1")).isPresent();
+
+        // When
+        cachedObjectReferentialRepository.updateStorageLocation(
+            "container", "objectName1", "storageId1",
+            new TapeLibraryTarObjectStorageLocation(
+                singletonList(new TarEntryDescription("tarId1", "entry1", 1000L, 3L, "digest1-1"))));
+        Optional<TapeObjectReferentialEntity> updatedEntity =
+            cachedObjectReferentialRepository.find("container", "objectName1");
+        Set<String> archiveIds = cachedObjectReferentialRepository.selectArchiveIdsByObjectIds(
+            List.of(new TapeLibraryObjectReferentialId("container", "objectName1"),
+                new TapeLibraryObjectReferentialId("container", "unknown")).iterator());
+        boolean deleted = cachedObjectReferentialRepository.delete(
+            new TapeLibraryObjectReferentialId("container", "objectName1"));
+        Optional<TapeObjectReferentialEntity> deletedEntity =
+            cachedObjectReferentialRepository.find("container", "objectName1");
+
+        // Then
+        assertThat(updatedEntity).isPresent();
+        assertThat(updatedEntity.get().getLocation()).isInstanceOf(TapeLibraryTarObjectStorageLocation.class);
+        assertThat(archiveIds).containsExactly("tarId1");
+        assertThat(deleted).isTrue();
+        assertThat(deletedEntity).isEmpty();
+        assertThat(cachedObjectReferentialRepository.find("container", "unknown")).isEmpty();
+    }
+
     private TapeObjectReferentialEntity createObjectReferentialEntity() {
         return new TapeObjectReferentialEntity(
             new TapeLibraryObjectReferentialId("container", "objectName1"),
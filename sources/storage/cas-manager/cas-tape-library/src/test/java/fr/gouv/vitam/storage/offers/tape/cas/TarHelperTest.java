@@ -0,0 +1,131 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.cas;
+
+import fr.gouv.vitam.storage.engine.common.model.TarEntryDescription;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.RandomUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TarHelperTest {
+
+    private static final String TAR_FILE_ID = "myTarFile.tar";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testOpenEntryAtPos() throws IOException {
+
+        // Given
+        Path tarFilePath = temporaryFolder.getRoot().toPath().resolve(TAR_FILE_ID);
+        byte[] data1 = RandomUtils.nextBytes(1_000);
+        byte[] data2 = RandomUtils.nextBytes(100_000);
+        byte[] data3 = "data3".getBytes();
+        byte[] data4 = new byte[0];
+
+        TarEntryDescription entry1;
+        TarEntryDescription entry2;
+        TarEntryDescription entry3;
+        TarEntryDescription entry4;
+        try (TarAppender tarAppender = new TarAppender(tarFilePath, TAR_FILE_ID, 1_000_000L)) {
+            entry1 = tarAppender.append("entry1", new ByteArrayInputStream(data1), data1.length);
+            // Long entry names are stored using extra header records
+            entry2 = tarAppender.append(StringUtils.repeat("entry2", 50), new ByteArrayInputStream(data2),
+                data2.length);
+            entry3 = tarAppender.append("entry3", new ByteArrayInputStream(data3), data3.length);
+            entry4 = tarAppender.append("entry4", new ByteArrayInputStream(data4), data4.length);
+        }
+
+        // When / Then
+        assertThat(readEntry(tarFilePath, entry1)).isEqualTo(data1);
+        assertThat(readEntry(tarFilePath, entry2)).isEqualTo(data2);
+        assertThat(readEntry(tarFilePath, entry3)).isEqualTo(data3);
+        assertThat(readEntry(tarFilePath, entry4)).isEqualTo(data4);
+    }
+
+    @Test
+    public void testOpenEntryAtPosClosesFileOnClose() throws IOException {
+
+        // Given
+        Path tarFilePath = temporaryFolder.getRoot().toPath().resolve(TAR_FILE_ID);
+        byte[] data = "data".getBytes();
+        TarEntryDescription entry;
+        try (TarAppender tarAppender = new TarAppender(tarFilePath, TAR_FILE_ID, 1_000_000L)) {
+            entry = tarAppender.append("entry", new ByteArrayInputStream(data), data.length);
+        }
+
+        FileInputStream fileInputStream = new FileInputStream(tarFilePath.toFile());
+
+        // When
+        InputStream inputStream = TarHelper.openEntryAtPos(fileInputStream, entry);
+        inputStream.close();
+
+        // Then
+        assertThat(fileInputStream.getChannel().isOpen()).isFalse();
+    }
+
+    @Test
+    public void testOpenEntryAtPosWithEntryNameConflict() throws IOException {
+
+        // Given
+        Path tarFilePath = temporaryFolder.getRoot().toPath().resolve(TAR_FILE_ID);
+        byte[] data = "data".getBytes();
+        TarEntryDescription entry;
+        try (TarAppender tarAppender = new TarAppender(tarFilePath, TAR_FILE_ID, 1_000_000L)) {
+            entry = tarAppender.append("entry", new ByteArrayInputStream(data), data.length);
+        }
+        TarEntryDescription invalidEntry = new TarEntryDescription(TAR_FILE_ID, "anotherEntry",
+            entry.getStartPos(), entry.getSize(), entry.getDigestValue());
+
+        FileInputStream fileInputStream = new FileInputStream(tarFilePath.toFile());
+
+        // When / Then
+        assertThatThrownBy(() -> TarHelper.openEntryAtPos(fileInputStream, invalidEntry))
+            .isInstanceOf(IOException.class);
+        assertThat(fileInputStream.getChannel().isOpen()).isFalse();
+    }
+
+    private byte[] readEntry(Path tarFilePath, TarEntryDescription entryDescription) throws IOException {
+        try (InputStream inputStream = TarHelper.openEntryAtPos(
+            new FileInputStream(tarFilePath.toFile()), entryDescription)) {
+            return IOUtils.toByteArray(inputStream);
+        }
+    }
+}
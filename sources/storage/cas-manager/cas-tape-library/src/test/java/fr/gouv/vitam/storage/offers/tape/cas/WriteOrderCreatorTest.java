@@ -71,7 +71,7 @@ public class WriteOrderCreatorTest {
         CountDownLatch countDownLatch = new CountDownLatch(1);
         doAnswer((args) -> {
             countDownLatch.countDown();
-            return null;
+            return true;
         }).when(readWriteQueue).addIfAbsent(any(), any());
 
 
@@ -0,0 +1,183 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.impl.queue;
+
+import com.mongodb.client.MongoCollection;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageEntity;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageType;
+import fr.gouv.vitam.storage.engine.common.model.QueueState;
+import fr.gouv.vitam.storage.engine.common.model.ReadOrder;
+import fr.gouv.vitam.storage.engine.common.model.WriteOrder;
+import fr.gouv.vitam.storage.offers.tape.exception.QueueException;
+import org.bson.conversions.Bson;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.nin;
+import static fr.gouv.vitam.common.junit.BenchmarkHelper.measureNanos;
+import static fr.gouv.vitam.common.junit.BenchmarkHelper.toMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Order selection benchmark on a synthetic queue of pending read / write orders (in-memory index, no mongo
+ * round-trip).
+ *
+ * How to run :
+ * - Remove @Ignore annotation locally
+ */
+@Ignore("Order selection benchmark. To be run manually")
+public class IndexedQueueRepositoryBenchmarkIT {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(IndexedQueueRepositoryBenchmarkIT.class);
+
+    private static final int NB_ORDERS = 100_000;
+    private static final int NB_BUCKETS = 200;
+    private static final int NB_TAPES = 1_000;
+    private static final int NB_ITERATIONS = 100_000;
+    private static final long SEED = 42L;
+
+    @Test
+    public void benchmarkOrderSelection() throws Exception {
+
+        // Given
+        Random random = new Random(SEED);
+        Map<String, QueueMessageEntity> messages = new HashMap<>();
+        for (int i = 0; i < NB_ORDERS; i++) {
+            QueueMessageEntity order;
+            if (i % 2 == 0) {
+                order = new WriteOrder("bucket" + random.nextInt(NB_BUCKETS), "fileBucketId", "file" + i, 10L,
+                    "digest", "archive" + i, QueueMessageType.WriteOrder);
+            } else {
+                order = new ReadOrder("TAPE" + random.nextInt(NB_TAPES), random.nextInt(10_000), "tar" + i,
+                    "bucket" + random.nextInt(NB_BUCKETS), "fileBucketId", 10L);
+            }
+            messages.put(order.getId(), order);
+        }
+
+        IndexedQueueRepository queueRepository = new IndexedQueueRepository(new InMemoryJournal(messages));
+        long bootstrapDuration = toMillis(measureNanos(queueRepository::initializeOnBootstrap));
+
+        Set<String> activeBuckets = Set.of("bucket1", "bucket2", "bucket3", "bucket4");
+        Set<String> activeTapes = Set.of("TAPE1", "TAPE2", "TAPE3", "TAPE4");
+
+        // When
+        double byBucket = benchmark(queueRepository, QueueMessageType.WriteOrder,
+            i -> eq(WriteOrder.BUCKET, "bucket" + (i % NB_BUCKETS)));
+        double excludingBuckets = benchmark(queueRepository, QueueMessageType.WriteOrder,
+            i -> nin(WriteOrder.BUCKET, activeBuckets));
+        double byTapeCode = benchmark(queueRepository, QueueMessageType.ReadOrder,
+            i -> eq(ReadOrder.TAPE_CODE, "TAPE" + (i % NB_TAPES)));
+        double excludingTapeCodes = benchmark(queueRepository, QueueMessageType.ReadOrder,
+            i -> nin(ReadOrder.TAPE_CODE, activeTapes));
+
+        // Then
+        LOGGER.info(String.format("Order selection benchmark (%d pending orders, %d iterations):%n" +
+                " - index build on bootstrap : %d ms%n" +
+                " - write order by bucket : %.1f us/op%n" +
+                " - write order excluding active buckets : %.1f us/op%n" +
+                " - read order by tape code : %.1f us/op%n" +
+                " - read order excluding active tape codes : %.1f us/op",
+            NB_ORDERS, NB_ITERATIONS, bootstrapDuration, byBucket, excludingBuckets, byTapeCode,
+            excludingTapeCodes));
+    }
+
+    /**
+     * @return average selection time in microseconds (selected orders are re-enqueued to keep queue size constant)
+     */
+    private static double benchmark(IndexedQueueRepository queueRepository, QueueMessageType messageType,
+        IntFunction<Bson> query) throws Exception {
+
+        // Warm up
+        for (int i = 0; i < NB_ITERATIONS; i++) {
+            receiveAndReenqueue(queueRepository, messageType, query.apply(i));
+        }
+
+        long elapsedNanos = measureNanos(() -> {
+            for (int i = 0; i < NB_ITERATIONS; i++) {
+                receiveAndReenqueue(queueRepository, messageType, query.apply(i));
+            }
+        });
+        return elapsedNanos / 1000d / NB_ITERATIONS;
+    }
+
+    private static void receiveAndReenqueue(IndexedQueueRepository queueRepository, QueueMessageType messageType,
+        Bson query) throws QueueException {
+        Optional<QueueMessageEntity> order = queueRepository.receive(query, messageType);
+        assertThat(order).isPresent();
+        queueRepository.markReady(order.get().getId());
+    }
+
+    /**
+     * Journal stub, without any I/O
+     */
+    private static class InMemoryJournal extends QueueRepositoryImpl {
+
+        private final Map<String, QueueMessageEntity> messages;
+
+        InMemoryJournal(Map<String, QueueMessageEntity> messages) {
+            super(mock(MongoCollection.class));
+            this.messages = messages;
+        }
+
+        @Override
+        public long initializeOnBootstrap() {
+            return 0L;
+        }
+
+        @Override
+        public List<QueueMessageEntity> findAll() {
+            return new ArrayList<>(messages.values());
+        }
+
+        @Override
+        public <T> Optional<T> receive(Bson inQuery, QueueMessageType messageType, boolean usePriority) {
+            String id = inQuery.toBsonDocument().getString(QueueMessageEntity.ID).getValue();
+            QueueMessageEntity message = messages.get(id);
+            message.setState(QueueState.RUNNING);
+            return Optional.of((T) message);
+        }
+
+        @Override
+        public long markReady(String queueMessageId) {
+            messages.get(queueMessageId).setState(QueueState.READY);
+            return 1L;
+        }
+    }
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.tape.impl.queue;
+
+import fr.gouv.vitam.common.database.server.query.QueryCriteria;
+import fr.gouv.vitam.common.database.server.query.QueryCriteriaOperator;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageEntity;
+import fr.gouv.vitam.storage.engine.common.model.QueueMessageType;
+import fr.gouv.vitam.storage.engine.common.model.QueueState;
+import fr.gouv.vitam.storage.engine.common.model.ReadOrder;
+import fr.gouv.vitam.storage.engine.common.model.WriteOrder;
+import fr.gouv.vitam.storage.offers.tape.exception.QueueException;
+import org.bson.conversions.Bson;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.ne;
+import static com.mongodb.client.model.Filters.nin;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class IndexedQueueRepositoryTest {
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private QueueRepositoryImpl journal;
+
+    private final Map<String, QueueMessageEntity> journalMessages = new HashMap<>();
+
+    private IndexedQueueRepository indexedQueueRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        indexedQueueRepository = new IndexedQueueRepository(journal);
+
+        // Journal receive by id (marks message as RUNNING)
+        doAnswer(args -> {
+            Bson query = args.getArgument(0);
+            String id = query.toBsonDocument().getString(QueueMessageEntity.ID).getValue();
+            QueueMessageEntity message = journalMessages.get(id);
+            if (message == null || message.getState() != QueueState.READY) {
+                return Optional.empty();
+            }
+            message.setState(QueueState.RUNNING);
+            return Optional.of(message);
+        }).when(journal).receive(any(Bson.class), any(QueueMessageType.class), anyBoolean());
+
+        // Journal lookup by id
+        doAnswer(args -> Optional.ofNullable(journalMessages.get(args.<String>getArgument(0))))
+            .when(journal).findById(anyString());
+    }
+
+    @Test
+    public void givenNotInitializedIndexThenDelegateToJournal() throws Exception {
+        // Given
+        WriteOrder writeOrder = writeOrder("bucket1", "file1", "2023-01-01T10:00:00.000", 1);
+        doReturn(Optional.of(writeOrder)).when(journal).receive(null, QueueMessageType.WriteOrder, true);
+
+        // When
+        Optional<WriteOrder> received = indexedQueueRepository.receive(QueueMessageType.WriteOrder);
+
+        // Then
+        assertThat(received).contains(writeOrder);
+        verify(journal, never()).findAll();
+    }
+
+    @Test
+    public void givenPendingWriteOrdersWhenReceiveByBucketThenSelectByPriorityThenCreationDate() throws Exception {
+        // Given
+        WriteOrder order1 = writeOrder("bucket1", "file1", "2023-01-01T10:00:00.000", 1);
+        WriteOrder order2 = writeOrder("bucket2", "file2", "2023-01-01T09:00:00.000", 1);
+        WriteOrder order3 = writeOrder("bucket1", "file3", "2023-01-01T08:00:00.000", 2);
+        WriteOrder order4 = writeOrder("bucket1", "file4", "2023-01-01T11:00:00.000", 1);
+        givenJournalMessages(order1, order2, order3, order4);
+
+        // When / Then
+        assertThat(receiveFileName(eq(WriteOrder.BUCKET, "bucket1"))).contains("file1");
+        assertThat(receiveFileName(eq(WriteOrder.BUCKET, "bucket1"))).contains("file4");
+        assertThat(receiveFileName(eq(WriteOrder.BUCKET, "bucket1"))).contains("file3");
+        assertThat(receiveFileName(eq(WriteOrder.BUCKET, "bucket1"))).isEmpty();
+        assertThat(receiveFileName(null)).contains("file2");
+        assertThat(receiveFileName(null)).isEmpty();
+    }
+
+    @Test
+    public void givenPendingWriteOrdersWhenReceiveExcludingBucketsThenSelectFirstOrderOfOtherBuckets()
+        throws Exception {
+        // Given
+        WriteOrder order1 = writeOrder("bucket1", "file1", "2023-01-01T08:00:00.000", 1);
+        WriteOrder order2 = writeOrder("bucket2", "file2", "2023-01-01T10:00:00.000", 1);
+        WriteOrder order3 = writeOrder("bucket3", "file3", "2023-01-01T09:00:00.000", 1);
+        givenJournalMessages(order1, order2, order3);
+
+        // When / Then
+        Bson excludingBucket1 = nin(WriteOrder.BUCKET, Set.of("bucket1"));
+        assertThat(receiveFileName(excludingBucket1)).contains("file3");
+        assertThat(receiveFileName(excludingBucket1)).contains("file2");
+        assertThat(receiveFileName(excludingBucket1)).isEmpty();
+    }
+
+    @Test
+    public void givenPendingReadOrdersWhenReceiveByIdAndTapeCodeThenSelectMatchingOrderOnly() throws Exception {
+        // Given
+        ReadOrder order1 = readOrder("TAPE1", 1, "tar1");
+        ReadOrder order2 = readOrder("TAPE2", 2, "tar2");
+        givenJournalMessages(order1, order2);
+
+        // When
+        Optional<ReadOrder> wrongTape = indexedQueueRepository.receive(
+            and(eq(QueueMessageEntity.ID, order2.getId()), eq(ReadOrder.TAPE_CODE, "TAPE1")),
+            QueueMessageType.ReadOrder);
+        Optional<ReadOrder> received = indexedQueueRepository.receive(
+            and(eq(QueueMessageEntity.ID, order2.getId()), eq(ReadOrder.TAPE_CODE, "TAPE2")),
+            QueueMessageType.ReadOrder);
+        Optional<ReadOrder> alreadyReceived = indexedQueueRepository.receive(
+            and(eq(QueueMessageEntity.ID, order2.getId()), eq(ReadOrder.TAPE_CODE, "TAPE2")),
+            QueueMessageType.ReadOrder);
+
+        // Then
+        assertThat(wrongTape).isEmpty();
+        assertThat(received).isPresent();
+        assertThat(received.get().getFileName()).isEqualTo("tar2");
+        assertThat(alreadyReceived).isEmpty();
+    }
+
+    @Test
+    public void givenPendingReadOrdersWhenListReadyByTapeCodeThenReturnReadyOrdersOnly() throws Exception {
+        // Given
+        ReadOrder order1 = readOrder("TAPE1", 3, "tar1");
+        ReadOrder order2 = readOrder("TAPE1", 1, "tar2");
+        ReadOrder order3 = readOrder("TAPE2", 2, "tar3");
+        ReadOrder order4 = readOrder("TAPE1", 2, "tar4");
+        givenJournalMessages(order1, order2, order3, order4);
+        indexedQueueRepository.receive(eq(ReadOrder.FILE_NAME, "tar2"), QueueMessageType.ReadOrder);
+
+        // When
+        List<ReadOrder> readOrders =
+            indexedQueueRepository.listReady(eq(ReadOrder.TAPE_CODE, "TAPE1"), QueueMessageType.ReadOrder, 10);
+
+        // Then
+        assertThat(readOrders).extracting(ReadOrder::getFileName).containsExactly("tar1", "tar4");
+        verify(journal, never()).listReady(any(), any(), anyInt());
+    }
+
+    @Test
+    public void givenRunningOrderWhenMarkReadyThenOrderSelectableAgain() throws Exception {
+        // Given
+        WriteOrder order1 = writeOrder("bucket1", "file1", "2023-01-01T10:00:00.000", 1);
+        givenJournalMessages(order1);
+        assertThat(receiveFileName(null)).contains("file1");
+
+        // When
+        order1.setState(QueueState.READY);
+        indexedQueueRepository.markReady(order1.getId());
+
+        // Then
+        verify(journal).markReady(order1.getId());
+        assertThat(receiveFileName(null)).contains("file1");
+    }
+
+    @Test
+    public void givenRunningOrderWhenMarkErrorThenOrderNotSelectable() throws Exception {
+        // Given
+        WriteOrder order1 = writeOrder("bucket1", "file1", "2023-01-01T10:00:00.000", 1);
+        givenJournalMessages(order1);
+        assertThat(receiveFileName(null)).contains("file1");
+
+        // When
+        indexedQueueRepository.markError(order1.getId());
+
+        // Then
+        verify(journal).markError(order1.getId());
+        order1.setState(QueueState.READY);
+        assertThat(receiveFileName(null)).isEmpty();
+    }
+
+    @Test
+    public void givenExistingOrderWhenAddIfAbsentThenOrderNotAdded() throws Exception {
+        // Given
+        givenJournalMessages(readOrder("TAPE1", 1, "tar1"));
+
+        ReadOrder duplicate = readOrder("TAPE1", 1, "tar1");
+        ReadOrder newOrder = readOrder("TAPE1", 2, "tar2");
+
+        // When
+        boolean duplicateAdded = indexedQueueRepository.addIfAbsent(readOrderCriteria("tar1"), duplicate);
+        boolean newOrderAdded = indexedQueueRepository.addIfAbsent(readOrderCriteria("tar2"), newOrder);
+
+        // Then
+        assertThat(duplicateAdded).isFalse();
+        assertThat(newOrderAdded).isTrue();
+        verify(journal, never()).add(duplicate);
+        verify(journal).add(newOrder);
+        verify(journal, never()).addIfAbsent(any(), any());
+        assertThat(indexedQueueRepository.<ReadOrder>listReady(eq(ReadOrder.TAPE_CODE, "TAPE1"),
+            QueueMessageType.ReadOrder, 10)).extracting(ReadOrder::getFileName).containsExactly("tar1", "tar2");
+    }
+
+    @Test
+    public void givenReadAheadOrdersWhenReceiveExcludingTapeCodesThenReadAheadOrdersOnlySelectedByTapeCode()
+        throws Exception {
+        // Given
+        ReadOrder order1 = readOrder("TAPE1", 1, "tar1").setReadAhead(true);
+        ReadOrder order2 = readOrder("TAPE2", 2, "tar2").setReadAhead(true);
+        ReadOrder order3 = readOrder("TAPE3", 3, "tar3");
+        givenJournalMessages(order1, order2, order3);
+
+        // When
+        Bson excludingTape3AndReadAhead = and(nin(ReadOrder.TAPE_CODE, Set.of("TAPE3")),
+            ne(ReadOrder.READ_AHEAD, true));
+        Optional<ReadOrder> readAheadOrderOfUnmountedTape =
+            indexedQueueRepository.receive(excludingTape3AndReadAhead, QueueMessageType.ReadOrder);
+        Optional<ReadOrder> readAheadOrderOfMountedTape =
+            indexedQueueRepository.receive(eq(ReadOrder.TAPE_CODE, "TAPE2"), QueueMessageType.ReadOrder);
+
+        // Then
+        assertThat(readAheadOrderOfUnmountedTape).isEmpty();
+        assertThat(readAheadOrderOfMountedTape).isPresent();
+        assertThat(readAheadOrderOfMountedTape.get().getFileName()).isEqualTo("tar2");
+    }
+
+    @Test
+    public void givenExistingReadAheadOrderWhenAddIfAbsentNonReadAheadOrderThenOrderAdded() throws Exception {
+        // Given
+        givenJournalMessages(readOrder("TAPE1", 1, "tar1").setReadAhead(true));
+
+        ReadOrder readOrder = readOrder("TAPE1", 1, "tar1");
+
+        // When
+        List<QueryCriteria> criteria = new ArrayList<>(readOrderCriteria("tar1"));
+        criteria.add(new QueryCriteria(ReadOrder.READ_AHEAD, true, QueryCriteriaOperator.NE));
+        boolean readOrderAdded = indexedQueueRepository.addIfAbsent(criteria, readOrder);
+        boolean duplicateAdded = indexedQueueRepository.addIfAbsent(criteria, readOrder("TAPE1", 1, "tar1"));
+
+        // Then
+        assertThat(readOrderAdded).isTrue();
+        assertThat(duplicateAdded).isFalse();
+        verify(journal).add(readOrder);
+        assertThat(indexedQueueRepository.<ReadOrder>listReady(eq(ReadOrder.TAPE_CODE, "TAPE1"),
+            QueueMessageType.ReadOrder, 10)).extracting(ReadOrder::isReadAhead).containsExactlyInAnyOrder(true, false);
+    }
+
+    @Test
+    public void givenReadyAndRunningOrdersWhenTryCancelIfNotStartedThenOnlyReadyOrderCancelled() throws Exception {
+        // Given
+        ReadOrder order1 = readOrder("TAPE1", 1, "tar1");
+        ReadOrder order2 = readOrder("TAPE1", 2, "tar2");
+        givenJournalMessages(order1, order2);
+        indexedQueueRepository.receive(eq(ReadOrder.FILE_NAME, "tar1"), QueueMessageType.ReadOrder);
+
+        // When
+        indexedQueueRepository.tryCancelIfNotStarted(readOrderCriteria("tar1"));
+        indexedQueueRepository.tryCancelIfNotStarted(readOrderCriteria("tar2"));
+
+        // Then
+        verify(journal, never()).remove(order1.getId());
+        verify(journal).remove(order2.getId());
+        assertThat(indexedQueueRepository.<ReadOrder>listReady(eq(ReadOrder.TAPE_CODE, "TAPE1"),
+            QueueMessageType.ReadOrder, 10)).isEmpty();
+    }
+
+    @Test
+    public void givenOrderMissingFromJournalWhenReceiveThenSkipOrder() throws Exception {
+        // Given
+        WriteOrder order1 = writeOrder("bucket1", "file1", "2023-01-01T08:00:00.000", 1);
+        WriteOrder order2 = writeOrder("bucket1", "file2", "2023-01-01T09:00:00.000", 1);
+        givenJournalMessages(order1, order2);
+        journalMessages.remove(order1.getId());
+
+        // When / Then
+        assertThat(receiveFileName(null)).contains("file2");
+        assertThat(receiveFileName(null)).isEmpty();
+    }
+
+    @Test
+    public void givenOrderConcurrentlyReceivedFromJournalWhenReceiveThenOrderKeptInIndex() throws Exception {
+        // Given
+        WriteOrder order1 = writeOrder("bucket1", "file1", "2023-01-01T08:00:00.000", 1);
+        WriteOrder order2 = writeOrder("bucket1", "file2", "2023-01-01T09:00:00.000", 1);
+        givenJournalMessages(order1, order2);
+        // Received through journal fallback, by another thread
+        order1.setState(QueueState.RUNNING);
+
+        // When
+        Optional<String> received = receiveFileName(null);
+
+        // Then
+        assertThat(received).contains("file2");
+        assertThat(receiveFileName(null)).isEmpty();
+
+        // Order still indexed : selectable again once marked as ready
+        order1.setState(QueueState.READY);
+        indexedQueueRepository.markReady(order1.getId());
+        assertThat(receiveFileName(null)).contains("file1");
+    }
+
+    @Test
+    public void givenUnsupportedFilterWhenReceiveThenFallbackToJournal() throws Exception {
+        // Given
+        WriteOrder order1 = writeOrder("bucket1", "file1", "2023-01-01T08:00:00.000", 1);
+        givenJournalMessages(order1);
+        Bson unsupportedFilter = exists(WriteOrder.BUCKET);
+        doReturn(Optional.of(order1)).when(journal).receive(unsupportedFilter, QueueMessageType.WriteOrder, true);
+
+        // When
+        Optional<WriteOrder> received = indexedQueueRepository.receive(unsupportedFilter, QueueMessageType.WriteOrder);
+
+        // Then
+        assertThat(received).contains(order1);
+        // Order marked as running in index
+        assertThat(receiveFileName(null)).isEmpty();
+    }
+
+    @Test
+    public void givenUnsupportedFilterWhenListReadyThenFallbackToJournal() throws Exception {
+        // Given
+        ReadOrder order1 = readOrder("TAPE1", 1, "tar1");
+        givenJournalMessages(order1);
+        Bson unsupportedFilter = exists(ReadOrder.TAPE_CODE);
+        doReturn(List.of(order1)).when(journal).listReady(unsupportedFilter, QueueMessageType.ReadOrder, 10);
+
+        // When
+        List<ReadOrder> readOrders =
+            indexedQueueRepository.listReady(unsupportedFilter, QueueMessageType.ReadOrder, 10);
+
+        // Then
+        assertThat(readOrders).containsExactly(order1);
+        verify(journal).listReady(unsupportedFilter, QueueMessageType.ReadOrder, 10);
+    }
+
+    private void givenJournalMessages(QueueMessageEntity... messages) throws QueueException {
+        List<QueueMessageEntity> entities = new ArrayList<>();
+        for (QueueMessageEntity message : messages) {
+            journalMessages.put(message.getId(), message);
+            entities.add(message);
+        }
+        doReturn(entities).when(journal).findAll();
+        indexedQueueRepository.initializeOnBootstrap();
+    }
+
+    private Optional<String> receiveFileName(Bson query) throws QueueException {
+        Optional<WriteOrder> writeOrder = indexedQueueRepository.receive(query, QueueMessageType.WriteOrder);
+        return writeOrder.map(WriteOrder::getFilePath);
+    }
+
+    private static List<QueryCriteria> readOrderCriteria(String fileName) {
+        return List.of(
+            new QueryCriteria(ReadOrder.FILE_NAME, fileName, QueryCriteriaOperator.EQ),
+            new QueryCriteria(ReadOrder.MESSAGE_TYPE, QueueMessageType.ReadOrder.name(), QueryCriteriaOperator.EQ));
+    }
+
+    private static WriteOrder writeOrder(String bucket, String filePath, String created, int priority) {
+        WriteOrder writeOrder = new WriteOrder(bucket, "fileBucketId", filePath, 10L, "digest", filePath,
+            QueueMessageType.WriteOrder);
+        writeOrder.setCreated(created);
+        writeOrder.setPriority(priority);
+        return writeOrder;
+    }
+
+    private static ReadOrder readOrder(String tapeCode, int filePosition, String fileName) {
+        return new ReadOrder(tapeCode, filePosition, fileName, "bucket", "fileBucketId", 10L);
+    }
+}
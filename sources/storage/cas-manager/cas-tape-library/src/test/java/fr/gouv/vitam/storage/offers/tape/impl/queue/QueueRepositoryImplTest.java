@@ -45,6 +45,7 @@ import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -292,6 +293,37 @@ public class QueueRepositoryImplTest {
 
     }
 
+    @Test
+    public void testListReadyWithQuery() throws QueueException {
+
+        // Given
+        queueRepositoryImpl.add(new ReadOrder("VIT0001", 7, "tarId1.tar", "myBucket", "myFileBucketId", 10L));
+        queueRepositoryImpl.add(new ReadOrder("VIT0002", 2, "tarId2.tar", "myBucket", "myFileBucketId", 10L));
+        queueRepositoryImpl.add(new ReadOrder("VIT0001", 3, "tarId3.tar", "myBucket", "myFileBucketId", 10L));
+        queueRepositoryImpl.add(new ReadOrder("VIT0001", 5, "tarId4.tar", "myBucket", "myFileBucketId", 10L));
+
+        // Running orders are not listed
+        Optional<ReadOrder> running =
+            queueRepositoryImpl.receive(Filters.eq(ReadOrder.FILE_NAME, "tarId4.tar"), QueueMessageType.ReadOrder);
+        assertThat(running).isPresent();
+
+        Bson query = Filters.eq(ReadOrder.TAPE_CODE, "VIT0001");
+
+        // When
+        List<ReadOrder> readOrders = queueRepositoryImpl.listReady(query, QueueMessageType.ReadOrder, 10);
+        List<ReadOrder> limitedReadOrders = queueRepositoryImpl.listReady(query, QueueMessageType.ReadOrder, 1);
+
+        // Then
+        assertThat(readOrders).extracting(ReadOrder::getFileName).containsExactly("tarId1.tar", "tarId3.tar");
+        assertThat(readOrders).extracting(ReadOrder::getState).containsOnly(QueueState.READY);
+        assertThat(limitedReadOrders).extracting(ReadOrder::getFileName).containsExactly("tarId1.tar");
+
+        // Listed orders are not reserved
+        Optional<ReadOrder> found = queueRepositoryImpl.receive(query, QueueMessageType.ReadOrder);
+        assertThat(found).isPresent();
+        assertThat(found.get().getFileName()).isEqualTo("tarId1.tar");
+    }
+
     @Test
     public void testCountByStateAndType() throws QueueException {
 
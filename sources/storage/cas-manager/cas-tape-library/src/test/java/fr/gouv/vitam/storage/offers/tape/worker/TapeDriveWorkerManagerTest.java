@@ -44,6 +44,7 @@ import fr.gouv.vitam.storage.offers.tape.spec.TapeCatalogService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeDriveCommandService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeDriveService;
 import fr.gouv.vitam.storage.offers.tape.spec.TapeLibraryPool;
+import org.bson.conversions.Bson;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -55,6 +56,9 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -66,6 +70,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
@@ -688,6 +693,93 @@ public class TapeDriveWorkerManagerTest {
         assertThat(order).isNotPresent();
     }
 
+    // ===================================
+    // =    Elevator read scheduling
+    // ===================================
+    @Test
+    public void test_consume_read_orders_of_current_tape_sorted_by_file_position_from_current_position()
+        throws QueueException {
+        TapeDriveWorker driveWorker = mock(TapeDriveWorker.class);
+        TapeCatalog tapeCatalog = mock(TapeCatalog.class);
+        when(tapeCatalog.getCode()).thenReturn("VIT0001");
+        when(tapeCatalog.getCurrentPosition()).thenReturn(5);
+        when(driveWorker.getCurrentTape()).thenReturn(tapeCatalog);
+        when(driveWorker.getIndex()).thenReturn(1);
+        when(driveWorker.getPriority()).thenReturn(ReadWritePriority.READ);
+
+        Map<String, ReadOrder> readyReadOrders = new HashMap<>();
+        List<ReadOrder> pendingReadOrders = new ArrayList<>();
+        for (int filePosition : new int[] {2, 8, 5, 9, 12, 1}) {
+            ReadOrder readOrder = new ReadOrder("VIT0001", filePosition, "tar" + filePosition + ".tar", "bucket",
+                "fileBucketId", 10L);
+            readyReadOrders.put(readOrder.getId(), readOrder);
+            pendingReadOrders.add(readOrder);
+        }
+        // Cancelled read order
+        readyReadOrders.remove(pendingReadOrders.get(3).getId());
+
+        doReturn(pendingReadOrders)
+            .when(queueRepository).listReady(any(), eq(QueueMessageType.ReadOrder), anyInt());
+        doAnswer(args -> receiveReadOrderById(readyReadOrders, args.getArgument(0)))
+            .when(queueRepository).receive(any(), eq(QueueMessageType.ReadOrder));
+
+        // When
+        List<Integer> filePositions = new ArrayList<>();
+        Optional<? extends ReadWriteOrder> order;
+        while ((order = tapeDriveWorkerManager.consume(driveWorker)).isPresent()) {
+            filePositions.add(((ReadOrder) order.get()).getFilePosition());
+        }
+
+        // Then
+        assertThat(filePositions).containsExactly(5, 8, 12, 1, 2);
+        // Initial plan + re-plan once exhausted
+        verify(queueRepository, new Times(2)).listReady(any(), eq(QueueMessageType.ReadOrder), anyInt());
+    }
+
+    @Test
+    public void test_consume_read_orders_plan_discarded_when_current_tape_changes() throws QueueException {
+        TapeDriveWorker driveWorker = mock(TapeDriveWorker.class);
+        TapeCatalog tapeCatalog1 = mock(TapeCatalog.class);
+        when(tapeCatalog1.getCode()).thenReturn("VIT0001");
+        TapeCatalog tapeCatalog2 = mock(TapeCatalog.class);
+        when(tapeCatalog2.getCode()).thenReturn("VIT0002");
+        when(driveWorker.getCurrentTape()).thenReturn(tapeCatalog1);
+        when(driveWorker.getIndex()).thenReturn(1);
+        when(driveWorker.getPriority()).thenReturn(ReadWritePriority.READ);
+
+        ReadOrder readOrder1 = new ReadOrder("VIT0001", 1, "tar1.tar", "bucket", "fileBucketId", 10L);
+        ReadOrder readOrder2 = new ReadOrder("VIT0001", 2, "tar2.tar", "bucket", "fileBucketId", 10L);
+        ReadOrder readOrder3 = new ReadOrder("VIT0002", 3, "tar3.tar", "bucket", "fileBucketId", 10L);
+        Map<String, ReadOrder> readyReadOrders = new HashMap<>(Map.of(
+            readOrder1.getId(), readOrder1, readOrder2.getId(), readOrder2, readOrder3.getId(), readOrder3));
+
+        doReturn(List.of(readOrder1, readOrder2), List.of(readOrder3))
+            .when(queueRepository).listReady(any(), eq(QueueMessageType.ReadOrder), anyInt());
+        doAnswer(args -> receiveReadOrderById(readyReadOrders, args.getArgument(0)))
+            .when(queueRepository).receive(any(), eq(QueueMessageType.ReadOrder));
+
+        // When
+        Optional<? extends ReadWriteOrder> firstOrder = tapeDriveWorkerManager.consume(driveWorker);
+        when(driveWorker.getCurrentTape()).thenReturn(tapeCatalog2);
+        Optional<? extends ReadWriteOrder> secondOrder = tapeDriveWorkerManager.consume(driveWorker);
+
+        // Then
+        assertThat(firstOrder).isPresent();
+        assertThat(((ReadOrder) firstOrder.get()).getFileName()).isEqualTo("tar1.tar");
+        assertThat(secondOrder).isPresent();
+        assertThat(((ReadOrder) secondOrder.get()).getFileName()).isEqualTo("tar3.tar");
+        verify(queueRepository, new Times(2)).listReady(any(), eq(QueueMessageType.ReadOrder), anyInt());
+    }
+
+    private Optional<ReadOrder> receiveReadOrderById(Map<String, ReadOrder> readyReadOrders, Bson query) {
+        // Only read orders selected by id are received
+        String filter = query.toBsonDocument().toJson();
+        return readyReadOrders.keySet().stream()
+            .filter(id -> filter.contains(id))
+            .findFirst()
+            .map(readyReadOrders::remove);
+    }
+
     @Test
     public void test_drive_initialization_on_bootstrap() throws Exception {
 
@@ -135,6 +135,7 @@ public class ReadTaskTest {
 
     @Before
     public void setUp() throws IOException {
+        when(tapeRobotPool.getLibraryIdentifier()).thenReturn(FAKE_LIBRARY);
         when(tapeDriveService.getReadWriteService())
             .thenAnswer(o -> tapeReadWriteService);
 
@@ -41,6 +41,8 @@ import fr.gouv.vitam.storage.engine.common.model.WriteOrder;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveCacheStorage;
 import fr.gouv.vitam.storage.offers.tape.cas.ArchiveReferentialRepository;
 import fr.gouv.vitam.storage.offers.tape.dto.TapeDriveState;
+import fr.gouv.vitam.storage.offers.tape.exception.ArchiveReferentialException;
+import fr.gouv.vitam.storage.offers.tape.exception.ReadWriteErrorCode;
 import fr.gouv.vitam.storage.offers.tape.exception.TapeCatalogException;
 import fr.gouv.vitam.storage.offers.tape.exception.TapeCommandException;
 import fr.gouv.vitam.storage.offers.tape.impl.readwrite.TapeLibraryServiceImpl;
@@ -68,6 +70,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -139,6 +144,7 @@ public class WriteTaskTest {
 
     @Before
     public void setUp() throws Exception {
+        when(tapeRobotPool.getLibraryIdentifier()).thenReturn(FAKE_LIBRARY);
         when(tapeDriveService.getReadWriteService())
             .thenAnswer(o -> tapeReadWriteService);
         when(tapeDriveService.getDriveCommandService()).thenAnswer(o -> tapeDriveCommandService);
@@ -385,6 +391,97 @@ public class WriteTaskTest {
             eq(file));
     }
 
+    @Test
+    public void test_write_with_archive_finalization_executor_then_order_completed_asynchronously()
+        throws Exception {
+        // Given
+        when(tapeDriveService.getTapeDriveConf()).thenAnswer(o -> mock(TapeDriveConf.class));
+        String file = getTarFileName();
+
+        String filePath = FAKE_FILE_PATH + File.separator + file;
+        WriteOrder writeOrder = new WriteOrder(FAKE_BUCKET, FAKE_FILE_BUCKET_ID, filePath, 10L, FAKE_DIGEST, file,
+            QueueMessageType.WriteOrder);
+
+        TapeCatalog tapeCatalog = getTapeCatalog(true, false, TapeState.EMPTY);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            WriteTask writeTask =
+                new WriteTask(writeOrder, tapeCatalog, new TapeLibraryServiceImpl(tapeDriveService, tapeRobotPool,
+                    FULL_CARTRIDGE_THRESHOLD),
+                    tapeCatalogService, archiveReferentialRepository, archiveCacheStorage,
+                    inputTarDir.getAbsolutePath(), false, executor);
+
+            // When
+            ReadWriteResult result = writeTask.get();
+
+            // Then
+            verify(tapeReadWriteService, new Times(1)).writeToTape(
+                eq(FAKE_FILE_PATH + "/" + writeOrder.getArchiveId()));
+
+            assertThat(result).isNotNull();
+            assertThat(result.getStatus()).isEqualTo(StatusCode.OK);
+            assertThat(result.getOrderState()).isEqualTo(QueueState.RUNNING);
+            assertThat(result.getCurrentTape()).isNotNull();
+            assertThat(result.getCurrentTape().getFileCount()).isEqualTo(1);
+            assertThat(result.getArchiveFinalization()).isNotNull();
+
+            ReadWriteResult finalizationResult = result.getArchiveFinalization().get(10, TimeUnit.SECONDS);
+            assertThat(finalizationResult.getStatus()).isEqualTo(StatusCode.OK);
+            assertThat(finalizationResult.getOrderState()).isEqualTo(QueueState.COMPLETED);
+
+            verify(archiveReferentialRepository).updateLocationToOnTape(eq(file), any());
+            verify(archiveCacheStorage).reserveArchiveStorageSpace(FAKE_FILE_BUCKET_ID, file, 10L);
+            verify(archiveCacheStorage).moveArchiveToCache(eq(inputTarDir.toPath().resolve(filePath)),
+                eq(FAKE_FILE_BUCKET_ID),
+                eq(file));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_write_with_archive_finalization_executor_when_referential_update_ko_then_order_fatal()
+        throws Exception {
+        // Given
+        when(tapeDriveService.getTapeDriveConf()).thenAnswer(o -> mock(TapeDriveConf.class));
+        String file = getTarFileName();
+
+        String filePath = FAKE_FILE_PATH + File.separator + file;
+        WriteOrder writeOrder = new WriteOrder(FAKE_BUCKET, FAKE_FILE_BUCKET_ID, filePath, 10L, FAKE_DIGEST, file,
+            QueueMessageType.WriteOrder);
+
+        TapeCatalog tapeCatalog = getTapeCatalog(true, false, TapeState.EMPTY);
+
+        doThrow(new ArchiveReferentialException("error"))
+            .when(archiveReferentialRepository).updateLocationToOnTape(eq(file), any());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            WriteTask writeTask =
+                new WriteTask(writeOrder, tapeCatalog, new TapeLibraryServiceImpl(tapeDriveService, tapeRobotPool,
+                    FULL_CARTRIDGE_THRESHOLD),
+                    tapeCatalogService, archiveReferentialRepository, archiveCacheStorage,
+                    inputTarDir.getAbsolutePath(), false, executor);
+
+            // When
+            ReadWriteResult result = writeTask.get();
+
+            // Then
+            assertThat(result.getStatus()).isEqualTo(StatusCode.OK);
+            assertThat(result.getOrderState()).isEqualTo(QueueState.RUNNING);
+
+            ReadWriteResult finalizationResult = result.getArchiveFinalization().get(10, TimeUnit.SECONDS);
+            assertThat(finalizationResult.getStatus()).isEqualTo(StatusCode.FATAL);
+            assertThat(finalizationResult.getOrderState()).isEqualTo(QueueState.READY);
+            assertThat(finalizationResult.getCode()).isEqualTo(ReadWriteErrorCode.KO_DB_PERSIST);
+
+            verify(archiveCacheStorage, never()).moveArchiveToCache(any(), any(), any());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void test_current_tape_null_then_load_tape_with_empty_label_success()
         throws Exception {
@@ -28,6 +28,7 @@ package fr.gouv.vitam.storage.offers.core;
 
 import com.google.common.annotations.VisibleForTesting;
 import fr.gouv.vitam.common.digest.DigestType;
+import fr.gouv.vitam.common.model.VitamAutoCloseable;
 import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.storage.ContainerInformation;
 import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
@@ -51,8 +52,10 @@ import java.util.Map;
 
 /**
  * Default offer service interface define offer methods
+ *
+ * Closing the service flushes pending offer logs & releases its background threads.
  */
-public interface DefaultOfferService {
+public interface DefaultOfferService extends VitamAutoCloseable {
     String STORAGE_CONF_FILE_NAME = "default-storage.conf";
 
     /**
@@ -80,6 +83,20 @@ public interface DefaultOfferService {
     ObjectContent getObject(String containerName, String objectId)
         throws ContentAddressableStorageNotFoundException, ContentAddressableStorageException;
 
+    /**
+     * Get a byte range of an object on offer as an inputStream
+     *
+     * @param containerName the container containing the object
+     * @param objectId the object id
+     * @param chunkOffset offset of the first byte to return
+     * @param maxChunkSize max number of bytes to return, or null to read up to the end of the object
+     * @return the partial object content
+     * @throws ContentAddressableStorageNotFoundException thrown when object does not exists
+     * @throws ContentAddressableStorageException thrown when a server error occurs
+     */
+    ObjectContent getObject(String containerName, String objectId, long chunkOffset, Long maxChunkSize)
+        throws ContentAddressableStorageNotFoundException, ContentAddressableStorageException;
+
     /**
      * Create access request (asynchronous read from tape to local FS) for the given @containerName and objects list.
      * Return access request id
@@ -199,4 +216,17 @@ public interface DefaultOfferService {
 
     StorageBulkMetadataResult getBulkMetadata(String containerName, List<String> objectIds, Boolean noCache)
         throws ContentAddressableStorageException;
+
+    /**
+     * Streams bulk object metadata, in no specific order, to a listener
+     *
+     * @param containerName the container name
+     * @param objectIds the object ids
+     * @param noCache when true, digests are recomputed instead of being read from cache
+     * @param listener a listener to which are reported metadata entries (possibly concurrently)
+     * @throws ContentAddressableStorageException
+     * @throws IOException
+     */
+    void getBulkMetadata(String containerName, List<String> objectIds, Boolean noCache,
+        StorageBulkMetadataResultEntryListener listener) throws ContentAddressableStorageException, IOException;
 }
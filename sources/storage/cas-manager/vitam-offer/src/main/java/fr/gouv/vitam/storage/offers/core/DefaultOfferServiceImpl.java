@@ -28,6 +28,7 @@ package fr.gouv.vitam.storage.offers.core;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
+import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.alert.AlertService;
 import fr.gouv.vitam.common.alert.AlertServiceImpl;
 import fr.gouv.vitam.common.collection.CloseableIterable;
@@ -42,6 +43,7 @@ import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.performance.PerformanceLogger;
 import fr.gouv.vitam.common.storage.ContainerInformation;
 import fr.gouv.vitam.common.storage.StorageConfiguration;
+import fr.gouv.vitam.common.storage.cas.container.api.BulkObjectMetadataReader;
 import fr.gouv.vitam.common.storage.cas.container.api.ContentAddressableStorage;
 import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
 import fr.gouv.vitam.common.storage.cas.container.api.ObjectListingListener;
@@ -63,6 +65,7 @@ import fr.gouv.vitam.storage.offers.database.OfferLogAndCompactedOfferLogService
 import fr.gouv.vitam.storage.offers.database.OfferLogCompactionDatabaseService;
 import fr.gouv.vitam.storage.offers.database.OfferLogDatabaseService;
 import fr.gouv.vitam.storage.offers.database.OfferSequenceDatabaseService;
+import fr.gouv.vitam.storage.offers.rest.OfferConfiguration;
 import fr.gouv.vitam.storage.offers.rest.OfferLogCompactionConfiguration;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageDatabaseException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
@@ -79,6 +82,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
@@ -103,8 +107,28 @@ public class DefaultOfferServiceImpl implements DefaultOfferService {
     private final OfferLogAndCompactedOfferLogService offerLogAndCompactedOfferLogService;
     private final ExecutorService batchExecutorService;
     private final int batchMetadataComputationTimeoutIsSeconds;
+    private final OfferLogGroupCommitWriter offerLogGroupCommitWriter;
+    private final DigestComputationLimiter digestComputationLimiter;
 
     public DefaultOfferServiceImpl(
+        ContentAddressableStorage defaultStorage,
+        OfferLogCompactionDatabaseService offerLogCompactionDatabaseService,
+        OfferLogDatabaseService offerDatabaseService,
+        OfferSequenceDatabaseService offerSequenceDatabaseService,
+        StorageConfiguration configuration,
+        OfferConfiguration offerConfiguration,
+        OfferLogAndCompactedOfferLogService offerLogAndCompactedOfferLogService) {
+        this(defaultStorage, offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService,
+            configuration, offerConfiguration.getOfferLogCompactionConfiguration(),
+            offerLogAndCompactedOfferLogService, offerConfiguration.getMaxBatchThreadPoolSize(),
+            offerConfiguration.getBatchMetadataComputationTimeout(),
+            offerConfiguration.getOfferLogGroupCommitMaxBatchSize(),
+            offerConfiguration.getOfferLogGroupCommitMaxDelayInMillis(),
+            offerConfiguration.getMaxConcurrentDigestComputations());
+    }
+
+    @VisibleForTesting
+    DefaultOfferServiceImpl(
         ContentAddressableStorage defaultStorage,
         OfferLogCompactionDatabaseService offerLogCompactionDatabaseService,
         OfferLogDatabaseService offerDatabaseService,
@@ -112,7 +136,9 @@ public class DefaultOfferServiceImpl implements DefaultOfferService {
         StorageConfiguration configuration,
         OfferLogCompactionConfiguration offerLogCompactionConfig,
         OfferLogAndCompactedOfferLogService offerLogAndCompactedOfferLogService,
-        int maxBatchThreadPoolSize, int batchMetadataComputationTimeout) {
+        int maxBatchThreadPoolSize, int batchMetadataComputationTimeout,
+        int offerLogGroupCommitMaxBatchSize, int offerLogGroupCommitMaxDelayInMillis,
+        int maxConcurrentDigestComputations) {
 
         this.defaultStorage = defaultStorage;
         this.offerLogCompactionDatabaseService = offerLogCompactionDatabaseService;
@@ -123,6 +149,9 @@ public class DefaultOfferServiceImpl implements DefaultOfferService {
         this.offerLogAndCompactedOfferLogService = offerLogAndCompactedOfferLogService;
         this.batchMetadataComputationTimeoutIsSeconds = batchMetadataComputationTimeout;
         this.batchExecutorService = ExecutorUtils.createScalableBatchExecutorService(maxBatchThreadPoolSize);
+        this.offerLogGroupCommitWriter = new OfferLogGroupCommitWriter(offerDatabaseService,
+            offerSequenceDatabaseService, offerLogGroupCommitMaxBatchSize, offerLogGroupCommitMaxDelayInMillis);
+        this.digestComputationLimiter = new DigestComputationLimiter(maxConcurrentDigestComputations);
     }
 
     @Override
@@ -148,6 +177,17 @@ public class DefaultOfferServiceImpl implements DefaultOfferService {
         }
     }
 
+    @Override
+    public ObjectContent getObject(String containerName, String objectId, long chunkOffset, Long maxChunkSize)
+        throws ContentAddressableStorageException {
+        Stopwatch times = Stopwatch.createStarted();
+        try {
+            return defaultStorage.getObject(containerName, objectId, chunkOffset, maxChunkSize);
+        } finally {
+            log(times, containerName, "GET_OBJECT_RANGE");
+        }
+    }
+
     @Override
     public String createAccessRequest(String containerName, List<String> objectNames)
         throws ContentAddressableStorageException {
@@ -271,9 +311,7 @@ public class DefaultOfferServiceImpl implements DefaultOfferService {
         throws ContentAddressableStorageServerException, ContentAddressableStorageDatabaseException {
         // Log in offer log
         Stopwatch times = Stopwatch.createStarted();
-        long sequence =
-            offerSequenceDatabaseService.getNextSequence(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID);
-        offerDatabaseService.save(containerName, objectId, OfferLogAction.WRITE, sequence);
+        offerLogGroupCommitWriter.logObjectWrite(containerName, objectId);
         log(times, containerName, "LOG_CREATE_IN_DB");
     }
 
@@ -500,57 +538,144 @@ public class DefaultOfferServiceImpl implements DefaultOfferService {
     public StorageBulkMetadataResult getBulkMetadata(String containerName, List<String> objectIds, Boolean noCache)
         throws ContentAddressableStorageException {
 
-        Stopwatch times = Stopwatch.createStarted();
+        Map<String, StorageBulkMetadataResultEntry> entriesByObjectId = new ConcurrentHashMap<>();
         try {
-            List<CompletableFuture<StorageBulkMetadataResultEntry>> completableFutures = new ArrayList<>();
-            for (String objectId : objectIds) {
-
-                CompletableFuture<StorageBulkMetadataResultEntry> objectInformationCompletableFuture =
-                    CompletableFuture.supplyAsync(() ->
-                        {
-                            try {
-                                MetadatasObject objectMetadata =
-                                    defaultStorage.getObjectMetadata(containerName, objectId, noCache);
-                                return new StorageBulkMetadataResultEntry(objectMetadata.getObjectName(),
-                                    objectMetadata.getDigest(), objectMetadata.getFileSize());
-
-                            } catch (ContentAddressableStorageNotFoundException e) {
-                                LOGGER.info("Object " + objectId + " not found in container " + containerName, e);
-                                return new StorageBulkMetadataResultEntry(objectId, null, null);
-                            } catch (ContentAddressableStorageException e) {
-                                throw new RuntimeException("Could not get object metadata for "
-                                    + containerName + "/" + objectId + " (noCache=" + noCache + ")", e);
-                            }
-                        },
-                        batchExecutorService);
-                completableFutures.add(objectInformationCompletableFuture);
-            }
+            getBulkMetadata(containerName, objectIds, noCache,
+                entry -> entriesByObjectId.put(entry.getObjectName(), entry));
+        } catch (IOException e) {
+            throw new ContentAddressableStorageException("Could not get bulk object metadata", e);
+        }
 
-            CompletableFuture<List<StorageBulkMetadataResultEntry>> batchObjectInformationFuture
-                = sequence(completableFutures);
+        return new StorageBulkMetadataResult(objectIds.stream()
+            .map(entriesByObjectId::get)
+            .collect(Collectors.toList()));
+    }
 
-            try {
-                return new StorageBulkMetadataResult(batchObjectInformationFuture.get(
-                    batchMetadataComputationTimeoutIsSeconds, SECONDS));
-            } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                // Abort pending tasks
-                for (CompletableFuture<StorageBulkMetadataResultEntry> completableFuture : completableFutures) {
-                    completableFuture.cancel(false);
-                }
-                throw new ContentAddressableStorageException("Batch object information timed out", e);
+    @Override
+    public void getBulkMetadata(String containerName, List<String> objectIds, Boolean noCache,
+        StorageBulkMetadataResultEntryListener listener) throws ContentAddressableStorageException, IOException {
+
+        Stopwatch times = Stopwatch.createStarted();
+        try {
+            if (defaultStorage instanceof BulkObjectMetadataReader) {
+                getBulkMetadataFromCache((BulkObjectMetadataReader) defaultStorage, containerName, objectIds,
+                    Boolean.TRUE.equals(noCache), listener);
+            } else {
+                getBulkMetadataByObject(containerName, objectIds, noCache, listener);
             }
         } finally {
             log(times, containerName, "GET_BULK_METADATA");
         }
     }
 
-    private <T> CompletableFuture<List<T>> sequence(
-        List<CompletableFuture<T>> completableFutures) {
-        CompletableFuture<Void> allDoneFuture = CompletableFuture.allOf(
-            completableFutures.toArray(new CompletableFuture[0]));
-        return allDoneFuture
-            .thenApply(v -> completableFutures.stream().map(CompletableFuture::join)
-                .collect(Collectors.toList()));
+    private void getBulkMetadataFromCache(BulkObjectMetadataReader bulkObjectMetadataReader, String containerName,
+        List<String> objectIds, boolean noCache, StorageBulkMetadataResultEntryListener listener)
+        throws ContentAddressableStorageException, IOException {
+
+        // Sizes & cached digests are read in a single pass. Digests are only recomputed when missing from cache
+        // (or when cache is explicitly bypassed), with bounded I/O parallelism.
+        List<CompletableFuture<Void>> digestComputations = new ArrayList<>();
+        bulkObjectMetadataReader.readObjectsMetadataFromCache(containerName, objectIds.stream().distinct().collect(
+            Collectors.toList()), (objectId, metadata) -> {
+
+            if (metadata == null) {
+                LOGGER.info("Object " + objectId + " not found in container " + containerName);
+                listener.handleEntry(new StorageBulkMetadataResultEntry(objectId, null, null));
+                return;
+            }
+
+            if (!noCache && metadata.getDigest() != null) {
+                listener.handleEntry(
+                    new StorageBulkMetadataResultEntry(objectId, metadata.getDigest(), metadata.getFileSize()));
+                return;
+            }
+
+            digestComputations.add(CompletableFuture.runAsync(
+                () -> computeBulkMetadataEntry(containerName, objectId, metadata.getFileSize(), listener),
+                batchExecutorService));
+        });
+
+        awaitBulkMetadataComputations(digestComputations);
+    }
+
+    private void computeBulkMetadataEntry(String containerName, String objectId, long size,
+        StorageBulkMetadataResultEntryListener listener) {
+        try {
+            int permits = digestComputationLimiter.acquire(size);
+            StorageBulkMetadataResultEntry entry;
+            try {
+                String digest = defaultStorage.getObjectDigest(containerName, objectId,
+                    VitamConfiguration.getDefaultDigestType(), true);
+                entry = new StorageBulkMetadataResultEntry(objectId, digest, size);
+            } catch (ContentAddressableStorageNotFoundException e) {
+                LOGGER.info("Object " + objectId + " not found in container " + containerName, e);
+                entry = new StorageBulkMetadataResultEntry(objectId, null, null);
+            } finally {
+                digestComputationLimiter.release(permits);
+            }
+            listener.handleEntry(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VitamRuntimeException("Interrupted while computing digest of "
+                + containerName + "/" + objectId, e);
+        } catch (ContentAddressableStorageException | IOException e) {
+            throw new VitamRuntimeException("Could not get object metadata for "
+                + containerName + "/" + objectId, e);
+        }
+    }
+
+    private void getBulkMetadataByObject(String containerName, List<String> objectIds, Boolean noCache,
+        StorageBulkMetadataResultEntryListener listener) throws ContentAddressableStorageException {
+
+        List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
+        for (String objectId : objectIds) {
+
+            CompletableFuture<Void> objectInformationCompletableFuture =
+                CompletableFuture.runAsync(() ->
+                    {
+                        StorageBulkMetadataResultEntry entry;
+                        try {
+                            MetadatasObject objectMetadata =
+                                defaultStorage.getObjectMetadata(containerName, objectId, noCache);
+                            entry = new StorageBulkMetadataResultEntry(objectMetadata.getObjectName(),
+                                objectMetadata.getDigest(), objectMetadata.getFileSize());
+
+                        } catch (ContentAddressableStorageNotFoundException e) {
+                            LOGGER.info("Object " + objectId + " not found in container " + containerName, e);
+                            entry = new StorageBulkMetadataResultEntry(objectId, null, null);
+                        } catch (ContentAddressableStorageException e) {
+                            throw new RuntimeException("Could not get object metadata for "
+                                + containerName + "/" + objectId + " (noCache=" + noCache + ")", e);
+                        }
+                        try {
+                            listener.handleEntry(entry);
+                        } catch (IOException e) {
+                            throw new RuntimeException("Could not write object metadata for "
+                                + containerName + "/" + objectId, e);
+                        }
+                    },
+                    batchExecutorService);
+            completableFutures.add(objectInformationCompletableFuture);
+        }
+
+        awaitBulkMetadataComputations(completableFutures);
+    }
+
+    private void awaitBulkMetadataComputations(List<CompletableFuture<Void>> completableFutures)
+        throws ContentAddressableStorageException {
+        try {
+            CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0]))
+                .get(batchMetadataComputationTimeoutIsSeconds, SECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            // Abort pending tasks
+            for (CompletableFuture<Void> completableFuture : completableFutures) {
+                completableFuture.cancel(false);
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new ContentAddressableStorageException("Batch object information timed out", e);
+        }
     }
 
     @Override
@@ -735,6 +860,12 @@ public class DefaultOfferServiceImpl implements DefaultOfferService {
         offerLogAndCompactedOfferLogService.almostTransactionalSaveAndDelete(compactedOfferLog, bulkToSend);
     }
 
+    @Override
+    public void close() {
+        offerLogGroupCommitWriter.close();
+        batchExecutorService.shutdown();
+    }
+
     public void log(Stopwatch timer, String action, String task) {
         PerformanceLogger.getInstance().log(
             String.format("STP_Offer_%s", configuration.getProvider()),
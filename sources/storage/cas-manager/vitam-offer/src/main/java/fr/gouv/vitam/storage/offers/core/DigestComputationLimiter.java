@@ -0,0 +1,86 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.core;
+
+import fr.gouv.vitam.common.ParametersChecker;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * I/O aware limiter of concurrent digest computations.
+ *
+ * Each digest computation acquires a number of permits proportional to the size of the object to read (one permit per
+ * {@code bytesPerPermit} bytes, at least 1 and at most {@code maxPermits}). Small objects may thus be digested
+ * concurrently, while huge objects do not saturate the disk bandwidth.
+ */
+public class DigestComputationLimiter {
+
+    public static final int DEFAULT_MAX_CONCURRENT_DIGEST_COMPUTATIONS = 8;
+    public static final long DEFAULT_BYTES_PER_PERMIT = 256L * 1024L * 1024L;
+
+    private final Semaphore semaphore;
+    private final int maxPermits;
+    private final long bytesPerPermit;
+
+    public DigestComputationLimiter(int maxPermits) {
+        this(maxPermits, DEFAULT_BYTES_PER_PERMIT);
+    }
+
+    public DigestComputationLimiter(int maxPermits, long bytesPerPermit) {
+        ParametersChecker.checkValue("maxPermits", maxPermits, 1);
+        ParametersChecker.checkValue("bytesPerPermit", bytesPerPermit, 1);
+        this.maxPermits = maxPermits;
+        this.bytesPerPermit = bytesPerPermit;
+        this.semaphore = new Semaphore(maxPermits, true);
+    }
+
+    /**
+     * Blocks until enough permits are available for reading an object of the given size.
+     *
+     * @param size the object size in bytes
+     * @return the number of acquired permits, to be released with {@link #release(int)}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public int acquire(long size) throws InterruptedException {
+        int permits = permitsFor(size);
+        semaphore.acquire(permits);
+        return permits;
+    }
+
+    public void release(int permits) {
+        semaphore.release(permits);
+    }
+
+    int permitsFor(long size) {
+        long permits = (Math.max(size, 0L) + bytesPerPermit - 1) / bytesPerPermit;
+        return (int) Math.min(Math.max(permits, 1L), maxPermits);
+    }
+
+    int availablePermits() {
+        return semaphore.availablePermits();
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.core;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import fr.gouv.vitam.common.ParametersChecker;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
+import fr.gouv.vitam.storage.engine.common.model.OfferLogAction;
+import fr.gouv.vitam.storage.offers.database.OfferLogDatabaseService;
+import fr.gouv.vitam.storage.offers.database.OfferSequenceDatabaseService;
+import fr.gouv.vitam.storage.offers.metrics.OfferLogMetrics;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageDatabaseException;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit writer of offer log WRITE entries.
+ *
+ * Concurrent writers enqueue their offer log entries and block until they are persisted. A single flusher thread
+ * drains pending entries into batches (bounded by {@code maxBatchSize} entries and {@code maxDelayInMillis}), reserves
+ * a sequence range once per batch and persists entries with one bulk insert per container.
+ */
+public class OfferLogGroupCommitWriter implements AutoCloseable {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(OfferLogGroupCommitWriter.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+    public static final int DEFAULT_MAX_DELAY_IN_MILLIS = 5;
+    private static final int CLOSE_TIMEOUT_IN_SECONDS = 10;
+
+    private static final PendingOfferLog END_OF_QUEUE = new PendingOfferLog(null, null);
+
+    private final OfferLogDatabaseService offerDatabaseService;
+    private final OfferSequenceDatabaseService offerSequenceDatabaseService;
+    private final int maxBatchSize;
+    private final long maxDelayInNanos;
+    private final BlockingQueue<PendingOfferLog> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService executor;
+    private boolean closed = false;
+
+    public OfferLogGroupCommitWriter(OfferLogDatabaseService offerDatabaseService,
+        OfferSequenceDatabaseService offerSequenceDatabaseService, int maxBatchSize, int maxDelayInMillis) {
+        ParametersChecker.checkParameter("Missing offer log services", offerDatabaseService,
+            offerSequenceDatabaseService);
+        ParametersChecker.checkValue("maxBatchSize", maxBatchSize, 1);
+        ParametersChecker.checkValue("maxDelayInMillis", maxDelayInMillis, 0);
+        this.offerDatabaseService = offerDatabaseService;
+        this.offerSequenceDatabaseService = offerSequenceDatabaseService;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayInNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayInMillis);
+        this.executor = Executors.newFixedThreadPool(1, VitamThreadFactory.getInstance());
+        this.executor.submit(this::flushLoop);
+    }
+
+    /**
+     * Logs an object write in offer log. Blocks until the offer log entry is persisted.
+     *
+     * @param containerName the container name
+     * @param objectId the object id
+     * @throws ContentAddressableStorageServerException on technical error or interruption
+     * @throws ContentAddressableStorageDatabaseException on database error
+     */
+    public void logObjectWrite(String containerName, String objectId)
+        throws ContentAddressableStorageServerException, ContentAddressableStorageDatabaseException {
+
+        PendingOfferLog pendingOfferLog = new PendingOfferLog(containerName, objectId);
+        synchronized (this) {
+            if (closed) {
+                throw new ContentAddressableStorageServerException("Offer log writer is closed");
+            }
+            queue.add(pendingOfferLog);
+        }
+
+        try {
+            pendingOfferLog.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContentAddressableStorageServerException(
+                "Interrupted while waiting for offer log persistence of " + containerName + "/" + objectId, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ContentAddressableStorageDatabaseException) {
+                throw (ContentAddressableStorageDatabaseException) cause;
+            }
+            if (cause instanceof ContentAddressableStorageServerException) {
+                throw (ContentAddressableStorageServerException) cause;
+            }
+            throw new ContentAddressableStorageServerException(
+                "Could not persist offer log of " + containerName + "/" + objectId, cause);
+        } finally {
+            OfferLogMetrics.OFFER_LOG_GROUP_COMMIT_LATENCY.observe(
+                pendingOfferLog.stopwatch.elapsed(TimeUnit.NANOSECONDS) / 1.0E9);
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingOfferLog> batch = new ArrayList<>(maxBatchSize);
+        boolean endOfQueue = false;
+        while (!endOfQueue) {
+            try {
+                endOfQueue = fillBatch(batch);
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                LOGGER.warn("Offer log writer interrupted", e);
+                Thread.currentThread().interrupt();
+                endOfQueue = true;
+            } catch (RuntimeException e) {
+                LOGGER.error("Unexpected error while flushing offer logs", e);
+                batch.forEach(pendingOfferLog -> pendingOfferLog.future.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // Fail any entry left behind by an interruption
+        List<PendingOfferLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        ContentAddressableStorageServerException closedException =
+            new ContentAddressableStorageServerException("Offer log writer is closed");
+        remaining.forEach(pendingOfferLog -> pendingOfferLog.future.completeExceptionally(closedException));
+    }
+
+    /**
+     * Waits for a first entry, then collects further entries until the batch is full or max delay is reached.
+     *
+     * @return true if end of queue has been reached
+     */
+    private boolean fillBatch(List<PendingOfferLog> batch) throws InterruptedException {
+
+        PendingOfferLog first = queue.take();
+        if (first == END_OF_QUEUE) {
+            return true;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + maxDelayInNanos;
+        while (batch.size() < maxBatchSize) {
+            PendingOfferLog next = queue.poll();
+            if (next == null) {
+                long remainingDelay = deadline - System.nanoTime();
+                if (remainingDelay <= 0L) {
+                    return false;
+                }
+                next = queue.poll(remainingDelay, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    return false;
+                }
+            }
+            if (next == END_OF_QUEUE) {
+                return true;
+            }
+            batch.add(next);
+        }
+        return false;
+    }
+
+    private void flush(List<PendingOfferLog> batch) {
+
+        OfferLogMetrics.OFFER_LOG_GROUP_COMMIT_BATCH_SIZE.observe(batch.size());
+
+        if (batch.size() == 1) {
+            PendingOfferLog pendingOfferLog = batch.get(0);
+            try {
+                long sequence =
+                    offerSequenceDatabaseService.getNextSequence(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID);
+                offerDatabaseService.save(pendingOfferLog.containerName, pendingOfferLog.objectId,
+                    OfferLogAction.WRITE, sequence);
+                pendingOfferLog.future.complete(null);
+            } catch (ContentAddressableStorageServerException | ContentAddressableStorageDatabaseException e) {
+                pendingOfferLog.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        Map<String, List<PendingOfferLog>> pendingOfferLogsByContainer = new LinkedHashMap<>();
+        for (PendingOfferLog pendingOfferLog : batch) {
+            pendingOfferLogsByContainer.computeIfAbsent(pendingOfferLog.containerName, c -> new ArrayList<>())
+                .add(pendingOfferLog);
+        }
+
+        long sequence;
+        try {
+            sequence = offerSequenceDatabaseService
+                .getNextSequence(OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID, batch.size());
+        } catch (ContentAddressableStorageDatabaseException e) {
+            batch.forEach(pendingOfferLog -> pendingOfferLog.future.completeExceptionally(e));
+            return;
+        }
+
+        Iterator<Map.Entry<String, List<PendingOfferLog>>> iterator =
+            pendingOfferLogsByContainer.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, List<PendingOfferLog>> entry = iterator.next();
+            List<PendingOfferLog> pendingOfferLogs = entry.getValue();
+            List<String> objectIds = new ArrayList<>(pendingOfferLogs.size());
+            pendingOfferLogs.forEach(pendingOfferLog -> objectIds.add(pendingOfferLog.objectId));
+            try {
+                offerDatabaseService.bulkSave(entry.getKey(), objectIds, OfferLogAction.WRITE, sequence);
+                pendingOfferLogs.forEach(pendingOfferLog -> pendingOfferLog.future.complete(null));
+                sequence += pendingOfferLogs.size();
+            } catch (ContentAddressableStorageServerException | ContentAddressableStorageDatabaseException e) {
+                // Fail current & remaining containers
+                pendingOfferLogs.forEach(pendingOfferLog -> pendingOfferLog.future.completeExceptionally(e));
+                iterator.forEachRemaining(remaining -> remaining.getValue()
+                    .forEach(pendingOfferLog -> pendingOfferLog.future.completeExceptionally(e)));
+            }
+        }
+    }
+
+    @VisibleForTesting
+    int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting new entries, and waits for already queued entries to be persisted.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(END_OF_QUEUE);
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Offer log writer did not flush pending entries within " + CLOSE_TIMEOUT_IN_SECONDS +
+                    " seconds");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while closing offer log writer", e);
+            executor.shutdownNow();
+        }
+    }
+
+    private static class PendingOfferLog {
+        private final String containerName;
+        private final String objectId;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final Stopwatch stopwatch = Stopwatch.createStarted();
+
+        private PendingOfferLog(String containerName, String objectId) {
+            this.containerName = containerName;
+            this.objectId = objectId;
+        }
+    }
+}
@@ -83,6 +83,13 @@ public class SanityCheckOfferServiceDecorator implements DefaultOfferService {
         return innerService.getObject(containerName, objectId);
     }
 
+    @Override
+    public ObjectContent getObject(String containerName, String objectId, long chunkOffset, Long maxChunkSize)
+        throws ContentAddressableStorageException {
+        checkSafeObjectPath(containerName, objectId);
+        return innerService.getObject(containerName, objectId, chunkOffset, maxChunkSize);
+    }
+
     @Override
     public String createAccessRequest(String containerName, List<String> objectIds)
         throws ContentAddressableStorageException {
@@ -197,6 +204,21 @@ public class SanityCheckOfferServiceDecorator implements DefaultOfferService {
         return innerService.getBulkMetadata(containerName, objectIds, noCache);
     }
 
+    @Override
+    public void getBulkMetadata(String containerName, List<String> objectIds, Boolean noCache,
+        StorageBulkMetadataResultEntryListener listener) throws ContentAddressableStorageException, IOException {
+
+        for (String objectId : objectIds) {
+            checkSafeObjectPath(containerName, objectId);
+        }
+        innerService.getBulkMetadata(containerName, objectIds, noCache, listener);
+    }
+
+    @Override
+    public void close() {
+        innerService.close();
+    }
+
     private void checkSafeObjectPath(String containerName, String objectId) throws ContentAddressableStorageException {
         try {
             SafeFileChecker.checkSafeFilePath(this.rootPath, containerName, objectId);
@@ -34,6 +34,9 @@ import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.serverv2.VitamStarter;
 
+import javax.servlet.ServletContextListener;
+import java.util.List;
+
 import static fr.gouv.vitam.common.server.VitamServer.CONFIG_FILE_IS_A_MANDATORY_ARGUMENT;
 import static fr.gouv.vitam.common.server.VitamServer.SERVER_CAN_NOT_START;
 
@@ -57,8 +60,9 @@ public class DefaultOfferMain {
         ParametersChecker
             .checkParameter(String.format(CONFIG_FILE_IS_A_MANDATORY_ARGUMENT, CONF_FILE_NAME), configurationFile);
 
+        List<ServletContextListener> listeners = List.of(new OfferLifecycleListener());
         vitamStarter = new VitamStarter(OfferConfiguration.class, configurationFile,
-            BusinessApplication.class, AdminOfferApplication.class);
+            BusinessApplication.class, AdminOfferApplication.class, listeners, false);
 
         OfferCommonApplication.getInstance().initialize(configurationFile);
     }
@@ -50,24 +50,29 @@ import fr.gouv.vitam.common.security.SanityChecker;
 import fr.gouv.vitam.common.server.application.VitamHttpHeader;
 import fr.gouv.vitam.common.server.application.resources.ApplicationStatusResource;
 import fr.gouv.vitam.common.storage.ContainerInformation;
+import fr.gouv.vitam.common.storage.cas.container.api.FileChannelObjectContent;
 import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
 import fr.gouv.vitam.common.storage.constants.ErrorMessage;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.common.stream.ExactSizeInputStream;
 import fr.gouv.vitam.common.stream.MultiplexedStreamReader;
 import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResult;
+import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResultEntryWriter;
 import fr.gouv.vitam.storage.driver.model.StorageBulkPutResult;
 import fr.gouv.vitam.storage.driver.model.StorageCheckObjectAvailabilityResult;
 import fr.gouv.vitam.storage.driver.model.StorageMetadataResult;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
 import fr.gouv.vitam.storage.engine.common.model.OfferLog;
 import fr.gouv.vitam.storage.engine.common.model.request.OfferLogRequest;
+import fr.gouv.vitam.storage.offers.metrics.OfferReadMetrics;
 import fr.gouv.vitam.storage.offers.core.DefaultOfferService;
 import fr.gouv.vitam.storage.offers.core.NonUpdatableContentAddressableStorageException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageUnavailableDataFromAsyncOfferException;
+import io.prometheus.client.Counter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.TaggedInputStream;
@@ -75,6 +80,7 @@ import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.openstack4j.api.exceptions.ConnectionException;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.ApplicationPath;
 import javax.ws.rs.Consumes;
@@ -256,6 +262,7 @@ public class DefaultOfferResource extends ApplicationStatusResource {
      * @param type Object type
      * @param objectId object id :.+ in order to get all path if some '/' are provided
      * @param headers http header
+     * @param response servlet response, used to write file-backed objects directly to jetty output
      * @return response
      * @throws IOException when there is an error of get object
      */
@@ -264,7 +271,7 @@ public class DefaultOfferResource extends ApplicationStatusResource {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces({MediaType.APPLICATION_OCTET_STREAM, CommonMediaType.ZIP})
     public Response getObject(@PathParam("type") DataCategory type, @NotNull @PathParam("id_object") String objectId,
-        @Context HttpHeaders headers) {
+        @Context HttpHeaders headers, @Context HttpServletResponse response) {
         final String xTenantId = headers.getHeaderString(GlobalDataRest.X_TENANT_ID);
         try {
             SanityChecker.checkParameter(objectId);
@@ -273,38 +280,39 @@ public class DefaultOfferResource extends ApplicationStatusResource {
                 return Response.status(Status.PRECONDITION_FAILED).build();
             }
             final String containerName = buildContainerName(type, xTenantId);
-            ObjectContent objectContent = defaultOfferService.getObject(containerName, objectId);
-
-            StreamingOutput streamingOutput = output -> {
-
-                TaggedInputStream taggedInputStream = null;
-                try {
-
-                    taggedInputStream = new TaggedInputStream(
-                        new ExactSizeInputStream(objectContent.getInputStream(), objectContent.getSize()));
-
-                    IOUtils.copy(taggedInputStream, output);
-
-                } catch (IOException e) {
-
-                    // 2 types on IO Exceptions :
-                    // - Client-side exceptions (caused by networking errors, client closing connection...). Just let jetty handle it
-                    // - Server-side exceptions (caused by inner CAS provider...). These exceptions need at least to be logged.
-
-                    // TaggedInputStream is used to detect error cause
-
-                    if (taggedInputStream == null || taggedInputStream.isCauseOf(e)) {
-                        LOGGER.error("Server-side IOException. Could not serve object stream from CAS container", e);
-                        throw new WebApplicationException(
-                            "Server-side IOException. Could not serve object stream from CAS container", e);
-                    }
+            ByteRange range = parseRange(headers);
+            ObjectContent objectContent = range == null ?
+                defaultOfferService.getObject(containerName, objectId) :
+                defaultOfferService.getObject(containerName, objectId, range.getOffset(), range.getMaxSize());
+
+            if (range != null && !range.isSatisfiable(objectContent.getTotalSize())) {
+                objectContent.getInputStream().close();
+                return Response.status(Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(GlobalDataRest.CONTENT_RANGE,
+                        ByteRange.toUnsatisfiedContentRange(objectContent.getTotalSize()))
+                    .build();
+            }
 
-                    // Client-side IOException. Let webapp container handle it
-                    throw e;
-                } finally {
-                    objectContent.getInputStream().close();
-                }
-            };
+            Counter.Child bytesServedCounter = OfferReadMetrics.READ_OBJECT_BYTES_TOTAL.labels(xTenantId, type.name());
+            StreamingOutput inputStreamStreamingOutput =
+                buildInputStreamStreamingOutput(objectContent, bytesServedCounter);
+            StreamingOutput streamingOutput = FileChannelStreamingOutput.isApplicable(objectContent) ?
+                new FileChannelStreamingOutput((FileChannelObjectContent) objectContent, response, bytesServedCounter,
+                    inputStreamStreamingOutput) :
+                inputStreamStreamingOutput;
+
+            if (range != null) {
+                return Response
+                    .status(Status.PARTIAL_CONTENT)
+                    .entity(streamingOutput)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM)
+                    .header(GlobalDataRest.CONTENT_RANGE,
+                        ByteRange.toContentRange(range.getOffset(), objectContent.getSize(),
+                            objectContent.getTotalSize()))
+                    .header(VitamHttpHeader.X_CONTENT_LENGTH.getName(), String.valueOf(objectContent.getTotalSize()))
+                    .header(VitamHttpHeader.X_CHUNK_LENGTH.getName(), String.valueOf(objectContent.getSize()))
+                    .build();
+            }
 
             return Response
                 .ok(streamingOutput)
@@ -319,12 +327,57 @@ public class DefaultOfferResource extends ApplicationStatusResource {
             LOGGER.warn(e);
             return buildCustomErrorResponse(CustomVitamHttpStatusCode.UNAVAILABLE_DATA_FROM_ASYNC_OFFER,
                 e.getMessage());
-        } catch (final ContentAddressableStorageException | InvalidParseOperationException e) {
+        } catch (final ContentAddressableStorageException | InvalidParseOperationException | IOException e) {
             LOGGER.error(e);
             return buildErrorResponse(VitamCode.STORAGE_TECHNICAL_INTERNAL_ERROR, e.getMessage());
         }
     }
 
+    private ByteRange parseRange(HttpHeaders headers) {
+        String rangeHeader = headers.getHeaderString(GlobalDataRest.RANGE);
+        try {
+            return ByteRange.parse(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            // Unsupported ranges are ignored (RFC 7233) : full object is returned
+            LOGGER.warn("Ignoring unsupported range header " + rangeHeader, e);
+            return null;
+        }
+    }
+
+    private StreamingOutput buildInputStreamStreamingOutput(ObjectContent objectContent,
+        Counter.Child bytesServedCounter) {
+        return output -> {
+
+            TaggedInputStream taggedInputStream = null;
+            try {
+
+                taggedInputStream = new TaggedInputStream(
+                    new ExactSizeInputStream(objectContent.getInputStream(), objectContent.getSize()));
+
+                bytesServedCounter.inc(IOUtils.copyLarge(taggedInputStream, output));
+
+            } catch (IOException e) {
+
+                // 2 types on IO Exceptions :
+                // - Client-side exceptions (caused by networking errors, client closing connection...). Just let jetty handle it
+                // - Server-side exceptions (caused by inner CAS provider...). These exceptions need at least to be logged.
+
+                // TaggedInputStream is used to detect error cause
+
+                if (taggedInputStream == null || taggedInputStream.isCauseOf(e)) {
+                    LOGGER.error("Server-side IOException. Could not serve object stream from CAS container", e);
+                    throw new WebApplicationException(
+                        "Server-side IOException. Could not serve object stream from CAS container", e);
+                }
+
+                // Client-side IOException. Let webapp container handle it
+                throw e;
+            } finally {
+                objectContent.getInputStream().close();
+            }
+        };
+    }
+
     /**
      * Create access request (asynchronous read from tape to local FS) for the given @type and objects ids list.
      * <p>
@@ -789,6 +842,60 @@ public class DefaultOfferResource extends ApplicationStatusResource {
         }
     }
 
+    /**
+     * Stream bulk metadata of the objects by ids, as JSON lines (in no specific order), ended by an EOF entry.
+     *
+     * @param type Object type to test
+     * @param xTenantId the id of the tenant
+     * @return metadata entries stream
+     */
+    @GET
+    @Path("/bulk/objects/{type}/metadata/stream")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    public Response getBulkObjectMetadataStream(@PathParam("type") DataCategory type,
+        @HeaderParam(GlobalDataRest.X_TENANT_ID) String xTenantId,
+        @HeaderParam(GlobalDataRest.X_OFFER_NO_CACHE) Boolean noCache,
+        List<String> objectIds) {
+
+        if (Strings.isNullOrEmpty(xTenantId) || noCache == null) {
+            LOGGER.error("Missing tenant ID (X-Tenant-Id) or noCache");
+            return Response.status(Response.Status.BAD_REQUEST).build();
+        }
+        final String containerName = buildContainerName(type, xTenantId);
+        try {
+            ParametersChecker.checkParameter("ObjectIds cannot be null", objectIds);
+            ParametersChecker.checkParameter("ObjectIds cannot be null", objectIds.toArray());
+            for (String objectID : objectIds) {
+                SanityChecker.checkParameter(objectID);
+            }
+        } catch (InvalidParseOperationException | IllegalArgumentException e) {
+            LOGGER.error(e);
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+
+        StreamingOutput streamingOutput = output -> {
+            try (
+                CloseShieldOutputStream closeShieldOutputStream = new CloseShieldOutputStream(output);
+                StorageBulkMetadataResultEntryWriter entryWriter =
+                    new StorageBulkMetadataResultEntryWriter(closeShieldOutputStream)) {
+
+                defaultOfferService.getBulkMetadata(containerName, objectIds, noCache, entryWriter::write);
+
+                // No errors ==> write EOF
+                entryWriter.writeEof();
+
+            } catch (Exception e) {
+                LOGGER.error("Could not return bulk object metadata. Internal server error", e);
+                throw new WebApplicationException("Could not return bulk object metadata", e);
+            }
+        };
+
+        return Response
+            .ok(streamingOutput)
+            .build();
+    }
+
     @POST
     @Path("/compaction")
     @Consumes(APPLICATION_JSON)
@@ -0,0 +1,163 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.rest;
+
+import com.google.common.annotations.VisibleForTesting;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.storage.cas.container.api.FileChannelObjectContent;
+import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
+import io.prometheus.client.Counter;
+import org.eclipse.jetty.server.HttpOutput;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Streams a file-backed object content to Jetty's {@link HttpOutput} through read-only memory mappings of the object
+ * region.
+ *
+ * Mapped regions are handed as is to {@link HttpOutput#write(ByteBuffer)}, which bypasses Jetty's aggregation buffer :
+ * object bytes are sent from the page cache, without being copied to the java heap.
+ *
+ * Status & headers are still committed by RESTEasy : its output stream is flushed before writing to {@link HttpOutput}.
+ * When the servlet response output is not Jetty's {@link HttpOutput} (wrapped response...), the fallback streaming
+ * output is used instead.
+ */
+class FileChannelStreamingOutput implements StreamingOutput {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(FileChannelStreamingOutput.class);
+
+    /**
+     * Smaller contents are streamed : a mapping costs more than a heap copy, and mappings are only released on GC.
+     */
+    static final long MIN_MAPPED_CONTENT_SIZE = 1024 * 1024;
+
+    /**
+     * Max size of a mapped region. Bounds address space usage and allows reporting progress on huge objects.
+     */
+    private static final long DEFAULT_MAX_MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannelObjectContent objectContent;
+    private final HttpServletResponse response;
+    private final Counter.Child bytesServedCounter;
+    private final StreamingOutput fallbackStreamingOutput;
+    private final long maxMappedRegionSize;
+
+    /**
+     * @param objectContent the object content. Its file channel is closed once written.
+     * @param response the servlet response
+     * @param bytesServedCounter counter of served bytes
+     * @param fallbackStreamingOutput streaming output of the object content input stream, used when response output
+     * is not a Jetty {@link HttpOutput}
+     */
+    FileChannelStreamingOutput(FileChannelObjectContent objectContent, HttpServletResponse response,
+        Counter.Child bytesServedCounter, StreamingOutput fallbackStreamingOutput) {
+        this(objectContent, response, bytesServedCounter, fallbackStreamingOutput, DEFAULT_MAX_MAPPED_REGION_SIZE);
+    }
+
+    @VisibleForTesting
+    FileChannelStreamingOutput(FileChannelObjectContent objectContent, HttpServletResponse response,
+        Counter.Child bytesServedCounter, StreamingOutput fallbackStreamingOutput, long maxMappedRegionSize) {
+        this.objectContent = objectContent;
+        this.response = response;
+        this.bytesServedCounter = bytesServedCounter;
+        this.fallbackStreamingOutput = fallbackStreamingOutput;
+        this.maxMappedRegionSize = maxMappedRegionSize;
+    }
+
+    /**
+     * @return true if object content is file-backed and large enough to be served through memory mappings
+     */
+    static boolean isApplicable(ObjectContent objectContent) {
+        return objectContent instanceof FileChannelObjectContent &&
+            objectContent.getSize() >= MIN_MAPPED_CONTENT_SIZE;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+
+        ServletOutputStream servletOutputStream = response.getOutputStream();
+        if (!(servletOutputStream instanceof HttpOutput)) {
+            fallbackStreamingOutput.write(output);
+            return;
+        }
+
+        try (FileChannel fileChannel = objectContent.getFileChannel()) {
+
+            long position = objectContent.getOffset();
+            long end = position + objectContent.getSize();
+            boolean committed = false;
+
+            while (position < end) {
+
+                long regionSize = Math.min(end - position, maxMappedRegionSize);
+                MappedByteBuffer region = mapRegion(fileChannel, position, regionSize);
+
+                if (!committed) {
+                    // Commit status & headers through RESTEasy before bypassing its output stream
+                    output.flush();
+                    committed = true;
+                }
+
+                // IOExceptions thrown by HttpOutput are mostly caused by client-side errors (client closing
+                // connection...). Just let jetty handle them
+                try {
+                    ((HttpOutput) servletOutputStream).write(region);
+                } catch (InternalError e) {
+                    // Mapped file truncated meanwhile
+                    throw serverSideError("Could not read mapped region at position " + position, e);
+                }
+
+                position += regionSize;
+                bytesServedCounter.inc(regionSize);
+            }
+        }
+    }
+
+    private MappedByteBuffer mapRegion(FileChannel fileChannel, long position, long regionSize) {
+        try {
+            return fileChannel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+        } catch (IOException e) {
+            // Region beyond end of file (file truncated meanwhile...)
+            throw serverSideError("Could not map region at position " + position, e);
+        }
+    }
+
+    private WebApplicationException serverSideError(String message, Throwable cause) {
+        LOGGER.error("Server-side IOException. Could not serve object stream from CAS container. " + message, cause);
+        return new WebApplicationException(
+            "Server-side IOException. Could not serve object stream from CAS container", cause);
+    }
+}
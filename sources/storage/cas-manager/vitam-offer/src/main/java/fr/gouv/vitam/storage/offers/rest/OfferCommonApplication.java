@@ -110,10 +110,8 @@ public class OfferCommonApplication {
                 offerDatabaseService,
                 offerSequenceDatabaseService,
                 this.storageConfiguration,
-                configuration.getOfferLogCompactionConfiguration(),
-                offerLogAndCompactedOfferLogService,
-                configuration.getMaxBatchThreadPoolSize(),
-                configuration.getBatchMetadataComputationTimeout()
+                configuration,
+                offerLogAndCompactedOfferLogService
             );
             // Decorate default offer service with a sanity check wrapper
             this.defaultOfferService =
@@ -124,6 +122,16 @@ public class OfferCommonApplication {
         }
     }
 
+    /**
+     * Releases offer service resources (pending offer logs are flushed)
+     */
+    synchronized void close() {
+        if (defaultOfferService != null) {
+            defaultOfferService.close();
+            defaultOfferService = null;
+        }
+    }
+
     DefaultOfferService getDefaultOfferService() {
         return defaultOfferService;
     }
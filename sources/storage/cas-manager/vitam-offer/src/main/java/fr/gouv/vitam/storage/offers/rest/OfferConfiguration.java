@@ -58,6 +58,24 @@ public class OfferConfiguration extends DbConfigurationImpl {
     @JsonProperty("batchMetadataComputationTimeout")
     private int batchMetadataComputationTimeout = 600;
 
+    /**
+     * Max number of offer log entries persisted in a single group commit batch
+     */
+    @JsonProperty("offerLogGroupCommitMaxBatchSize")
+    private int offerLogGroupCommitMaxBatchSize = 1000;
+
+    /**
+     * Max delay (in milliseconds) to wait for concurrent offer log entries before committing a batch
+     */
+    @JsonProperty("offerLogGroupCommitMaxDelayInMillis")
+    private int offerLogGroupCommitMaxDelayInMillis = 5;
+
+    /**
+     * Max number of concurrent digest computations (weighted by object size) during bulk metadata retrieval
+     */
+    @JsonProperty("maxConcurrentDigestComputations")
+    private int maxConcurrentDigestComputations = 8;
+
     /**
      * @return the provider
      */
@@ -229,4 +247,31 @@ public class OfferConfiguration extends DbConfigurationImpl {
         this.batchMetadataComputationTimeout = batchMetadataComputationTimeout;
         return this;
     }
+
+    public int getOfferLogGroupCommitMaxBatchSize() {
+        return offerLogGroupCommitMaxBatchSize;
+    }
+
+    public OfferConfiguration setOfferLogGroupCommitMaxBatchSize(int offerLogGroupCommitMaxBatchSize) {
+        this.offerLogGroupCommitMaxBatchSize = offerLogGroupCommitMaxBatchSize;
+        return this;
+    }
+
+    public int getOfferLogGroupCommitMaxDelayInMillis() {
+        return offerLogGroupCommitMaxDelayInMillis;
+    }
+
+    public OfferConfiguration setOfferLogGroupCommitMaxDelayInMillis(int offerLogGroupCommitMaxDelayInMillis) {
+        this.offerLogGroupCommitMaxDelayInMillis = offerLogGroupCommitMaxDelayInMillis;
+        return this;
+    }
+
+    public int getMaxConcurrentDigestComputations() {
+        return maxConcurrentDigestComputations;
+    }
+
+    public OfferConfiguration setMaxConcurrentDigestComputations(int maxConcurrentDigestComputations) {
+        this.maxConcurrentDigestComputations = maxConcurrentDigestComputations;
+        return this;
+    }
 }
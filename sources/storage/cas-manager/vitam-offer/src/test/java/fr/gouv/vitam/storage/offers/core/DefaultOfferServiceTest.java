@@ -44,10 +44,13 @@ import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.model.storage.ObjectEntry;
 import fr.gouv.vitam.common.storage.ContainerInformation;
 import fr.gouv.vitam.common.storage.StorageConfiguration;
+import fr.gouv.vitam.common.storage.cas.container.api.BulkObjectMetadataReader;
 import fr.gouv.vitam.common.storage.cas.container.api.ContentAddressableStorage;
 import fr.gouv.vitam.common.storage.cas.container.api.ContentAddressableStorageAbstract;
+import fr.gouv.vitam.common.storage.cas.container.api.MetadatasStorageObject;
 import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
 import fr.gouv.vitam.common.storage.cas.container.api.ObjectListingListener;
+import fr.gouv.vitam.common.storage.cas.container.api.ObjectMetadataListener;
 import fr.gouv.vitam.common.storage.constants.StorageProvider;
 import fr.gouv.vitam.common.stream.MultiplexedStreamReader;
 import fr.gouv.vitam.common.stream.MultiplexedStreamWriter;
@@ -76,6 +79,7 @@ import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.assertj.core.groups.Tuple;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Rule;
@@ -91,6 +95,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -115,6 +120,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -122,10 +128,12 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 public class DefaultOfferServiceTest {
     private static final String CONTAINER_PATH = "container";
@@ -146,6 +154,11 @@ public class DefaultOfferServiceTest {
     private static final DataCategory OBJECT_TYPE = DataCategory.OBJECT;
     public static final int MAX_BATCH_THREAD_POOL_SIZE = 16;
     public static final int BATCH_METADATA_COMPUTATION_TIMEOUT = 600;
+    public static final int OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE = OfferLogGroupCommitWriter.DEFAULT_MAX_BATCH_SIZE;
+    public static final int OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS =
+        OfferLogGroupCommitWriter.DEFAULT_MAX_DELAY_IN_MILLIS;
+    public static final int MAX_CONCURRENT_DIGEST_COMPUTATIONS =
+        DigestComputationLimiter.DEFAULT_MAX_CONCURRENT_DIGEST_COMPUTATIONS;
 
     public DefaultOfferServiceImpl offerService;
     private ContentAddressableStorage defaultStorage;
@@ -204,10 +217,17 @@ public class DefaultOfferServiceTest {
             configuration,
             null,
             offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS
         );
     }
 
+    @After
+    public void tearDown() {
+        offerService.close();
+    }
+
     @Test
     public void createObjectTestNoContainer() throws Exception {
         offerService.createObject(FAKE_CONTAINER, OBJECT_ID, new FakeInputStream(1024), OBJECT_TYPE, 1024L,
@@ -663,7 +683,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(defaultStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             config, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT);
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         List<OfferLog> logs = Arrays.asList(
             new OfferLog(1, LocalDateUtil.now(), "container", "filename", OfferLogAction.WRITE),
@@ -690,7 +712,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(defaultStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             config, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT);
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         List<OfferLog> logs = Arrays.asList(
             new OfferLog(1, LocalDateUtil.now(), "container", "filename", OfferLogAction.WRITE),
@@ -726,7 +750,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(defaultStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             config, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT);
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         List<OfferLog> logs1 = Arrays.asList(
             new OfferLog(1, LocalDateUtil.now(), "container1", "filename", OfferLogAction.WRITE),
@@ -778,7 +804,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(defaultStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             config, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT);
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         OfferLog offerLog = new OfferLog(1, LocalDateUtil.now(), "container1", "filename", OfferLogAction.WRITE);
         OfferLog offerLog1 = new OfferLog(2, LocalDateUtil.now(), "container1", "filename", OfferLogAction.WRITE);
@@ -829,7 +857,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(defaultStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             config, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT);
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         when(offerDatabaseService.getExpiredOfferLogByContainer(config.getExpirationValue(),
             config.getExpirationUnit())).thenReturn(toCloseableIterable(Collections.emptyList()));
@@ -1027,7 +1057,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT);
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         doAnswer((args) -> {
             String objectName = args.getArgument(1);
@@ -1059,7 +1091,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT);
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         doAnswer((args) -> {
             String objectName = args.getArgument(1);
@@ -1088,6 +1122,34 @@ public class DefaultOfferServiceTest {
             );
     }
 
+    @Test
+    public void getBulkMetadataFromCacheWithUnknownContainerThenReportMissingObjects() throws Exception {
+
+        // Given
+        configuration.setProvider(StorageProvider.HASHFILESYSTEM.getValue());
+        ContentAddressableStorage hashFileSystem = StoreContextBuilder.newStoreContext(configuration, mongoDatabase);
+        assertThat(hashFileSystem).isInstanceOf(BulkObjectMetadataReader.class);
+        offerService = new DefaultOfferServiceImpl(hashFileSystem,
+            offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
+            null, offerLogAndCompactedOfferLogService,
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
+
+        // When
+        StorageBulkMetadataResult result =
+            offerService.getBulkMetadata("1_unknown", Arrays.asList("guid1", "guid2"), false);
+
+        // Then
+        assertThat(result.getObjectMetadata())
+            .extracting(StorageBulkMetadataResultEntry::getObjectName, StorageBulkMetadataResultEntry::getDigest,
+                StorageBulkMetadataResultEntry::getSize)
+            .containsExactly(
+                new Tuple("guid1", null, null),
+                new Tuple("guid2", null, null)
+            );
+    }
+
     @Test
     public void getBulkMetadataWithAtLeastOneStorageExceptionThenThrowException() throws Exception {
 
@@ -1096,7 +1158,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT);
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         doAnswer((args) -> {
             String objectName = args.getArgument(1);
@@ -1123,7 +1187,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, 1);
+            MAX_BATCH_THREAD_POOL_SIZE, 1,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         doAnswer((args) -> {
             String objectName = args.getArgument(1);
@@ -1142,6 +1208,101 @@ public class DefaultOfferServiceTest {
             .isInstanceOf(ContentAddressableStorageException.class);
     }
 
+    @Test
+    public void getBulkMetadataFromCacheWithoutRecomputingCachedDigests() throws Exception {
+
+        // Given
+        ContentAddressableStorage contentAddressableStorage = mock(ContentAddressableStorage.class,
+            withSettings().extraInterfaces(BulkObjectMetadataReader.class));
+        offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
+            offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
+            null, offerLogAndCompactedOfferLogService,
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
+
+        doAnswer((args) -> {
+            List<String> objectIds = args.getArgument(1);
+            ObjectMetadataListener listener = args.getArgument(2);
+            for (String objectId : objectIds) {
+                if (objectId.equals("guid3")) {
+                    listener.handleObjectMetadata(objectId, null);
+                    continue;
+                }
+                MetadatasStorageObject metadata = new MetadatasStorageObject();
+                metadata.setObjectName(objectId);
+                metadata.setFileSize(objectId.hashCode());
+                // Missing digest from cache for guid2
+                metadata.setDigest(objectId.equals("guid2") ? null : "digest-" + objectId);
+                listener.handleObjectMetadata(objectId, metadata);
+            }
+            return null;
+        }).when((BulkObjectMetadataReader) contentAddressableStorage)
+            .readObjectsMetadataFromCache(eq(CONTAINER_PATH), anyList(), any());
+        doReturn("computed-digest-guid2").when(contentAddressableStorage)
+            .getObjectDigest(CONTAINER_PATH, "guid2", getDefaultDigestType(), true);
+
+        // When
+        StorageBulkMetadataResult result =
+            offerService.getBulkMetadata(CONTAINER_PATH, Arrays.asList("guid1", "guid2", "guid3"), false);
+
+        // Then
+        assertThat(result.getObjectMetadata())
+            .extracting(StorageBulkMetadataResultEntry::getObjectName, StorageBulkMetadataResultEntry::getDigest,
+                StorageBulkMetadataResultEntry::getSize)
+            .containsExactly(
+                new Tuple("guid1", "digest-guid1", (long) "guid1".hashCode()),
+                new Tuple("guid2", "computed-digest-guid2", (long) "guid2".hashCode()),
+                new Tuple("guid3", null, null)
+            );
+        verify(contentAddressableStorage).getObjectDigest(CONTAINER_PATH, "guid2", getDefaultDigestType(), true);
+        verify(contentAddressableStorage, never()).getObjectDigest(eq(CONTAINER_PATH), eq("guid1"), any(),
+            anyBoolean());
+        verify(contentAddressableStorage, never()).getObjectMetadata(anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    public void getBulkMetadataFromCacheWithNoCacheThenRecomputeDigests() throws Exception {
+
+        // Given
+        ContentAddressableStorage contentAddressableStorage = mock(ContentAddressableStorage.class,
+            withSettings().extraInterfaces(BulkObjectMetadataReader.class));
+        offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
+            offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
+            null, offerLogAndCompactedOfferLogService,
+            MAX_BATCH_THREAD_POOL_SIZE, BATCH_METADATA_COMPUTATION_TIMEOUT,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
+
+        doAnswer((args) -> {
+            List<String> objectIds = args.getArgument(1);
+            ObjectMetadataListener listener = args.getArgument(2);
+            for (String objectId : objectIds) {
+                MetadatasStorageObject metadata = new MetadatasStorageObject();
+                metadata.setObjectName(objectId);
+                metadata.setFileSize(10L);
+                metadata.setDigest("cached-digest-" + objectId);
+                listener.handleObjectMetadata(objectId, metadata);
+            }
+            return null;
+        }).when((BulkObjectMetadataReader) contentAddressableStorage)
+            .readObjectsMetadataFromCache(eq(CONTAINER_PATH), anyList(), any());
+        doAnswer((args) -> "digest-" + args.getArgument(1)).when(contentAddressableStorage)
+            .getObjectDigest(eq(CONTAINER_PATH), anyString(), eq(getDefaultDigestType()), eq(true));
+
+        // When
+        List<StorageBulkMetadataResultEntry> entries = Collections.synchronizedList(new ArrayList<>());
+        offerService.getBulkMetadata(CONTAINER_PATH, Arrays.asList("guid1", "guid2"), true, entries::add);
+
+        // Then
+        assertThat(entries)
+            .extracting(StorageBulkMetadataResultEntry::getObjectName, StorageBulkMetadataResultEntry::getDigest)
+            .containsExactlyInAnyOrder(
+                new Tuple("guid1", "digest-guid1"),
+                new Tuple("guid2", "digest-guid2")
+            );
+    }
+
     @Test
     public void givenTapeOfferWhenCreateAccessRequestThenOK() throws ContentAddressableStorageException {
 
@@ -1151,7 +1312,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, 1);
+            MAX_BATCH_THREAD_POOL_SIZE, 1,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         doReturn("accessRequestId").when(contentAddressableStorage)
             .createAccessRequest("container", List.of("obj1", "obj2"));
@@ -1171,7 +1334,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, 1);
+            MAX_BATCH_THREAD_POOL_SIZE, 1,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         doReturn("accessRequestId").when(contentAddressableStorage)
             .createAccessRequest("container", List.of("obj1", "obj2"));
@@ -1190,7 +1355,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, 1);
+            MAX_BATCH_THREAD_POOL_SIZE, 1,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         doReturn(Map.of(
             "accessRequest1", AccessRequestStatus.EXPIRED,
@@ -1217,7 +1384,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, 1);
+            MAX_BATCH_THREAD_POOL_SIZE, 1,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         doReturn(Map.of(
             "accessRequest1", AccessRequestStatus.EXPIRED,
@@ -1240,7 +1409,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, 1);
+            MAX_BATCH_THREAD_POOL_SIZE, 1,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         // When
         offerService.removeAccessRequest("accessRequest1", true);
@@ -1257,7 +1428,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, 1);
+            MAX_BATCH_THREAD_POOL_SIZE, 1,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         // When / Then
         assertThatThrownBy(() -> offerService.removeAccessRequest("accessRequest1", true))
@@ -1273,7 +1446,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, 1);
+            MAX_BATCH_THREAD_POOL_SIZE, 1,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         doReturn(true).when(contentAddressableStorage)
             .checkObjectAvailability("container", List.of("obj1", "obj2"));
@@ -1293,7 +1468,9 @@ public class DefaultOfferServiceTest {
         offerService = new DefaultOfferServiceImpl(contentAddressableStorage,
             offerLogCompactionDatabaseService, offerDatabaseService, offerSequenceDatabaseService, configuration,
             null, offerLogAndCompactedOfferLogService,
-            MAX_BATCH_THREAD_POOL_SIZE, 1);
+            MAX_BATCH_THREAD_POOL_SIZE, 1,
+            OFFER_LOG_GROUP_COMMIT_MAX_BATCH_SIZE, OFFER_LOG_GROUP_COMMIT_MAX_DELAY_IN_MILLIS,
+            MAX_CONCURRENT_DIGEST_COMPUTATIONS);
 
         doReturn(true).when(contentAddressableStorage)
             .checkObjectAvailability("container", List.of("obj1", "obj2"));
@@ -0,0 +1,253 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.core;
+
+import fr.gouv.vitam.storage.engine.common.model.OfferLogAction;
+import fr.gouv.vitam.storage.offers.database.OfferLogDatabaseService;
+import fr.gouv.vitam.storage.offers.database.OfferSequenceDatabaseService;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageDatabaseException;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static fr.gouv.vitam.storage.offers.database.OfferSequenceDatabaseService.BACKUP_LOG_SEQUENCE_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+public class OfferLogGroupCommitWriterTest {
+
+    private final OfferLogDatabaseService offerDatabaseService = mock(OfferLogDatabaseService.class);
+    private final OfferSequenceDatabaseService offerSequenceDatabaseService = mock(OfferSequenceDatabaseService.class);
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    private OfferLogGroupCommitWriter instance;
+
+    @After
+    public void after() {
+        if (instance != null) {
+            instance.close();
+        }
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testSingleWriteUsesSingleInsert() throws Exception {
+
+        // Given
+        when(offerSequenceDatabaseService.getNextSequence(BACKUP_LOG_SEQUENCE_ID)).thenReturn(12L);
+        instance = new OfferLogGroupCommitWriter(offerDatabaseService, offerSequenceDatabaseService, 10, 0);
+
+        // When
+        instance.logObjectWrite("container", "obj1");
+
+        // Then
+        verify(offerSequenceDatabaseService).getNextSequence(BACKUP_LOG_SEQUENCE_ID);
+        verify(offerDatabaseService).save("container", "obj1", OfferLogAction.WRITE, 12L);
+        verifyNoMoreInteractions(offerDatabaseService, offerSequenceDatabaseService);
+    }
+
+    @Test
+    public void testConcurrentWritesAreGroupedInASingleBatch() throws Exception {
+
+        // Given : first write is blocked in database while other writes are queued
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        when(offerSequenceDatabaseService.getNextSequence(BACKUP_LOG_SEQUENCE_ID)).thenReturn(1L);
+        doAnswer(args -> {
+            firstWriteStarted.countDown();
+            releaseFirstWrite.await();
+            return null;
+        }).when(offerDatabaseService).save("container1", "obj0", OfferLogAction.WRITE, 1L);
+        when(offerSequenceDatabaseService.getNextSequence(BACKUP_LOG_SEQUENCE_ID, 3L)).thenReturn(2L);
+
+        instance = new OfferLogGroupCommitWriter(offerDatabaseService, offerSequenceDatabaseService, 10, 0);
+
+        // When
+        CompletableFuture<Void> first = runAsync("container1", "obj0");
+        assertThat(firstWriteStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<CompletableFuture<Void>> others = new ArrayList<>();
+        others.add(runAsync("container1", "obj1"));
+        awaitQueued(1);
+        others.add(runAsync("container2", "obj2"));
+        awaitQueued(2);
+        others.add(runAsync("container1", "obj3"));
+        awaitQueued(3);
+        releaseFirstWrite.countDown();
+
+        first.get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<Void> future : others) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        // Then
+        verify(offerDatabaseService).save("container1", "obj0", OfferLogAction.WRITE, 1L);
+        verify(offerSequenceDatabaseService).getNextSequence(BACKUP_LOG_SEQUENCE_ID);
+        verify(offerSequenceDatabaseService).getNextSequence(BACKUP_LOG_SEQUENCE_ID, 3L);
+        verify(offerDatabaseService)
+            .bulkSave("container1", Arrays.asList("obj1", "obj3"), OfferLogAction.WRITE, 2L);
+        verify(offerDatabaseService)
+            .bulkSave("container2", Arrays.asList("obj2"), OfferLogAction.WRITE, 4L);
+        verifyNoMoreInteractions(offerDatabaseService, offerSequenceDatabaseService);
+    }
+
+    @Test
+    public void testBatchSizeIsBounded() throws Exception {
+
+        // Given
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        when(offerSequenceDatabaseService.getNextSequence(BACKUP_LOG_SEQUENCE_ID)).thenReturn(1L, 4L);
+        doAnswer(args -> {
+            firstWriteStarted.countDown();
+            releaseFirstWrite.await();
+            return null;
+        }).when(offerDatabaseService).save("container", "obj0", OfferLogAction.WRITE, 1L);
+        when(offerSequenceDatabaseService.getNextSequence(BACKUP_LOG_SEQUENCE_ID, 2L)).thenReturn(2L);
+
+        instance = new OfferLogGroupCommitWriter(offerDatabaseService, offerSequenceDatabaseService, 2, 0);
+
+        // When
+        CompletableFuture<Void> first = runAsync("container", "obj0");
+        assertThat(firstWriteStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<CompletableFuture<Void>> others = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            others.add(runAsync("container", "obj" + i));
+            awaitQueued(i);
+        }
+        releaseFirstWrite.countDown();
+
+        first.get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<Void> future : others) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        // Then
+        verify(offerDatabaseService)
+            .bulkSave("container", Arrays.asList("obj1", "obj2"), OfferLogAction.WRITE, 2L);
+        verify(offerDatabaseService).save("container", "obj3", OfferLogAction.WRITE, 4L);
+    }
+
+    @Test
+    public void testDatabaseErrorIsReportedToWriters() throws Exception {
+
+        // Given
+        when(offerSequenceDatabaseService.getNextSequence(BACKUP_LOG_SEQUENCE_ID)).thenReturn(1L);
+        doThrow(new ContentAddressableStorageDatabaseException("db error"))
+            .when(offerDatabaseService).save(any(), any(), any(), anyLong());
+        instance = new OfferLogGroupCommitWriter(offerDatabaseService, offerSequenceDatabaseService, 10, 0);
+
+        // When / Then
+        assertThatThrownBy(() -> instance.logObjectWrite("container", "obj1"))
+            .isInstanceOf(ContentAddressableStorageDatabaseException.class);
+
+        // Writer still usable after error
+        doAnswer(args -> null).when(offerDatabaseService).save(eq("container"), eq("obj2"), any(), anyLong());
+        instance.logObjectWrite("container", "obj2");
+    }
+
+    @Test
+    public void testWriteAfterCloseFails() {
+
+        // Given
+        instance = new OfferLogGroupCommitWriter(offerDatabaseService, offerSequenceDatabaseService, 10, 0);
+
+        // When
+        instance.close();
+
+        // Then
+        assertThatThrownBy(() -> instance.logObjectWrite("container", "obj1"))
+            .isInstanceOf(ContentAddressableStorageServerException.class);
+    }
+
+    @Test
+    public void testCloseWaitsForPendingEntries() throws Exception {
+
+        // Given : first write is blocked in database while a second write is queued
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        when(offerSequenceDatabaseService.getNextSequence(BACKUP_LOG_SEQUENCE_ID)).thenReturn(1L, 2L);
+        doAnswer(args -> {
+            firstWriteStarted.countDown();
+            releaseFirstWrite.await();
+            return null;
+        }).when(offerDatabaseService).save("container", "obj0", OfferLogAction.WRITE, 1L);
+
+        instance = new OfferLogGroupCommitWriter(offerDatabaseService, offerSequenceDatabaseService, 10, 0);
+        CompletableFuture<Void> first = runAsync("container", "obj0");
+        assertThat(firstWriteStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> second = runAsync("container", "obj1");
+        awaitQueued(1);
+
+        // When
+        CompletableFuture<Void> close = CompletableFuture.runAsync(instance::close, executorService);
+        releaseFirstWrite.countDown();
+        close.get(10, TimeUnit.SECONDS);
+
+        // Then : pending entry persisted before close returns
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        verify(offerDatabaseService).save("container", "obj1", OfferLogAction.WRITE, 2L);
+    }
+
+    private CompletableFuture<Void> runAsync(String containerName, String objectId) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                instance.logObjectWrite(containerName, objectId);
+            } catch (ContentAddressableStorageServerException | ContentAddressableStorageDatabaseException e) {
+                throw new RuntimeException(e);
+            }
+        }, executorService);
+    }
+
+    private void awaitQueued(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (instance.getQueueSize() < count) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -70,6 +70,7 @@ import io.restassured.RestAssured;
 import io.restassured.response.ResponseBody;
 import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.NullInputStream;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.assertj.core.groups.Tuple;
@@ -279,6 +280,43 @@ public class DefaultOfferResourceTest {
             .get(OBJECTS_URI + OBJECT_TYPE_URI + OBJECT_ID_URI, OBJECT_CODE, "id1");
     }
 
+    @Test
+    public void getObjectRangeTestOK() throws Exception {
+
+        try (FileInputStream in = new FileInputStream(PropertiesUtils.findFile(ARCHIVE_FILE_TXT))) {
+            assertNotNull(in);
+            with().header(GlobalDataRest.X_TENANT_ID, "1")
+                .header(GlobalDataRest.VITAM_CONTENT_LENGTH, "8766")
+                .header(GlobalDataRest.X_DIGEST_ALGORITHM, DigestType.SHA512.getName())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM).body(in).when()
+                .put(OBJECTS_URI + OBJECT_TYPE_URI + OBJECT_ID_URI, OBJECT_CODE, "id1");
+        }
+
+        byte[] expected;
+        try (FileInputStream in = new FileInputStream(PropertiesUtils.findFile(ARCHIVE_FILE_TXT))) {
+            expected = Arrays.copyOfRange(IOUtils.toByteArray(in), 100, 200);
+        }
+
+        // partial content
+        byte[] content = given().header(GlobalDataRest.X_TENANT_ID, "1").header(GlobalDataRest.RANGE, "bytes=100-199")
+            .contentType(MediaType.APPLICATION_JSON).then()
+            .statusCode(Status.PARTIAL_CONTENT.getStatusCode())
+            .header(GlobalDataRest.CONTENT_RANGE, "bytes 100-199/8766")
+            .header(GlobalDataRest.X_CONTENT_LENGTH, "8766")
+            .header(GlobalDataRest.X_CHUNK_LENGTH, "100")
+            .when()
+            .get(OBJECTS_URI + OBJECT_TYPE_URI + OBJECT_ID_URI, OBJECT_CODE, "id1").asByteArray();
+        assertThat(content).isEqualTo(expected);
+
+        // range beyond object size
+        given().header(GlobalDataRest.X_TENANT_ID, "1").header(GlobalDataRest.RANGE, "bytes=8766-")
+            .contentType(MediaType.APPLICATION_JSON).then()
+            .statusCode(Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode())
+            .header(GlobalDataRest.CONTENT_RANGE, "bytes */8766")
+            .when()
+            .get(OBJECTS_URI + OBJECT_TYPE_URI + OBJECT_ID_URI, OBJECT_CODE, "id1");
+    }
+
     @Test
     public void getObjectWithdot() throws Exception {
 
@@ -0,0 +1,171 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.offers.rest;
+
+import fr.gouv.vitam.common.storage.cas.container.api.FileChannelObjectContent;
+import fr.gouv.vitam.common.storage.cas.container.api.ObjectContent;
+import io.prometheus.client.Counter;
+import org.eclipse.jetty.server.HttpOutput;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.InOrder;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class FileChannelStreamingOutputTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final Counter counter = Counter.build()
+        .name("test_bytes_total")
+        .help("test counter")
+        .labelNames("label")
+        .create();
+
+    @Test
+    public void testWriteFileRegionToJettyOutputInMappedRegions() throws Exception {
+
+        // Given
+        FileChannel fileChannel = openFile("0123456789");
+        FileChannelObjectContent objectContent = new FileChannelObjectContent(fileChannel, 1L, 8L);
+        ByteArrayOutputStream writtenBytes = new ByteArrayOutputStream();
+        HttpOutput httpOutput = mockHttpOutput(writtenBytes);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        doReturn(httpOutput).when(response).getOutputStream();
+        OutputStream resteasyOutput = mock(OutputStream.class);
+        StreamingOutput fallback = mock(StreamingOutput.class);
+
+        // When
+        new FileChannelStreamingOutput(objectContent, response, counter.labels("label"), fallback, 3L)
+            .write(resteasyOutput);
+
+        // Then
+        assertThat(writtenBytes.toString(StandardCharsets.UTF_8)).isEqualTo("12345678");
+        assertThat(counter.labels("label").get()).isEqualTo(8.0);
+        assertThat(fileChannel.isOpen()).isFalse();
+        InOrder inOrder = inOrder(resteasyOutput, httpOutput);
+        inOrder.verify(resteasyOutput).flush();
+        inOrder.verify(httpOutput, times(3)).write(any(ByteBuffer.class));
+        verify(fallback, never()).write(any());
+    }
+
+    @Test
+    public void testWriteWithFallbackWhenResponseOutputIsNotJettyOutput() throws Exception {
+
+        // Given
+        FileChannel fileChannel = openFile("0123456789");
+        FileChannelObjectContent objectContent = new FileChannelObjectContent(fileChannel, 0L, 10L);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        doReturn(mock(ServletOutputStream.class)).when(response).getOutputStream();
+        OutputStream resteasyOutput = mock(OutputStream.class);
+        StreamingOutput fallback = mock(StreamingOutput.class);
+
+        // When
+        new FileChannelStreamingOutput(objectContent, response, counter.labels("label"), fallback)
+            .write(resteasyOutput);
+
+        // Then
+        verify(fallback).write(resteasyOutput);
+        verify(resteasyOutput, never()).flush();
+    }
+
+    @Test
+    public void testWriteTruncatedFileThenServerSideErrorBeforeCommit() throws Exception {
+
+        // Given
+        FileChannel fileChannel = openFile("0123456789");
+        FileChannelObjectContent objectContent = new FileChannelObjectContent(fileChannel, 5L, 10L);
+        ByteArrayOutputStream writtenBytes = new ByteArrayOutputStream();
+        HttpOutput httpOutput = mockHttpOutput(writtenBytes);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        doReturn(httpOutput).when(response).getOutputStream();
+        OutputStream resteasyOutput = mock(OutputStream.class);
+
+        // When / Then
+        assertThatThrownBy(() -> new FileChannelStreamingOutput(objectContent, response, counter.labels("label"),
+            mock(StreamingOutput.class)).write(resteasyOutput))
+            .isInstanceOf(WebApplicationException.class);
+        verify(resteasyOutput, never()).flush();
+        assertThat(writtenBytes.size()).isEqualTo(0);
+        assertThat(fileChannel.isOpen()).isFalse();
+    }
+
+    @Test
+    public void testIsApplicable() throws Exception {
+        FileChannel fileChannel = openFile("0123456789");
+        assertThat(FileChannelStreamingOutput.isApplicable(new FileChannelObjectContent(fileChannel, 0L, 10L)))
+            .isFalse();
+        assertThat(FileChannelStreamingOutput.isApplicable(new FileChannelObjectContent(fileChannel, 0L,
+            FileChannelStreamingOutput.MIN_MAPPED_CONTENT_SIZE))).isTrue();
+        assertThat(FileChannelStreamingOutput.isApplicable(new ObjectContent(new ByteArrayInputStream(new byte[0]),
+            FileChannelStreamingOutput.MIN_MAPPED_CONTENT_SIZE))).isFalse();
+        fileChannel.close();
+    }
+
+    private FileChannel openFile(String content) throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.writeString(file.toPath(), content);
+        return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    }
+
+    private HttpOutput mockHttpOutput(ByteArrayOutputStream writtenBytes) throws Exception {
+        HttpOutput httpOutput = mock(HttpOutput.class);
+        doAnswer(args -> {
+            ByteBuffer buffer = args.getArgument(0);
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            writtenBytes.write(bytes);
+            return null;
+        }).when(httpOutput).write(any(ByteBuffer.class));
+        return httpOutput;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.driver.model;
+
+import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class StorageBulkMetadataResultEntryReaderTest {
+
+    @Test
+    public void testEntriesWithEof() throws IOException {
+
+        // Given
+        ByteArrayOutputStream innerStream = new ByteArrayOutputStream();
+        try (StorageBulkMetadataResultEntryWriter writer = new StorageBulkMetadataResultEntryWriter(innerStream)) {
+            writer.write(new StorageBulkMetadataResultEntry("obj1", "digest1", 10L));
+            writer.write(new StorageBulkMetadataResultEntry("obj2", null, null));
+            writer.writeEof();
+        }
+
+        // When
+        List<StorageBulkMetadataResultEntry> entries = new ArrayList<>();
+        try (StorageBulkMetadataResultEntryReader reader =
+            new StorageBulkMetadataResultEntryReader(innerStream.toInputStream())) {
+            reader.forEachRemaining(entries::add);
+        }
+
+        // Then
+        assertEquals(2, entries.size());
+        assertEquals("obj1", entries.get(0).getObjectName());
+        assertEquals("digest1", entries.get(0).getDigest());
+        assertEquals(Long.valueOf(10L), entries.get(0).getSize());
+        assertEquals("obj2", entries.get(1).getObjectName());
+        assertNull(entries.get(1).getDigest());
+        assertNull(entries.get(1).getSize());
+    }
+
+    @Test
+    public void testEntriesWithoutEof() throws IOException {
+
+        // Given
+        ByteArrayOutputStream innerStream = new ByteArrayOutputStream();
+        try (StorageBulkMetadataResultEntryWriter writer = new StorageBulkMetadataResultEntryWriter(innerStream)) {
+            writer.write(new StorageBulkMetadataResultEntry("obj1", "digest1", 10L));
+            // NO EOF
+        }
+
+        // When / Then
+        try (StorageBulkMetadataResultEntryReader reader =
+            new StorageBulkMetadataResultEntryReader(innerStream.toInputStream())) {
+            assertEquals("obj1", reader.next().getObjectName());
+            try {
+                reader.hasNext();
+                fail("Expected premature EOF");
+            } catch (RuntimeException e) {
+                assertEquals("Premature EOF", e.getMessage());
+            }
+        }
+    }
+}
@@ -26,10 +26,12 @@
  */
 package fr.gouv.vitam.storage.driver.model;
 
+import fr.gouv.vitam.common.stream.ByteRange;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * Test for StorageObjectRequest
@@ -58,4 +60,12 @@ public class StorageObjectRequestTest {
         assertEquals("guid", storageObjectRequest.getGuid());
     }
 
+    @Test
+    public void testGetRange() throws Exception {
+        assertNull(storageObjectRequest.getRange());
+        StorageObjectRequest rangeRequest =
+            new StorageObjectRequest(TENANT_ID, "object", "guid", new ByteRange(10L, 19L));
+        assertEquals(new ByteRange(10L, 19L), rangeRequest.getRange());
+    }
+
 }
@@ -36,6 +36,7 @@ import fr.gouv.vitam.common.model.RequestResponse;
 import fr.gouv.vitam.common.model.RequestResponseOK;
 import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.model.storage.ObjectEntry;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.storage.driver.model.StorageLogBackupResult;
 import fr.gouv.vitam.storage.driver.model.StorageLogTraceabilityResult;
 import fr.gouv.vitam.storage.engine.client.exception.StorageAlreadyExistsClientException;
@@ -179,6 +180,27 @@ public interface StorageClient extends BasicClient {
         throws StorageServerClientException, StorageNotFoundException,
         StorageUnavailableDataFromAsyncOfferClientException;
 
+    /**
+     * Retrieves a byte range of a binary object knowing its guid as an inputStream for a specific tenant/strategy
+     * <p>
+     * Returned response status is 206 (Partial Content) with Content-Range header when the range was served, 416
+     * (Range Not Satisfiable) when range is beyond the object size, or 200 when full object is returned.
+     *
+     * @param strategyId the storage strategy id
+     * @param guid vitam guid of the object to be returned
+     * @param type the object type to list
+     * @param range the byte range to read, or null for full object
+     * @param logInfo additional information for accessLog
+     * @return the object requested
+     * @throws StorageServerClientException if the Server got an internal error
+     * @throws StorageNotFoundException if the Server got a NotFound result, if the container or the object does not exist
+     * @throws StorageUnavailableDataFromAsyncOfferClientException if object is not available for immediate access from async offer
+     */
+    Response getContainerAsync(String strategyId, String guid, DataCategory type, ByteRange range,
+        AccessLogInfoModel logInfo)
+        throws StorageServerClientException, StorageNotFoundException,
+        StorageUnavailableDataFromAsyncOfferClientException;
+
     /**
      * Retrieves a binary object knowing its guid as an inputStream for a specific tenant/strategy/offerId
      *
@@ -44,6 +44,7 @@ import fr.gouv.vitam.common.model.RequestResponseOK;
 import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.model.storage.ObjectEntry;
 import fr.gouv.vitam.common.parameter.ParameterHelper;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.storage.driver.model.StorageLogBackupResult;
 import fr.gouv.vitam.storage.driver.model.StorageLogTraceabilityResult;
@@ -211,6 +212,12 @@ public class StorageClientMock extends AbstractMockClient implements StorageClie
         }
     }
 
+    @Override
+    public Response getContainerAsync(String strategyId, String guid, DataCategory type, ByteRange range,
+        AccessLogInfoModel logInfo) throws StorageServerClientException, StorageNotFoundException {
+        return getContainerAsync(strategyId, guid, type, logInfo);
+    }
+
     @Override
     public Response getContainerAsync(String strategyId, String offerId, String objectName, DataCategory type,
         AccessLogInfoModel logInfo) throws StorageServerClientException, StorageNotFoundException {
@@ -51,6 +51,7 @@ import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.model.storage.ObjectEntry;
 import fr.gouv.vitam.common.model.storage.ObjectEntryReader;
 import fr.gouv.vitam.common.parameter.ParameterHelper;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.storage.driver.model.StorageLogBackupResult;
 import fr.gouv.vitam.storage.driver.model.StorageLogTraceabilityResult;
 import fr.gouv.vitam.storage.engine.client.exception.StorageAlreadyExistsClientException;
@@ -443,11 +444,26 @@ class StorageClientRest extends DefaultClient implements StorageClient {
         throw new StorageServerClientException(customStatusCode.toString());
     }
 
+    @Override
+    public Response getContainerAsync(String strategyId, String guid, DataCategory type, ByteRange range,
+        AccessLogInfoModel logInfo)
+        throws StorageServerClientException, StorageNotFoundException,
+        StorageUnavailableDataFromAsyncOfferClientException {
+        return getContainerAsync(strategyId, null, guid, type, range, logInfo);
+    }
+
     @Override
     public Response getContainerAsync(String strategyId, String offerId, String objectName, DataCategory type,
         AccessLogInfoModel logInfo)
         throws StorageServerClientException, StorageNotFoundException,
         StorageUnavailableDataFromAsyncOfferClientException {
+        return getContainerAsync(strategyId, offerId, objectName, type, null, logInfo);
+    }
+
+    private Response getContainerAsync(String strategyId, String offerId, String objectName, DataCategory type,
+        ByteRange range, AccessLogInfoModel logInfo)
+        throws StorageServerClientException, StorageNotFoundException,
+        StorageUnavailableDataFromAsyncOfferClientException {
         Integer tenantId = ParameterHelper.getTenantParameter();
         ParametersChecker.checkParameter(GUID_MUST_HAVE_A_VALID_VALUE, objectName);
         VitamRequestBuilder request = get()
@@ -455,6 +471,7 @@ class StorageClientRest extends DefaultClient implements StorageClient {
             .withHeader(GlobalDataRest.X_TENANT_ID, tenantId)
             .withHeader(GlobalDataRest.X_STRATEGY_ID, strategyId)
             .withHeaderIgnoreNull(GlobalDataRest.X_OFFER, offerId)
+            .withHeaderIgnoreNull(GlobalDataRest.RANGE, range == null ? null : range.toHeaderValue())
             .withBody(logInfo)
             .withContentType(MediaType.APPLICATION_JSON_TYPE)
             .withAccept(MediaType.APPLICATION_OCTET_STREAM_TYPE);
@@ -462,6 +479,10 @@ class StorageClientRest extends DefaultClient implements StorageClient {
         try {
             response = make(request);
             checkCustomResponseStatusForUnavailableDataFromAsyncOffer(response);
+            if (range != null && (response.getStatus() == Response.Status.PARTIAL_CONTENT.getStatusCode() ||
+                response.getStatus() == Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode())) {
+                return response;
+            }
             return handleCommonResponseStatus(response);
         } catch (final VitamClientInternalException | StorageAlreadyExistsClientException e) {
             final String errorMessage =
@@ -470,7 +491,8 @@ class StorageClientRest extends DefaultClient implements StorageClient {
         } catch (StorageNotFoundClientException e) {
             throw new StorageNotFoundException(e);
         } finally {
-            if (response != null && SUCCESSFUL != response.getStatusInfo().getFamily()) {
+            if (response != null && SUCCESSFUL != response.getStatusInfo().getFamily() &&
+                response.getStatus() != Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode()) {
                 response.close();
             }
         }
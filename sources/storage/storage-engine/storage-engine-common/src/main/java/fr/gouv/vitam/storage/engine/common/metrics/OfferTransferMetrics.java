@@ -0,0 +1,107 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.common.metrics;
+
+import fr.gouv.vitam.common.metrics.GaugeUtils;
+import fr.gouv.vitam.common.metrics.VitamMetricsNames;
+import io.prometheus.client.Histogram;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics of object transfers fanned out to multiple offers.
+ */
+public final class OfferTransferMetrics {
+
+    private static final Set<OfferTransferLagProbe> IN_PROGRESS_TRANSFERS = ConcurrentHashMap.newKeySet();
+
+    public static final Histogram OFFER_TRANSFER_COMPLETION_DELAY = Histogram.build()
+        .name(VitamMetricsNames.VITAM_STORAGE_OFFER_TRANSFER_COMPLETION_DELAY_SECONDS)
+        .labelNames("strategy", "offer_id")
+        .help("Vitam storage delay in seconds between the first offer transfer completion and the offer transfer " +
+            "completion, per strategy and offer_id")
+        .register();
+
+    static {
+        GaugeUtils.createCustomGauge(VitamMetricsNames.VITAM_STORAGE_OFFER_TRANSFER_LAG_BYTES,
+            "Vitam storage offer transfer lag in bytes (data read from source but not yet sent to the offer) " +
+                "per strategy and offer_id",
+            List.of("strategy", "offer_id"),
+            OfferTransferMetrics::computeLagByOffer
+        ).register();
+    }
+
+    private OfferTransferMetrics() {
+        // Empty private constructor
+    }
+
+    /**
+     * Registers an in-progress transfer to an offer. Returned probe must be closed once transfer is over.
+     *
+     * @param strategy the strategy id
+     * @param offerId the offer id
+     * @param lagSupplier a side-effect-free / non-blocking function returning the current transfer lag in bytes
+     * @return the registered probe
+     */
+    public static OfferTransferLagProbe registerTransfer(String strategy, String offerId, LongSupplier lagSupplier) {
+        OfferTransferLagProbe probe = new OfferTransferLagProbe(strategy, offerId, lagSupplier);
+        IN_PROGRESS_TRANSFERS.add(probe);
+        return probe;
+    }
+
+    private static Map<List<String>, Double> computeLagByOffer() {
+        Map<List<String>, Double> lagByOffer = new HashMap<>();
+        for (OfferTransferLagProbe probe : IN_PROGRESS_TRANSFERS) {
+            lagByOffer.merge(List.of(probe.strategy, probe.offerId), (double) probe.lagSupplier.getAsLong(),
+                Double::sum);
+        }
+        return lagByOffer;
+    }
+
+    public static final class OfferTransferLagProbe implements AutoCloseable {
+
+        private final String strategy;
+        private final String offerId;
+        private final LongSupplier lagSupplier;
+
+        private OfferTransferLagProbe(String strategy, String offerId, LongSupplier lagSupplier) {
+            this.strategy = strategy;
+            this.offerId = offerId;
+            this.lagSupplier = lagSupplier;
+        }
+
+        @Override
+        public void close() {
+            IN_PROGRESS_TRANSFERS.remove(this);
+        }
+    }
+}
@@ -38,6 +38,7 @@ public class ReadOrder extends QueueMessageEntity implements ReadWriteOrder {
     public static final String BUCKET = "bucket";
     public static final String FILE_BUCKET_ID = "fileBucketId";
     public static final String SIZE = "size";
+    public static final String READ_AHEAD = "readAhead";
 
     @JsonProperty(TAPE_CODE)
     private String tapeCode;
@@ -57,6 +58,9 @@ public class ReadOrder extends QueueMessageEntity implements ReadWriteOrder {
     @JsonProperty(SIZE)
     private long size;
 
+    @JsonProperty(READ_AHEAD)
+    private boolean readAhead;
+
     public ReadOrder() {
         super(GUIDFactory.newGUID().getId(), QueueMessageType.ReadOrder);
     }
@@ -135,4 +139,17 @@ public class ReadOrder extends QueueMessageEntity implements ReadWriteOrder {
         this.size = size;
         return this;
     }
+
+    /**
+     * @return {@code true} if read order is a speculative read of an archive not (yet) required by any access request.
+     * Read-ahead orders should only be processed while their tape is already mounted.
+     */
+    public boolean isReadAhead() {
+        return readAhead;
+    }
+
+    public ReadOrder setReadAhead(boolean readAhead) {
+        this.readAhead = readAhead;
+        return this;
+    }
 }
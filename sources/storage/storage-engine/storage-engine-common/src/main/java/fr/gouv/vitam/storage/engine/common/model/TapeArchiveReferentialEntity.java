@@ -36,6 +36,7 @@ public class TapeArchiveReferentialEntity {
     public static final String SIZE = "size";
     public static final String DIGEST = "digest";
     public static final String ENTRY_TYPE = "entryTape";
+    public static final String FILE_BUCKET_ID = "fileBucketId";
 
     @JsonProperty(ID)
     private String archiveId;
@@ -55,6 +56,9 @@ public class TapeArchiveReferentialEntity {
     @JsonProperty(LAST_UPDATE_DATE)
     private String lastUpdateDate;
 
+    @JsonProperty(FILE_BUCKET_ID)
+    private String fileBucketId;
+
     public TapeArchiveReferentialEntity() {
         // Empty constructor for deserialization
     }
@@ -133,4 +137,16 @@ public class TapeArchiveReferentialEntity {
         this.entryTape = entryTape;
         return this;
     }
+
+    /**
+     * @return the file bucket of the archive. May be null for archives created by older versions.
+     */
+    public String getFileBucketId() {
+        return fileBucketId;
+    }
+
+    public TapeArchiveReferentialEntity setFileBucketId(String fileBucketId) {
+        this.fileBucketId = fileBucketId;
+        return this;
+    }
 }
@@ -26,6 +26,7 @@
  */
 package fr.gouv.vitam.storage.engine.common.model.request;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
 
 import java.util.List;
@@ -36,6 +37,11 @@ public class BulkObjectStoreRequest {
     private List<String> workspaceObjectURIs;
     private DataCategory type;
     private List<String> objectNames;
+    /**
+     * Optional object sizes (same order as objectNames). Used as a hint for bulk batch planning. Entries may be null.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Long> objectSizes;
 
     public BulkObjectStoreRequest() {
         // Empty constructor for deserialization
@@ -84,4 +90,13 @@ public class BulkObjectStoreRequest {
         this.objectNames = objectNames;
         return this;
     }
+
+    public List<Long> getObjectSizes() {
+        return objectSizes;
+    }
+
+    public BulkObjectStoreRequest setObjectSizes(List<Long> objectSizes) {
+        this.objectSizes = objectSizes;
+        return this;
+    }
 }
@@ -57,6 +57,12 @@ public class OfferDiffRequest {
     @JsonProperty("tenantId")
     private Integer tenantId;
 
+    /**
+     * Incremental mode : compare offers using their persistent sorted object indexes, updated from offer logs.
+     */
+    @JsonProperty("incremental")
+    private Boolean incremental;
+
     public OfferDiffRequest() {
         // Empty constructor for deserialization
     }
@@ -96,4 +102,13 @@ public class OfferDiffRequest {
         this.tenantId = tenantId;
         return this;
     }
+
+    public Boolean getIncremental() {
+        return incremental;
+    }
+
+    public OfferDiffRequest setIncremental(Boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.common.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Parallel offer synchronization request model. <br/>
+ * Containers are split into offer log sequence range shards, synchronized concurrently and checkpointed.
+ */
+public class OfferParallelSyncRequest {
+
+    /**
+     * strategyId
+     */
+    @JsonProperty("strategyId")
+    private String strategyId;
+
+    /**
+     * sourceOffer identifier.
+     */
+    @JsonProperty("sourceOffer")
+    private String sourceOffer;
+
+    /**
+     * targetOffer identifier.
+     */
+    @JsonProperty("targetOffer")
+    private String targetOffer;
+
+    /**
+     * containers to synchronize.
+     */
+    @JsonProperty("containers")
+    private List<OfferParallelSyncItem> containers;
+
+    /**
+     * resume from last checkpoint of an interrupted synchronization (default true).
+     */
+    @JsonProperty("resume")
+    private Boolean resume;
+
+    /**
+     * Constructor.
+     */
+    public OfferParallelSyncRequest() {
+        super();
+    }
+
+    public String getStrategyId() {
+        return strategyId;
+    }
+
+    public OfferParallelSyncRequest setStrategyId(String strategyId) {
+        this.strategyId = strategyId;
+        return this;
+    }
+
+    public String getSourceOffer() {
+        return sourceOffer;
+    }
+
+    public OfferParallelSyncRequest setSourceOffer(String sourceOffer) {
+        this.sourceOffer = sourceOffer;
+        return this;
+    }
+
+    public String getTargetOffer() {
+        return targetOffer;
+    }
+
+    public OfferParallelSyncRequest setTargetOffer(String targetOffer) {
+        this.targetOffer = targetOffer;
+        return this;
+    }
+
+    public List<OfferParallelSyncItem> getContainers() {
+        return containers;
+    }
+
+    public OfferParallelSyncRequest setContainers(List<OfferParallelSyncItem> containers) {
+        this.containers = containers;
+        return this;
+    }
+
+    public Boolean getResume() {
+        return resume;
+    }
+
+    public OfferParallelSyncRequest setResume(Boolean resume) {
+        this.resume = resume;
+        return this;
+    }
+}
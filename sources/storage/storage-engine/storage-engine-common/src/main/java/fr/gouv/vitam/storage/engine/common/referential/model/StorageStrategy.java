@@ -26,6 +26,7 @@
  */
 package fr.gouv.vitam.storage.engine.common.referential.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.ArrayList;
@@ -43,6 +44,9 @@ public class StorageStrategy {
     private String id;
     @JsonProperty("offers")
     private List<OfferReference> offers = new ArrayList<>();
+    @JsonProperty("minCopiesBeforeAcknowledge")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer minCopiesBeforeAcknowledge;
 
     /**
      * @return the id
@@ -76,6 +80,23 @@ public class StorageStrategy {
         return getOffers().size();
     }
 
+    /**
+     * Minimum number of offer copies to be durably written before acknowledging a write. Remaining offer transfers
+     * complete asynchronously. If not set, writes are acknowledged once all offer transfers complete.
+     *
+     * @return the min copies before acknowledge, or null if not set
+     */
+    public Integer getMinCopiesBeforeAcknowledge() {
+        return minCopiesBeforeAcknowledge;
+    }
+
+    /**
+     * @param minCopiesBeforeAcknowledge the min copies before acknowledge, or null to wait for all offers
+     */
+    public void setMinCopiesBeforeAcknowledge(Integer minCopiesBeforeAcknowledge) {
+        this.minCopiesBeforeAcknowledge = minCopiesBeforeAcknowledge;
+    }
+
     /**
      * remove (after init) inactive offerReferences
      */
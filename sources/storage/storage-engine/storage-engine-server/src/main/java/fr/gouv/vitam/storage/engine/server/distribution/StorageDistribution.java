@@ -33,6 +33,8 @@ import fr.gouv.vitam.common.model.RequestResponse;
 import fr.gouv.vitam.common.model.VitamAutoCloseable;
 import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.model.storage.ObjectEntry;
+import fr.gouv.vitam.common.stream.ByteRange;
+import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResultEntry;
 import fr.gouv.vitam.storage.engine.common.exception.StorageException;
 import fr.gouv.vitam.storage.engine.common.exception.StorageNotFoundException;
 import fr.gouv.vitam.storage.engine.common.exception.StorageTechnicalException;
@@ -153,6 +155,19 @@ public interface StorageDistribution extends VitamAutoCloseable {
     CloseableIterator<ObjectEntry> listContainerObjectsForOffer(DataCategory category,
         String offerId, boolean includeDisabled) throws StorageException;
 
+    /**
+     * Get metadata (size & digest) of a batch of objects from an offer, in a single offer request
+     *
+     * @param category the object type
+     * @param offerId the offer id
+     * @param objectIds the object ids
+     * @param includeDisabled whether disabled offer is allowed
+     * @return object metadata entries. Digest & size of objects that do not exist in offer are null
+     * @throws StorageException thrown in case of any technical problem
+     */
+    List<StorageBulkMetadataResultEntry> getBatchObjectMetadataForOffer(DataCategory category, String offerId,
+        List<String> objectIds, boolean includeDisabled) throws StorageException;
+
     /**
      * Get offer log from referent
      *
@@ -199,6 +214,25 @@ public interface StorageDistribution extends VitamAutoCloseable {
     Response getContainerByCategory(String strategyId, String origin, String objectId, DataCategory category,
         AccessLogInfoModel logInformation) throws StorageException;
 
+    /**
+     * Get a byte range of a specific Object binary data as an input stream
+     * <p>
+     * Returned response status is 206 (Partial Content) when offer served the requested range, 416 (Range Not
+     * Satisfiable) when range is beyond the object size, or 200 if offer does not support partial reads.
+     *
+     * @param strategyId id of the strategy
+     * @param origin origin
+     * @param objectId id of the object
+     * @param category category of the object
+     * @param range byte range to read, or null for full object
+     * @param logInformation information for accessLog
+     * @return an object as a Response with an InputStream
+     * @throws StorageNotFoundException Thrown if the Container or the object does not exist
+     * @throws StorageTechnicalException thrown if a technical error happened
+     */
+    Response getContainerByCategory(String strategyId, String origin, String objectId, DataCategory category,
+        ByteRange range, AccessLogInfoModel logInformation) throws StorageException;
+
     /**
      * Get a specific Object binary data as an input stream
      * <p>
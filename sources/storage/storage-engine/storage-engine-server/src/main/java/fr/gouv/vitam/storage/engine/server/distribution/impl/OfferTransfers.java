@@ -0,0 +1,160 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.distribution.impl;
+
+import fr.gouv.vitam.common.stream.MultiplePipedInputStream;
+import fr.gouv.vitam.storage.engine.common.metrics.OfferTransferMetrics;
+import fr.gouv.vitam.storage.engine.common.metrics.OfferTransferMetrics.OfferTransferLagProbe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-progress transfers of a single stream to multiple offers. Offers read the stream through a shared
+ * {@link MultiplePipedInputStream} ring buffer. Transfer completions are awaited in completion order.
+ *
+ * Not thread safe. Completions should be awaited by a single thread at a time.
+ */
+class OfferTransfers implements AutoCloseable {
+
+    private final String strategyId;
+    private final MultiplePipedInputStream streams;
+    private final TimeoutStopwatch timeoutStopwatch;
+
+    private final Map<String, Future<ThreadResponseData>> futures = new HashMap<>();
+    private final Set<String> pendingOfferIds = new LinkedHashSet<>();
+    private final BlockingQueue<String> completedOfferIds = new LinkedBlockingQueue<>();
+    private final List<OfferTransferLagProbe> lagProbes = new ArrayList<>();
+    private long firstCompletionNanos = -1L;
+
+    OfferTransfers(String strategyId, MultiplePipedInputStream streams, TimeoutStopwatch timeoutStopwatch) {
+        this.strategyId = strategyId;
+        this.streams = streams;
+        this.timeoutStopwatch = timeoutStopwatch;
+    }
+
+    /**
+     * Submits the transfer of the rank-th stream to an offer
+     */
+    void submit(ExecutorService executor, String offerId, int rank, Callable<ThreadResponseData> transfer) {
+        lagProbes.add(OfferTransferMetrics.registerTransfer(strategyId, offerId, () -> streams.getLag(rank)));
+        pendingOfferIds.add(offerId);
+        futures.put(offerId, executor.submit(() -> {
+            try {
+                return transfer.call();
+            } finally {
+                completedOfferIds.add(offerId);
+            }
+        }));
+    }
+
+    boolean hasPendingTransfers() {
+        return !pendingOfferIds.isEmpty();
+    }
+
+    Set<String> getPendingOfferIds() {
+        return new LinkedHashSet<>(pendingOfferIds);
+    }
+
+    Future<ThreadResponseData> getFuture(String offerId) {
+        return futures.get(offerId);
+    }
+
+    TimeoutStopwatch getTimeoutStopwatch() {
+        return timeoutStopwatch;
+    }
+
+    /**
+     * Waits for next pending transfer completion
+     *
+     * @return the offer id of the completed transfer, or null on timeout.
+     */
+    String awaitNextCompletion() throws InterruptedException {
+        while (!pendingOfferIds.isEmpty()) {
+            String offerId =
+                completedOfferIds.poll(timeoutStopwatch.getRemainingDelayInMilliseconds(), TimeUnit.MILLISECONDS);
+            if (offerId == null) {
+                return null;
+            }
+            if (pendingOfferIds.remove(offerId)) {
+                long now = System.nanoTime();
+                if (firstCompletionNanos < 0L) {
+                    firstCompletionNanos = now;
+                }
+                OfferTransferMetrics.OFFER_TRANSFER_COMPLETION_DELAY.labels(strategyId, offerId)
+                    .observe((now - firstCompletionNanos) / 1.0E9);
+                return offerId;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cancels all pending transfers
+     *
+     * @return the offer ids of cancelled transfers
+     */
+    Set<String> cancelPendingTransfers() {
+        Set<String> cancelledOfferIds = new LinkedHashSet<>(pendingOfferIds);
+        for (String offerId : cancelledOfferIds) {
+            futures.get(offerId).cancel(true);
+        }
+        pendingOfferIds.clear();
+        return cancelledOfferIds;
+    }
+
+    /**
+     * @return true if source stream has been fully read (remaining data, if any, is buffered for pending transfers)
+     */
+    boolean isSourceFullyRead() {
+        return streams.isSourceFullyRead();
+    }
+
+    /**
+     * @throws IOException if any exception occurred while reading source stream
+     */
+    void throwLastException() throws IOException {
+        streams.throwLastException();
+    }
+
+    @Override
+    public void close() {
+        lagProbes.forEach(OfferTransferLagProbe::close);
+        streams.close();
+    }
+}
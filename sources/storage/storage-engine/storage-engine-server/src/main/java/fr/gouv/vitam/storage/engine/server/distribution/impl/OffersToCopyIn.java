@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * manage list ok and ko for retry storage feature
@@ -85,6 +86,21 @@ public class OffersToCopyIn {
 
 
 
+    /**
+     * create  OffersToCopyIn lists from offer ids
+     *
+     * @param offerIds offer ids
+     */
+    OffersToCopyIn(final Set<String> offerIds) {
+        globalOfferResult = new HashMap<>();
+        okOffers = new ArrayList<>();
+        koOffers = new ArrayList<>();
+        for (String offerId : offerIds) {
+            koOffers.add(offerId);
+            globalOfferResult.put(offerId, Response.Status.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Get OK offers list
      *
@@ -124,6 +140,16 @@ public class OffersToCopyIn {
         globalOfferResult.put(offerId, Response.Status.CREATED);
     }
 
+    /**
+     * Pass offerId from KO offers list to pending offers (transfer acknowledged, completing asynchronously)
+     *
+     * @param offerId the offerId
+     */
+    public void koListToPendingList(String offerId) {
+        koOffers.remove(offerId);
+        globalOfferResult.put(offerId, Response.Status.ACCEPTED);
+    }
+
     /**
      * Change the status of an offer id transfer
      *
@@ -34,6 +34,8 @@ import fr.gouv.vitam.common.logging.VitamLogLevel;
 import fr.gouv.vitam.common.model.RequestResponse;
 import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.model.storage.ObjectEntry;
+import fr.gouv.vitam.common.stream.ByteRange;
+import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResultEntry;
 import fr.gouv.vitam.storage.engine.common.exception.StorageException;
 import fr.gouv.vitam.storage.engine.common.exception.StorageNotFoundException;
 import fr.gouv.vitam.storage.engine.common.exception.StorageTechnicalException;
@@ -121,6 +123,13 @@ public class ReadOnlyShieldStorageDistribution implements StorageDistribution {
         return innerStorageDistribution.listContainerObjectsForOffer(category, offerId, includeDisabled);
     }
 
+    @Override
+    public List<StorageBulkMetadataResultEntry> getBatchObjectMetadataForOffer(DataCategory category,
+        String offerId, List<String> objectIds, boolean includeDisabled) throws StorageException {
+        return innerStorageDistribution.getBatchObjectMetadataForOffer(category, offerId, objectIds,
+            includeDisabled);
+    }
+
     @Override
     public RequestResponse<OfferLog> getOfferLogs(String strategyId, DataCategory category, Long offset, int limit,
         Order order) throws StorageException {
@@ -139,6 +148,13 @@ public class ReadOnlyShieldStorageDistribution implements StorageDistribution {
         return innerStorageDistribution.getContainerByCategory(strategyId, origin, objectId, category, logInformation);
     }
 
+    @Override
+    public Response getContainerByCategory(String strategyId, String origin, String objectId, DataCategory category,
+        ByteRange range, AccessLogInfoModel logInformation) throws StorageException {
+        return innerStorageDistribution.getContainerByCategory(strategyId, origin, objectId, category, range,
+            logInformation);
+    }
+
     @Override
     public Response getContainerByCategory(String strategyId, String origin, String objectId, DataCategory category,
         String offerId) throws StorageException {
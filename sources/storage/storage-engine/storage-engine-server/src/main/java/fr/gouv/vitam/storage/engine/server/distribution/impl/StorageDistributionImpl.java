@@ -37,6 +37,8 @@ import fr.gouv.vitam.common.ParametersChecker;
 import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.accesslog.AccessLogInfoModel;
 import fr.gouv.vitam.common.accesslog.AccessLogUtils;
+import fr.gouv.vitam.common.alert.AlertService;
+import fr.gouv.vitam.common.alert.AlertServiceImpl;
 import fr.gouv.vitam.common.client.DefaultClient;
 import fr.gouv.vitam.common.client.VitamContext;
 import fr.gouv.vitam.common.collection.CloseableIterator;
@@ -47,6 +49,7 @@ import fr.gouv.vitam.common.error.VitamCodeHelper;
 import fr.gouv.vitam.common.exception.InvalidParseOperationException;
 import fr.gouv.vitam.common.exception.VitamRuntimeException;
 import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.logging.VitamLogLevel;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.model.RequestResponse;
@@ -59,7 +62,9 @@ import fr.gouv.vitam.common.retryable.RetryableOnException;
 import fr.gouv.vitam.common.retryable.RetryableOnResult;
 import fr.gouv.vitam.common.retryable.RetryableParameters;
 import fr.gouv.vitam.common.server.application.VitamHttpHeader;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.common.stream.MultiplePipedInputStream;
+import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.common.stream.VitamAsyncInputStream;
 import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
@@ -178,6 +183,8 @@ public class StorageDistributionImpl implements StorageDistribution {
      */
     private final ExecutorService executor = new VitamThreadPoolExecutor();
 
+    private final AlertService alertService = new AlertServiceImpl();
+
     /**
      * Used to wait for all task submission (executorService)
      */
@@ -239,7 +246,9 @@ public class StorageDistributionImpl implements StorageDistribution {
         this.transfertTimeoutHelper = new TransfertTimeoutHelper(configuration.getTimeoutMsPerKB(),
             configuration.getMinWriteTimeoutMs(), configuration.getMinBulkWriteTimeoutMsPerObject());
         this.bulkStorageDistribution = new BulkStorageDistribution(3, this.workspaceClientFactory,
-            this.storageLogService, this.transfertTimeoutHelper);
+            this.storageLogService, this.transfertTimeoutHelper, configuration.getBulkMaxObjectsPerBatch(),
+            configuration.getBulkMinBatchSizeInBytes(), configuration.getBulkMaxBatchSizeInBytes(),
+            configuration.getBulkTargetBatchDurationInSeconds(), configuration.getBulkMaxParallelBatches());
         validateStrategyOffers();
     }
 
@@ -414,7 +423,7 @@ public class StorageDistributionImpl implements StorageDistribution {
 
     private StorageLogbookParameters startCopyToOffers(DataContext dataContext, OffersToCopyIn data,
         final String origin, int attempt, Long size, Digest globalDigest, MultiplePipedInputStream streams,
-        Map<String, Future<ThreadResponseData>> futureMap) {
+        OfferTransfers transfers) {
 
         int tenantId = VitamThreadUtils.getVitamSession().getTenantId();
         String requestId = VitamThreadUtils.getVitamSession().getRequestId();
@@ -437,10 +446,8 @@ public class StorageDistributionImpl implements StorageDistribution {
                     new StoragePutRequest(dataContext.getTenantId(), dataContext.getCategory().getFolder(),
                         dataContext.getObjectId(), digestType.getName(),
                         offerInputStream);
-                futureMap.put(offerIdString,
-                    executor.submit(
-                        new TransferThread(tenantId, requestId, driver, offerReference, request, globalDigest,
-                            size)));
+                transfers.submit(executor, offerIdString, rank,
+                    new TransferThread(tenantId, requestId, driver, offerReference, request, globalDigest, size));
                 rank++;
             }
         } catch (StorageException e) {
@@ -523,7 +530,7 @@ public class StorageDistributionImpl implements StorageDistribution {
                 .bulkCreateFromWorkspaceWithRetries(strategyId, tenantId, offerIds, storageDrivers, storageOffers,
                     bulkObjectStoreRequest.getType(), bulkObjectStoreRequest.getWorkspaceContainerGUID(),
                     bulkObjectStoreRequest.getWorkspaceObjectURIs(), bulkObjectStoreRequest.getObjectNames(),
-                    requester);
+                    bulkObjectStoreRequest.getObjectSizes(), requester);
 
         return new BulkObjectStoreResponse(offerIds, digestType.getName(), objectDigests);
     }
@@ -725,98 +732,224 @@ public class StorageDistributionImpl implements StorageDistribution {
         throws StorageTechnicalException {
         StorageLogbookParameters parameters;
         Digest globalDigest = new Digest(digestType);
+        int offerCount = offersParams.getKoOffers().size();
+        int minCopiesBeforeAcknowledge = getMinCopiesBeforeAcknowledge(dataContext.getStrategyId(), offerCount);
 
-        try (
-            InputStream digestInputStream = globalDigest.getDigestInputStream(streamAndInfo.getStream());
-            MultiplePipedInputStream streams = new MultiplePipedInputStream(digestInputStream,
-                offersParams.getKoOffers().size())) {
-            // init thread and make future map
-            // Map here to keep offerId linked to Future
-            Map<String, Future<ThreadResponseData>> futureMap = new HashMap<>();
+        InputStream digestInputStream = globalDigest.getDigestInputStream(streamAndInfo.getStream());
+        MultiplePipedInputStream streams = new MultiplePipedInputStream(digestInputStream, offerCount);
 
-            long finalTimeout = transfertTimeoutHelper.getTransferTimeout(streamAndInfo.getSize());
-            TimeoutStopwatch timeoutStopwatch = new TimeoutStopwatch(finalTimeout);
+        long finalTimeout = transfertTimeoutHelper.getTransferTimeout(streamAndInfo.getSize());
+        TimeoutStopwatch timeoutStopwatch = new TimeoutStopwatch(finalTimeout);
+        OfferTransfers transfers = new OfferTransfers(dataContext.getStrategyId(), streams, timeoutStopwatch);
+        boolean laggingTransfersHandedOver = false;
 
+        try {
             parameters =
                 startCopyToOffers(dataContext, offersParams, origin, attempt,
-                    streamAndInfo.getSize(), globalDigest, streams, futureMap);
-
-            // wait for all threads execution
-            // TODO: manage interruption and error execution (US #2008 && 2009)
-            for (Entry<String, Future<ThreadResponseData>> entry : futureMap.entrySet()) {
-                final Future<ThreadResponseData> future = entry.getValue();
-                // Check if any has one IO Exception
-                streams.throwLastException();
-                String offerId = entry.getKey();
-                try {
-                    ThreadResponseData threadResponseData = future.get(
-                        timeoutStopwatch.getRemainingDelayInMilliseconds(), TimeUnit.MILLISECONDS);
-
-                    if (threadResponseData == null) {
-                        LOGGER.error(ERROR_ON_OFFER_ID + offerId);
-                        parameters =
-                            setLogbookStorageParameters(parameters, offerId, null, dataContext.getRequester(),
-                                attempt,
-                                Status.INTERNAL_SERVER_ERROR, dataContext.getCategory().getFolder());
-                        throw new StorageTechnicalException(NO_MESSAGE_RETURNED);
-                    }
-                    parameters =
-                        setLogbookStorageParameters(parameters, offerId, threadResponseData,
-                            dataContext.getRequester(),
-                            attempt,
-                            threadResponseData.getStatus(), dataContext.getCategory().getFolder());
-                    offersParams.koListToOkList(offerId);
-                } catch (TimeoutException e) {
-                    LOGGER.info("Timeout on offer ID {} TimeOut: {}", offerId, finalTimeout, e);
-                    future.cancel(true);
-                    // TODO: manage thread to take into account this interruption
-                    LOGGER.error(INTERRUPTED_AFTER_TIMEOUT_ON_OFFER_ID + offerId);
-                    parameters =
-                        setLogbookStorageParameters(parameters, offerId, null, dataContext.getRequester(), attempt,
-                            null, dataContext.getCategory().getFolder());
-                } catch (InterruptedException e) {
-                    LOGGER.error(INTERRUPTED_ON_OFFER_ID + offerId, e);
-                    parameters =
-                        setLogbookStorageParameters(parameters, offerId, null, dataContext.getRequester(), attempt,
-                            null, dataContext.getCategory().getFolder());
-                } catch (ExecutionException e) {
-                    LOGGER.error(StorageDistributionImpl.ERROR_ON_OFFER_ID + offerId, e);
-                    Status status = Status.INTERNAL_SERVER_ERROR;
-                    if (e.getCause() instanceof StorageDriverConflictException) {
-                        status = Status.CONFLICT;
-                        offersParams.changeStatus(offerId, status);
-                    }
-                    parameters =
-                        setLogbookStorageParameters(parameters, offerId, null, dataContext.getRequester(), attempt,
-                            status, dataContext.getCategory().getFolder());
-
-                    if (e.getCause() instanceof StorageInconsistentStateException) {
-                        LOGGER.error(
-                            StorageDistributionImpl.ERROR_ENCOUNTERED_IS + e.getCause().getClass() +
-                                NO_NEED_TO_RETRY,
-                            e);
-                        needToRetry.set(false);
-                    } else if (e.getCause() instanceof StorageDriverException) {
-                        StorageDriverException ex = (StorageDriverException) e.getCause();
-                        if (!ex.isShouldRetry()) {
-                            LOGGER.error(
-                                StorageDistributionImpl.ERROR_ENCOUNTERED_IS + e.getCause().getClass() +
-                                    NO_NEED_TO_RETRY, ex);
-                            needToRetry.set(false);
-                        }
-                    }
-                }
-            }
+                    streamAndInfo.getSize(), globalDigest, streams, transfers);
+
+            // wait for offer transfers, in completion order
+            parameters = awaitOfferTransfers(dataContext, offersParams, attempt, needToRetry, transfers,
+                finalTimeout, minCopiesBeforeAcknowledge, parameters);
+
             // Check if any has one IO Exception
             streams.throwLastException();
 
+            if (transfers.hasPendingTransfers()) {
+                // Min copies acknowledged : lagging offer transfers complete asynchronously
+                for (String offerId : transfers.getPendingOfferIds()) {
+                    offersParams.koListToPendingList(offerId);
+                }
+                completeLaggingTransfersAsync(dataContext, attempt, transfers, finalTimeout);
+                laggingTransfersHandedOver = true;
+            }
+
         } catch (IOException e) {
             LOGGER.error(CANNOT_CREATE_MULTIPLE_INPUT_STREAM, e);
             throw new StorageTechnicalException(CANNOT_CREATE_MULTIPLE_INPUT_STREAM, e);
+        } finally {
+            if (!laggingTransfersHandedOver) {
+                transfers.close();
+            }
+            StreamUtils.closeSilently(digestInputStream);
+        }
+        return parameters;
+    }
+
+    /**
+     * Awaits offer transfers, in completion order.
+     * If minCopiesBeforeAcknowledge is positive, returns as soon as minCopiesBeforeAcknowledge transfers completed
+     * successfully (and source stream has been fully read), leaving lagging transfers pending.
+     */
+    private StorageLogbookParameters awaitOfferTransfers(DataContext dataContext, OffersToCopyIn offersParams,
+        int attempt, AtomicBoolean needToRetry, OfferTransfers transfers, long finalTimeout,
+        int minCopiesBeforeAcknowledge, StorageLogbookParameters parameters)
+        throws IOException, StorageTechnicalException {
+
+        int successfulCopies = 0;
+        boolean failedCopies = false;
+        while (transfers.hasPendingTransfers()) {
+            // Check if any has one IO Exception
+            transfers.throwLastException();
+
+            if (minCopiesBeforeAcknowledge > 0 && successfulCopies >= minCopiesBeforeAcknowledge && !failedCopies
+                && transfers.isSourceFullyRead()) {
+                LOGGER.info("Object {} stored in {} offers. Acknowledging write while offers {} complete " +
+                    "asynchronously", dataContext.getObjectId(), successfulCopies, transfers.getPendingOfferIds());
+                return parameters;
+            }
+
+            String offerId;
+            try {
+                offerId = transfers.awaitNextCompletion();
+            } catch (InterruptedException e) {
+                for (String pendingOfferId : transfers.cancelPendingTransfers()) {
+                    LOGGER.error(INTERRUPTED_ON_OFFER_ID + pendingOfferId, e);
+                    parameters =
+                        setLogbookStorageParameters(parameters, pendingOfferId, null, dataContext.getRequester(),
+                            attempt, null, dataContext.getCategory().getFolder());
+                }
+                break;
+            }
+
+            if (offerId == null) {
+                for (String pendingOfferId : transfers.cancelPendingTransfers()) {
+                    LOGGER.info("Timeout on offer ID {} TimeOut: {}", pendingOfferId, finalTimeout);
+                    LOGGER.error(INTERRUPTED_AFTER_TIMEOUT_ON_OFFER_ID + pendingOfferId);
+                    parameters =
+                        setLogbookStorageParameters(parameters, pendingOfferId, null, dataContext.getRequester(),
+                            attempt, null, dataContext.getCategory().getFolder());
+                }
+                break;
+            }
+
+            parameters = handleOfferTransferResult(dataContext, offersParams, attempt, needToRetry, offerId,
+                transfers.getFuture(offerId), transfers.getTimeoutStopwatch(), finalTimeout, parameters);
+            if (offersParams.getOkOffers().contains(offerId)) {
+                successfulCopies++;
+            } else {
+                failedCopies = true;
+            }
+        }
+        return parameters;
+    }
+
+    private StorageLogbookParameters handleOfferTransferResult(DataContext dataContext, OffersToCopyIn offersParams,
+        int attempt, AtomicBoolean needToRetry, String offerId, Future<ThreadResponseData> future,
+        TimeoutStopwatch timeoutStopwatch, long finalTimeout, StorageLogbookParameters parameters)
+        throws StorageTechnicalException {
+        try {
+            ThreadResponseData threadResponseData = future.get(
+                timeoutStopwatch.getRemainingDelayInMilliseconds(), TimeUnit.MILLISECONDS);
+
+            if (threadResponseData == null) {
+                LOGGER.error(ERROR_ON_OFFER_ID + offerId);
+                setLogbookStorageParameters(parameters, offerId, null, dataContext.getRequester(),
+                    attempt,
+                    Status.INTERNAL_SERVER_ERROR, dataContext.getCategory().getFolder());
+                throw new StorageTechnicalException(NO_MESSAGE_RETURNED);
+            }
+            parameters =
+                setLogbookStorageParameters(parameters, offerId, threadResponseData,
+                    dataContext.getRequester(),
+                    attempt,
+                    threadResponseData.getStatus(), dataContext.getCategory().getFolder());
+            offersParams.koListToOkList(offerId);
+        } catch (TimeoutException e) {
+            LOGGER.info("Timeout on offer ID {} TimeOut: {}", offerId, finalTimeout, e);
+            future.cancel(true);
+            // TODO: manage thread to take into account this interruption
+            LOGGER.error(INTERRUPTED_AFTER_TIMEOUT_ON_OFFER_ID + offerId);
+            parameters =
+                setLogbookStorageParameters(parameters, offerId, null, dataContext.getRequester(), attempt,
+                    null, dataContext.getCategory().getFolder());
+        } catch (InterruptedException e) {
+            LOGGER.error(INTERRUPTED_ON_OFFER_ID + offerId, e);
+            parameters =
+                setLogbookStorageParameters(parameters, offerId, null, dataContext.getRequester(), attempt,
+                    null, dataContext.getCategory().getFolder());
+        } catch (ExecutionException e) {
+            LOGGER.error(StorageDistributionImpl.ERROR_ON_OFFER_ID + offerId, e);
+            Status status = Status.INTERNAL_SERVER_ERROR;
+            if (e.getCause() instanceof StorageDriverConflictException) {
+                status = Status.CONFLICT;
+                offersParams.changeStatus(offerId, status);
+            }
+            parameters =
+                setLogbookStorageParameters(parameters, offerId, null, dataContext.getRequester(), attempt,
+                    status, dataContext.getCategory().getFolder());
+
+            if (e.getCause() instanceof StorageInconsistentStateException) {
+                LOGGER.error(
+                    StorageDistributionImpl.ERROR_ENCOUNTERED_IS + e.getCause().getClass() +
+                        NO_NEED_TO_RETRY,
+                    e);
+                needToRetry.set(false);
+            } else if (e.getCause() instanceof StorageDriverException) {
+                StorageDriverException ex = (StorageDriverException) e.getCause();
+                if (!ex.isShouldRetry()) {
+                    LOGGER.error(
+                        StorageDistributionImpl.ERROR_ENCOUNTERED_IS + e.getCause().getClass() +
+                            NO_NEED_TO_RETRY, ex);
+                    needToRetry.set(false);
+                }
+            }
         }
         return parameters;
     }
 
+    /**
+     * Awaits lagging offer transfers in background, writes their storage log & reports failures.
+     */
+    private void completeLaggingTransfersAsync(DataContext dataContext, int attempt, OfferTransfers transfers,
+        long finalTimeout) {
+
+        int tenantId = VitamThreadUtils.getVitamSession().getTenantId();
+        String requestId = VitamThreadUtils.getVitamSession().getRequestId();
+        OffersToCopyIn laggingOffers = new OffersToCopyIn(transfers.getPendingOfferIds());
+
+        executor.execute(() -> {
+            VitamThreadUtils.getVitamSession().setTenantId(tenantId);
+            VitamThreadUtils.getVitamSession().setRequestId(requestId);
+            try (transfers) {
+                StorageLogbookParameters parameters = awaitOfferTransfers(dataContext, laggingOffers, attempt,
+                    new AtomicBoolean(false), transfers, finalTimeout, 0, null);
+                if (parameters != null) {
+                    logStorage(tenantId, parameters);
+                }
+                if (!laggingOffers.getKoOffers().isEmpty()) {
+                    String message = String.format("Asynchronous copy of %s %s failed in offers %s",
+                        dataContext.getCategory().getFolder(), dataContext.getObjectId(),
+                        laggingOffers.getKoOffers());
+                    LOGGER.error(message);
+                    alertService.createAlert(VitamLogLevel.ERROR, message);
+                }
+            } catch (IOException | StorageTechnicalException | RuntimeException e) {
+                String message = String.format("Asynchronous copy of %s %s failed in offers %s",
+                    dataContext.getCategory().getFolder(), dataContext.getObjectId(),
+                    laggingOffers.getKoOffers());
+                LOGGER.error(message, e);
+                alertService.createAlert(VitamLogLevel.ERROR, message, e);
+            }
+        });
+    }
+
+    /**
+     * @return the min copies before acknowledging a write, or 0 if all offer copies should be awaited
+     */
+    private int getMinCopiesBeforeAcknowledge(String strategyId, int offerCount)
+        throws StorageTechnicalException {
+        StorageStrategy storageStrategy = STRATEGY_PROVIDER.getStorageStrategy(strategyId);
+        if (storageStrategy == null || storageStrategy.getMinCopiesBeforeAcknowledge() == null) {
+            return 0;
+        }
+        int minCopiesBeforeAcknowledge = storageStrategy.getMinCopiesBeforeAcknowledge();
+        if (minCopiesBeforeAcknowledge <= 0 || minCopiesBeforeAcknowledge >= offerCount) {
+            return 0;
+        }
+        return minCopiesBeforeAcknowledge;
+    }
+
     private StreamAndInfo getInputStreamFromWorkspace(ObjectDescription createObjectDescription)
         throws StorageTechnicalException, StorageNotFoundException {
         try (WorkspaceClient workspaceClient = workspaceClientFactory.getClient()) {
@@ -1177,6 +1310,23 @@ public class StorageDistributionImpl implements StorageDistribution {
         }
     }
 
+    @Override
+    public List<StorageBulkMetadataResultEntry> getBatchObjectMetadataForOffer(DataCategory category,
+        String offerId, List<String> objectIds, boolean includeDisabled) throws StorageException {
+
+        // Check offer exists
+        StorageOffer storageOffer = OFFER_PROVIDER.getStorageOffer(offerId, includeDisabled);
+
+        final Driver driver = retrieveDriverInternal(offerId);
+        Integer tenantId = ParameterHelper.getTenantParameter();
+        try {
+            return getBatchObjectInformation(category, tenantId, objectIds, driver, storageOffer);
+        } catch (VitamRuntimeException exc) {
+            LOGGER.error(VitamCodeHelper.getLogMessage(VitamCode.STORAGE_TECHNICAL_INTERNAL_ERROR), exc);
+            throw new StorageTechnicalException(exc.getCause() != null ? exc.getCause() : exc);
+        }
+    }
+
     @Override
     public RequestResponse<OfferLog> getOfferLogs(String strategyId, DataCategory category, Long offset, int limit,
         Order order)
@@ -1258,7 +1408,14 @@ public class StorageDistributionImpl implements StorageDistribution {
     public Response getContainerByCategory(String strategyId, String origin, String objectId, DataCategory category,
         AccessLogInfoModel logInformation)
         throws StorageException {
-        return getContainerByCategoryResponse(strategyId, origin, objectId, category, null, logInformation);
+        return getContainerByCategoryResponse(strategyId, origin, objectId, category, null, null, logInformation);
+    }
+
+    @Override
+    public Response getContainerByCategory(String strategyId, String origin, String objectId, DataCategory category,
+        ByteRange range, AccessLogInfoModel logInformation)
+        throws StorageException {
+        return getContainerByCategoryResponse(strategyId, origin, objectId, category, null, range, logInformation);
     }
 
     @Override
@@ -1266,7 +1423,7 @@ public class StorageDistributionImpl implements StorageDistribution {
         String
             offerId)
         throws StorageException {
-        return getContainerByCategoryResponse(strategyId, origin, objectId, category, offerId,
+        return getContainerByCategoryResponse(strategyId, origin, objectId, category, offerId, null,
             AccessLogUtils.getNoLogAccessLog());
     }
 
@@ -1277,12 +1434,13 @@ public class StorageDistributionImpl implements StorageDistribution {
      * @param origin origin
      * @param objectId objectId
      * @param category category
+     * @param range byte range to read, or null for full object
      * @return Response
      * @throws StorageException the exception
      */
     private Response getContainerByCategoryResponse(String strategyId, String origin, String objectId,
         DataCategory category,
-        String offerId, AccessLogInfoModel logInformation)
+        String offerId, ByteRange range, AccessLogInfoModel logInformation)
         throws StorageException {
 
         // Check input params
@@ -1324,7 +1482,7 @@ public class StorageDistributionImpl implements StorageDistribution {
             }
         }
 
-        return getObjectResult(tenantId, strategyId, origin, objectId, category, storageOffers);
+        return getObjectResult(tenantId, strategyId, origin, objectId, category, range, storageOffers);
     }
 
     /**
@@ -1351,12 +1509,13 @@ public class StorageDistributionImpl implements StorageDistribution {
      * @param origin origin
      * @param objectId objectID
      * @param type type
+     * @param range byte range to read, or null for full object
      * @param storageOffers storageOffer
      * @return StorageGetResult
      * @throws StorageException the exception
      */
     private Response getObjectResult(Integer tenantId, String strategyId, String origin, String objectId,
-        DataCategory type,
+        DataCategory type, ByteRange range,
         List<StorageOffer> storageOffers)
 
         throws StorageException {
@@ -1366,7 +1525,7 @@ public class StorageDistributionImpl implements StorageDistribution {
         for (final StorageOffer storageOffer : storageOffers) {
             final Driver driver = retrieveDriverInternal(storageOffer.getId());
             try (Connection connection = driver.connect(storageOffer.getId())) {
-                final StorageObjectRequest request = new StorageObjectRequest(tenantId, type.getFolder(), objectId);
+                final StorageObjectRequest request = new StorageObjectRequest(tenantId, type.getFolder(), objectId, range);
                 RetryableOnException<StorageGetResult, StorageDriverException> retryable =
                     new RetryableOnException<>(retryableParameters,
                         exception -> exception instanceof StorageDriverServiceUnavailableException ||
@@ -0,0 +1,181 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.distribution.impl.bulk;
+
+import com.google.common.annotations.VisibleForTesting;
+import fr.gouv.vitam.common.ParametersChecker;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits bulk write requests into sub-batches bounded by object count and cumulative byte size.
+ *
+ * The byte size target of a batch is derived from the observed throughput of the slowest offer involved, so that
+ * each batch transfer lasts about {@code targetBatchDurationInSeconds}. Offers with no throughput history yet get the
+ * max batch size.
+ */
+class BulkBatchPlanner {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(BulkBatchPlanner.class);
+
+    /**
+     * Weight of the last observed throughput in the exponentially weighted moving average
+     */
+    private static final double THROUGHPUT_SMOOTHING_FACTOR = 0.3;
+
+    private final int maxObjectsPerBatch;
+    private final long minBatchSizeInBytes;
+    private final long maxBatchSizeInBytes;
+    private final int targetBatchDurationInSeconds;
+    private final Map<String, Double> throughputByOfferId = new ConcurrentHashMap<>();
+
+    BulkBatchPlanner(int maxObjectsPerBatch, long minBatchSizeInBytes, long maxBatchSizeInBytes,
+        int targetBatchDurationInSeconds) {
+        ParametersChecker.checkValue("maxObjectsPerBatch", maxObjectsPerBatch, 1);
+        ParametersChecker.checkValue("minBatchSizeInBytes", minBatchSizeInBytes, 1);
+        ParametersChecker.checkValue("maxBatchSizeInBytes", maxBatchSizeInBytes, minBatchSizeInBytes);
+        ParametersChecker.checkValue("targetBatchDurationInSeconds", targetBatchDurationInSeconds, 1);
+        this.maxObjectsPerBatch = maxObjectsPerBatch;
+        this.minBatchSizeInBytes = minBatchSizeInBytes;
+        this.maxBatchSizeInBytes = maxBatchSizeInBytes;
+        this.targetBatchDurationInSeconds = targetBatchDurationInSeconds;
+    }
+
+    /**
+     * Plans contiguous sub-batches for a bulk write request.
+     *
+     * @param offerIds target offers
+     * @param nbObjects number of objects of the request
+     * @param objectSizes optional object sizes. When null (or for null entries), object size is considered unknown
+     * and only object count is taken into account.
+     * @return the list of batches, covering all objects in order
+     */
+    List<BulkBatch> planBatches(List<String> offerIds, int nbObjects, List<Long> objectSizes) {
+
+        long targetBatchSizeInBytes = getTargetBatchSizeInBytes(offerIds);
+
+        List<BulkBatch> batches = new ArrayList<>();
+        int batchStart = 0;
+        long batchSizeInBytes = 0L;
+        for (int i = 0; i < nbObjects; i++) {
+            long objectSize = getObjectSize(objectSizes, i);
+            int batchCount = i - batchStart;
+            boolean isBatchFull = batchCount >= maxObjectsPerBatch ||
+                (batchCount > 0 && batchSizeInBytes + objectSize > targetBatchSizeInBytes);
+            if (isBatchFull) {
+                batches.add(new BulkBatch(batchStart, i, batchSizeInBytes));
+                batchStart = i;
+                batchSizeInBytes = 0L;
+            }
+            batchSizeInBytes += objectSize;
+        }
+        if (nbObjects > batchStart) {
+            batches.add(new BulkBatch(batchStart, nbObjects, batchSizeInBytes));
+        }
+
+        if (batches.size() > 1) {
+            LOGGER.debug("Bulk write of " + nbObjects + " objects split into " + batches.size() +
+                " batches (target batch size: " + targetBatchSizeInBytes + " bytes)");
+        }
+        return batches;
+    }
+
+    /**
+     * Feeds back an observed offer transfer into the throughput estimation of the offer.
+     *
+     * @param offerId the offer id
+     * @param sizeInBytes transferred size
+     * @param durationInNanos transfer duration
+     */
+    void reportTransfer(String offerId, long sizeInBytes, long durationInNanos) {
+        if (sizeInBytes <= 0L || durationInNanos <= 0L) {
+            return;
+        }
+        double observedThroughput = sizeInBytes * (double) TimeUnit.SECONDS.toNanos(1) / durationInNanos;
+        throughputByOfferId.merge(offerId, observedThroughput,
+            (previous, observed) -> previous + THROUGHPUT_SMOOTHING_FACTOR * (observed - previous));
+    }
+
+    @VisibleForTesting
+    long getTargetBatchSizeInBytes(List<String> offerIds) {
+        double minThroughput = Double.MAX_VALUE;
+        for (String offerId : offerIds) {
+            Double throughput = throughputByOfferId.get(offerId);
+            if (throughput == null) {
+                // No history yet
+                return maxBatchSizeInBytes;
+            }
+            minThroughput = Math.min(minThroughput, throughput);
+        }
+        if (minThroughput == Double.MAX_VALUE) {
+            return maxBatchSizeInBytes;
+        }
+        double target = minThroughput * targetBatchDurationInSeconds;
+        return (long) Math.max(minBatchSizeInBytes, Math.min(maxBatchSizeInBytes, target));
+    }
+
+    private static long getObjectSize(List<Long> objectSizes, int index) {
+        if (objectSizes == null || objectSizes.size() <= index || objectSizes.get(index) == null) {
+            return 0L;
+        }
+        return Math.max(0L, objectSizes.get(index));
+    }
+
+    /**
+     * A contiguous range of objects of a bulk request : [fromIndex, toIndex[
+     */
+    static class BulkBatch {
+
+        private final int fromIndex;
+        private final int toIndex;
+        private final long sizeInBytes;
+
+        BulkBatch(int fromIndex, int toIndex, long sizeInBytes) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.sizeInBytes = sizeInBytes;
+        }
+
+        int getFromIndex() {
+            return fromIndex;
+        }
+
+        int getToIndex() {
+            return toIndex;
+        }
+
+        long getSizeInBytes() {
+            return sizeInBytes;
+        }
+    }
+}
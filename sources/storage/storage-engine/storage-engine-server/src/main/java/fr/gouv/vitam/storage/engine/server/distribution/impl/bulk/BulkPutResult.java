@@ -26,6 +26,7 @@
  */
 package fr.gouv.vitam.storage.engine.server.distribution.impl.bulk;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -33,11 +34,18 @@ class BulkPutResult {
 
     private final List<ObjectInfo> objectInfos;
     private final Map<String, OfferBulkPutStatus> statusByOfferIds;
+    private final Map<String, Long> transferDurationInNanosByOfferIds;
 
     public BulkPutResult(List<ObjectInfo> objectInfos,
         Map<String, OfferBulkPutStatus> statusByOfferIds) {
+        this(objectInfos, statusByOfferIds, Collections.emptyMap());
+    }
+
+    public BulkPutResult(List<ObjectInfo> objectInfos,
+        Map<String, OfferBulkPutStatus> statusByOfferIds, Map<String, Long> transferDurationInNanosByOfferIds) {
         this.objectInfos = objectInfos;
         this.statusByOfferIds = statusByOfferIds;
+        this.transferDurationInNanosByOfferIds = transferDurationInNanosByOfferIds;
     }
 
     public List<ObjectInfo> getObjectInfos() {
@@ -47,4 +55,11 @@ class BulkPutResult {
     public Map<String, OfferBulkPutStatus> getStatusByOfferIds() {
         return statusByOfferIds;
     }
+
+    /**
+     * @return the duration of the transfer to each offer, for offers whose transfer completed
+     */
+    public Map<String, Long> getTransferDurationInNanosByOfferIds() {
+        return transferDurationInNanosByOfferIds;
+    }
 }
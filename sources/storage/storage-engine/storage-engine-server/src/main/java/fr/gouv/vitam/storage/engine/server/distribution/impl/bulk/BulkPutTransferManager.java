@@ -27,6 +27,7 @@
 package fr.gouv.vitam.storage.engine.server.distribution.impl.bulk;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
 import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.alert.AlertService;
 import fr.gouv.vitam.common.alert.AlertServiceImpl;
@@ -69,6 +70,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -118,6 +120,7 @@ class BulkPutTransferManager {
         MultiplePipedInputStream streams = null;
         List<Future<StorageBulkPutResult>> transferThreadFutures = null;
         Future<List<ObjectInfo>> digestListenerFuture = null;
+        Map<String, Long> transferDurationInNanosByOfferIds = new ConcurrentHashMap<>();
 
         try {
 
@@ -144,7 +147,8 @@ class BulkPutTransferManager {
             transferThreadFutures =
                 startTransferThreads(strategyId, attempts, tenantId, requestId, dataCategory, objectIds, offerIds,
                     storageDrivers,
-                    storageOffers, streams, prependedStreamWithInfo.getResult().getSize());
+                    storageOffers, streams, prependedStreamWithInfo.getResult().getSize(),
+                    transferDurationInNanosByOfferIds);
 
             digestListenerFuture = startDigestComputeThread(offerIds, streams, objectIds);
 
@@ -170,7 +174,8 @@ class BulkPutTransferManager {
 
                 statusByOfferIds.put(offerId, status);
             }
-            return new BulkPutResult(objectInfo.getResult(), statusByOfferIds);
+            return new BulkPutResult(objectInfo.getResult(), statusByOfferIds,
+                new HashMap<>(transferDurationInNanosByOfferIds));
 
         } finally {
 
@@ -245,7 +250,8 @@ class BulkPutTransferManager {
     private List<Future<StorageBulkPutResult>> startTransferThreads(String strategyId, int attempts, int tenantId,
         String requestId, DataCategory dataCategory,
         List<String> objectIds, List<String> offerIds, Map<String, Driver> storageDrivers, Map<String, StorageOffer>
-        storageOffers, MultiplePipedInputStream streams, long size) {
+        storageOffers, MultiplePipedInputStream streams, long size,
+        Map<String, Long> transferDurationInNanosByOfferIds) {
         List<Future<StorageBulkPutResult>> transferThreadFutures = new ArrayList<>();
         for (int rank = 0; rank < offerIds.size(); rank++) {
 
@@ -258,10 +264,16 @@ class BulkPutTransferManager {
                 new UploadCountingInputStreamMetrics(tenantId, strategyId, offerId, BULK_ORIGIN, dataCategory, attempts,
                     bufferedInputStream);
 
-            transferThreadFutures.add(executor.submit(
-                new MultiplexedStreamTransferThread(tenantId, requestId,
-                    dataCategory, objectIds, offerInputStream, size, driver,
-                    storageOffer, this.digestType)));
+            MultiplexedStreamTransferThread transferThread = new MultiplexedStreamTransferThread(tenantId, requestId,
+                dataCategory, objectIds, offerInputStream, size, driver, storageOffer, this.digestType);
+
+            // Offer transfer duration is measured by each transfer thread, for offer throughput estimation
+            transferThreadFutures.add(executor.submit(() -> {
+                Stopwatch stopwatch = Stopwatch.createStarted();
+                StorageBulkPutResult storageBulkPutResult = transferThread.call();
+                transferDurationInNanosByOfferIds.put(offerId, stopwatch.elapsed(TimeUnit.NANOSECONDS));
+                return storageBulkPutResult;
+            }));
         }
         return transferThreadFutures;
     }
@@ -31,12 +31,14 @@ import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.digest.DigestType;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.storage.driver.Driver;
 import fr.gouv.vitam.storage.engine.common.exception.StorageException;
 import fr.gouv.vitam.storage.engine.common.exception.StorageInconsistentStateException;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
 import fr.gouv.vitam.storage.engine.common.referential.model.StorageOffer;
 import fr.gouv.vitam.storage.engine.server.distribution.impl.TransfertTimeoutHelper;
+import fr.gouv.vitam.storage.engine.server.distribution.impl.bulk.BulkBatchPlanner.BulkBatch;
 import fr.gouv.vitam.storage.engine.server.storagelog.StorageLog;
 import fr.gouv.vitam.storage.engine.server.storagelog.parameters.StorageLogbookOutcome;
 import fr.gouv.vitam.storage.engine.server.storagelog.parameters.StorageLogbookParameters;
@@ -44,9 +46,16 @@ import fr.gouv.vitam.workspace.client.WorkspaceClientFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 public class BulkStorageDistribution {
@@ -56,30 +65,66 @@ public class BulkStorageDistribution {
     private static final int MIN_SLEEP_DELAY_BEFORE_RETRY = 10_000;
     private static final int MAX_SLEEP_DELAY_BEFORE_RETRY = 30_000;
 
+    public static final int DEFAULT_MAX_OBJECTS_PER_BATCH = 1000;
+    public static final long DEFAULT_MIN_BATCH_SIZE_IN_BYTES = 64L * 1024 * 1024;
+    public static final long DEFAULT_MAX_BATCH_SIZE_IN_BYTES = 1024L * 1024 * 1024;
+    public static final int DEFAULT_TARGET_BATCH_DURATION_IN_SECONDS = 60;
+    public static final int DEFAULT_MAX_PARALLEL_BATCHES = 2;
+
     private final int nbReties;
     private final DigestType digestType;
     private final StorageLog storageLogService;
     private final BulkPutTransferManager bulkPutTransferManager;
     private final int minSleepDelayBeforeRetry;
     private final int maxSleepDelayBeforeRetry;
+    private final BulkBatchPlanner batchPlanner;
+    private final int maxParallelBatches;
+    private final ExecutorService executor;
 
     public BulkStorageDistribution(int nbReties, WorkspaceClientFactory workspaceClientFactory,
         StorageLog storageLogService, TransfertTimeoutHelper transfertTimeoutHelper) {
+        this(nbReties, workspaceClientFactory, storageLogService, transfertTimeoutHelper,
+            DEFAULT_MAX_OBJECTS_PER_BATCH, DEFAULT_MIN_BATCH_SIZE_IN_BYTES, DEFAULT_MAX_BATCH_SIZE_IN_BYTES,
+            DEFAULT_TARGET_BATCH_DURATION_IN_SECONDS, DEFAULT_MAX_PARALLEL_BATCHES);
+    }
+
+    public BulkStorageDistribution(int nbReties, WorkspaceClientFactory workspaceClientFactory,
+        StorageLog storageLogService, TransfertTimeoutHelper transfertTimeoutHelper, int maxObjectsPerBatch,
+        long minBatchSizeInBytes, long maxBatchSizeInBytes, int targetBatchDurationInSeconds,
+        int maxParallelBatches) {
         this(nbReties, storageLogService, VitamConfiguration.getDefaultDigestType(),
             new BulkPutTransferManager(workspaceClientFactory, transfertTimeoutHelper),
-            MIN_SLEEP_DELAY_BEFORE_RETRY, MAX_SLEEP_DELAY_BEFORE_RETRY);
+            MIN_SLEEP_DELAY_BEFORE_RETRY, MAX_SLEEP_DELAY_BEFORE_RETRY,
+            new BulkBatchPlanner(maxObjectsPerBatch, minBatchSizeInBytes, maxBatchSizeInBytes,
+                targetBatchDurationInSeconds),
+            maxParallelBatches, VitamThreadPoolExecutor.getDefaultExecutor());
     }
 
     @VisibleForTesting
     BulkStorageDistribution(int nbReties, StorageLog storageLogService,
         DigestType digestType, BulkPutTransferManager bulkPutTransferManager, int minSleepDelayBeforeRetry,
         int maxSleepDelayBeforeRetry) {
+        this(nbReties, storageLogService, digestType, bulkPutTransferManager, minSleepDelayBeforeRetry,
+            maxSleepDelayBeforeRetry,
+            new BulkBatchPlanner(DEFAULT_MAX_OBJECTS_PER_BATCH, DEFAULT_MIN_BATCH_SIZE_IN_BYTES,
+                DEFAULT_MAX_BATCH_SIZE_IN_BYTES, DEFAULT_TARGET_BATCH_DURATION_IN_SECONDS),
+            DEFAULT_MAX_PARALLEL_BATCHES, VitamThreadPoolExecutor.getDefaultExecutor());
+    }
+
+    @VisibleForTesting
+    BulkStorageDistribution(int nbReties, StorageLog storageLogService,
+        DigestType digestType, BulkPutTransferManager bulkPutTransferManager, int minSleepDelayBeforeRetry,
+        int maxSleepDelayBeforeRetry, BulkBatchPlanner batchPlanner, int maxParallelBatches,
+        ExecutorService executor) {
         this.nbReties = nbReties;
         this.storageLogService = storageLogService;
         this.digestType = digestType;
         this.bulkPutTransferManager = bulkPutTransferManager;
         this.minSleepDelayBeforeRetry = minSleepDelayBeforeRetry;
         this.maxSleepDelayBeforeRetry = maxSleepDelayBeforeRetry;
+        this.batchPlanner = batchPlanner;
+        this.maxParallelBatches = Math.max(1, maxParallelBatches);
+        this.executor = executor;
     }
 
     public Map<String, String> bulkCreateFromWorkspaceWithRetries(String strategyId, int tenantId,
@@ -88,6 +133,90 @@ public class BulkStorageDistribution {
         DataCategory dataCategory, String workspaceContainerGUID,
         List<String> workspaceObjectURIs, List<String> objectIds, String requester)
         throws StorageException {
+        return bulkCreateFromWorkspaceWithRetries(strategyId, tenantId, allOfferIds, storageDrivers, storageOffers,
+            dataCategory, workspaceContainerGUID, workspaceObjectURIs, objectIds, null, requester);
+    }
+
+    /**
+     * Writes objects from workspace to offers. Objects are split into sub-batches (by object count and, when object
+     * sizes are known, by cumulative size) which are sent in parallel, within the max parallel batches budget.
+     * Each sub-batch is retried independently.
+     *
+     * @param objectSizes optional object sizes (same order as objectIds). Entries may be null.
+     */
+    public Map<String, String> bulkCreateFromWorkspaceWithRetries(String strategyId, int tenantId,
+        List<String> allOfferIds, Map<String, Driver> storageDrivers,
+        Map<String, StorageOffer> storageOffers,
+        DataCategory dataCategory, String workspaceContainerGUID,
+        List<String> workspaceObjectURIs, List<String> objectIds, List<Long> objectSizes, String requester)
+        throws StorageException {
+
+        List<BulkBatch> batches = batchPlanner.planBatches(allOfferIds, objectIds.size(), objectSizes);
+        if (batches.size() <= 1) {
+            return bulkCreateBatchWithRetries(strategyId, tenantId, allOfferIds, storageDrivers, storageOffers,
+                dataCategory, workspaceContainerGUID, workspaceObjectURIs, objectIds, requester);
+        }
+
+        Queue<BulkBatch> pendingBatches = new ConcurrentLinkedQueue<>(batches);
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        int nbLanes = Math.min(maxParallelBatches, batches.size());
+
+        List<Future<Map<String, String>>> lanes = new ArrayList<>();
+        for (int i = 0; i < nbLanes; i++) {
+            lanes.add(executor.submit(() -> {
+                Map<String, String> laneDigests = new HashMap<>();
+                BulkBatch batch;
+                while (!aborted.get() && (batch = pendingBatches.poll()) != null) {
+                    try {
+                        laneDigests.putAll(bulkCreateBatchWithRetries(strategyId, tenantId, allOfferIds,
+                            storageDrivers, storageOffers, dataCategory, workspaceContainerGUID,
+                            workspaceObjectURIs.subList(batch.getFromIndex(), batch.getToIndex()),
+                            objectIds.subList(batch.getFromIndex(), batch.getToIndex()), requester));
+                    } catch (StorageException | RuntimeException e) {
+                        aborted.set(true);
+                        throw e;
+                    }
+                }
+                return laneDigests;
+            }));
+        }
+
+        return awaitBatchLanes(lanes);
+    }
+
+    private Map<String, String> awaitBatchLanes(List<Future<Map<String, String>>> lanes) throws StorageException {
+        Map<String, String> digests = new HashMap<>();
+        StorageException firstFailure = null;
+        for (Future<Map<String, String>> lane : lanes) {
+            try {
+                digests.putAll(lane.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lanes.forEach(future -> future.cancel(true));
+                throw new StorageException("Bulk write to offers interrupted", e);
+            } catch (ExecutionException e) {
+                StorageException failure = e.getCause() instanceof StorageException ?
+                    (StorageException) e.getCause() :
+                    new StorageException("Bulk write to offers failed", e.getCause());
+                // Inconsistent state errors take precedence over retryable errors
+                if (firstFailure == null || (failure instanceof StorageInconsistentStateException &&
+                    !(firstFailure instanceof StorageInconsistentStateException))) {
+                    firstFailure = failure;
+                }
+            }
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+        return digests;
+    }
+
+    private Map<String, String> bulkCreateBatchWithRetries(String strategyId, int tenantId,
+        List<String> allOfferIds, Map<String, Driver> storageDrivers,
+        Map<String, StorageOffer> storageOffers,
+        DataCategory dataCategory, String workspaceContainerGUID,
+        List<String> workspaceObjectURIs, List<String> objectIds, String requester)
+        throws StorageException {
 
         List<String> remainingOfferIds = new ArrayList<>(allOfferIds);
         Map<String, ObjectInfo> objectInfos = null;
@@ -101,6 +230,7 @@ public class BulkStorageDistribution {
                 BulkPutResult bulkOutResult =
                     bulkPutTransferManager.bulkSendDataToOffers(workspaceContainerGUID, strategyId, attempt, tenantId,
                         dataCategory, remainingOfferIds, storageDrivers, storageOffers, workspaceObjectURIs, objectIds);
+                reportOfferThroughput(bulkOutResult);
 
                 if (bulkOutResult.getObjectInfos() != null) {
                     objectInfos = bulkOutResult.getObjectInfos().stream()
@@ -142,6 +272,19 @@ public class BulkStorageDistribution {
         }
     }
 
+    private void reportOfferThroughput(BulkPutResult bulkPutResult) {
+        if (bulkPutResult.getObjectInfos() == null) {
+            return;
+        }
+        long totalSize = bulkPutResult.getObjectInfos().stream().mapToLong(ObjectInfo::getSize).sum();
+        bulkPutResult.getStatusByOfferIds().forEach((offerId, status) -> {
+            Long durationInNanos = bulkPutResult.getTransferDurationInNanosByOfferIds().get(offerId);
+            if (status == OfferBulkPutStatus.OK && durationInNanos != null) {
+                batchPlanner.reportTransfer(offerId, totalSize, durationInNanos);
+            }
+        });
+    }
+
     private void sleepBeforeRetry(List<String> remainingOfferIds) throws StorageException {
         int sleepDelay = ThreadLocalRandom.current().nextInt(minSleepDelayBeforeRetry, maxSleepDelayBeforeRetry);
         LOGGER.warn("Will retry writing to " + remainingOfferIds + " in " + sleepDelay + "ms");
@@ -42,7 +42,9 @@ import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.storage.engine.common.exception.StorageException;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
 import fr.gouv.vitam.storage.engine.common.referential.model.OfferReference;
+import fr.gouv.vitam.storage.engine.common.referential.model.StorageStrategy;
 import fr.gouv.vitam.storage.engine.server.distribution.StorageDistribution;
+import fr.gouv.vitam.storage.engine.server.offerdiff.index.OfferObjectIndex;
 import fr.gouv.vitam.storage.engine.server.offerdiff.sort.LargeFileSorter;
 import fr.gouv.vitam.storage.engine.server.offerdiff.sort.ObjectEntryLargeFileReader;
 import fr.gouv.vitam.storage.engine.server.offerdiff.sort.ObjectEntryLargeFileWriter;
@@ -56,13 +58,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
 
 public class OfferDiffProcess {
 
@@ -72,11 +75,22 @@ public class OfferDiffProcess {
     private final String offer1;
     private final String offer2;
     private final DataCategory dataCategory;
+    private final OfferObjectIndex offerObjectIndex;
 
     private OfferDiffStatus offerDiffStatus;
 
     public OfferDiffProcess(StorageDistribution distribution, String offer1, String offer2, DataCategory dataCategory) {
+        this(distribution, null, offer1, offer2, dataCategory);
+    }
+
+    /**
+     * @param offerObjectIndex when set, offers are compared using their persistent sorted object index (incremental
+     * mode) instead of full offer listings.
+     */
+    public OfferDiffProcess(StorageDistribution distribution, OfferObjectIndex offerObjectIndex, String offer1,
+        String offer2, DataCategory dataCategory) {
         this.distribution = distribution;
+        this.offerObjectIndex = offerObjectIndex;
         this.offer1 = offer1;
         this.offer2 = offer2;
         this.dataCategory = dataCategory;
@@ -100,12 +114,13 @@ public class OfferDiffProcess {
                 "[OfferDiff] Start offer diff process for offers '{%s}' and '{%s}' for category {%s}.",
                 offer1, offer2, dataCategory));
 
-            Set<String> offerIds = distribution.getStrategies()
-                .values()
-                .stream()
-                .flatMap(s -> s.getOffers().stream())
-                .map(OfferReference::getId)
-                .collect(Collectors.toSet());
+            Map<String, String> strategyIdByOfferIds = new HashMap<>();
+            for (StorageStrategy storageStrategy : distribution.getStrategies().values()) {
+                for (OfferReference offerReference : storageStrategy.getOffers()) {
+                    strategyIdByOfferIds.putIfAbsent(offerReference.getId(), storageStrategy.getId());
+                }
+            }
+            Set<String> offerIds = strategyIdByOfferIds.keySet();
 
             if (!offerIds.contains(offer1)) {
                 throw new IllegalArgumentException("Invalid offer1 : '" + offer1 + "'");
@@ -117,7 +132,12 @@ public class OfferDiffProcess {
 
             diffOperationTempDir = createProcessTempStorageDir();
 
-            process(offer1, offer2, dataCategory, diffOperationTempDir);
+            if (offerObjectIndex != null) {
+                processIncremental(strategyIdByOfferIds.get(offer1), strategyIdByOfferIds.get(offer2),
+                    diffOperationTempDir);
+            } else {
+                process(offer1, offer2, dataCategory, diffOperationTempDir);
+            }
 
             LOGGER.info("[OfferDiff] Offer diff completed successfully");
             this.offerDiffStatus.setStatusCode(
@@ -187,6 +207,66 @@ public class OfferDiffProcess {
         LOGGER.info("[OfferDiff] Comparing offer files done successfully !");
     }
 
+    private void processIncremental(String strategyId1, String strategyId2, File diffOperationTempDir)
+        throws StorageException {
+
+        LOGGER.info("[OfferDiff] Updating offer object indexes...");
+
+        ExecutorService executor = Executors.newFixedThreadPool(2, VitamThreadFactory.getInstance());
+        int tenant = VitamThreadUtils.getVitamSession().getTenantId();
+        String requestId = VitamThreadUtils.getVitamSession().getRequestId();
+
+        CompletableFuture<File> offerIndex1CompletableFuture = CompletableFuture
+            .supplyAsync(() -> updateOfferIndex(strategyId1, offer1, diffOperationTempDir, tenant, requestId),
+                executor);
+        CompletableFuture<File> offerIndex2CompletableFuture = CompletableFuture
+            .supplyAsync(() -> updateOfferIndex(strategyId2, offer2, diffOperationTempDir, tenant, requestId),
+                executor);
+
+        Optional<File> offerIndex1 = await(offerIndex1CompletableFuture, offer1);
+        Optional<File> offerIndex2 = await(offerIndex2CompletableFuture, offer2);
+
+        executor.shutdown();
+
+        if (offerIndex1.isEmpty() || offerIndex2.isEmpty()) {
+            throw new StorageException("One or more offer index update failed. Aborting");
+        }
+
+        LOGGER.info("[OfferDiff] Comparing offer indexes...");
+        try {
+            File reportFile = createTempFile(
+                diffOperationTempDir, "_" + this.offerDiffStatus.getRequestId() + ".jsonl");
+
+            try (ReportWriter reportWriter = new ReportWriter(reportFile)) {
+
+                // Indexes are already sorted by object id
+                compareOfferListings(offer1, offer2, offerIndex1.get(), offerIndex2.get(), reportWriter);
+
+                this.offerDiffStatus.setReportFileName(reportFile.getAbsoluteFile().toString());
+                this.offerDiffStatus.setTotalObjectCount(reportWriter.getTotalObjectCount());
+                this.offerDiffStatus.setErrorCount(reportWriter.getErrorCount());
+            }
+        } catch (IOException e) {
+            throw new StorageException("Could not compare offer indexes", e);
+        }
+        LOGGER.info("[OfferDiff] Comparing offer indexes done successfully !");
+    }
+
+    private File updateOfferIndex(String strategyId, String offerId, File diffOperationTempDir, Integer tenant,
+        String requestId) {
+
+        Thread.currentThread().setName("OfferIndex-" + offerId);
+        VitamThreadUtils.getVitamSession().setTenantId(tenant);
+        VitamThreadUtils.getVitamSession().setRequestId(requestId);
+
+        try {
+            return offerObjectIndex.updateIndex(strategyId, offerId, dataCategory, diffOperationTempDir);
+        } catch (StorageException e) {
+            throw new RuntimeException(
+                "Could not update offer index. OfferId: '" + offerId + "', dataCategory: " + dataCategory, e);
+        }
+    }
+
     private File listOfferObjects(String offerId, DataCategory dataCategory, File diffOperationTempDir,
         Integer tenant, String requestId) {
 
@@ -306,15 +386,23 @@ public class OfferDiffProcess {
         ReportWriter reportWriter) throws IOException {
 
         if (objectEntry1 != null && objectEntry2 != null) {
-            if (objectEntry1.getSize() == objectEntry2.getSize()) {
-                LOGGER.debug("File " + objectEntry1.getObjectId() + " matches. Size: " + objectEntry1.getSize());
-                reportWriter.reportMatchingObject(objectEntry1.getObjectId());
-            } else {
+            if (objectEntry1.getSize() != objectEntry2.getSize()) {
                 LOGGER.warn(
                     "File " + objectEntry1.getObjectId() + " found on both offers, but size mismatches. " + offer1 +
                         ": " + objectEntry1.getSize() + "bytes , " + offer2 + ": " + objectEntry2.getSize() + " bytes");
-                reportWriter
-                    .reportObjectMismatch(objectEntry1.getObjectId(), objectEntry1.getSize(), objectEntry2.getSize());
+                reportWriter.reportObjectMismatch(objectEntry1.getObjectId(), objectEntry1.getSize(),
+                    objectEntry2.getSize(), objectEntry1.getDigest(), objectEntry2.getDigest());
+            } else if (objectEntry1.getDigest() != null && objectEntry2.getDigest() != null &&
+                !objectEntry1.getDigest().equals(objectEntry2.getDigest())) {
+                // Digests are only known in incremental mode (offer object indexes)
+                LOGGER.warn(
+                    "File " + objectEntry1.getObjectId() + " found on both offers, but digest mismatches. " + offer1 +
+                        ": " + objectEntry1.getDigest() + ", " + offer2 + ": " + objectEntry2.getDigest());
+                reportWriter.reportObjectMismatch(objectEntry1.getObjectId(), objectEntry1.getSize(),
+                    objectEntry2.getSize(), objectEntry1.getDigest(), objectEntry2.getDigest());
+            } else {
+                LOGGER.debug("File " + objectEntry1.getObjectId() + " matches. Size: " + objectEntry1.getSize());
+                reportWriter.reportMatchingObject(objectEntry1.getObjectId());
             }
         } else if (objectEntry1 != null) {
             LOGGER.warn(
@@ -27,13 +27,16 @@
 
 package fr.gouv.vitam.storage.engine.server.offerdiff;
 
+import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
 import fr.gouv.vitam.storage.engine.server.distribution.StorageDistribution;
+import fr.gouv.vitam.storage.engine.server.offerdiff.index.OfferObjectIndex;
 
+import java.io.File;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class OfferDiffService {
@@ -43,7 +46,10 @@ public class OfferDiffService {
      */
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(OfferDiffService.class);
 
+    private static final String OFFER_DIFF_INDEX_FOLDER = "offer_diff_index";
+
     private final StorageDistribution distribution;
+    private final OfferObjectIndex offerObjectIndex;
 
     private final AtomicReference<OfferDiffProcess> lastOfferDiffProcess = new AtomicReference<>(null);
 
@@ -51,11 +57,24 @@ public class OfferDiffService {
      * Constructor.
      */
     public OfferDiffService(StorageDistribution distribution) {
+        this(distribution, new OfferObjectIndex(distribution,
+            new File(VitamConfiguration.getVitamDataFolder(), OFFER_DIFF_INDEX_FOLDER)));
+    }
+
+    public OfferDiffService(StorageDistribution distribution, OfferObjectIndex offerObjectIndex) {
         this.distribution = distribution;
+        this.offerObjectIndex = offerObjectIndex;
     }
 
     public boolean startOfferDiff(String offer1, String offer2, DataCategory dataCategory) {
-        OfferDiffProcess offerDiffProcess = createOfferDiffProcess(offer1, offer2, dataCategory);
+        return startOfferDiff(offer1, offer2, dataCategory, false);
+    }
+
+    /**
+     * @param incremental if true, offers are compared using persistent sorted object indexes, updated from offer logs.
+     */
+    public boolean startOfferDiff(String offer1, String offer2, DataCategory dataCategory, boolean incremental) {
+        OfferDiffProcess offerDiffProcess = createOfferDiffProcess(offer1, offer2, dataCategory, incremental);
 
         OfferDiffProcess currentOfferDiffProcess = lastOfferDiffProcess.updateAndGet((previousOfferDiffService) -> {
             if (previousOfferDiffService != null && previousOfferDiffService.isRunning()) {
@@ -95,6 +114,14 @@ public class OfferDiffService {
         );
     }
 
+    OfferDiffProcess createOfferDiffProcess(String offer1, String offer2,
+        DataCategory dataCategory, boolean incremental) {
+        if (incremental) {
+            return new OfferDiffProcess(distribution, offerObjectIndex, offer1, offer2, dataCategory);
+        }
+        return createOfferDiffProcess(offer1, offer2, dataCategory);
+    }
+
     OfferDiffProcess createOfferDiffProcess(String offer1, String offer2,
         DataCategory dataCategory) {
         return new OfferDiffProcess(distribution, offer1, offer2, dataCategory);
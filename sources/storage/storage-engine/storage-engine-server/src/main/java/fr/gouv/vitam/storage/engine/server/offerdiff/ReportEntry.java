@@ -42,6 +42,14 @@ public class ReportEntry {
     @JsonProperty("sizeInOffer2")
     private Long sizeInOffer2;
 
+    @JsonProperty("digestInOffer1")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String digestInOffer1;
+
+    @JsonProperty("digestInOffer2")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String digestInOffer2;
+
     public ReportEntry() {
         // Empty construction for deserialization
     }
@@ -72,4 +80,22 @@ public class ReportEntry {
         this.sizeInOffer2 = sizeInOffer2;
         return this;
     }
+
+    public String getDigestInOffer1() {
+        return digestInOffer1;
+    }
+
+    public ReportEntry setDigestInOffer1(String digestInOffer1) {
+        this.digestInOffer1 = digestInOffer1;
+        return this;
+    }
+
+    public String getDigestInOffer2() {
+        return digestInOffer2;
+    }
+
+    public ReportEntry setDigestInOffer2(String digestInOffer2) {
+        this.digestInOffer2 = digestInOffer2;
+        return this;
+    }
 }
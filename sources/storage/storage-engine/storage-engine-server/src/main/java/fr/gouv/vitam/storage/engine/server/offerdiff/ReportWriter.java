@@ -58,6 +58,11 @@ public class ReportWriter implements AutoCloseable {
     }
 
     public void reportObjectMismatch(String objectId, Long sizeOffer1, Long sizeOffer2) throws IOException {
+        reportObjectMismatch(objectId, sizeOffer1, sizeOffer2, null, null);
+    }
+
+    public void reportObjectMismatch(String objectId, Long sizeOffer1, Long sizeOffer2, String digestOffer1,
+        String digestOffer2) throws IOException {
         this.totalObjectCount++;
         this.errorCount++;
         if (!isEmpty) {
@@ -70,6 +75,8 @@ public class ReportWriter implements AutoCloseable {
                 .setObjectId(objectId)
                 .setSizeInOffer1(sizeOffer1)
                 .setSizeInOffer2(sizeOffer2)
+                .setDigestInOffer1(digestOffer1)
+                .setDigestInOffer2(digestOffer2)
         ));
     }
 
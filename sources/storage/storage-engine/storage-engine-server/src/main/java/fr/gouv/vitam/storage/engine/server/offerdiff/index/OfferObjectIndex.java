@@ -0,0 +1,423 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.offerdiff.index;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
+import fr.gouv.vitam.common.LocalDateUtil;
+import fr.gouv.vitam.common.collection.CloseableIterator;
+import fr.gouv.vitam.common.exception.InvalidParseOperationException;
+import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.RequestResponse;
+import fr.gouv.vitam.common.model.RequestResponseOK;
+import fr.gouv.vitam.common.model.storage.ObjectEntry;
+import fr.gouv.vitam.common.model.storage.ObjectEntryReader;
+import fr.gouv.vitam.common.model.storage.ObjectEntryWriter;
+import fr.gouv.vitam.common.thread.VitamThreadUtils;
+import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResultEntry;
+import fr.gouv.vitam.storage.engine.common.exception.StorageException;
+import fr.gouv.vitam.storage.engine.common.model.DataCategory;
+import fr.gouv.vitam.storage.engine.common.model.OfferLog;
+import fr.gouv.vitam.storage.engine.common.model.OfferLogAction;
+import fr.gouv.vitam.storage.engine.common.model.Order;
+import fr.gouv.vitam.storage.engine.server.distribution.StorageDistribution;
+import fr.gouv.vitam.storage.engine.server.offerdiff.sort.LargeFileSorter;
+import fr.gouv.vitam.storage.engine.server.offerdiff.sort.ObjectEntryLargeFileReader;
+import fr.gouv.vitam.storage.engine.server.offerdiff.sort.ObjectEntryLargeFileWriter;
+import org.apache.commons.collections4.iterators.PeekingIterator;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent index of the objects (id, size and digest) of an offer container, sorted by object id.
+ *
+ * The index is built once from a full offer listing, then kept up to date by replaying offer logs. Since index files
+ * are already sorted, an offer diff becomes a linear merge of 2 indexes. Object sizes and digests are retrieved from
+ * the offer using bulk object metadata requests (batches of {@link #DEFAULT_METADATA_BULK_SIZE} objects).
+ *
+ * Index layout : {@code <indexRootDirectory>/<offerId>/<tenant>_<category>/index.jsonl} (sorted object entries) and
+ * {@code state.json} (last offer log sequence applied).
+ */
+public class OfferObjectIndex {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(OfferObjectIndex.class);
+
+    public static final int DEFAULT_OFFER_LOG_BULK_SIZE = 10_000;
+    public static final int DEFAULT_MAX_INCREMENTAL_UPDATE_SIZE = 1_000_000;
+    public static final int DEFAULT_METADATA_BULK_SIZE = 1_000;
+
+    static final String INDEX_FILE_NAME = "index.jsonl";
+    static final String STATE_FILE_NAME = "state.json";
+
+    private final StorageDistribution distribution;
+    private final File indexRootDirectory;
+    private final int offerLogBulkSize;
+    private final int maxIncrementalUpdateSize;
+    private final int metadataBulkSize;
+
+    public OfferObjectIndex(StorageDistribution distribution, File indexRootDirectory) {
+        this(distribution, indexRootDirectory, DEFAULT_OFFER_LOG_BULK_SIZE, DEFAULT_MAX_INCREMENTAL_UPDATE_SIZE,
+            DEFAULT_METADATA_BULK_SIZE);
+    }
+
+    @VisibleForTesting
+    OfferObjectIndex(StorageDistribution distribution, File indexRootDirectory, int offerLogBulkSize,
+        int maxIncrementalUpdateSize, int metadataBulkSize) {
+        this.distribution = distribution;
+        this.indexRootDirectory = indexRootDirectory;
+        this.offerLogBulkSize = offerLogBulkSize;
+        this.maxIncrementalUpdateSize = maxIncrementalUpdateSize;
+        this.metadataBulkSize = metadataBulkSize;
+    }
+
+    /**
+     * Brings the index of an offer container up to date, and returns the sorted index file.
+     * Index file must not be modified nor deleted by caller.
+     *
+     * @param strategyId a strategy containing the offer
+     * @param offerId the offer id
+     * @param dataCategory the data category
+     * @param tempDir temporary directory used for full index (re)build
+     * @return the up to date sorted index file
+     * @throws StorageException on technical error
+     */
+    public File updateIndex(String strategyId, String offerId, DataCategory dataCategory, File tempDir)
+        throws StorageException {
+
+        File indexDirectory = getIndexDirectory(offerId, dataCategory);
+        try {
+            FileUtils.forceMkdir(indexDirectory);
+
+            Optional<OfferObjectIndexState> state = readState(indexDirectory);
+            if (state.isPresent() && getIndexFile(indexDirectory).exists()) {
+                if (tryIncrementalUpdate(strategyId, offerId, dataCategory, indexDirectory, state.get())) {
+                    return getIndexFile(indexDirectory);
+                }
+                LOGGER.warn("[OfferDiff] Too many changes since last index update for offer " + offerId + "/" +
+                    dataCategory + ". Rebuilding index");
+            }
+
+            rebuildIndex(strategyId, offerId, dataCategory, indexDirectory, tempDir);
+            return getIndexFile(indexDirectory);
+
+        } catch (IOException | InvalidParseOperationException e) {
+            throw new StorageException("Could not update object index of offer " + offerId + "/" + dataCategory, e);
+        }
+    }
+
+    private boolean tryIncrementalUpdate(String strategyId, String offerId, DataCategory dataCategory,
+        File indexDirectory, OfferObjectIndexState state)
+        throws StorageException, IOException, InvalidParseOperationException {
+
+        // Keep last action per object id, sorted by object id
+        TreeMap<String, OfferLogAction> changes = new TreeMap<>();
+        long lastSequence = state.getLastSequence();
+        while (true) {
+            List<OfferLog> offerLogs =
+                getOfferLogs(strategyId, offerId, dataCategory, lastSequence + 1, offerLogBulkSize, Order.ASC);
+            for (OfferLog offerLog : offerLogs) {
+                changes.put(offerLog.getFileName(), offerLog.getAction());
+                lastSequence = Math.max(lastSequence, offerLog.getSequence());
+            }
+            if (changes.size() > maxIncrementalUpdateSize) {
+                return false;
+            }
+            if (offerLogs.size() < offerLogBulkSize) {
+                break;
+            }
+        }
+
+        if (changes.isEmpty()) {
+            LOGGER.info("[OfferDiff] Object index of offer " + offerId + "/" + dataCategory + " is up to date");
+            return true;
+        }
+
+        LOGGER.info("[OfferDiff] Applying " + changes.size() + " changes to object index of offer " + offerId + "/" +
+            dataCategory);
+
+        File indexFile = getIndexFile(indexDirectory);
+        File newIndexFile = File.createTempFile("index_", ".tmp", indexDirectory);
+        long entryCount;
+        try {
+            entryCount = mergeChanges(offerId, dataCategory, indexFile, changes, newIndexFile);
+        } catch (StorageException | IOException | RuntimeException e) {
+            FileUtils.deleteQuietly(newIndexFile);
+            throw e;
+        }
+        replaceIndex(indexDirectory, newIndexFile, lastSequence, entryCount);
+        return true;
+    }
+
+    private long mergeChanges(String offerId, DataCategory dataCategory, File indexFile,
+        Map<String, OfferLogAction> changes, File newIndexFile) throws StorageException, IOException {
+
+        long entryCount = 0L;
+        try (InputStream inputStream = new FileInputStream(indexFile);
+            ObjectEntryReader indexReader = new ObjectEntryReader(inputStream);
+            OutputStream outputStream = new FileOutputStream(newIndexFile);
+            ObjectEntryWriter indexWriter = new ObjectEntryWriter(outputStream)) {
+
+            PeekingIterator<ObjectEntry> indexIterator = new PeekingIterator<>(indexReader);
+
+            // Changes are sorted by object id. Written object metadata is fetched by batch.
+            for (List<Map.Entry<String, OfferLogAction>> changeBatch :
+                Iterables.partition(changes.entrySet(), metadataBulkSize)) {
+
+                Map<String, StorageBulkMetadataResultEntry> writtenObjectMetadata =
+                    getObjectMetadata(offerId, dataCategory, changeBatch.stream()
+                        .filter(change -> change.getValue() == OfferLogAction.WRITE)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList()));
+
+                for (Map.Entry<String, OfferLogAction> change : changeBatch) {
+
+                    while (indexIterator.hasNext() &&
+                        indexIterator.peek().getObjectId().compareTo(change.getKey()) < 0) {
+                        indexWriter.write(indexIterator.next());
+                        entryCount++;
+                    }
+
+                    if (indexIterator.hasNext() && indexIterator.peek().getObjectId().equals(change.getKey())) {
+                        // Overridden entry
+                        indexIterator.next();
+                    }
+
+                    if (change.getValue() == OfferLogAction.WRITE) {
+                        StorageBulkMetadataResultEntry metadata = writtenObjectMetadata.get(change.getKey());
+                        // Written object may have been deleted since (with an offer log not yet listed)
+                        if (exists(metadata)) {
+                            indexWriter.write(
+                                new ObjectEntry(change.getKey(), metadata.getSize(), metadata.getDigest()));
+                            entryCount++;
+                        }
+                    }
+                }
+            }
+
+            while (indexIterator.hasNext()) {
+                indexWriter.write(indexIterator.next());
+                entryCount++;
+            }
+            indexWriter.writeEof();
+        }
+        return entryCount;
+    }
+
+    private long addObjectDigests(String offerId, DataCategory dataCategory, File sortedListingFile, File indexFile)
+        throws StorageException, IOException {
+
+        long entryCount = 0L;
+        long batchCount = 0L;
+        try (InputStream inputStream = new FileInputStream(sortedListingFile);
+            ObjectEntryReader listingReader = new ObjectEntryReader(inputStream);
+            OutputStream outputStream = new FileOutputStream(indexFile);
+            ObjectEntryWriter indexWriter = new ObjectEntryWriter(outputStream)) {
+
+            Iterator<List<ObjectEntry>> listingBatches = Iterators.partition(listingReader, metadataBulkSize);
+            while (listingBatches.hasNext()) {
+                List<ObjectEntry> listingBatch = listingBatches.next();
+
+                Map<String, StorageBulkMetadataResultEntry> objectMetadata = getObjectMetadata(offerId, dataCategory,
+                    listingBatch.stream().map(ObjectEntry::getObjectId).collect(Collectors.toList()));
+
+                for (ObjectEntry objectEntry : listingBatch) {
+                    StorageBulkMetadataResultEntry metadata = objectMetadata.get(objectEntry.getObjectId());
+                    // Listed object may have been deleted since. Offer log will be replayed by next incremental update.
+                    if (exists(metadata)) {
+                        indexWriter.write(
+                            new ObjectEntry(objectEntry.getObjectId(), metadata.getSize(), metadata.getDigest()));
+                        entryCount++;
+                    }
+                }
+
+                if (++batchCount % 100 == 0) {
+                    LOGGER.info("[OfferDiff] " + entryCount + "/? object digests retrieved from " + offerId + "/" +
+                        dataCategory);
+                }
+            }
+            indexWriter.writeEof();
+        }
+        return entryCount;
+    }
+
+    private Map<String, StorageBulkMetadataResultEntry> getObjectMetadata(String offerId, DataCategory dataCategory,
+        List<String> objectIds) throws StorageException {
+
+        Map<String, StorageBulkMetadataResultEntry> metadataByObjectId = new HashMap<>();
+        if (objectIds.isEmpty()) {
+            return metadataByObjectId;
+        }
+
+        List<StorageBulkMetadataResultEntry> entries =
+            distribution.getBatchObjectMetadataForOffer(dataCategory, offerId, objectIds, true);
+        for (StorageBulkMetadataResultEntry entry : entries) {
+            if (entry != null) {
+                metadataByObjectId.put(entry.getObjectName(), entry);
+            }
+        }
+
+        for (String objectId : objectIds) {
+            if (!metadataByObjectId.containsKey(objectId)) {
+                throw new StorageException(
+                    "Could not retrieve metadata of object " + objectId + " from offer " + offerId);
+            }
+        }
+        return metadataByObjectId;
+    }
+
+    private static boolean exists(StorageBulkMetadataResultEntry metadata) {
+        return metadata.getSize() != null && metadata.getDigest() != null;
+    }
+
+    private void rebuildIndex(String strategyId, String offerId, DataCategory dataCategory, File indexDirectory,
+        File tempDir) throws StorageException, IOException, InvalidParseOperationException {
+
+        LOGGER.info("[OfferDiff] Building object index of offer " + offerId + "/" + dataCategory);
+
+        // Offer logs after this sequence will be replayed by next incremental update. Replay is idempotent.
+        List<OfferLog> lastOfferLogs = getOfferLogs(strategyId, offerId, dataCategory, null, 1, Order.DESC);
+        long lastSequence = lastOfferLogs.isEmpty() ? 0L : lastOfferLogs.get(0).getSequence();
+
+        File listingFile = File.createTempFile("offer_index_", null, tempDir);
+        File sortedFile = null;
+        File newIndexFile = null;
+        try {
+            long listedEntryCount = listOfferObjects(offerId, dataCategory, listingFile);
+
+            LargeFileSorter<ObjectEntry> objectEntryLargeFileSorter = new LargeFileSorter<>(
+                ObjectEntryLargeFileReader::new,
+                ObjectEntryLargeFileWriter::new,
+                Comparator.comparing(ObjectEntry::getObjectId),
+                () -> {
+                    try {
+                        return File.createTempFile("offer_index_", null, tempDir);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            );
+            sortedFile = objectEntryLargeFileSorter.sortLargeFile(listingFile);
+
+            LOGGER.info("[OfferDiff] Retrieving object digests of " + listedEntryCount + " objects from offer " +
+                offerId + "/" + dataCategory);
+            newIndexFile = File.createTempFile("index_", ".tmp", indexDirectory);
+            long entryCount = addObjectDigests(offerId, dataCategory, sortedFile, newIndexFile);
+
+            replaceIndex(indexDirectory, newIndexFile, lastSequence, entryCount);
+
+            LOGGER.info("[OfferDiff] Object index of offer " + offerId + "/" + dataCategory + " built successfully. " +
+                entryCount + " entries");
+        } finally {
+            FileUtils.deleteQuietly(listingFile);
+            FileUtils.deleteQuietly(sortedFile);
+            FileUtils.deleteQuietly(newIndexFile);
+        }
+    }
+
+    private long listOfferObjects(String offerId, DataCategory dataCategory, File listingFile)
+        throws StorageException, IOException {
+        long entryCount = 0L;
+        try (CloseableIterator<ObjectEntry> objectEntryIterator =
+            this.distribution.listContainerObjectsForOffer(dataCategory, offerId, true);
+            FileOutputStream fos = new FileOutputStream(listingFile);
+            ObjectEntryWriter objectEntryWriter = new ObjectEntryWriter(fos)) {
+
+            while (objectEntryIterator.hasNext()) {
+                objectEntryWriter.write(objectEntryIterator.next());
+                entryCount++;
+                if (entryCount % 100_000 == 0) {
+                    LOGGER.info("[OfferDiff] " + entryCount + "/? files listed from " + offerId + "/" + dataCategory);
+                }
+            }
+            objectEntryWriter.writeEof();
+        }
+        return entryCount;
+    }
+
+    private List<OfferLog> getOfferLogs(String strategyId, String offerId, DataCategory dataCategory, Long offset,
+        int limit, Order order) throws StorageException {
+        RequestResponse<OfferLog> result =
+            distribution.getOfferLogsByOfferId(strategyId, offerId, dataCategory, offset, limit, order);
+        if (!result.isOk()) {
+            throw new StorageException("Could not list offer logs of offer " + offerId + ": " + result);
+        }
+        return ((RequestResponseOK<OfferLog>) result).getResults();
+    }
+
+    private void replaceIndex(File indexDirectory, File newIndexFile, long lastSequence, long entryCount)
+        throws IOException, InvalidParseOperationException {
+
+        Files.move(newIndexFile.toPath(), getIndexFile(indexDirectory).toPath(), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+
+        // State is written after index. On crash in between, offer logs are replayed again (idempotent)
+        OfferObjectIndexState state = new OfferObjectIndexState(lastSequence, entryCount,
+            LocalDateUtil.getFormattedDateForMongo(LocalDateUtil.now()));
+        File tmpStateFile = File.createTempFile("state_", ".tmp", indexDirectory);
+        JsonHandler.writeAsFile(state, tmpStateFile);
+        Files.move(tmpStateFile.toPath(), new File(indexDirectory, STATE_FILE_NAME).toPath(),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Optional<OfferObjectIndexState> readState(File indexDirectory) throws InvalidParseOperationException {
+        File stateFile = new File(indexDirectory, STATE_FILE_NAME);
+        if (!stateFile.exists()) {
+            return Optional.empty();
+        }
+        return Optional.of(JsonHandler.getFromFile(stateFile, OfferObjectIndexState.class));
+    }
+
+    @VisibleForTesting
+    File getIndexDirectory(String offerId, DataCategory dataCategory) {
+        int tenantId = VitamThreadUtils.getVitamSession().getTenantId();
+        return new File(new File(indexRootDirectory, offerId), tenantId + "_" + dataCategory.getFolder());
+    }
+
+    private static File getIndexFile(File indexDirectory) {
+        return new File(indexDirectory, INDEX_FILE_NAME);
+    }
+}
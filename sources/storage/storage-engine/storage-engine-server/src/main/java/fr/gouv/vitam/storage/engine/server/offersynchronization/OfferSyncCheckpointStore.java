@@ -0,0 +1,93 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.offersynchronization;
+
+import fr.gouv.vitam.common.exception.InvalidParseOperationException;
+import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.storage.engine.common.exception.StorageException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * File based persistence of parallel offer synchronization checkpoints.<br/>
+ * A single checkpoint file is kept per (source offer, target offer, strategy), and atomically replaced on update.
+ */
+public class OfferSyncCheckpointStore {
+
+    private static final String CHECKPOINT_FILE_EXTENSION = ".json";
+
+    private final File checkpointDirectory;
+
+    public OfferSyncCheckpointStore(File checkpointDirectory) {
+        this.checkpointDirectory = checkpointDirectory;
+    }
+
+    public Optional<OfferSyncCheckpoint> read(String sourceOffer, String targetOffer, String strategyId)
+        throws StorageException {
+        File checkpointFile = getCheckpointFile(sourceOffer, targetOffer, strategyId);
+        if (!checkpointFile.exists()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(JsonHandler.getFromFile(checkpointFile, OfferSyncCheckpoint.class));
+        } catch (InvalidParseOperationException e) {
+            throw new StorageException("Could not read offer sync checkpoint " + checkpointFile, e);
+        }
+    }
+
+    public synchronized void write(OfferSyncCheckpoint checkpoint) throws StorageException {
+        File checkpointFile =
+            getCheckpointFile(checkpoint.getSourceOffer(), checkpoint.getTargetOffer(), checkpoint.getStrategyId());
+        try {
+            Files.createDirectories(checkpointDirectory.toPath());
+            File tmpCheckpointFile = File.createTempFile("checkpoint_", ".tmp", checkpointDirectory);
+            JsonHandler.writeAsFile(checkpoint, tmpCheckpointFile);
+            Files.move(tmpCheckpointFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | InvalidParseOperationException e) {
+            throw new StorageException("Could not write offer sync checkpoint " + checkpointFile, e);
+        }
+    }
+
+    public synchronized void delete(String sourceOffer, String targetOffer, String strategyId)
+        throws StorageException {
+        try {
+            Files.deleteIfExists(getCheckpointFile(sourceOffer, targetOffer, strategyId).toPath());
+        } catch (IOException e) {
+            throw new StorageException("Could not delete offer sync checkpoint", e);
+        }
+    }
+
+    private File getCheckpointFile(String sourceOffer, String targetOffer, String strategyId) {
+        return new File(checkpointDirectory,
+            sourceOffer + "_" + targetOffer + "_" + strategyId + CHECKPOINT_FILE_EXTENSION);
+    }
+}
@@ -26,6 +26,7 @@
  */
 package fr.gouv.vitam.storage.engine.server.offersynchronization;
 
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.Iterables;
 import fr.gouv.vitam.common.LocalDateUtil;
 import fr.gouv.vitam.common.logging.VitamLogger;
@@ -34,6 +35,7 @@ import fr.gouv.vitam.common.model.StatusCode;
 import fr.gouv.vitam.common.model.storage.AccessRequestStatus;
 import fr.gouv.vitam.common.retryable.RetryableOnException;
 import fr.gouv.vitam.common.retryable.RetryableParameters;
+import fr.gouv.vitam.common.server.application.VitamHttpHeader;
 import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.storage.engine.common.exception.StorageException;
@@ -42,6 +44,7 @@ import fr.gouv.vitam.storage.engine.common.model.DataCategory;
 import fr.gouv.vitam.storage.engine.common.model.OfferLog;
 import fr.gouv.vitam.storage.engine.common.model.OfferLogAction;
 import fr.gouv.vitam.storage.engine.common.model.Order;
+import fr.gouv.vitam.storage.engine.common.model.request.OfferParallelSyncItem;
 import fr.gouv.vitam.storage.engine.common.model.request.OfferPartialSyncItem;
 import fr.gouv.vitam.storage.engine.server.distribution.StorageDistribution;
 import fr.gouv.vitam.storage.engine.server.distribution.impl.DataContext;
@@ -56,10 +59,13 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -76,12 +82,25 @@ public class OfferSyncProcess {
     private final int bulkSize;
     private final RetryableParameters retryableParameters;
     private final int accessRequestCheckWaitingTime;
+    private final OfferSyncRateLimiter rateLimiter;
+    private final OfferSyncCheckpointStore checkpointStore;
+    private final int parallelPipelines;
+    private final int maxShardsPerContainer;
 
     private OfferSyncStatus offerSyncStatus;
 
     public OfferSyncProcess(RestoreOfferBackupService restoreOfferBackupService, StorageDistribution distribution,
         int bulkSize, int offerSyncNumberOfRetries, int offerSyncFirstAttemptWaitingTime,
         int offerSyncWaitingTime, int accessRequestCheckWaitingTime) {
+        this(restoreOfferBackupService, distribution, bulkSize, offerSyncNumberOfRetries,
+            offerSyncFirstAttemptWaitingTime, offerSyncWaitingTime, accessRequestCheckWaitingTime,
+            OfferSyncRateLimiter.unlimited(), null, 1, 1);
+    }
+
+    public OfferSyncProcess(RestoreOfferBackupService restoreOfferBackupService, StorageDistribution distribution,
+        int bulkSize, int offerSyncNumberOfRetries, int offerSyncFirstAttemptWaitingTime,
+        int offerSyncWaitingTime, int accessRequestCheckWaitingTime, OfferSyncRateLimiter rateLimiter,
+        OfferSyncCheckpointStore checkpointStore, int parallelPipelines, int maxShardsPerContainer) {
         this.restoreOfferBackupService = restoreOfferBackupService;
         this.distribution = distribution;
         this.bulkSize = bulkSize;
@@ -96,6 +115,10 @@ public class OfferSyncProcess {
             SECONDS
         );
         this.accessRequestCheckWaitingTime = accessRequestCheckWaitingTime;
+        this.rateLimiter = rateLimiter;
+        this.checkpointStore = checkpointStore;
+        this.parallelPipelines = parallelPipelines;
+        this.maxShardsPerContainer = maxShardsPerContainer;
     }
 
     private static OfferLog getLastOfferLog(OfferLog offerLog1, OfferLog offerLog2) {
@@ -130,7 +153,7 @@ public class OfferSyncProcess {
 
                 long lastSequence =
                     synchronizeOfferLogs(executor, sourceOffer, targetOffer, strategyId, dataCategory, rawOfferLogs,
-                        offset);
+                        offset, false);
 
                 this.offerSyncStatus.setCurrentOffset(lastSequence);
 
@@ -159,8 +182,227 @@ public class OfferSyncProcess {
         }
     }
 
+    /**
+     * Parallel synchronization of several containers. Each container is split into offer log sequence range shards
+     * which are synchronized by concurrent pipelines. Shard progress is checkpointed after each bulk so that an
+     * interrupted synchronization can be resumed.
+     *
+     * @param pipelineExecutor executor running shard pipelines (must not be the object copy executor)
+     * @param executor object copy executor
+     * @param resume whether to resume from existing checkpoint (if any)
+     */
+    public void synchronizeInParallel(Executor pipelineExecutor, ExecutorService executor, String sourceOffer,
+        String targetOffer, String strategyId, List<OfferParallelSyncItem> items, boolean resume) {
+
+        String requestId = VitamThreadUtils.getVitamSession().getRequestId();
+        this.offerSyncStatus = new OfferSyncStatus(requestId, StatusCode.UNKNOWN, getCurrentDate(), null,
+            sourceOffer, targetOffer, null, null, null);
+
+        try {
+            OfferSyncCheckpoint checkpoint = loadOrPlanCheckpoint(sourceOffer, targetOffer, strategyId, items, resume);
+
+            Queue<OfferSyncShard> pendingShards = checkpoint.getShards().stream()
+                .filter(shard -> !shard.isCompleted())
+                .collect(Collectors.toCollection(ConcurrentLinkedQueue::new));
+
+            LOGGER.info(String.format(
+                "Start the parallel synchronization process of the target offer {%s} from the source offer {%s}: %d pending shard(s) out of %d, %d pipeline(s).",
+                targetOffer, sourceOffer, pendingShards.size(), checkpoint.getShards().size(), parallelPipelines));
+
+            Stopwatch stopwatch = Stopwatch.createStarted();
+            double initialProgress = updateProgress(checkpoint, stopwatch, 0.0);
+
+            AtomicBoolean aborted = new AtomicBoolean(false);
+            List<CompletableFuture<Void>> pipelines = new ArrayList<>();
+            int nbPipelines = Math.min(parallelPipelines, pendingShards.size());
+            for (int i = 0; i < nbPipelines; i++) {
+                pipelines.add(CompletableFuture.runAsync(
+                    () -> runPipeline(executor, sourceOffer, targetOffer, strategyId, requestId, checkpoint,
+                        pendingShards, aborted, stopwatch, initialProgress), pipelineExecutor));
+            }
+
+            boolean allSucceeded = awaitCompletion(pipelines);
+            if (!allSucceeded) {
+                throw new StorageException(
+                    "Error(s) occurred during parallel offer synchronization " + sourceOffer + " > " + targetOffer);
+            }
+
+            checkpointStore.delete(sourceOffer, targetOffer, strategyId);
+
+            LOGGER.info("The parallel offers synchronization completed successfully.");
+            this.offerSyncStatus.setStatusCode(StatusCode.OK);
+
+        } catch (Exception e) {
+            this.offerSyncStatus.setStatusCode(StatusCode.KO);
+            LOGGER.error(String.format(
+                "[OfferSync]: An exception has been thrown when synchronizing {%s} offer from {%s} source offer. Synchronization can be resumed from last checkpoint.",
+                targetOffer, sourceOffer), e);
+        } finally {
+            this.offerSyncStatus.setEndDate(getCurrentDate());
+        }
+    }
+
+    private OfferSyncCheckpoint loadOrPlanCheckpoint(String sourceOffer, String targetOffer, String strategyId,
+        List<OfferParallelSyncItem> items, boolean resume) throws StorageException {
+
+        List<String> containers = items.stream()
+            .map(item -> item.getTenantId() + "_" + item.getContainer())
+            .collect(Collectors.toList());
+
+        if (resume) {
+            Optional<OfferSyncCheckpoint> existingCheckpoint =
+                checkpointStore.read(sourceOffer, targetOffer, strategyId);
+            if (existingCheckpoint.isPresent()) {
+                if (existingCheckpoint.get().getContainers().equals(containers)) {
+                    LOGGER.info("Resuming offer synchronization from checkpoint of " +
+                        existingCheckpoint.get().getCreationDate());
+                    return existingCheckpoint.get();
+                }
+                LOGGER.warn("Existing offer synchronization checkpoint does not match requested containers. Ignored.");
+            }
+        }
+
+        List<OfferSyncShard> shards = new ArrayList<>();
+        for (OfferParallelSyncItem item : items) {
+            shards.addAll(planShards(strategyId, sourceOffer, item.getTenantId(), item.getContainer()));
+        }
+        OfferSyncCheckpoint checkpoint =
+            new OfferSyncCheckpoint(sourceOffer, targetOffer, strategyId, getCurrentDate(), containers, shards);
+        checkpointStore.write(checkpoint);
+        return checkpoint;
+    }
+
+    private List<OfferSyncShard> planShards(String strategyId, String sourceOffer, int tenant, String container)
+        throws StorageException {
+
+        VitamThreadUtils.getVitamSession().setTenantId(tenant);
+        DataCategory dataCategory = DataCategory.getByCollectionName(container);
+
+        List<OfferLog> firstOfferLogs =
+            restoreOfferBackupService.getListing(strategyId, sourceOffer, dataCategory, null, 1, Order.ASC);
+        if (firstOfferLogs.isEmpty()) {
+            LOGGER.info("Nothing to synchronize for container " + tenant + "_" + container);
+            return Collections.emptyList();
+        }
+        List<OfferLog> lastOfferLogs =
+            restoreOfferBackupService.getListing(strategyId, sourceOffer, dataCategory, null, 1, Order.DESC);
+
+        long firstSequence = firstOfferLogs.get(0).getSequence();
+        long lastSequence = lastOfferLogs.isEmpty() ? firstSequence : lastOfferLogs.get(0).getSequence();
+
+        // Offer log sequences are shared by all containers of an offer, so ranges are sparse. Shards are kept larger
+        // than a single bulk to avoid listing overhead.
+        long sequenceCount = lastSequence - firstSequence + 1;
+        int nbShards = (int) Math.max(1L, Math.min(maxShardsPerContainer, sequenceCount / bulkSize));
+        long shardSequenceCount = (sequenceCount + nbShards - 1) / nbShards;
+
+        List<OfferSyncShard> shards = new ArrayList<>();
+        for (int i = 0; i < nbShards; i++) {
+            long fromSequence = firstSequence + i * shardSequenceCount;
+            // Last shard is open-ended to synchronize entries written meanwhile
+            Long toSequence = (i == nbShards - 1) ? null : fromSequence + shardSequenceCount - 1;
+            shards.add(new OfferSyncShard(tenant, container, fromSequence, toSequence, lastSequence));
+        }
+        LOGGER.info("Container " + tenant + "_" + container + " split into shards " + shards);
+        return shards;
+    }
+
+    private void runPipeline(ExecutorService executor, String sourceOffer, String targetOffer, String strategyId,
+        String requestId, OfferSyncCheckpoint checkpoint, Queue<OfferSyncShard> pendingShards, AtomicBoolean aborted,
+        Stopwatch stopwatch, double initialProgress) {
+
+        OfferSyncShard shard = null;
+        try {
+            while (!aborted.get() && (shard = pendingShards.poll()) != null) {
+                synchronizeShard(executor, sourceOffer, targetOffer, strategyId, requestId, checkpoint, shard,
+                    aborted, stopwatch, initialProgress);
+            }
+        } catch (StorageException | RuntimeException e) {
+            aborted.set(true);
+            throw new RuntimeStorageException("Synchronization of shard " + shard + " failed", e);
+        }
+    }
+
+    private void synchronizeShard(ExecutorService executor, String sourceOffer, String targetOffer,
+        String strategyId, String requestId, OfferSyncCheckpoint checkpoint, OfferSyncShard shard,
+        AtomicBoolean aborted, Stopwatch stopwatch, double initialProgress) throws StorageException {
+
+        VitamThreadUtils.getVitamSession().setTenantId(shard.getTenantId());
+        VitamThreadUtils.getVitamSession().setRequestId(requestId);
+        DataCategory dataCategory = DataCategory.getByCollectionName(shard.getContainer());
+
+        long offset = shard.getNextSequence();
+        while (!aborted.get()) {
+
+            List<OfferLog> rawOfferLogs = restoreOfferBackupService.getListing(
+                strategyId, sourceOffer, dataCategory, offset, bulkSize, Order.ASC);
+
+            List<OfferLog> shardOfferLogs = rawOfferLogs.stream()
+                .filter(offerLog -> shard.getToSequence() == null || offerLog.getSequence() <= shard.getToSequence())
+                .collect(Collectors.toList());
+            boolean endOfShard = rawOfferLogs.size() < bulkSize || shardOfferLogs.size() < rawOfferLogs.size();
+
+            if (!shardOfferLogs.isEmpty()) {
+                long lastSequence = synchronizeOfferLogs(executor, sourceOffer, targetOffer, strategyId,
+                    dataCategory, shardOfferLogs, offset, true);
+                offset = lastSequence + 1;
+                synchronized (checkpoint) {
+                    shard.setCurrentOffset(lastSequence);
+                }
+            }
+
+            if (endOfShard) {
+                synchronized (checkpoint) {
+                    shard.setCompleted(true);
+                }
+                LOGGER.info("Shard " + shard + " synchronized");
+            }
+            saveCheckpoint(checkpoint, stopwatch, initialProgress);
+
+            if (endOfShard) {
+                return;
+            }
+        }
+    }
+
+    private void saveCheckpoint(OfferSyncCheckpoint checkpoint, Stopwatch stopwatch, double initialProgress)
+        throws StorageException {
+        synchronized (checkpoint) {
+            checkpointStore.write(checkpoint);
+            updateProgress(checkpoint, stopwatch, initialProgress);
+        }
+    }
+
+    private double updateProgress(OfferSyncCheckpoint checkpoint, Stopwatch stopwatch, double initialProgress) {
+        long totalSequenceCount = 0L;
+        long processedSequenceCount = 0L;
+        int completedShardCount = 0;
+        for (OfferSyncShard shard : checkpoint.getShards()) {
+            totalSequenceCount += shard.getEstimatedSequenceCount();
+            processedSequenceCount += shard.getEstimatedProcessedSequenceCount();
+            if (shard.isCompleted()) {
+                completedShardCount++;
+            }
+        }
+
+        double progress = totalSequenceCount == 0L ? 100.0 : processedSequenceCount * 100.0 / totalSequenceCount;
+
+        // ETA is based on progress rate of current run only (previous runs may have been resumed from checkpoint)
+        Long estimatedRemainingTimeInSeconds = null;
+        double currentRunProgress = progress - initialProgress;
+        if (currentRunProgress > 0.0) {
+            estimatedRemainingTimeInSeconds = (long) (stopwatch.elapsed(SECONDS) * (100.0 - progress)
+                / currentRunProgress);
+        }
+
+        this.offerSyncStatus.setProgress(checkpoint.getShards().size(), completedShardCount, progress,
+            estimatedRemainingTimeInSeconds);
+        return progress;
+    }
+
     private long synchronizeOfferLogs(Executor executor, String sourceOffer,
-        String destinationOffer, String strategyId, DataCategory dataCategory, List<OfferLog> rawOfferLogs, Long offset)
+        String destinationOffer, String strategyId, DataCategory dataCategory, List<OfferLog> rawOfferLogs, Long offset,
+        boolean reconcileWithSourceState)
         throws StorageException {
 
         int tenantId = VitamThreadUtils.getVitamSession().getTenantId();
@@ -170,13 +412,24 @@ public class OfferSyncProcess {
         Collection<OfferLog> offerLogs = removeDuplicates(rawOfferLogs);
 
         // Create / await access request readiness if offer is asyncRead mode.
-        Optional<String> optionalAccessRequest =
+        Optional<String> optionalAccessRequest = reconcileWithSourceState ?
+            awaitAccessRequestReadiness(strategyId, sourceOffer, dataCategory,
+                offerLogs.stream().map(OfferLog::getFileName).collect(Collectors.toList())) :
             awaitAccessRequestReadiness(strategyId, sourceOffer, dataCategory, offerLogs);
 
         try {
             List<CompletableFuture<Void>> completableFutures = new ArrayList<>();
             for (OfferLog offerLog : offerLogs) {
 
+                if (reconcileWithSourceState) {
+                    // Shards are synchronized concurrently, so offer log actions of the same object may be applied
+                    // out of order. Target object is reconciled with current source object state instead.
+                    completableFutures.add(CompletableFuture.runAsync(() -> retryable().execute(
+                        () -> syncObject(sourceOffer, destinationOffer, dataCategory, offerLog.getContainer(),
+                            offerLog.getFileName(), tenantId, strategyId, requestId)), executor));
+                    continue;
+                }
+
                 switch (offerLog.getAction()) {
                     case WRITE:
                         completableFutures.add(CompletableFuture.runAsync(() -> retryable().execute(
@@ -269,9 +522,12 @@ public class OfferSyncProcess {
                     sourceOffer);
             LOGGER.debug("Copy object " + container + "/" + fileName + " from offer " +
                 sourceOffer + " to offer " + destinationOffer);
+            long size = getContentLength(resp);
+            rateLimiter.acquire(size);
             // Assume file found so copy object to destination offer
             distribution.storeDataInOffers(strategyId, OFFER_SYNC_ORIGIN, fileName,
                 dataCategory, null, Collections.singletonList(destinationOffer), resp);
+            offerSyncStatus.incrementProcessedObjects(size);
 
         } catch (StorageNotFoundException e) {
             deleteObject(destinationOffer, dataCategory, container, fileName, tenant, strategyId, requestId);
@@ -305,8 +561,11 @@ public class OfferSyncProcess {
                 .getContainerByCategory(strategyId, OFFER_SYNC_ORIGIN, fileName, dataCategory,
                     sourceOffer);
 
+            long size = getContentLength(resp);
+            rateLimiter.acquire(size);
             distribution.storeDataInOffers(strategyId, OFFER_SYNC_ORIGIN, fileName,
                 dataCategory, null, Collections.singletonList(destinationOffer), resp);
+            offerSyncStatus.incrementProcessedObjects(size);
 
         } catch (StorageNotFoundException e) {
             LOGGER.debug("File not found", e);
@@ -338,6 +597,7 @@ public class OfferSyncProcess {
                 fileName, dataCategory, null, tenant, strategyId);
 
             distribution.deleteObjectInOffers(strategyId, context, Collections.singletonList(destinationOffer));
+            offerSyncStatus.incrementProcessedObjects(0L);
 
         } catch (Exception e) {
             throw new RuntimeStorageException("An error occurred during deleting '" + container + "/" +
@@ -345,6 +605,11 @@ public class OfferSyncProcess {
         }
     }
 
+    private static long getContentLength(Response response) {
+        String contentLength = response.getHeaderString(VitamHttpHeader.X_CONTENT_LENGTH.getName());
+        return contentLength == null ? 0L : Long.parseLong(contentLength);
+    }
+
     private Collection<OfferLog> removeDuplicates(List<OfferLog> rawOfferLogs) {
 
         // Remove duplicate entries (same container & same filename)
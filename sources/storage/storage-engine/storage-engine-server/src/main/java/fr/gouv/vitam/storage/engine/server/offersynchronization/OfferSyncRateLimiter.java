@@ -0,0 +1,70 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.offersynchronization;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Throttles offer synchronization object copies by number of objects and by volume.<br/>
+ * A limit of 0 (or less) disables the corresponding throttling.
+ */
+public class OfferSyncRateLimiter {
+
+    private static final long ONE_MEGA_BYTE = 1024L * 1024L;
+
+    private final RateLimiter objectRateLimiter;
+    private final RateLimiter byteRateLimiter;
+
+    public OfferSyncRateLimiter(int maxObjectsPerSecond, int maxMegaBytesPerSecond) {
+        this.objectRateLimiter = maxObjectsPerSecond > 0 ? RateLimiter.create(maxObjectsPerSecond) : null;
+        this.byteRateLimiter =
+            maxMegaBytesPerSecond > 0 ? RateLimiter.create((double) maxMegaBytesPerSecond * ONE_MEGA_BYTE) : null;
+    }
+
+    public static OfferSyncRateLimiter unlimited() {
+        return new OfferSyncRateLimiter(0, 0);
+    }
+
+    /**
+     * Blocks until an object of the given size can be copied.
+     *
+     * @param sizeInBytes object size, if known (0 otherwise)
+     */
+    public void acquire(long sizeInBytes) {
+        if (objectRateLimiter != null) {
+            objectRateLimiter.acquire();
+        }
+        if (byteRateLimiter != null && sizeInBytes > 0) {
+            long remaining = sizeInBytes;
+            while (remaining > 0) {
+                int permits = (int) Math.min(remaining, Integer.MAX_VALUE);
+                byteRateLimiter.acquire(permits);
+                remaining -= permits;
+            }
+        }
+    }
+}
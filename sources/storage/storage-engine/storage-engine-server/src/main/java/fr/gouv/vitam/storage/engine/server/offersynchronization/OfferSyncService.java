@@ -27,17 +27,21 @@
 package fr.gouv.vitam.storage.engine.server.offersynchronization;
 
 import com.google.common.annotations.VisibleForTesting;
+import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.logging.VitamLogger;
 import fr.gouv.vitam.common.logging.VitamLoggerFactory;
 import fr.gouv.vitam.common.thread.ExecutorUtils;
 import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
+import fr.gouv.vitam.storage.engine.common.model.request.OfferParallelSyncItem;
 import fr.gouv.vitam.storage.engine.common.model.request.OfferPartialSyncItem;
 import fr.gouv.vitam.storage.engine.server.distribution.StorageDistribution;
 import fr.gouv.vitam.storage.engine.server.rest.StorageConfiguration;
 
+import java.io.File;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -52,6 +56,8 @@ public class OfferSyncService implements AutoCloseable {
      */
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(OfferSyncService.class);
 
+    private static final String OFFER_SYNC_CHECKPOINT_FOLDER = "offer_sync_checkpoints";
+
     private final RestoreOfferBackupService restoreOfferBackupService;
     private final StorageDistribution distribution;
     private final int bulkSize;
@@ -59,8 +65,13 @@ public class OfferSyncService implements AutoCloseable {
     private final int offerSyncFirstAttemptWaitingTime;
     private final int offerSyncWaitingTime;
     private final int offerSyncAccessRequestCheckWaitingTime;
+    private final int offerSyncParallelPipelines;
+    private final int offerSyncMaxShardsPerContainer;
+    private final OfferSyncRateLimiter rateLimiter;
+    private final OfferSyncCheckpointStore checkpointStore;
 
     private final ExecutorService executor;
+    private final Executor pipelineExecutor;
     private final AtomicReference<OfferSyncProcess> lastOfferSyncService = new AtomicReference<>(null);
 
     /**
@@ -75,7 +86,14 @@ public class OfferSyncService implements AutoCloseable {
             storageConfiguration.getOfferSyncNumberOfRetries(),
             storageConfiguration.getOfferSyncFirstAttemptWaitingTime(),
             storageConfiguration.getOfferSyncWaitingTime(),
-            storageConfiguration.getOfferSyncAccessRequestCheckWaitingTime()
+            storageConfiguration.getOfferSyncAccessRequestCheckWaitingTime(),
+            storageConfiguration.getOfferSyncParallelPipelines(),
+            storageConfiguration.getOfferSyncMaxShardsPerContainer(),
+            new OfferSyncRateLimiter(storageConfiguration.getOfferSyncMaxObjectsPerSecond(),
+                storageConfiguration.getOfferSyncMaxMegaBytesPerSecond()),
+            new OfferSyncCheckpointStore(
+                new File(VitamConfiguration.getVitamDataFolder(), OFFER_SYNC_CHECKPOINT_FOLDER)),
+            VitamThreadPoolExecutor.getDefaultExecutor()
         );
     }
 
@@ -87,6 +105,21 @@ public class OfferSyncService implements AutoCloseable {
         RestoreOfferBackupService restoreOfferBackupService,
         StorageDistribution distribution, int bulkSize, int offerSyncThreadPoolSize, int offerSyncNumberOfRetries,
         int offerSyncFirstAttemptWaitingTime, int offerSyncWaitingTime, int offerSyncAccessRequestCheckWaitingTime) {
+        this(restoreOfferBackupService, distribution, bulkSize, offerSyncThreadPoolSize, offerSyncNumberOfRetries,
+            offerSyncFirstAttemptWaitingTime, offerSyncWaitingTime, offerSyncAccessRequestCheckWaitingTime, 1, 1,
+            OfferSyncRateLimiter.unlimited(), null, VitamThreadPoolExecutor.getDefaultExecutor());
+    }
+
+    /**
+     * Test constructor.
+     */
+    @VisibleForTesting
+    OfferSyncService(
+        RestoreOfferBackupService restoreOfferBackupService,
+        StorageDistribution distribution, int bulkSize, int offerSyncThreadPoolSize, int offerSyncNumberOfRetries,
+        int offerSyncFirstAttemptWaitingTime, int offerSyncWaitingTime, int offerSyncAccessRequestCheckWaitingTime,
+        int offerSyncParallelPipelines, int offerSyncMaxShardsPerContainer, OfferSyncRateLimiter rateLimiter,
+        OfferSyncCheckpointStore checkpointStore, Executor pipelineExecutor) {
         this.restoreOfferBackupService = restoreOfferBackupService;
         this.distribution = distribution;
         this.bulkSize = bulkSize;
@@ -94,6 +127,11 @@ public class OfferSyncService implements AutoCloseable {
         this.offerSyncFirstAttemptWaitingTime = offerSyncFirstAttemptWaitingTime;
         this.offerSyncWaitingTime = offerSyncWaitingTime;
         this.offerSyncAccessRequestCheckWaitingTime = offerSyncAccessRequestCheckWaitingTime;
+        this.offerSyncParallelPipelines = offerSyncParallelPipelines;
+        this.offerSyncMaxShardsPerContainer = offerSyncMaxShardsPerContainer;
+        this.rateLimiter = rateLimiter;
+        this.checkpointStore = checkpointStore;
+        this.pipelineExecutor = pipelineExecutor;
         this.executor = ExecutorUtils.createScalableBatchExecutorService(offerSyncThreadPoolSize);
     }
 
@@ -174,9 +212,55 @@ public class OfferSyncService implements AutoCloseable {
         return true;
     }
 
+    /**
+     * Synchronize several containers of an offer from another one, using concurrent shard pipelines.
+     *
+     * @param sourceOffer the identifier of the source offer
+     * @param targetOffer the identifier of the target offer
+     * @param strategyId the identifier of the strategy containing the two offers
+     * @param items the containers to synchronize
+     * @param resume whether to resume from last checkpoint of a previously interrupted synchronization
+     */
+    public boolean startParallelSynchronization(String sourceOffer, String targetOffer, String strategyId,
+        List<OfferParallelSyncItem> items, boolean resume) {
+
+        OfferSyncProcess offerSyncProcess = createOfferSyncProcess();
+
+        OfferSyncProcess currentOfferSyncProcess = lastOfferSyncService.updateAndGet((previousOfferSyncService) -> {
+            if (previousOfferSyncService != null && previousOfferSyncService.isRunning()) {
+                return previousOfferSyncService;
+            }
+            return offerSyncProcess;
+        });
+
+        // Ensure no concurrent synchronization service running
+        if (offerSyncProcess != currentOfferSyncProcess) {
+            LOGGER.error("Another synchronization workflow is already running " + currentOfferSyncProcess.toString());
+            return false;
+        }
+
+        String requestId = VitamThreadUtils.getVitamSession().getRequestId();
+
+        VitamThreadPoolExecutor.getDefaultExecutor().execute(
+            () -> {
+                try {
+                    VitamThreadUtils.getVitamSession().setRequestId(requestId);
+
+                    offerSyncProcess.synchronizeInParallel(pipelineExecutor, executor, sourceOffer, targetOffer,
+                        strategyId, items, resume);
+                } catch (Exception e) {
+                    LOGGER.error("An error occurred during parallel synchronization process execution", e);
+                }
+            }
+        );
+
+        return true;
+    }
+
     OfferSyncProcess createOfferSyncProcess() {
         return new OfferSyncProcess(restoreOfferBackupService, distribution, bulkSize, offerSyncNumberOfRetries,
-            offerSyncFirstAttemptWaitingTime, offerSyncWaitingTime, offerSyncAccessRequestCheckWaitingTime);
+            offerSyncFirstAttemptWaitingTime, offerSyncWaitingTime, offerSyncAccessRequestCheckWaitingTime,
+            rateLimiter, checkpointStore, offerSyncParallelPipelines, offerSyncMaxShardsPerContainer);
     }
 
     void runSynchronizationAsync(String sourceOffer, String targetOffer, String strategyId, DataCategory dataCategory,
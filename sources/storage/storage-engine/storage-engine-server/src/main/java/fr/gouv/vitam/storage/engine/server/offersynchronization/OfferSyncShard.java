@@ -0,0 +1,151 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.offersynchronization;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Offer log sequence range of a container synchronized by a single pipeline of a parallel offer synchronization.
+ */
+public class OfferSyncShard {
+
+    @JsonProperty("tenantId")
+    private int tenantId;
+
+    @JsonProperty("container")
+    private String container;
+
+    /**
+     * First offer log sequence of the shard (inclusive)
+     */
+    @JsonProperty("fromSequence")
+    private long fromSequence;
+
+    /**
+     * Last offer log sequence of the shard (inclusive). Null for the last shard of a container, which is synchronized
+     * until the end of the offer log.
+     */
+    @JsonProperty("toSequence")
+    private Long toSequence;
+
+    /**
+     * Last offer log sequence known when shard was planned. Used for progress estimation only.
+     */
+    @JsonProperty("lastKnownSequence")
+    private long lastKnownSequence;
+
+    /**
+     * Checkpoint : last synchronized offer log sequence of the shard (null if not yet started)
+     */
+    @JsonProperty("currentOffset")
+    private Long currentOffset;
+
+    @JsonProperty("completed")
+    private boolean completed;
+
+    public OfferSyncShard() {
+        // Empty constructor for deserialization
+    }
+
+    public OfferSyncShard(int tenantId, String container, long fromSequence, Long toSequence,
+        long lastKnownSequence) {
+        this.tenantId = tenantId;
+        this.container = container;
+        this.fromSequence = fromSequence;
+        this.toSequence = toSequence;
+        this.lastKnownSequence = lastKnownSequence;
+    }
+
+    public int getTenantId() {
+        return tenantId;
+    }
+
+    public String getContainer() {
+        return container;
+    }
+
+    public long getFromSequence() {
+        return fromSequence;
+    }
+
+    public Long getToSequence() {
+        return toSequence;
+    }
+
+    public long getLastKnownSequence() {
+        return lastKnownSequence;
+    }
+
+    public Long getCurrentOffset() {
+        return currentOffset;
+    }
+
+    public OfferSyncShard setCurrentOffset(Long currentOffset) {
+        this.currentOffset = currentOffset;
+        return this;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public OfferSyncShard setCompleted(boolean completed) {
+        this.completed = completed;
+        return this;
+    }
+
+    /**
+     * @return the next offer log sequence to synchronize
+     */
+    @JsonIgnore
+    public long getNextSequence() {
+        return currentOffset == null ? fromSequence : currentOffset + 1;
+    }
+
+    @JsonIgnore
+    public long getEstimatedSequenceCount() {
+        long lastSequence = toSequence == null ? lastKnownSequence : toSequence;
+        return Math.max(0L, lastSequence - fromSequence + 1);
+    }
+
+    @JsonIgnore
+    public long getEstimatedProcessedSequenceCount() {
+        if (completed) {
+            return getEstimatedSequenceCount();
+        }
+        if (currentOffset == null) {
+            return 0L;
+        }
+        return Math.min(getEstimatedSequenceCount(), currentOffset - fromSequence + 1);
+    }
+
+    @Override
+    public String toString() {
+        return tenantId + "_" + container + "[" + fromSequence + ".." + (toSequence == null ? "" : toSequence) + "]";
+    }
+}
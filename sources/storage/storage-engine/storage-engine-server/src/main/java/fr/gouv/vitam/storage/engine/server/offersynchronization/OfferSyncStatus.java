@@ -26,9 +26,12 @@
  */
 package fr.gouv.vitam.storage.engine.server.offersynchronization;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import fr.gouv.vitam.common.model.StatusCode;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public class OfferSyncStatus {
 
     @JsonProperty("requestId")
@@ -49,6 +52,24 @@ public class OfferSyncStatus {
     private Long startOffset;
     @JsonProperty("currentOffset")
     private Long currentOffset;
+    @JsonProperty("processedObjects")
+    private final AtomicLong processedObjects = new AtomicLong();
+    @JsonProperty("copiedBytes")
+    private final AtomicLong copiedBytes = new AtomicLong();
+
+    // Parallel synchronization progress
+    @JsonProperty("shardCount")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private volatile Integer shardCount;
+    @JsonProperty("completedShardCount")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private volatile Integer completedShardCount;
+    @JsonProperty("progressPercentage")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private volatile Double progressPercentage;
+    @JsonProperty("estimatedRemainingTimeInSeconds")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private volatile Long estimatedRemainingTimeInSeconds;
 
     public OfferSyncStatus() {
         // Empty constructor for deserialization
@@ -129,4 +150,42 @@ public class OfferSyncStatus {
         this.statusCode = statusCode;
         return this;
     }
+
+    public long getProcessedObjects() {
+        return processedObjects.get();
+    }
+
+    public long getCopiedBytes() {
+        return copiedBytes.get();
+    }
+
+    public void incrementProcessedObjects(long sizeInBytes) {
+        processedObjects.incrementAndGet();
+        copiedBytes.addAndGet(sizeInBytes);
+    }
+
+    public Integer getShardCount() {
+        return shardCount;
+    }
+
+    public Integer getCompletedShardCount() {
+        return completedShardCount;
+    }
+
+    public Double getProgressPercentage() {
+        return progressPercentage;
+    }
+
+    public Long getEstimatedRemainingTimeInSeconds() {
+        return estimatedRemainingTimeInSeconds;
+    }
+
+    public OfferSyncStatus setProgress(int shardCount, int completedShardCount, double progressPercentage,
+        Long estimatedRemainingTimeInSeconds) {
+        this.shardCount = shardCount;
+        this.completedShardCount = completedShardCount;
+        this.progressPercentage = progressPercentage;
+        this.estimatedRemainingTimeInSeconds = estimatedRemainingTimeInSeconds;
+        return this;
+    }
 }
@@ -103,7 +103,8 @@ public class AdminOfferDiffResource {
         boolean started = offerDiffService.startOfferDiff(
             offerDiffRequest.getOffer1(),
             offerDiffRequest.getOffer2(),
-            dataCategory
+            dataCategory,
+            Boolean.TRUE.equals(offerDiffRequest.getIncremental())
         );
 
         Response.Status status;
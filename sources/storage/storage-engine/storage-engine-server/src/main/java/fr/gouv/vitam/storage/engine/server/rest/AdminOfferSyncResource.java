@@ -37,6 +37,8 @@ import fr.gouv.vitam.common.model.AuthenticationLevel;
 import fr.gouv.vitam.common.security.rest.VitamAuthentication;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
+import fr.gouv.vitam.storage.engine.common.model.request.OfferParallelSyncItem;
+import fr.gouv.vitam.storage.engine.common.model.request.OfferParallelSyncRequest;
 import fr.gouv.vitam.storage.engine.common.model.request.OfferPartialSyncItem;
 import fr.gouv.vitam.storage.engine.common.model.request.OfferPartialSyncRequest;
 import fr.gouv.vitam.storage.engine.common.model.request.OfferSyncRequest;
@@ -70,6 +72,7 @@ public class AdminOfferSyncResource {
 
     private static final String OFFER_SYNC_URI = "/offerSync";
     private static final String OFFER_PARTIAL_SYNC_URI = "/offerPartialSync";
+    private static final String OFFER_PARALLEL_SYNC_URI = "/offerParallelSync";
 
     /**
      * OfferSynchronization Service.
@@ -171,6 +174,61 @@ public class AdminOfferSyncResource {
         return sb.toString();
     }
 
+    /**
+     * Start parallel offer synchronization of several containers, resumable from last checkpoint. At most, one
+     * synchronization process can be started. Progress and ETA are reported by offer synchronization status.
+     */
+    @Path(OFFER_PARALLEL_SYNC_URI)
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @VitamAuthentication(authentLevel = AuthenticationLevel.BASIC_AUTHENT)
+    @Operation(summary = "Start parallel offer synchronization",
+        description = "Démarre la synchronisation parallélisée et reprenable de plusieurs containers. Une seule synchronisation peut être démarrée à la fois.")
+    @WriteProtection(true)
+    public Response startParallelSynchronization(OfferParallelSyncRequest offerParallelSyncRequest) {
+
+        ParametersChecker.checkParameter("source offer is mandatory.", offerParallelSyncRequest.getSourceOffer());
+        ParametersChecker.checkParameter("target offer is mandatory.", offerParallelSyncRequest.getTargetOffer());
+        if (offerParallelSyncRequest.getSourceOffer().equals(offerParallelSyncRequest.getTargetOffer())) {
+            throw new IllegalArgumentException("Source offer cannot be the same as target offer");
+        }
+        ParametersChecker.checkParameter("strategyId is mandatory.", offerParallelSyncRequest.getStrategyId());
+
+        VitamThreadUtils.getVitamSession().setTenantId(VitamConfiguration.getAdminTenant());
+        VitamThreadUtils.getVitamSession()
+            .setRequestId(GUIDFactory.newRequestIdGUID(VitamConfiguration.getAdminTenant()));
+
+        if (null == offerParallelSyncRequest.getContainers() || offerParallelSyncRequest.getContainers().isEmpty()) {
+            throw new IllegalArgumentException("containers parameter is empty");
+        }
+        for (OfferParallelSyncItem item : offerParallelSyncRequest.getContainers()) {
+            if (!VitamConfiguration.getTenants().contains(item.getTenantId())) {
+                throw new IllegalArgumentException("Invalid tenant " + item.getTenantId());
+            }
+            // Fails on unknown container
+            DataCategory.getByCollectionName(item.getContainer());
+        }
+
+        boolean resume = !Boolean.FALSE.equals(offerParallelSyncRequest.getResume());
+        boolean started = offerSyncService
+            .startParallelSynchronization(offerParallelSyncRequest.getSourceOffer(),
+                offerParallelSyncRequest.getTargetOffer(), offerParallelSyncRequest.getStrategyId(),
+                offerParallelSyncRequest.getContainers(), resume);
+
+        Response.Status status;
+        if (started) {
+            LOGGER.info("Offer parallel synchronization started");
+            status = Response.Status.OK;
+        } else {
+            LOGGER.warn("Another synchronization process is already running");
+            status = Response.Status.CONFLICT;
+        }
+        return Response.status(status)
+            .header(X_REQUEST_ID, VitamThreadUtils.getVitamSession().getRequestId())
+            .build();
+    }
+
     /**
      * Start offer synchronization. At most, one synchronization process can be started.
      */
@@ -27,6 +27,7 @@
 package fr.gouv.vitam.storage.engine.server.rest;
 
 import fr.gouv.vitam.common.server.application.configuration.DefaultVitamApplicationConfiguration;
+import fr.gouv.vitam.storage.engine.server.distribution.impl.bulk.BulkStorageDistribution;
 
 public final class StorageConfiguration extends DefaultVitamApplicationConfiguration {
 
@@ -34,6 +35,11 @@ public final class StorageConfiguration extends DefaultVitamApplicationConfigura
     private Integer timeoutMsPerKB;
     private int minWriteTimeoutMs = 60_000;
     private int minBulkWriteTimeoutMsPerObject = 10_000;
+    private int bulkMaxObjectsPerBatch = BulkStorageDistribution.DEFAULT_MAX_OBJECTS_PER_BATCH;
+    private long bulkMinBatchSizeInBytes = BulkStorageDistribution.DEFAULT_MIN_BATCH_SIZE_IN_BYTES;
+    private long bulkMaxBatchSizeInBytes = BulkStorageDistribution.DEFAULT_MAX_BATCH_SIZE_IN_BYTES;
+    private int bulkTargetBatchDurationInSeconds = BulkStorageDistribution.DEFAULT_TARGET_BATCH_DURATION_IN_SECONDS;
+    private int bulkMaxParallelBatches = BulkStorageDistribution.DEFAULT_MAX_PARALLEL_BATCHES;
     private String loggingDirectory;
     private String zippingDirecorty;
     private String p12LogbookPassword;
@@ -48,6 +54,10 @@ public final class StorageConfiguration extends DefaultVitamApplicationConfigura
     private int offerSyncFirstAttemptWaitingTime = 15;
     private int offerSyncWaitingTime = 30;
     private int offerSyncAccessRequestCheckWaitingTime = 10;
+    private int offerSyncParallelPipelines = 4;
+    private int offerSyncMaxShardsPerContainer = 8;
+    private int offerSyncMaxObjectsPerSecond = 0;
+    private int offerSyncMaxMegaBytesPerSecond = 0;
     private int storageLogBackupThreadPoolSize = 16;
     private int storageLogTraceabilityThreadPoolSize = 16;
 
@@ -214,6 +224,42 @@ public final class StorageConfiguration extends DefaultVitamApplicationConfigura
         this.offerSyncAccessRequestCheckWaitingTime = offerSyncAccessRequestCheckWaitingTime;
     }
 
+    public int getOfferSyncParallelPipelines() {
+        return offerSyncParallelPipelines;
+    }
+
+    public StorageConfiguration setOfferSyncParallelPipelines(int offerSyncParallelPipelines) {
+        this.offerSyncParallelPipelines = offerSyncParallelPipelines;
+        return this;
+    }
+
+    public int getOfferSyncMaxShardsPerContainer() {
+        return offerSyncMaxShardsPerContainer;
+    }
+
+    public StorageConfiguration setOfferSyncMaxShardsPerContainer(int offerSyncMaxShardsPerContainer) {
+        this.offerSyncMaxShardsPerContainer = offerSyncMaxShardsPerContainer;
+        return this;
+    }
+
+    public int getOfferSyncMaxObjectsPerSecond() {
+        return offerSyncMaxObjectsPerSecond;
+    }
+
+    public StorageConfiguration setOfferSyncMaxObjectsPerSecond(int offerSyncMaxObjectsPerSecond) {
+        this.offerSyncMaxObjectsPerSecond = offerSyncMaxObjectsPerSecond;
+        return this;
+    }
+
+    public int getOfferSyncMaxMegaBytesPerSecond() {
+        return offerSyncMaxMegaBytesPerSecond;
+    }
+
+    public StorageConfiguration setOfferSyncMaxMegaBytesPerSecond(int offerSyncMaxMegaBytesPerSecond) {
+        this.offerSyncMaxMegaBytesPerSecond = offerSyncMaxMegaBytesPerSecond;
+        return this;
+    }
+
     public int getStorageLogBackupThreadPoolSize() {
         return storageLogBackupThreadPoolSize;
     }
@@ -248,6 +294,51 @@ public final class StorageConfiguration extends DefaultVitamApplicationConfigura
         return this;
     }
 
+    public int getBulkMaxObjectsPerBatch() {
+        return bulkMaxObjectsPerBatch;
+    }
+
+    public StorageConfiguration setBulkMaxObjectsPerBatch(int bulkMaxObjectsPerBatch) {
+        this.bulkMaxObjectsPerBatch = bulkMaxObjectsPerBatch;
+        return this;
+    }
+
+    public long getBulkMinBatchSizeInBytes() {
+        return bulkMinBatchSizeInBytes;
+    }
+
+    public StorageConfiguration setBulkMinBatchSizeInBytes(long bulkMinBatchSizeInBytes) {
+        this.bulkMinBatchSizeInBytes = bulkMinBatchSizeInBytes;
+        return this;
+    }
+
+    public long getBulkMaxBatchSizeInBytes() {
+        return bulkMaxBatchSizeInBytes;
+    }
+
+    public StorageConfiguration setBulkMaxBatchSizeInBytes(long bulkMaxBatchSizeInBytes) {
+        this.bulkMaxBatchSizeInBytes = bulkMaxBatchSizeInBytes;
+        return this;
+    }
+
+    public int getBulkTargetBatchDurationInSeconds() {
+        return bulkTargetBatchDurationInSeconds;
+    }
+
+    public StorageConfiguration setBulkTargetBatchDurationInSeconds(int bulkTargetBatchDurationInSeconds) {
+        this.bulkTargetBatchDurationInSeconds = bulkTargetBatchDurationInSeconds;
+        return this;
+    }
+
+    public int getBulkMaxParallelBatches() {
+        return bulkMaxParallelBatches;
+    }
+
+    public StorageConfiguration setBulkMaxParallelBatches(int bulkMaxParallelBatches) {
+        this.bulkMaxParallelBatches = bulkMaxParallelBatches;
+        return this;
+    }
+
     public Boolean isReadOnly() {
         return isReadOnly;
     }
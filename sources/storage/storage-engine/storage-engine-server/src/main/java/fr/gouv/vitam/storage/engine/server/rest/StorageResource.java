@@ -59,6 +59,8 @@ import fr.gouv.vitam.common.parameter.ParameterHelper;
 import fr.gouv.vitam.common.server.application.HttpHeaderHelper;
 import fr.gouv.vitam.common.server.application.VitamHttpHeader;
 import fr.gouv.vitam.common.server.application.resources.ApplicationStatusResource;
+import fr.gouv.vitam.common.stream.ByteRange;
+import fr.gouv.vitam.common.stream.StreamUtils;
 import fr.gouv.vitam.common.stream.VitamAsyncInputStreamResponse;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
 import fr.gouv.vitam.common.timestamp.TimeStampSignature;
@@ -131,6 +133,7 @@ import java.security.cert.CertificateException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -559,7 +562,13 @@ public class StorageResource extends ApplicationStatusResource implements VitamA
             Optional.of(HttpHeaderHelper.getHeaderValues(headers, VitamHttpHeader.OFFER))
                 .orElse(Collections.emptyList());
         try {
-            if (CollectionUtils.isEmpty(offerIdHeaders)) {
+            ByteRange range = DataCategory.OBJECT.equals(dataCategory) ?
+                parseRange(headers.getHeaderString(GlobalDataRest.RANGE)) : null;
+            if (range != null && CollectionUtils.isEmpty(offerIdHeaders) && vitamCode == null) {
+                return buildRangeResponse(distribution
+                    .getContainerByCategory(strategyId, StorageDistributionImpl.NORMAL_ORIGIN, objectId, dataCategory,
+                        range, accessLogInfoModel));
+            } else if (CollectionUtils.isEmpty(offerIdHeaders)) {
                 return new VitamAsyncInputStreamResponse(
                     getByCategory(objectId, dataCategory, strategyId, vitamCode,
                         accessLogInfoModel),
@@ -579,10 +588,38 @@ public class StorageResource extends ApplicationStatusResource implements VitamA
         } catch (final StorageException exc) {
             LOGGER.error(exc);
             vitamCode = VitamCode.STORAGE_TECHNICAL_INTERNAL_ERROR;
+        } catch (final IllegalArgumentException exc) {
+            LOGGER.error(exc);
+            vitamCode = VitamCode.STORAGE_BAD_REQUEST;
         }
         return buildErrorResponse(vitamCode);
     }
 
+    private ByteRange parseRange(String rangeHeader) {
+        try {
+            return ByteRange.parse(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            // Unsupported ranges are ignored (RFC 7233) : full object is returned
+            LOGGER.warn("Ignoring unsupported range header " + rangeHeader, e);
+            return null;
+        }
+    }
+
+    private Response buildRangeResponse(Response response) {
+        Map<String, String> rangeHeaders = VitamAsyncInputStreamResponse.addRangeHeadersFromResponse(response,
+            new HashMap<>());
+        if (response.getStatus() == Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode()) {
+            StreamUtils.consumeAnyEntityAndClose(response);
+            Response.ResponseBuilder responseBuilder = Response.status(Status.REQUESTED_RANGE_NOT_SATISFIABLE);
+            rangeHeaders.forEach(responseBuilder::header);
+            return responseBuilder.build();
+        }
+        // Offers that do not support partial reads return full object (200)
+        rangeHeaders.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM);
+        return new VitamAsyncInputStreamResponse(response, Status.fromStatusCode(response.getStatus()),
+            rangeHeaders);
+    }
+
     /**
      * Get colection data.
      *
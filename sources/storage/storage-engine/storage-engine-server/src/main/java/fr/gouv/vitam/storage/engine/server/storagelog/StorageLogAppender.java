@@ -34,15 +34,17 @@ import fr.gouv.vitam.storage.engine.server.storagelog.parameters.StorageLogStruc
 
 import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import static java.nio.file.StandardOpenOption.APPEND;
 import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 /**
  * Storage log appender.
@@ -53,17 +55,19 @@ public class StorageLogAppender implements VitamAutoCloseable {
 
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(StorageLogAppender.class);
 
+    private final FileChannel fileChannel;
     private final Writer writer;
     private final String lineSeparator = "\n";
 
     public StorageLogAppender(Path filePath) throws IOException {
-        OutputStream outputStream = openStream(filePath);
-        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        this.fileChannel = openChannel(filePath);
+        this.writer = new BufferedWriter(
+            new OutputStreamWriter(Channels.newOutputStream(fileChannel), StandardCharsets.UTF_8));
     }
 
-    private OutputStream openStream(Path path) throws IOException {
+    private FileChannel openChannel(Path path) throws IOException {
         try {
-            return Files.newOutputStream(path, CREATE_NEW, APPEND);
+            return FileChannel.open(path, CREATE_NEW, WRITE, APPEND);
         } catch (IOException e) {
             throw new IOException(String.format("Cannot open storage log file %s", path.toFile().getAbsolutePath()), e);
         }
@@ -76,11 +80,37 @@ public class StorageLogAppender implements VitamAutoCloseable {
      * @throws IOException
      */
     public void append(StorageLogStructure parameters) throws IOException {
-        writer.append(JsonHandler.unprettyPrint(parameters.getMapParameters()));
+        writer.append(serialize(parameters));
         writer.append(lineSeparator);
         writer.flush();
     }
 
+    /**
+     * Append a group of serialized log entries to the current log, and sync them to disk. Only invoked by the
+     * {@link StorageLogWriter} flusher thread, so that request threads never wait for disk syncs.
+     *
+     * @param lines serialized log entries
+     * @throws IOException
+     */
+    public void appendLines(List<String> lines) throws IOException {
+        for (String line : lines) {
+            writer.append(line);
+            writer.append(lineSeparator);
+        }
+        writer.flush();
+        fileChannel.force(false);
+    }
+
+    /**
+     * Serialize log entry as a single line
+     *
+     * @param parameters information to append to logFile
+     * @return the serialized log entry
+     */
+    public static String serialize(StorageLogStructure parameters) {
+        return JsonHandler.unprettyPrint(parameters.getMapParameters());
+    }
+
     @Override
     public void close() {
         try {
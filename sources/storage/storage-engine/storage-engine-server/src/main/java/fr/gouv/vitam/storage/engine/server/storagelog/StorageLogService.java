@@ -41,11 +41,11 @@ import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -53,6 +53,12 @@ import java.util.stream.Stream;
 
 import static fr.gouv.vitam.common.LocalDateUtil.getDateTimeFormatterForFileNames;
 
+/**
+ * Storage log service.
+ *
+ * Log entries of each tenant are written asynchronously, in groups, by a dedicated {@link StorageLogWriter} per tenant
+ * and log type, so that concurrent requests of a same tenant do not contend on a lock, nor wait for disk syncs.
+ */
 public class StorageLogService implements StorageLog {
 
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(StorageLogService.class);
@@ -69,10 +75,8 @@ public class StorageLogService implements StorageLog {
     private final List<Integer> tenants;
     private final Path writeOperationLogPath;
     private final Path accessOperationLogPath;
-    private final Map<Integer, StorageLogAppender> writeOperationLogAppenders;
-    private final Map<Integer, StorageLogAppender> accessOperationLogAppenders;
-    private final Map<Integer, Object> writeLockers;
-    private final Map<Integer, Object> accessLockers;
+    private final Map<Integer, StorageLogWriter> writeOperationLogWriters;
+    private final Map<Integer, StorageLogWriter> accessOperationLogWriters;
 
     /**
      * Constructor.
@@ -88,10 +92,8 @@ public class StorageLogService implements StorageLog {
         this.writeOperationLogPath = createStoragePathDirectory(basePath, true);
         this.accessOperationLogPath = createStoragePathDirectory(basePath, false);
 
-        this.writeOperationLogAppenders = new HashMap<>();
-        this.accessOperationLogAppenders = new HashMap<>();
-        this.writeLockers = new HashMap<>();
-        this.accessLockers = new HashMap<>();
+        this.writeOperationLogWriters = new ConcurrentHashMap<>();
+        this.accessOperationLogWriters = new ConcurrentHashMap<>();
         initializeStorageLogs();
     }
 
@@ -165,47 +167,42 @@ public class StorageLogService implements StorageLog {
 
     private void append(Integer tenant, StorageLogStructure parameters, Boolean isWriteOperation) throws IOException {
 
-        if (isWriteOperation) {
-            synchronized (writeLockers.get(tenant)) {
-                writeOperationLogAppenders.get(tenant).append(parameters);
-            }
-        } else {
-            synchronized (accessLockers.get(tenant)) {
-                accessOperationLogAppenders.get(tenant).append(parameters);
-            }
-        }
+        // Serialize in caller thread. Actual write is done by the tenant log writer
+        String line = StorageLogAppender.serialize(parameters);
+        getWriter(tenant, isWriteOperation).append(line);
     }
 
     @Override
     public List<LogInformation> rotateLogFile(Integer tenant, boolean isWriteOperation) throws IOException {
 
-        if (isWriteOperation) {
-            synchronized (writeLockers.get(tenant)) {
-                writeOperationLogAppenders.get(tenant).close();
-                List<LogInformation> storageLogToBackup = listStorageLogsToBackup(tenant, isWriteOperation);
-                writeOperationLogAppenders.put(tenant, createAppender(tenant, isWriteOperation));
-                return storageLogToBackup;
-            }
+        // Rotation is processed by the tenant log writer once all previously appended entries are written
+        return getWriter(tenant, isWriteOperation)
+            .rotate(() -> listStorageLogsToBackup(tenant, isWriteOperation));
+    }
 
+    private StorageLogWriter getWriter(Integer tenant, boolean isWriteOperation) {
+        if (isWriteOperation) {
+            return writeOperationLogWriters.get(tenant);
         } else {
-            synchronized (accessLockers.get(tenant)) {
-                accessOperationLogAppenders.get(tenant).close();
-                List<LogInformation> storageLogToBackup = listStorageLogsToBackup(tenant, isWriteOperation);
-                accessOperationLogAppenders.put(tenant, createAppender(tenant, isWriteOperation));
-                return storageLogToBackup;
-            }
+            return accessOperationLogWriters.get(tenant);
         }
     }
 
     public void initializeStorageLogs() throws IOException {
 
         for (Integer tenant : tenants) {
-            writeOperationLogAppenders.put(tenant, createAppender(tenant, true));
-            accessOperationLogAppenders.put(tenant, createAppender(tenant, false));
-        }
-        for (Integer tenant : tenants) {
-            this.writeLockers.put(tenant, new Object());
-            this.accessLockers.put(tenant, new Object());
+            StorageLogWriter previousWriteLogWriter = writeOperationLogWriters.put(tenant,
+                new StorageLogWriter("StorageLogWriter-" + WRITE_LOG_DIR + "-" + tenant,
+                    () -> createAppender(tenant, true)));
+            StorageLogWriter previousAccessLogWriter = accessOperationLogWriters.put(tenant,
+                new StorageLogWriter("StorageLogWriter-" + ACCESS_LOG_DIR + "-" + tenant,
+                    () -> createAppender(tenant, false)));
+            if (previousWriteLogWriter != null) {
+                previousWriteLogWriter.close();
+            }
+            if (previousAccessLogWriter != null) {
+                previousAccessLogWriter.close();
+            }
         }
     }
 
@@ -267,12 +264,8 @@ public class StorageLogService implements StorageLog {
     @Override
     public void close() {
         for (Integer tenant : this.tenants) {
-            synchronized (writeLockers.get(tenant)) {
-                writeOperationLogAppenders.get(tenant).close();
-            }
-            synchronized (accessLockers.get(tenant)) {
-                accessOperationLogAppenders.get(tenant).close();
-            }
+            writeOperationLogWriters.get(tenant).close();
+            accessOperationLogWriters.get(tenant).close();
         }
     }
 }
@@ -0,0 +1,309 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.storagelog;
+
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.VitamAutoCloseable;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous storage log writer.
+ *
+ * Log entries are pushed to a lock-free queue by any number of threads, and written to the current storage log file
+ * by a dedicated flusher thread, in groups : all entries queued meanwhile are written and synced to disk at once.
+ * Callers return as soon as their entry is queued. Write failures are logged by the flusher thread.
+ *
+ * The number of pending entries is bounded : once reached, callers are blocked until the flusher thread catches up
+ * (backpressure), so that entries are never dropped.
+ *
+ * Rotation & close requests go through the same queue, so that entries appended before a rotation are always written
+ * to the rotated log file.
+ */
+public class StorageLogWriter implements VitamAutoCloseable {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(StorageLogWriter.class);
+
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int DEFAULT_MAX_PENDING_ENTRIES = 100_000;
+    private static final int FLUSHER_CHECK_INTERVAL_IN_SECONDS = 1;
+
+    private final AppenderFactory appenderFactory;
+    private final ConcurrentLinkedQueue<PendingRequest> queue = new ConcurrentLinkedQueue<>();
+    private final Semaphore pendingEntryPermits;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final Thread flusherThread;
+
+    /**
+     * Current appender. Only accessed by flusher thread once started.
+     */
+    private StorageLogAppender appender;
+
+    /**
+     * @param name flusher thread name
+     * @param appenderFactory factory of storage log appenders, invoked on startup & after each log rotation
+     * @throws IOException if the initial appender could not be created
+     */
+    public StorageLogWriter(String name, AppenderFactory appenderFactory) throws IOException {
+        this(name, appenderFactory, DEFAULT_MAX_PENDING_ENTRIES);
+    }
+
+    /**
+     * @param name flusher thread name
+     * @param appenderFactory factory of storage log appenders, invoked on startup & after each log rotation
+     * @param maxPendingEntries max number of queued entries not written yet, before callers are blocked
+     * @throws IOException if the initial appender could not be created
+     */
+    public StorageLogWriter(String name, AppenderFactory appenderFactory, int maxPendingEntries)
+        throws IOException {
+        this.appenderFactory = appenderFactory;
+        this.pendingEntryPermits = new Semaphore(maxPendingEntries);
+        this.appender = appenderFactory.create();
+        this.flusherThread = VitamThreadFactory.getInstance().newThread(this::flushLoop);
+        this.flusherThread.setName(name);
+        this.flusherThread.setDaemon(true);
+        this.flusherThread.start();
+    }
+
+    /**
+     * Queues a serialized log entry, to be asynchronously written & synced to disk. Blocks while max pending entries
+     * is reached.
+     *
+     * @param line the log entry
+     * @throws IOException if the writer is closed, or if interrupted while waiting for queue capacity
+     */
+    public void append(String line) throws IOException {
+        try {
+            pendingEntryPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for storage log queue capacity", e);
+        }
+        try {
+            submit(new LogEntryRequest(line));
+        } catch (IOException e) {
+            pendingEntryPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes current log file, and opens a new one once all previously appended entries are written.
+     *
+     * @param previousLogFilesLister invoked after current log file is closed, before the new one is created
+     * @return the result of previousLogFilesLister
+     * @throws IOException on rotation failure
+     */
+    public List<LogInformation> rotate(Callable<List<LogInformation>> previousLogFilesLister) throws IOException {
+        CompletableFuture<List<LogInformation>> completion = new CompletableFuture<>();
+        submit(new RotateRequest(previousLogFilesLister, completion));
+        return await(completion);
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        queue.add(new CloseRequest(completion));
+        LockSupport.unpark(flusherThread);
+        try {
+            await(completion);
+        } catch (IOException e) {
+            LOGGER.warn("Could not close storage log writer " + flusherThread.getName(), e);
+        }
+    }
+
+    private void submit(PendingRequest request) throws IOException {
+        if (closed.get()) {
+            throw new IOException("Storage log writer " + flusherThread.getName() + " is closed");
+        }
+        queue.add(request);
+        LockSupport.unpark(flusherThread);
+    }
+
+    private <T> T await(CompletableFuture<T> completion) throws IOException {
+        try {
+            while (true) {
+                try {
+                    return completion.get(FLUSHER_CHECK_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
+                } catch (TimeoutException e) {
+                    if (!flusherThread.isAlive()) {
+                        // Request submitted concurrently with close. Will never be processed
+                        failPendingRequests();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for storage log write", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Could not write storage log", e.getCause());
+        }
+    }
+
+    private void flushLoop() {
+
+        List<LogEntryRequest> batch = new ArrayList<>();
+        while (true) {
+
+            PendingRequest request = queue.poll();
+
+            if (request == null) {
+                // Queue drained. Group flush & wait for next requests
+                writeBatch(batch);
+                LockSupport.park(this);
+
+            } else if (request instanceof LogEntryRequest) {
+                batch.add((LogEntryRequest) request);
+                if (batch.size() >= MAX_BATCH_SIZE) {
+                    writeBatch(batch);
+                }
+
+            } else if (request instanceof RotateRequest) {
+                writeBatch(batch);
+                rotate((RotateRequest) request);
+
+            } else {
+                writeBatch(batch);
+                appender.close();
+                failPendingRequests();
+                ((CloseRequest) request).completion.complete(null);
+                return;
+            }
+        }
+    }
+
+    private void writeBatch(List<LogEntryRequest> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> lines = new ArrayList<>(batch.size());
+            for (LogEntryRequest logEntryRequest : batch) {
+                lines.add(logEntryRequest.line);
+            }
+            appender.appendLines(lines);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Could not write " + batch.size() + " storage log entries of " + flusherThread.getName(), e);
+        } finally {
+            pendingEntryPermits.release(batch.size());
+        }
+        batch.clear();
+    }
+
+    private void rotate(RotateRequest rotateRequest) {
+        try {
+            appender.close();
+            List<LogInformation> previousLogFiles = rotateRequest.previousLogFilesLister.call();
+            appender = appenderFactory.create();
+            rotateRequest.completion.complete(previousLogFiles);
+        } catch (Exception e) {
+            rotateRequest.completion.completeExceptionally(e);
+        }
+    }
+
+    private void failPendingRequests() {
+        PendingRequest request;
+        while ((request = queue.poll()) != null) {
+            request.fail(new IOException("Storage log writer " + flusherThread.getName() + " is closed"));
+        }
+    }
+
+    /**
+     * Storage log appender factory
+     */
+    @FunctionalInterface
+    public interface AppenderFactory {
+        StorageLogAppender create() throws IOException;
+    }
+
+    private abstract static class PendingRequest {
+        abstract void fail(Exception e);
+    }
+
+    private class LogEntryRequest extends PendingRequest {
+        private final String line;
+
+        private LogEntryRequest(String line) {
+            this.line = line;
+        }
+
+        @Override
+        void fail(Exception e) {
+            // Entry appended concurrently with close
+            LOGGER.error("Storage log entry could not be written : " + line, e);
+            pendingEntryPermits.release();
+        }
+    }
+
+    private static class RotateRequest extends PendingRequest {
+        private final Callable<List<LogInformation>> previousLogFilesLister;
+        private final CompletableFuture<List<LogInformation>> completion;
+
+        private RotateRequest(Callable<List<LogInformation>> previousLogFilesLister,
+            CompletableFuture<List<LogInformation>> completion) {
+            this.previousLogFilesLister = previousLogFilesLister;
+            this.completion = completion;
+        }
+
+        @Override
+        void fail(Exception e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    private static class CloseRequest extends PendingRequest {
+        private final CompletableFuture<Void> completion;
+
+        private CloseRequest(CompletableFuture<Void> completion) {
+            this.completion = completion;
+        }
+
+        @Override
+        void fail(Exception e) {
+            completion.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.distribution.impl;
+
+import fr.gouv.vitam.common.stream.MultiplePipedInputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OfferTransfersTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testTransfersAreAwaitedInCompletionOrder() throws Exception {
+
+        // Given
+        MultiplePipedInputStream streams = new MultiplePipedInputStream(new ByteArrayInputStream(new byte[100]), 2);
+        CountDownLatch releaseSlowOffer = new CountDownLatch(1);
+
+        try (OfferTransfers instance = new OfferTransfers("strategy", streams, new TimeoutStopwatch(10_000L))) {
+
+            // When
+            instance.submit(executor, "slowOffer", 0, () -> {
+                releaseSlowOffer.await();
+                IOUtils.toByteArray(streams.getInputStream(0));
+                return new ThreadResponseData(Response.Status.CREATED, "obj");
+            });
+            instance.submit(executor, "fastOffer", 1, () -> {
+                IOUtils.toByteArray(streams.getInputStream(1));
+                return new ThreadResponseData(Response.Status.CREATED, "obj");
+            });
+
+            // Then
+            assertThat(instance.awaitNextCompletion()).isEqualTo("fastOffer");
+            assertThat(instance.getFuture("fastOffer").get().getStatus()).isEqualTo(Response.Status.CREATED);
+            assertThat(instance.isSourceFullyRead()).isTrue();
+            assertThat(instance.getPendingOfferIds()).containsExactly("slowOffer");
+            assertThat(streams.getLag(0)).isEqualTo(100L);
+            assertThat(streams.getLag(1)).isEqualTo(0L);
+
+            releaseSlowOffer.countDown();
+            assertThat(instance.awaitNextCompletion()).isEqualTo("slowOffer");
+            assertThat(instance.hasPendingTransfers()).isFalse();
+            assertThat(streams.getLag(0)).isEqualTo(0L);
+        }
+    }
+
+    @Test
+    public void testTimeoutCancelsPendingTransfers() throws Exception {
+
+        // Given
+        MultiplePipedInputStream streams = new MultiplePipedInputStream(new ByteArrayInputStream(new byte[100]), 1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (OfferTransfers instance = new OfferTransfers("strategy", streams, new TimeoutStopwatch(100L))) {
+
+            instance.submit(executor, "blockedOffer", 0, () -> {
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return null;
+            });
+
+            // When
+            String offerId = instance.awaitNextCompletion();
+
+            // Then
+            assertThat(offerId).isNull();
+            assertThat(instance.cancelPendingTransfers()).containsExactly("blockedOffer");
+            assertThat(instance.hasPendingTransfers()).isFalse();
+            assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
@@ -536,7 +536,7 @@ public class StorageDistributionImplTest {
         VitamThreadUtils.getVitamSession().setTenantId(tenantId);
 
         doReturn(digests).when(bulkStorageDistribution).bulkCreateFromWorkspaceWithRetries(anyString(),
-            anyInt(), anyList(), anyMap(), anyMap(), any(), anyString(), anyList(), anyList(), anyString());
+            anyInt(), anyList(), anyMap(), anyMap(), any(), anyString(), anyList(), anyList(), any(), anyString());
 
         BulkObjectStoreRequest bulkObjectStoreRequest = new BulkObjectStoreRequest(
             workspaceContainer, workspaceObjectURIs, DataCategory.UNIT, objectNames
@@ -557,7 +557,7 @@ public class StorageDistributionImplTest {
 
         verify(bulkStorageDistribution).bulkCreateFromWorkspaceWithRetries(anyString(),
             eq(tenantId), eq(offers), storageDriverCaptor.capture(), storageOfferCaptor.capture(),
-            eq(DataCategory.UNIT), eq(workspaceContainer), eq(workspaceObjectURIs), eq(objectNames), eq(requester)
+            eq(DataCategory.UNIT), eq(workspaceContainer), eq(workspaceObjectURIs), eq(objectNames), any(), eq(requester)
         );
 
         assertThat(storageOfferCaptor.getValue().keySet()).containsExactlyInAnyOrderElementsOf(offers);
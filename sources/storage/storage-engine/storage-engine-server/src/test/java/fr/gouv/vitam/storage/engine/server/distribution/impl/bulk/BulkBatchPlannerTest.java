@@ -0,0 +1,108 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.distribution.impl.bulk;
+
+import fr.gouv.vitam.storage.engine.server.distribution.impl.bulk.BulkBatchPlanner.BulkBatch;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkBatchPlannerTest {
+
+    private static final List<String> OFFER_IDS = Arrays.asList("offer1", "offer2");
+
+    @Test
+    public void givenUnknownSizesThenSplitByObjectCount() {
+
+        // Given
+        BulkBatchPlanner instance = new BulkBatchPlanner(2, 10L, 100L, 60);
+
+        // When
+        List<BulkBatch> batches = instance.planBatches(OFFER_IDS, 5, null);
+
+        // Then
+        assertThat(batches).extracting(BulkBatch::getFromIndex).containsExactly(0, 2, 4);
+        assertThat(batches).extracting(BulkBatch::getToIndex).containsExactly(2, 4, 5);
+    }
+
+    @Test
+    public void givenObjectSizesThenSplitByCumulativeSize() {
+
+        // Given
+        BulkBatchPlanner instance = new BulkBatchPlanner(1000, 10L, 100L, 60);
+
+        // When : big object alone, small objects merged together
+        List<BulkBatch> batches =
+            instance.planBatches(OFFER_IDS, 6, Arrays.asList(30L, 30L, 50L, 500L, 10L, null));
+
+        // Then
+        assertThat(batches).extracting(BulkBatch::getFromIndex).containsExactly(0, 2, 3, 4);
+        assertThat(batches).extracting(BulkBatch::getToIndex).containsExactly(2, 3, 4, 6);
+        assertThat(batches).extracting(BulkBatch::getSizeInBytes).containsExactly(60L, 50L, 500L, 10L);
+    }
+
+    @Test
+    public void givenEmptyRequestThenNoBatch() {
+
+        // Given
+        BulkBatchPlanner instance = new BulkBatchPlanner(1000, 10L, 100L, 60);
+
+        // When / Then
+        assertThat(instance.planBatches(OFFER_IDS, 0, Collections.emptyList())).isEmpty();
+    }
+
+    @Test
+    public void givenObservedThroughputThenTargetBatchSizeAdjusted() {
+
+        // Given
+        BulkBatchPlanner instance = new BulkBatchPlanner(1000, 100L, 10_000L, 10);
+        assertThat(instance.getTargetBatchSizeInBytes(OFFER_IDS)).isEqualTo(10_000L);
+
+        // When : offer1 @ 50 bytes/s, offer2 @ 20 bytes/s
+        instance.reportTransfer("offer1", 50L, TimeUnit.SECONDS.toNanos(1));
+        instance.reportTransfer("offer2", 40L, TimeUnit.SECONDS.toNanos(2));
+
+        // Then : slowest offer drives the target (20 bytes/s * 10s)
+        assertThat(instance.getTargetBatchSizeInBytes(OFFER_IDS)).isEqualTo(200L);
+        assertThat(instance.getTargetBatchSizeInBytes(Collections.singletonList("offer1"))).isEqualTo(500L);
+
+        // When : throughput drops
+        instance.reportTransfer("offer2", 1L, TimeUnit.SECONDS.toNanos(1));
+
+        // Then : min batch size bound
+        assertThat(instance.getTargetBatchSizeInBytes(OFFER_IDS)).isEqualTo(143L);
+        instance.reportTransfer("offer2", 1L, TimeUnit.SECONDS.toNanos(10));
+        instance.reportTransfer("offer2", 1L, TimeUnit.SECONDS.toNanos(10));
+        instance.reportTransfer("offer2", 1L, TimeUnit.SECONDS.toNanos(10));
+        assertThat(instance.getTargetBatchSizeInBytes(OFFER_IDS)).isEqualTo(100L);
+    }
+}
@@ -208,6 +208,7 @@ public class BulkPutTransferManagerTest {
             "offer1", OfferBulkPutStatus.OK,
             "offer2", OfferBulkPutStatus.OK
         ));
+        assertThat(bulkPutResult.getTransferDurationInNanosByOfferIds()).containsOnlyKeys("offer1", "offer2");
 
         verify(transfertTimeoutHelper).getBulkTransferTimeout(106L, 3);
     }
@@ -58,7 +58,10 @@ import java.util.Map;
 import static java.util.stream.Collectors.toMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -269,6 +272,97 @@ public class BulkStorageDistributionTest {
             "offer1 attempt 1 : OK, offer2 attempt 1 : BLOCKER", "KO");
     }
 
+    @Test
+    public void bulkCreateFromWorkspaceWithRetriesSplitBySize() throws Exception {
+
+        // Given
+        instance = new BulkStorageDistribution(3, storageLogService, DIGEST_TYPE, bulkPutTransferManager, 0, 30,
+            new BulkBatchPlanner(1000, 1L, 4L, 60), 2, VitamThreadPoolExecutor.getDefaultExecutor());
+
+        String workspaceContainer = "workspaceContainer";
+        List<String> workspaceUris = Arrays.asList("uri1", "uri2", "uri3");
+        List<String> objectNames = Arrays.asList("obj1", "obj2", "obj3");
+        List<Long> objectSizes = Arrays.asList(3L, 2L, 2L);
+        List<String> offerIds = Arrays.asList("offer1", "offer2");
+
+        List<ObjectInfo> objectInfos1 = Collections.singletonList(new ObjectInfo("obj1", "digest1", 3L));
+        List<ObjectInfo> objectInfos2 = Arrays.asList(
+            new ObjectInfo("obj2", "digest2", 2L),
+            new ObjectInfo("obj3", "digest3", 2L)
+        );
+
+        ImmutableMap<String, OfferBulkPutStatus> statusByOfferIds = ImmutableMap.of(
+            "offer1", OfferBulkPutStatus.OK,
+            "offer2", OfferBulkPutStatus.OK
+        );
+
+        when(bulkPutTransferManager.bulkSendDataToOffers(workspaceContainer, STRATEGY, ATTEMPT, TENANT_ID,
+            DATA_CATEGORY, offerIds, driverMap, storageOfferMap, workspaceUris.subList(0, 1),
+            objectNames.subList(0, 1))
+        ).thenReturn(new BulkPutResult(objectInfos1, statusByOfferIds));
+        when(bulkPutTransferManager.bulkSendDataToOffers(workspaceContainer, STRATEGY, ATTEMPT, TENANT_ID,
+            DATA_CATEGORY, offerIds, driverMap, storageOfferMap, workspaceUris.subList(1, 3),
+            objectNames.subList(1, 3))
+        ).thenReturn(new BulkPutResult(objectInfos2, statusByOfferIds));
+
+        // When
+        Map<String, String> digests = instance.bulkCreateFromWorkspaceWithRetries(STRATEGY,
+            TENANT_ID, offerIds, driverMap, storageOfferMap, DATA_CATEGORY, workspaceContainer, workspaceUris,
+            objectNames, objectSizes, REQUESTER
+        );
+
+        // Then
+        assertThat(digests).isEqualTo(ImmutableMap.of("obj1", "digest1", "obj2", "digest2", "obj3", "digest3"));
+        verify(bulkPutTransferManager, times(2)).bulkSendDataToOffers(eq(workspaceContainer), eq(STRATEGY),
+            eq(ATTEMPT), eq(TENANT_ID), eq(DATA_CATEGORY), any(), eq(driverMap), eq(storageOfferMap), any(), any());
+        verify(storageLogService, times(3)).appendWriteLog(eq(TENANT_ID), any());
+    }
+
+    @Test
+    public void bulkCreateFromWorkspaceWithRetriesReportsThroughputPerOffer() throws Exception {
+
+        // Given
+        BulkBatchPlanner batchPlanner = mock(BulkBatchPlanner.class);
+        instance = new BulkStorageDistribution(3, storageLogService, DIGEST_TYPE, bulkPutTransferManager, 0, 30,
+            batchPlanner, 2, VitamThreadPoolExecutor.getDefaultExecutor());
+
+        String workspaceContainer = "workspaceContainer";
+        List<String> workspaceUris = Arrays.asList("uri1", "uri2", "uri3");
+        List<String> objectNames = Arrays.asList("obj1", "obj2", "obj3");
+        List<String> offerIds = Arrays.asList("offer1", "offer2", "offer3");
+
+        List<ObjectInfo> objectInfos = Arrays.asList(
+            new ObjectInfo("obj1", "digest1", 1L),
+            new ObjectInfo("obj2", "digest2", 2L),
+            new ObjectInfo("obj3", "digest3", 3L)
+        );
+
+        ImmutableMap<String, OfferBulkPutStatus> statusByOfferIds = ImmutableMap.of(
+            "offer1", OfferBulkPutStatus.OK,
+            "offer2", OfferBulkPutStatus.OK,
+            "offer3", OfferBulkPutStatus.BLOCKER
+        );
+        ImmutableMap<String, Long> transferDurations = ImmutableMap.of(
+            "offer1", 10L,
+            "offer2", 30L
+        );
+
+        when(bulkPutTransferManager.bulkSendDataToOffers(workspaceContainer, STRATEGY, ATTEMPT, TENANT_ID,
+            DATA_CATEGORY, offerIds, driverMap, storageOfferMap, workspaceUris, objectNames)
+        ).thenReturn(new BulkPutResult(objectInfos, statusByOfferIds, transferDurations));
+
+        // When
+        assertThatThrownBy(() -> instance.bulkCreateFromWorkspaceWithRetries(STRATEGY,
+            TENANT_ID, offerIds, driverMap, storageOfferMap, DATA_CATEGORY, workspaceContainer, workspaceUris,
+            objectNames, REQUESTER
+        )).isInstanceOf(StorageException.class);
+
+        // Then
+        verify(batchPlanner).reportTransfer("offer1", 6L, 10L);
+        verify(batchPlanner).reportTransfer("offer2", 6L, 30L);
+        verify(batchPlanner, times(2)).reportTransfer(any(), anyLong(), anyLong());
+    }
+
     private void checkResult(List<ObjectInfo> objectInfos, Map<String, String> digests, String logEvents,
         String outcome)
         throws IOException {
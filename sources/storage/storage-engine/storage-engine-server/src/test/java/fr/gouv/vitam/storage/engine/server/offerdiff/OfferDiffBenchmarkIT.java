@@ -0,0 +1,216 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.offerdiff;
+
+import com.google.common.collect.ImmutableMap;
+import fr.gouv.vitam.common.LocalDateUtil;
+import fr.gouv.vitam.common.collection.CloseableIterator;
+import fr.gouv.vitam.common.guid.GUIDFactory;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.RequestResponseOK;
+import fr.gouv.vitam.common.model.StatusCode;
+import fr.gouv.vitam.common.model.storage.ObjectEntry;
+import fr.gouv.vitam.common.thread.RunWithCustomExecutor;
+import fr.gouv.vitam.common.thread.RunWithCustomExecutorRule;
+import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
+import fr.gouv.vitam.common.thread.VitamThreadUtils;
+import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResultEntry;
+import fr.gouv.vitam.storage.engine.common.model.DataCategory;
+import fr.gouv.vitam.storage.engine.common.model.OfferLog;
+import fr.gouv.vitam.storage.engine.common.model.OfferLogAction;
+import fr.gouv.vitam.storage.engine.common.model.Order;
+import fr.gouv.vitam.storage.engine.common.referential.model.OfferReference;
+import fr.gouv.vitam.storage.engine.common.referential.model.StorageStrategy;
+import fr.gouv.vitam.storage.engine.server.distribution.StorageDistribution;
+import fr.gouv.vitam.storage.engine.server.offerdiff.index.OfferObjectIndex;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static fr.gouv.vitam.common.junit.BenchmarkHelper.measureNanos;
+import static fr.gouv.vitam.common.junit.BenchmarkHelper.toMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Offer diff benchmark on synthetic offer listings : full listing & sort vs incremental (index based) diff.
+ *
+ * How to run :
+ * - Remove @Ignore annotation locally
+ * - Optionally set entry count (default 50M) & offer log delta size (default 100k) using
+ * -DofferDiffBenchmark.entries=... -DofferDiffBenchmark.delta=...
+ * - Ensure enough temp disk space (about 10 GB for 50M entries)
+ *
+ * Offer bulk metadata requests (object sizes & digests) are mocked, so offer side I/O is not measured.
+ * Figures at the default 50M entries have not been measured yet : results are only available for 1M entries.
+ */
+@Ignore("Needs about 10 GB of temp disk space at default size. To be run manually")
+@RunWithCustomExecutor
+public class OfferDiffBenchmarkIT {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(OfferDiffBenchmarkIT.class);
+
+    private static final String STRATEGY = "default";
+    private static final String OFFER1 = "offer1";
+    private static final String OFFER2 = "offer2";
+    private static final DataCategory DATA_CATEGORY = DataCategory.OBJECT;
+    private static final int TENANT_ID = 0;
+    private static final long SEED = 42L;
+
+    @ClassRule
+    public static RunWithCustomExecutorRule runInThread =
+        new RunWithCustomExecutorRule(VitamThreadPoolExecutor.getDefaultExecutor());
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final int nbEntries = Integer.getInteger("offerDiffBenchmark.entries", 50_000_000);
+    private final int deltaSize = Integer.getInteger("offerDiffBenchmark.delta", 100_000);
+
+    private StorageDistribution distribution;
+
+    @Before
+    public void setup() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        VitamThreadUtils.getVitamSession().setRequestId(GUIDFactory.newRequestIdGUID(TENANT_ID));
+
+        distribution = mock(StorageDistribution.class);
+        StorageStrategy storageStrategy = new StorageStrategy();
+        storageStrategy.setId(STRATEGY);
+        storageStrategy.setOffers(Arrays.asList(new OfferReference(OFFER1), new OfferReference(OFFER2)));
+        doReturn(ImmutableMap.of(STRATEGY, storageStrategy)).when(distribution).getStrategies();
+
+        doAnswer(args -> syntheticListing(nbEntries))
+            .when(distribution).listContainerObjectsForOffer(eq(DATA_CATEGORY), anyString(), anyBoolean());
+        doReturn(new RequestResponseOK<OfferLog>())
+            .when(distribution).getOfferLogsByOfferId(eq(STRATEGY), anyString(), eq(DATA_CATEGORY), isNull(),
+                anyInt(), eq(Order.DESC));
+        doAnswer(args -> {
+            List<String> objectIds = args.getArgument(2);
+            return objectIds.stream()
+                .map(objectId -> new StorageBulkMetadataResultEntry(objectId, "digest-" + objectId,
+                    (long) Math.abs(objectId.hashCode() % 10_000_000)))
+                .collect(Collectors.toList());
+        }).when(distribution).getBatchObjectMetadataForOffer(eq(DATA_CATEGORY), anyString(), anyList(), anyBoolean());
+    }
+
+    @Test
+    public void benchmarkOfferDiff() throws Exception {
+
+        // Full diff : list, external sort & compare
+        OfferDiffProcess fullDiffProcess = new OfferDiffProcess(distribution, OFFER1, OFFER2, DATA_CATEGORY);
+        long fullDiffDuration = toMillis(measureNanos(fullDiffProcess::run));
+        assertThat(fullDiffProcess.getOfferDiffStatus().getStatusCode()).isEqualTo(StatusCode.OK);
+
+        // Incremental diff : initial index build
+        OfferObjectIndex offerObjectIndex = new OfferObjectIndex(distribution, temporaryFolder.newFolder());
+        OfferDiffProcess indexBuildProcess =
+            new OfferDiffProcess(distribution, offerObjectIndex, OFFER1, OFFER2, DATA_CATEGORY);
+        long indexBuildDuration = toMillis(measureNanos(indexBuildProcess::run));
+        assertThat(indexBuildProcess.getOfferDiffStatus().getStatusCode()).isEqualTo(StatusCode.OK);
+
+        // Incremental diff : apply offer log delta (deletions) & linear merge of indexes
+        givenOfferLogDelta();
+        OfferDiffProcess incrementalProcess =
+            new OfferDiffProcess(distribution, offerObjectIndex, OFFER1, OFFER2, DATA_CATEGORY);
+        long incrementalDuration = toMillis(measureNanos(incrementalProcess::run));
+        assertThat(incrementalProcess.getOfferDiffStatus().getStatusCode()).isEqualTo(StatusCode.OK);
+        assertThat(incrementalProcess.getOfferDiffStatus().getTotalObjectCount())
+            .isEqualTo(nbEntries - deltaSize);
+
+        LOGGER.info(String.format("Offer diff benchmark (%d entries, %d offer log delta):%n" +
+                " - full diff (listing + sort + compare) : %d ms%n" +
+                " - incremental diff, initial index build : %d ms%n" +
+                " - incremental diff, index update + compare : %d ms",
+            nbEntries, deltaSize, fullDiffDuration, indexBuildDuration, incrementalDuration));
+    }
+
+    private void givenOfferLogDelta() throws Exception {
+        List<OfferLog> offerLogs = new ArrayList<>();
+        CloseableIterator<ObjectEntry> listing = syntheticListing(deltaSize);
+        long sequence = 1L;
+        while (listing.hasNext()) {
+            offerLogs.add(new OfferLog(sequence++, LocalDateUtil.now(), TENANT_ID + "_" + DATA_CATEGORY.getFolder(),
+                listing.next().getObjectId(), OfferLogAction.DELETE));
+        }
+        doAnswer(args -> {
+            long offset = args.getArgument(3);
+            int limit = args.getArgument(4);
+            int fromIndex = (int) Math.min(offerLogs.size(), offset - 1);
+            int toIndex = Math.min(offerLogs.size(), fromIndex + limit);
+            return new RequestResponseOK<OfferLog>().addAllResults(offerLogs.subList(fromIndex, toIndex));
+        }).when(distribution).getOfferLogsByOfferId(eq(STRATEGY), anyString(), eq(DATA_CATEGORY), anyLong(),
+            anyInt(), eq(Order.ASC));
+    }
+
+    /**
+     * Synthetic listing, in hashed (unsorted) order. Same seed, same listing.
+     */
+    private static CloseableIterator<ObjectEntry> syntheticListing(int nbEntries) {
+        Random random = new Random(SEED);
+        return new CloseableIterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < nbEntries;
+            }
+
+            @Override
+            public ObjectEntry next() {
+                index++;
+                String objectId = new UUID(random.nextLong(), random.nextLong()) + ".pdf";
+                return new ObjectEntry(objectId, random.nextInt(10_000_000));
+            }
+
+            @Override
+            public void close() {
+                // NOP
+            }
+        };
+    }
+}
@@ -30,6 +30,7 @@ import com.google.common.collect.ImmutableMap;
 import fr.gouv.vitam.common.collection.CloseableIterator;
 import fr.gouv.vitam.common.collection.CloseableIteratorUtils;
 import fr.gouv.vitam.common.guid.GUIDFactory;
+import fr.gouv.vitam.common.model.RequestResponseOK;
 import fr.gouv.vitam.common.model.StatusCode;
 import fr.gouv.vitam.common.model.storage.ObjectEntry;
 import fr.gouv.vitam.common.thread.RunWithCustomExecutor;
@@ -37,11 +38,15 @@ import fr.gouv.vitam.common.thread.RunWithCustomExecutorRule;
 import fr.gouv.vitam.common.thread.VitamThreadFactory;
 import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.common.thread.VitamThreadUtils;
+import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResultEntry;
 import fr.gouv.vitam.storage.engine.common.exception.StorageException;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
+import fr.gouv.vitam.storage.engine.common.model.OfferLog;
+import fr.gouv.vitam.storage.engine.common.model.Order;
 import fr.gouv.vitam.storage.engine.common.referential.model.OfferReference;
 import fr.gouv.vitam.storage.engine.common.referential.model.StorageStrategy;
 import fr.gouv.vitam.storage.engine.server.distribution.StorageDistribution;
+import fr.gouv.vitam.storage.engine.server.offerdiff.index.OfferObjectIndex;
 import org.apache.commons.collections4.IteratorUtils;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -49,17 +54,27 @@ import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 
 @RunWithCustomExecutor
@@ -77,6 +92,9 @@ public class OfferDiffProcessTest {
     @Rule
     public MockitoRule mockitoRule = MockitoJUnit.rule();
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Mock
     private StorageDistribution distribution;
 
@@ -308,4 +326,69 @@ public class OfferDiffProcessTest {
         assertThat(instance.getOfferDiffStatus().getRequestId()).isEqualTo(
             VitamThreadUtils.getVitamSession().getRequestId());
     }
+
+    @Test
+    @RunWithCustomExecutor
+    public void synchronizeOffersWithErrorsUsingIncrementalIndexes() throws Exception {
+
+        // Given
+        CloseableIterator<ObjectEntry> entries1 = CloseableIteratorUtils.toCloseableIterator(Arrays.asList(
+            new ObjectEntry().setObjectId("obj2").setSize(2L),
+            new ObjectEntry().setObjectId("obj1").setSize(1L),
+            new ObjectEntry().setObjectId("obj4").setSize(4L)
+        ).iterator());
+        doReturn(entries1).when(distribution).listContainerObjectsForOffer(DATA_CATEGORY, OFFER1, true);
+
+        CloseableIterator<ObjectEntry> entries2 = CloseableIteratorUtils.toCloseableIterator(Arrays.asList(
+            new ObjectEntry().setObjectId("obj4").setSize(40L),
+            new ObjectEntry().setObjectId("obj3").setSize(3L),
+            new ObjectEntry().setObjectId("obj1").setSize(1L)
+        ).iterator());
+        doReturn(entries2).when(distribution).listContainerObjectsForOffer(DATA_CATEGORY, OFFER2, true);
+
+        doReturn(new RequestResponseOK<OfferLog>())
+            .when(distribution).getOfferLogsByOfferId(any(), anyString(), eq(DATA_CATEGORY), isNull(), eq(1),
+                eq(Order.DESC));
+
+        givenOfferObjectMetadata(OFFER1, ImmutableMap.of(
+            "obj1", new StorageBulkMetadataResultEntry("obj1", "digest1", 1L),
+            "obj2", new StorageBulkMetadataResultEntry("obj2", "digest2", 2L),
+            "obj4", new StorageBulkMetadataResultEntry("obj4", "digest4", 4L)));
+        givenOfferObjectMetadata(OFFER2, ImmutableMap.of(
+            "obj1", new StorageBulkMetadataResultEntry("obj1", "corruptedDigest1", 1L),
+            "obj3", new StorageBulkMetadataResultEntry("obj3", "digest3", 3L),
+            "obj4", new StorageBulkMetadataResultEntry("obj4", "digest40", 40L)));
+
+        OfferObjectIndex offerObjectIndex = new OfferObjectIndex(distribution, temporaryFolder.newFolder());
+        OfferDiffProcess instance =
+            new OfferDiffProcess(distribution, offerObjectIndex, OFFER1, OFFER2, DATA_CATEGORY);
+
+        // When
+        instance.run();
+
+        // Then
+        assertThat(instance.isRunning()).isFalse();
+        assertThat(instance.getOfferDiffStatus().getTotalObjectCount()).isEqualTo(4L);
+        assertThat(instance.getOfferDiffStatus().getErrorCount()).isEqualTo(4L);
+        assertThat(instance.getOfferDiffStatus().getStatusCode()).isEqualTo(StatusCode.WARNING);
+        assertThat(new File(instance.getOfferDiffStatus().getReportFileName())).hasContent("" +
+            "{\"objectId\":\"obj1\",\"sizeInOffer1\":1,\"sizeInOffer2\":1," +
+            "\"digestInOffer1\":\"digest1\",\"digestInOffer2\":\"corruptedDigest1\"}\n" +
+            "{\"objectId\":\"obj2\",\"sizeInOffer1\":2,\"sizeInOffer2\":null}\n" +
+            "{\"objectId\":\"obj3\",\"sizeInOffer1\":null,\"sizeInOffer2\":3}\n" +
+            "{\"objectId\":\"obj4\",\"sizeInOffer1\":4,\"sizeInOffer2\":40," +
+            "\"digestInOffer1\":\"digest4\",\"digestInOffer2\":\"digest40\"}"
+        );
+    }
+
+    private void givenOfferObjectMetadata(String offerId, Map<String, StorageBulkMetadataResultEntry> objects)
+        throws StorageException {
+        doAnswer(args -> {
+            List<String> objectIds = args.getArgument(2);
+            return objectIds.stream()
+                .map(objectId -> objects.getOrDefault(objectId,
+                    new StorageBulkMetadataResultEntry(objectId, null, null)))
+                .collect(Collectors.toList());
+        }).when(distribution).getBatchObjectMetadataForOffer(eq(DATA_CATEGORY), eq(offerId), anyList(), eq(true));
+    }
 }
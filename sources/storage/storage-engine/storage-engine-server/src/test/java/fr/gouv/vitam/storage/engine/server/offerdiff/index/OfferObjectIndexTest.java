@@ -0,0 +1,304 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.offerdiff.index;
+
+import fr.gouv.vitam.common.LocalDateUtil;
+import fr.gouv.vitam.common.collection.CloseableIteratorUtils;
+import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.model.RequestResponseOK;
+import fr.gouv.vitam.common.model.storage.ObjectEntry;
+import fr.gouv.vitam.common.model.storage.ObjectEntryReader;
+import fr.gouv.vitam.common.thread.RunWithCustomExecutor;
+import fr.gouv.vitam.common.thread.RunWithCustomExecutorRule;
+import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
+import fr.gouv.vitam.common.thread.VitamThreadUtils;
+import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResultEntry;
+import fr.gouv.vitam.storage.engine.common.model.DataCategory;
+import fr.gouv.vitam.storage.engine.common.model.OfferLog;
+import fr.gouv.vitam.storage.engine.common.model.OfferLogAction;
+import fr.gouv.vitam.storage.engine.common.model.Order;
+import fr.gouv.vitam.storage.engine.server.distribution.StorageDistribution;
+import org.apache.commons.collections4.IteratorUtils;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWithCustomExecutor
+public class OfferObjectIndexTest {
+
+    private static final String STRATEGY = "default";
+    private static final String OFFER = "offer1";
+    private static final DataCategory DATA_CATEGORY = DataCategory.OBJECT;
+    private static final int TENANT_ID = 2;
+
+    @ClassRule
+    public static RunWithCustomExecutorRule runInThread =
+        new RunWithCustomExecutorRule(VitamThreadPoolExecutor.getDefaultExecutor());
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private StorageDistribution distribution;
+
+    private File indexRootDirectory;
+    private File tempDir;
+    private final Map<String, StorageBulkMetadataResultEntry> offerObjects = new HashMap<>();
+
+    @Before
+    public void setup() throws Exception {
+        VitamThreadUtils.getVitamSession().setTenantId(TENANT_ID);
+        indexRootDirectory = temporaryFolder.newFolder();
+        tempDir = temporaryFolder.newFolder();
+
+        doReturn(new RequestResponseOK<OfferLog>().addResult(offerLog(10L, "obj1", OfferLogAction.WRITE)))
+            .when(distribution).getOfferLogsByOfferId(STRATEGY, OFFER, DATA_CATEGORY, null, 1, Order.DESC);
+
+        doAnswer(args -> CloseableIteratorUtils.toCloseableIterator(Arrays.asList(
+            new ObjectEntry("objB", 20L),
+            new ObjectEntry("objC", 30L),
+            new ObjectEntry("objA", 10L)
+        ).iterator())).when(distribution).listContainerObjectsForOffer(DATA_CATEGORY, OFFER, true);
+
+        givenObjectMetadata("objA", 10L, "digestA");
+        givenObjectMetadata("objB", 20L, "digestB");
+        givenObjectMetadata("objC", 30L, "digestC");
+
+        doAnswer(args -> {
+            List<String> objectIds = args.getArgument(2);
+            return objectIds.stream()
+                .map(objectId -> offerObjects.getOrDefault(objectId,
+                    new StorageBulkMetadataResultEntry(objectId, null, null)))
+                .collect(Collectors.toList());
+        }).when(distribution).getBatchObjectMetadataForOffer(eq(DATA_CATEGORY), eq(OFFER), anyList(), eq(true));
+    }
+
+    @Test
+    public void givenNoIndexThenFullIndexBuilt() throws Exception {
+
+        // Given
+        OfferObjectIndex instance = new OfferObjectIndex(distribution, indexRootDirectory, 2, 100, 2);
+
+        // When
+        File indexFile = instance.updateIndex(STRATEGY, OFFER, DATA_CATEGORY, tempDir);
+
+        // Then
+        assertThat(readIndex(indexFile))
+            .extracting(ObjectEntry::getObjectId, ObjectEntry::getSize, ObjectEntry::getDigest)
+            .containsExactly(
+                tuple("objA", 10L, "digestA"),
+                tuple("objB", 20L, "digestB"),
+                tuple("objC", 30L, "digestC"));
+        OfferObjectIndexState state = readState(instance);
+        assertThat(state.getLastSequence()).isEqualTo(10L);
+        assertThat(state.getEntryCount()).isEqualTo(3L);
+        assertThat(tempDir.listFiles()).isEmpty();
+        // Metadata retrieved by batches of 2 objects
+        verify(distribution).getBatchObjectMetadataForOffer(DATA_CATEGORY, OFFER, Arrays.asList("objA", "objB"), true);
+        verify(distribution).getBatchObjectMetadataForOffer(DATA_CATEGORY, OFFER, Collections.singletonList("objC"),
+            true);
+    }
+
+    @Test
+    public void givenObjectDeletedAfterListingWhenBuildingIndexThenObjectSkipped() throws Exception {
+
+        // Given
+        offerObjects.remove("objB");
+        OfferObjectIndex instance = new OfferObjectIndex(distribution, indexRootDirectory, 2, 100, 2);
+
+        // When
+        File indexFile = instance.updateIndex(STRATEGY, OFFER, DATA_CATEGORY, tempDir);
+
+        // Then
+        assertThat(readIndex(indexFile)).extracting(ObjectEntry::getObjectId)
+            .containsExactly("objA", "objC");
+        assertThat(readState(instance).getEntryCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void givenExistingIndexThenOfferLogsApplied() throws Exception {
+
+        // Given
+        OfferObjectIndex instance = new OfferObjectIndex(distribution, indexRootDirectory, 2, 100, 2);
+        instance.updateIndex(STRATEGY, OFFER, DATA_CATEGORY, tempDir);
+
+        doReturn(new RequestResponseOK<OfferLog>().addAllResults(Arrays.asList(
+            offerLog(11L, "objD", OfferLogAction.WRITE),
+            offerLog(12L, "objA", OfferLogAction.DELETE))))
+            .when(distribution).getOfferLogsByOfferId(STRATEGY, OFFER, DATA_CATEGORY, 11L, 2, Order.ASC);
+        doReturn(new RequestResponseOK<OfferLog>().addAllResults(Arrays.asList(
+            offerLog(13L, "objB", OfferLogAction.WRITE),
+            offerLog(14L, "obj0", OfferLogAction.WRITE))))
+            .when(distribution).getOfferLogsByOfferId(STRATEGY, OFFER, DATA_CATEGORY, 13L, 2, Order.ASC);
+        doReturn(new RequestResponseOK<OfferLog>().addAllResults(Collections.singletonList(
+            offerLog(15L, "objE", OfferLogAction.WRITE))))
+            .when(distribution).getOfferLogsByOfferId(STRATEGY, OFFER, DATA_CATEGORY, 15L, 2, Order.ASC);
+
+        givenObjectMetadata("objD", 40L, "digestD");
+        givenObjectMetadata("objB", 25L, "digestB2");
+        givenObjectMetadata("obj0", 5L, "digest0");
+        // objE written then deleted (not found in offer)
+
+        // When
+        File indexFile = instance.updateIndex(STRATEGY, OFFER, DATA_CATEGORY, tempDir);
+
+        // Then
+        assertThat(readIndex(indexFile))
+            .extracting(ObjectEntry::getObjectId, ObjectEntry::getSize, ObjectEntry::getDigest)
+            .containsExactly(
+                tuple("obj0", 5L, "digest0"),
+                tuple("objB", 25L, "digestB2"),
+                tuple("objC", 30L, "digestC"),
+                tuple("objD", 40L, "digestD"));
+        OfferObjectIndexState state = readState(instance);
+        assertThat(state.getLastSequence()).isEqualTo(15L);
+        assertThat(state.getEntryCount()).isEqualTo(4L);
+        verify(distribution, times(1)).listContainerObjectsForOffer(DATA_CATEGORY, OFFER, true);
+        // Changes (obj0, objA, objB, objD, objE) : written object metadata retrieved by batches
+        verify(distribution).getBatchObjectMetadataForOffer(DATA_CATEGORY, OFFER, Collections.singletonList("obj0"),
+            true);
+        verify(distribution).getBatchObjectMetadataForOffer(DATA_CATEGORY, OFFER, Arrays.asList("objB", "objD"), true);
+        verify(distribution).getBatchObjectMetadataForOffer(DATA_CATEGORY, OFFER, Collections.singletonList("objE"),
+            true);
+    }
+
+    @Test
+    public void givenUpToDateIndexThenNoChange() throws Exception {
+
+        // Given
+        OfferObjectIndex instance = new OfferObjectIndex(distribution, indexRootDirectory, 2, 100, 2);
+        instance.updateIndex(STRATEGY, OFFER, DATA_CATEGORY, tempDir);
+        doReturn(new RequestResponseOK<OfferLog>())
+            .when(distribution).getOfferLogsByOfferId(STRATEGY, OFFER, DATA_CATEGORY, 11L, 2, Order.ASC);
+
+        // When
+        File indexFile = instance.updateIndex(STRATEGY, OFFER, DATA_CATEGORY, tempDir);
+
+        // Then
+        assertThat(readIndex(indexFile)).extracting(ObjectEntry::getObjectId)
+            .containsExactly("objA", "objB", "objC");
+        assertThat(readState(instance).getLastSequence()).isEqualTo(10L);
+        verify(distribution, times(1)).listContainerObjectsForOffer(DATA_CATEGORY, OFFER, true);
+    }
+
+    @Test
+    public void givenTooManyChangesThenIndexRebuilt() throws Exception {
+
+        // Given
+        OfferObjectIndex instance = new OfferObjectIndex(distribution, indexRootDirectory, 2, 1, 2);
+        instance.updateIndex(STRATEGY, OFFER, DATA_CATEGORY, tempDir);
+
+        doReturn(new RequestResponseOK<OfferLog>().addAllResults(Arrays.asList(
+            offerLog(11L, "objD", OfferLogAction.WRITE),
+            offerLog(12L, "objA", OfferLogAction.DELETE))))
+            .when(distribution).getOfferLogsByOfferId(STRATEGY, OFFER, DATA_CATEGORY, 11L, 2, Order.ASC);
+        doReturn(new RequestResponseOK<OfferLog>().addResult(offerLog(12L, "objA", OfferLogAction.DELETE)))
+            .when(distribution).getOfferLogsByOfferId(STRATEGY, OFFER, DATA_CATEGORY, null, 1, Order.DESC);
+        doAnswer(args -> CloseableIteratorUtils.toCloseableIterator(Arrays.asList(
+            new ObjectEntry("objD", 40L),
+            new ObjectEntry("objB", 20L),
+            new ObjectEntry("objC", 30L)
+        ).iterator())).when(distribution).listContainerObjectsForOffer(DATA_CATEGORY, OFFER, true);
+        givenObjectMetadata("objD", 40L, "digestD");
+
+        // When
+        File indexFile = instance.updateIndex(STRATEGY, OFFER, DATA_CATEGORY, tempDir);
+
+        // Then
+        assertThat(readIndex(indexFile)).extracting(ObjectEntry::getObjectId)
+            .containsExactly("objB", "objC", "objD");
+        assertThat(readState(instance).getLastSequence()).isEqualTo(12L);
+        verify(distribution, times(2)).listContainerObjectsForOffer(DATA_CATEGORY, OFFER, true);
+    }
+
+    @Test
+    public void givenEmptyOfferThenEmptyIndex() throws Exception {
+
+        // Given
+        doReturn(new RequestResponseOK<OfferLog>())
+            .when(distribution).getOfferLogsByOfferId(STRATEGY, OFFER, DATA_CATEGORY, null, 1, Order.DESC);
+        doAnswer(args -> CloseableIteratorUtils.toCloseableIterator(IteratorUtils.emptyIterator()))
+            .when(distribution).listContainerObjectsForOffer(DATA_CATEGORY, OFFER, true);
+        OfferObjectIndex instance = new OfferObjectIndex(distribution, indexRootDirectory, 2, 100, 2);
+
+        // When
+        File indexFile = instance.updateIndex(STRATEGY, OFFER, DATA_CATEGORY, tempDir);
+
+        // Then
+        assertThat(readIndex(indexFile)).isEmpty();
+        assertThat(readState(instance).getLastSequence()).isEqualTo(0L);
+    }
+
+    private void givenObjectMetadata(String objectId, long size, String digest) {
+        offerObjects.put(objectId, new StorageBulkMetadataResultEntry(objectId, digest, size));
+    }
+
+    private OfferLog offerLog(long sequence, String fileName, OfferLogAction action) {
+        return new OfferLog(sequence, LocalDateUtil.now(), TENANT_ID + "_" + DATA_CATEGORY.getFolder(), fileName,
+            action);
+    }
+
+    private OfferObjectIndexState readState(OfferObjectIndex instance) throws Exception {
+        return JsonHandler.getFromFile(
+            new File(instance.getIndexDirectory(OFFER, DATA_CATEGORY), OfferObjectIndex.STATE_FILE_NAME),
+            OfferObjectIndexState.class);
+    }
+
+    private List<ObjectEntry> readIndex(File indexFile) throws Exception {
+        try (InputStream inputStream = new FileInputStream(indexFile);
+            ObjectEntryReader reader = new ObjectEntryReader(inputStream)) {
+            return IteratorUtils.toList(reader);
+        }
+    }
+}
@@ -42,6 +42,7 @@ import fr.gouv.vitam.storage.engine.common.model.DataCategory;
 import fr.gouv.vitam.storage.engine.common.model.OfferLog;
 import fr.gouv.vitam.storage.engine.common.model.OfferLogAction;
 import fr.gouv.vitam.storage.engine.common.model.Order;
+import fr.gouv.vitam.storage.engine.common.model.request.OfferParallelSyncItem;
 import fr.gouv.vitam.storage.engine.common.model.request.OfferPartialSyncItem;
 import fr.gouv.vitam.storage.engine.server.distribution.StorageDistribution;
 import fr.gouv.vitam.storage.engine.server.distribution.impl.DataContext;
@@ -51,6 +52,7 @@ import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
@@ -77,6 +79,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -101,6 +104,9 @@ public class OfferSyncProcessTest {
     @Rule
     public MockitoRule mockitoRule = MockitoJUnit.rule();
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Mock
     private RestoreOfferBackupService restoreOfferBackupService;
 
@@ -147,6 +153,11 @@ public class OfferSyncProcessTest {
         }).when(restoreOfferBackupService).getListing(
             eq(STRATEGY), eq(SOURCE), eq(DATA_CATEGORY), any(), anyInt(), eq(Order.ASC));
 
+        doAnswer((args) -> sourceOfferLogs.isEmpty() ?
+            new ArrayList<>() : singletonList(sourceOfferLogs.get(sourceOfferLogs.size() - 1))
+        ).when(restoreOfferBackupService).getListing(
+            eq(STRATEGY), eq(SOURCE), eq(DATA_CATEGORY), eq(null), eq(1), eq(Order.DESC));
+
         doAnswer((args) -> {
 
             String filename = args.getArgument(2);
@@ -612,6 +623,107 @@ public class OfferSyncProcessTest {
         assertThat(fileName.getAllValues()).contains("file1", "file2");
     }
 
+    @Test
+    @RunWithCustomExecutor
+    public void synchronizeInParallelFromScratch() throws Exception {
+
+        // Given
+        givenDataSetInSourceOffer();
+        givenDataSetInTargetOffer();
+        doReturn(Optional.empty()).when(distribution).createAccessRequestIfRequired(eq(STRATEGY), eq(SOURCE),
+            eq(DATA_CATEGORY), anyList());
+
+        OfferSyncCheckpointStore checkpointStore = new OfferSyncCheckpointStore(temporaryFolder.newFolder());
+        OfferSyncProcess instance = new OfferSyncProcess(restoreOfferBackupService,
+            distribution, 2, 1, 1, 1, 1, OfferSyncRateLimiter.unlimited(), checkpointStore, 2, 3);
+
+        // When
+        instance.synchronizeInParallel(VitamThreadPoolExecutor.getDefaultExecutor(), executorService, SOURCE,
+            TARGET, STRATEGY, getParallelSyncItems(), true);
+
+        // Then : sequences [1..12] split into 3 shards [1..4], [5..8], [9..]
+        // Target offer is reconciled with source offer state (file11 not in offer logs, kept)
+        assertThat(instance.getOfferSyncStatus().getStatusCode()).isEqualTo(StatusCode.OK);
+        assertThat(instance.getOfferSyncStatus().getShardCount()).isEqualTo(3);
+        assertThat(instance.getOfferSyncStatus().getCompletedShardCount()).isEqualTo(3);
+        assertThat(instance.getOfferSyncStatus().getProgressPercentage()).isEqualTo(100.0);
+        assertThat(instance.getOfferSyncStatus().getEndDate()).isNotNull();
+        assertThat(targetDataFiles.keySet()).containsExactlyInAnyOrder("file2", "file3", "file4", "file6", "file11");
+        assertThat(targetDataFiles.get("file2")).isEqualTo("data2-v4".getBytes());
+        assertThat(checkpointStore.read(SOURCE, TARGET, STRATEGY)).isEmpty();
+    }
+
+    @Test
+    @RunWithCustomExecutor
+    public void synchronizeInParallelResumedFromCheckpoint() throws Exception {
+
+        // Given
+        givenDataSetInSourceOffer();
+        doReturn(Optional.empty()).when(distribution).createAccessRequestIfRequired(eq(STRATEGY), eq(SOURCE),
+            eq(DATA_CATEGORY), anyList());
+
+        OfferSyncCheckpointStore checkpointStore = new OfferSyncCheckpointStore(temporaryFolder.newFolder());
+        String container = TENANT_ID + "_" + DATA_CATEGORY.getCollectionName();
+        checkpointStore.write(new OfferSyncCheckpoint(SOURCE, TARGET, STRATEGY, "date", singletonList(container),
+            List.of(
+                new OfferSyncShard(TENANT_ID, DATA_CATEGORY.getCollectionName(), 1L, 6L, 12L).setCurrentOffset(6L)
+                    .setCompleted(true),
+                new OfferSyncShard(TENANT_ID, DATA_CATEGORY.getCollectionName(), 7L, null, 12L)
+                    .setCurrentOffset(8L))));
+
+        OfferSyncProcess instance = new OfferSyncProcess(restoreOfferBackupService,
+            distribution, 100, 1, 1, 1, 1, OfferSyncRateLimiter.unlimited(), checkpointStore, 2, 3);
+
+        // When
+        instance.synchronizeInParallel(VitamThreadPoolExecutor.getDefaultExecutor(), executorService, SOURCE,
+            TARGET, STRATEGY, getParallelSyncItems(), true);
+
+        // Then : only sequences [9..12] are synchronized (file2, file5, file6)
+        assertThat(instance.getOfferSyncStatus().getStatusCode()).isEqualTo(StatusCode.OK);
+        assertThat(instance.getOfferSyncStatus().getProcessedObjects()).isEqualTo(3L);
+        assertThat(targetDataFiles.keySet()).containsExactlyInAnyOrder("file2", "file6");
+        verify(restoreOfferBackupService).getListing(STRATEGY, SOURCE, DATA_CATEGORY, 9L, 100, Order.ASC);
+        verify(restoreOfferBackupService, never()).getListing(any(), any(), any(), any(), anyInt(),
+            eq(Order.DESC));
+        verify(distribution).deleteObjectInOffers(eq(STRATEGY), any(), eq(singletonList(TARGET)));
+        assertThat(checkpointStore.read(SOURCE, TARGET, STRATEGY)).isEmpty();
+    }
+
+    @Test
+    @RunWithCustomExecutor
+    public void synchronizeInParallelWithFailureKeepsCheckpoint() throws Exception {
+
+        // Given
+        givenDataSetInSourceOffer();
+        doReturn(Optional.empty()).when(distribution).createAccessRequestIfRequired(eq(STRATEGY), eq(SOURCE),
+            eq(DATA_CATEGORY), anyList());
+        doThrow(new StorageException("KO")).when(distribution)
+            .getContainerByCategory(eq(STRATEGY), anyString(), eq("file6"), eq(DATA_CATEGORY), eq(SOURCE));
+
+        OfferSyncCheckpointStore checkpointStore = new OfferSyncCheckpointStore(temporaryFolder.newFolder());
+        OfferSyncProcess instance = new OfferSyncProcess(restoreOfferBackupService,
+            distribution, 2, 1, 1, 1, 1, OfferSyncRateLimiter.unlimited(), checkpointStore, 1, 3);
+
+        // When
+        instance.synchronizeInParallel(VitamThreadPoolExecutor.getDefaultExecutor(), executorService, SOURCE,
+            TARGET, STRATEGY, getParallelSyncItems(), true);
+
+        // Then : file6 (sequence 11, in last shard) could not be copied
+        assertThat(instance.getOfferSyncStatus().getStatusCode()).isEqualTo(StatusCode.KO);
+        Optional<OfferSyncCheckpoint> checkpoint = checkpointStore.read(SOURCE, TARGET, STRATEGY);
+        assertThat(checkpoint).isPresent();
+        assertThat(checkpoint.get().getShards()).hasSize(3);
+        assertThat(checkpoint.get().getShards().get(0).isCompleted()).isTrue();
+        assertThat(checkpoint.get().getShards().get(1).isCompleted()).isTrue();
+        assertThat(checkpoint.get().getShards().get(2).isCompleted()).isFalse();
+        assertThat(checkpoint.get().getShards().get(2).getCurrentOffset()).isEqualTo(10L);
+    }
+
+    private List<OfferParallelSyncItem> getParallelSyncItems() {
+        return singletonList(
+            new OfferParallelSyncItem().setTenantId(TENANT_ID).setContainer(DATA_CATEGORY.getCollectionName()));
+    }
+
     private void givenDataSetInSourceOffer() {
         givenDataSetInSourceOfferPart1(CONTAINER_1);
         givenDataSetInSourceOfferPart2(CONTAINER_1);
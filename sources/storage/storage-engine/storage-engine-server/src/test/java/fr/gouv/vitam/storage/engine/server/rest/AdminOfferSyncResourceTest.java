@@ -33,6 +33,8 @@ import fr.gouv.vitam.common.thread.RunWithCustomExecutor;
 import fr.gouv.vitam.common.thread.RunWithCustomExecutorRule;
 import fr.gouv.vitam.common.thread.VitamThreadPoolExecutor;
 import fr.gouv.vitam.storage.engine.common.model.DataCategory;
+import fr.gouv.vitam.storage.engine.common.model.request.OfferParallelSyncItem;
+import fr.gouv.vitam.storage.engine.common.model.request.OfferParallelSyncRequest;
 import fr.gouv.vitam.storage.engine.common.model.request.OfferSyncRequest;
 import fr.gouv.vitam.storage.engine.server.offersynchronization.OfferSyncService;
 import org.junit.Before;
@@ -44,9 +46,12 @@ import org.mockito.junit.MockitoRule;
 
 import javax.ws.rs.core.Response;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
@@ -76,6 +81,7 @@ public class AdminOfferSyncResourceTest {
     @Before
     public void setup() {
         VitamConfiguration.setTenants(Arrays.asList(0, 1, 2));
+        VitamConfiguration.setAdminTenant(1);
     }
 
     @Test
@@ -227,6 +233,52 @@ public class AdminOfferSyncResourceTest {
         verifyNoMoreInteractions(offerSyncService);
     }
 
+    @Test
+    @RunWithCustomExecutor
+    public void should_return_ok_when_offer_parallel_synchronization_started() {
+
+        // Given
+        OfferParallelSyncRequest offerParallelSyncRequest = createOfferParallelSyncRequest();
+
+        when(offerSyncService
+            .startParallelSynchronization(eq(OFFER_FS_1_SERVICE_CONSUL), eq(OFFER_FS_2_SERVICE_CONSUL),
+                eq(VitamConfiguration.getDefaultStrategy()), anyList(), eq(true)))
+            .thenReturn(true);
+
+        AdminOfferSyncResource instance = new AdminOfferSyncResource(offerSyncService);
+
+        // When
+        Response response = instance.startParallelSynchronization(offerParallelSyncRequest);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(Response.Status.OK.getStatusCode());
+    }
+
+    @Test
+    @RunWithCustomExecutor
+    public void should_throw_exception_when_offer_parallel_synchronization_request_with_invalid_container() {
+
+        // Given
+        OfferParallelSyncRequest offerParallelSyncRequest = createOfferParallelSyncRequest();
+        offerParallelSyncRequest.getContainers().get(1).setContainer("BAD");
+        AdminOfferSyncResource instance = new AdminOfferSyncResource(offerSyncService);
+
+        // When / Then
+        assertThatThrownBy(() -> instance.startParallelSynchronization(offerParallelSyncRequest))
+            .isInstanceOf(IllegalArgumentException.class);
+        verifyNoMoreInteractions(offerSyncService);
+    }
+
+    private OfferParallelSyncRequest createOfferParallelSyncRequest() {
+        return new OfferParallelSyncRequest()
+            .setSourceOffer(OFFER_FS_1_SERVICE_CONSUL)
+            .setTargetOffer(OFFER_FS_2_SERVICE_CONSUL)
+            .setStrategyId(VitamConfiguration.getDefaultStrategy())
+            .setContainers(List.of(
+                new OfferParallelSyncItem().setTenantId(0).setContainer(DataCategory.UNIT.getCollectionName()),
+                new OfferParallelSyncItem().setTenantId(1).setContainer(DataCategory.OBJECT.getCollectionName())));
+    }
+
     private OfferSyncRequest createOfferSyncRequest() {
         return new OfferSyncRequest()
             .setSourceOffer(OFFER_FS_1_SERVICE_CONSUL)
@@ -56,9 +56,11 @@ import fr.gouv.vitam.common.server.application.VitamHttpHeader;
 import fr.gouv.vitam.common.serverv2.VitamStarter;
 import fr.gouv.vitam.common.serverv2.application.AdminApplication;
 import fr.gouv.vitam.common.serverv2.application.ApplicationParameter;
+import fr.gouv.vitam.common.stream.ByteRange;
 import fr.gouv.vitam.common.timestamp.TimeStampSignature;
 import fr.gouv.vitam.common.timestamp.TimeStampSignatureWithKeystore;
 import fr.gouv.vitam.common.timestamp.TimestampGenerator;
+import fr.gouv.vitam.storage.driver.model.StorageBulkMetadataResultEntry;
 import fr.gouv.vitam.storage.driver.model.StorageMetadataResult;
 import fr.gouv.vitam.storage.engine.common.exception.StorageAlreadyExistsException;
 import fr.gouv.vitam.storage.engine.common.exception.StorageException;
@@ -637,6 +639,16 @@ public class StorageResourceTest {
             .statusCode(Status.OK.getStatusCode());
     }
 
+    @Test
+    public void getObjectWithUnsupportedRangeThenFullObject() {
+        given().contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_OCTET_STREAM)
+            .headers(VitamHttpHeader.TENANT_ID.getName(), TENANT_ID, VitamHttpHeader.STRATEGY_ID.getName(),
+                STRATEGY_ID)
+            .header(GlobalDataRest.RANGE, "bytes=0-1,2-3")
+            .body(AccessLogUtils.getNoLogAccessLog()).when().get(OBJECTS_URI + OBJECT_ID_URI, "id0").then()
+            .statusCode(Status.OK.getStatusCode());
+    }
+
     @Test
     public void getObjectUnavailableFromAsyncOffer() {
         given().contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_OCTET_STREAM)
@@ -1621,6 +1633,12 @@ public class StorageResourceTest {
             return null;
         }
 
+        @Override
+        public List<StorageBulkMetadataResultEntry> getBatchObjectMetadataForOffer(DataCategory category,
+            String offerId, List<String> objectIds, boolean includeDisabled) {
+            throw new UnsupportedOperationException("UnsupportedOperationException");
+        }
+
         @Override
         public Response getContainerByCategory(String strategyId, String origin, String objectId, DataCategory category,
             AccessLogInfoModel logInfo)
@@ -1628,6 +1646,13 @@ public class StorageResourceTest {
             return getContainerByCategoryResponse(strategyId, objectId);
         }
 
+        @Override
+        public Response getContainerByCategory(String strategyId, String origin, String objectId, DataCategory category,
+            ByteRange range, AccessLogInfoModel logInfo)
+            throws StorageException {
+            return getContainerByCategoryResponse(strategyId, objectId);
+        }
+
         @Override
         public StoredInfoResult storeDataInAllOffers(String strategyId, String objectId,
             ObjectDescription createObjectDescription, DataCategory category, String requester)
@@ -0,0 +1,226 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.storagelog;
+
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
+import fr.gouv.vitam.storage.engine.server.storagelog.parameters.AccessLogParameters;
+import fr.gouv.vitam.storage.engine.server.storagelog.parameters.StorageLogbookParameterName;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static fr.gouv.vitam.common.junit.BenchmarkHelper.measureNanos;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.singletonList;
+
+/**
+ * Storage access log benchmark on a single tenant : legacy lock-based appender vs async group flush. Measures
+ * multi-threaded throughput, and single-threaded append latency (as seen by request threads).
+ *
+ * How to run :
+ * - Remove @Ignore annotation locally
+ */
+@Ignore("Syncs to disk once per entry in legacy modes. To be run manually")
+public class StorageLogServiceBenchmarkIT {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(StorageLogServiceBenchmarkIT.class);
+
+    private static final int TENANT = 0;
+    private static final int NB_THREADS = 64;
+    private static final int NB_ENTRIES_PER_THREAD = 10_000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void benchmarkAccessLogAppend() throws Exception {
+
+        // Legacy : per-tenant lock, flush per entry (no sync)
+        Path lockBasedLogFile = temporaryFolder.getRoot().toPath().resolve("lock-based.log");
+        long lockBasedDuration;
+        try (StorageLogAppender appender = new StorageLogAppender(lockBasedLogFile)) {
+            lockBasedDuration = runConcurrently(() -> {
+                synchronized (appender) {
+                    appender.append(buildAccessLogParameters());
+                }
+            });
+        }
+
+        // Legacy with same durability as group flush : per-tenant lock, sync per entry
+        Path lockBasedSyncedLogFile = temporaryFolder.getRoot().toPath().resolve("lock-based-synced.log");
+        long lockBasedSyncedDuration;
+        try (StorageLogAppender appender = new StorageLogAppender(lockBasedSyncedLogFile);
+            FileChannel fileChannel = FileChannel.open(lockBasedSyncedLogFile, WRITE)) {
+            lockBasedSyncedDuration = runConcurrently(() -> {
+                synchronized (appender) {
+                    appender.append(buildAccessLogParameters());
+                    fileChannel.force(false);
+                }
+            });
+        }
+
+        // Async group flush (write + sync per group)
+        long groupFlushDuration;
+        try (StorageLogService storageLogService = new StorageLogService(singletonList(TENANT),
+            temporaryFolder.newFolder().toPath())) {
+            groupFlushDuration = runConcurrently(
+                () -> storageLogService.appendAccessLog(TENANT, buildAccessLogParameters()));
+        }
+
+        long nbEntries = (long) NB_THREADS * NB_ENTRIES_PER_THREAD;
+        LOGGER.info(String.format("Storage log benchmark (%d threads, %d entries):%n" +
+                " - lock based, flush per entry : %d ms (%d entries/s)%n" +
+                " - lock based, sync per entry : %d ms (%d entries/s)%n" +
+                " - async group flush & sync : %d ms (%d entries/s)",
+            NB_THREADS, nbEntries,
+            lockBasedDuration, perSecond(nbEntries, lockBasedDuration),
+            lockBasedSyncedDuration, perSecond(nbEntries, lockBasedSyncedDuration),
+            groupFlushDuration, perSecond(nbEntries, groupFlushDuration)));
+    }
+
+    @Test
+    public void benchmarkSingleThreadAccessLogAppendLatency() throws Exception {
+
+        // Legacy : flush per entry (no sync)
+        Path lockBasedLogFile = temporaryFolder.getRoot().toPath().resolve("single-thread.log");
+        List<Long> lockBasedLatencies;
+        try (StorageLogAppender appender = new StorageLogAppender(lockBasedLogFile)) {
+            lockBasedLatencies = measureLatencies(() -> {
+                synchronized (appender) {
+                    appender.append(buildAccessLogParameters());
+                }
+            });
+        }
+
+        // Legacy with same durability as group flush : sync per entry
+        Path lockBasedSyncedLogFile = temporaryFolder.getRoot().toPath().resolve("single-thread-synced.log");
+        List<Long> lockBasedSyncedLatencies;
+        try (StorageLogAppender appender = new StorageLogAppender(lockBasedSyncedLogFile);
+            FileChannel fileChannel = FileChannel.open(lockBasedSyncedLogFile, WRITE)) {
+            lockBasedSyncedLatencies = measureLatencies(() -> {
+                synchronized (appender) {
+                    appender.append(buildAccessLogParameters());
+                    fileChannel.force(false);
+                }
+            });
+        }
+
+        // Async group flush : append only queues the entry
+        List<Long> groupFlushLatencies;
+        try (StorageLogService storageLogService = new StorageLogService(singletonList(TENANT),
+            temporaryFolder.newFolder().toPath())) {
+            groupFlushLatencies =
+                measureLatencies(() -> storageLogService.appendAccessLog(TENANT, buildAccessLogParameters()));
+        }
+
+        LOGGER.info(String.format("Storage log single thread append latency (%d entries, in us):%n" +
+                " - lock based, flush per entry : %s%n" +
+                " - lock based, sync per entry : %s%n" +
+                " - async group flush & sync : %s",
+            NB_ENTRIES_PER_THREAD, formatLatencies(lockBasedLatencies), formatLatencies(lockBasedSyncedLatencies),
+            formatLatencies(groupFlushLatencies)));
+    }
+
+    private List<Long> measureLatencies(LogAction logAction) throws Exception {
+        List<Long> latencies = new ArrayList<>(NB_ENTRIES_PER_THREAD);
+        for (int i = 0; i < NB_ENTRIES_PER_THREAD; i++) {
+            latencies.add(measureNanos(logAction::log));
+        }
+        Collections.sort(latencies);
+        return latencies;
+    }
+
+    private static String formatLatencies(List<Long> sortedLatencies) {
+        return String.format("p50 %.1f, p99 %.1f, max %.1f",
+            percentile(sortedLatencies, 50) / 1000d, percentile(sortedLatencies, 99) / 1000d,
+            percentile(sortedLatencies, 100) / 1000d);
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values
+     */
+    private static double percentile(List<Long> sortedValues, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100d * sortedValues.size());
+        return sortedValues.get(Math.max(0, rank - 1));
+    }
+
+    private static long perSecond(long count, long elapsedMillis) {
+        return count * 1000L / Math.max(1L, elapsedMillis);
+    }
+
+    /**
+     * @return elapsed time in milliseconds
+     */
+    private long runConcurrently(LogAction logAction) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(NB_THREADS, VitamThreadFactory.getInstance());
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(NB_THREADS);
+            for (int i = 0; i < NB_THREADS; i++) {
+                futures.add(executorService.submit(() -> {
+                    for (int j = 0; j < NB_ENTRIES_PER_THREAD; j++) {
+                        logAction.log();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static AccessLogParameters buildAccessLogParameters() {
+        Map<StorageLogbookParameterName, String> mapParameters = new EnumMap<>(StorageLogbookParameterName.class);
+        mapParameters.put(StorageLogbookParameterName.objectIdentifier, "aeaaaaaaaaesicexaasycalystxo3zbaaaaq");
+        mapParameters.put(StorageLogbookParameterName.eventDateTime, "2026-10-18T10:00:00.000");
+        return new AccessLogParameters(mapParameters);
+    }
+
+    @FunctionalInterface
+    private interface LogAction {
+        void log() throws Exception;
+    }
+}
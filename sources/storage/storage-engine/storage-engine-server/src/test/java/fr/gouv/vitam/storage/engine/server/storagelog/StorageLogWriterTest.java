@@ -0,0 +1,187 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.storage.engine.server.storagelog;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StorageLogWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Path> logFiles = new ArrayList<>();
+    private final AtomicInteger fileIndex = new AtomicInteger();
+
+    @Test
+    public void givenConcurrentAppendsThenAllEntriesWritten() throws Exception {
+
+        // Given
+        StorageLogWriter instance = new StorageLogWriter("writer", this::createAppender);
+        ExecutorService executorService = Executors.newFixedThreadPool(10, VitamThreadFactory.getInstance());
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String line = "line" + i;
+            futures.add(executorService.submit(() -> {
+                instance.append(line);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+
+        // Then : pending entries are written on close
+        instance.close();
+        List<String> lines = Files.readAllLines(logFiles.get(0), StandardCharsets.UTF_8);
+
+        assertThat(logFiles).hasSize(1);
+        assertThat(lines).hasSize(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(lines).contains("line" + i);
+        }
+    }
+
+    @Test
+    public void givenRotationThenPreviousEntriesInPreviousLogFile() throws Exception {
+
+        // Given
+        StorageLogWriter instance = new StorageLogWriter("writer", this::createAppender);
+        instance.append("line1");
+        instance.append("line2");
+
+        // When
+        List<LogInformation> previousLogFiles =
+            instance.rotate(() -> singletonList(new LogInformation(logFiles.get(0), null, null)));
+        instance.append("line3");
+        instance.close();
+
+        // Then
+        assertThat(previousLogFiles).extracting(LogInformation::getPath).containsExactly(logFiles.get(0));
+        assertThat(logFiles).hasSize(2);
+        assertThat(Files.readAllLines(logFiles.get(0), StandardCharsets.UTF_8)).containsExactly("line1", "line2");
+        assertThat(Files.readAllLines(logFiles.get(1), StandardCharsets.UTF_8)).containsExactly("line3");
+    }
+
+    @Test
+    public void givenRotationFailureThenExceptionThrown() throws Exception {
+
+        // Given
+        StorageLogWriter instance = new StorageLogWriter("writer", this::createAppender);
+
+        // When / Then
+        assertThatThrownBy(() -> instance.rotate(() -> {
+            throw new IOException("error");
+        })).isInstanceOf(IOException.class);
+        instance.close();
+    }
+
+    @Test
+    public void givenClosedWriterWhenAppendThenKO() throws Exception {
+
+        // Given
+        StorageLogWriter instance = new StorageLogWriter("writer", this::createAppender);
+        instance.append("line1");
+        instance.close();
+
+        // When / Then
+        assertThatThrownBy(() -> instance.append("line2")).isInstanceOf(IOException.class);
+        assertThat(Files.readAllLines(logFiles.get(0), StandardCharsets.UTF_8)).containsExactly("line1");
+
+        // Closing twice is a no-op
+        instance.close();
+    }
+
+    @Test
+    public void givenMaxPendingEntriesReachedWhenAppendThenBlockedUntilEntriesWritten() throws Exception {
+
+        // Given : flusher blocked on first write
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch writeReleased = new CountDownLatch(1);
+        StorageLogWriter instance = new StorageLogWriter("writer", () -> new StorageLogAppender(
+            folder.getRoot().toPath().resolve("blocking.log")) {
+            @Override
+            public void appendLines(List<String> lines) throws IOException {
+                writeStarted.countDown();
+                Uninterruptibles.awaitUninterruptibly(writeReleased);
+                super.appendLines(lines);
+            }
+        }, 2);
+        ExecutorService executorService = Executors.newSingleThreadExecutor(VitamThreadFactory.getInstance());
+
+        instance.append("line1");
+        assertThat(writeStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        instance.append("line2");
+
+        // When
+        Future<?> blockedAppend = executorService.submit(() -> {
+            instance.append("line3");
+            return null;
+        });
+
+        // Then
+        assertThatThrownBy(() -> blockedAppend.get(500, TimeUnit.MILLISECONDS))
+            .isInstanceOf(TimeoutException.class);
+        writeReleased.countDown();
+        blockedAppend.get(10, TimeUnit.SECONDS);
+        instance.close();
+        executorService.shutdown();
+
+        assertThat(Files.readAllLines(folder.getRoot().toPath().resolve("blocking.log"), StandardCharsets.UTF_8))
+            .containsExactly("line1", "line2", "line3");
+    }
+
+    private StorageLogAppender createAppender() throws IOException {
+        Path logFile = folder.getRoot().toPath().resolve("log" + fileIndex.getAndIncrement() + ".log");
+        logFiles.add(logFile);
+        return new StorageLogAppender(logFile);
+    }
+}
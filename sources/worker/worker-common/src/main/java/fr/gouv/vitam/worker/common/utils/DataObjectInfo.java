@@ -45,6 +45,8 @@ public final class DataObjectInfo {
     private String type;
     private Boolean isSizeIncorrect = Boolean.FALSE;
     private ObjectNode diffSizeJson;
+    private String extractionDigest;
+    private DigestType extractionDigestAlgo;
 
     /**
      * @return id of the data object
@@ -219,4 +221,22 @@ public final class DataObjectInfo {
         this.isSizeIncorrect = sizeIncorrect;
         return this;
     }
+
+    public String getExtractionDigest() {
+        return extractionDigest;
+    }
+
+    public DataObjectInfo setExtractionDigest(String extractionDigest) {
+        this.extractionDigest = extractionDigest;
+        return this;
+    }
+
+    public DigestType getExtractionDigestAlgo() {
+        return extractionDigestAlgo;
+    }
+
+    public DataObjectInfo setExtractionDigestAlgo(DigestType extractionDigestAlgo) {
+        this.extractionDigestAlgo = extractionDigestAlgo;
+        return this;
+    }
 }
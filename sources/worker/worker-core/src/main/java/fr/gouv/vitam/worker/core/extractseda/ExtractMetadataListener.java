@@ -55,6 +55,7 @@ import fr.gouv.vitam.worker.common.utils.DataObjectInfo;
 import fr.gouv.vitam.worker.core.handler.LogbookEventMapper;
 import fr.gouv.vitam.worker.core.mapping.ObjectGroupMapper;
 import fr.gouv.vitam.worker.core.utils.JsonLineDataBase;
+import fr.gouv.vitam.workspace.api.model.FileParams;
 
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.Unmarshaller;
@@ -206,7 +207,12 @@ public class ExtractMetadataListener extends Unmarshaller.Listener {
     private long checkAndComputeSize(DbVersionsModel versionsModel, DataObjectInfo dataObjectInfo) {
         ObjectNode diffJsonNodeToPopulate = JsonHandler.createObjectNode();
         long binarySizeInManifest = versionsModel.getSize();
-        long binarySizeInWorkspace = ingestSession.getFileWithParmsFromFolder().get(dataObjectInfo.getUri());
+        FileParams fileParams = ingestSession.getFileWithParmsFromFolder().get(dataObjectInfo.getUri());
+        long binarySizeInWorkspace = fileParams.getSize();
+        if (fileParams.getDigest() != null && fileParams.getDigestType() != null) {
+            dataObjectInfo.setExtractionDigest(fileParams.getDigest());
+            dataObjectInfo.setExtractionDigestAlgo(DigestType.fromValue(fileParams.getDigestType()));
+        }
         if (binarySizeInManifest == 0) { // Object Size equal 0 mean that Size tag is not present on manifest
             diffJsonNodeToPopulate.put("- " + SedaConstants.TAG_SIZE, "");
             diffJsonNodeToPopulate.put("+ " + SedaConstants.TAG_SIZE, binarySizeInWorkspace);
@@ -36,6 +36,7 @@ import fr.gouv.vitam.logbook.common.parameters.LogbookLifeCycleParameters;
 import fr.gouv.vitam.worker.common.utils.DataObjectDetail;
 import fr.gouv.vitam.worker.common.utils.DataObjectInfo;
 import fr.gouv.vitam.worker.core.utils.FastValueAccessMap;
+import fr.gouv.vitam.workspace.api.model.FileParams;
 
 import java.io.StringWriter;
 import java.util.ArrayList;
@@ -69,7 +70,7 @@ public class IngestSession {
     private final Map<String, DataObjectDetail> dataObjectIdToDetailDataObject = new HashMap<>();
     private final Map<String, Boolean> dataObjectGroupMasterMandatory = new HashMap<>();
     private final Set<String> physicalDataObjetsGuids = new HashSet<>();
-    private final Map<String, Long> fileWithParmsFromFolder = new HashMap<>();
+    private final Map<String, FileParams> fileWithParmsFromFolder = new HashMap<>();
 
     private final Multimap<String,String> usageToObjectGroupId = HashMultimap.create();
 
@@ -165,7 +166,7 @@ public class IngestSession {
         return physicalDataObjetsGuids;
     }
 
-    public Map<String, Long> getFileWithParmsFromFolder() {
+    public Map<String, FileParams> getFileWithParmsFromFolder() {
         return fileWithParmsFromFolder;
     }
 
@@ -155,6 +155,7 @@ import fr.gouv.vitam.worker.core.utils.JsonLineDataBase;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
+import fr.gouv.vitam.workspace.api.model.FileParams;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -435,7 +436,7 @@ public class ExtractSedaActionHandler extends ActionHandler {
             IngestContext ingestContext = retrieveIngestContext(params, handlerIO);
 
 
-            Map<String, Long> filesWithParamsFromWorkspace =
+            Map<String, FileParams> filesWithParamsFromWorkspace =
                 handlerIO.getFilesWithParamsFromWorkspace(handlerIO.getContainerName(), SEDA_FOLDER);
             ingestSession.getFileWithParmsFromFolder().putAll(filesWithParamsFromWorkspace);
 
@@ -450,17 +451,19 @@ public class ExtractSedaActionHandler extends ActionHandler {
 
             ingestContext.setSedaVersion(sedaUtils.getSedaIngestParams().getVersion());
 
-            JsonLineDataBase unitsDatabase = new JsonLineDataBase(handlerIO, "tmp_units");
-            JsonLineDataBase objectsDatabase = new JsonLineDataBase(handlerIO, "tmp_objectGroups");
+            ObjectNode evDetData;
+            try (JsonLineDataBase unitsDatabase = new JsonLineDataBase(handlerIO, "tmp_units");
+                JsonLineDataBase objectsDatabase = new JsonLineDataBase(handlerIO, "tmp_objectGroups")) {
 
-            ExtractMetadataListener listener =
-                new ExtractMetadataListener(handlerIO, ingestContext, ingestSession, unitsDatabase, objectsDatabase,
-                    metaDataClientFactory);
+                ExtractMetadataListener listener =
+                    new ExtractMetadataListener(handlerIO, ingestContext, ingestSession, unitsDatabase,
+                        objectsDatabase, metaDataClientFactory);
 
-            unmarshaller.setListener(listener);
-            ObjectNode evDetData =
-                extractSEDA(handlerIO, unmarshaller, ingestContext, ingestSession, unitsDatabase, objectsDatabase,
-                    globalCompositeItemStatus);
+                unmarshaller.setListener(listener);
+                evDetData =
+                    extractSEDA(handlerIO, unmarshaller, ingestContext, ingestSession, unitsDatabase, objectsDatabase,
+                        globalCompositeItemStatus);
+            }
 
             if (!ingestSession.getExistingUnitGuids().isEmpty()) {
                 evDetData.set(ATTACHMENT_IDS, JsonHandler.toJsonNode(ingestSession.getExistingUnitGuids()));
@@ -2724,6 +2727,16 @@ public class ExtractSedaActionHandler extends ActionHandler {
                     objectNode.set(SedaConstants.PREFIX_WORK, work);
                 }
             }
+            if (ingestSession.getObjectGuidToDataObject().get(guid).getExtractionDigest() != null) {
+                // Digest computed by the workspace during SIP extraction, used to avoid re-reading the binary
+                ObjectNode work = objectNode.has(SedaConstants.PREFIX_WORK) ?
+                    (ObjectNode) objectNode.get(SedaConstants.PREFIX_WORK) :
+                    objectNode.putObject(SedaConstants.PREFIX_WORK);
+                work.put(IngestWorkflowConstants.EXTRACTION_DIGEST,
+                    ingestSession.getObjectGuidToDataObject().get(guid).getExtractionDigest());
+                work.put(IngestWorkflowConstants.EXTRACTION_DIGEST_ALGORITHM,
+                    ingestSession.getObjectGuidToDataObject().get(guid).getExtractionDigestAlgo().getName());
+            }
             if (ingestSession.getObjectGuidToDataObject().get(guid).getUri() != null) {
                 objectNode.put(SedaConstants.TAG_URI, ingestSession.getObjectGuidToDataObject().get(guid).getUri());
             }
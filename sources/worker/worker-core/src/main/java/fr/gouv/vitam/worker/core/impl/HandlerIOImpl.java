@@ -79,7 +79,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Handler input and output parameter
@@ -653,19 +652,17 @@ public class HandlerIOImpl implements HandlerIO, VitamAutoCloseable {
     }
 
     @Override
-    public Map<String, Long> getFilesWithParamsFromWorkspace(String containerName, String folderName)
+    public Map<String, FileParams> getFilesWithParamsFromWorkspace(String containerName, String folderName)
         throws ProcessingException {
-        Map<String, Long> mapResults = new HashMap<>();
+        Map<String, FileParams> mapResults = new HashMap<>();
         try (WorkspaceClient workspaceClient = workspaceClientFactory.getClient()) {
             RequestResponse<Map<String, FileParams>> filesWithParamsFromFolderRequest =
                 workspaceClient.getFilesWithParamsFromFolder(containerName, folderName);
             if (filesWithParamsFromFolderRequest != null && filesWithParamsFromFolderRequest.isOk()) {
-                Map<String, FileParams> resultMap = JsonHandler.getFromStringAsTypeReference(
+                mapResults = JsonHandler.getFromStringAsTypeReference(
                     filesWithParamsFromFolderRequest
                         .toJsonNode().get("$results").get(0).toString(), new TypeReference<>() {
                     });
-                mapResults = resultMap.entrySet().stream()
-                    .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getSize()));
             }
         } catch (ContentAddressableStorageServerException | InvalidParseOperationException | InvalidFormatException e) {
             LOGGER.debug("Workspace Server Error", e);
@@ -136,24 +136,32 @@ public class CheckConformityActionPlugin extends ActionHandler {
         InputStream inputStream = null;
         try {
             final DigestType digestTypeInput = DigestType.fromValue((String) handlerIO.getInput(ALGO_RANK));
-            inputStream = handlerIO.getInputStreamFromWorkspace(
-                IngestWorkflowConstants.SEDA_FOLDER + File.separator + binaryObject.getUri());
-            final Digest vitamDigest = new Digest(digestTypeInput);
-            Digest manifestDigest;
-            boolean isVitamDigest = false;
-            if (!binaryObject.getAlgo().equals(digestTypeInput)) {
-                // Begin calculate digest by manifest algo
-                manifestDigest = new Digest(binaryObject.getAlgo());
-                inputStream = manifestDigest.getDigestInputStream(inputStream);
+            final boolean isVitamDigest = binaryObject.getAlgo().equals(digestTypeInput);
+            final String manifestDigestString;
+            final String vitamDigestString;
+            if (isVitamDigest && binaryObject.getExtractionDigest() != null &&
+                digestTypeInput.equals(binaryObject.getExtractionDigestAlgo())) {
+                // Digest already computed by the workspace while extracting the SIP, no need to read the binary
+                manifestDigestString = binaryObject.getExtractionDigest();
+                vitamDigestString = manifestDigestString;
             } else {
-                manifestDigest = vitamDigest;
-                isVitamDigest = true;
-            }
-            // calculate digest by vitam algo
-            vitamDigest.update(inputStream);
+                inputStream = handlerIO.getInputStreamFromWorkspace(
+                    IngestWorkflowConstants.SEDA_FOLDER + File.separator + binaryObject.getUri());
+                final Digest vitamDigest = new Digest(digestTypeInput);
+                Digest manifestDigest;
+                if (!isVitamDigest) {
+                    // Begin calculate digest by manifest algo
+                    manifestDigest = new Digest(binaryObject.getAlgo());
+                    inputStream = manifestDigest.getDigestInputStream(inputStream);
+                } else {
+                    manifestDigest = vitamDigest;
+                }
+                // calculate digest by vitam algo
+                vitamDigest.update(inputStream);
 
-            final String manifestDigestString = manifestDigest.digestHex();
-            final String vitamDigestString = vitamDigest.digestHex();
+                manifestDigestString = manifestDigest.digestHex();
+                vitamDigestString = vitamDigest.digestHex();
+            }
             String binaryObjectMessageDigest = binaryObject.getMessageDigest();
 
             boolean messagesDigestUpdated = false;
@@ -240,13 +248,21 @@ public class CheckConformityActionPlugin extends ActionHandler {
             LOGGER.debug(version.toString());
             for (final JsonNode jsonBinaryObject : version) {
                 if (jsonBinaryObject.get(SedaConstants.TAG_PHYSICAL_ID) == null) {
-                    binaryObjects.put(jsonBinaryObject.get(SedaConstants.PREFIX_ID).asText(),
-                        new DataObjectInfo()
-                            .setSize(jsonBinaryObject.get(SedaConstants.TAG_SIZE).asLong())
-                            .setId(jsonBinaryObject.get(SedaConstants.PREFIX_ID).asText())
-                            .setUri(jsonBinaryObject.get(SedaConstants.TAG_URI).asText())
-                            .setMessageDigest(jsonBinaryObject.get(SedaConstants.TAG_DIGEST).asText())
-                            .setAlgo(DigestType.fromValue(jsonBinaryObject.get(SedaConstants.ALGORITHM).asText())));
+                    DataObjectInfo dataObjectInfo = new DataObjectInfo()
+                        .setSize(jsonBinaryObject.get(SedaConstants.TAG_SIZE).asLong())
+                        .setId(jsonBinaryObject.get(SedaConstants.PREFIX_ID).asText())
+                        .setUri(jsonBinaryObject.get(SedaConstants.TAG_URI).asText())
+                        .setMessageDigest(jsonBinaryObject.get(SedaConstants.TAG_DIGEST).asText())
+                        .setAlgo(DigestType.fromValue(jsonBinaryObject.get(SedaConstants.ALGORITHM).asText()));
+                    JsonNode versionWork = jsonBinaryObject.path(SedaConstants.PREFIX_WORK);
+                    if (versionWork.hasNonNull(IngestWorkflowConstants.EXTRACTION_DIGEST) &&
+                        versionWork.hasNonNull(IngestWorkflowConstants.EXTRACTION_DIGEST_ALGORITHM)) {
+                        dataObjectInfo
+                            .setExtractionDigest(versionWork.get(IngestWorkflowConstants.EXTRACTION_DIGEST).asText())
+                            .setExtractionDigestAlgo(DigestType.fromValue(
+                                versionWork.get(IngestWorkflowConstants.EXTRACTION_DIGEST_ALGORITHM).asText()));
+                    }
+                    binaryObjects.put(dataObjectInfo.getId(), dataObjectInfo);
                 }
             }
         }
@@ -90,6 +90,7 @@ public class StoreObjectGroupActionPlugin extends StoreObjectActionHandler {
             Map<String, String> strategiesByObjectId = new HashMap<>();
             ListValuedMap<String, String> workspaceObjectURIsByStrategies = new ArrayListValuedHashMap<>();
             ListValuedMap<String, String> objectNamesByStrategies = new ArrayListValuedHashMap<>();
+            ListValuedMap<String, Long> objectSizesByStrategies = new ArrayListValuedHashMap<>();
             List<MapOfObjects> mapOfObjectsList = new ArrayList<>();
 
             // get list of object group's objects
@@ -104,6 +105,7 @@ public class StoreObjectGroupActionPlugin extends StoreObjectActionHandler {
                     strategies.add(strategyId);
                     workspaceObjectURIsByStrategies.put(strategyId, SIP + objectGuid.getValue());
                     objectNamesByStrategies.put(strategyId, objectGuid.getKey());
+                    objectSizesByStrategies.put(strategyId, getObjectSize(mapOfObjects, objectGuid.getKey()));
                     strategiesByObjectId.put(objectGuid.getKey(), strategyId);
                 }
 
@@ -131,7 +133,8 @@ public class StoreObjectGroupActionPlugin extends StoreObjectActionHandler {
 
                 // store objects
                 BulkObjectStoreRequest bulkObjectStoreRequest = new BulkObjectStoreRequest(params.getContainerName(),
-                    workspaceObjectURIs, DataCategory.OBJECT, objectNames);
+                    workspaceObjectURIs, DataCategory.OBJECT, objectNames)
+                    .setObjectSizes(objectSizesByStrategies.get(strategy));
                 BulkObjectStoreResponse result = storeObjects(strategy, bulkObjectStoreRequest);
                 resultByStrategy.put(strategy, result);
             }
@@ -226,6 +229,14 @@ public class StoreObjectGroupActionPlugin extends StoreObjectActionHandler {
         return mapOfObjects;
     }
 
+    private static Long getObjectSize(MapOfObjects mapOfObjects, String objectId) {
+        JsonNode binaryObject = mapOfObjects.getObjectJsonMap().get(objectId);
+        if (binaryObject == null || binaryObject.get(SedaConstants.TAG_SIZE) == null) {
+            return null;
+        }
+        return binaryObject.get(SedaConstants.TAG_SIZE).asLong();
+    }
+
     @Override
     public void checkMandatoryIOParameter(HandlerIO handler) throws ProcessingException {
         // TODO P0 Add objectGroup.json add input and check it
@@ -0,0 +1,438 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.worker.core.utils;
+
+import fr.gouv.vitam.common.ParametersChecker;
+import fr.gouv.vitam.common.collection.CloseableIterator;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.VitamAutoCloseable;
+import org.apache.commons.io.IOUtils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Embedded single file key / value store, for worker local scratch data.
+ *
+ * Entries are appended to a log file as records (key length, key, value length, value), and located through an
+ * in-memory hash index of value positions. Writing an existing key appends a new record that supersedes the previous
+ * one. Values are read using positional reads, or through a read-only memory mapping of the log file when enabled.
+ * The memory mapping is only re-created once the log file has doubled in size : more recent records are read using
+ * positional reads meanwhile. Records not flushed yet are read from the write buffer.
+ * An existing log file is re-indexed when opened (a truncated trailing record is discarded).
+ *
+ * Instance methods are thread-safe. The log file must not be shared between several store instances.
+ */
+public class AppendOnlyKeyValueStore implements VitamAutoCloseable {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(AppendOnlyKeyValueStore.class);
+
+    private static final int DEFAULT_WRITE_BUFFER_SIZE = 256 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final boolean memoryMapped;
+    private final FileChannel channel;
+    private final ByteBuffer writeBuffer;
+    private final Map<String, ValuePosition> index = new HashMap<>();
+
+    /**
+     * Size of the log file, written records included. Pending records are stored in write buffer after this offset.
+     */
+    private long flushedSize;
+    private MappedByteBuffer mappedBuffer;
+    private boolean closed;
+
+    /**
+     * Opens (or creates) a store using positional reads
+     *
+     * @param file the log file
+     * @throws IOException on I/O error while opening & indexing the log file
+     */
+    public AppendOnlyKeyValueStore(Path file) throws IOException {
+        this(file, false);
+    }
+
+    /**
+     * @param file the log file
+     * @param memoryMapped if true, values are read from a memory mapping of the log file
+     * @throws IOException on I/O error while opening & indexing the log file
+     */
+    public AppendOnlyKeyValueStore(Path file, boolean memoryMapped) throws IOException {
+        ParametersChecker.checkParameter("File is mandatory", file);
+        this.file = file;
+        this.memoryMapped = memoryMapped;
+        this.writeBuffer = ByteBuffer.allocate(DEFAULT_WRITE_BUFFER_SIZE);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            this.flushedSize = rebuildIndex();
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a value. Written values are immediately readable, but only flushed to log file once write buffer is
+     * full, or on {@link #flush()}.
+     *
+     * @param key the key
+     * @param value the value
+     * @throws IOException on I/O error
+     */
+    public synchronized void put(String key, byte[] value) throws IOException {
+        ParametersChecker.checkParameter("Key and value are mandatory", key, value);
+        checkNotClosed();
+        append(key, value);
+    }
+
+    /**
+     * Writes a batch of values
+     *
+     * @param entries values by key
+     * @throws IOException on I/O error
+     */
+    public synchronized void putAll(Map<String, byte[]> entries) throws IOException {
+        ParametersChecker.checkParameter("Entries are mandatory", entries);
+        checkNotClosed();
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            ParametersChecker.checkParameter("Key and value are mandatory", entry.getKey(), entry.getValue());
+            append(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @param key the key
+     * @return the last value written for key, or null if key does not exist
+     * @throws IOException on I/O error
+     */
+    public synchronized byte[] get(String key) throws IOException {
+        ParametersChecker.checkParameter("Key is mandatory", key);
+        checkNotClosed();
+        ValuePosition position = index.get(key);
+        if (position == null) {
+            return null;
+        }
+        byte[] value = new byte[position.length];
+        if (position.offset >= flushedSize) {
+            // Pending record (records are either fully flushed or fully buffered)
+            ByteBuffer view = writeBuffer.duplicate();
+            view.position((int) (position.offset - flushedSize));
+            view.get(value);
+        } else if (memoryMapped && isMapped(position)) {
+            ByteBuffer view = mappedBuffer.duplicate();
+            view.position((int) position.offset);
+            view.get(value);
+        } else {
+            readFully(ByteBuffer.wrap(value), position.offset);
+        }
+        return value;
+    }
+
+    /**
+     * Maps the log file on first read, and re-maps it once it has doubled in size, so that the number of mappings is
+     * logarithmic in the log file size.
+     *
+     * @return true if the value is covered by the memory mapping
+     */
+    private boolean isMapped(ValuePosition position) throws IOException {
+        long end = position.offset + position.length;
+        if (mappedBuffer == null ||
+            (end > mappedBuffer.capacity() && mappedBuffer.capacity() < Integer.MAX_VALUE &&
+                flushedSize >= 2L * mappedBuffer.capacity())) {
+            mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(flushedSize, Integer.MAX_VALUE));
+        }
+        return end <= mappedBuffer.capacity();
+    }
+
+    public synchronized boolean containsKey(String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * @return number of distinct keys
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Flushes pending records to log file
+     *
+     * @throws IOException on I/O error
+     */
+    public synchronized void flush() throws IOException {
+        checkNotClosed();
+        flushBuffer();
+    }
+
+    /**
+     * Streams store entries in write order, by sequentially reading the log file. Only the last value of each key is
+     * returned. Entries written after iterator creation are not returned.
+     *
+     * @return a closeable iterator of entries
+     * @throws IOException on I/O error
+     */
+    public synchronized CloseableIterator<Map.Entry<String, byte[]>> iterator() throws IOException {
+        checkNotClosed();
+        flushBuffer();
+        return new LogIterator(flushedSize);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushBuffer();
+        } catch (IOException e) {
+            LOGGER.error("Could not flush store " + file, e);
+        } finally {
+            // Mapping is released on garbage collection
+            mappedBuffer = null;
+            index.clear();
+            IOUtils.closeQuietly(channel);
+        }
+    }
+
+    private void append(String key, byte[] value) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int recordSize = 2 * Integer.BYTES + keyBytes.length + value.length;
+        if (writeBuffer.remaining() < recordSize) {
+            flushBuffer();
+        }
+
+        long recordOffset = flushedSize + writeBuffer.position();
+        long valueOffset = recordOffset + 2 * Integer.BYTES + keyBytes.length;
+
+        if (recordSize > writeBuffer.capacity()) {
+            // Large record, written directly
+            ByteBuffer record = ByteBuffer.allocate(recordSize);
+            writeRecord(record, keyBytes, value);
+            record.flip();
+            writeFully(record, flushedSize);
+            flushedSize += recordSize;
+        } else {
+            writeRecord(writeBuffer, keyBytes, value);
+        }
+        index.put(key, new ValuePosition(valueOffset, value.length));
+    }
+
+    private static void writeRecord(ByteBuffer buffer, byte[] keyBytes, byte[] value) {
+        buffer.putInt(keyBytes.length);
+        buffer.put(keyBytes);
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    private void flushBuffer() throws IOException {
+        if (writeBuffer.position() == 0) {
+            return;
+        }
+        writeBuffer.flip();
+        int length = writeBuffer.remaining();
+        writeFully(writeBuffer, flushedSize);
+        writeBuffer.clear();
+        flushedSize += length;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long currentPosition = position;
+        while (buffer.hasRemaining()) {
+            currentPosition += channel.write(buffer, currentPosition);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        long currentPosition = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, currentPosition);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of store " + file);
+            }
+            currentPosition += read;
+        }
+    }
+
+    /**
+     * @return size of valid records in log file
+     */
+    private long rebuildIndex() throws IOException {
+        long fileSize = channel.size();
+        long offset = 0L;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+            Channels.newInputStream(FileChannel.open(file, StandardOpenOption.READ)), READ_BUFFER_SIZE))) {
+            while (offset < fileSize) {
+                Record record = readRecord(input, fileSize - offset);
+                if (record == null) {
+                    LOGGER.warn("Truncated record at offset " + offset + " of store " + file + ". Discarded");
+                    channel.truncate(offset);
+                    break;
+                }
+                index.put(record.key, new ValuePosition(offset + record.valueOffset(), record.value.length));
+                offset += record.size();
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new IOException("Could not index store " + file, e);
+        }
+        return offset;
+    }
+
+    /**
+     * @return the record, or null if record is truncated
+     */
+    private static Record readRecord(DataInputStream input, long available) throws IOException {
+        if (available < 2L * Integer.BYTES) {
+            return null;
+        }
+        int keyLength = input.readInt();
+        if (keyLength < 0 || Integer.BYTES + (long) keyLength + Integer.BYTES > available) {
+            return null;
+        }
+        byte[] keyBytes = new byte[keyLength];
+        input.readFully(keyBytes);
+        int valueLength = input.readInt();
+        if (valueLength < 0 || 2L * Integer.BYTES + keyLength + valueLength > available) {
+            return null;
+        }
+        byte[] value = new byte[valueLength];
+        input.readFully(value);
+        return new Record(new String(keyBytes, StandardCharsets.UTF_8), keyLength, value);
+    }
+
+    private synchronized boolean isLastRecord(String key, long valueOffset) {
+        ValuePosition position = index.get(key);
+        return position != null && position.offset == valueOffset;
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Store " + file + " is closed");
+        }
+    }
+
+    private static final class ValuePosition {
+        private final long offset;
+        private final int length;
+
+        private ValuePosition(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static final class Record {
+        private final String key;
+        private final int keyLength;
+        private final byte[] value;
+
+        private Record(String key, int keyLength, byte[] value) {
+            this.key = key;
+            this.keyLength = keyLength;
+            this.value = value;
+        }
+
+        private long valueOffset() {
+            return 2L * Integer.BYTES + keyLength;
+        }
+
+        private long size() {
+            return valueOffset() + value.length;
+        }
+    }
+
+    private class LogIterator implements CloseableIterator<Map.Entry<String, byte[]>> {
+
+        private final long endOffset;
+        private final DataInputStream input;
+        private long offset;
+        private Map.Entry<String, byte[]> next;
+
+        private LogIterator(long endOffset) throws IOException {
+            this.endOffset = endOffset;
+            this.input = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(FileChannel.open(file, StandardOpenOption.READ)), READ_BUFFER_SIZE));
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            try {
+                while (offset < endOffset) {
+                    Record record = readRecord(input, endOffset - offset);
+                    if (record == null) {
+                        throw new EOFException("Unexpected end of store " + file);
+                    }
+                    long valueOffset = offset + record.valueOffset();
+                    offset += record.size();
+                    if (isLastRecord(record.key, valueOffset)) {
+                        next = new AbstractMap.SimpleImmutableEntry<>(record.key, record.value);
+                        return true;
+                    }
+                }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Map.Entry<String, byte[]> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, byte[]> entry = next;
+            next = null;
+            return entry;
+        }
+
+        @Override
+        public void close() {
+            IOUtils.closeQuietly(input);
+        }
+    }
+}
@@ -27,23 +27,46 @@
 package fr.gouv.vitam.worker.core.utils;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import fr.gouv.vitam.common.collection.CloseableIterator;
+import fr.gouv.vitam.common.collection.CloseableIteratorUtils;
 import fr.gouv.vitam.common.exception.InvalidParseOperationException;
 import fr.gouv.vitam.common.json.JsonHandler;
-import fr.gouv.vitam.common.model.VitamConstants;
-import fr.gouv.vitam.common.security.SafeFileChecker;
-import fr.gouv.vitam.common.security.SanityChecker;
+import fr.gouv.vitam.common.model.VitamAutoCloseable;
 import fr.gouv.vitam.worker.common.HandlerIO;
 
-import java.io.File;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-public class JsonLineDataBase {
+/**
+ * Worker local scratch database of JSON objects by id.
+ *
+ * Objects are stored in a single {@link AppendOnlyKeyValueStore} file ({@code <baseDir>.db} in handler local
+ * directory), opened on first access, rather than in one JSON file per id.
+ */
+public class JsonLineDataBase implements VitamAutoCloseable {
+
+    private static final String STORE_FILE_EXTENSION = ".db";
 
     private final HandlerIO handlerIO;
     private final String baseDir;
+    private final boolean memoryMapped;
+    private AppendOnlyKeyValueStore store;
 
     public JsonLineDataBase(HandlerIO handlerIO, String baseDir) {
+        this(handlerIO, baseDir, false);
+    }
+
+    /**
+     * @param handlerIO handler IO, providing worker local directory
+     * @param baseDir name of the database in worker local directory
+     * @param memoryMapped if true, objects are read through a memory mapping of the database file
+     */
+    public JsonLineDataBase(HandlerIO handlerIO, String baseDir, boolean memoryMapped) {
         this.handlerIO = handlerIO;
         this.baseDir = baseDir;
+        this.memoryMapped = memoryMapped;
     }
 
     /**
@@ -53,10 +76,26 @@ public class JsonLineDataBase {
      * @param object The JSON object
      */
     public void write(String id, JsonNode object) {
-        File file = handlerIO.getNewLocalFile(baseDir + File.separator + id + VitamConstants.JSON_EXTENSION);
         try {
-            JsonHandler.writeAsFile(object, file);
-        } catch (InvalidParseOperationException e) {
+            getStore().put(id, JsonHandler.writeValueAsBytes(object));
+        } catch (IOException | InvalidParseOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Writes a batch of JSON objects to the database.
+     *
+     * @param objects The JSON objects by ID
+     */
+    public void writeAll(Map<String, JsonNode> objects) {
+        try {
+            Map<String, byte[]> entries = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonNode> object : objects.entrySet()) {
+                entries.put(object.getKey(), JsonHandler.writeValueAsBytes(object.getValue()));
+            }
+            getStore().putAll(entries);
+        } catch (IOException | InvalidParseOperationException e) {
             throw new RuntimeException(e);
         }
     }
@@ -69,10 +108,46 @@ public class JsonLineDataBase {
      */
     public JsonNode read(String id) {
         try {
-            File file = handlerIO.getNewLocalFile(baseDir + File.separator + id + VitamConstants.JSON_EXTENSION);
-            return JsonHandler.getFromFile(file);
-        } catch (InvalidParseOperationException e) {
+            byte[] value = getStore().get(id);
+            return value == null ? null : JsonHandler.getFromBytes(value);
+        } catch (IOException | InvalidParseOperationException e) {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Streams all JSON objects of the database, in write order.
+     *
+     * @return a closeable iterator of JSON objects by ID
+     */
+    public CloseableIterator<Map.Entry<String, JsonNode>> iterator() {
+        try {
+            return CloseableIteratorUtils.map(getStore().iterator(), entry -> {
+                try {
+                    return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(),
+                        JsonHandler.getFromBytes(entry.getValue()));
+                } catch (InvalidParseOperationException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (store != null) {
+            store.close();
+            store = null;
+        }
+    }
+
+    private synchronized AppendOnlyKeyValueStore getStore() throws IOException {
+        if (store == null) {
+            store = new AppendOnlyKeyValueStore(
+                handlerIO.getNewLocalFile(baseDir + STORE_FILE_EXTENSION).toPath(), memoryMapped);
+        }
+        return store;
+    }
 }
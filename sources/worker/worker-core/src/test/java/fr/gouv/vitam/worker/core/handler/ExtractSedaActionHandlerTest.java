@@ -242,8 +242,8 @@ public class ExtractSedaActionHandlerTest {
         handler = new ExtractSedaActionHandler(metadataClientFactory, adminManagementClientFactory,
             logbookLifeCyclesClientFactory);
 
-        Map<String, Long> filesWithParamsFromWorkspace = (Map<String, Long>) mock(Map.class);
-        when(filesWithParamsFromWorkspace.get(anyString())).thenReturn(0L);
+        Map<String, FileParams> filesWithParamsFromWorkspace = (Map<String, FileParams>) mock(Map.class);
+        when(filesWithParamsFromWorkspace.get(anyString())).thenReturn(new FileParams(0L));
         when(ingestSession.getFileWithParmsFromFolder()).thenReturn(filesWithParamsFromWorkspace);
 
         handlerIO.setCurrentObjectId(OBJECT_ID);
@@ -31,6 +31,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Lists;
 import fr.gouv.vitam.common.PropertiesUtils;
 import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.model.IngestWorkflowConstants;
 import fr.gouv.vitam.common.model.ItemStatus;
 import fr.gouv.vitam.common.model.StatusCode;
 import fr.gouv.vitam.common.model.processing.IOParameter;
@@ -71,6 +72,8 @@ import java.util.stream.Stream;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -268,6 +271,48 @@ public class CheckConformityActionPluginTest {
         handlerIO.close();
     }
 
+    @Test
+    public void checkBinaryObjectWithExtractionDigestThenBinaryNotRead() throws Exception {
+
+        // Given
+        JsonNode objectGroupJson = JsonHandler.getFromInputStream(
+            PropertiesUtils.getResourceAsStream(OBJECT_GROUP_BDO_AND_PDO));
+        ObjectNode binaryVersion = (ObjectNode) objectGroupJson.get("_work").get("_qualifiers")
+            .get("BinaryMaster").get("versions").get(0);
+        binaryVersion.putObject("_work")
+            .put(IngestWorkflowConstants.EXTRACTION_DIGEST, binaryVersion.get("MessageDigest").asText())
+            .put(IngestWorkflowConstants.EXTRACTION_DIGEST_ALGORITHM, "SHA-512");
+        when(workspaceClient.getObject(any(), eq("ObjectGroup/objName4")))
+            .thenReturn(Response.status(Status.OK)
+                .entity(JsonHandler.writeToInpustream(objectGroupJson)).build());
+
+        CheckConformityActionPlugin plugin = new CheckConformityActionPlugin();
+        final WorkerParameters params = getDefaultWorkerParameters();
+        params.setObjectName("objName4");
+        String objectId = "objectId";
+        final HandlerIOImpl handlerIO =
+            new HandlerIOImpl(workspaceClientFactory, logbookLifeCyclesClientFactory,
+                "CheckConformityActionHandlerTest", "workerId",
+                Lists.newArrayList(objectId));
+        handlerIO.setCurrentObjectId(objectId);
+        final List<IOParameter> out = new ArrayList<>();
+        out.add(new IOParameter().setUri(new ProcessingUri(UriPrefix.MEMORY, "objectGroupId.json")));
+        final List<IOParameter> in = new ArrayList<>();
+        in.add(new IOParameter().setUri(new ProcessingUri(UriPrefix.VALUE, "SHA-512")));
+        handlerIO.addInIOParameters(in);
+        handlerIO.addOutIOParameters(out);
+
+        // When
+        final ItemStatus response = plugin.execute(params, handlerIO);
+
+        // Then
+        assertEquals(StatusCode.OK, response.getGlobalStatus());
+        assertEquals(response.getItemsStatus().get(CALC_CHECK).getSubTaskStatus().values()
+            .iterator().next().getEvDetailData(), JsonHandler.unprettyPrint(EV_DETAIL_DATA_BDO_AND_PDO));
+        verify(workspaceClient, never()).getObject(any(), eq("SIP/Content/5zC1uD6CvaYDipUhETOyUWVEbxHmE1.pdf"));
+        handlerIO.close();
+    }
+
     @Test
     public void checkEmptyDigestMessage() throws Exception {
         InputStream objectGroupEmptyDigest = PropertiesUtils.getResourceAsStream(OBJECT_GROUP_DIGEST_EMPTY);
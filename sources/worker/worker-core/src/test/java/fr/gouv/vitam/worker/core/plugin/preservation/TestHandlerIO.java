@@ -38,6 +38,7 @@ import fr.gouv.vitam.worker.core.exception.WorkerspaceQueueException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
+import fr.gouv.vitam.workspace.api.model.FileParams;
 import fr.gouv.vitam.workspace.client.WorkspaceClientFactory;
 
 import javax.ws.rs.core.Response;
@@ -188,7 +189,7 @@ public class TestHandlerIO implements HandlerIO {
     }
 
     @Override
-    public Map<String, Long> getFilesWithParamsFromWorkspace(String containerName, String folderName)
+    public Map<String, FileParams> getFilesWithParamsFromWorkspace(String containerName, String folderName)
         throws ProcessingException {
         throw new VitamRuntimeException("Not implemented");
     }
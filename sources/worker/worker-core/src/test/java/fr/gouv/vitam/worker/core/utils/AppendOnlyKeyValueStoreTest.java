@@ -0,0 +1,224 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.worker.core.utils;
+
+import fr.gouv.vitam.common.collection.CloseableIterator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AppendOnlyKeyValueStoreTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void should_write_then_read() throws Exception {
+        checkWriteThenRead(false);
+    }
+
+    @Test
+    public void should_write_then_read_when_memory_mapped() throws Exception {
+        checkWriteThenRead(true);
+    }
+
+    private void checkWriteThenRead(boolean memoryMapped) throws Exception {
+        // Given
+        Path file = tempFolder.newFile().toPath();
+
+        try (AppendOnlyKeyValueStore store = new AppendOnlyKeyValueStore(file, memoryMapped)) {
+
+            // When
+            store.put("A1", bytes("value A1"));
+            store.put("A2", bytes("value A2"));
+            assertThat(store.get("A1")).isEqualTo(bytes("value A1"));
+            store.put("A1", bytes("new value A1"));
+            store.put("B1", new byte[0]);
+
+            // Then
+            assertThat(store.get("A1")).isEqualTo(bytes("new value A1"));
+            assertThat(store.get("A2")).isEqualTo(bytes("value A2"));
+            assertThat(store.get("B1")).isEmpty();
+            assertThat(store.get("C1")).isNull();
+            assertThat(store.containsKey("A2")).isTrue();
+            assertThat(store.containsKey("C1")).isFalse();
+            assertThat(store.size()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void should_read_pending_values_without_flushing() throws Exception {
+        // Given
+        Path file = tempFolder.newFile().toPath();
+
+        try (AppendOnlyKeyValueStore store = new AppendOnlyKeyValueStore(file, true)) {
+
+            // When
+            store.put("A1", bytes("value A1"));
+            store.put("A2", bytes("value A2"));
+            byte[] value = store.get("A2");
+
+            // Then
+            assertThat(value).isEqualTo(bytes("value A2"));
+            assertThat(Files.size(file)).isZero();
+        }
+    }
+
+    @Test
+    public void should_read_values_written_after_memory_mapping() throws Exception {
+        // Given
+        Path file = tempFolder.newFile().toPath();
+
+        try (AppendOnlyKeyValueStore store = new AppendOnlyKeyValueStore(file, true)) {
+
+            // When : values read while log file grows
+            for (int i = 0; i < 1_000; i++) {
+                store.put("id" + i, bytes("value " + i));
+                store.flush();
+                assertThat(store.get("id" + i)).isEqualTo(bytes("value " + i));
+                assertThat(store.get("id" + (i / 2))).isEqualTo(bytes("value " + (i / 2)));
+            }
+
+            // Then
+            for (int i = 0; i < 1_000; i++) {
+                assertThat(store.get("id" + i)).isEqualTo(bytes("value " + i));
+            }
+        }
+    }
+
+    @Test
+    public void should_write_large_values_and_batches() throws Exception {
+        // Given
+        Path file = tempFolder.newFile().toPath();
+        byte[] largeValue = new byte[1_000_000];
+        for (int i = 0; i < largeValue.length; i++) {
+            largeValue[i] = (byte) i;
+        }
+        Map<String, byte[]> batch = new LinkedHashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            batch.put("id" + i, bytes("value " + i));
+        }
+
+        try (AppendOnlyKeyValueStore store = new AppendOnlyKeyValueStore(file)) {
+
+            // When
+            store.put("large", largeValue);
+            store.putAll(batch);
+
+            // Then
+            assertThat(store.get("large")).isEqualTo(largeValue);
+            assertThat(store.get("id0")).isEqualTo(bytes("value 0"));
+            assertThat(store.get("id9999")).isEqualTo(bytes("value 9999"));
+            assertThat(store.size()).isEqualTo(10_001);
+        }
+    }
+
+    @Test
+    public void should_iterate_over_last_values_in_write_order() throws Exception {
+        // Given
+        Path file = tempFolder.newFile().toPath();
+
+        try (AppendOnlyKeyValueStore store = new AppendOnlyKeyValueStore(file)) {
+            store.put("A1", bytes("value A1"));
+            store.put("A2", bytes("value A2"));
+            store.put("A1", bytes("new value A1"));
+            store.put("A3", bytes("value A3"));
+
+            // When
+            List<String> entries = new ArrayList<>();
+            try (CloseableIterator<Map.Entry<String, byte[]>> iterator = store.iterator()) {
+                store.put("A4", bytes("value A4"));
+                iterator.forEachRemaining(
+                    entry -> entries.add(entry.getKey() + "=" + new String(entry.getValue(), StandardCharsets.UTF_8)));
+            }
+
+            // Then
+            assertThat(entries).containsExactly("A2=value A2", "A1=new value A1", "A3=value A3");
+        }
+    }
+
+    @Test
+    public void should_reindex_existing_file_and_discard_truncated_record() throws Exception {
+        // Given
+        Path file = tempFolder.newFile().toPath();
+        try (AppendOnlyKeyValueStore store = new AppendOnlyKeyValueStore(file)) {
+            store.put("A1", bytes("value A1"));
+            store.put("A2", bytes("value A2"));
+            store.put("A1", bytes("new value A1"));
+        }
+        long validSize = Files.size(file);
+        // Partially written record
+        Files.write(file, new byte[] {0, 0, 0, 2, 'A', '3', 0, 0, 0, 100, 'v'}, StandardOpenOption.APPEND);
+
+        // When
+        try (AppendOnlyKeyValueStore store = new AppendOnlyKeyValueStore(file)) {
+
+            // Then
+            assertThat(Files.size(file)).isEqualTo(validSize);
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get("A1")).isEqualTo(bytes("new value A1"));
+            assertThat(store.get("A2")).isEqualTo(bytes("value A2"));
+            assertThat(store.get("A3")).isNull();
+
+            store.put("A3", bytes("value A3"));
+            assertThat(store.get("A3")).isEqualTo(bytes("value A3"));
+        }
+    }
+
+    @Test
+    public void should_fail_when_closed() throws Exception {
+        // Given
+        File file = tempFolder.newFile();
+        AppendOnlyKeyValueStore store = new AppendOnlyKeyValueStore(file.toPath());
+        store.put("A1", bytes("value A1"));
+
+        // When
+        store.close();
+
+        // Then
+        assertThat(file.length()).isGreaterThan(0L);
+        assertThatThrownBy(() -> store.get("A1")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> store.put("A2", bytes("value A2"))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
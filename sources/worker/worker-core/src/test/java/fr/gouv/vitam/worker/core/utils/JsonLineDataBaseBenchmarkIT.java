@@ -0,0 +1,199 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.worker.core.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fr.gouv.vitam.common.collection.CloseableIterator;
+import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.VitamConstants;
+import fr.gouv.vitam.worker.common.HandlerIO;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static fr.gouv.vitam.common.junit.BenchmarkHelper.measureNanos;
+import static fr.gouv.vitam.common.junit.BenchmarkHelper.toMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Worker local scratch database benchmark : former one JSON file per id layout vs single file key / value store
+ * (positional reads & memory mapped), on synthetic archive unit like JSON objects written then read in random order.
+ *
+ * How to run :
+ * - Remove @Ignore annotation locally
+ * - Use a local directory on the target worker disk as java.io.tmpdir
+ */
+@Ignore("Writes 200k files. To be run manually on the target worker disk")
+public class JsonLineDataBaseBenchmarkIT {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(JsonLineDataBaseBenchmarkIT.class);
+
+    private static final long SEED = 42L;
+    private static final int NB_OBJECTS = 200_000;
+    private static final int OBJECT_SIZE = 2_048;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void benchmarkJsonLineDataBase() throws Exception {
+        List<String> ids = new ArrayList<>(NB_OBJECTS);
+        for (int i = 0; i < NB_OBJECTS; i++) {
+            ids.add(String.format("aeaqaaaaaahmtusqabktwaldc34sm5y%07d", i));
+        }
+        List<String> readOrder = new ArrayList<>(ids);
+        Collections.shuffle(readOrder, new Random(SEED));
+
+        BenchmarkResult filePerKey = runFilePerKeyBenchmark(ids, readOrder);
+        BenchmarkResult store = runStoreBenchmark(ids, readOrder, false);
+        BenchmarkResult mappedStore = runStoreBenchmark(ids, readOrder, true);
+
+        LOGGER.info(String.format("Objects: %d, average size: %d bytes%n" +
+                "File per key        : %s%n" +
+                "Store               : %s%n" +
+                "Store (mmap)        : %s%n" +
+                "Speedup : write x%.1f, read x%.1f (mmap read x%.1f)",
+            NB_OBJECTS, OBJECT_SIZE, filePerKey, store, mappedStore,
+            (double) filePerKey.writeNanos / store.writeNanos, (double) filePerKey.readNanos / store.readNanos,
+            (double) filePerKey.readNanos / mappedStore.readNanos));
+
+        assertThat(store.files).isEqualTo(1);
+    }
+
+    private BenchmarkResult runFilePerKeyBenchmark(List<String> ids, List<String> readOrder) throws Exception {
+        File baseDir = temporaryFolder.newFolder();
+        Random random = new Random(SEED);
+        BenchmarkResult result = new BenchmarkResult();
+
+        result.writeNanos = measureNanos(() -> {
+            for (String id : ids) {
+                JsonHandler.writeAsFile(createObject(random, id),
+                    new File(baseDir, id + VitamConstants.JSON_EXTENSION));
+            }
+        });
+
+        result.readNanos = measureNanos(() -> {
+            for (String id : readOrder) {
+                JsonNode object = JsonHandler.getFromFile(new File(baseDir, id + VitamConstants.JSON_EXTENSION));
+                assertThat(object.get("#id").asText()).isEqualTo(id);
+            }
+        });
+
+        computeDiskUsage(baseDir, result);
+        return result;
+    }
+
+    private BenchmarkResult runStoreBenchmark(List<String> ids, List<String> readOrder, boolean memoryMapped)
+        throws Exception {
+        File baseDir = temporaryFolder.newFolder();
+        HandlerIO handlerIO = mock(HandlerIO.class);
+        doAnswer(a -> new File(baseDir, a.getArgument(0))).when(handlerIO).getNewLocalFile(anyString());
+        Random random = new Random(SEED);
+        BenchmarkResult result = new BenchmarkResult();
+
+        try (JsonLineDataBase dataBase = new JsonLineDataBase(handlerIO, "tmp_units", memoryMapped)) {
+            result.writeNanos = measureNanos(() -> {
+                for (String id : ids) {
+                    dataBase.write(id, createObject(random, id));
+                }
+            });
+
+            result.readNanos = measureNanos(() -> {
+                for (String id : readOrder) {
+                    assertThat(dataBase.read(id).get("#id").asText()).isEqualTo(id);
+                }
+            });
+
+            result.iterateNanos = measureNanos(() -> {
+                int count = 0;
+                try (CloseableIterator<Map.Entry<String, JsonNode>> iterator = dataBase.iterator()) {
+                    while (iterator.hasNext()) {
+                        iterator.next();
+                        count++;
+                    }
+                }
+                assertThat(count).isEqualTo(ids.size());
+            });
+        }
+
+        computeDiskUsage(baseDir, result);
+        return result;
+    }
+
+    private ObjectNode createObject(Random random, String id) {
+        ObjectNode object = JsonHandler.createObjectNode().put("#id", id);
+        object.putObject("#management");
+        StringBuilder description = new StringBuilder();
+        while (description.length() < OBJECT_SIZE) {
+            description.append("Archive unit description ").append(random.nextInt(10_000)).append(' ');
+        }
+        object.put("Title", "Archive unit title " + random.nextInt(10_000))
+            .put("DescriptionLevel", "Item")
+            .put("Description", description.toString());
+        return object;
+    }
+
+    private void computeDiskUsage(File baseDir, BenchmarkResult result) throws Exception {
+        try (Stream<Path> files = Files.walk(baseDir.toPath())) {
+            files.filter(Files::isRegularFile).forEach(path -> {
+                result.files++;
+                result.bytes += path.toFile().length();
+            });
+        }
+    }
+
+    private static class BenchmarkResult {
+        private long files;
+        private long bytes;
+        private long writeNanos;
+        private long readNanos;
+        private long iterateNanos;
+
+        @Override
+        public String toString() {
+            return String.format("%d files, %d bytes, write %d ms, random read %d ms, iterate %d ms", files, bytes,
+                toMillis(writeNanos), toMillis(readNanos), toMillis(iterateNanos));
+        }
+    }
+}
@@ -27,6 +27,7 @@
 package fr.gouv.vitam.worker.core.utils;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import fr.gouv.vitam.common.collection.CloseableIterator;
 import fr.gouv.vitam.common.json.JsonHandler;
 import fr.gouv.vitam.common.tmp.TempFolderRule;
 import fr.gouv.vitam.worker.common.HandlerIO;
@@ -37,8 +38,14 @@ import org.junit.Test;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -74,6 +81,25 @@ public class JsonLineDataBaseTest {
 
         JsonNode read = dataBase.read("B1");
         assertEquals("B1", read.get("_id").asText());
+        assertNull(dataBase.read("C1"));
+    }
+
+    @Test
+    public void should_write_batch_then_iterate() {
+        Map<String, JsonNode> objects = new LinkedHashMap<>();
+        objects.put("D1", JsonHandler.createObjectNode().put("_id", "D1"));
+        objects.put("D2", JsonHandler.createObjectNode().put("_id", "D2"));
+        dataBase.writeAll(objects);
+
+        List<String> ids = new ArrayList<>();
+        try (CloseableIterator<Map.Entry<String, JsonNode>> iterator = dataBase.iterator()) {
+            iterator.forEachRemaining(entry -> {
+                assertEquals(entry.getKey(), entry.getValue().get("_id").asText());
+                ids.add(entry.getKey());
+            });
+        }
+        assertTrue(ids.containsAll(List.of("D1", "D2")));
+        assertEquals("D2", dataBase.read("D2").get("_id").asText());
     }
 
 }
\ No newline at end of file
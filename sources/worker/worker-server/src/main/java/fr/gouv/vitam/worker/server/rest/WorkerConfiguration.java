@@ -39,6 +39,7 @@ public final class WorkerConfiguration extends DefaultVitamApplicationConfigurat
     private String processingUrl;
     private String urlMetadata;
     private String urlWorkspace;
+    private String workspaceLocalStoragePath;
     private String registerServerHost;
     private int registerServerPort;
     private long registerDelay = 60; //in seconds
@@ -121,6 +122,27 @@ public final class WorkerConfiguration extends DefaultVitamApplicationConfigurat
         return this;
     }
 
+    /**
+     * Get the workspace storage path, when workspace volume is shared with the worker
+     *
+     * @return workspaceLocalStoragePath (null when workspace is accessed through its REST API)
+     */
+    public String getWorkspaceLocalStoragePath() {
+        return workspaceLocalStoragePath;
+    }
+
+    /**
+     * Set the workspace storage path. When set, workspace data is accessed directly through the file system instead
+     * of workspace REST API
+     *
+     * @param workspaceLocalStoragePath the workspace storage path on shared volume
+     * @return the updated WorkerConfiguration object
+     */
+    public WorkerConfiguration setWorkspaceLocalStoragePath(String workspaceLocalStoragePath) {
+        this.workspaceLocalStoragePath = workspaceLocalStoragePath;
+        return this;
+    }
+
     /**
      * Get the registerServerHost
      *
@@ -41,6 +41,7 @@ import fr.gouv.vitam.logbook.lifecycles.client.LogbookLifeCyclesClientFactory;
 import fr.gouv.vitam.metadata.client.MetaDataClientFactory;
 import fr.gouv.vitam.worker.server.registration.WorkerRegistrationListener;
 import fr.gouv.vitam.workspace.client.WorkspaceClientFactory;
+import fr.gouv.vitam.workspace.client.WorkspaceType;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 
 import javax.servlet.ServletContextListener;
@@ -104,6 +105,8 @@ public class WorkerMain {
                 final WorkerConfiguration configuration =
                     PropertiesUtils.readYaml(yamlIS, WorkerConfiguration.class);
                 WorkspaceClientFactory.changeMode(configuration.getUrlWorkspace());
+                WorkspaceClientFactory.changeModeToLocalFileSystem(configuration.getWorkspaceLocalStoragePath(),
+                    WorkspaceType.VITAM);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -27,6 +27,7 @@
 
 package fr.gouv.vitam.workspace.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class FileParams {
@@ -34,6 +35,17 @@ public class FileParams {
     @JsonProperty("size")
     private long size;
 
+    /**
+     * Digest computed while the file was extracted from its archive, if any
+     */
+    @JsonProperty("digest")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String digest;
+
+    @JsonProperty("digestType")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String digestType;
+
     public FileParams() {
     }
 
@@ -41,6 +53,12 @@ public class FileParams {
         this.size = size;
     }
 
+    public FileParams(long size, String digest, String digestType) {
+        this.size = size;
+        this.digest = digest;
+        this.digestType = digestType;
+    }
+
     public long getSize() {
         return size;
     }
@@ -48,4 +66,20 @@ public class FileParams {
     public void setSize(long size) {
         this.size = size;
     }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public void setDigest(String digest) {
+        this.digest = digest;
+    }
+
+    public String getDigestType() {
+        return digestType;
+    }
+
+    public void setDigestType(String digestType) {
+        this.digestType = digestType;
+    }
 }
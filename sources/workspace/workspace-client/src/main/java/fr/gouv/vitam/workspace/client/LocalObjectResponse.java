@@ -0,0 +1,212 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.workspace.client;
+
+import fr.gouv.vitam.common.stream.StreamUtils;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Link;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.NewCookie;
+import javax.ws.rs.core.Response;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Response of a workspace object read from local file system. Close releases the underlying file stream, like an HTTP
+ * response releases its connection.
+ */
+class LocalObjectResponse extends Response {
+
+    private final InputStream inputStream;
+    private final MultivaluedMap<String, Object> headers;
+
+    LocalObjectResponse(InputStream inputStream, MultivaluedMap<String, Object> headers) {
+        this.inputStream = inputStream;
+        this.headers = new MultivaluedHashMap<>(headers);
+        this.headers.putSingle(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_TYPE);
+    }
+
+    @Override
+    public int getStatus() {
+        return Status.OK.getStatusCode();
+    }
+
+    @Override
+    public StatusType getStatusInfo() {
+        return Status.OK;
+    }
+
+    @Override
+    public Object getEntity() {
+        return inputStream;
+    }
+
+    @Override
+    public <T> T readEntity(Class<T> entityType) {
+        if (!entityType.isInstance(inputStream)) {
+            throw new ProcessingException("Unsupported entity type " + entityType.getName());
+        }
+        return entityType.cast(inputStream);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T readEntity(GenericType<T> entityType) {
+        return (T) readEntity(entityType.getRawType());
+    }
+
+    @Override
+    public <T> T readEntity(Class<T> entityType, Annotation[] annotations) {
+        return readEntity(entityType);
+    }
+
+    @Override
+    public <T> T readEntity(GenericType<T> entityType, Annotation[] annotations) {
+        return readEntity(entityType);
+    }
+
+    @Override
+    public boolean hasEntity() {
+        return true;
+    }
+
+    @Override
+    public boolean bufferEntity() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        StreamUtils.closeSilently(inputStream);
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return MediaType.APPLICATION_OCTET_STREAM_TYPE;
+    }
+
+    @Override
+    public Locale getLanguage() {
+        return null;
+    }
+
+    @Override
+    public int getLength() {
+        String length = getHeaderString(HttpHeaders.CONTENT_LENGTH);
+        if (length == null) {
+            return -1;
+        }
+        long value = Long.parseLong(length);
+        return value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    @Override
+    public Set<String> getAllowedMethods() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public Map<String, NewCookie> getCookies() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public EntityTag getEntityTag() {
+        return null;
+    }
+
+    @Override
+    public Date getDate() {
+        return null;
+    }
+
+    @Override
+    public Date getLastModified() {
+        return null;
+    }
+
+    @Override
+    public URI getLocation() {
+        return null;
+    }
+
+    @Override
+    public Set<Link> getLinks() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public boolean hasLink(String relation) {
+        return false;
+    }
+
+    @Override
+    public Link getLink(String relation) {
+        return null;
+    }
+
+    @Override
+    public Link.Builder getLinkBuilder(String relation) {
+        return null;
+    }
+
+    @Override
+    public MultivaluedMap<String, Object> getMetadata() {
+        return headers;
+    }
+
+    @Override
+    public MultivaluedMap<String, String> getStringHeaders() {
+        MultivaluedMap<String, String> stringHeaders = new MultivaluedHashMap<>();
+        headers.forEach((name, values) -> stringHeaders.put(name,
+            values.stream().map(String::valueOf).collect(Collectors.toList())));
+        return stringHeaders;
+    }
+
+    @Override
+    public String getHeaderString(String name) {
+        List<Object> values = headers.get(name);
+        if (values == null) {
+            return null;
+        }
+        return values.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,544 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.workspace.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import fr.gouv.vitam.common.ParametersChecker;
+import fr.gouv.vitam.common.digest.DigestType;
+import fr.gouv.vitam.common.exception.VitamApplicationServerException;
+import fr.gouv.vitam.common.exception.VitamClientException;
+import fr.gouv.vitam.common.json.JsonHandler;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.model.RequestResponse;
+import fr.gouv.vitam.common.model.RequestResponseOK;
+import fr.gouv.vitam.common.security.IllegalPathException;
+import fr.gouv.vitam.common.server.application.VitamHttpHeader;
+import fr.gouv.vitam.common.storage.constants.ErrorMessage;
+import fr.gouv.vitam.common.stream.ExactSizeInputStream;
+import fr.gouv.vitam.common.stream.MultiplexedStreamWriter;
+import fr.gouv.vitam.common.stream.StreamUtils;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageAlreadyExistException;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageBadRequestException;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageCompressedFileException;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageZipException;
+import fr.gouv.vitam.workspace.api.model.FileParams;
+import fr.gouv.vitam.workspace.api.model.TimeToLive;
+import fr.gouv.vitam.workspace.common.CompressInformation;
+import fr.gouv.vitam.workspace.common.WorkspaceFileSystem;
+import org.apache.commons.compress.archivers.ArchiveException;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static fr.gouv.vitam.common.model.WorkspaceConstants.FREESPACE;
+
+/**
+ * Workspace client accessing the workspace storage directly through the file system instead of workspace REST API.
+ *
+ * Intended for components (workers) sharing the workspace volume. Same sanity checks as the workspace server are
+ * applied on container, folder and object names, and error reporting mimics the REST client behaviour so that
+ * callers cannot distinguish both modes.
+ */
+class LocalWorkspaceClient extends WorkspaceClient {
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(LocalWorkspaceClient.class);
+
+    private static final long EOF_MARKER = -1L;
+
+    private final WorkspaceFileSystem workspace;
+
+    LocalWorkspaceClient(WorkspaceClientFactory factory, WorkspaceFileSystem workspace) {
+        super(factory);
+        this.workspace = workspace;
+    }
+
+    @Override
+    public void checkStatus() throws VitamApplicationServerException {
+        if (workspace.getWorkspaceFreeSpace() < 0) {
+            throw new VitamApplicationServerException("Workspace storage is not available");
+        }
+    }
+
+    @Override
+    public JsonNode getFreespacePercent() throws VitamClientException {
+        return JsonHandler.createObjectNode().put(FREESPACE, workspace.getWorkspaceFreeSpace());
+    }
+
+    @Override
+    public void createContainer(String containerName)
+        throws ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_NAME_IS_A_MANDATORY_PARAMETER.getMessage(), containerName);
+        try {
+            workspace.checkWorkspaceContainerSanity(containerName);
+            workspace.createContainer(containerName);
+        } catch (ContentAddressableStorageAlreadyExistException e) {
+            LOGGER.info(ErrorMessage.CONTAINER_ALREADY_EXIST.getMessage() + containerName);
+        } catch (IllegalPathException | IllegalArgumentException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public void deleteContainer(String containerName, boolean deleteRecursive)
+        throws ContentAddressableStorageNotFoundException, ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_NAME_IS_A_MANDATORY_PARAMETER.getMessage(), containerName);
+        try {
+            workspace.checkWorkspaceContainerSanity(containerName);
+            workspace.deleteContainer(containerName, deleteRecursive);
+        } catch (IllegalPathException | IllegalArgumentException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public boolean isExistingContainer(String containerName) throws ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_NAME_IS_A_MANDATORY_PARAMETER.getMessage(), containerName);
+        try {
+            workspace.checkWorkspaceContainerSanity(containerName);
+            return workspace.isExistingContainer(containerName);
+        } catch (IllegalPathException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public void createFolder(String containerName, String folderName)
+        throws ContentAddressableStorageAlreadyExistException, ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_FOLDER_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                folderName);
+        try {
+            workspace.checkWorkspaceDirSanity(containerName, folderName);
+            workspace.createFolder(containerName, folderName);
+        } catch (ContentAddressableStorageAlreadyExistException e) {
+            LOGGER.info(ErrorMessage.FOLDER_ALREADY_EXIST.getMessage() + containerName + "/" + folderName);
+        } catch (IllegalPathException | IllegalArgumentException | ContentAddressableStorageNotFoundException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public void deleteFolder(String containerName, String folderName)
+        throws ContentAddressableStorageNotFoundException, ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_FOLDER_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                folderName);
+        try {
+            workspace.checkWorkspaceDirSanity(containerName, folderName);
+            workspace.deleteFolder(containerName, folderName);
+        } catch (IllegalPathException | IllegalArgumentException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public boolean isExistingFolder(String containerName, String folderName)
+        throws ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_FOLDER_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                folderName);
+        try {
+            workspace.checkWorkspaceDirSanity(containerName, folderName);
+            return workspace.isExistingFolder(containerName, folderName);
+        } catch (IllegalPathException e) {
+            LOGGER.info(e);
+            return false;
+        }
+    }
+
+    @Override
+    public void putObject(String containerName, String objectName, Object object)
+        throws ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                objectName);
+        InputStream stream = null;
+        try {
+            workspace.checkWorkspaceFileSanity(containerName, objectName);
+            stream = toInputStream(object);
+            workspace.putObject(containerName, objectName, stream);
+        } catch (IllegalPathException | IllegalArgumentException | ContentAddressableStorageException e) {
+            throw new ContentAddressableStorageServerException(e);
+        } finally {
+            StreamUtils.closeSilently(stream);
+        }
+    }
+
+    @Override
+    public void putAtomicObject(String containerName, String objectName, InputStream stream, long size)
+        throws ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                objectName);
+        if (size < 0) {
+            throw new IllegalArgumentException("Invalid size " + size);
+        }
+        try {
+            workspace.checkWorkspaceFileSanity(containerName, objectName);
+            workspace.putAtomicObject(containerName, objectName, stream, size);
+        } catch (IllegalPathException | ContentAddressableStorageException e) {
+            throw new ContentAddressableStorageServerException(e);
+        } finally {
+            StreamUtils.closeSilently(stream);
+        }
+    }
+
+    @Override
+    public Response getObject(String containerName, String objectName)
+        throws ContentAddressableStorageNotFoundException, ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                objectName);
+        return getLocalObject(containerName, objectName, null, null);
+    }
+
+    @Override
+    public Response getObject(String containerName, String objectName, long offset, Long maxChunkSize)
+        throws ContentAddressableStorageNotFoundException, ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                objectName);
+        return getLocalObject(containerName, objectName, offset, maxChunkSize);
+    }
+
+    private Response getLocalObject(String containerName, String objectName, Long offset, Long maxChunkSize)
+        throws ContentAddressableStorageNotFoundException, ContentAddressableStorageServerException {
+        try {
+            workspace.checkWorkspaceFileSanity(containerName, objectName);
+            Response response = workspace.getObject(containerName, objectName, offset, maxChunkSize);
+            return new LocalObjectResponse((InputStream) response.getEntity(), response.getMetadata());
+        } catch (ContentAddressableStorageNotFoundException e) {
+            throw e;
+        } catch (IllegalPathException | IllegalArgumentException | ContentAddressableStorageException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public Response bulkGetObjects(String containerName, List<String> objectURIs)
+        throws ContentAddressableStorageServerException, ContentAddressableStorageNotFoundException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                objectURIs);
+        ParametersChecker.checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(),
+            objectURIs.toArray());
+
+        // Check file existence & compute total stream size, as done by workspace server
+        List<Long> fileSizes = new ArrayList<>();
+        for (String objectURI : objectURIs) {
+            try {
+                workspace.checkWorkspaceFileSanity(containerName, objectURI);
+                fileSizes.add(workspace.getObjectInformation(containerName, objectURI).get("size").asLong());
+            } catch (ContentAddressableStorageNotFoundException e) {
+                throw e;
+            } catch (IllegalPathException | ContentAddressableStorageException e) {
+                throw new ContentAddressableStorageServerException(e);
+            }
+        }
+
+        MultivaluedHashMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.putSingle(VitamHttpHeader.X_CONTENT_LENGTH.getName(),
+            MultiplexedStreamWriter.getTotalStreamSize(fileSizes));
+        return new LocalObjectResponse(
+            new MultiplexedObjectsInputStream(containerName, objectURIs, fileSizes), headers);
+    }
+
+    @Override
+    public void deleteObject(String containerName, String objectName)
+        throws ContentAddressableStorageNotFoundException, ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                objectName);
+        try {
+            workspace.checkWorkspaceFileSanity(containerName, objectName);
+            workspace.deleteObject(containerName, objectName);
+        } catch (ContentAddressableStorageNotFoundException | ContentAddressableStorageServerException e) {
+            throw e;
+        } catch (IllegalPathException | IllegalArgumentException | ContentAddressableStorageException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public boolean isExistingObject(String containerName, String objectName)
+        throws ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_FOLDER_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                objectName);
+        try {
+            workspace.checkWorkspaceFileSanity(containerName, objectName);
+            return workspace.isExistingObject(containerName, objectName);
+        } catch (IllegalPathException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public RequestResponse<List<URI>> getListUriDigitalObjectFromFolder(String containerName, String folderName)
+        throws ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_FOLDER_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                folderName);
+        try {
+            workspace.checkWorkspaceDirSanity(containerName, folderName);
+            List<URI> uris = workspace.getListUriDigitalObjectFromFolder(containerName, folderName);
+            return new RequestResponseOK<List<URI>>().addResult(uris == null ? Collections.<URI>emptyList() : uris);
+        } catch (ContentAddressableStorageNotFoundException e) {
+            LOGGER.info(e);
+            return new RequestResponseOK<List<URI>>().addResult(Collections.<URI>emptyList());
+        } catch (IllegalPathException | IllegalArgumentException | ContentAddressableStorageException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public RequestResponse<Map<String, FileParams>> getFilesWithParamsFromFolder(String containerName,
+        String folderName)
+        throws ContentAddressableStorageServerException {
+        ParametersChecker.checkParameter(ErrorMessage.CONTAINER_FOLDER_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(),
+            containerName, folderName);
+        try {
+            workspace.checkWorkspaceDirSanity(containerName, folderName);
+            Map<String, FileParams> filesMap = workspace.getFilesWithParamsFromFolder(containerName, folderName);
+            return new RequestResponseOK<Map<String, FileParams>>()
+                .addResult(filesMap == null ? Collections.emptyMap() : filesMap);
+        } catch (ContentAddressableStorageNotFoundException e) {
+            LOGGER.info(e);
+            return new RequestResponseOK<Map<String, FileParams>>().addResult(Collections.emptyMap());
+        } catch (IllegalPathException | IllegalArgumentException | ContentAddressableStorageException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public void compress(String containerName, CompressInformation compressInformation)
+        throws ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_NAME_IS_A_MANDATORY_PARAMETER.getMessage(), containerName);
+        ParametersChecker.checkParameter(ErrorMessage.CONTAINER_FOLDER_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(),
+            compressInformation);
+        try {
+            workspace.checkWorkspaceContainerSanity(containerName);
+            workspace.compress(containerName, compressInformation.getFiles(), compressInformation.getOutputFile(),
+                compressInformation.getOutputContainer());
+        } catch (IOException | IllegalPathException | IllegalArgumentException | ArchiveException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public void uncompressObject(String containerName, String folderName, String archiveType,
+        InputStream inputStreamObject)
+        throws ContentAddressableStorageException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_FOLDER_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                folderName, archiveType);
+        try {
+            if (!isExistingContainer(containerName)) {
+                LOGGER.debug(ErrorMessage.CONTAINER_NOT_FOUND.getMessage());
+                throw new ContentAddressableStorageNotFoundException(ErrorMessage.CONTAINER_NOT_FOUND.getMessage());
+            }
+            if (isExistingFolder(containerName, folderName)) {
+                LOGGER.warn(ErrorMessage.FOLDER_ALREADY_EXIST.getMessage());
+                throw new ContentAddressableStorageAlreadyExistException(
+                    ErrorMessage.FOLDER_ALREADY_EXIST.getMessage());
+            }
+            workspace.checkWorkspaceDirSanity(containerName, folderName);
+            workspace.uncompressObject(containerName, folderName, archiveType, inputStreamObject);
+        } catch (IllegalPathException | IllegalArgumentException | ContentAddressableStorageCompressedFileException e) {
+            throw new ContentAddressableStorageZipException(ErrorMessage.INTERNAL_SERVER_ERROR.getMessage(), e);
+        } finally {
+            StreamUtils.closeSilently(inputStreamObject);
+        }
+    }
+
+    @Override
+    public String computeObjectDigest(String containerName, String objectName, DigestType algo)
+        throws ContentAddressableStorageException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                objectName, algo);
+        try {
+            workspace.checkWorkspaceFileSanity(containerName, objectName);
+        } catch (IllegalPathException e) {
+            throw new ContentAddressableStorageBadRequestException(e.getMessage());
+        }
+        return workspace.computeObjectDigest(containerName, objectName, algo);
+    }
+
+    @Override
+    RequestResponse<JsonNode> getObjectInformation(String containerName, String objectName)
+        throws ContentAddressableStorageNotFoundException, ContentAddressableStorageServerException {
+        ParametersChecker
+            .checkParameter(ErrorMessage.CONTAINER_OBJECT_NAMES_ARE_A_MANDATORY_PARAMETER.getMessage(), containerName,
+                objectName);
+        try {
+            workspace.checkWorkspaceFileSanity(containerName, objectName);
+            return new RequestResponseOK<JsonNode>()
+                .addResult(workspace.getObjectInformation(containerName, objectName));
+        } catch (ContentAddressableStorageNotFoundException e) {
+            throw e;
+        } catch (IllegalPathException | IllegalArgumentException | ContentAddressableStorageException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    @Override
+    public void purgeOldFilesInContainer(String containerName, TimeToLive timeToLive)
+        throws ContentAddressableStorageServerException {
+        ParametersChecker.checkParameter("Mandatory parameters", containerName, timeToLive);
+        try {
+            workspace.checkWorkspaceContainerSanity(containerName);
+            workspace.purgeOldFilesInContainer(containerName, timeToLive);
+        } catch (IllegalPathException | IllegalArgumentException | ContentAddressableStorageException e) {
+            throw new ContentAddressableStorageServerException(e);
+        }
+    }
+
+    private static InputStream toInputStream(Object object) throws ContentAddressableStorageServerException {
+        if (object instanceof InputStream) {
+            return (InputStream) object;
+        }
+        if (object instanceof byte[]) {
+            return new ByteArrayInputStream((byte[]) object);
+        }
+        if (object instanceof String) {
+            return new ByteArrayInputStream(((String) object).getBytes(StandardCharsets.UTF_8));
+        }
+        throw new ContentAddressableStorageServerException(
+            "Unsupported object type " + (object == null ? null : object.getClass().getName()));
+    }
+
+    /**
+     * Multiplexed stream (same format as the one produced by {@link MultiplexedStreamWriter}) of several workspace
+     * objects. Object files are opened lazily, one at a time.
+     */
+    private class MultiplexedObjectsInputStream extends InputStream {
+        private final String containerName;
+        private final List<String> objectURIs;
+        private final List<Long> fileSizes;
+        private int nextIndex = 0;
+        private boolean eofWritten = false;
+        private InputStream sizeStream;
+        private InputStream objectStream;
+
+        MultiplexedObjectsInputStream(String containerName, List<String> objectURIs, List<Long> fileSizes) {
+            this.containerName = containerName;
+            this.objectURIs = objectURIs;
+            this.fileSizes = fileSizes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] buffer = new byte[1];
+            int read = read(buffer, 0, 1);
+            return read == -1 ? -1 : buffer[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                if (sizeStream != null) {
+                    int read = sizeStream.read(b, off, len);
+                    if (read != -1) {
+                        return read;
+                    }
+                    sizeStream = null;
+                }
+                if (objectStream != null) {
+                    int read = objectStream.read(b, off, len);
+                    if (read != -1) {
+                        return read;
+                    }
+                    objectStream.close();
+                    objectStream = null;
+                }
+                if (!openNext()) {
+                    return -1;
+                }
+            }
+        }
+
+        private boolean openNext() throws IOException {
+            if (nextIndex < objectURIs.size()) {
+                long size = fileSizes.get(nextIndex);
+                sizeStream = longToStream(size);
+                try {
+                    Response response = workspace.getObject(containerName, objectURIs.get(nextIndex), null, null);
+                    objectStream = new ExactSizeInputStream((InputStream) response.getEntity(), size);
+                } catch (ContentAddressableStorageException e) {
+                    throw new IOException("Could not read object " + objectURIs.get(nextIndex), e);
+                }
+                nextIndex++;
+                return true;
+            }
+            if (!eofWritten) {
+                sizeStream = longToStream(EOF_MARKER);
+                eofWritten = true;
+                return true;
+            }
+            return false;
+        }
+
+        private InputStream longToStream(long value) throws IOException {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(Long.BYTES);
+            try (DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
+                dataOutputStream.writeLong(value);
+            }
+            return new ByteArrayInputStream(byteArrayOutputStream.toByteArray());
+        }
+
+        @Override
+        public void close() {
+            StreamUtils.closeSilently(objectStream);
+            objectStream = null;
+            sizeStream = null;
+            nextIndex = objectURIs.size();
+            eofWritten = true;
+        }
+    }
+}
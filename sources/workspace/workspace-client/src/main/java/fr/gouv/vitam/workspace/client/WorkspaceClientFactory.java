@@ -30,7 +30,10 @@ import fr.gouv.vitam.common.ParametersChecker;
 import fr.gouv.vitam.common.client.VitamClientFactory;
 import fr.gouv.vitam.common.client.configuration.ClientConfiguration;
 import fr.gouv.vitam.common.client.configuration.ClientConfigurationImpl;
+import fr.gouv.vitam.common.storage.StorageConfiguration;
+import fr.gouv.vitam.workspace.common.WorkspaceFileSystem;
 
+import java.io.IOException;
 import java.net.URI;
 
 /**
@@ -41,6 +44,8 @@ public class WorkspaceClientFactory extends VitamClientFactory<WorkspaceClient>
     private static final WorkspaceClientFactory WORKSPACE_COLLECT_CLIENT_FACTORY =
         new WorkspaceClientFactory("/workspace-collect/v1");
 
+    private volatile WorkspaceFileSystem localWorkspace;
+
     private WorkspaceClientFactory(String resourcePath) {
         super(null, resourcePath);
     }
@@ -67,9 +72,37 @@ public class WorkspaceClientFactory extends VitamClientFactory<WorkspaceClient>
 
     @Override
     public WorkspaceClient getClient() {
+        WorkspaceFileSystem workspace = localWorkspace;
+        if (workspace != null) {
+            return new LocalWorkspaceClient(this, workspace);
+        }
         return new WorkspaceClient(this);
     }
 
+    /**
+     * Enable (or disable) direct file system access to the workspace storage, bypassing workspace REST API.
+     * Only relevant when the workspace storage volume is shared with the current component.
+     *
+     * @param storagePath workspace storage path (null to get back to REST API access)
+     * @param workspaceType type of workspace VITAM | COLLECT
+     * @throws IOException when workspace storage path cannot be accessed
+     */
+    public static void changeModeToLocalFileSystem(String storagePath, WorkspaceType workspaceType)
+        throws IOException {
+        WorkspaceFileSystem workspace = null;
+        if (storagePath != null) {
+            workspace = new WorkspaceFileSystem(new StorageConfiguration().setStoragePath(storagePath));
+        }
+        getInstance(workspaceType).localWorkspace = workspace;
+    }
+
+    /**
+     * @return true if workspace storage is accessed directly through the file system
+     */
+    public boolean isLocalFileSystemMode() {
+        return localWorkspace != null;
+    }
+
     /**
      * change mode client by server url
      *
@@ -0,0 +1,246 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.workspace.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import fr.gouv.vitam.common.digest.Digest;
+import fr.gouv.vitam.common.digest.DigestType;
+import fr.gouv.vitam.common.model.RequestResponseOK;
+import fr.gouv.vitam.common.model.WorkspaceConstants;
+import fr.gouv.vitam.common.server.application.VitamHttpHeader;
+import fr.gouv.vitam.common.stream.ExactSizeInputStream;
+import fr.gouv.vitam.common.stream.MultiplexedStreamReader;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageNotFoundException;
+import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageServerException;
+import fr.gouv.vitam.workspace.api.model.FileParams;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LocalWorkspaceClientTest {
+
+    private static final String CONTAINER_NAME = "myContainer";
+    private static final String FOLDER_NAME = "myFolder";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File storageFolder;
+    private WorkspaceClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        storageFolder = temporaryFolder.newFolder();
+        WorkspaceClientFactory.changeModeToLocalFileSystem(storageFolder.getAbsolutePath(), WorkspaceType.VITAM);
+        client = WorkspaceClientFactory.getInstance().getClient();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        WorkspaceClientFactory.changeModeToLocalFileSystem(null, WorkspaceType.VITAM);
+    }
+
+    @Test
+    public void givenLocalModeThenLocalClientReturned() {
+        // Given / When / Then
+        assertThat(WorkspaceClientFactory.getInstance().isLocalFileSystemMode()).isTrue();
+        assertThat(client).isInstanceOf(LocalWorkspaceClient.class);
+        assertThat(WorkspaceClientFactory.getInstance(WorkspaceType.COLLECT).isLocalFileSystemMode()).isFalse();
+    }
+
+    @Test
+    public void givenContainerAndFolderWhenCreatedThenExistOnSharedVolume() throws Exception {
+        // Given
+        client.createContainer(CONTAINER_NAME);
+        client.createFolder(CONTAINER_NAME, FOLDER_NAME);
+
+        // When
+        client.createContainer(CONTAINER_NAME);
+        client.createFolder(CONTAINER_NAME, FOLDER_NAME);
+
+        // Then
+        assertThat(client.isExistingContainer(CONTAINER_NAME)).isTrue();
+        assertThat(client.isExistingFolder(CONTAINER_NAME, FOLDER_NAME)).isTrue();
+        assertThat(new File(storageFolder, CONTAINER_NAME + "/" + FOLDER_NAME)).isDirectory();
+
+        client.deleteFolder(CONTAINER_NAME, FOLDER_NAME);
+        assertThat(client.isExistingFolder(CONTAINER_NAME, FOLDER_NAME)).isFalse();
+        client.deleteContainer(CONTAINER_NAME, true);
+        assertThat(client.isExistingContainer(CONTAINER_NAME)).isFalse();
+    }
+
+    @Test
+    public void givenObjectsWhenPutThenReadable() throws Exception {
+        // Given
+        client.createContainer(CONTAINER_NAME);
+
+        // When
+        client.putObject(CONTAINER_NAME, FOLDER_NAME + "/object1", toStream("data1"));
+        client.putObject(CONTAINER_NAME, FOLDER_NAME + "/object2", "data2".getBytes(StandardCharsets.UTF_8));
+        client.putAtomicObject(CONTAINER_NAME, FOLDER_NAME + "/object3", toStream("data3"), 5L);
+
+        // Then
+        assertThat(readObject(client.getObject(CONTAINER_NAME, FOLDER_NAME + "/object1"))).isEqualTo("data1");
+        assertThat(readObject(client.getObject(CONTAINER_NAME, FOLDER_NAME + "/object2"))).isEqualTo("data2");
+        assertThat(readObject(client.getObject(CONTAINER_NAME, FOLDER_NAME + "/object3"))).isEqualTo("data3");
+        assertThat(client.isExistingObject(CONTAINER_NAME, FOLDER_NAME + "/object1")).isTrue();
+
+        RequestResponseOK<List<URI>> uris =
+            (RequestResponseOK<List<URI>>) client.getListUriDigitalObjectFromFolder(CONTAINER_NAME, FOLDER_NAME);
+        assertThat(uris.getFirstResult()).hasSize(3);
+        RequestResponseOK<Map<String, FileParams>> files =
+            (RequestResponseOK<Map<String, FileParams>>) client.getFilesWithParamsFromFolder(CONTAINER_NAME,
+                FOLDER_NAME);
+        assertThat(files.getFirstResult()).containsOnlyKeys("object1", "object2", "object3");
+
+        client.deleteObject(CONTAINER_NAME, FOLDER_NAME + "/object1");
+        assertThat(client.isExistingObject(CONTAINER_NAME, FOLDER_NAME + "/object1")).isFalse();
+    }
+
+    @Test
+    public void givenObjectWhenGetChunkThenHeadersAndContentMatchRestApi() throws Exception {
+        // Given
+        client.createContainer(CONTAINER_NAME);
+        client.putObject(CONTAINER_NAME, "object", toStream("0123456789"));
+
+        // When
+        Response response = client.getObject(CONTAINER_NAME, "object", 2L, 5L);
+
+        // Then
+        assertThat(response.getHeaderString(VitamHttpHeader.X_CONTENT_LENGTH.getName())).isEqualTo("10");
+        assertThat(response.getHeaderString(VitamHttpHeader.X_CHUNK_LENGTH.getName())).isEqualTo("5");
+        assertThat(readObject(response)).isEqualTo("23456");
+    }
+
+    @Test
+    public void givenObjectsWhenBulkGetThenMultiplexedStreamReturned() throws Exception {
+        // Given
+        client.createContainer(CONTAINER_NAME);
+        client.putObject(CONTAINER_NAME, "object1", toStream("data1"));
+        client.putObject(CONTAINER_NAME, "object2", toStream(""));
+        client.putObject(CONTAINER_NAME, "object3", toStream("data-3"));
+
+        // When
+        Response response = client.bulkGetObjects(CONTAINER_NAME, Arrays.asList("object1", "object2", "object3"));
+
+        // Then
+        assertThat(response.getHeaderString(VitamHttpHeader.X_CONTENT_LENGTH.getName()))
+            .isEqualTo(String.valueOf(4 * Long.BYTES + 11));
+        try (MultiplexedStreamReader reader = new MultiplexedStreamReader(response.readEntity(InputStream.class))) {
+            assertThat(readEntry(reader.readNextEntry())).isEqualTo("data1");
+            assertThat(readEntry(reader.readNextEntry())).isEqualTo("");
+            assertThat(readEntry(reader.readNextEntry())).isEqualTo("data-3");
+            assertThat(reader.readNextEntry()).isEmpty();
+        } finally {
+            response.close();
+        }
+    }
+
+    @Test
+    public void givenMissingObjectWhenGetThenNotFound() throws Exception {
+        // Given
+        client.createContainer(CONTAINER_NAME);
+
+        // When / Then
+        assertThatThrownBy(() -> client.getObject(CONTAINER_NAME, "missing"))
+            .isInstanceOf(ContentAddressableStorageNotFoundException.class);
+        assertThatThrownBy(() -> client.bulkGetObjects(CONTAINER_NAME, List.of("missing")))
+            .isInstanceOf(ContentAddressableStorageNotFoundException.class);
+        assertThatThrownBy(() -> client.deleteObject(CONTAINER_NAME, "missing"))
+            .isInstanceOf(ContentAddressableStorageNotFoundException.class);
+    }
+
+    @Test
+    public void givenIllegalPathThenRejectedBeforeFileSystemAccess() throws Exception {
+        // Given
+        client.createContainer(CONTAINER_NAME);
+
+        // When / Then
+        assertThatThrownBy(() -> client.putObject(CONTAINER_NAME, "../escaped", toStream("data")))
+            .isInstanceOf(ContentAddressableStorageServerException.class);
+        assertThatThrownBy(() -> client.getObject(CONTAINER_NAME, "../../etc/passwd"))
+            .isInstanceOf(ContentAddressableStorageServerException.class);
+        assertThatThrownBy(() -> client.createContainer(".."))
+            .isInstanceOf(ContentAddressableStorageServerException.class);
+        assertThat(client.isExistingFolder(CONTAINER_NAME, "../" + CONTAINER_NAME)).isFalse();
+        assertThat(new File(storageFolder, "escaped")).doesNotExist();
+    }
+
+    @Test
+    public void givenObjectWhenComputeDigestThenDigestReturned() throws Exception {
+        // Given
+        client.createContainer(CONTAINER_NAME);
+        client.putObject(CONTAINER_NAME, "object", toStream("data"));
+        Digest digest = new Digest(DigestType.SHA512).update("data".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        String objectDigest = client.computeObjectDigest(CONTAINER_NAME, "object", DigestType.SHA512);
+
+        // Then
+        assertThat(objectDigest).isEqualTo(digest.digestHex());
+        assertThat(client.checkObject(CONTAINER_NAME, "object", digest.digestHex(), DigestType.SHA512)).isTrue();
+        JsonNode objectInformation =
+            ((RequestResponseOK<JsonNode>) client.getObjectInformation(CONTAINER_NAME, "object")).getFirstResult();
+        assertThat(objectInformation.get("size").asLong()).isEqualTo(4L);
+        assertThat(client.getFreespacePercent().get(WorkspaceConstants.FREESPACE).asInt()).isBetween(0, 100);
+    }
+
+    private static InputStream toStream(String data) {
+        return new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readObject(Response response) throws Exception {
+        try (InputStream inputStream = response.readEntity(InputStream.class)) {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        } finally {
+            response.close();
+        }
+    }
+
+    private static String readEntry(Optional<ExactSizeInputStream> entry) throws Exception {
+        assertThat(entry).isPresent();
+        return IOUtils.toString(entry.get(), StandardCharsets.UTF_8);
+    }
+}
@@ -26,14 +26,17 @@
  */
 package fr.gouv.vitam.workspace.common;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import fr.gouv.vitam.common.CommonMediaType;
 import fr.gouv.vitam.common.FileUtil;
 import fr.gouv.vitam.common.ParametersChecker;
+import fr.gouv.vitam.common.VitamConfiguration;
 import fr.gouv.vitam.common.client.AbstractMockClient;
 import fr.gouv.vitam.common.digest.Digest;
 import fr.gouv.vitam.common.digest.DigestType;
+import fr.gouv.vitam.common.exception.InvalidParseOperationException;
 import fr.gouv.vitam.common.guid.GUIDFactory;
 import fr.gouv.vitam.common.json.JsonHandler;
 import fr.gouv.vitam.common.logging.VitamLogger;
@@ -50,6 +53,7 @@ import fr.gouv.vitam.common.storage.compress.VitamArchiveStreamFactory;
 import fr.gouv.vitam.common.storage.constants.ErrorMessage;
 import fr.gouv.vitam.common.stream.ExactSizeInputStream;
 import fr.gouv.vitam.common.stream.StreamUtils;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageAlreadyExistException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageCompressedFileException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageException;
@@ -66,6 +70,7 @@ import org.apache.commons.compress.archivers.ArchiveStreamFactory;
 import org.apache.commons.compress.archivers.zip.Zip64Mode;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.apache.commons.compress.utils.BoundedInputStream;
 import org.apache.commons.compress.utils.IOUtils;
 import org.apache.commons.io.FileUtils;
@@ -98,12 +103,20 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
+import java.util.zip.ZipException;
 
 import static fr.gouv.vitam.common.stream.StreamUtils.closeSilently;
 
@@ -115,7 +128,17 @@ public class WorkspaceFileSystem implements WorkspaceContentAddressableStorage {
     private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(WorkspaceFileSystem.class);
     private static final String LINUX_PATH_SEPARATOR = "/";
 
+    /**
+     * Suffix of the entries manifest (relative path, size & digest of each extracted file) written next to the folder
+     * an archive has been extracted to
+     */
+    public static final String EXTRACTION_MANIFEST_SUFFIX = ".entries.json";
+
+    private static final TypeReference<Map<String, FileParams>> FILE_PARAMS_MAP_TYPE = new TypeReference<>() {
+    };
+
     private final Path root;
+    private final int extractionThreads;
 
     /**
      * Default constructor Define the root of workspace with the storagePath property from configuration
@@ -128,6 +151,7 @@ public class WorkspaceFileSystem implements WorkspaceContentAddressableStorage {
         ParametersChecker.checkParameter("Storage path configuration have to be define",
             configuration.getStoragePath());
         root = Paths.get(new File(configuration.getStoragePath()).getCanonicalPath());
+        extractionThreads = Math.max(1, configuration.getExtractionThreads());
         if (!Files.exists(root)) {
             Files.createDirectories(root);
         }
@@ -367,6 +391,7 @@ public class WorkspaceFileSystem implements WorkspaceContentAddressableStorage {
         }
 
         createFolder(containerName, folderName);
+        deleteExtractionManifest(containerName, folderName);
         extractArchiveInputStreamOnContainer(containerName, folderName, CommonMediaType.valueOf(archiveMimeType),
             inputStreamObject);
 
@@ -658,6 +683,7 @@ public class WorkspaceFileSystem implements WorkspaceContentAddressableStorage {
 
         try {
             Path folderPath = getFolderPath(containerName, folderName);
+            final Map<String, FileParams> extractedEntries = readExtractionManifest(containerName, folderName);
             final Map<String, FileParams> filesWithParamsMap = new HashMap<>();
             Files.walkFileTree(folderPath, new SimpleFileVisitor<>() {
                 @Override
@@ -668,6 +694,12 @@ public class WorkspaceFileSystem implements WorkspaceContentAddressableStorage {
                     FileParams fileParams = new FileParams();
                     String pathFile = file.toString().replace(folderPath + "/", "");
                     fileParams.setSize(file.toFile().length());
+                    // Digest computed at extraction time is only reused if the file has not been modified since
+                    FileParams extractedEntry = extractedEntries.get(pathFile);
+                    if (extractedEntry != null && extractedEntry.getSize() == fileParams.getSize()) {
+                        fileParams.setDigest(extractedEntry.getDigest());
+                        fileParams.setDigestType(extractedEntry.getDigestType());
+                    }
                     filesWithParamsMap.put(pathFile, fileParams);
                     return FileVisitResult.CONTINUE;
                 }
@@ -679,7 +711,9 @@ public class WorkspaceFileSystem implements WorkspaceContentAddressableStorage {
     }
 
     /**
-     * Extract compressed SIP and push the objects on the SIP folder
+     * Extract compressed SIP and push the objects on the SIP folder. The size and digest of each entry are computed
+     * while it is written, and persisted in an entries manifest next to the folder (see
+     * {@link #EXTRACTION_MANIFEST_SUFFIX}).
      *
      * @param containerName GUID
      * @param folderName folder Name
@@ -692,52 +726,223 @@ public class WorkspaceFileSystem implements WorkspaceContentAddressableStorage {
         final MediaType archiverType, final InputStream inputStreamObject)
         throws ContentAddressableStorageException {
 
-        try (final InputStream inputStreamClosable = StreamUtils.getRemainingReadOnCloseInputStream(inputStreamObject);
-            final ArchiveInputStream archiveInputStream = new VitamArchiveStreamFactory()
-                .createArchiveInputStream(archiverType, inputStreamClosable)) {
+        try (final InputStream inputStreamClosable = StreamUtils
+            .getRemainingReadOnCloseInputStream(inputStreamObject)) {
+
+            File folder = checkWorkspaceDirSanity(containerName, folderName);
+
+            Map<String, FileParams> extractedEntries;
+            if (extractionThreads > 1 && CommonMediaType.ZIP.equals(CommonMediaType.mimeTypeOf(archiverType))) {
+                extractedEntries = extractZipArchive(containerName, folder, inputStreamClosable);
+            } else {
+                extractedEntries = extractArchiveStream(folder, archiverType, inputStreamClosable);
+            }
+
+            if (extractedEntries.isEmpty()) {
+                throw new ContentAddressableStorageCompressedFileException("File is empty");
+            }
+
+            JsonHandler.writeAsFile(extractedEntries, getExtractionManifestPath(containerName, folderName).toFile());
+        } catch (final IOException | IllegalPathException | ArchiveException | InvalidParseOperationException e) {
+            throw new ContentAddressableStorageException(e);
+        }
+    }
+
+    private Map<String, FileParams> extractArchiveStream(File folder, MediaType archiverType,
+        InputStream inputStream)
+        throws IOException, ArchiveException, ZipFilesNameNotAllowedException {
+
+        try (final ArchiveInputStream archiveInputStream = new VitamArchiveStreamFactory()
+            .createArchiveInputStream(archiverType, inputStream)) {
 
             ArchiveEntry entry;
-            boolean isEmpty = true;
             boolean manifestFileFound = false;
+            final Map<String, FileParams> extractedEntries = new LinkedHashMap<>();
+            final DigestType digestType = VitamConfiguration.getDefaultDigestType();
             // create entryInputStream to resolve the stream closed problem
             final ArchiveEntryInputStream entryInputStream = new ArchiveEntryInputStream(archiveInputStream);
 
-            File folder = checkWorkspaceDirSanity(containerName, folderName);
-
             while ((entry = archiveInputStream.getNextEntry()) != null) {
                 if (archiveInputStream.canReadEntryData(entry)) {
                     if (entry.isDirectory()) {
                         continue;
                     }
-                    isEmpty = false;
 
-                    final String entryName = entry.getName();
+                    final Path target = getEntryTargetPath(folder, entry.getName());
+                    FileUtils.forceMkdirParent(target.toFile());
 
-                    File file;
-                    try {
-                        String[] subPaths = entryName.split(LINUX_PATH_SEPARATOR);
-                        file = SafeFileChecker.checkSafeFilePath(folder.getPath(), subPaths);
-                    } catch (IllegalPathException e) {
-                        throw new ZipFilesNameNotAllowedException(
-                            String.format("%s file or folder not allowed name: '", entryName + "'"), e);
-                    }
-
-                    FileUtils.forceMkdirParent(file);
-
-                    final Path target = file.toPath();
-                    Files.copy(entryInputStream, target, StandardCopyOption.REPLACE_EXISTING);
+                    final Digest digest = new Digest(digestType);
+                    long size = Files.copy(digest.getDigestInputStream(entryInputStream), target,
+                        StandardCopyOption.REPLACE_EXISTING);
 
+                    Path extractedFile = target;
                     if (!manifestFileFound && isManifestFileName(entry.getName())) {
-                        Files.move(target, target.resolveSibling(IngestWorkflowConstants.SEDA_FILE));
+                        extractedFile = target.resolveSibling(IngestWorkflowConstants.SEDA_FILE);
+                        Files.move(target, extractedFile);
                         manifestFileFound = true;
                     }
+                    extractedEntries.put(getEntryRelativePath(folder, extractedFile),
+                        new FileParams(size, digest.digestHex(), digestType.getName()));
                 }
                 entryInputStream.setClosed(false);
             }
-            if (isEmpty) {
-                throw new ContentAddressableStorageCompressedFileException("File is empty");
+            return extractedEntries;
+        }
+    }
+
+    /**
+     * Spool the ZIP archive to a temporary file of the container, then extract its entries concurrently thanks to
+     * random access. Falls back to stream extraction when the archive cannot be read as a ZIP file, or when entries
+     * cannot be safely extracted concurrently.
+     *
+     * The spooled archive is kept until extraction completes : disk usage is the archive size plus the extracted size.
+     */
+    private Map<String, FileParams> extractZipArchive(String containerName, File folder, InputStream inputStream)
+        throws IOException, ArchiveException, ZipFilesNameNotAllowedException {
+
+        Path zipFile = Files.createTempFile(getContainerPath(containerName), ".extract-", ".zip");
+        try {
+            Files.copy(inputStream, zipFile, StandardCopyOption.REPLACE_EXISTING);
+
+            Map<String, FileParams> extractedEntries = extractZipFileInParallel(folder, zipFile);
+            if (extractedEntries != null) {
+                return extractedEntries;
+            }
+
+            try (InputStream zipInputStream = Files.newInputStream(zipFile)) {
+                return extractArchiveStream(folder, CommonMediaType.ZIP_TYPE, zipInputStream);
+            }
+        } finally {
+            Files.deleteIfExists(zipFile);
+        }
+    }
+
+    /**
+     * @return extracted entries, or null if the archive has to be extracted sequentially
+     */
+    private Map<String, FileParams> extractZipFileInParallel(File folder, Path zipFile)
+        throws IOException, ZipFilesNameNotAllowedException {
+
+        ZipFile zip;
+        try {
+            zip = new ZipFile(zipFile.toFile());
+        } catch (ZipException e) {
+            LOGGER.warn("Could not open archive as a ZIP file, fallback to stream extraction", e);
+            return null;
+        }
+
+        try (zip) {
+            // Check all entry names before writing anything
+            final Map<Path, ZipArchiveEntry> entriesByTarget = new LinkedHashMap<>();
+            boolean manifestFileFound = false;
+            final Enumeration<ZipArchiveEntry> entries = zip.getEntriesInPhysicalOrder();
+            while (entries.hasMoreElements()) {
+                final ZipArchiveEntry entry = entries.nextElement();
+                if (entry.isDirectory() || !zip.canReadEntryData(entry)) {
+                    continue;
+                }
+                Path target = getEntryTargetPath(folder, entry.getName());
+                if (!manifestFileFound && isManifestFileName(entry.getName())) {
+                    target = target.resolveSibling(IngestWorkflowConstants.SEDA_FILE);
+                    manifestFileFound = true;
+                }
+                if (entriesByTarget.putIfAbsent(target, entry) != null) {
+                    LOGGER.warn("Duplicate archive entry " + entry.getName() + ", fallback to stream extraction");
+                    return null;
+                }
             }
-        } catch (final IOException | IllegalPathException | ArchiveException e) {
+
+            checkUsableSpace(folder, entriesByTarget.values());
+
+            final DigestType digestType = VitamConfiguration.getDefaultDigestType();
+            final ExecutorService executor =
+                Executors.newFixedThreadPool(extractionThreads, VitamThreadFactory.getInstance());
+            try {
+                final Map<Path, Future<FileParams>> extractions = new LinkedHashMap<>();
+                for (Map.Entry<Path, ZipArchiveEntry> entry : entriesByTarget.entrySet()) {
+                    extractions.put(entry.getKey(),
+                        executor.submit(() -> extractZipEntry(zip, entry.getValue(), entry.getKey(), digestType)));
+                }
+
+                final Map<String, FileParams> extractedEntries = new LinkedHashMap<>();
+                for (Map.Entry<Path, Future<FileParams>> extraction : extractions.entrySet()) {
+                    extractedEntries.put(getEntryRelativePath(folder, extraction.getKey()),
+                        extraction.getValue().get());
+                }
+                return extractedEntries;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while extracting archive", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private void checkUsableSpace(File folder, Collection<ZipArchiveEntry> entries) throws IOException {
+        long extractedSize = 0L;
+        for (ZipArchiveEntry entry : entries) {
+            // Unknown sizes (-1) are ignored
+            extractedSize += Math.max(0L, entry.getSize());
+        }
+        long usableSpace = Files.getFileStore(folder.toPath()).getUsableSpace();
+        if (usableSpace < extractedSize) {
+            throw new IOException("Not enough disk space to extract archive : " + extractedSize +
+                " bytes required, " + usableSpace + " bytes available after archive spooling");
+        }
+    }
+
+    private FileParams extractZipEntry(ZipFile zip, ZipArchiveEntry entry, Path target, DigestType digestType)
+        throws IOException {
+        Files.createDirectories(target.getParent());
+        final Digest digest = new Digest(digestType);
+        try (InputStream entryInputStream = digest.getDigestInputStream(zip.getInputStream(entry))) {
+            long size = Files.copy(entryInputStream, target, StandardCopyOption.REPLACE_EXISTING);
+            return new FileParams(size, digest.digestHex(), digestType.getName());
+        }
+    }
+
+    private Path getEntryTargetPath(File folder, String entryName) throws ZipFilesNameNotAllowedException {
+        try {
+            String[] subPaths = entryName.split(LINUX_PATH_SEPARATOR);
+            return SafeFileChecker.checkSafeFilePath(folder.getPath(), subPaths).toPath();
+        } catch (IllegalPathException e) {
+            throw new ZipFilesNameNotAllowedException(
+                String.format("%s file or folder not allowed name: '", entryName + "'"), e);
+        }
+    }
+
+    private String getEntryRelativePath(File folder, Path extractedFile) {
+        return folder.toPath().relativize(extractedFile).toString();
+    }
+
+    private Path getExtractionManifestPath(String containerName, String folderName) {
+        return getObjectPath(containerName, folderName + EXTRACTION_MANIFEST_SUFFIX);
+    }
+
+    private Map<String, FileParams> readExtractionManifest(String containerName, String folderName) {
+        File manifestFile = getExtractionManifestPath(containerName, folderName).toFile();
+        if (!manifestFile.isFile()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return JsonHandler.getFromFileAsTypeReference(manifestFile, FILE_PARAMS_MAP_TYPE);
+        } catch (InvalidParseOperationException e) {
+            LOGGER.warn("Could not read extraction manifest of folder " + folderName, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private void deleteExtractionManifest(String containerName, String folderName)
+        throws ContentAddressableStorageException {
+        try {
+            Files.deleteIfExists(getExtractionManifestPath(containerName, folderName));
+        } catch (IOException e) {
             throw new ContentAddressableStorageException(e);
         }
     }
@@ -29,6 +29,8 @@ package fr.gouv.vitam.workspace.common;
 import com.google.common.collect.Lists;
 import fr.gouv.vitam.common.CommonMediaType;
 import fr.gouv.vitam.common.PropertiesUtils;
+import fr.gouv.vitam.common.VitamConfiguration;
+import fr.gouv.vitam.common.digest.Digest;
 import fr.gouv.vitam.common.storage.StorageConfiguration;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageAlreadyExistException;
 import fr.gouv.vitam.workspace.api.exception.ContentAddressableStorageCompressedFileException;
@@ -456,6 +458,111 @@ public class WorkspaceFileSystemTest {
             );
     }
 
+    @Test
+    public void givenSIPWhenUncompressThenFilesWithParamsContainExtractionDigest() throws Exception {
+
+        // Given
+        storage.createContainer(CONTAINER_NAME);
+
+        // When
+        storage.uncompressObject(CONTAINER_NAME, SIP_FOLDER, CommonMediaType.ZIP,
+            getInputStream("SIP_OK_SubFolders.zip"));
+
+        // Then
+        assertThat(tempDir.toPath().resolve(CONTAINER_NAME)
+            .resolve(SIP_FOLDER + WorkspaceFileSystem.EXTRACTION_MANIFEST_SUFFIX)).exists().isRegularFile();
+
+        Map<String, FileParams> filesWithParams = storage.getFilesWithParamsFromFolder(CONTAINER_NAME, SIP_FOLDER);
+        assertThat(filesWithParams).containsOnlyKeys(MANIFEST, "Content/ID/13.txt");
+        FileParams fileParams = filesWithParams.get("Content/ID/13.txt");
+        assertThat(fileParams.getSize()).isEqualTo(6L);
+        assertThat(fileParams.getDigestType()).isEqualTo(VitamConfiguration.getDefaultDigestType().getName());
+        assertThat(fileParams.getDigest()).isEqualTo(
+            new Digest(VitamConfiguration.getDefaultDigestType()).update("test 1").digestHex());
+    }
+
+    @Test
+    public void givenExtractedFileOverwrittenWhenGetFilesWithParamsThenNoExtractionDigest() throws Exception {
+
+        // Given
+        storage.createContainer(CONTAINER_NAME);
+        storage.uncompressObject(CONTAINER_NAME, SIP_FOLDER, CommonMediaType.ZIP,
+            getInputStream("SIP_OK_SubFolders.zip"));
+        storage.deleteObject(CONTAINER_NAME, SIP_FOLDER + "/Content/ID/13.txt");
+        storage.putObject(CONTAINER_NAME, SIP_FOLDER + "/Content/ID/13.txt",
+            new ByteArrayInputStream("updated content".getBytes(StandardCharsets.UTF_8)));
+
+        // When
+        Map<String, FileParams> filesWithParams = storage.getFilesWithParamsFromFolder(CONTAINER_NAME, SIP_FOLDER);
+
+        // Then
+        FileParams fileParams = filesWithParams.get("Content/ID/13.txt");
+        assertThat(fileParams.getSize()).isEqualTo(15L);
+        assertThat(fileParams.getDigest()).isNull();
+        assertThat(fileParams.getDigestType()).isNull();
+        assertThat(filesWithParams.get(MANIFEST).getDigest()).isNotNull();
+    }
+
+    @Test
+    public void givenParallelExtractionWhenUncompressZipThenSameContentAsSequentialExtraction() throws Exception {
+
+        // Given
+        File parallelDir = tempFolder.newFolder();
+        WorkspaceFileSystem parallelStorage = new WorkspaceFileSystem(
+            new StorageConfiguration().setStoragePath(parallelDir.getCanonicalPath()).setExtractionThreads(4));
+        storage.createContainer(CONTAINER_NAME);
+        parallelStorage.createContainer(CONTAINER_NAME);
+
+        // When
+        storage.uncompressObject(CONTAINER_NAME, SIP_FOLDER, CommonMediaType.ZIP, getInputStream("sip.zip"));
+        parallelStorage.uncompressObject(CONTAINER_NAME, SIP_FOLDER, CommonMediaType.ZIP, getInputStream("sip.zip"));
+
+        // Then
+        Map<String, FileParams> expected = storage.getFilesWithParamsFromFolder(CONTAINER_NAME, SIP_FOLDER);
+        Map<String, FileParams> actual = parallelStorage.getFilesWithParamsFromFolder(CONTAINER_NAME, SIP_FOLDER);
+        assertThat(actual).containsKey(MANIFEST);
+        assertThat(actual).hasSameSizeAs(expected);
+        for (Map.Entry<String, FileParams> entry : expected.entrySet()) {
+            assertThat(actual.get(entry.getKey())).isEqualToComparingFieldByField(entry.getValue());
+            assertThat(actual.get(entry.getKey()).getDigest()).isNotNull();
+        }
+
+        // No spooled archive left in container
+        assertThat(parallelDir.toPath().resolve(CONTAINER_NAME).toFile().list())
+            .containsExactlyInAnyOrder(SIP_FOLDER, SIP_FOLDER + WorkspaceFileSystem.EXTRACTION_MANIFEST_SUFFIX);
+    }
+
+    @Test
+    public void givenParallelExtractionWhenSIPWithPathTraversalThenException() throws Exception {
+
+        // Given
+        WorkspaceFileSystem parallelStorage = new WorkspaceFileSystem(
+            new StorageConfiguration().setStoragePath(tempDir.getCanonicalPath()).setExtractionThreads(4));
+        parallelStorage.createContainer(CONTAINER_NAME);
+
+        // When / Then
+        assertThatThrownBy(() ->
+            parallelStorage.uncompressObject(CONTAINER_NAME, SIP_FOLDER, CommonMediaType.ZIP,
+                getInputStream("SIP_KO_PathTraversalInFileName.zip"))
+        ).isInstanceOf(ZipFilesNameNotAllowedException.class);
+        assertThat(tempDir.toPath().resolve(CONTAINER_NAME).resolve(SIP_FOLDER).toFile().list()).isEmpty();
+    }
+
+    @Test
+    public void givenParallelExtractionWhenTarGzSIPAndZipArchiveTypeThenException() throws Exception {
+
+        // Given
+        WorkspaceFileSystem parallelStorage = new WorkspaceFileSystem(
+            new StorageConfiguration().setStoragePath(tempDir.getCanonicalPath()).setExtractionThreads(4));
+        parallelStorage.createContainer(CONTAINER_NAME);
+
+        // When / Then
+        assertThatThrownBy(() ->
+            parallelStorage.uncompressObject(CONTAINER_NAME, SIP_FOLDER, CommonMediaType.ZIP,
+                getInputStream(SIP_TAR_GZ))
+        ).isInstanceOf(ContentAddressableStorageException.class);
+    }
+
     @Test
     public void givenSIPWithPathTraversalThenException() throws Exception {
 
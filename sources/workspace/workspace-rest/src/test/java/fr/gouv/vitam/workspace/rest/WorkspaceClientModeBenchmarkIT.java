@@ -0,0 +1,225 @@
+/*
+ * Copyright French Prime minister Office/SGMAP/DINSIC/Vitam Program (2015-2022)
+ *
+ * contact.vitam@culture.gouv.fr
+ *
+ * This software is a computer program whose purpose is to implement a digital archiving back-office system managing
+ * high volumetry securely and efficiently.
+ *
+ * This software is governed by the CeCILL 2.1 license under French law and abiding by the rules of distribution of free
+ * software. You can use, modify and/ or redistribute the software under the terms of the CeCILL 2.1 license as
+ * circulated by CEA, CNRS and INRIA at the following URL "https://cecill.info".
+ *
+ * As a counterpart to the access to the source code and rights to copy, modify and redistribute granted by the license,
+ * users are provided only with a limited warranty and the software's author, the holder of the economic rights, and the
+ * successive licensors have only limited liability.
+ *
+ * In this respect, the user's attention is drawn to the risks associated with loading, using, modifying and/or
+ * developing or reproducing the software by the user in light of its specific status of free software, that may mean
+ * that it is complicated to manipulate, and that also therefore means that it is reserved for developers and
+ * experienced professionals having in-depth computer knowledge. Users are therefore encouraged to load and test the
+ * software's suitability as regards their requirements in conditions enabling the security of their systems and/or data
+ * to be ensured and, more generally, to use and operate it in the same conditions as regards security.
+ *
+ * The fact that you are presently reading this means that you have had knowledge of the CeCILL 2.1 license and that you
+ * accept its terms.
+ */
+package fr.gouv.vitam.workspace.rest;
+
+import fr.gouv.vitam.common.PropertiesUtils;
+import fr.gouv.vitam.common.VitamConfiguration;
+import fr.gouv.vitam.common.client.VitamClientFactory;
+import fr.gouv.vitam.common.junit.JunitHelper;
+import fr.gouv.vitam.common.logging.VitamLogger;
+import fr.gouv.vitam.common.logging.VitamLoggerFactory;
+import fr.gouv.vitam.common.storage.StorageConfiguration;
+import fr.gouv.vitam.common.stream.MultiplexedStreamReader;
+import fr.gouv.vitam.common.thread.VitamThreadFactory;
+import fr.gouv.vitam.workspace.client.WorkspaceClient;
+import fr.gouv.vitam.workspace.client.WorkspaceClientFactory;
+import fr.gouv.vitam.workspace.client.WorkspaceType;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workspace access benchmark for ingest unit steps : workspace REST API vs direct file system access (shared volume).
+ *
+ * Simulates, for each archive unit, the workspace accesses of unit oriented ingest steps (unit extraction, unit
+ * checks & indexation) : unit JSON write, existence check, unit JSON read, atomic write of enriched unit.
+ * Then unit JSONs are read back by batch (bulk get) as done by storage of units.
+ *
+ * How to run :
+ * - Remove @Ignore annotation locally
+ */
+@Ignore("Workspace access mode comparison. To be run manually")
+public class WorkspaceClientModeBenchmarkIT {
+
+    private static final VitamLogger LOGGER = VitamLoggerFactory.getInstance(WorkspaceClientModeBenchmarkIT.class);
+
+    private static final int NB_THREADS = 16;
+    private static final int NB_UNITS = 20_000;
+    private static final int BULK_SIZE = 64;
+    private static final String UNIT_JSON = "{\"_id\":\"aeaqaaaaaaesicexaasycalystxo3zbaaaaq\",\"Title\":\"Unit title\"," +
+        "\"DescriptionLevel\":\"Item\",\"_up\":[\"aeaqaaaaaaesicexaasycalystxo3zbaaabq\"],\"_mgt\":{}}";
+
+    @ClassRule
+    public static TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static WorkspaceMain workspaceMain;
+    private static JunitHelper junitHelper;
+    private static int port;
+    private static String storagePath;
+
+    @BeforeClass
+    public static void setUpBeforeClass() throws Exception {
+        junitHelper = JunitHelper.getInstance();
+
+        storagePath = tempFolder.newFolder().getCanonicalPath();
+        final StorageConfiguration configuration = new StorageConfiguration();
+        configuration.setStoragePath(storagePath);
+        configuration.setJettyConfig("jetty-config-test.xml");
+        configuration.setContextPath("/workspace");
+        VitamConfiguration.setTenants(Collections.singletonList(0));
+        port = junitHelper.findAvailablePort();
+
+        File configurationFile = tempFolder.newFile();
+        PropertiesUtils.writeYaml(configurationFile, configuration);
+
+        workspaceMain = new WorkspaceMain(configurationFile.getAbsolutePath());
+        workspaceMain.start();
+        WorkspaceClientFactory.changeMode("http://localhost:" + port);
+    }
+
+    @AfterClass
+    public static void shutdownAfterClass() throws Exception {
+        WorkspaceClientFactory.changeModeToLocalFileSystem(null, WorkspaceType.VITAM);
+        workspaceMain.stop();
+        junitHelper.releasePort(port);
+        VitamClientFactory.resetConnections();
+    }
+
+    @Test
+    public void benchmarkIngestUnitSteps() throws Exception {
+
+        // Warm up both modes
+        runUnitSteps("warmup-rest", NB_UNITS / 10);
+        WorkspaceClientFactory.changeModeToLocalFileSystem(storagePath, WorkspaceType.VITAM);
+        runUnitSteps("warmup-local", NB_UNITS / 10);
+
+        // REST API
+        WorkspaceClientFactory.changeModeToLocalFileSystem(null, WorkspaceType.VITAM);
+        long[] restDurations = runUnitSteps("rest", NB_UNITS);
+
+        // Direct file system access
+        WorkspaceClientFactory.changeModeToLocalFileSystem(storagePath, WorkspaceType.VITAM);
+        long[] localDurations = runUnitSteps("local", NB_UNITS);
+
+        long restUnitsPerSecond = NB_UNITS * 1000L / Math.max(1L, restDurations[0]);
+        long localUnitsPerSecond = NB_UNITS * 1000L / Math.max(1L, localDurations[0]);
+        LOGGER.info(String.format("Workspace ingest unit steps benchmark (%d threads, %d units):%n" +
+                " - REST API : unit steps %d ms (%d units/s), bulk read %d ms%n" +
+                " - local file system : unit steps %d ms (%d units/s), bulk read %d ms",
+            NB_THREADS, NB_UNITS,
+            restDurations[0], restUnitsPerSecond, restDurations[1],
+            localDurations[0], localUnitsPerSecond, localDurations[1]));
+    }
+
+    private long[] runUnitSteps(String containerName, int units) throws Exception {
+        try (WorkspaceClient client = WorkspaceClientFactory.getInstance().getClient()) {
+            client.createContainer(containerName);
+        }
+
+        long unitStepsDuration = runConcurrently(units, unitIndex -> {
+            String unitPath = "Units/unit" + unitIndex + ".json";
+            try (WorkspaceClient client = WorkspaceClientFactory.getInstance().getClient()) {
+                client.putObject(containerName, unitPath, toStream(UNIT_JSON));
+                if (!client.isExistingObject(containerName, unitPath)) {
+                    throw new IllegalStateException("Missing unit " + unitPath);
+                }
+                Response response = client.getObject(containerName, unitPath);
+                String unit;
+                try (InputStream inputStream = response.readEntity(InputStream.class)) {
+                    unit = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+                } finally {
+                    response.close();
+                }
+                byte[] enrichedUnit = unit.replace("\"_mgt\":{}", "\"_mgt\":{},\"_v\":0")
+                    .getBytes(StandardCharsets.UTF_8);
+                client.putAtomicObject(containerName, "UnitsLfc/unit" + unitIndex + ".json",
+                    new ByteArrayInputStream(enrichedUnit), enrichedUnit.length);
+            }
+        });
+
+        long bulkReadDuration = runConcurrently((units + BULK_SIZE - 1) / BULK_SIZE, bulkIndex -> {
+            List<String> objectURIs = new ArrayList<>();
+            for (int i = bulkIndex * BULK_SIZE; i < Math.min(units, (bulkIndex + 1) * BULK_SIZE); i++) {
+                objectURIs.add("UnitsLfc/unit" + i + ".json");
+            }
+            try (WorkspaceClient client = WorkspaceClientFactory.getInstance().getClient()) {
+                Response response = client.bulkGetObjects(containerName, objectURIs);
+                try (MultiplexedStreamReader reader =
+                    new MultiplexedStreamReader(response.readEntity(InputStream.class))) {
+                    for (int i = 0; i < objectURIs.size(); i++) {
+                        IOUtils.copy(reader.readNextEntry().orElseThrow(), NullOutputStream.NULL_OUTPUT_STREAM);
+                    }
+                } finally {
+                    response.close();
+                }
+            }
+        });
+
+        return new long[] {unitStepsDuration, bulkReadDuration};
+    }
+
+    /**
+     * @return elapsed time in milliseconds
+     */
+    private long runConcurrently(int nbTasks, IndexedTask task) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(NB_THREADS, VitamThreadFactory.getInstance());
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(nbTasks);
+            for (int i = 0; i < nbTasks; i++) {
+                int taskIndex = i;
+                futures.add(executorService.submit(() -> {
+                    task.run(taskIndex);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static InputStream toStream(String data) {
+        return new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index) throws Exception;
+    }
+}